@@ -22,9 +22,12 @@ import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserialize;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.StreamingJsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 
@@ -98,8 +101,7 @@ public class GsonJsonMapper implements JsonMapper {
                 Class<? extends JsonDeserializer<?>> deserializerClass = annotation.using();
                 JsonDeserializer<T> deserializer = (JsonDeserializer<T>) deserializerClass.getDeclaredConstructor().newInstance();
 
-                io.github.guoshiqiufeng.dify.client.core.codec.JsonNode node = parseTree(json);
-                return deserializer.deserialize(node, this);
+                return fromJson(json, deserializer);
             }
 
             return GSON.fromJson(json, clazz);
@@ -120,6 +122,28 @@ public class GsonJsonMapper implements JsonMapper {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(String json, JsonDeserializer<T> deserializer) throws JsonException {
+        try {
+            if (deserializer instanceof StreamingJsonDeserializer) {
+                try (JsonTokenReader reader = createTokenReader(json)) {
+                    return ((StreamingJsonDeserializer<T>) deserializer).deserialize(reader, this);
+                }
+            }
+            return deserializer.deserialize(parseTree(json), this);
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to deserialize JSON with " + deserializer.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public JsonTokenReader createTokenReader(String json) throws JsonException {
+        return new GsonJsonTokenReader(GSON, GSON.newJsonReader(new StringReader(json)));
+    }
+
     @Override
     public JsonNode parseTree(String json) throws JsonException {
         try {
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.codec.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonToken;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
+
+import java.io.IOException;
+
+/**
+ * Gson JsonTokenReader 实现
+ * <p>
+ * 包装 Gson JsonReader,嵌套值通过 Gson 直接从读取器绑定
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class GsonJsonTokenReader implements JsonTokenReader {
+
+    private final Gson gson;
+    private final JsonReader reader;
+
+    public GsonJsonTokenReader(Gson gson, JsonReader reader) {
+        this.gson = gson;
+        this.reader = reader;
+    }
+
+    @Override
+    public JsonToken peek() throws JsonException {
+        try {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT:
+                    return JsonToken.BEGIN_OBJECT;
+                case END_OBJECT:
+                    return JsonToken.END_OBJECT;
+                case BEGIN_ARRAY:
+                    return JsonToken.BEGIN_ARRAY;
+                case END_ARRAY:
+                    return JsonToken.END_ARRAY;
+                case NAME:
+                    return JsonToken.NAME;
+                case NUMBER:
+                    return JsonToken.NUMBER;
+                case BOOLEAN:
+                    return JsonToken.BOOLEAN;
+                case NULL:
+                    return JsonToken.NULL;
+                case STRING:
+                    return JsonToken.STRING;
+                default:
+                    return JsonToken.END_DOCUMENT;
+            }
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+    }
+
+    @Override
+    public void beginObject() throws JsonException {
+        try {
+            reader.beginObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON object", e);
+        }
+    }
+
+    @Override
+    public void endObject() throws JsonException {
+        try {
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON object", e);
+        }
+    }
+
+    @Override
+    public void beginArray() throws JsonException {
+        try {
+            reader.beginArray();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON array", e);
+        }
+    }
+
+    @Override
+    public void endArray() throws JsonException {
+        try {
+            reader.endArray();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON array", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws JsonException {
+        try {
+            return reader.hasNext();
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+    }
+
+    @Override
+    public String nextName() throws JsonException {
+        try {
+            return reader.nextName();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON field name", e);
+        }
+    }
+
+    @Override
+    public String nextString() throws JsonException {
+        try {
+            switch (reader.peek()) {
+                case STRING:
+                case NUMBER:
+                    return reader.nextString();
+                case BOOLEAN:
+                    return String.valueOf(reader.nextBoolean());
+                default:
+                    reader.skipValue();
+                    return null;
+            }
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON string", e);
+        }
+    }
+
+    @Override
+    public Integer nextInteger() throws JsonException {
+        try {
+            if (skipIfNotNumeric()) {
+                return null;
+            }
+            return reader.nextInt();
+        } catch (IOException | RuntimeException e) {
+            throw new JsonException("Failed to read JSON integer", e);
+        }
+    }
+
+    @Override
+    public Long nextLong() throws JsonException {
+        try {
+            if (skipIfNotNumeric()) {
+                return null;
+            }
+            return reader.nextLong();
+        } catch (IOException | RuntimeException e) {
+            throw new JsonException("Failed to read JSON long", e);
+        }
+    }
+
+    @Override
+    public Double nextDouble() throws JsonException {
+        try {
+            if (skipIfNotNumeric()) {
+                return null;
+            }
+            return reader.nextDouble();
+        } catch (IOException | RuntimeException e) {
+            throw new JsonException("Failed to read JSON double", e);
+        }
+    }
+
+    @Override
+    public Boolean nextBoolean() throws JsonException {
+        try {
+            switch (reader.peek()) {
+                case BOOLEAN:
+                    return reader.nextBoolean();
+                case STRING:
+                    return Boolean.parseBoolean(reader.nextString());
+                default:
+                    reader.skipValue();
+                    return null;
+            }
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to read JSON boolean", e);
+        }
+    }
+
+    @Override
+    public void skipValue() throws JsonException {
+        try {
+            reader.skipValue();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonException("Failed to skip JSON value", e);
+        }
+    }
+
+    @Override
+    public <T> T readValue(Class<T> clazz) throws JsonException {
+        try {
+            return gson.fromJson(reader, clazz);
+        } catch (RuntimeException e) {
+            throw new JsonException("Failed to deserialize JSON to " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public JsonNode readTree() throws JsonException {
+        try {
+            return new GsonJsonNode(JsonParser.parseReader(reader));
+        } catch (RuntimeException e) {
+            throw new JsonException("Failed to parse JSON tree", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // nothing to release for in-memory content
+        }
+    }
+
+    /**
+     * Skip the current value unless it is a number or a numeric string.
+     *
+     * @return true if the value was skipped
+     */
+    private boolean skipIfNotNumeric() throws IOException {
+        com.google.gson.stream.JsonToken token = reader.peek();
+        if (token == com.google.gson.stream.JsonToken.NUMBER || token == com.google.gson.stream.JsonToken.STRING) {
+            return false;
+        }
+        reader.skipValue();
+        return true;
+    }
+}
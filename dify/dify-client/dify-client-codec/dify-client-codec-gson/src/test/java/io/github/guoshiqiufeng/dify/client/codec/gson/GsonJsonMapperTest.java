@@ -22,6 +22,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -136,6 +137,29 @@ class GsonJsonMapperTest {
         assertEquals(25, list.get(1).getAge());
     }
 
+    @Test
+    void testFromJsonBytesSlice() {
+        byte[] bytes = "xx{\"name\":\"John\",\"age\":30}yy".getBytes(StandardCharsets.UTF_8);
+        TestPojo pojo = mapper.fromJson(bytes, 2, bytes.length - 4, TestPojo.class);
+        assertNotNull(pojo);
+        assertEquals("John", pojo.getName());
+        assertEquals(30, pojo.getAge());
+    }
+
+    @Test
+    void testFromJsonBytesWithCustomDeserializer() {
+        byte[] bytes = "{\"value\":\"测试\"}".getBytes(StandardCharsets.UTF_8);
+        CustomDeserializerPojo pojo = mapper.fromJson(bytes, 0, bytes.length, CustomDeserializerPojo.class);
+        assertNotNull(pojo);
+        assertEquals("CUSTOM:测试", pojo.getValue());
+    }
+
+    @Test
+    void testFromJsonBytesInvalidJson() {
+        byte[] bytes = "{invalid json}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonException.class, () -> mapper.fromJson(bytes, 0, bytes.length, TestPojo.class));
+    }
+
     @Test
     void testParseTree() {
         String json = "{\"name\":\"John\",\"age\":30}";
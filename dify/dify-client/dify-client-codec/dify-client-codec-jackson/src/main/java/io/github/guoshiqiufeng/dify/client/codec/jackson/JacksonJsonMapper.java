@@ -23,6 +23,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserialize;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.StreamingJsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 
@@ -94,8 +96,7 @@ public class JacksonJsonMapper implements JsonMapper {
                 Class<? extends JsonDeserializer<?>> deserializerClass = annotation.using();
                 JsonDeserializer<T> deserializer = (JsonDeserializer<T>) deserializerClass.getDeclaredConstructor().newInstance();
 
-                io.github.guoshiqiufeng.dify.client.core.codec.JsonNode node = parseTree(json);
-                return deserializer.deserialize(node, this);
+                return fromJson(json, deserializer);
             }
 
             return OBJECT_MAPPER.readValue(json, clazz);
@@ -123,6 +124,85 @@ public class JacksonJsonMapper implements JsonMapper {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz) throws JsonException {
+        try {
+            // Check if the class has @JsonDeserialize annotation
+            JsonDeserialize annotation = clazz.getAnnotation(JsonDeserialize.class);
+
+            if (annotation != null) {
+                // Use custom deserializer, reading straight from the bytes
+                Class<? extends JsonDeserializer<?>> deserializerClass = annotation.using();
+                JsonDeserializer<T> deserializer = (JsonDeserializer<T>) deserializerClass.getDeclaredConstructor().newInstance();
+
+                return fromJson(json, offset, length, deserializer);
+            }
+
+            return OBJECT_MAPPER.readValue(json, offset, length, clazz);
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to deserialize JSON to " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(String json, JsonDeserializer<T> deserializer) throws JsonException {
+        try {
+            if (deserializer instanceof StreamingJsonDeserializer) {
+                try (JsonTokenReader reader = createTokenReader(json)) {
+                    return ((StreamingJsonDeserializer<T>) deserializer).deserialize(reader, this);
+                }
+            }
+            return deserializer.deserialize(parseTree(json), this);
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to deserialize JSON with " + deserializer.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(byte[] json, int offset, int length, JsonDeserializer<T> deserializer) throws JsonException {
+        try {
+            if (deserializer instanceof StreamingJsonDeserializer) {
+                try (JsonTokenReader reader = createTokenReader(json, offset, length)) {
+                    return ((StreamingJsonDeserializer<T>) deserializer).deserialize(reader, this);
+                }
+            }
+            return deserializer.deserialize(new JacksonJsonNode(OBJECT_MAPPER.readTree(json, offset, length)), this);
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to deserialize JSON with " + deserializer.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public JsonTokenReader createTokenReader(String json) throws JsonException {
+        try {
+            return new JacksonJsonTokenReader(OBJECT_MAPPER, OBJECT_MAPPER.getFactory().createParser(json));
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to create JSON reader", e);
+        }
+    }
+
+    @Override
+    public JsonTokenReader createTokenReader(byte[] json, int offset, int length) throws JsonException {
+        try {
+            return new JacksonJsonTokenReader(OBJECT_MAPPER, OBJECT_MAPPER.getFactory().createParser(json, offset, length));
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException("Failed to create JSON reader", e);
+        }
+    }
+
     @Override
     public io.github.guoshiqiufeng.dify.client.core.codec.JsonNode parseTree(String json) throws JsonException {
         try {
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.codec.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonToken;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
+
+import java.io.IOException;
+
+/**
+ * Jackson JsonTokenReader 实现
+ * <p>
+ * 包装 Jackson JsonParser,嵌套值通过 ObjectMapper 直接从解析器绑定
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class JacksonJsonTokenReader implements JsonTokenReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    public JacksonJsonTokenReader(ObjectMapper objectMapper, JsonParser parser) {
+        this.objectMapper = objectMapper;
+        this.parser = parser;
+        advance();
+    }
+
+    @Override
+    public JsonToken peek() throws JsonException {
+        com.fasterxml.jackson.core.JsonToken token = parser.currentToken();
+        if (token == null) {
+            return JsonToken.END_DOCUMENT;
+        }
+        switch (token) {
+            case START_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case END_OBJECT:
+                return JsonToken.END_OBJECT;
+            case START_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case END_ARRAY:
+                return JsonToken.END_ARRAY;
+            case FIELD_NAME:
+                return JsonToken.NAME;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JsonToken.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonToken.BOOLEAN;
+            case VALUE_NULL:
+                return JsonToken.NULL;
+            default:
+                return JsonToken.STRING;
+        }
+    }
+
+    @Override
+    public void beginObject() throws JsonException {
+        expect(com.fasterxml.jackson.core.JsonToken.START_OBJECT);
+        advance();
+    }
+
+    @Override
+    public void endObject() throws JsonException {
+        expect(com.fasterxml.jackson.core.JsonToken.END_OBJECT);
+        advance();
+    }
+
+    @Override
+    public void beginArray() throws JsonException {
+        expect(com.fasterxml.jackson.core.JsonToken.START_ARRAY);
+        advance();
+    }
+
+    @Override
+    public void endArray() throws JsonException {
+        expect(com.fasterxml.jackson.core.JsonToken.END_ARRAY);
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() throws JsonException {
+        com.fasterxml.jackson.core.JsonToken token = parser.currentToken();
+        return token != null
+                && token != com.fasterxml.jackson.core.JsonToken.END_OBJECT
+                && token != com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public String nextName() throws JsonException {
+        expect(com.fasterxml.jackson.core.JsonToken.FIELD_NAME);
+        try {
+            String name = parser.currentName();
+            advance();
+            return name;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON field name", e);
+        }
+    }
+
+    @Override
+    public String nextString() throws JsonException {
+        if (skipIfNotScalar()) {
+            return null;
+        }
+        try {
+            String value = parser.getValueAsString();
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON string", e);
+        }
+    }
+
+    @Override
+    public Integer nextInteger() throws JsonException {
+        if (skipIfNotScalar()) {
+            return null;
+        }
+        try {
+            int value = parser.getValueAsInt();
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON integer", e);
+        }
+    }
+
+    @Override
+    public Long nextLong() throws JsonException {
+        if (skipIfNotScalar()) {
+            return null;
+        }
+        try {
+            long value = parser.getValueAsLong();
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON long", e);
+        }
+    }
+
+    @Override
+    public Double nextDouble() throws JsonException {
+        if (skipIfNotScalar()) {
+            return null;
+        }
+        try {
+            double value = parser.getValueAsDouble();
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON double", e);
+        }
+    }
+
+    @Override
+    public Boolean nextBoolean() throws JsonException {
+        if (skipIfNotScalar()) {
+            return null;
+        }
+        try {
+            boolean value = parser.getValueAsBoolean();
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON boolean", e);
+        }
+    }
+
+    @Override
+    public void skipValue() throws JsonException {
+        try {
+            parser.skipChildren();
+        } catch (IOException e) {
+            throw new JsonException("Failed to skip JSON value", e);
+        }
+        advance();
+    }
+
+    @Override
+    public <T> T readValue(Class<T> clazz) throws JsonException {
+        if (parser.currentToken() == com.fasterxml.jackson.core.JsonToken.VALUE_NULL) {
+            advance();
+            return null;
+        }
+        try {
+            T value = objectMapper.readValue(parser, clazz);
+            advance();
+            return value;
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON to " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public io.github.guoshiqiufeng.dify.client.core.codec.JsonNode readTree() throws JsonException {
+        try {
+            JsonNode node = objectMapper.readTree(parser);
+            advance();
+            return new JacksonJsonNode(node != null ? node : objectMapper.nullNode());
+        } catch (IOException e) {
+            throw new JsonException("Failed to parse JSON tree", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // nothing to release for in-memory content
+        }
+    }
+
+    /**
+     * Skip the current value if it is null or a container.
+     *
+     * @return true if the value was skipped
+     */
+    private boolean skipIfNotScalar() {
+        com.fasterxml.jackson.core.JsonToken token = parser.currentToken();
+        if (token == com.fasterxml.jackson.core.JsonToken.VALUE_NULL) {
+            advance();
+            return true;
+        }
+        if (token == com.fasterxml.jackson.core.JsonToken.START_OBJECT
+                || token == com.fasterxml.jackson.core.JsonToken.START_ARRAY) {
+            skipValue();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(com.fasterxml.jackson.core.JsonToken expected) {
+        if (parser.currentToken() != expected) {
+            throw new JsonException("Expected " + expected + " but was " + parser.currentToken());
+        }
+    }
+
+    private void advance() {
+        try {
+            parser.nextToken();
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -192,6 +193,30 @@ class Jackson3JsonMapperTest {
         assertEquals(100, pojo.getValue());
     }
 
+    @Test
+    void testFromJsonBytesSlice() {
+        byte[] bytes = "xx{\"name\":\"John\",\"age\":30}yy".getBytes(StandardCharsets.UTF_8);
+        TestPojo pojo = mapper.fromJson(bytes, 2, bytes.length - 4, TestPojo.class);
+        assertNotNull(pojo);
+        assertEquals("John", pojo.getName());
+        assertEquals(30, pojo.getAge());
+    }
+
+    @Test
+    void testFromJsonBytesWithCustomDeserializer() {
+        byte[] bytes = "{\"customName\":\"测试\",\"customValue\":7}".getBytes(StandardCharsets.UTF_8);
+        CustomTestPojo pojo = mapper.fromJson(bytes, 0, bytes.length, CustomTestPojo.class);
+        assertNotNull(pojo);
+        assertEquals("测试", pojo.getName());
+        assertEquals(7, pojo.getValue());
+    }
+
+    @Test
+    void testFromJsonBytesInvalidJson() {
+        byte[] bytes = "{invalid json}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonException.class, () -> mapper.fromJson(bytes, 0, bytes.length, TestPojo.class));
+    }
+
     @Test
     void testParseTree() {
         String json = "{\"name\":\"John\",\"age\":30}";
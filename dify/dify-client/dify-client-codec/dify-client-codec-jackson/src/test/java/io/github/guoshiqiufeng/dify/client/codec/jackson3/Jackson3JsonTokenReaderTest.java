@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.codec.jackson3;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReaderContractTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Jackson3JsonTokenReader, the shared cases are in {@link JsonTokenReaderContractTest}
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class Jackson3JsonTokenReaderTest extends JsonTokenReaderContractTest {
+
+    @Override
+    protected JsonMapper createMapper() {
+        return Jackson3JsonMapper.getInstance();
+    }
+
+    @Test
+    void testCreatesCodecReader() {
+        byte[] bytes = "[1]".getBytes(StandardCharsets.UTF_8);
+        try (JsonTokenReader fromString = mapper.createTokenReader("[1]");
+             JsonTokenReader fromBytes = mapper.createTokenReader(bytes, 0, bytes.length)) {
+            assertInstanceOf(Jackson3JsonTokenReader.class, fromString);
+            assertInstanceOf(Jackson3JsonTokenReader.class, fromBytes);
+        }
+    }
+}
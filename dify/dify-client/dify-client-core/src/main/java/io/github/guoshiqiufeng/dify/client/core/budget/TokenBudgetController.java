@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tokens-per-minute admission control per API key and per user.
+ * <p>
+ * The provider limits behind a Dify app are usually expressed in tokens per minute, which a request rate limit
+ * cannot express: one long conversation may consume as many tokens as a hundred short ones. The controller
+ * records the tokens actually consumed, as reported by the {@code usage} of {@code message_end} and
+ * {@code workflow_finished} events or of blocking responses, in a sliding one-minute window per API key and per
+ * API key and user. Once a window holds its budget, new calls wait until enough tokens leave it; calls whose
+ * expected wait exceeds {@code maxWaitMillis} fail with {@link TokenBudgetExceededException}.
+ * <p>
+ * Usage is only known when a call completes, so calls admitted together may overshoot the budget; the excess
+ * delays the calls that follow.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class TokenBudgetController {
+
+    /**
+     * Number of windows above which idle ones are evicted, bounding the controller when keys and users rotate.
+     */
+    static final int MAX_WINDOWS = 4096;
+
+    private final long tokensPerMinute;
+    private final long userTokensPerMinute;
+    private final long maxWaitMillis;
+    private final TokenBudgetListener listener;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, TokenWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param config   token budget configuration
+     * @param listener listener notified of delayed and rejected calls, may be null
+     */
+    public TokenBudgetController(DifyProperties.TokenBudgetConfig config, TokenBudgetListener listener) {
+        this(config, listener, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    TokenBudgetController(DifyProperties.TokenBudgetConfig config, TokenBudgetListener listener, LongSupplier clock) {
+        DifyProperties.TokenBudgetConfig budgetConfig = config != null ? config : new DifyProperties.TokenBudgetConfig();
+        this.tokensPerMinute = orZero(budgetConfig.getTokensPerMinute());
+        this.userTokensPerMinute = orZero(budgetConfig.getUserTokensPerMinute());
+        this.maxWaitMillis = orZero(budgetConfig.getMaxWaitMillis());
+        this.listener = listener != null ? listener : TokenBudgetListener.NOOP;
+        this.clock = clock;
+    }
+
+    /**
+     * Create the controller configured by {@code clientConfig.tokenBudget}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of delayed and rejected calls, may be null
+     * @return the controller, or null if the token budget is not enabled
+     */
+    public static TokenBudgetController of(DifyProperties.ClientConfig clientConfig, TokenBudgetListener listener) {
+        if (clientConfig == null || clientConfig.getTokenBudget() == null
+                || !Boolean.TRUE.equals(clientConfig.getTokenBudget().getEnabled())) {
+            return null;
+        }
+        return new TokenBudgetController(clientConfig.getTokenBudget(), listener);
+    }
+
+    /**
+     * Create the controller configured by {@code clientConfig.tokenBudget}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the controller, or null if the token budget is not enabled
+     */
+    public static TokenBudgetController of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Wait until the budgets of an API key and user admit a new call.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @throws TokenBudgetExceededException if the expected wait exceeds {@code maxWaitMillis} or the thread is
+     *                                      interrupted
+     */
+    public void acquire(String apiKey, String user) {
+        long deadline = -1;
+        while (true) {
+            long now = clock.getAsLong();
+            TokenWindow window = exhausted(apiKey, user, now);
+            if (window == null) {
+                return;
+            }
+            long waitMillis = window.waitMillis(now);
+            if (deadline < 0) {
+                deadline = now + maxWaitMillis;
+                checkWait(window, waitMillis, now, deadline);
+                window.delayed();
+                listener.onDelayed(window.getName(), waitMillis);
+            } else {
+                checkWait(window, waitMillis, now, deadline);
+            }
+            try {
+                Thread.sleep(Math.max(1, waitMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TokenBudgetExceededException(window.getName(),
+                        "Interrupted while waiting for token budget '" + window.getName() + "'", -1);
+            }
+        }
+    }
+
+    /**
+     * Get a {@link Mono} completing once the budgets of an API key and user admit a new call. Waiting does not
+     * block a thread.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @return the admission, failed with {@link TokenBudgetExceededException} if the expected wait exceeds
+     * {@code maxWaitMillis}
+     */
+    public Mono<Void> acquireMono(String apiKey, String user) {
+        return Mono.defer(() -> admit(apiKey, user, -1));
+    }
+
+    /**
+     * Get a future completing once the budgets of an API key and user admit a new call.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @return the admission, failed with {@link TokenBudgetExceededException} if the expected wait exceeds
+     * {@code maxWaitMillis}
+     */
+    public CompletableFuture<Void> acquireAsync(String apiKey, String user) {
+        if (exhausted(apiKey, user, clock.getAsLong()) == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return acquireMono(apiKey, user).toFuture();
+    }
+
+    /**
+     * Record the tokens consumed by a completed call.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @param tokens consumed tokens, null or non-positive values are ignored
+     */
+    public void record(String apiKey, String user, Integer tokens) {
+        if (apiKey == null || apiKey.isEmpty() || tokens == null || tokens <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (tokensPerMinute > 0) {
+            window(apiKey, null, tokensPerMinute, now).record(now, tokens);
+        }
+        if (userTokensPerMinute > 0 && user != null && !user.isEmpty()) {
+            window(apiKey, user, userTokensPerMinute, now).record(now, tokens);
+        }
+    }
+
+    /**
+     * Run a blocking call once admitted and record the tokens its result reports.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @param call   the call
+     * @param usage  extracts the consumed tokens from the result, may return null
+     * @param <T>    result type
+     * @return the call result
+     * @throws TokenBudgetExceededException if the call is not admitted
+     */
+    public <T> T execute(String apiKey, String user, Supplier<T> call, Function<? super T, Integer> usage) {
+        acquire(apiKey, user);
+        T result = call.get();
+        if (result != null) {
+            record(apiKey, user, usage.apply(result));
+        }
+        return result;
+    }
+
+    /**
+     * Start an asynchronous call once admitted and record the tokens its result reports.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @param call   starts the call
+     * @param usage  extracts the consumed tokens from the result, may return null
+     * @param <T>    result type
+     * @return future of the call result, failed with {@link TokenBudgetExceededException} if the call is not
+     * admitted
+     */
+    public <T> CompletableFuture<T> executeAsync(String apiKey, String user, Supplier<CompletableFuture<T>> call,
+                                                 Function<? super T, Integer> usage) {
+        return acquireAsync(apiKey, user)
+                .thenCompose(ignored -> call.get())
+                .thenApply(result -> {
+                    if (result != null) {
+                        record(apiKey, user, usage.apply(result));
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Subscribe to a stream once admitted and record the tokens reported by its elements.
+     *
+     * @param apiKey the API key
+     * @param user   the user, may be null
+     * @param call   creates the stream
+     * @param usage  extracts the consumed tokens from an element, returns null for elements without usage
+     * @param <T>    element type
+     * @return the stream, failed with {@link TokenBudgetExceededException} if the call is not admitted
+     */
+    public <T> Flux<T> executeFlux(String apiKey, String user, Supplier<Flux<T>> call,
+                                   Function<? super T, Integer> usage) {
+        return acquireMono(apiKey, user)
+                .thenMany(Flux.defer(call))
+                .doOnNext(element -> record(apiKey, user, usage.apply(element)));
+    }
+
+    /**
+     * Get the metrics of all budgets.
+     *
+     * @return metrics snapshots
+     */
+    public List<TokenBudgetMetrics> getMetrics() {
+        long now = clock.getAsLong();
+        List<TokenBudgetMetrics> metrics = new ArrayList<>();
+        for (TokenWindow window : windows.values()) {
+            metrics.add(window.getMetrics(now));
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    private Mono<Void> admit(String apiKey, String user, long deadline) {
+        long now = clock.getAsLong();
+        TokenWindow window = exhausted(apiKey, user, now);
+        if (window == null) {
+            return Mono.empty();
+        }
+        long waitMillis = window.waitMillis(now);
+        long callDeadline = deadline;
+        try {
+            if (callDeadline < 0) {
+                callDeadline = now + maxWaitMillis;
+                checkWait(window, waitMillis, now, callDeadline);
+                window.delayed();
+                listener.onDelayed(window.getName(), waitMillis);
+            } else {
+                checkWait(window, waitMillis, now, callDeadline);
+            }
+        } catch (TokenBudgetExceededException e) {
+            return Mono.error(e);
+        }
+        long nextDeadline = callDeadline;
+        return Mono.delay(Duration.ofMillis(Math.max(1, waitMillis)))
+                .then(Mono.defer(() -> admit(apiKey, user, nextDeadline)));
+    }
+
+    private void checkWait(TokenWindow window, long waitMillis, long now, long deadline) {
+        if (now + waitMillis > deadline) {
+            window.rejected();
+            listener.onRejected(window.getName(), waitMillis);
+            throw new TokenBudgetExceededException(window.getName(), "Token budget '" + window.getName()
+                    + "' is exhausted, expected wait " + waitMillis + "ms, maxWaitMillis=" + maxWaitMillis,
+                    waitMillis);
+        }
+    }
+
+    /**
+     * Get the exhausted window with the longest wait.
+     *
+     * @return the window, or null if the call is admitted
+     */
+    private TokenWindow exhausted(String apiKey, String user, long now) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return null;
+        }
+        TokenWindow result = null;
+        long longest = 0;
+        TokenWindow keyWindow = tokensPerMinute > 0 ? windows.get(apiKey) : null;
+        if (keyWindow != null) {
+            longest = keyWindow.waitMillis(now);
+            result = longest > 0 ? keyWindow : null;
+        }
+        TokenWindow userWindow = userTokensPerMinute > 0 && user != null && !user.isEmpty()
+                ? windows.get(apiKey + '\n' + user) : null;
+        if (userWindow != null && userWindow.waitMillis(now) > longest) {
+            result = userWindow;
+        }
+        return result;
+    }
+
+    private TokenWindow window(String apiKey, String user, long budget, long now) {
+        String key = user != null ? apiKey + '\n' + user : apiKey;
+        TokenWindow window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= MAX_WINDOWS) {
+            windows.values().removeIf(candidate -> candidate.isIdle(now));
+        }
+        return windows.computeIfAbsent(key, ignored -> new TokenWindow(
+                user != null ? BulkheadRegistry.maskKey(apiKey) + "/" + user : BulkheadRegistry.maskKey(apiKey),
+                budget));
+    }
+
+    private static long orZero(Long value) {
+        return value != null && value > 0 ? value : 0L;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+
+/**
+ * Exception thrown when a call is not admitted because the tokens-per-minute budget of its API key or user is
+ * exhausted.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class TokenBudgetExceededException extends HttpClientException {
+
+    private final String budget;
+    private final long retryAfterMillis;
+
+    /**
+     * Constructor with budget name, message and expected wait.
+     *
+     * @param budget           name of the exhausted budget
+     * @param message          error message
+     * @param retryAfterMillis expected wait until the budget admits calls again in milliseconds, -1 if unknown
+     */
+    public TokenBudgetExceededException(String budget, String message, long retryAfterMillis) {
+        super(message);
+        this.budget = budget;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Get the name of the budget that rejected the call.
+     *
+     * @return budget name
+     */
+    public String getBudget() {
+        return budget;
+    }
+
+    /**
+     * Get the expected wait until the budget admits calls again.
+     *
+     * @return wait in milliseconds, or -1 if unknown
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
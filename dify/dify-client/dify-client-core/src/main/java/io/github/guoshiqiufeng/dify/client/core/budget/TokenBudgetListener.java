@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+/**
+ * Listener receiving events of a {@link TokenBudgetController}.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer counters); they are invoked
+ * on the thread of the request and should return quickly. Cumulative counts are also available from
+ * {@link TokenBudgetController#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface TokenBudgetListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    TokenBudgetListener NOOP = new TokenBudgetListener() {
+    };
+
+    /**
+     * Called when a call waits for its budget to free up.
+     *
+     * @param budget     name of the exhausted budget
+     * @param waitMillis expected wait in milliseconds
+     */
+    default void onDelayed(String budget, long waitMillis) {
+    }
+
+    /**
+     * Called when a call is rejected because its expected wait exceeds the configured maximum.
+     *
+     * @param budget     name of the exhausted budget
+     * @param waitMillis expected wait in milliseconds
+     */
+    default void onRejected(String budget, long waitMillis) {
+    }
+}
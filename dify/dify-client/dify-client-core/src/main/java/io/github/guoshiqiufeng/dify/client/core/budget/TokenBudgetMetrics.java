@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the metrics of one tokens-per-minute budget.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TokenBudgetMetrics {
+
+    /**
+     * Budget name, the masked API key optionally followed by {@code /user}.
+     */
+    private final String name;
+
+    /**
+     * Tokens allowed per minute.
+     */
+    private final long tokensPerMinute;
+
+    /**
+     * Tokens consumed in the last minute.
+     */
+    private final long usedTokens;
+
+    /**
+     * Total number of tokens recorded.
+     */
+    private final long recordedTokens;
+
+    /**
+     * Total number of calls that waited for the budget.
+     */
+    private final long delayedCount;
+
+    /**
+     * Total number of calls rejected because the wait was too long.
+     */
+    private final long rejectedCount;
+}
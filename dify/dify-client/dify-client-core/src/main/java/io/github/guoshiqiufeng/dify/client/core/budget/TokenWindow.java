@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+/**
+ * Sliding one-minute window of consumed tokens, kept in one-second slots.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+final class TokenWindow {
+
+    /**
+     * Number of one-second slots in the window.
+     */
+    static final int SLOTS = 60;
+
+    private static final long SLOT_MILLIS = 1000L;
+
+    private final String name;
+    private final long tokensPerMinute;
+    private final long[] tokens = new long[SLOTS];
+    private final long[] seconds = new long[SLOTS];
+
+    private long recordedTokens;
+    private long delayedCount;
+    private long rejectedCount;
+
+    TokenWindow(String name, long tokensPerMinute) {
+        this.name = name;
+        this.tokensPerMinute = tokensPerMinute;
+        for (int i = 0; i < SLOTS; i++) {
+            seconds[i] = Long.MIN_VALUE;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    synchronized void record(long nowMillis, long count) {
+        long second = Math.floorDiv(nowMillis, SLOT_MILLIS);
+        int slot = (int) Math.floorMod(second, (long) SLOTS);
+        if (seconds[slot] != second) {
+            seconds[slot] = second;
+            tokens[slot] = 0;
+        }
+        tokens[slot] += count;
+        recordedTokens += count;
+    }
+
+    synchronized long used(long nowMillis) {
+        long second = Math.floorDiv(nowMillis, SLOT_MILLIS);
+        long used = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            if (isLive(seconds[i], second)) {
+                used += tokens[i];
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Get the time until the tokens still in the window drop below the budget.
+     *
+     * @param nowMillis current time in milliseconds
+     * @return wait in milliseconds, 0 if the budget is not exhausted
+     */
+    synchronized long waitMillis(long nowMillis) {
+        long used = used(nowMillis);
+        if (used < tokensPerMinute) {
+            return 0;
+        }
+        long second = Math.floorDiv(nowMillis, SLOT_MILLIS);
+        // the oldest slots leave the window first
+        for (long s = second - SLOTS + 1; s <= second; s++) {
+            int slot = (int) Math.floorMod(s, (long) SLOTS);
+            if (seconds[slot] == s) {
+                used -= tokens[slot];
+                if (used < tokensPerMinute) {
+                    return (s + SLOTS) * SLOT_MILLIS - nowMillis;
+                }
+            }
+        }
+        return (second + SLOTS) * SLOT_MILLIS - nowMillis;
+    }
+
+    synchronized void delayed() {
+        delayedCount++;
+    }
+
+    synchronized void rejected() {
+        rejectedCount++;
+    }
+
+    boolean isIdle(long nowMillis) {
+        return used(nowMillis) == 0;
+    }
+
+    synchronized TokenBudgetMetrics getMetrics(long nowMillis) {
+        return new TokenBudgetMetrics(name, tokensPerMinute, used(nowMillis), recordedTokens, delayedCount,
+                rejectedCount);
+    }
+
+    private static boolean isLive(long slotSecond, long second) {
+        return slotSecond != Long.MIN_VALUE && second - slotSecond < SLOTS && second >= slotSecond;
+    }
+}
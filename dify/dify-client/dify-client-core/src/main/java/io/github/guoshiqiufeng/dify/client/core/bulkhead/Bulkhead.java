@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A concurrency partition limiting the number of in-flight calls.
+ * <p>
+ * A call first takes one of {@code maxConcurrentCalls} permits. When none is free it waits in a FIFO queue of at
+ * most {@code maxQueueSize} calls for up to {@code queueTimeout}; a call finding the queue full, or still waiting
+ * when the timeout passes, is rejected with a {@link BulkheadFullException}. Released permits are handed directly
+ * to the oldest waiting call, so a burst of new calls cannot overtake the queue.
+ * <p>
+ * Blocking callers wait on their own thread with {@link #acquire()}; asynchronous callers use
+ * {@link #acquireAsync()}, which parks no thread while queued. Every granted permit must be returned with exactly
+ * one call to {@link #release()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxQueueSize;
+    private final long queueTimeoutMillis;
+    private final BulkheadListener listener;
+
+    /**
+     * Guards {@link #maxConcurrentCalls}, {@link #inFlight} and {@link #waiters}; never held while completing a
+     * waiter.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int maxConcurrentCalls;
+    private int inFlight;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder queueFullCount = new LongAdder();
+    private final LongAdder queueTimeoutCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param name               partition name, used in metrics and error messages
+     * @param maxConcurrentCalls maximum number of concurrent calls, at least 1
+     * @param maxQueueSize       maximum number of waiting calls, 0 to reject as soon as all permits are taken
+     * @param queueTimeoutMillis maximum time a call waits in the queue, 0 to wait without limit
+     * @param listener           listener notified of rejections, may be null
+     */
+    public Bulkhead(String name, int maxConcurrentCalls, int maxQueueSize, long queueTimeoutMillis,
+                    BulkheadListener listener) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be at least 1: " + maxConcurrentCalls);
+        }
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.queueTimeoutMillis = Math.max(0, queueTimeoutMillis);
+        this.listener = listener != null ? listener : BulkheadListener.NOOP;
+    }
+
+    /**
+     * Get the partition name.
+     *
+     * @return partition name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Take a permit, waiting on the calling thread while the partition is full.
+     *
+     * @throws BulkheadFullException if the queue is full, the queue timeout passes or the thread is interrupted
+     */
+    public void acquire() {
+        CompletableFuture<Void> waiter = enter();
+        if (waiter == null) {
+            return;
+        }
+        try {
+            if (queueTimeoutMillis > 0) {
+                waiter.get(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                waiter.get();
+            }
+        } catch (TimeoutException e) {
+            if (abandon(waiter, true)) {
+                throw timeoutException();
+            }
+            // the permit was handed over while timing out
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!abandon(waiter, false)) {
+                release();
+            }
+            throw new BulkheadFullException(name, "Interrupted while waiting for bulkhead '" + name + "'");
+        } catch (ExecutionException e) {
+            // waiters are only completed exceptionally by abandon, which this thread did not call
+            throw new BulkheadFullException(name, "Bulkhead '" + name + "' rejected the call");
+        }
+    }
+
+    /**
+     * Take a permit without blocking the calling thread.
+     * <p>
+     * Cancelling the returned future before it completes withdraws the call from the queue.
+     *
+     * @return future completed once the permit is granted, or failed with {@link BulkheadFullException}
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> waiter;
+        try {
+            waiter = enter();
+        } catch (BulkheadFullException e) {
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        if (waiter == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (queueTimeoutMillis > 0) {
+            ScheduledFuture<?> timer = DifyExecutors.scheduler().schedule(() -> abandon(waiter, true),
+                    queueTimeoutMillis, TimeUnit.MILLISECONDS);
+            waiter.whenComplete((ignored, error) -> timer.cancel(false));
+        }
+        waiter.whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                remove(waiter);
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Run a blocking call holding a permit.
+     *
+     * @param call the call
+     * @param <T>  result type
+     * @return the call result
+     * @throws BulkheadFullException if no permit is granted
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Start an asynchronous call once a permit is granted, returning the permit when the call completes.
+     * Cancelling the returned future withdraws a queued call or cancels the running one.
+     *
+     * @param call starts the call
+     * @param <T>  result type
+     * @return future of the call result, failed with {@link BulkheadFullException} if no permit is granted
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> permit = acquireAsync();
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                permit.cancel(false);
+            }
+        });
+        permit.whenComplete((ignored, permitError) -> {
+            if (permitError != null) {
+                result.completeExceptionally(unwrap(permitError));
+                return;
+            }
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+                return;
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error instanceof CancellationException) {
+                    future.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Subscribe to a stream once a permit is granted, holding the permit until the stream terminates or is
+     * cancelled.
+     *
+     * @param call creates the stream
+     * @param <T>  element type
+     * @return the stream, failed with {@link BulkheadFullException} if no permit is granted
+     */
+    public <T> Flux<T> executeFlux(Supplier<Flux<T>> call) {
+        return Flux.usingWhen(
+                Mono.defer(() -> {
+                    CompletableFuture<Void> permit = acquireAsync();
+                    return Mono.fromFuture(permit)
+                            .doOnCancel(() -> permit.cancel(false))
+                            .thenReturn(this);
+                }),
+                granted -> call.get(),
+                granted -> Mono.fromRunnable(this::release));
+    }
+
+    /**
+     * Return a permit, handing it to the oldest waiting call if there is one.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            lock.lock();
+            try {
+                next = inFlight <= maxConcurrentCalls ? waiters.poll() : null;
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // completed outside the lock, the waiter may run the call on this thread
+            if (next.complete(null)) {
+                acquiredCount.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Change the number of concurrent calls, granting queued calls the permits a raised limit frees up.
+     * <p>
+     * Lowering the limit does not interrupt calls in flight; it takes effect as they release their permits.
+     *
+     * @param maxConcurrentCalls maximum number of concurrent calls, at least 1
+     */
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be at least 1: " + maxConcurrentCalls);
+        }
+        lock.lock();
+        try {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        } finally {
+            lock.unlock();
+        }
+        while (true) {
+            CompletableFuture<Void> next;
+            lock.lock();
+            try {
+                next = inFlight < this.maxConcurrentCalls ? waiters.poll() : null;
+                if (next == null) {
+                    return;
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            if (next.complete(null)) {
+                acquiredCount.increment();
+            } else {
+                // the waiter gave up meanwhile, take the permit back
+                lock.lock();
+                try {
+                    inFlight--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the current metrics of this partition.
+     *
+     * @return metrics snapshot
+     */
+    public BulkheadMetrics getMetrics() {
+        int currentMax;
+        int currentInFlight;
+        int queued;
+        lock.lock();
+        try {
+            currentMax = maxConcurrentCalls;
+            currentInFlight = inFlight;
+            queued = waiters.size();
+        } finally {
+            lock.unlock();
+        }
+        return new BulkheadMetrics(name, currentMax, currentInFlight, queued, acquiredCount.sum(),
+                queueFullCount.sum(), queueTimeoutCount.sum());
+    }
+
+    /**
+     * Whether no call holds or waits for a permit.
+     *
+     * @return true if the partition is unused
+     */
+    boolean isIdle() {
+        lock.lock();
+        try {
+            return inFlight == 0 && waiters.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a free permit or join the queue.
+     *
+     * @return null if a permit was taken, otherwise the queued waiter
+     * @throws BulkheadFullException if the queue is full
+     */
+    private CompletableFuture<Void> enter() {
+        int currentMax;
+        lock.lock();
+        try {
+            currentMax = maxConcurrentCalls;
+            if (inFlight < currentMax && waiters.isEmpty()) {
+                inFlight++;
+                acquiredCount.increment();
+                return null;
+            }
+            if (waiters.size() < maxQueueSize) {
+                CompletableFuture<Void> waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+                return waiter;
+            }
+        } finally {
+            lock.unlock();
+        }
+        queueFullCount.increment();
+        listener.onQueueFull(name);
+        throw new BulkheadFullException(name, "Bulkhead '" + name + "' is full, maxConcurrentCalls="
+                + currentMax + ", maxQueueSize=" + maxQueueSize);
+    }
+
+    /**
+     * Withdraw a waiter from the queue unless a permit was already handed to it.
+     *
+     * @param waiter  the queued waiter
+     * @param timeout whether the waiter gives up because of the queue timeout
+     * @return true if the waiter was withdrawn, false if it was already completed, normally by a handed over permit
+     */
+    private boolean abandon(CompletableFuture<Void> waiter, boolean timeout) {
+        if (!waiter.completeExceptionally(timeout ? timeoutException() : new CancellationException())) {
+            return false;
+        }
+        remove(waiter);
+        if (timeout) {
+            queueTimeoutCount.increment();
+            listener.onQueueTimeout(name);
+        }
+        return true;
+    }
+
+    private void remove(CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BulkheadFullException timeoutException() {
+        return new BulkheadFullException(name, "Timed out after " + queueTimeoutMillis
+                + "ms waiting for bulkhead '" + name + "'");
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+
+/**
+ * Exception thrown when a request is rejected by a full {@link Bulkhead}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class BulkheadFullException extends HttpClientException {
+
+    private final String partition;
+
+    /**
+     * Constructor with partition name and message.
+     *
+     * @param partition name of the rejecting partition
+     * @param message   error message
+     */
+    public BulkheadFullException(String partition, String message) {
+        super(message);
+        this.partition = partition;
+    }
+
+    /**
+     * Get the name of the partition that rejected the request.
+     *
+     * @return partition name
+     */
+    public String getPartition() {
+        return partition;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder holding a {@link Bulkhead} permit of the request's API key while the request is in flight.
+ * <p>
+ * Blocking calls wait for the permit on the calling thread, asynchronous calls and streams wait without blocking.
+ * The permit of a stream is held until the stream terminates or is cancelled.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class BulkheadHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private final BulkheadRegistry registry;
+
+    BulkheadHttpRequestBuilder(HttpRequestBuilder delegate, BulkheadRegistry registry, String defaultAuthorization) {
+        super(delegate, null, defaultAuthorization);
+        this.registry = registry;
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        Bulkhead bulkhead = registry.forAuthorization(getAuthorization());
+        return bulkhead != null ? bulkhead.execute(call) : call.get();
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        Bulkhead bulkhead = registry.forAuthorization(getAuthorization());
+        return bulkhead != null ? bulkhead.executeAsync(call) : call.get();
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        Bulkhead bulkhead = registry.forAuthorization(getAuthorization());
+        return bulkhead != null ? bulkhead.executeFlux(call) : call.get();
+    }
+}
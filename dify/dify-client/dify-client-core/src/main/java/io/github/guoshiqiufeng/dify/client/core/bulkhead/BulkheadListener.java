@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+/**
+ * Listener receiving rejections of {@link Bulkhead} partitions.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer counters); they are invoked
+ * on the thread of the rejected request and should return quickly. Cumulative counts are also available from
+ * {@link BulkheadRegistry#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface BulkheadListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    BulkheadListener NOOP = new BulkheadListener() {
+    };
+
+    /**
+     * Called when a request is rejected because the queue of the partition is full.
+     *
+     * @param partition partition name
+     */
+    default void onQueueFull(String partition) {
+    }
+
+    /**
+     * Called when a queued request gives up after the queue timeout.
+     *
+     * @param partition partition name
+     */
+    default void onQueueTimeout(String partition) {
+    }
+}
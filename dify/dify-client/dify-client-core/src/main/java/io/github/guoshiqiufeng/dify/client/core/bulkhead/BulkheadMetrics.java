@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time metrics of a {@link Bulkhead} partition.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkheadMetrics {
+
+    /**
+     * Partition name.
+     */
+    private final String partition;
+
+    /**
+     * Maximum number of concurrent calls.
+     */
+    private final int maxConcurrentCalls;
+
+    /**
+     * Calls currently holding a permit.
+     */
+    private final int inFlightCalls;
+
+    /**
+     * Calls currently waiting for a permit.
+     */
+    private final int queuedCalls;
+
+    /**
+     * Total number of permits granted.
+     */
+    private final long acquiredCount;
+
+    /**
+     * Total number of calls rejected because the queue was full.
+     */
+    private final long queueFullCount;
+
+    /**
+     * Total number of queued calls that timed out.
+     */
+    private final long queueTimeoutCount;
+
+    /**
+     * Total number of rejected calls.
+     *
+     * @return rejections for a full queue plus queue timeouts
+     */
+    public long getRejectedCount() {
+        return queueFullCount + queueTimeoutCount;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-API-key {@link Bulkhead} partitions.
+ * <p>
+ * Every Dify app is addressed with its own API key, so partitioning by key isolates the apps sharing a client:
+ * a batch job flooding one app only exhausts the permits of its own partition and cannot starve interactive calls
+ * of other apps waiting for the shared connection pool. Keys listed in a configured
+ * {@link DifyProperties.BulkheadPartition} share that partition; every other key gets a partition of its own with
+ * the default limits.
+ * <p>
+ * HTTP clients apply the registry through {@link #decorate(HttpRequestBuilder, String)}, which resolves the
+ * partition from the {@code Authorization} header of each request. Requests without one are not limited.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class BulkheadRegistry {
+
+    /**
+     * Number of default partitions above which idle ones are evicted, bounding the registry when keys rotate.
+     */
+    static final int MAX_DEFAULT_PARTITIONS = 1024;
+
+    private final DifyProperties.BulkheadConfig config;
+    private final BulkheadListener listener;
+    private final Map<String, Bulkhead> configuredByKey = new HashMap<>();
+    private final List<Bulkhead> configured = new ArrayList<>();
+    private final ConcurrentMap<String, Bulkhead> defaultsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param config   bulkhead configuration
+     * @param listener listener notified of rejections, may be null
+     */
+    public BulkheadRegistry(DifyProperties.BulkheadConfig config, BulkheadListener listener) {
+        this.config = config != null ? config : new DifyProperties.BulkheadConfig();
+        this.listener = listener != null ? listener : BulkheadListener.NOOP;
+        if (this.config.getPartitions() == null) {
+            return;
+        }
+        for (DifyProperties.BulkheadPartition partition : this.config.getPartitions()) {
+            Bulkhead bulkhead = new Bulkhead(partition.getName(),
+                    orDefault(partition.getMaxConcurrentCalls(), this.config.getMaxConcurrentCalls(), 4),
+                    orDefault(partition.getMaxQueueSize(), this.config.getMaxQueueSize(), 16),
+                    orDefault(partition.getQueueTimeoutMillis(), this.config.getQueueTimeoutMillis(), 1000),
+                    this.listener);
+            configured.add(bulkhead);
+            if (partition.getApiKeys() != null) {
+                for (String apiKey : partition.getApiKeys()) {
+                    configuredByKey.put(apiKey, bulkhead);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.bulkhead}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of rejections, may be null
+     * @return the registry, or null if bulkheads are not enabled
+     */
+    public static BulkheadRegistry of(DifyProperties.ClientConfig clientConfig, BulkheadListener listener) {
+        if (clientConfig == null || clientConfig.getBulkhead() == null
+                || !Boolean.TRUE.equals(clientConfig.getBulkhead().getEnabled())) {
+            return null;
+        }
+        return new BulkheadRegistry(clientConfig.getBulkhead(), listener);
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.bulkhead}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the registry, or null if bulkheads are not enabled
+     */
+    public static BulkheadRegistry of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the partition of an API key.
+     *
+     * @param apiKey the API key
+     * @return the partition, or null for an empty key
+     */
+    public Bulkhead forApiKey(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return null;
+        }
+        Bulkhead bulkhead = configuredByKey.get(apiKey);
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+        bulkhead = defaultsByKey.get(apiKey);
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+        if (defaultsByKey.size() >= MAX_DEFAULT_PARTITIONS) {
+            defaultsByKey.values().removeIf(Bulkhead::isIdle);
+        }
+        return defaultsByKey.computeIfAbsent(apiKey, key -> new Bulkhead(maskKey(key),
+                orDefault(null, config.getMaxConcurrentCalls(), 4),
+                orDefault(null, config.getMaxQueueSize(), 16),
+                orDefault(null, config.getQueueTimeoutMillis(), 1000),
+                listener));
+    }
+
+    /**
+     * Get the partition of an {@code Authorization} header value.
+     *
+     * @param authorization header value, with or without the {@code Bearer } prefix
+     * @return the partition, or null if the value is empty
+     */
+    public Bulkhead forAuthorization(String authorization) {
+        if (authorization != null && authorization.startsWith(HttpHeaders.AUTHORIZATION_BEARER_KEY)) {
+            return forApiKey(authorization.substring(HttpHeaders.AUTHORIZATION_BEARER_KEY.length()).trim());
+        }
+        return forApiKey(authorization);
+    }
+
+    /**
+     * Limit the requests of a builder by the partition of their {@code Authorization} header.
+     *
+     * @param builder              the request builder of the HTTP client
+     * @param defaultAuthorization {@code Authorization} default header of the client, used when the request sets
+     *                             none, may be null
+     * @return the limited request builder
+     */
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String defaultAuthorization) {
+        return new BulkheadHttpRequestBuilder(builder, this, defaultAuthorization);
+    }
+
+    /**
+     * Get the metrics of all partitions, configured partitions first.
+     *
+     * @return metrics snapshots
+     */
+    public List<BulkheadMetrics> getMetrics() {
+        Map<String, BulkheadMetrics> metrics = new LinkedHashMap<>();
+        for (Bulkhead bulkhead : configured) {
+            metrics.put(bulkhead.getName(), bulkhead.getMetrics());
+        }
+        for (Bulkhead bulkhead : defaultsByKey.values()) {
+            metrics.putIfAbsent(bulkhead.getName(), bulkhead.getMetrics());
+        }
+        return Collections.unmodifiableList(new ArrayList<>(metrics.values()));
+    }
+
+    /**
+     * Name a default partition without exposing the API key.
+     *
+     * @param apiKey the API key
+     * @return key with all but its first and last four characters masked
+     */
+    public static String maskKey(String apiKey) {
+        if (apiKey.length() <= 8) {
+            return "****";
+        }
+        return apiKey.substring(0, 4) + "****" + apiKey.substring(apiKey.length() - 4);
+    }
+
+    private static int orDefault(Integer value, Integer fallback, int defaultValue) {
+        if (value != null) {
+            return value;
+        }
+        return fallback != null ? fallback : defaultValue;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the response cache metrics of one endpoint.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CacheMetrics {
+
+    /**
+     * Endpoint name, the endpoint group followed by the method and the URI template.
+     */
+    private final String endpoint;
+
+    /**
+     * Total number of calls answered by a fresh cached response.
+     */
+    private final long hits;
+
+    /**
+     * Total number of calls answered by an expired cached response while it was refreshed in the background.
+     */
+    private final long staleHits;
+
+    /**
+     * Total number of calls waiting for a response from Dify.
+     */
+    private final long misses;
+
+    /**
+     * Total number of requests answered by {@code 304 Not Modified}, renewing the cached response.
+     */
+    private final long notModified;
+
+    /**
+     * Share of the calls answered from the cache, fresh or stale, between 0 and 1.
+     */
+    private final double hitRatio;
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.cache;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Request builder answering cacheable calls through a {@link ResponseCache} and dropping cached responses after
+ * write calls. The responses of {@link #retrieve()} are observed to capture their {@code ETag} and to recognize
+ * {@code 304 Not Modified}, so conditional requests are only sent by calls through {@code retrieve()}. A 304
+ * answering such a request is hidden from the registered error handlers. Streams are passed through unchanged.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CachingHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final ResponseCache cache;
+    private boolean hasBody;
+    private boolean observing;
+    private volatile boolean ifNoneMatchSent;
+    private volatile int status;
+    private volatile String etag;
+
+    CachingHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                              ResponseCache cache) {
+        super(delegate, method, defaultAuthorization);
+        this.cache = cache;
+    }
+
+    @Override
+    public HttpRequestBuilder body(Object body) {
+        hasBody = body != null;
+        return super.body(body);
+    }
+
+    @Override
+    protected boolean isObservingResponses() {
+        observing = ttlNanos() > 0;
+        return observing;
+    }
+
+    @Override
+    protected boolean isExpectedStatus(int status) {
+        // a 304 answers the If-None-Match of this builder, the cached response is renewed instead
+        return status == NOT_MODIFIED && ifNoneMatchSent;
+    }
+
+    @Override
+    protected void onResponse(ResponseEntity<?> response) {
+        status = response.getStatusCode();
+        String value = response.getFirstHeader(HttpHeaders.ETAG);
+        if (value != null) {
+            etag = value;
+        }
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        String requestUri = getRequestUri();
+        long ttlNanos = requestUri != null ? ttlNanos() : 0;
+        if (ttlNanos > 0) {
+            return cache.execute(cache.endpoint(getMethod(), getUriTemplate()), key(requestUri), requestUri, ttlNanos,
+                    cachedEtag -> fetch(call, cachedEtag));
+        }
+        if (requestUri == null || !cache.isWrite(getMethod())) {
+            return call.get();
+        }
+        try {
+            return call.get();
+        } finally {
+            cache.invalidate(requestUri);
+        }
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        String requestUri = getRequestUri();
+        long ttlNanos = requestUri != null ? ttlNanos() : 0;
+        if (ttlNanos > 0) {
+            return cache.executeAsync(cache.endpoint(getMethod(), getUriTemplate()), key(requestUri), requestUri,
+                    ttlNanos, cachedEtag -> fetchAsync(call, cachedEtag));
+        }
+        if (requestUri == null || !cache.isWrite(getMethod())) {
+            return call.get();
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            cache.invalidate(requestUri);
+            throw e;
+        }
+        return future.whenComplete((value, error) -> cache.invalidate(requestUri));
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        return call.get();
+    }
+
+    private long ttlNanos() {
+        return hasBody || isMultipart() ? 0 : cache.ttlNanos(getMethod(), getUriTemplate());
+    }
+
+    private String key(String requestUri) {
+        return cache.key(getMethod(), requestUri, getAuthorization(), getOperation());
+    }
+
+    private <T> ResponseCache.Fetched<T> fetch(Supplier<T> call, String cachedEtag) {
+        boolean conditional = prepare(cachedEtag);
+        T value;
+        try {
+            value = call.get();
+        } catch (RuntimeException e) {
+            if (conditional && status == NOT_MODIFIED) {
+                return ResponseCache.Fetched.notModified();
+            }
+            throw e;
+        }
+        return fetched(value, conditional);
+    }
+
+    private <T> CompletableFuture<ResponseCache.Fetched<T>> fetchAsync(Supplier<CompletableFuture<T>> call,
+                                                                       String cachedEtag) {
+        boolean conditional = prepare(cachedEtag);
+        return call.get().handle((value, error) -> {
+            if (error == null) {
+                return fetched(value, conditional);
+            }
+            if (conditional && status == NOT_MODIFIED) {
+                return ResponseCache.Fetched.notModified();
+            }
+            throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+        });
+    }
+
+    /**
+     * Reset the observed response and ask for a conditional request when possible.
+     *
+     * @param cachedEtag {@code ETag} of the cached response, may be null
+     * @return true if the request carries {@code If-None-Match}
+     */
+    private boolean prepare(String cachedEtag) {
+        status = 0;
+        etag = null;
+        ifNoneMatchSent = cachedEtag != null && observing;
+        if (ifNoneMatchSent) {
+            super.header(HttpHeaders.IF_NONE_MATCH, cachedEtag);
+        }
+        return ifNoneMatchSent;
+    }
+
+    private <T> ResponseCache.Fetched<T> fetched(T value, boolean conditional) {
+        int observed = status;
+        if (conditional && observed == NOT_MODIFIED) {
+            return ResponseCache.Fetched.notModified();
+        }
+        if (observed != 0 && (observed < 200 || observed >= 300)) {
+            return ResponseCache.Fetched.uncached(value);
+        }
+        return ResponseCache.Fetched.of(value, etag);
+    }
+}
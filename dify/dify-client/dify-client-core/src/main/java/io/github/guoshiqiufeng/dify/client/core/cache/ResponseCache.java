@@ -0,0 +1,658 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.cache;
+
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the responses of slowly changing read endpoints of Dify clients, such as the app parameters or the
+ * knowledge base tags.
+ * <p>
+ * Responses of {@code GET} requests whose URI template has a positive TTL in {@code ttls} are cached by the expanded
+ * URI with its query, the {@code Authorization} header and the terminal operation with its response type. A fresh
+ * response answers calls without a request. Once expired, it still answers calls for
+ * {@code staleWhileRevalidateMillis} while a single background request refreshes it; after that calls wait for a new
+ * response. When Dify sent an {@code ETag}, the refresh carries {@code If-None-Match} and a {@code 304 Not Modified}
+ * renews the cached response. Cached responses are shared by all callers and must not be modified.
+ * <p>
+ * Every {@code POST}, {@code PUT}, {@code PATCH} and {@code DELETE} request sent through a client of this cache drops
+ * the cached responses on the same path branch: the written path, its parents and its children, whatever their
+ * query, endpoint group or API key. Responses of requests in flight when such a write completes are not cached.
+ * At most {@code maxEntries} responses are kept, evicting the least recently used.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public class ResponseCache implements HttpRequestDecorator {
+
+    private final Map<String, Long> ttls;
+    private final List<String[]> templates;
+    private final long staleNanos;
+    private final Entries entries;
+    private final ConcurrentMap<String, EndpointStats> endpoints;
+    private final ExecutorService executor;
+    private final LongSupplier clock;
+    private final String endpointGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param config the cache configuration
+     */
+    public ResponseCache(DifyProperties.CacheConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config   the cache configuration
+     * @param executor executor refreshing expired responses of blocking calls, null for the shared
+     *                 {@link DifyExecutors#workers()} pool
+     */
+    public ResponseCache(DifyProperties.CacheConfig config, ExecutorService executor) {
+        this(config, executor, System::nanoTime);
+    }
+
+    ResponseCache(DifyProperties.CacheConfig config, ExecutorService executor, LongSupplier clock) {
+        this.ttls = new HashMap<>();
+        this.templates = new ArrayList<>();
+        if (config.getTtls() != null) {
+            config.getTtls().forEach((template, ttl) -> {
+                if (template != null && ttl != null && ttl > 0) {
+                    String path = path(template);
+                    ttls.put(path, TimeUnit.MILLISECONDS.toNanos(ttl));
+                    templates.add(segments(path));
+                }
+            });
+        }
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(nonNegative(config.getStaleWhileRevalidateMillis()));
+        this.entries = new Entries(positive(config.getMaxEntries(), 1000));
+        this.endpoints = new ConcurrentHashMap<>();
+        this.executor = executor != null ? executor : DifyExecutors.workers();
+        this.clock = clock;
+        this.endpointGroup = null;
+    }
+
+    private ResponseCache(ResponseCache cache, String endpointGroup) {
+        this.ttls = cache.ttls;
+        this.templates = cache.templates;
+        this.staleNanos = cache.staleNanos;
+        this.entries = cache.entries;
+        this.endpoints = cache.endpoints;
+        this.executor = cache.executor;
+        this.clock = cache.clock;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the response cache configured by {@code clientConfig.cache}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the response cache, or null if caching is not enabled
+     */
+    public static ResponseCache of(DifyProperties.ClientConfig clientConfig) {
+        if (clientConfig == null || clientConfig.getCache() == null
+                || !Boolean.TRUE.equals(clientConfig.getCache().getEnabled())) {
+            return null;
+        }
+        ExecutorService executor = DifyExecutors.useVirtualThreads(clientConfig)
+                ? DifyExecutors.newVirtualThreadExecutor("dify-cache-refresh") : null;
+        return new ResponseCache(clientConfig.getCache(), executor);
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if endpoints are not prefixed by a group
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this cache naming the endpoints of one endpoint group. Views share the cached responses and the
+     * metrics.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public ResponseCache forEndpointGroup(String endpointGroup) {
+        return new ResponseCache(this, endpointGroup);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new CachingHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Get how long responses of a request are cached.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return the TTL in nanoseconds, or 0 if responses of the request are not cached
+     */
+    public long ttlNanos(String method, String uriTemplate) {
+        if (uriTemplate == null || !"GET".equalsIgnoreCase(method)) {
+            return 0;
+        }
+        Long ttl = ttls.get(path(uriTemplate));
+        return ttl != null ? ttl : 0;
+    }
+
+    /**
+     * Whether a request may change the responses of other requests.
+     *
+     * @param method HTTP method, may be null
+     * @return true unless the method is {@code GET}, {@code HEAD} or {@code OPTIONS}
+     */
+    public boolean isWrite(String method) {
+        return method != null && !"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)
+                && !"OPTIONS".equalsIgnoreCase(method);
+    }
+
+    /**
+     * Get the name of an endpoint in the endpoint group of this view.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return endpoint name
+     */
+    public String endpoint(String method, String uriTemplate) {
+        StringBuilder endpoint = new StringBuilder();
+        if (endpointGroup != null) {
+            endpoint.append(endpointGroup).append(':');
+        }
+        endpoint.append(method != null ? method : "?");
+        if (uriTemplate != null) {
+            endpoint.append(' ').append(path(uriTemplate));
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Get the key identifying the cached response of a call in the endpoint group of this view.
+     *
+     * @param method        HTTP method, may be null
+     * @param requestUri    URI of the request with its variables expanded and its query
+     * @param authorization {@code Authorization} header of the request, may be null
+     * @param operation     terminal operation with its response type, may be null
+     * @return the key
+     */
+    public String key(String method, String requestUri, String authorization, String operation) {
+        return (endpointGroup != null ? endpointGroup + ':' : "") + method + ' ' + requestUri
+                + '\n' + authorization + '\n' + operation;
+    }
+
+    /**
+     * Answer a blocking call from the cache, or fetch and cache its response.
+     *
+     * @param endpoint   endpoint name, see {@link #endpoint(String, String)}
+     * @param key        key of the call, see {@link #key(String, String, String, String)}
+     * @param requestUri URI of the request with its variables expanded
+     * @param ttlNanos   TTL of the response, see {@link #ttlNanos(String, String)}
+     * @param fetch      sends the request, given the {@code ETag} to revalidate or null
+     * @param <T>        result type
+     * @return the call result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(String endpoint, String key, String requestUri, long ttlNanos,
+                  Function<String, Fetched<T>> fetch) {
+        EndpointStats stats = stats(endpoint);
+        Entry entry = entries.find(key);
+        long now = clock.getAsLong();
+        if (entry != null && now - entry.expiresAt < 0) {
+            stats.hits.increment();
+            return (T) entry.value;
+        }
+        if (entry != null && now - entry.staleUntil < 0) {
+            stats.staleHits.increment();
+            refresh(entry, () -> executor.execute(() -> {
+                try {
+                    load(stats, key, requestUri, ttlNanos, entry, fetch);
+                } catch (Throwable e) {
+                    log.debug("【Dify】Background refresh of {} failed: {}", endpoint, e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            }));
+            return (T) entry.value;
+        }
+        stats.misses.increment();
+        return load(stats, key, requestUri, ttlNanos, entry, fetch);
+    }
+
+    /**
+     * Answer an asynchronous call from the cache, or fetch and cache its response.
+     *
+     * @param endpoint   endpoint name, see {@link #endpoint(String, String)}
+     * @param key        key of the call, see {@link #key(String, String, String, String)}
+     * @param requestUri URI of the request with its variables expanded
+     * @param ttlNanos   TTL of the response, see {@link #ttlNanos(String, String)}
+     * @param fetch      starts the request, given the {@code ETag} to revalidate or null
+     * @param <T>        result type
+     * @return future of the call result
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(String endpoint, String key, String requestUri, long ttlNanos,
+                                          Function<String, CompletableFuture<Fetched<T>>> fetch) {
+        EndpointStats stats = stats(endpoint);
+        Entry entry = entries.find(key);
+        long now = clock.getAsLong();
+        if (entry != null && now - entry.expiresAt < 0) {
+            stats.hits.increment();
+            return CompletableFuture.completedFuture((T) entry.value);
+        }
+        if (entry != null && now - entry.staleUntil < 0) {
+            stats.staleHits.increment();
+            refresh(entry, () -> loadAsync(stats, key, requestUri, ttlNanos, entry, fetch)
+                    .whenComplete((value, error) -> {
+                        if (error != null) {
+                            log.debug("【Dify】Background refresh of {} failed: {}", endpoint, error.getMessage());
+                        }
+                        entry.refreshing.set(false);
+                    }));
+            return CompletableFuture.completedFuture((T) entry.value);
+        }
+        stats.misses.increment();
+        return loadAsync(stats, key, requestUri, ttlNanos, entry, fetch);
+    }
+
+    /**
+     * Drop the cached responses a write request may have changed: those of the written path, of its parents and of
+     * its children.
+     *
+     * @param requestUri URI of the write request, its query is ignored
+     */
+    public void invalidate(String requestUri) {
+        if (requestUri == null) {
+            return;
+        }
+        String path = path(requestUri);
+        if (!isCachedBranch(path)) {
+            return;
+        }
+        entries.invalidate(path);
+    }
+
+    /**
+     * Drop all cached responses.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Get the metrics of all endpoints of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<CacheMetrics> getMetrics() {
+        List<CacheMetrics> metrics = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            metrics.add(stats.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the number of cached responses.
+     *
+     * @return cached responses, fresh or expired
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of cached responses evicted to stay within {@code maxEntries}.
+     *
+     * @return total evictions
+     */
+    public long getEvictionCount() {
+        return entries.evictions;
+    }
+
+    /**
+     * Get the number of cached responses dropped by write requests or {@link #invalidateAll()}.
+     *
+     * @return total invalidations
+     */
+    public long getInvalidationCount() {
+        return entries.invalidations;
+    }
+
+    /**
+     * Get the path of a URI or URI template, without its scheme, authority and query.
+     *
+     * @param uri the URI
+     * @return the path
+     */
+    static String path(String uri) {
+        int start = 0;
+        int scheme = uri.indexOf("://");
+        if (scheme >= 0) {
+            int slash = uri.indexOf('/', scheme + 3);
+            if (slash < 0) {
+                return "/";
+            }
+            start = slash;
+        }
+        int query = uri.indexOf('?', start);
+        return query >= 0 ? uri.substring(start, query) : start > 0 ? uri.substring(start) : uri;
+    }
+
+    private <T> T load(EndpointStats stats, String key, String requestUri, long ttlNanos, Entry cached,
+                       Function<String, Fetched<T>> fetch) {
+        long generation = entries.generation;
+        Fetched<T> fetched = fetch.apply(cached != null ? cached.etag : null);
+        return complete(stats, key, requestUri, ttlNanos, cached, generation, fetched);
+    }
+
+    private <T> CompletableFuture<T> loadAsync(EndpointStats stats, String key, String requestUri, long ttlNanos,
+                                               Entry cached, Function<String, CompletableFuture<Fetched<T>>> fetch) {
+        long generation = entries.generation;
+        return fetch.apply(cached != null ? cached.etag : null)
+                .thenApply(fetched -> complete(stats, key, requestUri, ttlNanos, cached, generation, fetched));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T complete(EndpointStats stats, String key, String requestUri, long ttlNanos, Entry cached,
+                           long generation, Fetched<T> fetched) {
+        long now = clock.getAsLong();
+        if (fetched.notModified && cached != null) {
+            stats.notModified.increment();
+            entries.store(new Entry(key, path(requestUri), cached.value, cached.etag, now + ttlNanos,
+                    now + ttlNanos + staleNanos), generation);
+            return (T) cached.value;
+        }
+        if (fetched.storable && fetched.value != null) {
+            entries.store(new Entry(key, path(requestUri), fetched.value, fetched.etag, now + ttlNanos,
+                    now + ttlNanos + staleNanos), generation);
+        }
+        return fetched.value;
+    }
+
+    private static void refresh(Entry entry, Runnable refresh) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresh.run();
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        } catch (RuntimeException e) {
+            entry.refreshing.set(false);
+            log.debug("【Dify】Background refresh failed to start: {}", e.getMessage());
+        }
+    }
+
+    private boolean isCachedBranch(String path) {
+        String[] segments = segments(path);
+        for (String[] template : templates) {
+            if (onSameBranch(template, segments)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean onSameBranch(String[] template, String[] segments) {
+        int common = Math.min(template.length, segments.length);
+        for (int i = 0; i < common; i++) {
+            String segment = template[i];
+            boolean variable = segment.startsWith("{") && segment.endsWith("}");
+            if (!variable && !segment.equals(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] segments(String path) {
+        return path.startsWith("/") ? path.substring(1).split("/") : path.split("/");
+    }
+
+    private static long nonNegative(Long value) {
+        return value != null && value > 0 ? value : 0;
+    }
+
+    private static int positive(Integer value, int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats != null ? stats : endpoints.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+
+    /**
+     * Outcome of a request sent for the cache.
+     *
+     * @param <T> result type
+     */
+    static final class Fetched<T> {
+
+        private final T value;
+        private final String etag;
+        private final boolean storable;
+        private final boolean notModified;
+
+        private Fetched(T value, String etag, boolean storable, boolean notModified) {
+            this.value = value;
+            this.etag = etag;
+            this.storable = storable;
+            this.notModified = notModified;
+        }
+
+        /**
+         * A response to cache.
+         *
+         * @param value the response
+         * @param etag  {@code ETag} of the response, may be null
+         * @param <T>   result type
+         * @return the outcome
+         */
+        static <T> Fetched<T> of(T value, String etag) {
+            return new Fetched<>(value, etag, true, false);
+        }
+
+        /**
+         * A response not to cache, such as an error response accepted by the error handlers.
+         *
+         * @param value the response
+         * @param <T>   result type
+         * @return the outcome
+         */
+        static <T> Fetched<T> uncached(T value) {
+            return new Fetched<>(value, null, false, false);
+        }
+
+        /**
+         * A {@code 304 Not Modified} response, the cached response is still current.
+         *
+         * @param <T> result type
+         * @return the outcome
+         */
+        static <T> Fetched<T> notModified() {
+            return new Fetched<>(null, null, false, true);
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    private static final class Entry {
+
+        private final String key;
+        private final String path;
+        private final Object value;
+        private final String etag;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(String key, String path, Object value, String etag, long expiresAt, long staleUntil) {
+            this.key = key;
+            this.path = path;
+            this.value = value;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.staleUntil = staleUntil;
+        }
+    }
+
+    /**
+     * Least recently used cached responses, indexed by path. Guarded by its own monitor.
+     */
+    private static final class Entries extends LinkedHashMap<String, Entry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+        private final TreeMap<String, Set<String>> paths = new TreeMap<>();
+        private volatile long generation;
+        private volatile long evictions;
+        private volatile long invalidations;
+
+        Entries(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized Entry find(String key) {
+            return get(key);
+        }
+
+        synchronized void store(Entry entry, long expectedGeneration) {
+            if (generation != expectedGeneration) {
+                return;
+            }
+            Entry previous = put(entry.key, entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+            paths.computeIfAbsent(entry.path, path -> new HashSet<>()).add(entry.key);
+        }
+
+        synchronized void invalidate(String path) {
+            generation++;
+            drop(paths.get(path));
+            for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                drop(paths.get(path.substring(0, slash)));
+            }
+            String prefix = path.endsWith("/") ? path : path + '/';
+            for (Set<String> keys : new ArrayList<>(paths.subMap(prefix, prefix + Character.MAX_VALUE).values())) {
+                drop(keys);
+            }
+        }
+
+        synchronized void invalidateAll() {
+            generation++;
+            invalidations += size();
+            clear();
+            paths.clear();
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (super.size() <= maxEntries) {
+                return false;
+            }
+            unindex(eldest.getValue());
+            evictions++;
+            return true;
+        }
+
+        private void drop(Set<String> keys) {
+            if (keys == null) {
+                return;
+            }
+            for (String key : new ArrayList<>(keys)) {
+                Entry entry = remove(key);
+                if (entry != null) {
+                    unindex(entry);
+                    invalidations++;
+                }
+            }
+        }
+
+        private void unindex(Entry entry) {
+            Set<String> keys = paths.get(entry.path);
+            if (keys != null && keys.remove(entry.key) && keys.isEmpty()) {
+                paths.remove(entry.path);
+            }
+        }
+    }
+
+    /**
+     * Counters of one endpoint.
+     */
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        CacheMetrics getMetrics() {
+            long hitCount = hits.sum();
+            long staleHitCount = staleHits.sum();
+            long missCount = misses.sum();
+            long calls = hitCount + staleHitCount + missCount;
+            return new CacheMetrics(endpoint, hitCount, staleHitCount, missCount, notModified.sum(),
+                    calls > 0 ? (double) (hitCount + staleHitCount) / calls : 0.0);
+        }
+    }
+}
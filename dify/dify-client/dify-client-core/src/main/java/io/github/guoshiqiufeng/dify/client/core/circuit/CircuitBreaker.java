@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of one endpoint.
+ * <p>
+ * The breaker is lock-free: its state and the counters belonging to it form an immutable {@link Phase} replaced by
+ * compare-and-set, and the sliding window of a phase is a ring of atomic outcomes. A permitted call holds the phase
+ * that permitted it, so outcomes of calls started before a transition are not counted in the next phase.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+final class CircuitBreaker {
+
+    private final String endpoint;
+    private final CircuitBreakerListener listener;
+    private final LongSupplier clock;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long waitNanos;
+    private final int halfOpenCalls;
+    private final AtomicReference<Phase> phase;
+    private final LongAdder notPermitted = new LongAdder();
+
+    CircuitBreaker(String endpoint, DifyProperties.CircuitBreakerConfig config, CircuitBreakerListener listener,
+                   LongSupplier clock) {
+        this.endpoint = endpoint;
+        this.listener = listener;
+        this.clock = clock;
+        this.failureRateThreshold = config.getFailureRateThreshold() != null
+                ? config.getFailureRateThreshold() : 50.0;
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold() != null
+                ? config.getSlowCallRateThreshold() : 80.0;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationThresholdMillis() != null
+                ? config.getSlowCallDurationThresholdMillis() : 10000L);
+        this.windowSize = Math.max(1, config.getSlidingWindowSize() != null ? config.getSlidingWindowSize() : 50);
+        this.minimumCalls = Math.min(windowSize, Math.max(1,
+                config.getMinimumNumberOfCalls() != null ? config.getMinimumNumberOfCalls() : 20));
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitDurationInOpenStateMillis() != null
+                ? config.getWaitDurationInOpenStateMillis() : 30000L);
+        this.halfOpenCalls = Math.max(1, config.getPermittedCallsInHalfOpenState() != null
+                ? config.getPermittedCallsInHalfOpenState() : 5);
+        this.phase = new AtomicReference<>(new Phase(CircuitBreakerState.CLOSED, new Window(windowSize), 0, 0));
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    CircuitBreakerState getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Ask for permission to send a call.
+     *
+     * @return the phase permitting the call, or null if the call must fail fast
+     */
+    Phase tryAcquire() {
+        while (true) {
+            Phase current = phase.get();
+            if (current.state == CircuitBreakerState.CLOSED) {
+                return current;
+            }
+            if (current.state == CircuitBreakerState.HALF_OPEN) {
+                if (current.permits.getAndDecrement() > 0) {
+                    return current;
+                }
+                current.permits.incrementAndGet();
+                break;
+            }
+            if (clock.getAsLong() - current.openedAtNanos < waitNanos) {
+                break;
+            }
+            transition(current, new Phase(CircuitBreakerState.HALF_OPEN, new Window(halfOpenCalls), 0,
+                    halfOpenCalls));
+        }
+        notPermitted.increment();
+        listener.onCallNotPermitted(endpoint);
+        return null;
+    }
+
+    /**
+     * Get the expected wait until trial calls are permitted.
+     *
+     * @return wait in milliseconds, 0 if calls are permitted or trial calls are running
+     */
+    long getRetryAfterMillis() {
+        Phase current = phase.get();
+        if (current.state != CircuitBreakerState.OPEN) {
+            return 0;
+        }
+        long remaining = waitNanos - (clock.getAsLong() - current.openedAtNanos);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param permit        phase returned by {@link #tryAcquire()}
+     * @param failed        whether the call failed
+     * @param durationNanos duration of the call
+     */
+    void onResult(Phase permit, boolean failed, long durationNanos) {
+        if (permit != phase.get()) {
+            return;
+        }
+        boolean slow = durationNanos >= slowCallNanos;
+        Window window = permit.window;
+        window.record(failed, slow);
+        if (permit.state == CircuitBreakerState.CLOSED) {
+            int calls = window.calls.get();
+            if (calls >= minimumCalls && (window.failures.get() * 100.0 / calls >= failureRateThreshold
+                    || window.slowCalls.get() * 100.0 / calls >= slowCallRateThreshold)) {
+                transition(permit, new Phase(CircuitBreakerState.OPEN, window, clock.getAsLong(), 0));
+            }
+        } else if (failed || slow) {
+            transition(permit, new Phase(CircuitBreakerState.OPEN, window, clock.getAsLong(), 0));
+        } else if (window.calls.get() >= halfOpenCalls) {
+            transition(permit, new Phase(CircuitBreakerState.CLOSED, new Window(windowSize), 0, 0));
+        }
+    }
+
+    /**
+     * Release the permission of a call whose outcome says nothing about the endpoint, such as a cancelled call.
+     *
+     * @param permit phase returned by {@link #tryAcquire()}
+     */
+    void onIgnored(Phase permit) {
+        if (permit.state == CircuitBreakerState.HALF_OPEN && permit == phase.get()) {
+            permit.permits.incrementAndGet();
+        }
+    }
+
+    CircuitBreakerMetrics getMetrics() {
+        Phase current = phase.get();
+        Window window = current.window;
+        int calls = window.calls.get();
+        int failures = window.failures.get();
+        int slowCalls = window.slowCalls.get();
+        boolean rated = calls > 0 && (calls >= minimumCalls || current.state != CircuitBreakerState.CLOSED);
+        return new CircuitBreakerMetrics(endpoint, current.state, rated ? failures * 100.0 / calls : -1,
+                rated ? slowCalls * 100.0 / calls : -1, calls, failures, slowCalls, notPermitted.sum());
+    }
+
+    private void transition(Phase from, Phase to) {
+        if (phase.compareAndSet(from, to)) {
+            listener.onStateTransition(endpoint, from.state, to.state);
+        }
+    }
+
+    /**
+     * State of the breaker with the counters belonging to it.
+     */
+    static final class Phase {
+
+        private final CircuitBreakerState state;
+        private final Window window;
+        private final long openedAtNanos;
+        private final AtomicInteger permits;
+
+        Phase(CircuitBreakerState state, Window window, long openedAtNanos, int permits) {
+            this.state = state;
+            this.window = window;
+            this.openedAtNanos = openedAtNanos;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+
+    /**
+     * Count-based sliding window of the most recent outcomes.
+     */
+    static final class Window {
+
+        private static final int RECORDED = 1;
+        private static final int FAILED = 2;
+        private static final int SLOW = 4;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(boolean failed, boolean slow) {
+            int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+            int index = (int) (cursor.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(index, outcome);
+            if (previous == 0) {
+                calls.incrementAndGet();
+            }
+            update(failures, previous, outcome, FAILED);
+            update(slowCalls, previous, outcome, SLOW);
+        }
+
+        private static void update(AtomicInteger counter, int previous, int outcome, int flag) {
+            int delta = ((outcome & flag) != 0 ? 1 : 0) - ((previous & flag) != 0 ? 1 : 0);
+            if (delta != 0) {
+                counter.addAndGet(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder running its calls through the circuit breaker of its endpoint in a
+ * {@link CircuitBreakerRegistry}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CircuitBreakerHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private final CircuitBreakerRegistry registry;
+
+    CircuitBreakerHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                                     CircuitBreakerRegistry registry) {
+        super(delegate, method, defaultAuthorization);
+        this.registry = registry;
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        return registry.execute(endpoint(), call);
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        return registry.executeAsync(endpoint(), call);
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        return registry.executeFlux(endpoint(), call);
+    }
+
+    private String endpoint() {
+        return registry.endpoint(getMethod(), getUriTemplate());
+    }
+}
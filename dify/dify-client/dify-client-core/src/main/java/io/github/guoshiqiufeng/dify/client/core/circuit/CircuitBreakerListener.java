@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+/**
+ * Listener receiving events of a {@link CircuitBreakerRegistry}.
+ * <p>
+ * Implementations bridge to the application's metrics or alerting system; they are invoked on the thread of the
+ * call causing the event and should return quickly. The current state of every endpoint is also available from
+ * {@link CircuitBreakerRegistry#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    CircuitBreakerListener NOOP = new CircuitBreakerListener() {
+    };
+
+    /**
+     * Called when the circuit breaker of an endpoint changes its state.
+     *
+     * @param endpoint endpoint of the circuit breaker
+     * @param from     previous state
+     * @param to       new state
+     */
+    default void onStateTransition(String endpoint, CircuitBreakerState from, CircuitBreakerState to) {
+    }
+
+    /**
+     * Called when a call fails fast because the circuit breaker of its endpoint does not permit it.
+     *
+     * @param endpoint endpoint of the circuit breaker
+     */
+    default void onCallNotPermitted(String endpoint) {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the circuit breaker of one endpoint.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CircuitBreakerMetrics {
+
+    /**
+     * Endpoint name, the endpoint group followed by the method and the URI template.
+     */
+    private final String endpoint;
+
+    /**
+     * Current state.
+     */
+    private final CircuitBreakerState state;
+
+    /**
+     * Percentage of failed calls in the sliding window, -1 while fewer calls than the minimum were recorded.
+     */
+    private final double failureRate;
+
+    /**
+     * Percentage of slow calls in the sliding window, -1 while fewer calls than the minimum were recorded.
+     */
+    private final double slowCallRate;
+
+    /**
+     * Number of calls in the sliding window.
+     */
+    private final int bufferedCalls;
+
+    /**
+     * Number of failed calls in the sliding window.
+     */
+    private final int failedCalls;
+
+    /**
+     * Number of slow calls in the sliding window.
+     */
+    private final int slowCalls;
+
+    /**
+     * Total number of calls that failed fast.
+     */
+    private final long notPermittedCalls;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+
+/**
+ * Exception thrown instead of sending a request while the circuit breaker of its endpoint does not permit calls.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class CircuitBreakerOpenException extends HttpClientException {
+
+    private final String endpoint;
+    private final long retryAfterMillis;
+
+    /**
+     * Constructor with endpoint, message and expected wait.
+     *
+     * @param endpoint         endpoint of the rejecting circuit breaker
+     * @param message          error message
+     * @param retryAfterMillis expected wait until trial calls are permitted in milliseconds, 0 if unknown
+     */
+    public CircuitBreakerOpenException(String endpoint, String message, long retryAfterMillis) {
+        super(message);
+        this.endpoint = endpoint;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Get the endpoint of the circuit breaker that rejected the request.
+     *
+     * @return endpoint name
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Get the expected wait until the circuit breaker permits trial calls.
+     *
+     * @return wait in milliseconds, or 0 if unknown
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadFullException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.exception.BaseException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breakers of the endpoints of Dify clients.
+ * <p>
+ * Every endpoint, the endpoint group of the view followed by the method and the URI template of the request (for
+ * example {@code dataset:POST /v1/datasets/{datasetId}/retrieve}), has its own breaker, so a degraded dataset
+ * service does not stop chat calls. A breaker opens when the failure rate or the slow-call rate of its sliding window
+ * reaches the configured threshold; calls then fail fast with a {@link CircuitBreakerOpenException} instead of
+ * holding threads and pooled connections until they time out. After the wait duration a few trial calls decide
+ * whether the breaker closes again.
+ * <p>
+ * Server errors, transport errors and timeouts are failures; client errors such as {@code 400} or {@code 404} count
+ * as successful calls, and local rejections or cancelled calls are not counted. Streams are judged by their first
+ * event. Endpoints beyond {@link #MAX_ENDPOINTS} are not protected.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class CircuitBreakerRegistry implements HttpRequestDecorator {
+
+    /**
+     * Number of endpoints with a circuit breaker.
+     */
+    static final int MAX_ENDPOINTS = 256;
+
+    private final DifyProperties.CircuitBreakerConfig config;
+    private final CircuitBreakerListener listener;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, CircuitBreaker> breakers;
+    private final String endpointGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param config   circuit breaker configuration
+     * @param listener listener notified of state transitions and rejected calls, may be null
+     */
+    public CircuitBreakerRegistry(DifyProperties.CircuitBreakerConfig config, CircuitBreakerListener listener) {
+        this(config, listener, System::nanoTime);
+    }
+
+    CircuitBreakerRegistry(DifyProperties.CircuitBreakerConfig config, CircuitBreakerListener listener,
+                           LongSupplier clock) {
+        this.config = config != null ? config : new DifyProperties.CircuitBreakerConfig();
+        this.listener = listener != null ? listener : CircuitBreakerListener.NOOP;
+        this.clock = clock;
+        this.breakers = new ConcurrentHashMap<>();
+        this.endpointGroup = null;
+    }
+
+    private CircuitBreakerRegistry(CircuitBreakerRegistry registry, String endpointGroup) {
+        this.config = registry.config;
+        this.listener = registry.listener;
+        this.clock = registry.clock;
+        this.breakers = registry.breakers;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.circuitBreaker}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of state transitions and rejected calls, may be null
+     * @return the registry, or null if circuit breakers are not enabled
+     */
+    public static CircuitBreakerRegistry of(DifyProperties.ClientConfig clientConfig,
+                                            CircuitBreakerListener listener) {
+        if (clientConfig == null || clientConfig.getCircuitBreaker() == null
+                || !Boolean.TRUE.equals(clientConfig.getCircuitBreaker().getEnabled())) {
+            return null;
+        }
+        return new CircuitBreakerRegistry(clientConfig.getCircuitBreaker(), listener);
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.circuitBreaker}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the registry, or null if circuit breakers are not enabled
+     */
+    public static CircuitBreakerRegistry of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if endpoints are not prefixed by a group
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this registry naming the endpoints of one endpoint group. Views share the circuit breakers.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public CircuitBreakerRegistry forEndpointGroup(String endpointGroup) {
+        return new CircuitBreakerRegistry(this, endpointGroup);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new CircuitBreakerHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Get the name of an endpoint in the endpoint group of this view.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return endpoint name
+     */
+    public String endpoint(String method, String uriTemplate) {
+        StringBuilder endpoint = new StringBuilder();
+        if (endpointGroup != null) {
+            endpoint.append(endpointGroup).append(':');
+        }
+        endpoint.append(method != null ? method : "?");
+        if (uriTemplate != null) {
+            int query = uriTemplate.indexOf('?');
+            endpoint.append(' ').append(query >= 0 ? uriTemplate.substring(0, query) : uriTemplate);
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Run a blocking call through the circuit breaker of its endpoint.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param call     performs the call
+     * @param <T>      result type
+     * @return the call result
+     * @throws CircuitBreakerOpenException if the circuit breaker does not permit the call
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        CircuitBreaker breaker = breaker(endpoint);
+        if (breaker == null) {
+            return call.get();
+        }
+        CircuitBreaker.Phase permit = acquire(breaker);
+        long startNanos = clock.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            record(breaker, permit, null, e, startNanos);
+            throw e;
+        }
+        record(breaker, permit, result, null, startNanos);
+        return result;
+    }
+
+    /**
+     * Start an asynchronous call through the circuit breaker of its endpoint.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param call     starts the call
+     * @param <T>      result type
+     * @return future of the call result, failed with a {@link CircuitBreakerOpenException} if the circuit breaker
+     * does not permit the call
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, Supplier<CompletableFuture<T>> call) {
+        CircuitBreaker breaker = breaker(endpoint);
+        if (breaker == null) {
+            return call.get();
+        }
+        CircuitBreaker.Phase permit;
+        try {
+            permit = acquire(breaker);
+        } catch (CircuitBreakerOpenException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        long startNanos = clock.getAsLong();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException | Error e) {
+            record(breaker, permit, null, e, startNanos);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> record(breaker, permit, result, error, startNanos));
+    }
+
+    /**
+     * Subscribe to a stream through the circuit breaker of its endpoint. The outcome of the stream is decided by its
+     * first signal, and the time to the first element is compared to the slow-call threshold.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param call     creates the stream
+     * @param <T>      element type
+     * @return the stream, failing with a {@link CircuitBreakerOpenException} if the circuit breaker does not permit
+     * the call
+     */
+    public <T> Flux<T> executeFlux(String endpoint, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            CircuitBreaker breaker = breaker(endpoint);
+            if (breaker == null) {
+                return call.get();
+            }
+            CircuitBreaker.Phase permit = acquire(breaker);
+            long startNanos = clock.getAsLong();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call.get()
+                    .doOnNext(element -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(breaker, permit, element, null, startNanos);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(breaker, permit, null, error, startNanos);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(breaker, permit, null, null, startNanos);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            breaker.onIgnored(permit);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Get the snapshots of the circuit breakers of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<CircuitBreakerMetrics> getMetrics() {
+        List<CircuitBreakerMetrics> metrics = new ArrayList<>();
+        for (CircuitBreaker breaker : breakers.values()) {
+            metrics.add(breaker.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the state of the circuit breaker of an endpoint.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @return the state, {@link CircuitBreakerState#CLOSED} if the endpoint has not been called yet
+     */
+    public CircuitBreakerState getState(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return breaker != null ? breaker.getState() : CircuitBreakerState.CLOSED;
+    }
+
+    private CircuitBreaker breaker(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (breaker != null) {
+            return breaker;
+        }
+        if (breakers.size() >= MAX_ENDPOINTS) {
+            return null;
+        }
+        return breakers.computeIfAbsent(endpoint, name -> new CircuitBreaker(name, config, listener, clock));
+    }
+
+    private static CircuitBreaker.Phase acquire(CircuitBreaker breaker) {
+        CircuitBreaker.Phase permit = breaker.tryAcquire();
+        if (permit == null) {
+            throw new CircuitBreakerOpenException(breaker.getEndpoint(),
+                    "Circuit breaker of " + breaker.getEndpoint() + " is " + breaker.getState(),
+                    breaker.getRetryAfterMillis());
+        }
+        return permit;
+    }
+
+    private void record(CircuitBreaker breaker, CircuitBreaker.Phase permit, Object result, Throwable error,
+                        long startNanos) {
+        Boolean failed = isFailure(result, error);
+        if (failed == null) {
+            breaker.onIgnored(permit);
+        } else {
+            breaker.onResult(permit, failed, clock.getAsLong() - startNanos);
+        }
+    }
+
+    /**
+     * Classify the outcome of a call.
+     *
+     * @return true for a failure of the endpoint, false for a success, null to ignore the call
+     */
+    static Boolean isFailure(Object result, Throwable error) {
+        if (error == null) {
+            return result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode() >= 500;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CompletionException) {
+                continue;
+            }
+            if (cause instanceof CancellationException || cause instanceof BulkheadFullException
+                    || cause instanceof CircuitBreakerOpenException) {
+                return null;
+            }
+            if (cause instanceof StreamTimeoutException || cause instanceof IOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof HttpClientException && ((HttpClientException) cause).getStatusCode() > 0) {
+                return ((HttpClientException) cause).getStatusCode() >= 500;
+            }
+            if (cause instanceof BaseException && ((BaseException) cause).getCode() != null
+                    && ((BaseException) cause).getCode() >= 400) {
+                return ((BaseException) cause).getCode() >= 500;
+            }
+        }
+        // a failure before any response, such as a serialization error or a local rejection, says nothing about
+        // the health of the endpoint
+        return null;
+    }
+}
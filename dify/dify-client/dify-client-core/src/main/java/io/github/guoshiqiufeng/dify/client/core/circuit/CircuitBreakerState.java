@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+/**
+ * State of a circuit breaker.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * Calls are permitted and their outcomes recorded in the sliding window.
+     */
+    CLOSED,
+
+    /**
+     * Calls fail fast until the wait duration has elapsed.
+     */
+    OPEN,
+
+    /**
+     * A limited number of trial calls decide whether to close or to open again.
+     */
+    HALF_OPEN
+}
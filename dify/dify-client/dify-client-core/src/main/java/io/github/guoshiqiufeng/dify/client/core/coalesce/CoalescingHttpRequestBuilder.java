@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.coalesce;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder coalescing its calls through a {@link RequestCoalescer}. Only coalescible requests without a body
+ * are coalesced, and streams are passed through unchanged.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CoalescingHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private final RequestCoalescer coalescer;
+    private boolean hasBody;
+
+    CoalescingHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                                 RequestCoalescer coalescer) {
+        super(delegate, method, defaultAuthorization);
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public HttpRequestBuilder body(Object body) {
+        hasBody = body != null;
+        return super.body(body);
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        String requestUri = getRequestUri();
+        if (!isCoalescible(requestUri)) {
+            return call.get();
+        }
+        return coalescer.execute(coalescer.endpoint(getMethod(), getUriTemplate()), key(requestUri), call);
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        String requestUri = getRequestUri();
+        if (!isCoalescible(requestUri)) {
+            return call.get();
+        }
+        return coalescer.executeAsync(coalescer.endpoint(getMethod(), getUriTemplate()), key(requestUri), call);
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        return call.get();
+    }
+
+    private boolean isCoalescible(String requestUri) {
+        return requestUri != null && !hasBody && !isMultipart() && coalescer.isCoalescible(getMethod());
+    }
+
+    private String key(String requestUri) {
+        return coalescer.key(getMethod(), requestUri, getAuthorization(), getOperation());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.coalesce;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the coalescing metrics of one endpoint.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CoalescingMetrics {
+
+    /**
+     * Endpoint name, the endpoint group followed by the method and the URI template.
+     */
+    private final String endpoint;
+
+    /**
+     * Total number of coalescible calls.
+     */
+    private final long calls;
+
+    /**
+     * Total number of requests sent, one per group of coalesced calls.
+     */
+    private final long requests;
+
+    /**
+     * Total number of calls answered by the request of another call.
+     */
+    private final long coalescedCalls;
+
+    /**
+     * Share of the calls answered by the request of another call, between 0 and 1.
+     */
+    private final double coalescingRatio;
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.coalesce;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent read calls of Dify clients.
+ * <p>
+ * While a call is in flight, further calls with the same key — the method, the expanded URI with its query, the
+ * {@code Authorization} header and the terminal operation with its response type — do not send a request of their
+ * own: they wait for the call in flight and share its result or error. Blocking and asynchronous calls of the same
+ * request are coalesced together. Nothing is kept once the call completes, so a call starting afterwards sends a new
+ * request. Coalesced callers receive the same result instance and must not modify it.
+ * <p>
+ * Only {@code GET} and {@code HEAD} requests are coalesced; streams and requests with a body are not.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class RequestCoalescer implements HttpRequestDecorator {
+
+    /**
+     * Number of endpoints with their own metrics, calls of further endpoints are counted together.
+     */
+    static final int MAX_ENDPOINTS = 256;
+
+    static final String OTHER_ENDPOINTS = "<other>";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight;
+    private final ConcurrentMap<String, EndpointStats> endpoints;
+    private final String endpointGroup;
+
+    /**
+     * Constructor.
+     */
+    public RequestCoalescer() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.endpoints = new ConcurrentHashMap<>();
+        this.endpointGroup = null;
+    }
+
+    private RequestCoalescer(RequestCoalescer coalescer, String endpointGroup) {
+        this.inFlight = coalescer.inFlight;
+        this.endpoints = coalescer.endpoints;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the coalescer configured by {@code clientConfig.coalesce}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the coalescer, or null if coalescing is not enabled
+     */
+    public static RequestCoalescer of(DifyProperties.ClientConfig clientConfig) {
+        if (clientConfig == null || clientConfig.getCoalesce() == null
+                || !Boolean.TRUE.equals(clientConfig.getCoalesce().getEnabled())) {
+            return null;
+        }
+        return new RequestCoalescer();
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if endpoints are not prefixed by a group
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this coalescer naming the endpoints of one endpoint group. Views share the calls in flight and
+     * the metrics.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public RequestCoalescer forEndpointGroup(String endpointGroup) {
+        return new RequestCoalescer(this, endpointGroup);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new CoalescingHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Whether calls of a request may be coalesced.
+     *
+     * @param method HTTP method, may be null
+     * @return true for {@code GET} and {@code HEAD} requests
+     */
+    public boolean isCoalescible(String method) {
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+    }
+
+    /**
+     * Get the name of an endpoint in the endpoint group of this view.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return endpoint name
+     */
+    public String endpoint(String method, String uriTemplate) {
+        StringBuilder endpoint = new StringBuilder();
+        if (endpointGroup != null) {
+            endpoint.append(endpointGroup).append(':');
+        }
+        endpoint.append(method != null ? method : "?");
+        if (uriTemplate != null) {
+            int query = uriTemplate.indexOf('?');
+            endpoint.append(' ').append(query >= 0 ? uriTemplate.substring(0, query) : uriTemplate);
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Get the key identifying identical calls in the endpoint group of this view.
+     *
+     * @param method        HTTP method, may be null
+     * @param requestUri    URI of the request with its variables expanded and its query
+     * @param authorization {@code Authorization} header of the request, may be null
+     * @param operation     terminal operation with its response type, may be null
+     * @return the key
+     */
+    public String key(String method, String requestUri, String authorization, String operation) {
+        return (endpointGroup != null ? endpointGroup + ':' : "") + method + ' ' + requestUri
+                + '\n' + authorization + '\n' + operation;
+    }
+
+    /**
+     * Run a blocking call, or wait for the identical call in flight and share its outcome.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param key      key of the call, see {@link #key(String, String, String, String)}
+     * @param call     performs the call
+     * @param <T>      result type
+     * @return the call result
+     */
+    public <T> T execute(String endpoint, String key, Supplier<T> call) {
+        EndpointStats stats = stats(endpoint);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            stats.coalesced.increment();
+            return await(existing);
+        }
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Start an asynchronous call, or join the identical call in flight and share its outcome. Cancelling the
+     * returned future does not cancel the shared call.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param key      key of the call, see {@link #key(String, String, String, String)}
+     * @param call     starts the call
+     * @param <T>      result type
+     * @return future of the call result
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, String key, Supplier<CompletableFuture<T>> call) {
+        EndpointStats stats = stats(endpoint);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            stats.coalesced.increment();
+            return share(existing);
+        }
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return share(flight);
+    }
+
+    /**
+     * Get the metrics of all endpoints of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<CoalescingMetrics> getMetrics() {
+        List<CoalescingMetrics> metrics = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            metrics.add(stats.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the number of calls currently in flight.
+     *
+     * @return calls in flight, each possibly shared by several callers
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private EndpointStats stats(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            String name = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINTS;
+            stats = endpoints.computeIfAbsent(name, EndpointStats::new);
+        }
+        stats.calls.increment();
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> flight) {
+        try {
+            return (T) flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for a coalesced call", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new HttpClientException(cause.getMessage(), cause);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> share(CompletableFuture<Object> flight) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        flight.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete((T) value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Counters of one endpoint.
+     */
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        CoalescingMetrics getMetrics() {
+            long callCount = calls.sum();
+            long coalescedCount = coalesced.sum();
+            return new CoalescingMetrics(endpoint, callCount, callCount - coalescedCount, coalescedCount,
+                    callCount > 0 ? (double) coalescedCount / callCount : 0.0);
+        }
+    }
+}
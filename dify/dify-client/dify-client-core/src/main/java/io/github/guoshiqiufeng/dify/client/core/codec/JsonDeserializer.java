@@ -40,4 +40,13 @@ public interface JsonDeserializer<T> {
      * @throws JsonException if deserialization fails
      */
     T deserialize(JsonNode root, JsonMapper jsonMapper) throws JsonException;
+
+    /**
+     * The type this deserializer produces
+     *
+     * @return the produced type, null if unknown
+     */
+    default Class<T> handledType() {
+        return null;
+    }
 }
@@ -18,6 +18,8 @@ package io.github.guoshiqiufeng.dify.client.core.codec;
 import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * JSON 序列化与反序列化统一接口
  * <p>
@@ -74,6 +76,84 @@ public interface JsonMapper {
      */
     <T> T fromJson(String json, TypeReference<T> typeReference) throws JsonException;
 
+    /**
+     * 将 UTF-8 编码的 JSON 字节片段反序列化为指定类型的对象
+     * <p>
+     * 用于 SSE 等流式场景,直接解析网络读取到的字节,避免先构造中间字符串。
+     * 默认实现退化为 {@link #fromJson(String, Class)},具体实现可覆盖以直接解析字节
+     * </p>
+     *
+     * @param json   JSON 字节数组
+     * @param offset 起始偏移
+     * @param length 字节长度
+     * @param clazz  目标类型
+     * @param <T>    目标类型泛型
+     * @return 反序列化后的对象
+     * @throws JsonException 反序列化失败时抛出
+     */
+    default <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz) throws JsonException {
+        return fromJson(new String(json, offset, length, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * 使用指定的反序列化器将 JSON 字符串反序列化为对象
+     * <p>
+     * 用于需要携带调用参数的反序列化器实例(如按事件类型过滤的流式事件),
+     * 默认实现基于 {@link #parseTree(String)} 构建的 JSON 树
+     * </p>
+     *
+     * @param json         JSON 字符串
+     * @param deserializer 反序列化器实例
+     * @param <T>          目标类型泛型
+     * @return 反序列化后的对象
+     * @throws JsonException 反序列化失败时抛出
+     */
+    default <T> T fromJson(String json, JsonDeserializer<T> deserializer) throws JsonException {
+        return deserializer.deserialize(parseTree(json), this);
+    }
+
+    /**
+     * 使用指定的反序列化器将 UTF-8 编码的 JSON 字节片段反序列化为对象
+     *
+     * @param json         JSON 字节数组
+     * @param offset       起始偏移
+     * @param length       字节长度
+     * @param deserializer 反序列化器实例
+     * @param <T>          目标类型泛型
+     * @return 反序列化后的对象
+     * @throws JsonException 反序列化失败时抛出
+     */
+    default <T> T fromJson(byte[] json, int offset, int length, JsonDeserializer<T> deserializer) throws JsonException {
+        return fromJson(new String(json, offset, length, StandardCharsets.UTF_8), deserializer);
+    }
+
+    /**
+     * 创建 JSON 流式读取器
+     * <p>
+     * 用于 {@link StreamingJsonDeserializer} 单次前向读取,默认实现不支持流式读取
+     * </p>
+     *
+     * @param json JSON 字符串
+     * @return 流式读取器,使用完毕后需关闭
+     * @throws JsonException 创建失败或不支持时抛出
+     */
+    default JsonTokenReader createTokenReader(String json) throws JsonException {
+        throw new JsonException("Streaming read is not supported by " + getClass().getName());
+    }
+
+    /**
+     * 基于 UTF-8 编码的 JSON 字节片段创建流式读取器
+     *
+     * @param json   JSON 字节数组
+     * @param offset 起始偏移
+     * @param length 字节长度
+     * @return 流式读取器,使用完毕后需关闭
+     * @throws JsonException 创建失败或不支持时抛出
+     */
+    default JsonTokenReader createTokenReader(byte[] json, int offset, int length) throws JsonException {
+        return createTokenReader(new String(json, offset, length, StandardCharsets.UTF_8));
+    }
+
     /**
      * 解析 JSON 字符串为抽象的 JSON 树节点
      * <p>
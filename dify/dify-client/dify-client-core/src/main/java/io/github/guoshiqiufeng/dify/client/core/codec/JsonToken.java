@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.codec;
+
+/**
+ * JSON 流式读取的记号类型
+ * <p>
+ * 与具体 JSON 库的记号(Jackson JsonToken, Gson JsonToken 等)一一对应
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public enum JsonToken {
+
+    /**
+     * 对象开始 {
+     */
+    BEGIN_OBJECT,
+
+    /**
+     * 对象结束 }
+     */
+    END_OBJECT,
+
+    /**
+     * 数组开始 [
+     */
+    BEGIN_ARRAY,
+
+    /**
+     * 数组结束 ]
+     */
+    END_ARRAY,
+
+    /**
+     * 字段名
+     */
+    NAME,
+
+    /**
+     * 字符串
+     */
+    STRING,
+
+    /**
+     * 数字
+     */
+    NUMBER,
+
+    /**
+     * 布尔值
+     */
+    BOOLEAN,
+
+    /**
+     * null
+     */
+    NULL,
+
+    /**
+     * 文档结束
+     */
+    END_DOCUMENT
+}
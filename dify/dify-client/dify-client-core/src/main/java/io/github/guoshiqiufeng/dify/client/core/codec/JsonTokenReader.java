@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.codec;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
+
+import java.io.Closeable;
+
+/**
+ * JSON 流式读取接口
+ * <p>
+ * 按记号顺序单次前向读取 JSON,不构建中间树节点。
+ * 用于 {@link StreamingJsonDeserializer} 在一次遍历中填充目标对象,
+ * 嵌套的值可通过 {@link #readValue(Class)} 交给具体 JSON 库直接绑定
+ * </p>
+ * <p>
+ * 所有读取方法在 JSON 值为 null 时消费该值并返回 null
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public interface JsonTokenReader extends Closeable {
+
+    /**
+     * 查看下一个记号但不消费
+     *
+     * @return 下一个记号
+     * @throws JsonException 读取失败时抛出
+     */
+    JsonToken peek() throws JsonException;
+
+    /**
+     * 消费对象开始记号
+     *
+     * @throws JsonException 下一个记号不是对象开始时抛出
+     */
+    void beginObject() throws JsonException;
+
+    /**
+     * 消费对象结束记号
+     *
+     * @throws JsonException 下一个记号不是对象结束时抛出
+     */
+    void endObject() throws JsonException;
+
+    /**
+     * 消费数组开始记号
+     *
+     * @throws JsonException 下一个记号不是数组开始时抛出
+     */
+    void beginArray() throws JsonException;
+
+    /**
+     * 消费数组结束记号
+     *
+     * @throws JsonException 下一个记号不是数组结束时抛出
+     */
+    void endArray() throws JsonException;
+
+    /**
+     * 判断当前对象或数组中是否还有元素
+     *
+     * @return true 表示还有元素
+     * @throws JsonException 读取失败时抛出
+     */
+    boolean hasNext() throws JsonException;
+
+    /**
+     * 读取字段名
+     *
+     * @return 字段名
+     * @throws JsonException 下一个记号不是字段名时抛出
+     */
+    String nextName() throws JsonException;
+
+    /**
+     * 读取字符串值,数字与布尔值返回其文本形式,对象与数组被跳过并返回 null
+     *
+     * @return 字符串值
+     * @throws JsonException 读取失败时抛出
+     */
+    String nextString() throws JsonException;
+
+    /**
+     * 读取整数值,字符串形式的数字会被转换
+     *
+     * @return 整数值
+     * @throws JsonException 读取失败时抛出
+     */
+    Integer nextInteger() throws JsonException;
+
+    /**
+     * 读取长整数值,字符串形式的数字会被转换
+     *
+     * @return 长整数值
+     * @throws JsonException 读取失败时抛出
+     */
+    Long nextLong() throws JsonException;
+
+    /**
+     * 读取浮点数值,字符串形式的数字会被转换
+     *
+     * @return 浮点数值
+     * @throws JsonException 读取失败时抛出
+     */
+    Double nextDouble() throws JsonException;
+
+    /**
+     * 读取布尔值
+     *
+     * @return 布尔值
+     * @throws JsonException 读取失败时抛出
+     */
+    Boolean nextBoolean() throws JsonException;
+
+    /**
+     * 跳过下一个值(包括整个对象或数组)
+     *
+     * @throws JsonException 读取失败时抛出
+     */
+    void skipValue() throws JsonException;
+
+    /**
+     * 使用具体 JSON 库将下一个值直接绑定为指定类型
+     *
+     * @param clazz 目标类型
+     * @param <T>   目标类型泛型
+     * @return 绑定后的对象
+     * @throws JsonException 绑定失败时抛出
+     */
+    <T> T readValue(Class<T> clazz) throws JsonException;
+
+    /**
+     * 将下一个值读取为树节点
+     *
+     * @return JSON 树节点
+     * @throws JsonException 读取失败时抛出
+     */
+    JsonNode readTree() throws JsonException;
+
+    /**
+     * 关闭读取器
+     */
+    @Override
+    void close();
+}
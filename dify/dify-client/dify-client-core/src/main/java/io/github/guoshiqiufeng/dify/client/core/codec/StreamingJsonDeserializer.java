@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.codec;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
+
+/**
+ * Streaming JSON deserializer interface
+ * <p>
+ * Deserializers implementing this interface are driven by a {@link JsonTokenReader} instead of a
+ * fully built {@link JsonNode} tree when a {@link JsonMapper} reads JSON text or bytes, so the object
+ * can be populated in a single forward pass. The tree based method is still used for
+ * {@link JsonMapper#treeToValue(JsonNode, Class)} style conversions.
+ * </p>
+ *
+ * @param <T> the type of object to deserialize
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public interface StreamingJsonDeserializer<T> extends JsonDeserializer<T> {
+
+    /**
+     * Deserialize an object from a token reader positioned before its first token
+     *
+     * @param reader     the token reader
+     * @param jsonMapper the JSON mapper for additional operations
+     * @return the deserialized object
+     * @throws JsonException if deserialization fails
+     */
+    T deserialize(JsonTokenReader reader, JsonMapper jsonMapper) throws JsonException;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.codec.util;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonToken;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JsonTokenReader} 读取工具,转换规则与 {@link JsonNodeUtil} 保持一致
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+@UtilityClass
+public class JsonTokenReaderUtil {
+
+    /**
+     * 读取下一个值为 Map,非对象值被跳过并返回空 Map
+     */
+    public static Map<String, Object> readMap(JsonTokenReader reader) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return map;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String fieldName = reader.nextName();
+            map.put(fieldName, readObject(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    /**
+     * 读取下一个值为 List<String>,非数组值被跳过并返回空 List
+     */
+    public static List<String> readStringList(JsonTokenReader reader) {
+        List<String> list = new ArrayList<>();
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return list;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(reader.nextString());
+        }
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * 读取下一个值为 Java 对象,数字统一为 Double
+     */
+    public static Object readObject(JsonTokenReader reader) {
+        switch (reader.peek()) {
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return reader.nextDouble();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readObject(reader));
+                }
+                reader.endArray();
+                return list;
+            case BEGIN_OBJECT:
+                return readMap(reader);
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.concurrent;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.ExecutionModeEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executors honouring {@link DifyProperties.ClientConfig#getExecutionMode()}.
+ * <p>
+ * In {@link ExecutionModeEnum#VIRTUAL} mode every task runs on its own virtual thread, so the number of concurrent
+ * blocking calls is no longer bound by the size of a platform thread pool. Virtual threads are provided by the
+ * Java 21 version of this library packaged in the multi-release jar; on older runtimes the mode falls back to the
+ * platform executor of the caller and a warning is logged once.
+ * <p>
+ * {@link #scheduler()} and {@link #workers()} are shared by the resilience features of all clients, so timers and
+ * background tasks do not start threads of their own per feature.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public final class DifyExecutors {
+
+    /**
+     * Maximum number of queued tasks of the shared worker pool, further tasks are rejected.
+     */
+    static final int WORKER_QUEUE_CAPACITY = 1024;
+
+    private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean();
+
+    private DifyExecutors() {
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     *
+     * @return true on Java 21 or later
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * Whether the given configuration asks for virtual threads and the running JVM supports them.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return true if tasks should run on virtual threads
+     */
+    public static boolean useVirtualThreads(DifyProperties.ClientConfig clientConfig) {
+        if (clientConfig == null || clientConfig.getExecutionMode() != ExecutionModeEnum.VIRTUAL) {
+            return false;
+        }
+        if (VirtualThreads.isSupported()) {
+            return true;
+        }
+        if (FALLBACK_LOGGED.compareAndSet(false, true)) {
+            log.warn("【Dify】executionMode VIRTUAL requires Java 21 or later, running on {}. Falling back to platform threads.",
+                    System.getProperty("java.version"));
+        }
+        return false;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for every task.
+     *
+     * @param namePrefix prefix of the thread names, followed by a sequence number
+     * @return the executor
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        return VirtualThreads.newThreadPerTaskExecutor(namePrefix);
+    }
+
+    /**
+     * Create the executor for the configured execution mode.
+     *
+     * @param clientConfig     the client configuration, may be null
+     * @param namePrefix       prefix of the virtual thread names
+     * @param platformExecutor creates the executor used in platform mode
+     * @return a virtual thread executor in virtual mode, otherwise the platform executor
+     */
+    public static ExecutorService newExecutor(DifyProperties.ClientConfig clientConfig, String namePrefix,
+                                              Supplier<ExecutorService> platformExecutor) {
+        return useVirtualThreads(clientConfig) ? newVirtualThreadExecutor(namePrefix) : platformExecutor.get();
+    }
+
+    /**
+     * Create an executor for blocking I/O that may take arbitrarily long, such as token store reads and writes, so
+     * that it neither waits for nor holds the threads of {@link #workers()}. Idle platform threads are released
+     * after a minute.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param namePrefix   prefix of the thread names, followed by a sequence number
+     * @return a virtual thread executor in virtual mode, otherwise a pool of daemon threads growing with the load
+     */
+    public static ExecutorService newBlockingIoExecutor(DifyProperties.ClientConfig clientConfig, String namePrefix) {
+        return newExecutor(clientConfig, namePrefix, () -> new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), daemonThreadFactory(namePrefix + "-")));
+    }
+
+    /**
+     * Get the shared daemon scheduler of timeouts, delayed tasks and hedging delays. Tasks must be short and must not
+     * block, longer work is handed to {@link #workers()}. Cancelled tasks are removed from the queue.
+     *
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+    /**
+     * Get the shared pool of daemon threads running background work of blocking calls, such as hedged attempts and
+     * cache refreshes. The pool is bounded to twice the number of processors, at least four threads, and
+     * {@value #WORKER_QUEUE_CAPACITY} queued tasks; further tasks are rejected with a
+     * {@link java.util.concurrent.RejectedExecutionException}. Tasks must be bounded in number and duration: blocking
+     * I/O without such a bound, such as token store access, belongs on an executor from
+     * {@link #newBlockingIoExecutor(DifyProperties.ClientConfig, String)} so it cannot starve the hedged attempts
+     * and cache refreshes sharing this pool, nor be rejected by them.
+     *
+     * @return the shared worker pool
+     */
+    public static ExecutorService workers() {
+        return WorkersHolder.INSTANCE;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class SchedulerHolder {
+
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                    daemonThreadFactory("dify-scheduler-"));
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    private static final class WorkersHolder {
+
+        private static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(WORKER_QUEUE_CAPACITY), daemonThreadFactory("dify-worker-"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
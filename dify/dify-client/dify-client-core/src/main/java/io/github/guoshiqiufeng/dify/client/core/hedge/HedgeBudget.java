@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget bounding hedged attempts to a share of all calls.
+ * <p>
+ * Every call deposits {@code ratio} of a hedge and every hedged attempt withdraws a whole one, so hedging adds at
+ * most {@code ratio} to the load of the server, even when all of its workers are slow. The balance is capped at
+ * {@code maxHedges}, which is also its initial value.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+final class HedgeBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    HedgeBudget(double ratio, int maxHedges) {
+        this.deposit = (long) (Math.max(0.0, ratio) * UNIT);
+        this.maxBalance = Math.max(0, maxHedges) * UNIT;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void deposit() {
+        if (deposit > 0) {
+            balance.updateAndGet(current -> Math.min(maxBalance, current + deposit));
+        }
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    double getRemainingHedges() {
+        return (double) balance.get() / UNIT;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+/**
+ * Listener receiving events of a {@link HedgingEngine}.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer counters); they are invoked
+ * on the timer thread of the engine and should return quickly. Cumulative counts per endpoint are also available
+ * from {@link HedgingEngine#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface HedgeListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    HedgeListener NOOP = new HedgeListener() {
+    };
+
+    /**
+     * Called when a hedged attempt is sent because the first attempt has not answered in time.
+     *
+     * @param endpoint    endpoint of the call
+     * @param delayMillis hedging delay of the endpoint in milliseconds
+     */
+    default void onHedge(String endpoint, long delayMillis) {
+    }
+
+    /**
+     * Called when a slow call is not hedged because the hedging budget is used up.
+     *
+     * @param endpoint endpoint of the call
+     */
+    default void onBudgetExhausted(String endpoint) {
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the hedging metrics of one endpoint.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HedgeMetrics {
+
+    /**
+     * Endpoint name, the endpoint group followed by the method and the URI template.
+     */
+    private final String endpoint;
+
+    /**
+     * Current hedging delay in milliseconds.
+     */
+    private final long hedgeDelayMillis;
+
+    /**
+     * Total number of hedgeable calls.
+     */
+    private final long calls;
+
+    /**
+     * Total number of hedged attempts sent.
+     */
+    private final long hedges;
+
+    /**
+     * Total number of calls answered by the hedged attempt.
+     */
+    private final long hedgeWins;
+
+    /**
+     * Total number of slow calls not hedged because the hedging budget was used up.
+     */
+    private final long budgetExhaustedCount;
+}
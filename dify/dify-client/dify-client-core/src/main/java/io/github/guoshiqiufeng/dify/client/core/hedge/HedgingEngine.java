@@ -0,0 +1,610 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import io.github.guoshiqiufeng.dify.client.core.http.CallCancellation;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedges slow read calls of Dify clients.
+ * <p>
+ * When the first attempt of a hedgeable call has not answered within the hedging delay of its endpoint, a second
+ * identical attempt is sent; the first successful answer is kept and the other attempt is cancelled. A call only
+ * fails once every attempt it sent has failed, and a failure of the first attempt before the delay is returned
+ * without hedging, leaving retries to the retry engine. The delay follows a percentile of the recent latencies of the
+ * endpoint, and a budget shared by all calls bounds the extra load to {@code budgetRatio} of the calls.
+ * <p>
+ * Only idempotent reads are hedged: {@code GET} and {@code HEAD} requests and the configured URI templates, such as
+ * the knowledge base retrieval. When the transport can cancel its blocking calls, the first attempt of a blocking call
+ * runs on the calling thread, keeping its thread locals such as the logging context, only the hedged attempt runs on
+ * the worker executor and the attempt that lost is aborted through its {@link CallCancellation} scope. Otherwise both
+ * attempts run on the executor so the caller returns on the first success, and the attempt that lost runs to its end.
+ * Streams are not hedged.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class HedgingEngine implements HttpRequestDecorator {
+
+    /**
+     * Number of endpoints with their own latencies and metrics, calls of further endpoints are counted together.
+     */
+    static final int MAX_ENDPOINTS = 256;
+
+    static final String OTHER_ENDPOINTS = "<other>";
+
+    private final DifyProperties.HedgeConfig config;
+    private final HedgeListener listener;
+    private final ExecutorService executor;
+    private final Set<String> hedgePaths;
+    private final HedgeBudget budget;
+    private final ConcurrentMap<String, EndpointStats> endpoints;
+    private final String endpointGroup;
+
+    /**
+     * Constructor running the hedged attempts of blocking calls on the shared {@link DifyExecutors#workers()} pool.
+     *
+     * @param config   hedging configuration
+     * @param listener listener notified of hedges, may be null
+     */
+    public HedgingEngine(DifyProperties.HedgeConfig config, HedgeListener listener) {
+        this(config, listener, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config   hedging configuration
+     * @param listener listener notified of hedges, may be null
+     * @param executor executor running the hedged attempts of blocking calls, null for the shared
+     *                 {@link DifyExecutors#workers()} pool
+     */
+    public HedgingEngine(DifyProperties.HedgeConfig config, HedgeListener listener, ExecutorService executor) {
+        this.config = config != null ? config : new DifyProperties.HedgeConfig();
+        this.listener = listener != null ? listener : HedgeListener.NOOP;
+        this.executor = executor != null ? executor : DifyExecutors.workers();
+        this.hedgePaths = this.config.getHedgePaths() != null
+                ? new HashSet<>(this.config.getHedgePaths()) : Collections.emptySet();
+        this.budget = new HedgeBudget(this.config.getBudgetRatio() != null ? this.config.getBudgetRatio() : 0.1,
+                this.config.getBudgetMaxHedges() != null ? this.config.getBudgetMaxHedges() : 10);
+        this.endpoints = new ConcurrentHashMap<>();
+        this.endpointGroup = null;
+    }
+
+    private HedgingEngine(HedgingEngine engine, String endpointGroup) {
+        this.config = engine.config;
+        this.listener = engine.listener;
+        this.executor = engine.executor;
+        this.hedgePaths = engine.hedgePaths;
+        this.budget = engine.budget;
+        this.endpoints = engine.endpoints;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the engine configured by {@code clientConfig.hedge}. Hedged attempts of blocking calls run on virtual
+     * threads in virtual execution mode.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of hedges, may be null
+     * @return the engine, or null if hedging is not enabled
+     */
+    public static HedgingEngine of(DifyProperties.ClientConfig clientConfig, HedgeListener listener) {
+        if (clientConfig == null || clientConfig.getHedge() == null
+                || !Boolean.TRUE.equals(clientConfig.getHedge().getEnabled())) {
+            return null;
+        }
+        ExecutorService executor = DifyExecutors.useVirtualThreads(clientConfig)
+                ? DifyExecutors.newVirtualThreadExecutor("dify-hedge") : null;
+        return new HedgingEngine(clientConfig.getHedge(), listener, executor);
+    }
+
+    /**
+     * Create the engine configured by {@code clientConfig.hedge}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the engine, or null if hedging is not enabled
+     */
+    public static HedgingEngine of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if endpoints are not prefixed by a group
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this engine naming the endpoints of one endpoint group. Views share the budget and metrics.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public HedgingEngine forEndpointGroup(String endpointGroup) {
+        return new HedgingEngine(this, endpointGroup);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new HedgingHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Whether calls of a request may be hedged.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return true for {@code GET} and {@code HEAD} requests and the configured URI templates
+     */
+    public boolean isHedgeable(String method, String uriTemplate) {
+        if (method == null) {
+            return false;
+        }
+        String upperMethod = method.toUpperCase(Locale.ROOT);
+        if ("GET".equals(upperMethod) || "HEAD".equals(upperMethod)) {
+            return true;
+        }
+        return uriTemplate != null && hedgePaths.contains(stripQuery(uriTemplate));
+    }
+
+    /**
+     * Get the name of an endpoint in the endpoint group of this view.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return endpoint name
+     */
+    public String endpoint(String method, String uriTemplate) {
+        StringBuilder endpoint = new StringBuilder();
+        if (endpointGroup != null) {
+            endpoint.append(endpointGroup).append(':');
+        }
+        endpoint.append(method != null ? method : "?");
+        if (uriTemplate != null) {
+            endpoint.append(' ').append(stripQuery(uriTemplate));
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Run a blocking call that cannot be cancelled, hedging it if it is slow. Both attempts run on the executor of
+     * this engine while the caller waits for the first success.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param call     performs one attempt
+     * @param <T>      result type
+     * @return the result of the first successful attempt
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        return execute(endpoint, call, false);
+    }
+
+    /**
+     * Run a blocking call, hedging it if it is slow.
+     * <p>
+     * A cancellable call registers its HTTP call with the {@link CallCancellation} scope of its thread: the first
+     * attempt runs on the calling thread, the hedged attempt on the executor of this engine, and the attempt that
+     * lost is cancelled through its scope. A call that cannot be cancelled runs both attempts on the executor, and
+     * runs on the calling thread without hedging when the executor rejects it. A hedged attempt rejected by the
+     * executor is skipped.
+     *
+     * @param endpoint    endpoint name, see {@link #endpoint(String, String)}
+     * @param call        performs one attempt
+     * @param cancellable whether the call registers its HTTP call with its {@link CallCancellation} scope
+     * @param <T>         result type
+     * @return the result of the first successful attempt
+     */
+    public <T> T execute(String endpoint, Supplier<T> call, boolean cancellable) {
+        EndpointStats stats = startCall(endpoint);
+        BlockingHedgedCall<T> hedgedCall = new BlockingHedgedCall<>(stats, call);
+        long delayMillis = stats.latencies.getDelayMillis();
+        return cancellable ? hedgedCall.runOnCaller(delayMillis) : hedgedCall.runOnExecutor(delayMillis);
+    }
+
+    /**
+     * Start an asynchronous call, hedging it if it is slow. Cancelling the returned future cancels the running
+     * attempts.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param call     starts one attempt
+     * @param <T>      result type
+     * @return future of the result of the first successful attempt
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, Supplier<CompletableFuture<T>> call) {
+        EndpointStats stats = startCall(endpoint);
+        HedgedCall<T> hedgedCall = new HedgedCall<>(stats, call);
+        hedgedCall.start(stats.latencies.getDelayMillis());
+        return hedgedCall.result;
+    }
+
+    /**
+     * Get the metrics of all endpoints of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<HedgeMetrics> getMetrics() {
+        List<HedgeMetrics> metrics = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            metrics.add(stats.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the number of hedged attempts the budget currently allows.
+     *
+     * @return remaining hedges, fractional while the budget refills
+     */
+    public double getRemainingBudget() {
+        return budget.getRemainingHedges();
+    }
+
+    private EndpointStats startCall(String endpoint) {
+        budget.deposit();
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            String name = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINTS;
+            stats = endpoints.computeIfAbsent(name, this::newStats);
+        }
+        stats.calls.increment();
+        return stats;
+    }
+
+    private EndpointStats newStats(String endpoint) {
+        return new EndpointStats(endpoint, new LatencyWindow(
+                config.getDelayPercentile() != null ? config.getDelayPercentile() : 95.0,
+                config.getMinDelayMillis() != null ? config.getMinDelayMillis() : 50L,
+                config.getMaxDelayMillis() != null ? config.getMaxDelayMillis() : 2000L,
+                config.getMinSamples() != null ? config.getMinSamples() : 20));
+    }
+
+    private static String stripQuery(String uriTemplate) {
+        int query = uriTemplate.indexOf('?');
+        return query >= 0 ? uriTemplate.substring(0, query) : uriTemplate;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * One call and its attempts.
+     */
+    private final class HedgedCall<T> {
+
+        private final EndpointStats stats;
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private volatile CompletableFuture<T> primary;
+        private volatile CompletableFuture<T> hedge;
+        private int pending = 1;
+        private boolean closed;
+
+        HedgedCall(EndpointStats stats, Supplier<CompletableFuture<T>> call) {
+            this.stats = stats;
+            this.call = call;
+        }
+
+        void start(long delayMillis) {
+            primary = attempt(false);
+            if (result.isDone()) {
+                return;
+            }
+            ScheduledFuture<?> timer = DifyExecutors.scheduler().schedule(() -> hedge(delayMillis), delayMillis,
+                    TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> {
+                timer.cancel(false);
+                if (error instanceof CancellationException) {
+                    cancel(primary);
+                    cancel(hedge);
+                }
+            });
+        }
+
+        private void hedge(long delayMillis) {
+            synchronized (this) {
+                if (closed || result.isDone()) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    stats.budgetExhausted.increment();
+                    listener.onBudgetExhausted(stats.endpoint);
+                    return;
+                }
+                pending++;
+            }
+            stats.hedges.increment();
+            listener.onHedge(stats.endpoint, delayMillis);
+            hedge = attempt(true);
+            if (result.isDone()) {
+                // the first attempt answered while the hedged attempt was being started
+                cancel(hedge);
+            }
+        }
+
+        private CompletableFuture<T> attempt(boolean hedged) {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    succeeded(hedged, value);
+                } else {
+                    failed(unwrap(error));
+                }
+            });
+            return future;
+        }
+
+        private void succeeded(boolean hedged, T value) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            // when the hedged attempt wins, the latency of the first attempt is at least the time elapsed so far
+            stats.latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            if (hedged) {
+                stats.hedgeWins.increment();
+            }
+            result.complete(value);
+            cancel(hedged ? primary : hedge);
+        }
+
+        private void failed(Throwable error) {
+            synchronized (this) {
+                // the other attempt may still answer
+                if (--pending > 0 || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            result.completeExceptionally(error);
+        }
+
+        private void cancel(CompletableFuture<T> attempt) {
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * One blocking call and its attempts, each running in its own {@link CallCancellation} scope.
+     */
+    private final class BlockingHedgedCall<T> {
+
+        private final EndpointStats stats;
+        private final Supplier<T> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private final CallCancellation primary = new CallCancellation();
+        private final CallCancellation hedge = new CallCancellation();
+        private volatile Future<?> primaryTask;
+        private volatile Future<?> hedgeTask;
+        private Throwable primaryError;
+        private int pending = 1;
+        private boolean closed;
+
+        BlockingHedgedCall(EndpointStats stats, Supplier<T> call) {
+            this.stats = stats;
+            this.call = call;
+        }
+
+        T runOnCaller(long delayMillis) {
+            ScheduledFuture<?> timer = scheduleHedge(delayMillis);
+            try {
+                T value;
+                try {
+                    value = primary.run(call);
+                } catch (RuntimeException | Error e) {
+                    if (failed(e, false)) {
+                        throw e;
+                    }
+                    // cancelled after the hedged attempt won, or the hedged attempt may still answer
+                    return await();
+                }
+                succeeded(false, value);
+                return await();
+            } finally {
+                timer.cancel(false);
+            }
+        }
+
+        T runOnExecutor(long delayMillis) {
+            try {
+                primaryTask = executor.submit(() -> attempt(false, primary));
+            } catch (RejectedExecutionException e) {
+                // the executor is saturated, run the call without hedging it
+                return call.get();
+            }
+            ScheduledFuture<?> timer = scheduleHedge(delayMillis);
+            try {
+                return await();
+            } finally {
+                timer.cancel(false);
+            }
+        }
+
+        private ScheduledFuture<?> scheduleHedge(long delayMillis) {
+            return DifyExecutors.scheduler().schedule(() -> hedge(delayMillis), delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void hedge(long delayMillis) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    stats.budgetExhausted.increment();
+                    listener.onBudgetExhausted(stats.endpoint);
+                    return;
+                }
+                pending++;
+            }
+            try {
+                hedgeTask = executor.submit(() -> attempt(true, hedge));
+            } catch (RejectedExecutionException e) {
+                // the executor is saturated, keep waiting for the first attempt
+                failed(e, true);
+                return;
+            }
+            stats.hedges.increment();
+            listener.onHedge(stats.endpoint, delayMillis);
+        }
+
+        private void attempt(boolean hedged, CallCancellation scope) {
+            T value;
+            try {
+                value = scope.run(call);
+            } catch (Throwable e) {
+                failed(e, hedged);
+                return;
+            }
+            succeeded(hedged, value);
+        }
+
+        private void succeeded(boolean hedged, T value) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            // when the hedged attempt wins, the latency of the first attempt is at least the time elapsed so far
+            stats.latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            result.complete(value);
+            if (hedged) {
+                stats.hedgeWins.increment();
+                cancel(primary, primaryTask);
+            } else {
+                cancel(hedge, hedgeTask);
+            }
+        }
+
+        /**
+         * Record a failed attempt.
+         *
+         * @return true if the call failed with the error of the first attempt, which the caller throws
+         */
+        private boolean failed(Throwable error, boolean hedged) {
+            synchronized (this) {
+                if (!hedged) {
+                    primaryError = error;
+                }
+                // the other attempt may still answer
+                if (--pending > 0 || closed) {
+                    return false;
+                }
+                closed = true;
+            }
+            result.completeExceptionally(primaryError != null ? primaryError : error);
+            return !hedged;
+        }
+
+        private void cancel(CallCancellation scope, Future<?> task) {
+            scope.cancel();
+            if (task != null) {
+                // an attempt that has not started yet is dropped, a running one is never interrupted
+                task.cancel(false);
+            }
+        }
+
+        private T await() {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                cancel(primary, primaryTask);
+                cancel(hedge, hedgeTask);
+                Thread.currentThread().interrupt();
+                throw new HttpClientException("Interrupted while waiting for a hedged call", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new HttpClientException(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    /**
+     * Latencies and counters of one endpoint.
+     */
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final LatencyWindow latencies;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+        private final LongAdder budgetExhausted = new LongAdder();
+
+        EndpointStats(String endpoint, LatencyWindow latencies) {
+            this.endpoint = endpoint;
+            this.latencies = latencies;
+        }
+
+        HedgeMetrics getMetrics() {
+            return new HedgeMetrics(endpoint, latencies.getDelayMillis(), calls.sum(), hedges.sum(), hedgeWins.sum(),
+                    budgetExhausted.sum());
+        }
+    }
+}
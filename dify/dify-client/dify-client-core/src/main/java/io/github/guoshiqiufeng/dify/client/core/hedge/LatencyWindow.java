@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the most recent calls of one endpoint and the hedging delay derived from them.
+ * <p>
+ * The delay is the configured percentile of the last {@link #SIZE} latencies, clamped to the configured bounds. It
+ * is recomputed every {@link #RECOMPUTE_INTERVAL} samples rather than on every call, and stays at the upper bound
+ * until {@code minSamples} latencies have been recorded.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+final class LatencyWindow {
+
+    static final int SIZE = 128;
+
+    static final int RECOMPUTE_INTERVAL = 8;
+
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final int minSamples;
+    private final long[] samples = new long[SIZE];
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private volatile long delayMillis;
+
+    LatencyWindow(double percentile, long minDelayMillis, long maxDelayMillis, int minSamples) {
+        this.percentile = Math.min(100.0, Math.max(0.0, percentile));
+        this.minDelayMillis = Math.max(0, minDelayMillis);
+        this.maxDelayMillis = Math.max(this.minDelayMillis, maxDelayMillis);
+        this.minSamples = Math.min(SIZE, Math.max(1, minSamples));
+        this.delayMillis = this.maxDelayMillis;
+    }
+
+    long getDelayMillis() {
+        return delayMillis;
+    }
+
+    synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % SIZE;
+        if (count < SIZE) {
+            count++;
+        }
+        sinceRecompute++;
+        if (count < minSamples || (count > minSamples && sinceRecompute < RECOMPUTE_INTERVAL)) {
+            return;
+        }
+        sinceRecompute = 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * count) - 1);
+        delayMillis = Math.min(maxDelayMillis, Math.max(minDelayMillis, sorted[index]));
+    }
+}
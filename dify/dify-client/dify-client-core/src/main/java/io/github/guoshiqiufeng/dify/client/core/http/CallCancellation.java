@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation scope of a blocking call running on the current thread.
+ * <p>
+ * A caller that may have to abort a blocking call from another thread, such as the hedging engine cancelling the
+ * attempt that lost, runs it through {@link #run(Supplier)}. Transports register the HTTP call they are about to
+ * execute with {@link #register(Runnable)}, so that {@link #cancel()} aborts it, for example through OkHttp's
+ * {@code Call.cancel()}. Transports doing so report it through {@link HttpRequestBuilder#isCancellable()}; a call of
+ * a transport that registers nothing is not aborted by {@link #cancel()} and runs to its end.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class CallCancellation {
+
+    private static final ThreadLocal<CallCancellation> CURRENT = new ThreadLocal<>();
+
+    private Runnable cancelAction;
+    private boolean cancelled;
+
+    /**
+     * Register the action aborting the HTTP call the current thread is about to execute, replacing the action of a
+     * previous call. Does nothing outside of {@link #run(Supplier)}, and runs the action immediately if the scope was
+     * already cancelled.
+     *
+     * @param cancelAction aborts the call, for example {@code call::cancel}
+     */
+    public static void register(Runnable cancelAction) {
+        CallCancellation scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        boolean cancelNow;
+        synchronized (scope) {
+            scope.cancelAction = cancelAction;
+            cancelNow = scope.cancelled;
+        }
+        if (cancelNow) {
+            cancelAction.run();
+        }
+    }
+
+    /**
+     * Whether the current thread runs a call within a scope, in which case transports register the HTTP call they
+     * execute.
+     *
+     * @return true within {@link #run(Supplier)}
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run a blocking call on the current thread within this scope.
+     *
+     * @param call the blocking call
+     * @param <T>  result type
+     * @return the result of the call
+     * @throws CancellationException if the scope was cancelled before the call started
+     */
+    public <T> T run(Supplier<T> call) {
+        CallCancellation previous = CURRENT.get();
+        if (isCancelled()) {
+            throw new CancellationException("Call cancelled before it started");
+        }
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Abort the call registered in this scope, or the call registered next if none is registered yet. The calling
+     * thread is never interrupted.
+     */
+    public void cancel() {
+        Runnable action;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            action = cancelAction;
+        }
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Whether {@link #cancel()} was called.
+     *
+     * @return true once cancelled
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -20,15 +20,13 @@ import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodySpec;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodyUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
-import io.github.guoshiqiufeng.dify.client.core.web.util.UriUtil;
+import io.github.guoshiqiufeng.dify.client.core.web.util.UriTemplate;
 
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Matcher;
 
 /**
  * Default implementation of RequestBodyUriSpec that delegates to HttpRequestBuilder.
@@ -84,21 +82,20 @@ public class DefaultRequestBodyUriSpec implements RequestBodyUriSpec {
             return this;
         }
 
-        // Extract variable names from URI template and build array in order
-        List<Object> orderedValues = new ArrayList<>();
-        Matcher matcher = UriUtil.URI_VARIABLE_PATTERN.matcher(uri);
-
-        while (matcher.find()) {
-            String variableName = matcher.group(1);
+        // Order the values by the variable names of the compiled URI template
+        List<String> variableNames = UriTemplate.of(uri).getVariableNames();
+        Object[] orderedValues = new Object[variableNames.size()];
+        for (int i = 0; i < orderedValues.length; i++) {
+            String variableName = variableNames.get(i);
             Object value = uriVariables.get(variableName);
             if (value == null) {
                 throw new IllegalArgumentException(
                         "URI variable '" + variableName + "' has no value in the provided map");
             }
-            orderedValues.add(value);
+            orderedValues[i] = value;
         }
 
-        requestBuilder.uri(uri, orderedValues.toArray());
+        requestBuilder.uri(uri, orderedValues);
         return this;
     }
 
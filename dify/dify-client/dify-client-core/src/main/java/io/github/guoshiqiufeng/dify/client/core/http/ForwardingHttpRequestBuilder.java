@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
+import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Base class for request builders wrapping the execution of another builder.
+ * <p>
+ * Request configuration is forwarded to the delegate while the {@code Authorization} header, the URI template, the
+ * expanded URI, whether the request is multipart and the terminal operation being run are tracked for subclasses.
+ * Every terminal operation, including those of {@link #retrieve()}, runs through one of three hooks:
+ * {@link #call(Supplier)} for blocking calls, {@link #callAsync(Supplier)} for asynchronous calls and
+ * {@link #callFlux(Supplier)} for streams. The supplier performs the delegate's operation each time it is invoked.
+ * Error responses matched by a {@link ResponseErrorHandler} registered through {@link ResponseSpec#onStatus} are
+ * passed to {@link #onErrorResponse(ResponseEntity)} first, giving subclasses access to their headers. Subclasses
+ * returning true from {@link #isObservingResponses()} also see every response of {@link #retrieve()}, successful or
+ * not, through {@link #onResponse(ResponseEntity)}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public abstract class ForwardingHttpRequestBuilder implements HttpRequestBuilder {
+
+    private final HttpRequestBuilder delegate;
+    private final String method;
+    private String authorization;
+    private String uriTemplate;
+    private Object[] uriVariables;
+    private String builtUri;
+    private StringBuilder query;
+    private boolean multipart;
+    private String operation;
+    private Type responseType;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate             the wrapped request builder
+     * @param method               the HTTP method of the request
+     * @param defaultAuthorization {@code Authorization} default header of the client, may be null
+     */
+    protected ForwardingHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization) {
+        this.delegate = delegate;
+        this.method = method;
+        this.authorization = defaultAuthorization;
+    }
+
+    /**
+     * Get the HTTP method of the request.
+     *
+     * @return HTTP method, may be null if unknown
+     */
+    protected String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the {@code Authorization} header the request is sent with.
+     *
+     * @return header value, or null if none is set
+     */
+    protected String getAuthorization() {
+        return authorization;
+    }
+
+    /**
+     * Get the URI template of the request, the template passed to {@code uri} or the paths added through the
+     * {@link UriBuilder}.
+     *
+     * @return URI template, or null if not set yet
+     */
+    protected String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * Get the URI of the request with its variables expanded and the query parameters added through this builder
+     * appended. The URI is not encoded and only meant to tell requests apart.
+     *
+     * @return request URI, or null if not set yet
+     */
+    protected String getRequestUri() {
+        String uri = builtUri != null ? builtUri : expand(uriTemplate, uriVariables);
+        if (uri == null || query == null) {
+            return uri;
+        }
+        return uri + (uri.indexOf('?') >= 0 ? '&' : '?') + query;
+    }
+
+    /**
+     * Get the terminal operation being run with its response type, such as {@code body java.lang.String}. Blocking
+     * and asynchronous variants of an operation share the same name: {@code body}, {@code entity}, {@code bodiless},
+     * {@code status} and {@code stream}.
+     *
+     * @return the operation, or null outside of a terminal operation
+     */
+    protected String getOperation() {
+        if (operation == null || responseType == null) {
+            return operation;
+        }
+        return operation + ' ' + responseType.getTypeName();
+    }
+
+    /**
+     * Whether the request has a multipart body.
+     *
+     * @return true if {@link #multipart(Map)} was called
+     */
+    protected boolean isMultipart() {
+        return multipart;
+    }
+
+    /**
+     * Run a blocking call.
+     *
+     * @param call performs the call on the delegate
+     * @param <T>  result type
+     * @return the call result
+     */
+    protected abstract <T> T call(Supplier<T> call);
+
+    /**
+     * Run an asynchronous call.
+     *
+     * @param call starts the call on the delegate
+     * @param <T>  result type
+     * @return future of the call result
+     */
+    protected abstract <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call);
+
+    /**
+     * Run a stream.
+     *
+     * @param call creates the stream of the delegate
+     * @param <T>  element type
+     * @return the stream
+     */
+    protected abstract <T> Flux<T> callFlux(Supplier<Flux<T>> call);
+
+    /**
+     * Observe an error response before the registered error handler runs. Does nothing by default.
+     *
+     * @param response the error response
+     */
+    protected void onErrorResponse(ResponseEntity<?> response) {
+    }
+
+    /**
+     * Whether a status the registered error handlers treat as an error is expected by this builder, so that the
+     * handlers skip it. False by default.
+     *
+     * @param status the HTTP status code
+     * @return true to hide the status from the error handlers
+     */
+    protected boolean isExpectedStatus(int status) {
+        return false;
+    }
+
+    /**
+     * Whether the responses of {@link #retrieve()} are passed to {@link #onResponse(ResponseEntity)}. Asked once
+     * when {@code retrieve()} is called, false by default.
+     *
+     * @return true to observe the responses
+     */
+    protected boolean isObservingResponses() {
+        return false;
+    }
+
+    /**
+     * Observe a response of {@link #retrieve()} before any registered error handler runs, if
+     * {@link #isObservingResponses()} returned true. The response may be observed more than once. Does nothing by
+     * default.
+     *
+     * @param response the response
+     */
+    protected void onResponse(ResponseEntity<?> response) {
+    }
+
+    @Override
+    public HttpRequestBuilder uri(String uri) {
+        uriTemplate = uri;
+        uriVariables = null;
+        builtUri = null;
+        delegate.uri(uri);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder uri(String uri, Object... uriParams) {
+        uriTemplate = uri;
+        uriVariables = uriParams;
+        builtUri = null;
+        delegate.uri(uri, uriParams);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder uri(Consumer<UriBuilder> uriBuilderConsumer) {
+        delegate.uri(uriBuilder -> uriBuilderConsumer.accept(new PathRecordingUriBuilder(uriBuilder)));
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder headers(Consumer<HttpHeaders> headersConsumer) {
+        delegate.headers(headers -> {
+            headersConsumer.accept(headers);
+            String value = headers.getFirst(HttpHeaders.AUTHORIZATION);
+            if (value != null) {
+                authorization = value;
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder cookies(Consumer<MultiValueMap<String, String>> cookiesConsumer) {
+        delegate.cookies(cookiesConsumer);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder header(String name, String value) {
+        if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)) {
+            authorization = value;
+        }
+        delegate.header(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder headers(Map<String, String> headers) {
+        if (headers != null) {
+            headers.forEach((name, value) -> {
+                if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)) {
+                    authorization = value;
+                }
+            });
+        }
+        delegate.headers(headers);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder queryParam(String name, String value) {
+        appendQuery(name, value);
+        delegate.queryParam(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder queryParams(Map<String, String> params) {
+        if (params != null) {
+            params.forEach(this::appendQuery);
+        }
+        delegate.queryParams(params);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder body(Object body) {
+        delegate.body(body);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder multipart(Map<String, Object> formData) {
+        multipart = true;
+        delegate.multipart(formData);
+        return this;
+    }
+
+    @Override
+    public boolean isCancellable() {
+        return delegate.isCancellable();
+    }
+
+    @Override
+    public <T> T execute(Class<T> responseType) {
+        operation("body", responseType);
+        return call(() -> delegate.execute(responseType));
+    }
+
+    @Override
+    public <T> T execute(TypeReference<T> typeReference) {
+        operation("body", typeReference.getType());
+        return call(() -> delegate.execute(typeReference));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Class<T> responseType) {
+        operation("body", responseType);
+        return callAsync(() -> delegate.executeAsync(responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(TypeReference<T> typeReference) {
+        operation("body", typeReference.getType());
+        return callAsync(() -> delegate.executeAsync(typeReference));
+    }
+
+    @Override
+    public <T> ResponseEntity<T> executeForResponse(Class<T> responseType) {
+        operation("entity", responseType);
+        return call(() -> delegate.executeForResponse(responseType));
+    }
+
+    @Override
+    public <T> ResponseEntity<T> executeForResponse(TypeReference<T> typeReference) {
+        operation("entity", typeReference.getType());
+        return call(() -> delegate.executeForResponse(typeReference));
+    }
+
+    @Override
+    public <T> Flux<T> stream(Class<T> responseType) {
+        operation("stream", responseType);
+        return callFlux(() -> delegate.stream(responseType));
+    }
+
+    @Override
+    public int executeForStatus() {
+        operation("status", null);
+        return call(delegate::executeForStatus);
+    }
+
+    @Override
+    public ResponseSpec retrieve() {
+        return new ForwardingResponseSpec(delegate.retrieve());
+    }
+
+    private void operation(String name, Type type) {
+        operation = name;
+        responseType = type;
+    }
+
+    private void appendQuery(String name, Object value) {
+        if (query == null) {
+            query = new StringBuilder();
+        } else {
+            query.append('&');
+        }
+        query.append(name).append('=').append(value);
+    }
+
+    private static String expand(String uriTemplate, Object[] uriVariables) {
+        if (uriTemplate == null || uriVariables == null || uriVariables.length == 0) {
+            return uriTemplate;
+        }
+        StringBuilder uri = new StringBuilder(uriTemplate.length() + 16 * uriVariables.length);
+        int next = 0;
+        int start = 0;
+        int open;
+        while (next < uriVariables.length && (open = uriTemplate.indexOf('{', start)) >= 0) {
+            int close = uriTemplate.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            uri.append(uriTemplate, start, open).append(uriVariables[next++]);
+            start = close + 1;
+        }
+        return uri.append(uriTemplate, start, uriTemplate.length()).toString();
+    }
+
+    /**
+     * Response spec running each terminal operation through the hooks of the enclosing builder.
+     */
+    private class ForwardingResponseSpec implements ResponseSpec {
+
+        private final ResponseSpec delegate;
+
+        ForwardingResponseSpec(ResponseSpec delegate) {
+            this.delegate = delegate;
+            if (isObservingResponses()) {
+                delegate.onStatus(new ResponseErrorHandler() {
+                    @Override
+                    public Predicate<Integer> getStatusPredicate() {
+                        return status -> true;
+                    }
+
+                    @Override
+                    public void handle(ResponseEntity<?> response) {
+                        onResponse(response);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public ResponseSpec onStatus(ResponseErrorHandler errorHandler) {
+            delegate.onStatus(new ResponseErrorHandler() {
+                @Override
+                public Predicate<Integer> getStatusPredicate() {
+                    Predicate<Integer> predicate = errorHandler.getStatusPredicate();
+                    return status -> !isExpectedStatus(status) && predicate.test(status);
+                }
+
+                @Override
+                public void handle(ResponseEntity<?> response) throws Exception {
+                    onErrorResponse(response);
+                    errorHandler.handle(response);
+                }
+            });
+            return this;
+        }
+
+        @Override
+        public ResponseSpec streamTimeout(StreamTimeout streamTimeout) {
+            delegate.streamTimeout(streamTimeout);
+            return this;
+        }
+
+        @Override
+        public <T> T body(Class<T> responseType) {
+            operation("body", responseType);
+            return call(() -> delegate.body(responseType));
+        }
+
+        @Override
+        public <T> T body(TypeReference<T> typeReference) {
+            operation("body", typeReference.getType());
+            return call(() -> delegate.body(typeReference));
+        }
+
+        @Override
+        public <T> ResponseEntity<T> toEntity(Class<T> responseType) {
+            operation("entity", responseType);
+            return call(() -> delegate.toEntity(responseType));
+        }
+
+        @Override
+        public <T> ResponseEntity<T> toEntity(TypeReference<T> typeReference) {
+            operation("entity", typeReference.getType());
+            return call(() -> delegate.toEntity(typeReference));
+        }
+
+        @Override
+        public ResponseEntity<Void> toBodilessEntity() {
+            operation("bodiless", null);
+            return call(delegate::toBodilessEntity);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(Class<T> responseType) {
+            operation("entity", responseType);
+            return callAsync(() -> delegate.toEntityAsync(responseType));
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(TypeReference<T> typeReference) {
+            operation("entity", typeReference.getType());
+            return callAsync(() -> delegate.toEntityAsync(typeReference));
+        }
+
+        @Override
+        public <T> CompletableFuture<T> bodyAsync(Class<T> responseType) {
+            operation("body", responseType);
+            return callAsync(() -> delegate.bodyAsync(responseType));
+        }
+
+        @Override
+        public <T> CompletableFuture<T> bodyAsync(TypeReference<T> typeReference) {
+            operation("body", typeReference.getType());
+            return callAsync(() -> delegate.bodyAsync(typeReference));
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Void>> toBodilessEntityAsync() {
+            operation("bodiless", null);
+            return callAsync(delegate::toBodilessEntityAsync);
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(Class<T> responseType) {
+            operation("stream", responseType);
+            return callFlux(() -> delegate.bodyToFlux(responseType));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(TypeReference<T> typeReference) {
+            operation("stream", typeReference.getType());
+            return callFlux(() -> delegate.bodyToFlux(typeReference));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(JsonDeserializer<T> deserializer) {
+            operation("stream", null);
+            return callFlux(() -> delegate.bodyToFlux(deserializer));
+        }
+    }
+
+    /**
+     * URI builder recording the path and the built URI of the request.
+     */
+    private class PathRecordingUriBuilder implements UriBuilder {
+
+        private final UriBuilder delegate;
+
+        PathRecordingUriBuilder(UriBuilder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public UriBuilder path(String path) {
+            uriTemplate = uriTemplate == null ? path : uriTemplate + path;
+            delegate.path(path);
+            return this;
+        }
+
+        @Override
+        public UriBuilder queryParam(String name, Object value) {
+            delegate.queryParam(name, value);
+            return this;
+        }
+
+        @Override
+        public UriBuilder queryParamIfPresent(String name, Optional<?> value) {
+            delegate.queryParamIfPresent(name, value);
+            return this;
+        }
+
+        @Override
+        public URI build() {
+            return record(delegate.build());
+        }
+
+        @Override
+        public URI build(Object... uriVariables) {
+            return record(delegate.build(uriVariables));
+        }
+
+        private URI record(URI uri) {
+            builtUri = uri != null ? uri.toString() : null;
+            return uri;
+        }
+    }
+}
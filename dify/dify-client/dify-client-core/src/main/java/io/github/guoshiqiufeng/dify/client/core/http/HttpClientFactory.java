@@ -15,6 +15,7 @@
  */
 package io.github.guoshiqiufeng.dify.client.core.http;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 
@@ -65,10 +66,40 @@ public interface HttpClientFactory {
      *   <li>For OkHttp-based clients: {@code okhttp3.Interceptor}</li>
      *   <li>For Spring WebClient: {@code org.springframework.web.reactive.function.client.ExchangeFilterFunction}</li>
      *   <li>For Spring RestClient: {@code org.springframework.http.client.ClientHttpRequestInterceptor}</li>
+     *   <li>For JDK java.net.http clients: {@code io.github.guoshiqiufeng.dify.client.integration.jdk.http.JdkHttpRequestInterceptor}</li>
      * </ul>
      *
      * @param interceptor the interceptor to add (type depends on implementation)
      * @return a new HttpClientFactory instance with the interceptor configured
      */
     HttpClientFactory interceptor(Object interceptor);
+
+    /**
+     * Share per-API-key bulkheads between the clients created from this factory.
+     * This method returns a new factory instance with the bulkheads configured.
+     * <p>
+     * Without shared bulkheads every client creates its own from the {@code bulkhead} section of its configuration.
+     * Factories that cannot share bulkheads return themselves unchanged.
+     *
+     * @param bulkheadRegistry the bulkheads, null to use the configuration of each client
+     * @return a new HttpClientFactory instance using the bulkheads
+     */
+    default HttpClientFactory bulkheadRegistry(BulkheadRegistry bulkheadRegistry) {
+        return this;
+    }
+
+    /**
+     * Add a request decorator applied to all requests made by clients created from this factory.
+     * This method returns a new factory instance with the decorator configured.
+     * <p>
+     * A client replaces any decorator of the same class it created from its own configuration, so a decorator
+     * shared this way takes over from the per-client one. Factories that cannot decorate requests return
+     * themselves unchanged.
+     *
+     * @param decorator the request decorator
+     * @return a new HttpClientFactory instance with the decorator configured
+     */
+    default HttpClientFactory requestDecorator(HttpRequestDecorator decorator) {
+        return this;
+    }
 }
@@ -40,6 +40,9 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String CONTENT_LENGTH = "Content-Length";
     public static final String CONTENT_DISPOSITION = "Content-Disposition";
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String ETAG = "ETag";
+    public static final String IF_NONE_MATCH = "If-None-Match";
 
     /**
      * Create a new HttpHeaders instance.
@@ -22,6 +22,7 @@ import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
 import reactor.core.publisher.Flux;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -169,6 +170,27 @@ public interface HttpRequestBuilder {
      */
     <T> T execute(TypeReference<T> typeReference);
 
+    /**
+     * Execute the request without blocking the calling thread and return the response body.
+     * <p>The returned future is completed by the underlying HTTP client once the response has been read,
+     * or completed exceptionally with an {@link HttpClientException} when the request fails.
+     *
+     * @param responseType the expected response type
+     * @param <T>          the response type
+     * @return a future of the response body
+     */
+    <T> CompletableFuture<T> executeAsync(Class<T> responseType);
+
+    /**
+     * Execute the request without blocking the calling thread and return the response body with generic type support.
+     *
+     * @param typeReference the type reference for generic types
+     * @param <T>           the response type
+     * @return a future of the response body
+     * @see #executeAsync(Class)
+     */
+    <T> CompletableFuture<T> executeAsync(TypeReference<T> typeReference);
+
     /**
      * Execute the request and return the full HTTP response.
      *
@@ -211,4 +233,14 @@ public interface HttpRequestBuilder {
      * @return a ResponseSpec for handling the response
      */
     ResponseSpec retrieve();
+
+    /**
+     * Whether blocking calls of this builder register their HTTP call with the {@link CallCancellation} scope of the
+     * calling thread, so that cancelling the scope aborts them.
+     *
+     * @return true if blocking calls can be cancelled, false by default
+     */
+    default boolean isCancellable() {
+        return false;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+/**
+ * Decorates the request builders of an HTTP client, typically with a {@link ForwardingHttpRequestBuilder} adding
+ * behaviour around request execution such as admission control.
+ * <p>
+ * Decorators registered on a client are applied in registration order, so the first decorator wraps the
+ * backend's builder directly and the last one sees each call first.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface HttpRequestDecorator {
+
+    /**
+     * Decorate a request builder.
+     *
+     * @param builder              the request builder
+     * @param method               the HTTP method of the request
+     * @param defaultAuthorization {@code Authorization} default header of the client, used when the request sets
+     *                             none, may be null
+     * @return the decorated request builder
+     */
+    HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization);
+
+    /**
+     * Get the decorator to apply to the clients of one endpoint group, such as {@code chat}, {@code workflow},
+     * {@code dataset} or {@code server}.
+     * <p>
+     * Decorators keeping state per endpoint group return a view of the same class sharing their state; the
+     * default returns this decorator.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the decorator for the endpoint group
+     */
+    default HttpRequestDecorator forEndpointGroup(String endpointGroup) {
+        return this;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+import io.github.guoshiqiufeng.dify.client.core.cache.ResponseCache;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.RequestCoalescer;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgingEngine;
+import io.github.guoshiqiufeng.dify.client.core.limit.AdaptiveConcurrencyLimiter;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimiterRegistry;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryEngine;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilities for the {@link HttpRequestDecorator}s of HTTP clients.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class HttpRequestDecorators {
+
+    /**
+     * Order of the {@link CircuitBreakerRegistry}, applied first so it wraps the request builder of the backend.
+     * Decorators with a lower order value are applied first and run innermost.
+     */
+    public static final int CIRCUIT_BREAKER_ORDER = 100;
+
+    /**
+     * Order of the {@link AdaptiveConcurrencyLimiter}.
+     */
+    public static final int ADAPTIVE_LIMIT_ORDER = 200;
+
+    /**
+     * Order of the {@link RateLimiterRegistry}.
+     */
+    public static final int RATE_LIMIT_ORDER = 300;
+
+    /**
+     * Order of the {@link HedgingEngine}.
+     */
+    public static final int HEDGE_ORDER = 400;
+
+    /**
+     * Order of the {@link RetryEngine}.
+     */
+    public static final int RETRY_ORDER = 500;
+
+    /**
+     * Order of the {@link RequestCoalescer}.
+     */
+    public static final int COALESCE_ORDER = 600;
+
+    /**
+     * Order of the {@link ResponseCache}, applied last so it runs outermost.
+     */
+    public static final int CACHE_ORDER = 700;
+
+    private HttpRequestDecorators() {
+    }
+
+    /**
+     * Create the decorators enabled by a client configuration.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the enabled decorators, in application order
+     */
+    public static List<HttpRequestDecorator> of(DifyProperties.ClientConfig clientConfig) {
+        List<HttpRequestDecorator> decorators = new ArrayList<>();
+        // applied first, so failure and slow-call rates measure Dify itself rather than local queueing
+        CircuitBreakerRegistry circuitBreaker = CircuitBreakerRegistry.of(clientConfig);
+        if (circuitBreaker != null) {
+            decorators.add(circuitBreaker);
+        }
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.of(clientConfig);
+        if (limiter != null) {
+            decorators.add(limiter);
+        }
+        // applied after the concurrency limiter, so calls wait for a token before they take a concurrency slot
+        RateLimiterRegistry rateLimiter = RateLimiterRegistry.of(clientConfig);
+        if (rateLimiter != null) {
+            decorators.add(rateLimiter);
+        }
+        // applied after the rate limiter, so a hedged attempt takes its own token and concurrency slot
+        HedgingEngine hedgingEngine = HedgingEngine.of(clientConfig);
+        if (hedgingEngine != null) {
+            decorators.add(hedgingEngine);
+        }
+        // applied after hedging, so every attempt waits for its own token and concurrency slot and slow attempts are hedged
+        RetryEngine retryEngine = RetryEngine.of(clientConfig);
+        if (retryEngine != null) {
+            decorators.add(retryEngine);
+        }
+        // applied after retries, so coalesced calls share one retried call instead of each retrying on its own
+        RequestCoalescer coalescer = RequestCoalescer.of(clientConfig);
+        if (coalescer != null) {
+            decorators.add(coalescer);
+        }
+        // applied last, so cached responses skip every other decorator and concurrent cache misses are coalesced
+        ResponseCache cache = ResponseCache.of(clientConfig);
+        if (cache != null) {
+            decorators.add(cache);
+        }
+        return decorators;
+    }
+
+    /**
+     * Add a decorator, replacing a decorator of the same class at its position.
+     *
+     * @param decorators the decorators of a client
+     * @param decorator  the decorator to add
+     */
+    public static void register(List<HttpRequestDecorator> decorators, HttpRequestDecorator decorator) {
+        synchronized (decorators) {
+            for (int i = 0; i < decorators.size(); i++) {
+                if (decorators.get(i).getClass() == decorator.getClass()) {
+                    decorators.set(i, decorator);
+                    return;
+                }
+            }
+            decorators.add(decorator);
+        }
+    }
+
+    /**
+     * Apply decorators to a request builder.
+     *
+     * @param builder              the request builder of the backend
+     * @param decorators           the decorators, the first one wrapping the builder directly
+     * @param method               the HTTP method of the request
+     * @param defaultAuthorization {@code Authorization} default header of the client, may be null
+     * @return the decorated request builder
+     */
+    public static HttpRequestBuilder apply(HttpRequestBuilder builder, List<HttpRequestDecorator> decorators,
+                                           String method, String defaultAuthorization) {
+        HttpRequestBuilder decorated = builder;
+        for (HttpRequestDecorator decorator : decorators) {
+            decorated = decorator.decorate(decorated, method, defaultAuthorization);
+        }
+        return decorated;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limiter of an HTTP client.
+ * <p>
+ * Replaces fixed request limits with two {@link AdaptiveLimit}s that follow what Dify can currently serve: one for
+ * regular calls and one for streams, which hold a Dify worker for the whole answer and would otherwise crowd out
+ * short calls. Limiters shared between clients pointing at the same Dify server adapt to their combined load.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class AdaptiveConcurrencyLimiter implements HttpRequestDecorator {
+
+    private final AdaptiveLimit requestLimit;
+    private final AdaptiveLimit streamLimit;
+
+    /**
+     * Constructor.
+     *
+     * @param config   adaptive limit configuration
+     * @param listener listener notified of limit changes and rejections, may be null
+     */
+    public AdaptiveConcurrencyLimiter(DifyProperties.AdaptiveLimitConfig config, AdaptiveLimitListener listener) {
+        DifyProperties.AdaptiveLimitConfig limitConfig = config != null ? config
+                : new DifyProperties.AdaptiveLimitConfig();
+        this.requestLimit = new AdaptiveLimit("requests", limitConfig,
+                orDefault(limitConfig.getInitialLimit(), 20), orDefault(limitConfig.getMaxLimit(), 200), listener);
+        this.streamLimit = new AdaptiveLimit("streams", limitConfig,
+                orDefault(limitConfig.getStreamInitialLimit(), 10), orDefault(limitConfig.getStreamMaxLimit(), 100),
+                listener);
+    }
+
+    /**
+     * Create the limiter configured by {@code clientConfig.adaptiveLimit}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of limit changes and rejections, may be null
+     * @return the limiter, or null if adaptive limiting is not enabled
+     */
+    public static AdaptiveConcurrencyLimiter of(DifyProperties.ClientConfig clientConfig,
+                                                AdaptiveLimitListener listener) {
+        if (clientConfig == null || clientConfig.getAdaptiveLimit() == null
+                || !Boolean.TRUE.equals(clientConfig.getAdaptiveLimit().getEnabled())) {
+            return null;
+        }
+        return new AdaptiveConcurrencyLimiter(clientConfig.getAdaptiveLimit(), listener);
+    }
+
+    /**
+     * Create the limiter configured by {@code clientConfig.adaptiveLimit}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the limiter, or null if adaptive limiting is not enabled
+     */
+    public static AdaptiveConcurrencyLimiter of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the limit of regular calls.
+     *
+     * @return request limit
+     */
+    public AdaptiveLimit getRequestLimit() {
+        return requestLimit;
+    }
+
+    /**
+     * Get the limit of streams.
+     *
+     * @return stream limit
+     */
+    public AdaptiveLimit getStreamLimit() {
+        return streamLimit;
+    }
+
+    /**
+     * Get the metrics of the request and the stream limit.
+     *
+     * @return metrics snapshots
+     */
+    public List<AdaptiveLimitMetrics> getMetrics() {
+        return Collections.unmodifiableList(Arrays.asList(requestLimit.getMetrics(), streamLimit.getMetrics()));
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new AdaptiveLimitHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
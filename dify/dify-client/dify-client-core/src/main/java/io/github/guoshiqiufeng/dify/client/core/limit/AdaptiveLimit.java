@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.Bulkhead;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadFullException;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadMetrics;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerOpenException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.AdaptiveLimitAlgorithmEnum;
+import io.github.guoshiqiufeng.dify.core.exception.BaseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit adjusted at runtime from the latency and the overload signals of the calls it admits.
+ * <p>
+ * Calls beyond the current limit wait in a {@link Bulkhead} queue. Each completed call is a sample: a 429 or 5xx
+ * response, a network error or a stream timeout counts as a drop and shrinks the limit by {@code backoffRatio};
+ * any other response feeds the algorithm:
+ * <ul>
+ *   <li>{@link AdaptiveLimitAlgorithmEnum#AIMD} adds one call whenever a call succeeds with the limit fully used.</li>
+ *   <li>{@link AdaptiveLimitAlgorithmEnum#GRADIENT} compares each latency with its long-term average and scales
+ *   the limit by their ratio, so it shrinks as soon as latency rises beyond {@code rttTolerance} times the
+ *   average, before Dify starts failing, and grows by the square root of the limit while latency is stable.</li>
+ * </ul>
+ * The limit only grows while at least half of it is in use, so an idle client does not drift to the maximum.
+ * The latency of a stream is the time to its first element, as the total duration depends on the answer length.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class AdaptiveLimit {
+
+    /**
+     * Weight of a sample in the long-term latency, averaging roughly the last 100 samples.
+     */
+    private static final double RTT_SMOOTHING = 2.0 / 101;
+
+    /**
+     * Weight of a new gradient estimate in the limit.
+     */
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final String name;
+    private final AdaptiveLimitAlgorithmEnum algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double rttTolerance;
+    private final AdaptiveLimitListener listener;
+    private final Bulkhead bulkhead;
+
+    /**
+     * Guards {@link #estimatedLimit} and {@link #longRttNanos}.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param name         limit name, used in metrics and error messages
+     * @param config       adaptive limit configuration
+     * @param initialLimit initial number of concurrent calls
+     * @param maxLimit     maximum number of concurrent calls
+     * @param listener     listener notified of limit changes and rejections, may be null
+     */
+    public AdaptiveLimit(String name, DifyProperties.AdaptiveLimitConfig config, int initialLimit, int maxLimit,
+                         AdaptiveLimitListener listener) {
+        this.name = name;
+        this.algorithm = config.getAlgorithm() != null ? config.getAlgorithm() : AdaptiveLimitAlgorithmEnum.GRADIENT;
+        this.minLimit = Math.max(1, orDefault(config.getMinLimit(), 1));
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        double ratio = config.getBackoffRatio() != null ? config.getBackoffRatio() : 0.9;
+        this.backoffRatio = ratio > 0 && ratio < 1 ? ratio : 0.9;
+        double tolerance = config.getRttTolerance() != null ? config.getRttTolerance() : 2.0;
+        this.rttTolerance = tolerance >= 1 ? tolerance : 2.0;
+        this.listener = listener != null ? listener : AdaptiveLimitListener.NOOP;
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.bulkhead = new Bulkhead(name, (int) estimatedLimit, orDefault(config.getMaxQueueSize(), 128),
+                orDefault(config.getQueueTimeoutMillis(), 5000), this.listener);
+    }
+
+    /**
+     * Get the limit name.
+     *
+     * @return limit name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the current number of concurrent calls allowed.
+     *
+     * @return current limit
+     */
+    public int getLimit() {
+        return bulkhead.getMetrics().getMaxConcurrentCalls();
+    }
+
+    /**
+     * Run a blocking call within the limit.
+     *
+     * @param call the call
+     * @param <T>  result type
+     * @return the call result
+     * @throws BulkheadFullException if the call is rejected by the queue
+     */
+    public <T> T execute(Supplier<T> call) {
+        return bulkhead.execute(() -> {
+            long start = System.nanoTime();
+            int inFlightAtStart = inFlight.incrementAndGet();
+            T result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                onComplete(System.nanoTime() - start, inFlightAtStart, null, e);
+                throw e;
+            }
+            onComplete(System.nanoTime() - start, inFlightAtStart, result, null);
+            return result;
+        });
+    }
+
+    /**
+     * Start an asynchronous call within the limit.
+     *
+     * @param call starts the call
+     * @param <T>  result type
+     * @return future of the call result, failed with {@link BulkheadFullException} if the call is rejected
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        return bulkhead.executeAsync(() -> {
+            long start = System.nanoTime();
+            int inFlightAtStart = inFlight.incrementAndGet();
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                onComplete(System.nanoTime() - start, inFlightAtStart, null, e);
+                throw e;
+            }
+            future.whenComplete((value, error) ->
+                    onComplete(System.nanoTime() - start, inFlightAtStart, value, error));
+            return future;
+        });
+    }
+
+    /**
+     * Run a stream within the limit, counting it until it terminates or is cancelled.
+     *
+     * @param call creates the stream
+     * @param <T>  element type
+     * @return the stream, failed with {@link BulkheadFullException} if the call is rejected
+     */
+    public <T> Flux<T> executeFlux(Supplier<Flux<T>> call) {
+        return bulkhead.executeFlux(() -> Flux.defer(() -> {
+            long start = System.nanoTime();
+            int inFlightAtStart = inFlight.incrementAndGet();
+            Flux<T> stream;
+            try {
+                stream = call.get();
+            } catch (RuntimeException e) {
+                onComplete(System.nanoTime() - start, inFlightAtStart, null, e);
+                return Flux.error(e);
+            }
+            // written by the stream's signals, which never run concurrently
+            long[] firstElementNanos = new long[1];
+            Throwable[] failure = new Throwable[1];
+            return stream
+                    .doOnNext(element -> {
+                        if (firstElementNanos[0] == 0) {
+                            firstElementNanos[0] = System.nanoTime();
+                        }
+                    })
+                    .doOnError(error -> failure[0] = error)
+                    .doFinally(signal -> {
+                        long end = firstElementNanos[0] != 0 ? firstElementNanos[0] : System.nanoTime();
+                        Throwable error = failure[0];
+                        if (error == null && signal == SignalType.CANCEL && firstElementNanos[0] == 0) {
+                            error = new CancellationException();
+                        }
+                        onComplete(end - start, inFlightAtStart, null, error);
+                    });
+        }));
+    }
+
+    /**
+     * Get the current metrics of this limit.
+     *
+     * @return metrics snapshot
+     */
+    public AdaptiveLimitMetrics getMetrics() {
+        BulkheadMetrics queue = bulkhead.getMetrics();
+        double rttNanos;
+        lock.lock();
+        try {
+            rttNanos = longRttNanos;
+        } finally {
+            lock.unlock();
+        }
+        return new AdaptiveLimitMetrics(name, algorithm, queue.getMaxConcurrentCalls(), queue.getInFlightCalls(),
+                queue.getQueuedCalls(), rttNanos / 1_000_000d, dropCount.sum(), queue.getRejectedCount());
+    }
+
+    /**
+     * Record a completed call and adjust the limit.
+     *
+     * @param rttNanos        latency of the call
+     * @param inFlightAtStart calls in flight when the call started, including itself
+     * @param result          call result, null if the call failed
+     * @param error           call failure, null if the call succeeded
+     */
+    void onComplete(long rttNanos, int inFlightAtStart, Object result, Throwable error) {
+        inFlight.decrementAndGet();
+        Boolean dropped = isDropped(result, error);
+        if (dropped == null) {
+            return;
+        }
+        if (dropped) {
+            dropCount.increment();
+        }
+        int oldLimit;
+        int newLimit;
+        lock.lock();
+        try {
+            oldLimit = (int) estimatedLimit;
+            estimatedLimit = nextLimit(Math.max(1, rttNanos), inFlightAtStart, dropped);
+            newLimit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+        if (newLimit != oldLimit) {
+            bulkhead.setMaxConcurrentCalls(newLimit);
+            listener.onLimitChanged(name, oldLimit, newLimit);
+        }
+    }
+
+    /**
+     * Compute the next limit, called holding the lock.
+     */
+    private double nextLimit(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double limit = estimatedLimit;
+        if (algorithm == AdaptiveLimitAlgorithmEnum.GRADIENT && !dropped) {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+            } else {
+                longRttNanos += (rttNanos - longRttNanos) * RTT_SMOOTHING;
+                if (longRttNanos / rttNanos > 2) {
+                    // latency recovered well below the average, let the average catch up faster
+                    longRttNanos *= 0.95;
+                }
+            }
+        }
+        double next;
+        if (dropped) {
+            next = limit * backoffRatio;
+        } else if (algorithm == AdaptiveLimitAlgorithmEnum.AIMD) {
+            next = inFlightAtStart >= (int) limit ? limit + 1 : limit;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+            if (gradient >= 1.0 && inFlightAtStart * 2 < limit) {
+                // not enough load to tell whether a higher limit would still be served as fast
+                return limit;
+            }
+            double estimate = limit * gradient + Math.sqrt(limit);
+            next = limit * (1 - LIMIT_SMOOTHING) + estimate * LIMIT_SMOOTHING;
+        }
+        return Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /**
+     * Classify the outcome of a call.
+     *
+     * @return true for an overload signal, false for a response whose latency is a sample, null to ignore the call
+     */
+    static Boolean isDropped(Object result, Throwable error) {
+        if (error == null) {
+            return result instanceof ResponseEntity && isOverloadStatus(((ResponseEntity<?>) result).getStatusCode());
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException || cause instanceof BulkheadFullException
+                    || cause instanceof CircuitBreakerOpenException) {
+                return null;
+            }
+            if (cause instanceof StreamTimeoutException || cause instanceof IOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof HttpClientException && ((HttpClientException) cause).getStatusCode() > 0) {
+                return isOverloadStatus(((HttpClientException) cause).getStatusCode());
+            }
+            if (cause instanceof BaseException && ((BaseException) cause).getCode() != null
+                    && ((BaseException) cause).getCode() >= 400) {
+                return isOverloadStatus(((BaseException) cause).getCode());
+            }
+        }
+        // a failure before any response, such as a serialization error, says nothing about Dify's load
+        return null;
+    }
+
+    private static boolean isOverloadStatus(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
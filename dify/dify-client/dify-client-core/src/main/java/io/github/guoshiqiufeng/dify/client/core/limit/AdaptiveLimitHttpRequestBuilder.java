@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder admitting calls through the limits of an {@link AdaptiveConcurrencyLimiter}: streams through
+ * the stream limit, every other call through the request limit.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class AdaptiveLimitHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    AdaptiveLimitHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                                    AdaptiveConcurrencyLimiter limiter) {
+        super(delegate, method, defaultAuthorization);
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        return limiter.getRequestLimit().execute(call);
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        return limiter.getRequestLimit().executeAsync(call);
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        return limiter.getStreamLimit().executeFlux(call);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadListener;
+
+/**
+ * Listener receiving limit changes and rejections of an {@link AdaptiveLimit}.
+ * <p>
+ * Implementations are invoked on request threads and should return quickly. Current values are also available
+ * from {@link AdaptiveConcurrencyLimiter#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface AdaptiveLimitListener extends BulkheadListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    AdaptiveLimitListener NOOP = new AdaptiveLimitListener() {
+    };
+
+    /**
+     * Called when the limit changes.
+     *
+     * @param name     limit name
+     * @param oldLimit previous number of concurrent calls
+     * @param newLimit new number of concurrent calls
+     */
+    default void onLimitChanged(String name, int oldLimit, int newLimit) {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.core.enums.AdaptiveLimitAlgorithmEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time metrics of an {@link AdaptiveLimit}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AdaptiveLimitMetrics {
+
+    /**
+     * Limit name.
+     */
+    private final String name;
+
+    /**
+     * Algorithm adjusting the limit.
+     */
+    private final AdaptiveLimitAlgorithmEnum algorithm;
+
+    /**
+     * Current number of concurrent calls allowed.
+     */
+    private final int limit;
+
+    /**
+     * Calls currently in flight.
+     */
+    private final int inFlightCalls;
+
+    /**
+     * Calls currently waiting for the limit.
+     */
+    private final int queuedCalls;
+
+    /**
+     * Smoothed latency of the calls in milliseconds, 0 before the first sample.
+     */
+    private final double averageRttMillis;
+
+    /**
+     * Total number of calls answered with 429, 5xx or a network error.
+     */
+    private final long dropCount;
+
+    /**
+     * Total number of calls rejected because the queue was full or timed out.
+     */
+    private final long rejectedCount;
+}
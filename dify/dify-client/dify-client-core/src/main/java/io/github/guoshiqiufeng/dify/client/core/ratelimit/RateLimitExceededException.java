@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+
+/**
+ * Exception thrown when a request is rejected by a {@link TokenBucket} instead of waiting for a permit.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class RateLimitExceededException extends HttpClientException {
+
+    private final String bucket;
+    private final long retryAfterMillis;
+
+    /**
+     * Constructor with bucket name, message and expected wait.
+     *
+     * @param bucket           name of the rejecting bucket
+     * @param message          error message
+     * @param retryAfterMillis expected wait for a permit in milliseconds, -1 if unknown
+     */
+    public RateLimitExceededException(String bucket, String message, long retryAfterMillis) {
+        super(message);
+        this.bucket = bucket;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Get the name of the bucket that rejected the request.
+     *
+     * @return bucket name
+     */
+    public String getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Get the expected wait for a permit when the request was rejected.
+     *
+     * @return wait in milliseconds, or -1 if unknown
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.core.exception.BaseException;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder taking a permit from the {@link TokenBucket} of its {@code Authorization} header before each
+ * call and pausing the bucket when the call is answered with 429.
+ * <p>
+ * The {@code Retry-After} header is read from the error response passed to the error handler, or from the
+ * response of {@code executeForResponse} and {@code toEntity}; a 429 only seen as an exception pauses the bucket
+ * for the configured default.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class RateLimitHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final RateLimiterRegistry registry;
+
+    /**
+     * Whether a 429 response of this request already paused its bucket.
+     */
+    private volatile boolean throttled;
+
+    RateLimitHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                                RateLimiterRegistry registry) {
+        super(delegate, method, defaultAuthorization);
+        this.registry = registry;
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        TokenBucket bucket = registry.forAuthorization(getAuthorization());
+        if (bucket == null) {
+            return call.get();
+        }
+        bucket.acquire();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            observe(bucket, null, e);
+            throw e;
+        }
+        observe(bucket, result, null);
+        return result;
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        TokenBucket bucket = registry.forAuthorization(getAuthorization());
+        if (bucket == null) {
+            return call.get();
+        }
+        return bucket.executeAsync(() -> {
+            CompletableFuture<T> future = call.get();
+            future.whenComplete((result, error) -> observe(bucket, result, error));
+            return future;
+        });
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        TokenBucket bucket = registry.forAuthorization(getAuthorization());
+        if (bucket == null) {
+            return call.get();
+        }
+        return bucket.executeFlux(() -> call.get().doOnError(error -> observe(bucket, null, error)));
+    }
+
+    @Override
+    protected void onErrorResponse(ResponseEntity<?> response) {
+        if (response.getStatusCode() != TOO_MANY_REQUESTS) {
+            return;
+        }
+        TokenBucket bucket = registry.forAuthorization(getAuthorization());
+        if (bucket != null) {
+            throttled = true;
+            registry.throttle(bucket, response.getFirstHeader(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    private void observe(TokenBucket bucket, Object result, Throwable error) {
+        if (throttled) {
+            return;
+        }
+        if (result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode() == TOO_MANY_REQUESTS) {
+            throttled = true;
+            registry.throttle(bucket, ((ResponseEntity<?>) result).getFirstHeader(HttpHeaders.RETRY_AFTER));
+        } else if (error != null && isTooManyRequests(error)) {
+            throttled = true;
+            registry.throttle(bucket, null);
+        }
+    }
+
+    /**
+     * Whether a call failed because it was answered with 429.
+     *
+     * @param error the failure
+     * @return true if the failure or one of its causes carries status 429
+     */
+    static boolean isTooManyRequests(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientException
+                    && ((HttpClientException) cause).getStatusCode() == TOO_MANY_REQUESTS) {
+                return true;
+            }
+            if (cause instanceof BaseException
+                    && Integer.valueOf(TOO_MANY_REQUESTS).equals(((BaseException) cause).getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
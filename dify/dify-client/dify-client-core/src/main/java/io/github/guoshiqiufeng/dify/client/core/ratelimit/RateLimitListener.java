@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+/**
+ * Listener receiving events of {@link TokenBucket}s.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer counters); they are invoked
+ * on the thread of the request and should return quickly. Cumulative counts are also available from
+ * {@link RateLimiterRegistry#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface RateLimitListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    RateLimitListener NOOP = new RateLimitListener() {
+    };
+
+    /**
+     * Called when a request is rejected because the queue of the bucket is full or its expected wait exceeds the
+     * queue timeout.
+     *
+     * @param bucket bucket name
+     */
+    default void onRejected(String bucket) {
+    }
+
+    /**
+     * Called when a 429 response pauses the bucket.
+     *
+     * @param bucket      bucket name
+     * @param pauseMillis time the bucket hands out no permits, in milliseconds
+     */
+    default void onThrottled(String bucket, long pauseMillis) {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time metrics of a {@link TokenBucket}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RateLimitMetrics {
+
+    /**
+     * Bucket name.
+     */
+    private final String name;
+
+    /**
+     * Permits added to the bucket per second.
+     */
+    private final double permitsPerSecond;
+
+    /**
+     * Maximum number of stored permits.
+     */
+    private final int burst;
+
+    /**
+     * Permits currently available without waiting.
+     */
+    private final double availablePermits;
+
+    /**
+     * Calls currently waiting for a permit.
+     */
+    private final int queuedCalls;
+
+    /**
+     * Remaining pause after a 429 response in milliseconds, 0 if the bucket is not paused.
+     */
+    private final long pausedMillis;
+
+    /**
+     * Total number of permits granted.
+     */
+    private final long acquiredCount;
+
+    /**
+     * Total number of permits granted after waiting.
+     */
+    private final long delayedCount;
+
+    /**
+     * Total time calls waited for their permits in milliseconds.
+     */
+    private final long totalWaitMillis;
+
+    /**
+     * Total number of calls rejected because the queue was full or the wait too long.
+     */
+    private final long rejectedCount;
+
+    /**
+     * Total number of 429 responses that paused the bucket.
+     */
+    private final long throttledCount;
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-API-key and per-endpoint-group {@link TokenBucket}s.
+ * <p>
+ * Dify enforces its rate limits, and forwards those of the upstream LLM provider, per app, that is per API key.
+ * Limiting each key locally keeps excess calls queued in the client instead of sending them to be answered with
+ * 429. When a 429 response arrives anyway, its {@code Retry-After} pauses the bucket of the key for every thread,
+ * so callers wait for the limit to reset instead of each retrying on its own.
+ * <p>
+ * Buckets are further split by endpoint group, such as {@code chat} or {@code dataset}. Requests without an
+ * {@code Authorization} header are not limited.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class RateLimiterRegistry implements HttpRequestDecorator {
+
+    /**
+     * Number of buckets above which idle ones are evicted, bounding the registry when keys rotate.
+     */
+    static final int MAX_BUCKETS = 1024;
+
+    private final DifyProperties.RateLimitConfig config;
+    private final RateLimitListener listener;
+    private final ConcurrentMap<String, TokenBucket> buckets;
+    private final String endpointGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param config   rate limit configuration
+     * @param listener listener notified of rejections and pauses, may be null
+     */
+    public RateLimiterRegistry(DifyProperties.RateLimitConfig config, RateLimitListener listener) {
+        this(config != null ? config : new DifyProperties.RateLimitConfig(),
+                listener != null ? listener : RateLimitListener.NOOP, new ConcurrentHashMap<>(), null);
+    }
+
+    private RateLimiterRegistry(DifyProperties.RateLimitConfig config, RateLimitListener listener,
+                                ConcurrentMap<String, TokenBucket> buckets, String endpointGroup) {
+        this.config = config;
+        this.listener = listener;
+        this.buckets = buckets;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.rateLimit}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of rejections and pauses, may be null
+     * @return the registry, or null if rate limiting is not enabled
+     */
+    public static RateLimiterRegistry of(DifyProperties.ClientConfig clientConfig, RateLimitListener listener) {
+        if (clientConfig == null || clientConfig.getRateLimit() == null
+                || !Boolean.TRUE.equals(clientConfig.getRateLimit().getEnabled())) {
+            return null;
+        }
+        return new RateLimiterRegistry(clientConfig.getRateLimit(), listener);
+    }
+
+    /**
+     * Create the registry configured by {@code clientConfig.rateLimit}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the registry, or null if rate limiting is not enabled
+     */
+    public static RateLimiterRegistry of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if buckets are only split by API key
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this registry limiting the requests of one endpoint group. Views share their buckets, so
+     * metrics of every group are available from any of them.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public RateLimiterRegistry forEndpointGroup(String endpointGroup) {
+        return new RateLimiterRegistry(config, listener, buckets, endpointGroup);
+    }
+
+    /**
+     * Get the bucket of an API key in the endpoint group of this view.
+     *
+     * @param apiKey the API key
+     * @return the bucket, or null for an empty key
+     */
+    public TokenBucket forApiKey(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return null;
+        }
+        String key = endpointGroup != null ? endpointGroup + '\n' + apiKey : apiKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_BUCKETS) {
+            buckets.values().removeIf(TokenBucket::isIdle);
+        }
+        return buckets.computeIfAbsent(key, ignored -> new TokenBucket(
+                endpointGroup != null ? endpointGroup + ":" + BulkheadRegistry.maskKey(apiKey)
+                        : BulkheadRegistry.maskKey(apiKey),
+                orDefault(config.getPermitsPerSecond(), 10.0),
+                orDefault(config.getBurst(), 20),
+                orDefault(config.getMaxQueueSize(), 64),
+                orDefault(config.getQueueTimeoutMillis(), 30000L),
+                listener));
+    }
+
+    /**
+     * Get the bucket of an {@code Authorization} header value in the endpoint group of this view.
+     *
+     * @param authorization header value, with or without the {@code Bearer } prefix
+     * @return the bucket, or null if the value is empty
+     */
+    public TokenBucket forAuthorization(String authorization) {
+        if (authorization != null && authorization.startsWith(HttpHeaders.AUTHORIZATION_BEARER_KEY)) {
+            return forApiKey(authorization.substring(HttpHeaders.AUTHORIZATION_BEARER_KEY.length()).trim());
+        }
+        return forApiKey(authorization);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new RateLimitHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Pause a bucket after a 429 response.
+     *
+     * @param bucket     the bucket of the throttled request
+     * @param retryAfter {@code Retry-After} header of the response, may be null
+     */
+    public void throttle(TokenBucket bucket, String retryAfter) {
+        bucket.pause(pauseMillis(retryAfter, System.currentTimeMillis()));
+    }
+
+    /**
+     * Get the metrics of all buckets of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<RateLimitMetrics> getMetrics() {
+        List<RateLimitMetrics> metrics = new ArrayList<>();
+        for (TokenBucket bucket : buckets.values()) {
+            metrics.add(bucket.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the pause for a {@code Retry-After} value, bounded by the configured maximum.
+     *
+     * @param retryAfter header value, may be null
+     * @param nowMillis  current time in epoch milliseconds
+     * @return pause in milliseconds, the configured default if the value is missing or invalid
+     */
+    long pauseMillis(String retryAfter, long nowMillis) {
+        long pause = parseRetryAfterMillis(retryAfter, nowMillis);
+        if (pause < 0) {
+            pause = orDefault(config.getDefaultRetryAfterMillis(), 1000L);
+        }
+        return Math.min(pause, orDefault(config.getMaxRetryAfterMillis(), 60000L));
+    }
+
+    /**
+     * Parse a {@code Retry-After} value, given either in seconds or as an HTTP date.
+     *
+     * @param retryAfter header value, may be null
+     * @param nowMillis  current time in epoch milliseconds
+     * @return delay in milliseconds, or -1 if the value is missing or invalid
+     */
+    static long parseRetryAfterMillis(String retryAfter, long nowMillis) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        if (Character.isDigit(value.charAt(0))) {
+            try {
+                double seconds = Double.parseDouble(value);
+                return seconds >= 0 && seconds <= Long.MAX_VALUE / 1000 ? (long) (seconds * 1000) : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        try {
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, date - nowMillis);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static long orDefault(Long value, long defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static double orDefault(Double value, double defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
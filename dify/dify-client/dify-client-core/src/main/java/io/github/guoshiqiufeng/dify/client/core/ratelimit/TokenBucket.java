@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A token bucket limiting the rate of calls.
+ * <p>
+ * The bucket holds up to {@code burst} permits and gains {@code permitsPerSecond} of them every second. A call
+ * takes one permit; when none is stored it reserves the next one to be added and waits for it, so waiting calls
+ * are served in arrival order at the configured rate. A call is rejected with a {@link RateLimitExceededException}
+ * instead of waiting when {@code maxQueueSize} calls are already waiting or its wait would exceed
+ * {@code queueTimeout}.
+ * <p>
+ * {@link #pause(long)} stops the bucket for all callers, typically for the {@code Retry-After} of a 429 response:
+ * stored permits are dropped, and the permits reserved by calls already waiting move back by the length of the pause,
+ * so that they resume at the configured rate once it ends, followed by new reservations.
+ * <p>
+ * Blocking callers wait on their own thread with {@link #acquire()}; asynchronous callers use
+ * {@link #acquireAsync()}, which parks no thread while waiting. Permits are not returned.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class TokenBucket {
+
+    /**
+     * Slot of a reservation served from the stored permits, which does not wait.
+     */
+    private static final long GRANTED = Long.MIN_VALUE;
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final double intervalNanos;
+    private final int maxQueueSize;
+    private final long queueTimeoutNanos;
+    private final RateLimitListener listener;
+    private final LongSupplier clock;
+
+    /**
+     * Guards the fields below; never held while notifying the listener or completing a waiter.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private double storedPermits;
+    private long nextFreeNanos;
+    private long pausedUntilNanos;
+    /**
+     * Total time reservations were moved back by pauses; a reservation is available at its slot plus this shift.
+     */
+    private long pauseShiftNanos;
+    private int queued;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder delayedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param name               bucket name, used in metrics and error messages
+     * @param permitsPerSecond   permits added per second, greater than 0
+     * @param burst              maximum number of stored permits, at least 1
+     * @param maxQueueSize       maximum number of waiting calls, 0 to reject calls that would have to wait
+     * @param queueTimeoutMillis maximum time a call waits for its permit, 0 to wait without limit
+     * @param listener           listener notified of rejections and pauses, may be null
+     */
+    public TokenBucket(String name, double permitsPerSecond, int burst, int maxQueueSize, long queueTimeoutMillis,
+                       RateLimitListener listener) {
+        this(name, permitsPerSecond, burst, maxQueueSize, queueTimeoutMillis, listener, System::nanoTime);
+    }
+
+    TokenBucket(String name, double permitsPerSecond, int burst, int maxQueueSize, long queueTimeoutMillis,
+                RateLimitListener listener, LongSupplier clock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be greater than 0: " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1: " + burst);
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.maxQueueSize = Math.max(0, maxQueueSize);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, queueTimeoutMillis));
+        this.listener = listener != null ? listener : RateLimitListener.NOOP;
+        this.clock = clock;
+        this.storedPermits = burst;
+        this.nextFreeNanos = clock.getAsLong();
+        this.pausedUntilNanos = this.nextFreeNanos;
+    }
+
+    /**
+     * Get the bucket name.
+     *
+     * @return bucket name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Take a permit, waiting on the calling thread until it is available.
+     *
+     * @throws RateLimitExceededException if the call is rejected or the thread is interrupted
+     */
+    public void acquire() {
+        long start = clock.getAsLong();
+        long slot = reserveSlot(start);
+        if (slot == GRANTED) {
+            return;
+        }
+        boolean granted = false;
+        try {
+            long waitNanos = remainingWaitNanos(slot);
+            while (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+                waitNanos = remainingWaitNanos(slot);
+            }
+            granted = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException(name, "Interrupted while waiting for rate limiter '" + name + "'",
+                    -1);
+        } finally {
+            leave(start, granted);
+        }
+    }
+
+    /**
+     * Take a permit without blocking the calling thread.
+     * <p>
+     * Cancelling the returned future before it completes withdraws the call from the queue; its reserved permit
+     * is not returned.
+     *
+     * @return future completed once the permit is available, or failed with {@link RateLimitExceededException}
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long start = clock.getAsLong();
+        long slot;
+        try {
+            slot = reserveSlot(start);
+        } catch (RateLimitExceededException e) {
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        if (slot == GRANTED) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        AtomicBoolean waiting = new AtomicBoolean(true);
+        AtomicReference<ScheduledFuture<?>> timer = new AtomicReference<>();
+        permit.whenComplete((ignored, error) -> {
+            if (error != null && waiting.compareAndSet(true, false)) {
+                leave(start, false);
+                ScheduledFuture<?> pending = timer.get();
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+            }
+        });
+        schedule(() -> {
+            // leave the queue before completing, the permit may run the call on the timer thread
+            if (waiting.compareAndSet(true, false)) {
+                leave(start, true);
+                permit.complete(null);
+            }
+        }, timer, slot, remainingWaitNanos(slot));
+        return permit;
+    }
+
+    /**
+     * Run a blocking call once a permit is available.
+     *
+     * @param call the call
+     * @param <T>  result type
+     * @return the call result
+     * @throws RateLimitExceededException if no permit is granted
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        return call.get();
+    }
+
+    /**
+     * Start an asynchronous call once a permit is available. Cancelling the returned future withdraws a waiting
+     * call or cancels the running one.
+     *
+     * @param call starts the call
+     * @param <T>  result type
+     * @return future of the call result, failed with {@link RateLimitExceededException} if no permit is granted
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> permit = acquireAsync();
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                permit.cancel(false);
+            }
+        });
+        permit.whenComplete((ignored, permitError) -> {
+            if (permitError != null) {
+                result.completeExceptionally(unwrap(permitError));
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error instanceof CancellationException) {
+                    future.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Subscribe to a stream once a permit is available.
+     *
+     * @param call creates the stream
+     * @param <T>  element type
+     * @return the stream, failed with {@link RateLimitExceededException} if no permit is granted
+     */
+    public <T> Flux<T> executeFlux(Supplier<Flux<T>> call) {
+        return Mono.defer(() -> {
+                    CompletableFuture<Void> permit = acquireAsync();
+                    return Mono.fromFuture(permit).doOnCancel(() -> permit.cancel(false));
+                })
+                .thenMany(Flux.defer(call));
+    }
+
+    /**
+     * Stop handing out permits for the given time. A shorter pause than the current one has no effect.
+     * <p>
+     * The permits reserved by waiting calls move back by the time the pause adds, keeping their spacing, so the
+     * queue drains at {@code permitsPerSecond} after the pause instead of all at once when it ends.
+     *
+     * @param pauseMillis pause in milliseconds
+     */
+    public void pause(long pauseMillis) {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long until = now + TimeUnit.MILLISECONDS.toNanos(pauseMillis);
+        lock.lock();
+        try {
+            if (until - pausedUntilNanos <= 0) {
+                return;
+            }
+            // an extended pause only adds the time after the current one to the reservations
+            long shift = until - (pausedUntilNanos - now > 0 ? pausedUntilNanos : now);
+            pausedUntilNanos = until;
+            pauseShiftNanos += shift;
+            storedPermits = 0;
+            if (nextFreeNanos - now > 0) {
+                nextFreeNanos += shift;
+            }
+            // the first permit after the pause is available when it ends
+            long firstPermit = until - (long) intervalNanos;
+            if (firstPermit - nextFreeNanos > 0) {
+                nextFreeNanos = firstPermit;
+            }
+        } finally {
+            lock.unlock();
+        }
+        throttledCount.increment();
+        listener.onThrottled(name, pauseMillis);
+    }
+
+    /**
+     * Get the current metrics of this bucket.
+     *
+     * @return metrics snapshot
+     */
+    public RateLimitMetrics getMetrics() {
+        long now = clock.getAsLong();
+        double available;
+        int currentQueued;
+        long pausedNanos;
+        lock.lock();
+        try {
+            resync(now);
+            available = storedPermits;
+            currentQueued = queued;
+            pausedNanos = Math.max(0, pausedUntilNanos - now);
+        } finally {
+            lock.unlock();
+        }
+        return new RateLimitMetrics(name, permitsPerSecond, burst, available, currentQueued,
+                TimeUnit.NANOSECONDS.toMillis(pausedNanos), acquiredCount.sum(), delayedCount.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()), rejectedCount.sum(), throttledCount.sum());
+    }
+
+    /**
+     * Whether no call waits and the bucket is full again, so dropping it loses no state.
+     *
+     * @return true if the bucket is unused
+     */
+    boolean isIdle() {
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            resync(now);
+            return queued == 0 && storedPermits >= burst;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve a permit.
+     *
+     * @param now current time in nanoseconds
+     * @return time until the reserved permit is available in nanoseconds, 0 if it is available now
+     * @throws RateLimitExceededException if the call would have to wait and the queue is full or the wait too long
+     */
+    long reserve(long now) {
+        long slot = reserveSlot(now);
+        return slot == GRANTED ? 0 : waitNanos(slot, now);
+    }
+
+    /**
+     * Reserve a permit, queueing the call if it has to wait.
+     *
+     * @param now current time in nanoseconds
+     * @return slot of the reserved permit for {@link #remainingWaitNanos(long)}, {@link #GRANTED} if it is
+     * available now
+     * @throws RateLimitExceededException if the call would have to wait and the queue is full or the wait too long
+     */
+    long reserveSlot(long now) {
+        long slot = GRANTED;
+        long waitNanos;
+        boolean rejected;
+        lock.lock();
+        try {
+            resync(now);
+            // a call finding no stored permit waits for the fresh one it reserves
+            double spent = Math.min(1, storedPermits);
+            long moment = nextFreeNanos + (long) ((1 - spent) * intervalNanos);
+            waitNanos = Math.max(0, moment - now);
+            rejected = waitNanos > 0 && (queued >= maxQueueSize
+                    || queueTimeoutNanos > 0 && waitNanos > queueTimeoutNanos);
+            if (!rejected) {
+                if (waitNanos > 0) {
+                    queued++;
+                    slot = moment - pauseShiftNanos;
+                }
+                storedPermits -= spent;
+                nextFreeNanos = moment;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (rejected) {
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+            rejectedCount.increment();
+            listener.onRejected(name);
+            throw new RateLimitExceededException(name, "Rate limiter '" + name + "' is saturated, expected wait "
+                    + waitMillis + "ms, maxQueueSize=" + maxQueueSize, waitMillis);
+        }
+        if (waitNanos == 0) {
+            acquiredCount.increment();
+        }
+        return slot;
+    }
+
+    /**
+     * Add the permits accumulated since the last reservation.
+     *
+     * @param now current time in nanoseconds
+     */
+    private void resync(long now) {
+        if (now - nextFreeNanos > 0) {
+            storedPermits = Math.min(burst, storedPermits + (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+    }
+
+    /**
+     * Time until a reserved permit is available, including the pauses started since it was reserved.
+     *
+     * @param slot slot returned by {@link #reserveSlot(long)}
+     * @return wait in nanoseconds, 0 if the permit is available now
+     */
+    long remainingWaitNanos(long slot) {
+        return waitNanos(slot, clock.getAsLong());
+    }
+
+    private long waitNanos(long slot, long now) {
+        lock.lock();
+        try {
+            long moment = slot + pauseShiftNanos;
+            // a permit that was due when a pause started still waits for its end
+            if (pausedUntilNanos - moment > 0) {
+                moment = pausedUntilNanos;
+            }
+            return Math.max(0, moment - now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Leave the queue after waiting.
+     *
+     * @param start   time the call arrived in nanoseconds
+     * @param granted whether the call got its permit
+     */
+    private void leave(long start, boolean granted) {
+        lock.lock();
+        try {
+            queued--;
+        } finally {
+            lock.unlock();
+        }
+        if (granted) {
+            acquiredCount.increment();
+            delayedCount.increment();
+            totalWaitNanos.add(clock.getAsLong() - start);
+        }
+    }
+
+    private void schedule(Runnable grant, AtomicReference<ScheduledFuture<?>> timer, long slot, long delayNanos) {
+        timer.set(DifyExecutors.scheduler().schedule(() -> {
+            long waitNanos = remainingWaitNanos(slot);
+            if (waitNanos > 0) {
+                schedule(grant, timer, slot, waitNanos);
+            } else {
+                grant.run();
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.exception.BaseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Retry policy for transient failures with exponential backoff and jitter.
+ * <p>
+ * Failures are classified by how safe a retry is:
+ * <ul>
+ *     <li>Requests that were not sent, such as a refused connection or a connection pool acquire timeout, are
+ *     retried for every method.</li>
+ *     <li>Other transport failures, such as a reset connection or a read timeout, and the
+ *     {@code retryableStatusCodes} are only retried for idempotent methods, since the server may already have
+ *     processed the request.</li>
+ *     <li>Non-idempotent methods are also retried for the {@code unsafeRetryableStatusCodes}, which should only
+ *     contain statuses where the server did not process the request.</li>
+ * </ul>
+ * Stream timeouts and local rejections, such as those of bulkheads and rate limiters, are never retried.
+ * The delay before retry {@code n} is {@code initialBackoffMillis * multiplier^(n - 1)}, capped at
+ * {@code maxBackoffMillis} and reduced by a random share of up to {@code jitter}, so clients failing together do
+ * not retry together.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class DefaultRetryPolicy implements RetryPolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE")));
+
+    /**
+     * Exceptions of optional HTTP libraries raised before a request is sent, matched by simple class name.
+     */
+    private static final Set<String> NOT_SENT_EXCEPTIONS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("PoolAcquireTimeoutException", "PoolAcquirePendingLimitException",
+                    "ConnectionRequestTimeoutException", "HttpConnectTimeoutException", "ConnectTimeoutException")));
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+    private final double jitter;
+    private final Set<Integer> retryableStatusCodes;
+    private final Set<Integer> unsafeRetryableStatusCodes;
+    private final DoubleSupplier random;
+
+    /**
+     * Constructor.
+     *
+     * @param config retry configuration
+     */
+    public DefaultRetryPolicy(DifyProperties.RetryConfig config) {
+        this(config, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    DefaultRetryPolicy(DifyProperties.RetryConfig config, DoubleSupplier random) {
+        DifyProperties.RetryConfig retryConfig = config != null ? config : new DifyProperties.RetryConfig();
+        this.maxAttempts = retryConfig.getMaxAttempts() != null ? retryConfig.getMaxAttempts() : 3;
+        this.initialBackoffMillis = Math.max(0, orDefault(retryConfig.getInitialBackoffMillis(), 200L));
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, orDefault(retryConfig.getMaxBackoffMillis(), 5000L));
+        this.multiplier = Math.max(1.0, orDefault(retryConfig.getMultiplier(), 2.0));
+        this.jitter = Math.min(1.0, Math.max(0.0, orDefault(retryConfig.getJitter(), 0.5)));
+        this.retryableStatusCodes = toSet(retryConfig.getRetryableStatusCodes());
+        this.unsafeRetryableStatusCodes = toSet(retryConfig.getUnsafeRetryableStatusCodes());
+        this.random = random;
+    }
+
+    @Override
+    public long retryDelayMillis(String method, int attempt, Throwable error) {
+        if (attempt >= maxAttempts || !isRetryable(method, error)) {
+            return -1;
+        }
+        return backoffMillis(attempt);
+    }
+
+    /**
+     * Check whether a failure may be retried for a method.
+     *
+     * @param method HTTP method, may be null if unknown
+     * @param error  the failure
+     * @return true if the failure is transient and a retry is safe
+     */
+    public boolean isRetryable(String method, Throwable error) {
+        if (error == null || isLocal(error)) {
+            return false;
+        }
+        if (isNotSent(error)) {
+            return true;
+        }
+        boolean idempotent = isIdempotent(method);
+        int statusCode = statusCode(error);
+        if (statusCode > 0) {
+            return (idempotent ? retryableStatusCodes : unsafeRetryableStatusCodes).contains(statusCode);
+        }
+        return idempotent && isTransportError(error);
+    }
+
+    /**
+     * Get the delay before a retry, with jitter applied.
+     *
+     * @param attempt number of the failed attempt, starting at 1
+     * @return delay in milliseconds
+     */
+    long backoffMillis(int attempt) {
+        double backoff = initialBackoffMillis * Math.pow(multiplier, attempt - 1);
+        backoff = Math.min(backoff, maxBackoffMillis);
+        return (long) (backoff * (1 - jitter * random.getAsDouble()));
+    }
+
+    /**
+     * Check whether a method is idempotent, so repeating a request that may have been processed is safe.
+     *
+     * @param method HTTP method, may be null
+     * @return true for GET, HEAD, OPTIONS, TRACE, PUT and DELETE
+     */
+    public static boolean isIdempotent(String method) {
+        return method != null && IDEMPOTENT_METHODS.contains(method.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Check whether a failure happened before the request was sent.
+     *
+     * @param error the failure
+     * @return true for connection failures and connection pool acquire timeouts
+     */
+    public static boolean isNotSent(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException
+                    || NOT_SENT_EXCEPTIONS.contains(cause.getClass().getSimpleName())) {
+                return true;
+            }
+            if (cause instanceof SocketTimeoutException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains("connect timed out")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocal(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException || cause instanceof InterruptedException
+                    || cause instanceof StreamTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransportError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int statusCode(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientException && ((HttpClientException) cause).getStatusCode() > 0) {
+                return ((HttpClientException) cause).getStatusCode();
+            }
+            if (cause instanceof BaseException && ((BaseException) cause).getCode() != null
+                    && ((BaseException) cause).getCode() >= 400) {
+                return ((BaseException) cause).getCode();
+            }
+        }
+        return -1;
+    }
+
+    private static Set<Integer> toSet(List<Integer> statusCodes) {
+        return statusCodes != null ? Collections.unmodifiableSet(new HashSet<>(statusCodes)) : Collections.emptySet();
+    }
+
+    private static long orDefault(Long value, long defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static double orDefault(Double value, double defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
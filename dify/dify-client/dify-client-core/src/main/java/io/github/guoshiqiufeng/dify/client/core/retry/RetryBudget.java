@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget bounding retries to a share of all calls.
+ * <p>
+ * Every call deposits {@code ratio} of a retry and every retry withdraws a whole one, so retries can not multiply
+ * the load on an already failing server. The balance is capped at {@code maxRetries}, which is also its initial
+ * value, so occasional failures are retried right away.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+final class RetryBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    RetryBudget(double ratio, int maxRetries) {
+        this.deposit = (long) (Math.max(0.0, ratio) * UNIT);
+        this.maxBalance = Math.max(0, maxRetries) * UNIT;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void deposit() {
+        if (deposit > 0) {
+            balance.updateAndGet(current -> Math.min(maxBalance, current + deposit));
+        }
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    double getRemainingRetries() {
+        return (double) balance.get() / UNIT;
+    }
+}
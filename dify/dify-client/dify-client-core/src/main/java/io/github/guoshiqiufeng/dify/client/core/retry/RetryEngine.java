@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Retries failed calls of Dify clients as decided by a {@link RetryPolicy}.
+ * <p>
+ * On top of the policy, retries are bounded by a budget shared by all calls, which lets retries add at most
+ * {@code budgetRatio} to the load of a failing server, and by {@code maxRetryDurationMillis} per call. Streams are
+ * only retried until their first element, since the caller has already consumed part of the answer. Blocking calls
+ * sleep between attempts, asynchronous calls and streams wait without blocking a thread.
+ * <p>
+ * Metrics are kept per endpoint, the endpoint group of the view followed by the method and the URI template of the
+ * request.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class RetryEngine implements HttpRequestDecorator {
+
+    /**
+     * Number of endpoints with their own metrics, calls of further endpoints are counted together.
+     */
+    static final int MAX_ENDPOINTS = 256;
+
+    static final String OTHER_ENDPOINTS = "<other>";
+
+    private final RetryPolicy policy;
+    private final RetryListener listener;
+    private final long maxRetryDurationMillis;
+    private final RetryBudget budget;
+    private final ConcurrentMap<String, EndpointStats> endpoints;
+    private final String endpointGroup;
+
+    /**
+     * Constructor using the {@link DefaultRetryPolicy}.
+     *
+     * @param config   retry configuration
+     * @param listener listener notified of retries, may be null
+     */
+    public RetryEngine(DifyProperties.RetryConfig config, RetryListener listener) {
+        this(config, null, listener);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config   retry configuration, used for the budget and the maximum retry duration
+     * @param policy   policy deciding on retries, null for the {@link DefaultRetryPolicy} of the configuration
+     * @param listener listener notified of retries, may be null
+     */
+    public RetryEngine(DifyProperties.RetryConfig config, RetryPolicy policy, RetryListener listener) {
+        DifyProperties.RetryConfig retryConfig = config != null ? config : new DifyProperties.RetryConfig();
+        this.policy = policy != null ? policy : new DefaultRetryPolicy(retryConfig);
+        this.listener = listener != null ? listener : RetryListener.NOOP;
+        this.maxRetryDurationMillis = retryConfig.getMaxRetryDurationMillis() != null
+                ? retryConfig.getMaxRetryDurationMillis() : 30000L;
+        this.budget = new RetryBudget(retryConfig.getBudgetRatio() != null ? retryConfig.getBudgetRatio() : 0.2,
+                retryConfig.getBudgetMaxRetries() != null ? retryConfig.getBudgetMaxRetries() : 20);
+        this.endpoints = new ConcurrentHashMap<>();
+        this.endpointGroup = null;
+    }
+
+    private RetryEngine(RetryEngine engine, String endpointGroup) {
+        this.policy = engine.policy;
+        this.listener = engine.listener;
+        this.maxRetryDurationMillis = engine.maxRetryDurationMillis;
+        this.budget = engine.budget;
+        this.endpoints = engine.endpoints;
+        this.endpointGroup = endpointGroup;
+    }
+
+    /**
+     * Create the engine configured by {@code clientConfig.retry}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @param listener     listener notified of retries, may be null
+     * @return the engine, or null if retries are not enabled
+     */
+    public static RetryEngine of(DifyProperties.ClientConfig clientConfig, RetryListener listener) {
+        if (clientConfig == null || clientConfig.getRetry() == null
+                || !Boolean.TRUE.equals(clientConfig.getRetry().getEnabled())) {
+            return null;
+        }
+        return new RetryEngine(clientConfig.getRetry(), listener);
+    }
+
+    /**
+     * Create the engine configured by {@code clientConfig.retry}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return the engine, or null if retries are not enabled
+     */
+    public static RetryEngine of(DifyProperties.ClientConfig clientConfig) {
+        return of(clientConfig, null);
+    }
+
+    /**
+     * Get the endpoint group of this view.
+     *
+     * @return endpoint group, or null if endpoints are not prefixed by a group
+     */
+    public String getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * Get a view of this engine naming the endpoints of one endpoint group. Views share the budget and metrics.
+     *
+     * @param endpointGroup name of the endpoint group
+     * @return the view
+     */
+    @Override
+    public RetryEngine forEndpointGroup(String endpointGroup) {
+        return new RetryEngine(this, endpointGroup);
+    }
+
+    @Override
+    public HttpRequestBuilder decorate(HttpRequestBuilder builder, String method, String defaultAuthorization) {
+        return new RetryHttpRequestBuilder(builder, method, defaultAuthorization, this);
+    }
+
+    /**
+     * Get the name of an endpoint in the endpoint group of this view.
+     *
+     * @param method      HTTP method, may be null
+     * @param uriTemplate URI template of the request, may be null
+     * @return endpoint name
+     */
+    public String endpoint(String method, String uriTemplate) {
+        StringBuilder endpoint = new StringBuilder();
+        if (endpointGroup != null) {
+            endpoint.append(endpointGroup).append(':');
+        }
+        endpoint.append(method != null ? method : "?");
+        if (uriTemplate != null) {
+            int query = uriTemplate.indexOf('?');
+            endpoint.append(' ').append(query >= 0 ? uriTemplate.substring(0, query) : uriTemplate);
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Run a blocking call, retrying failed attempts.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param method   HTTP method of the call, may be null
+     * @param call     performs one attempt
+     * @param <T>      result type
+     * @return the result of the first successful attempt
+     */
+    public <T> T execute(String endpoint, String method, Supplier<T> call) {
+        EndpointStats stats = start(endpoint);
+        long startNanos = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = call.get();
+                stats.succeeded(attempt);
+                return result;
+            } catch (RuntimeException e) {
+                long delayMillis = retryDelayMillis(stats, method, attempt, e, startNanos);
+                if (delayMillis < 0) {
+                    stats.failed(attempt);
+                    throw e;
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    stats.failed(attempt);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Start an asynchronous call, retrying failed attempts. Cancelling the returned future cancels the running
+     * attempt and stops retrying.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param method   HTTP method of the call, may be null
+     * @param call     starts one attempt
+     * @param <T>      result type
+     * @return future of the result of the first successful attempt
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, String method, Supplier<CompletableFuture<T>> call) {
+        EndpointStats stats = start(endpoint);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(result, stats, method, call, 1, System.nanoTime());
+        return result;
+    }
+
+    /**
+     * Subscribe to a stream, retrying failed attempts until the first element is received.
+     *
+     * @param endpoint endpoint name, see {@link #endpoint(String, String)}
+     * @param method   HTTP method of the call, may be null
+     * @param call     creates the stream of one attempt
+     * @param <T>      element type
+     * @return the stream
+     */
+    public <T> Flux<T> executeFlux(String endpoint, String method, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> attemptFlux(start(endpoint), method, call, 1, System.nanoTime()));
+    }
+
+    /**
+     * Get the metrics of all endpoints of every endpoint group.
+     *
+     * @return metrics snapshots
+     */
+    public List<RetryMetrics> getMetrics() {
+        List<RetryMetrics> metrics = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            metrics.add(stats.getMetrics());
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Get the number of retries the budget currently allows.
+     *
+     * @return remaining retries, fractional while the budget refills
+     */
+    public double getRemainingBudget() {
+        return budget.getRemainingRetries();
+    }
+
+    private <T> void attemptAsync(CompletableFuture<T> result, EndpointStats stats, String method,
+                                  Supplier<CompletableFuture<T>> call, int attempt, long startNanos) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        CompletableFuture<T> running = future;
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                running.cancel(true);
+            }
+        });
+        running.whenComplete((value, error) -> {
+            if (error == null) {
+                stats.succeeded(attempt);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            long delayMillis = result.isDone() ? -1 : retryDelayMillis(stats, method, attempt, cause, startNanos);
+            if (delayMillis < 0) {
+                stats.failed(attempt);
+                result.completeExceptionally(cause);
+                return;
+            }
+            Mono.delay(Duration.ofMillis(delayMillis)).subscribe(
+                    ignored -> attemptAsync(result, stats, method, call, attempt + 1, startNanos),
+                    result::completeExceptionally);
+        });
+    }
+
+    private <T> Flux<T> attemptFlux(EndpointStats stats, String method, Supplier<Flux<T>> call, int attempt,
+                                    long startNanos) {
+        AtomicBoolean received = new AtomicBoolean();
+        return Flux.defer(call)
+                .doOnNext(element -> received.set(true))
+                .doOnComplete(() -> stats.succeeded(attempt))
+                .onErrorResume(error -> {
+                    // the caller already consumed part of the stream, a new attempt would repeat it
+                    long delayMillis = received.get() ? -1
+                            : retryDelayMillis(stats, method, attempt, error, startNanos);
+                    if (delayMillis < 0) {
+                        stats.failed(attempt);
+                        return Flux.error(error);
+                    }
+                    return Mono.delay(Duration.ofMillis(delayMillis))
+                            .thenMany(Flux.defer(() -> attemptFlux(stats, method, call, attempt + 1, startNanos)));
+                });
+    }
+
+    private EndpointStats start(String endpoint) {
+        budget.deposit();
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            String name = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINTS;
+            stats = endpoints.computeIfAbsent(name, EndpointStats::new);
+        }
+        stats.calls.increment();
+        return stats;
+    }
+
+    private long retryDelayMillis(EndpointStats stats, String method, int attempt, Throwable error,
+                                  long startNanos) {
+        long delayMillis = policy.retryDelayMillis(method, attempt, error);
+        if (delayMillis < 0) {
+            return -1;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (maxRetryDurationMillis > 0 && elapsedMillis + delayMillis > maxRetryDurationMillis) {
+            return -1;
+        }
+        if (!budget.tryWithdraw()) {
+            stats.budgetExhausted.increment();
+            listener.onBudgetExhausted(stats.endpoint, error);
+            return -1;
+        }
+        stats.retries.increment();
+        listener.onRetry(stats.endpoint, attempt, delayMillis, error);
+        return delayMillis;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Counters of one endpoint.
+     */
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder failedAfterRetry = new LongAdder();
+        private final LongAdder budgetExhausted = new LongAdder();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void succeeded(int attempt) {
+            if (attempt > 1) {
+                recovered.increment();
+            }
+        }
+
+        void failed(int attempt) {
+            if (attempt > 1) {
+                failedAfterRetry.increment();
+            }
+        }
+
+        RetryMetrics getMetrics() {
+            return new RetryMetrics(endpoint, calls.sum(), retries.sum(), recovered.sum(), failedAfterRetry.sum(),
+                    budgetExhausted.sum());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import io.github.guoshiqiufeng.dify.client.core.http.ForwardingHttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request builder retrying its calls through a {@link RetryEngine}. The URI template is recorded to name the
+ * endpoint; multipart requests are not retried, as their parts may be streams that can only be read once.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class RetryHttpRequestBuilder extends ForwardingHttpRequestBuilder {
+
+    private final RetryEngine engine;
+
+    RetryHttpRequestBuilder(HttpRequestBuilder delegate, String method, String defaultAuthorization,
+                            RetryEngine engine) {
+        super(delegate, method, defaultAuthorization);
+        this.engine = engine;
+    }
+
+    @Override
+    protected <T> T call(Supplier<T> call) {
+        if (isMultipart()) {
+            return call.get();
+        }
+        return engine.execute(endpoint(), getMethod(), call);
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        if (isMultipart()) {
+            return call.get();
+        }
+        return engine.executeAsync(endpoint(), getMethod(), call);
+    }
+
+    @Override
+    protected <T> Flux<T> callFlux(Supplier<Flux<T>> call) {
+        if (isMultipart()) {
+            return call.get();
+        }
+        return engine.executeFlux(endpoint(), getMethod(), call);
+    }
+
+    private String endpoint() {
+        return engine.endpoint(getMethod(), getUriTemplate());
+    }
+}
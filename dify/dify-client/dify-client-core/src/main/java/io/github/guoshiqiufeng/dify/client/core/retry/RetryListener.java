@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+/**
+ * Listener receiving events of a {@link RetryEngine}.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer counters); they are invoked
+ * on the thread of the failed attempt and should return quickly. Cumulative counts per endpoint are also available
+ * from {@link RetryEngine#getMetrics()}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface RetryListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    RetryListener NOOP = new RetryListener() {
+    };
+
+    /**
+     * Called when a failed attempt is going to be retried.
+     *
+     * @param endpoint    endpoint of the call
+     * @param attempt     number of the failed attempt, starting at 1
+     * @param delayMillis delay before the next attempt in milliseconds
+     * @param error       failure of the attempt
+     */
+    default void onRetry(String endpoint, int attempt, long delayMillis, Throwable error) {
+    }
+
+    /**
+     * Called when a retryable failure is not retried because the retry budget is used up.
+     *
+     * @param endpoint endpoint of the call
+     * @param error    failure of the attempt
+     */
+    default void onBudgetExhausted(String endpoint, Throwable error) {
+    }
+}
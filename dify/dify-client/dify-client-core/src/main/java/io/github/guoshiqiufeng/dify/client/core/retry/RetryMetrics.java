@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the retry metrics of one endpoint.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RetryMetrics {
+
+    /**
+     * Endpoint name, the endpoint group followed by the method and the URI template.
+     */
+    private final String endpoint;
+
+    /**
+     * Total number of calls.
+     */
+    private final long calls;
+
+    /**
+     * Total number of retried attempts.
+     */
+    private final long retries;
+
+    /**
+     * Total number of calls that succeeded after at least one retry.
+     */
+    private final long recoveredCalls;
+
+    /**
+     * Total number of calls that failed after at least one retry.
+     */
+    private final long failedAfterRetryCalls;
+
+    /**
+     * Total number of retryable failures not retried because the retry budget was used up.
+     */
+    private final long budgetExhaustedCount;
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+/**
+ * Decides whether and when a failed attempt of a call is retried.
+ * <p>
+ * {@link DefaultRetryPolicy} retries transient failures with exponential backoff and jitter, taking the
+ * idempotency of the HTTP method into account. Custom policies are passed to
+ * {@link RetryEngine#RetryEngine(io.github.guoshiqiufeng.dify.core.config.DifyProperties.RetryConfig, RetryPolicy,
+ * RetryListener)}; the engine still enforces the retry budget and the maximum retry duration.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface RetryPolicy {
+
+    /**
+     * Get the delay before retrying a failed attempt.
+     *
+     * @param method  HTTP method of the call, may be null if unknown
+     * @param attempt number of the failed attempt, starting at 1
+     * @param error   failure of the attempt
+     * @return delay in milliseconds, or a negative value to not retry
+     */
+    long retryDelayMillis(String method, int attempt, Throwable error);
+}
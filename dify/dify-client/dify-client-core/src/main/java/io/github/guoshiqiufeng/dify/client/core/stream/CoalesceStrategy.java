@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+/**
+ * Strategy describing how {@link StreamCoalescer} merges consecutive text deltas of a stream.
+ * <p>
+ * Items for which {@link #delta(Object)} returns null are structural events and are passed through unchanged.
+ *
+ * @param <T> stream item type
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface CoalesceStrategy<T> {
+
+    /**
+     * Get the text carried by a mergeable delta item.
+     *
+     * @param item stream item
+     * @return delta text, or null if the item is a structural event that must not be merged
+     */
+    String delta(T item);
+
+    /**
+     * Check whether {@code next} continues the same text segment as {@code head}
+     * (same event type, message and output selector).
+     *
+     * @param head first item of the pending segment
+     * @param next next delta item
+     * @return true if both deltas may be merged
+     */
+    boolean sameSegment(T head, T next);
+
+    /**
+     * Build the item emitted for a merged segment.
+     *
+     * @param head first item of the segment
+     * @param text concatenated text of all deltas in the segment
+     * @return merged item
+     */
+    T merge(T head, String text);
+}
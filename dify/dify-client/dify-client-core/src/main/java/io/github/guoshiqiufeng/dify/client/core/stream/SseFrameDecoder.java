@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Incremental Server-Sent Events decoder fed with the raw chunks of a non-blocking response body.
+ * <p>
+ * Every chunk is copied once into an internal byte array where lines are located by scanning for
+ * {@code \n}, {@code \r\n} or {@code \r}, so lines and events may span any number of chunks. The payload of
+ * a single-line {@code data} field is handed to the {@link PayloadDecoder} as a slice of that array without
+ * any further copy; multi-line payloads are joined with {@code \n} into a reusable scratch array. No
+ * {@code String} is built for a line or a payload.
+ * <p>
+ * Only {@code data} fields are used; {@code event}, {@code id}, {@code retry} and comment lines (pings) are
+ * skipped. An event that is not followed by a blank line before the end of the stream is still dispatched
+ * by {@link #finish()}.
+ * <p>
+ * Instances are stateful and must be used by a single subscription.
+ *
+ * @param <T> decoded item type
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public final class SseFrameDecoder<T> {
+
+    /**
+     * Default maximum number of bytes buffered for a single event, same as the default limit of Spring codecs.
+     */
+    public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 256 * 1024;
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte COLON = ':';
+    private static final byte SPACE = ' ';
+    private static final byte[] FIELD_DATA = {'d', 'a', 't', 'a'};
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    /**
+     * Decoder of the payload of a single event.
+     *
+     * @param <T> decoded item type
+     */
+    @FunctionalInterface
+    public interface PayloadDecoder<T> {
+
+        /**
+         * Decode an event payload.
+         *
+         * @param data   array holding the UTF-8 encoded payload, only valid during the call
+         * @param offset start of the payload
+         * @param length payload length
+         * @return decoded item, or null to skip the event
+         */
+        T decode(byte[] data, int offset, int length);
+    }
+
+    /**
+     * Source of a chunk, writing its bytes into the decoder buffer.
+     */
+    @FunctionalInterface
+    public interface ChunkReader {
+
+        /**
+         * Copy exactly {@code length} bytes of the chunk.
+         *
+         * @param target decoder buffer
+         * @param offset position to write at
+         * @param length number of bytes to write
+         */
+        void read(byte[] target, int offset, int length);
+    }
+
+    private final PayloadDecoder<T> payloadDecoder;
+    private final int maxInMemorySize;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int start;
+    private int end;
+    private int scanned;
+    private boolean skipLf;
+
+    private byte[] joined;
+    private boolean hasData;
+    private boolean dataInBuffer;
+    private int dataOffset;
+    private int dataLength;
+
+    /**
+     * Constructor.
+     *
+     * @param payloadDecoder  decoder of every event payload
+     * @param maxInMemorySize maximum number of bytes buffered for a single line or event, -1 for no limit
+     */
+    public SseFrameDecoder(PayloadDecoder<T> payloadDecoder, int maxInMemorySize) {
+        this.payloadDecoder = payloadDecoder;
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    /**
+     * Wrap a deserializer so that it only sees trimmed payloads that look like complete JSON.
+     * <p>
+     * Empty payloads, payloads such as {@code [DONE]} markers that are not JSON, and payloads the deserializer
+     * fails on are skipped with a warning instead of failing the stream. Payloads are only turned into strings
+     * when debug logging is enabled or deserialization fails.
+     *
+     * @param deserializer deserializer of a trimmed payload slice
+     * @param <T>          decoded item type
+     * @return lenient payload decoder
+     */
+    public static <T> PayloadDecoder<T> jsonPayload(PayloadDecoder<T> deserializer) {
+        return (data, offset, length) -> {
+            if (log.isDebugEnabled()) {
+                log.debug("Received SSE data: {}", new String(data, offset, length, StandardCharsets.UTF_8));
+            }
+            int from = offset;
+            int to = offset + length;
+            while (from < to && data[from] <= ' ') {
+                from++;
+            }
+            while (to > from && data[to - 1] <= ' ') {
+                to--;
+            }
+            if (!isCompleteJson(data, from, to)) {
+                return null;
+            }
+            try {
+                return deserializer.decode(data, from, to - from);
+            } catch (Exception e) {
+                log.warn("Failed to parse SSE event: {}", new String(data, from, to - from, StandardCharsets.UTF_8), e);
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Check if a trimmed payload is complete JSON (simple heuristic).
+     *
+     * @param data UTF-8 encoded payload
+     * @param from start of the payload, inclusive
+     * @param to   end of the payload, exclusive
+     * @return true if appears to be complete JSON
+     */
+    static boolean isCompleteJson(byte[] data, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+
+        byte first = data[from];
+        byte last = data[to - 1];
+
+        // Check for complete JSON object, array or string
+        if ((first == '{' && last == '}') || (first == '[' && last == ']') || (first == '"' && last == '"')) {
+            return true;
+        }
+
+        if (matches(data, from, to, TRUE) || matches(data, from, to, FALSE) || matches(data, from, to, NULL)) {
+            return true;
+        }
+
+        // Check for numbers
+        try {
+            Double.parseDouble(new String(data, from, to - from, StandardCharsets.UTF_8));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean matches(byte[] data, int from, int to, byte[] literal) {
+        if (to - from != literal.length) {
+            return false;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (data[from + i] != literal[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Consume a chunk held in an array and decode the events it completes.
+     *
+     * @param chunk  array holding the chunk
+     * @param offset start of the chunk
+     * @param length chunk length
+     * @return decoded items, possibly empty
+     * @throws HttpClientException if a line or event exceeds the configured limit
+     */
+    public List<T> decode(byte[] chunk, int offset, int length) {
+        return decode(length, (target, targetOffset, count) -> System.arraycopy(chunk, offset, target, targetOffset, count));
+    }
+
+    /**
+     * Consume the remaining bytes of a buffer and decode the events they complete.
+     *
+     * @param chunk next chunk of the response body, fully consumed by this call
+     * @return decoded items, possibly empty
+     * @throws HttpClientException if a line or event exceeds the configured limit
+     */
+    public List<T> decode(ByteBuffer chunk) {
+        return decode(chunk.remaining(), (target, targetOffset, count) -> chunk.get(target, targetOffset, count));
+    }
+
+    /**
+     * Consume a chunk of the given length and decode the events it completes.
+     * <p>
+     * Lets integrations copy their native buffer type straight into the decoder buffer.
+     *
+     * @param length number of bytes of the chunk
+     * @param reader writes the chunk into the decoder buffer
+     * @return decoded items, possibly empty
+     * @throws HttpClientException if a line or event exceeds the configured limit
+     */
+    public List<T> decode(int length, ChunkReader reader) {
+        append(length, reader);
+        List<T> items = null;
+        while (start < end) {
+            if (skipLf) {
+                // The previous line ended with a CR, possibly at the end of the previous buffer
+                skipLf = false;
+                if (buffer[start] == LF) {
+                    start++;
+                    scanned = start;
+                    continue;
+                }
+            }
+            int eol = indexOfLineTerminator();
+            if (eol == -1) {
+                break;
+            }
+            items = processLine(start, eol, items);
+            skipLf = buffer[eol] == CR;
+            start = eol + 1;
+            scanned = start;
+        }
+        checkLimit();
+        return items != null ? items : Collections.emptyList();
+    }
+
+    /**
+     * Dispatch the pending event at the end of the stream.
+     *
+     * @return the last decoded item, or an empty list
+     */
+    public List<T> finish() {
+        List<T> items = null;
+        if (start < end) {
+            items = processLine(start, end, null);
+            start = end;
+        }
+        if (hasData) {
+            items = dispatch(items);
+        }
+        return items != null ? items : Collections.emptyList();
+    }
+
+    private void append(int readable, ChunkReader reader) {
+        if (hasData && dataInBuffer) {
+            // The slice would be moved by the compaction below
+            moveDataToJoined(0);
+        }
+        int remaining = end - start;
+        if (start > 0) {
+            if (remaining > 0) {
+                System.arraycopy(buffer, start, buffer, 0, remaining);
+            }
+            scanned -= start;
+            start = 0;
+            end = remaining;
+        }
+        if (end + readable > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(end + readable, buffer.length << 1));
+        }
+        reader.read(buffer, end, readable);
+        end += readable;
+    }
+
+    private int indexOfLineTerminator() {
+        for (int i = scanned; i < end; i++) {
+            byte b = buffer[i];
+            if (b == LF || b == CR) {
+                return i;
+            }
+        }
+        scanned = end;
+        return -1;
+    }
+
+    private List<T> processLine(int lineStart, int lineEnd, List<T> items) {
+        if (lineStart == lineEnd) {
+            // Blank line dispatches the event
+            if (hasData) {
+                return dispatch(items);
+            }
+            return items;
+        }
+        if (buffer[lineStart] == COLON) {
+            // Comment line, used by servers as keep-alive ping
+            return items;
+        }
+        int colon = lineStart;
+        while (colon < lineEnd && buffer[colon] != COLON) {
+            colon++;
+        }
+        if (!isDataField(lineStart, colon - lineStart)) {
+            return items;
+        }
+        int valueStart = colon < lineEnd ? colon + 1 : lineEnd;
+        if (valueStart < lineEnd && buffer[valueStart] == SPACE) {
+            valueStart++;
+        }
+        appendData(valueStart, lineEnd - valueStart);
+        return items;
+    }
+
+    private boolean isDataField(int fieldStart, int fieldLength) {
+        if (fieldLength != FIELD_DATA.length) {
+            return false;
+        }
+        for (int i = 0; i < fieldLength; i++) {
+            if (buffer[fieldStart + i] != FIELD_DATA[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendData(int valueStart, int valueLength) {
+        if (!hasData) {
+            hasData = true;
+            dataInBuffer = true;
+            dataOffset = valueStart;
+            dataLength = valueLength;
+            return;
+        }
+        if (dataInBuffer) {
+            moveDataToJoined(valueLength + 1);
+        }
+        ensureJoinedCapacity(dataLength + valueLength + 1);
+        joined[dataLength++] = LF;
+        System.arraycopy(buffer, valueStart, joined, dataLength, valueLength);
+        dataLength += valueLength;
+    }
+
+    private void moveDataToJoined(int extra) {
+        ensureJoinedCapacity(dataLength + extra);
+        System.arraycopy(buffer, dataOffset, joined, 0, dataLength);
+        dataInBuffer = false;
+        dataOffset = 0;
+    }
+
+    private void ensureJoinedCapacity(int required) {
+        if (joined == null) {
+            joined = new byte[Math.max(required, INITIAL_CAPACITY)];
+        } else if (required > joined.length) {
+            joined = Arrays.copyOf(joined, Math.max(required, joined.length << 1));
+        }
+    }
+
+    private List<T> dispatch(List<T> items) {
+        T item = payloadDecoder.decode(dataInBuffer ? buffer : joined, dataOffset, dataLength);
+        hasData = false;
+        dataInBuffer = false;
+        dataOffset = 0;
+        dataLength = 0;
+        if (item == null) {
+            return items;
+        }
+        if (items == null) {
+            items = new ArrayList<>(2);
+        }
+        items.add(item);
+        return items;
+    }
+
+    private void checkLimit() {
+        if (maxInMemorySize < 0) {
+            return;
+        }
+        int pending = (end - start) + (hasData && !dataInBuffer ? dataLength : 0);
+        if (pending > maxInMemorySize) {
+            throw new HttpClientException("Exceeded limit on max bytes per SSE event: " + maxInMemorySize);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.core.utils.Assert;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Operator that merges consecutive text deltas of a stream into fewer, larger items.
+ * <p>
+ * A pending segment is flushed when the time window since its first delta elapses, when its UTF-8 size reaches
+ * the byte threshold, when a delta of another segment arrives, or when a structural event arrives. Structural
+ * events are emitted immediately after the pending segment, so ordering is preserved.
+ * <p>
+ * Apply with {@link Flux#transform(Function)}:
+ * <pre class="code">
+ * flux.transform(StreamCoalescer.of(strategy, Duration.ofMillis(30), 4096))
+ * </pre>
+ * Upstream demand follows downstream demand: a delta held back in the pending segment is replaced by a new upstream
+ * request only while the subscriber still has outstanding demand, so a slow subscriber stops the upstream read.
+ *
+ * @param <T> stream item type
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class StreamCoalescer<T> implements Function<Flux<T>, Flux<T>> {
+
+    private final CoalesceStrategy<T> strategy;
+    private final Duration window;
+    private final int maxBytes;
+    private final Scheduler scheduler;
+
+    private StreamCoalescer(CoalesceStrategy<T> strategy, Duration window, int maxBytes, Scheduler scheduler) {
+        Assert.notNull(strategy, "strategy must not be null");
+        Assert.notNull(window, "window must not be null");
+        Assert.isTrue(!window.isNegative() && !window.isZero(), "window must be positive");
+        this.strategy = strategy;
+        this.window = window;
+        this.maxBytes = maxBytes;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Create a coalescer whose window timer runs on {@link Schedulers#parallel()}.
+     *
+     * @param strategy merge strategy
+     * @param window   maximum time a delta is held back
+     * @param maxBytes flush once a segment reaches this many UTF-8 bytes, 0 or less disables the threshold
+     * @param <T>      stream item type
+     * @return coalescing operator
+     */
+    public static <T> StreamCoalescer<T> of(CoalesceStrategy<T> strategy, Duration window, int maxBytes) {
+        return new StreamCoalescer<>(strategy, window, maxBytes, null);
+    }
+
+    /**
+     * Create a coalescer whose window timer runs on the given scheduler.
+     *
+     * @param strategy  merge strategy
+     * @param window    maximum time a delta is held back
+     * @param maxBytes  flush once a segment reaches this many UTF-8 bytes, 0 or less disables the threshold
+     * @param scheduler scheduler for the window timer
+     * @param <T>       stream item type
+     * @return coalescing operator
+     */
+    public static <T> StreamCoalescer<T> of(CoalesceStrategy<T> strategy, Duration window, int maxBytes,
+                                            Scheduler scheduler) {
+        Assert.notNull(scheduler, "scheduler must not be null");
+        return new StreamCoalescer<>(strategy, window, maxBytes, scheduler);
+    }
+
+    @Override
+    public Flux<T> apply(Flux<T> source) {
+        return Flux.create(sink -> {
+            // Resolved per subscription so that virtual time schedulers installed by tests are honoured
+            Scheduler.Worker worker = (scheduler != null ? scheduler : Schedulers.parallel()).createWorker();
+            CoalescingSubscriber<T> subscriber = new CoalescingSubscriber<>(sink, worker, this);
+            sink.onDispose(Disposables.composite(subscriber, worker));
+            source.subscribe(subscriber);
+        });
+    }
+
+    static int utf8Length(CharSequence text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c)) {
+                    // Surrogate pair is 4 bytes for 2 chars
+                    bytes += 1;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    private static final class CoalescingSubscriber<T> extends BaseSubscriber<T> {
+
+        private final FluxSink<T> sink;
+        private final Scheduler.Worker worker;
+        private final CoalesceStrategy<T> strategy;
+        private final long windowNanos;
+        private final int maxBytes;
+        private final StringBuilder text = new StringBuilder();
+
+        private T head;
+        private int count;
+        private int bytes;
+        private long segment;
+        private Disposable timer;
+
+        CoalescingSubscriber(FluxSink<T> sink, Scheduler.Worker worker, StreamCoalescer<T> parent) {
+            this.sink = sink;
+            this.worker = worker;
+            this.strategy = parent.strategy;
+            this.windowNanos = parent.window.toNanos();
+            this.maxBytes = parent.maxBytes;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            sink.onRequest(this::request);
+        }
+
+        @Override
+        protected void hookOnNext(T item) {
+            String delta = strategy.delta(item);
+            boolean emitted;
+            synchronized (this) {
+                if (delta == null) {
+                    flush();
+                    sink.next(item);
+                    emitted = true;
+                } else if (head != null && strategy.sameSegment(head, item)) {
+                    emitted = append(delta);
+                } else {
+                    emitted = flush();
+                    head = item;
+                    emitted |= append(delta);
+                    if (head != null) {
+                        long current = ++segment;
+                        timer = worker.schedule(() -> onWindowElapsed(current), windowNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            if (!emitted && sink.requestedFromDownstream() > 0) {
+                // The delta was held back, ask upstream for a replacement
+                request(1);
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            synchronized (this) {
+                flush();
+            }
+            sink.complete();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            synchronized (this) {
+                flush();
+            }
+            sink.error(throwable);
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            worker.dispose();
+        }
+
+        private synchronized void onWindowElapsed(long expected) {
+            if (segment == expected) {
+                flush();
+            }
+        }
+
+        private boolean append(String delta) {
+            text.append(delta);
+            count++;
+            bytes += utf8Length(delta);
+            return maxBytes > 0 && bytes >= maxBytes && flush();
+        }
+
+        private boolean flush() {
+            T pending = head;
+            if (pending == null) {
+                return false;
+            }
+            T out = count == 1 ? pending : strategy.merge(pending, text.toString());
+            head = null;
+            count = 0;
+            bytes = 0;
+            text.setLength(0);
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            sink.next(out);
+            return true;
+        }
+    }
+}
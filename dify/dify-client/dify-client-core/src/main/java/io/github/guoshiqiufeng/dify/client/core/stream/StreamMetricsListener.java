@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Listener receiving timing metrics of streaming calls.
+ * <p>
+ * Implementations bridge to the application's metrics system (for example Micrometer timers); they are invoked
+ * on the thread that delivers stream events and should return quickly. Exceptions thrown by a listener are
+ * propagated to the stream, so implementations should not throw.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public interface StreamMetricsListener {
+
+    /**
+     * Listener that ignores all metrics.
+     */
+    StreamMetricsListener NOOP = new StreamMetricsListener() {
+    };
+
+    /**
+     * Called once when the first content token of a stream arrives.
+     *
+     * @param operation        operation name, e.g. {@code chat} or {@code workflow}
+     * @param timeToFirstToken time from subscription to the first token
+     */
+    default void onFirstToken(String operation, Duration timeToFirstToken) {
+    }
+
+    /**
+     * Called once when a stream terminates.
+     *
+     * @param operation operation name
+     * @param duration  time from subscription to termination
+     * @param error     the failure, or null if the stream completed normally
+     */
+    default void onComplete(String operation, Duration duration, Throwable error) {
+    }
+
+    /**
+     * Decorate a stream so that it reports to this listener.
+     *
+     * @param source    stream to measure
+     * @param operation operation name
+     * @param isToken   predicate selecting items that carry content
+     * @param <T>       item type
+     * @return measured stream
+     */
+    default <T> Flux<T> instrument(Flux<T> source, String operation, Predicate<? super T> isToken) {
+        if (this == NOOP) {
+            return source;
+        }
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean first = new AtomicBoolean();
+            return source
+                    .doOnNext(item -> {
+                        if (!first.get() && isToken.test(item) && first.compareAndSet(false, true)) {
+                            onFirstToken(operation, Duration.ofNanos(System.nanoTime() - start));
+                        }
+                    })
+                    .doOnComplete(() -> onComplete(operation, Duration.ofNanos(System.nanoTime() - start), null))
+                    .doOnError(e -> onComplete(operation, Duration.ofNanos(System.nanoTime() - start), e));
+        });
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadlines of a single Server-Sent Events stream.
+ * <p>
+ * The idle timeout bounds the gap between two events of the stream. Every event received from the server counts,
+ * including {@code ping} events and events that are filtered out later, so a stream kept alive by pings does not
+ * expire while a stalled one fails fast. The total timeout bounds the whole stream from subscription to the last
+ * event. Both are optional, a null duration disables the corresponding deadline.
+ * <p>
+ * Transports enforce the deadlines as close to the connection as possible; {@link #apply(Flux)} implements them
+ * on a raw event stream for transports that expose one. Either deadline fails the stream with a
+ * {@link StreamTimeoutException} and releases the connection.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class StreamTimeout {
+
+    /**
+     * No deadlines.
+     */
+    public static final StreamTimeout NONE = new StreamTimeout(null, null);
+
+    private final Duration idle;
+    private final Duration total;
+
+    private StreamTimeout(Duration idle, Duration total) {
+        this.idle = idle;
+        this.total = total;
+    }
+
+    /**
+     * Create stream deadlines.
+     *
+     * @param idle  maximum gap between two events, null or non-positive to disable
+     * @param total maximum duration of the whole stream, null or non-positive to disable
+     * @return stream deadlines
+     */
+    public static StreamTimeout of(Duration idle, Duration total) {
+        Duration idleTimeout = positiveOrNull(idle);
+        Duration totalTimeout = positiveOrNull(total);
+        if (idleTimeout == null && totalTimeout == null) {
+            return NONE;
+        }
+        return new StreamTimeout(idleTimeout, totalTimeout);
+    }
+
+    /**
+     * Create stream deadlines with an idle timeout only.
+     *
+     * @param idle maximum gap between two events
+     * @return stream deadlines
+     */
+    public static StreamTimeout idle(Duration idle) {
+        return of(idle, null);
+    }
+
+    /**
+     * Create stream deadlines with a total timeout only.
+     *
+     * @param total maximum duration of the whole stream
+     * @return stream deadlines
+     */
+    public static StreamTimeout total(Duration total) {
+        return of(null, total);
+    }
+
+    /**
+     * Resolve the default stream deadlines from {@code sseIdleTimeout} and {@code sseTotalTimeout}.
+     *
+     * @param clientConfig the client configuration, may be null
+     * @return stream deadlines, {@link #NONE} if none is configured
+     */
+    public static StreamTimeout from(DifyProperties.ClientConfig clientConfig) {
+        if (clientConfig == null) {
+            return NONE;
+        }
+        return of(seconds(clientConfig.getSseIdleTimeout()), seconds(clientConfig.getSseTotalTimeout()));
+    }
+
+    /**
+     * Get the idle timeout.
+     *
+     * @return maximum gap between two events, or null if disabled
+     */
+    public Duration getIdle() {
+        return idle;
+    }
+
+    /**
+     * Get the total timeout.
+     *
+     * @return maximum duration of the whole stream, or null if disabled
+     */
+    public Duration getTotal() {
+        return total;
+    }
+
+    /**
+     * Whether any deadline is set.
+     *
+     * @return true if an idle or total timeout is set
+     */
+    public boolean isEnabled() {
+        return idle != null || total != null;
+    }
+
+    /**
+     * Enforce the deadlines on a raw event stream.
+     *
+     * @param source stream of all events received from the server
+     * @param <T>    event type
+     * @return stream failing with {@link StreamTimeoutException} when a deadline passes
+     */
+    public <T> Flux<T> apply(Flux<T> source) {
+        return apply(source, Schedulers.parallel());
+    }
+
+    /**
+     * Enforce the deadlines on a raw event stream using the given timer scheduler.
+     *
+     * @param source    stream of all events received from the server
+     * @param scheduler scheduler running the timers
+     * @param <T>       event type
+     * @return stream failing with {@link StreamTimeoutException} when a deadline passes
+     */
+    public <T> Flux<T> apply(Flux<T> source, Scheduler scheduler) {
+        if (!isEnabled()) {
+            return source;
+        }
+        return Flux.defer(() -> {
+            long deadline = total != null ? scheduler.now(TimeUnit.NANOSECONDS) + total.toNanos() : Long.MAX_VALUE;
+            return source.timeout(timer(deadline, scheduler), item -> timer(deadline, scheduler),
+                    Flux.defer(() -> Flux.error(expired(scheduler.now(TimeUnit.NANOSECONDS) >= deadline, null))));
+        });
+    }
+
+    /**
+     * Create the exception reported when a deadline passes.
+     *
+     * @param totalExpired true if the total timeout expired, false for the idle timeout
+     * @param cause        the transport failure caused by the deadline, may be null
+     * @return timeout exception
+     */
+    public StreamTimeoutException expired(boolean totalExpired, Throwable cause) {
+        String message = totalExpired
+                ? "SSE stream exceeded total timeout of " + total
+                : "SSE stream idle for more than " + idle;
+        return new StreamTimeoutException(message, cause);
+    }
+
+    private Mono<Long> timer(long deadline, Scheduler scheduler) {
+        long delay = idle != null ? idle.toNanos() : Long.MAX_VALUE;
+        if (deadline != Long.MAX_VALUE) {
+            delay = Math.min(delay, Math.max(0, deadline - scheduler.now(TimeUnit.NANOSECONDS)));
+        }
+        return Mono.delay(Duration.ofNanos(delay), scheduler);
+    }
+
+    private static Duration positiveOrNull(Duration duration) {
+        return duration != null && !duration.isZero() && !duration.isNegative() ? duration : null;
+    }
+
+    private static Duration seconds(Integer seconds) {
+        return seconds != null && seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StreamTimeout)) {
+            return false;
+        }
+        StreamTimeout that = (StreamTimeout) o;
+        return Objects.equals(idle, that.idle) && Objects.equals(total, that.total);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idle, total);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamTimeout{idle=" + idle + ", total=" + total + '}';
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+
+/**
+ * Exception thrown when a Server-Sent Events stream exceeds its {@link StreamTimeout}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class StreamTimeoutException extends HttpClientException {
+
+    /**
+     * Constructor with message.
+     *
+     * @param message error message
+     */
+    public StreamTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor with message and cause.
+     *
+     * @param message error message
+     * @param cause   the cause
+     */
+    public StreamTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
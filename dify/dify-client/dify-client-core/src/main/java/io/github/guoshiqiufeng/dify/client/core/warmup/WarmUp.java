@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.warmup;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms up HTTP clients before their first calls.
+ * <p>
+ * {@link #connect(HttpClient, int, String)} sends concurrent requests without credentials so the client resolves the
+ * Dify host, opens its connections, completes the TLS handshakes and keeps them pooled. Any response, including
+ * {@code 401} or {@code 404}, proves a connection. Each request carries its own {@code warmup} query parameter, so
+ * that request coalescing and response caching do not merge them into fewer connections. {@link #primeCodec(JsonMapper, Collection)} builds the serializers
+ * and deserializers of DTO types up front.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class WarmUp {
+
+    private WarmUp() {
+    }
+
+    /**
+     * Query parameter numbering the warm-up requests.
+     */
+    static final String WARM_UP_PARAM = "warmup";
+
+    /**
+     * Open pooled connections by sending concurrent {@code GET} requests, each with a distinct query string.
+     *
+     * @param httpClient  the HTTP client to warm up
+     * @param connections number of concurrent requests, so at most as many connections
+     * @param path        path of the requests, relative to the base URL of the client
+     * @return future completing once every request completed, never completing exceptionally
+     */
+    public static CompletableFuture<WarmUpResult> connect(HttpClient httpClient, int connections, String path) {
+        long start = System.nanoTime();
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[Math.max(0, connections)];
+        String base = path != null ? path : "";
+        String prefix = base + (base.indexOf('?') >= 0 ? '&' : '?') + WARM_UP_PARAM + '=';
+        for (int i = 0; i < requests.length; i++) {
+            CompletableFuture<?> request;
+            try {
+                request = httpClient.get().uri(prefix + i).retrieve().toBodilessEntityAsync();
+            } catch (RuntimeException e) {
+                request = failedFuture(e);
+            }
+            requests[i] = request.handle((response, error) -> {
+                if (error == null || hasResponse(error)) {
+                    connected.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(requests).thenApply(done -> new WarmUpResult(requests.length, connected.get(),
+                failed.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    /**
+     * Build the serializers and deserializers of DTO types by reading an empty JSON object into each type and
+     * writing the result back.
+     *
+     * @param jsonMapper the JSON mapper used by the clients
+     * @param types      DTO types of requests and responses
+     * @return number of types primed, types that cannot be read from an empty object are skipped
+     */
+    public static int primeCodec(JsonMapper jsonMapper, Collection<Class<?>> types) {
+        int primed = 0;
+        for (Class<?> type : types) {
+            try {
+                Object value = jsonMapper.fromJson("{}", type);
+                if (value != null) {
+                    jsonMapper.toJson(value);
+                    jsonMapper.toJsonIgnoreNull(value);
+                }
+                primed++;
+            } catch (RuntimeException e) {
+                // types without a default representation are primed by their first call instead
+            }
+        }
+        return primed;
+    }
+
+    private static boolean hasResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpClientException && ((HttpClientException) cause).getStatusCode() > 0;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.warmup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of warming up the connections of one HTTP client.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WarmUpResult {
+
+    /**
+     * Number of concurrent warm-up requests sent.
+     */
+    private final int requested;
+
+    /**
+     * Number of warm-up requests answered by Dify with any status, each over an open connection.
+     */
+    private final int connected;
+
+    /**
+     * Number of warm-up requests failing without a response, such as on connection errors or timeouts.
+     */
+    private final int failed;
+
+    /**
+     * Time until every warm-up request completed, in milliseconds.
+     */
+    private final long elapsedMillis;
+}
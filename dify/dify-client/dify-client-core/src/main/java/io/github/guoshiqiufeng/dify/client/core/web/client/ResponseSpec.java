@@ -15,11 +15,15 @@
  */
 package io.github.guoshiqiufeng.dify.client.core.web.client;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import reactor.core.publisher.Flux;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Response specification for handling HTTP responses with fluent API.
  * This interface provides a framework-agnostic way to handle HTTP responses.
@@ -45,6 +49,12 @@ import reactor.core.publisher.Flux;
  *     .retrieve()
  *     .onStatus(errorHandler)
  *     .body(User.class);
+ *
+ * // Extract body without blocking the calling thread
+ * CompletableFuture&lt;User&gt; future = httpClient.get()
+ *     .uri("/users/{id}", userId)
+ *     .retrieve()
+ *     .bodyAsync(User.class);
  * </pre>
  *
  * @author yanghq
@@ -72,6 +82,17 @@ public interface ResponseSpec {
      */
     ResponseSpec onStatus(ResponseErrorHandler errorHandler);
 
+    /**
+     * Set the deadlines of the stream returned by the {@code bodyToFlux} methods, overriding the
+     * {@code sseIdleTimeout} / {@code sseTotalTimeout} defaults of the client configuration.
+     * <p>The idle timeout counts every event received from the server, including pings and events that
+     * are skipped while decoding.
+     *
+     * @param streamTimeout the stream deadlines, {@link StreamTimeout#NONE} disables them
+     * @return this ResponseSpec for method chaining
+     */
+    ResponseSpec streamTimeout(StreamTimeout streamTimeout);
+
     /**
      * Extract the response body as an object of the given type.
      * <p>Example:
@@ -164,6 +185,72 @@ public interface ResponseSpec {
      */
     ResponseEntity<Void> toBodilessEntity();
 
+    /**
+     * Asynchronous variant of {@link #toEntity(Class)}.
+     * <p>The request is sent without parking the calling thread: the returned future completes once the
+     * response has been read and the registered error handlers have been applied. Transport failures and
+     * exceptions raised by the error handlers complete the future exceptionally.
+     * <p>Example:
+     * <pre class="code">
+     * httpClient.get()
+     *     .uri("/users/{id}", userId)
+     *     .retrieve()
+     *     .toEntityAsync(User.class)
+     *     .thenAccept(response -&gt; {
+     *         // Process the response
+     *     });
+     * </pre>
+     *
+     * @param responseType the expected response body type
+     * @param <T>          the response body type
+     * @return a future of the HTTP response with status, headers, and body
+     */
+    <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(Class<T> responseType);
+
+    /**
+     * Asynchronous variant of {@link #toEntity(TypeReference)}.
+     *
+     * @param typeReference the type reference for generic types
+     * @param <T>           the response body type
+     * @return a future of the HTTP response with status, headers, and body
+     * @see #toEntityAsync(Class)
+     */
+    <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(TypeReference<T> typeReference);
+
+    /**
+     * Asynchronous variant of {@link #body(Class)}.
+     *
+     * @param responseType the expected response type
+     * @param <T>          the response type
+     * @return a future of the response body, completed with {@code null} if no response body was available
+     * @see #toEntityAsync(Class)
+     */
+    default <T> CompletableFuture<T> bodyAsync(Class<T> responseType) {
+        return toEntityAsync(responseType).thenApply(ResponseEntity::getBody);
+    }
+
+    /**
+     * Asynchronous variant of {@link #body(TypeReference)}.
+     *
+     * @param typeReference the type reference for generic types
+     * @param <T>           the response type
+     * @return a future of the response body, completed with {@code null} if no response body was available
+     * @see #toEntityAsync(Class)
+     */
+    default <T> CompletableFuture<T> bodyAsync(TypeReference<T> typeReference) {
+        return toEntityAsync(typeReference).thenApply(ResponseEntity::getBody);
+    }
+
+    /**
+     * Asynchronous variant of {@link #toBodilessEntity()}.
+     *
+     * @return a future of the HTTP response with status and headers, but no body
+     * @see #toEntityAsync(Class)
+     */
+    default CompletableFuture<ResponseEntity<Void>> toBodilessEntityAsync() {
+        return toEntityAsync(Void.class);
+    }
+
     /**
      * Extract the response body as a Flux stream.
      * This is useful for streaming responses like Server-Sent Events.
@@ -200,4 +287,26 @@ public interface ResponseSpec {
      * @return a Flux that emits stream items
      */
     <T> Flux<T> bodyToFlux(TypeReference<T> typeReference);
+
+    /**
+     * Extract the response body as a Flux stream, decoding every item with the given deserializer instance.
+     * <p>Unlike {@link #bodyToFlux(Class)}, the deserializer can carry per-call state, for example the set of
+     * event types the caller is interested in. Items the deserializer maps to {@code null} are skipped.
+     *
+     * <p>The default implementation falls back to {@link #bodyToFlux(Class)} with the
+     * {@link JsonDeserializer#handledType() handled type} of the deserializer, so items are decoded without the
+     * per-call state of the deserializer.
+     *
+     * @param deserializer the deserializer for each stream item
+     * @param <T>          the response type
+     * @return a Flux that emits stream items
+     * @throws UnsupportedOperationException if the default implementation cannot resolve the handled type
+     */
+    default <T> Flux<T> bodyToFlux(JsonDeserializer<T> deserializer) {
+        Class<T> responseType = deserializer.handledType();
+        if (responseType == null) {
+            throw new UnsupportedOperationException("bodyToFlux with a JsonDeserializer requires its handledType()");
+        }
+        return bodyToFlux(responseType);
+    }
 }
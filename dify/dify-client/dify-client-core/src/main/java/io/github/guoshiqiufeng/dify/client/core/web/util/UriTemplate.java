@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.web.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * URI path template compiled once into its literal parts and {@code {variable}} placeholders.
+ * <p>
+ * The request paths of the clients are constants such as {@code /v1/conversations/{conversationId}}, so
+ * {@link #of(String)} caches the compiled templates and {@link #expand(Object...)} appends the literals and values
+ * into a single presized buffer, instead of scanning the path with a regular expression per variable.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class UriTemplate {
+
+    /**
+     * Maximum number of cached templates, further paths are compiled on every call.
+     */
+    static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final Map<String, UriTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String template;
+
+    /**
+     * Literal parts around the placeholders, one more than the variable names.
+     */
+    private final String[] literals;
+
+    private final String[] variableNames;
+
+    private final int literalLength;
+
+    private UriTemplate(String template, String[] literals, String[] variableNames) {
+        this.template = template;
+        this.literals = literals;
+        this.variableNames = variableNames;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Get the compiled template of a path, compiling and caching it on first use.
+     *
+     * @param template the path with placeholders in the format {@code {variableName}}
+     * @return the compiled template
+     * @throws IllegalArgumentException if template is null
+     */
+    public static UriTemplate of(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        UriTemplate compiled = CACHE.get(template);
+        if (compiled != null) {
+            return compiled;
+        }
+        compiled = compile(template);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            UriTemplate existing = CACHE.putIfAbsent(template, compiled);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Compile a path without caching it.
+     *
+     * @param template the path with placeholders in the format {@code {variableName}}
+     * @return the compiled template
+     */
+    static UriTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (close == open + 1) {
+                // "{}" is not a placeholder
+                open = template.indexOf('{', close);
+                continue;
+            }
+            literals.add(template.substring(start, open));
+            names.add(template.substring(open + 1, close));
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        literals.add(template.substring(start));
+        return new UriTemplate(template, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * Replace the placeholders with the values in order. Null values are skipped, so the next value expands the
+     * placeholder, and values beyond the placeholders are ignored.
+     *
+     * @param uriVariables the values of the placeholders
+     * @return the expanded path, the template itself if it has no placeholders
+     * @throws IllegalArgumentException if not enough values are provided to expand all placeholders
+     */
+    public String expand(Object... uriVariables) {
+        if (variableNames.length == 0) {
+            return template;
+        }
+        int count = uriVariables != null ? uriVariables.length : 0;
+        StringBuilder path = new StringBuilder(literalLength + 16 * variableNames.length);
+        int index = 0;
+        for (int i = 0; i < variableNames.length; i++) {
+            while (index < count && uriVariables[index] == null) {
+                index++;
+            }
+            if (index >= count) {
+                throw new IllegalArgumentException("Not enough variable values available to expand '"
+                        + variableNames[i] + "'");
+            }
+            path.append(literals[i]).append(uriVariables[index++]);
+        }
+        return path.append(literals[variableNames.length]).toString();
+    }
+
+    /**
+     * Get the template path.
+     *
+     * @return the template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the names of the placeholders in order of appearance.
+     *
+     * @return the variable names
+     */
+    public List<String> getVariableNames() {
+        return Collections.unmodifiableList(Arrays.asList(variableNames));
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
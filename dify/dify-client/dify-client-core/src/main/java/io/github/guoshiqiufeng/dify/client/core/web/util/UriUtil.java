@@ -37,15 +37,10 @@ public class UriUtil {
      */
     public static final Pattern URI_VARIABLE_PATTERN = Pattern.compile("\\{([^}]+)}");
 
-    /**
-     * Regex pattern for URI variable placeholders used in replaceFirst operations.
-     */
-    private static final String URI_PLACEHOLDER_REGEX = "\\{[^}]+\\}";
-
     /**
      * Replace URI path variables with provided values in order.
      * Placeholders are in the format {variableName}.
-     * Variables are replaced in the order they appear in the path.
+     * Variables are replaced in the order they appear in the path, using the cached {@link UriTemplate} of the path.
      *
      * @param path         the path with placeholders (e.g., "/users/{id}/posts/{postId}")
      * @param uriVariables the values to replace placeholders with
@@ -53,26 +48,7 @@ public class UriUtil {
      * @throws IllegalArgumentException if path is null or not enough variables provided to expand all placeholders
      */
     public static String replacePlaceholders(String path, Object... uriVariables) {
-        if (path == null) {
-            throw new IllegalArgumentException("Path cannot be null");
-        }
-
-        if (uriVariables == null || uriVariables.length == 0) {
-            variablePath(path);
-            return path;
-        }
-
-        String result = path;
-        for (Object param : uriVariables) {
-            if (param != null) {
-                result = result.replaceFirst(URI_PLACEHOLDER_REGEX, String.valueOf(param));
-            }
-        }
-
-        // After replacement, check if there are still placeholders left
-        variablePath(result);
-
-        return result;
+        return UriTemplate.of(path).expand(uriVariables);
     }
 
     public static void variablePath(String path) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.budget;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBudgetController
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class TokenBudgetControllerTest {
+
+    private static final String API_KEY = "app-budget-key-0001";
+
+    private static DifyProperties.TokenBudgetConfig config(long tokensPerMinute, long userTokensPerMinute,
+                                                           long maxWaitMillis) {
+        return new DifyProperties.TokenBudgetConfig(true, tokensPerMinute, userTokensPerMinute, maxWaitMillis);
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(TokenBudgetController.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(TokenBudgetController.of(clientConfig));
+
+        clientConfig.getTokenBudget().setEnabled(true);
+        assertNotNull(TokenBudgetController.of(clientConfig));
+    }
+
+    @Test
+    void testRejectsOnceBudgetIsConsumed() {
+        AtomicLong now = new AtomicLong(0);
+        AtomicInteger rejections = new AtomicInteger();
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 1000),
+                new TokenBudgetListener() {
+                    @Override
+                    public void onRejected(String budget, long waitMillis) {
+                        rejections.incrementAndGet();
+                    }
+                }, now::get);
+
+        controller.acquire(API_KEY, "user");
+        controller.record(API_KEY, "user", 60);
+        controller.acquire(API_KEY, "user");
+        controller.record(API_KEY, "user", 40);
+
+        TokenBudgetExceededException e = assertThrows(TokenBudgetExceededException.class,
+                () -> controller.acquire(API_KEY, "user"));
+        assertEquals(60000, e.getRetryAfterMillis());
+        assertEquals(1, rejections.get());
+
+        List<TokenBudgetMetrics> metrics = controller.getMetrics();
+        assertEquals(1, metrics.size());
+        assertEquals(100, metrics.get(0).getUsedTokens());
+        assertEquals(1, metrics.get(0).getRejectedCount());
+    }
+
+    @Test
+    void testWaitEndsWhenOldestTokensLeaveWindow() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 0), null, now::get);
+
+        controller.record(API_KEY, null, 60);
+        now.set(30000);
+        controller.record(API_KEY, null, 50);
+        now.set(40000);
+
+        TokenBudgetExceededException e = assertThrows(TokenBudgetExceededException.class,
+                () -> controller.acquire(API_KEY, null));
+        assertEquals(20000, e.getRetryAfterMillis());
+
+        now.set(60000);
+        controller.acquire(API_KEY, null);
+        assertEquals(50, controller.getMetrics().get(0).getUsedTokens());
+    }
+
+    @Test
+    void testUserBudgetIsSeparateFromKeyBudget() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBudgetController controller = new TokenBudgetController(config(0, 50, 0), null, now::get);
+
+        controller.record(API_KEY, "alice", 60);
+
+        assertThrows(TokenBudgetExceededException.class, () -> controller.acquire(API_KEY, "alice"));
+        controller.acquire(API_KEY, "bob");
+        controller.acquire(API_KEY, null);
+        controller.acquire("app-other-key-0002", "alice");
+    }
+
+    @Test
+    void testAcquireWaitsForBudget() {
+        AtomicLong now = new AtomicLong(0);
+        AtomicInteger delays = new AtomicInteger();
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 1000),
+                new TokenBudgetListener() {
+                    @Override
+                    public void onDelayed(String budget, long waitMillis) {
+                        delays.incrementAndGet();
+                    }
+                }, () -> now.addAndGet(25));
+
+        controller.record(API_KEY, null, 100);
+        now.set(59900);
+
+        controller.acquire(API_KEY, null);
+        assertEquals(1, delays.get());
+        assertEquals(1, controller.getMetrics().get(0).getDelayedCount());
+    }
+
+    @Test
+    void testAcquireMonoWaitsForBudget() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 1000), null,
+                () -> now.addAndGet(25));
+
+        controller.record(API_KEY, null, 100);
+        now.set(59900);
+
+        controller.acquireMono(API_KEY, null).block();
+        assertEquals(1, controller.getMetrics().get(0).getDelayedCount());
+    }
+
+    @Test
+    void testExecuteRecordsUsage() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 0), null, now::get);
+
+        assertEquals(Integer.valueOf(30), controller.execute(API_KEY, null, () -> 30, Function.identity()));
+        assertEquals(Integer.valueOf(20),
+                controller.executeAsync(API_KEY, null, () -> CompletableFuture.completedFuture(20),
+                        Function.identity()).join());
+        List<Integer> elements = controller.executeFlux(API_KEY, null, () -> Flux.just(1, 2, 47),
+                element -> element == 47 ? element : null).collectList().block();
+
+        assertEquals(3, elements.size());
+        assertEquals(97, controller.getMetrics().get(0).getRecordedTokens());
+    }
+
+    @Test
+    void testRejectedCallIsNotStarted() {
+        AtomicLong now = new AtomicLong(0);
+        AtomicInteger calls = new AtomicInteger();
+        TokenBudgetController controller = new TokenBudgetController(config(100, 0, 0), null, now::get);
+        controller.record(API_KEY, null, 100);
+
+        assertThrows(TokenBudgetExceededException.class,
+                () -> controller.execute(API_KEY, null, calls::incrementAndGet, Function.identity()));
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> controller.executeAsync(API_KEY, null,
+                        () -> CompletableFuture.completedFuture(calls.incrementAndGet()), Function.identity()).join());
+        assertInstanceOf(TokenBudgetExceededException.class, e.getCause());
+        assertThrows(TokenBudgetExceededException.class,
+                () -> controller.executeFlux(API_KEY, null, () -> Flux.just(calls.incrementAndGet()),
+                        Function.identity()).blockLast());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void testCallsWithoutApiKeyAreAdmitted() {
+        TokenBudgetController controller = new TokenBudgetController(config(1, 1, 0), null);
+        controller.record(null, "user", 10);
+        controller.acquire(null, "user");
+        controller.acquire("", "user");
+        assertTrue(controller.getMetrics().isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkheadHttpRequestBuilder
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class BulkheadHttpRequestBuilderTest {
+
+    private BulkheadRegistry registry;
+    private HttpRequestBuilder delegate;
+
+    @BeforeEach
+    void setUp() {
+        DifyProperties.BulkheadConfig config = new DifyProperties.BulkheadConfig();
+        config.setMaxConcurrentCalls(1);
+        config.setMaxQueueSize(0);
+        registry = new BulkheadRegistry(config, null);
+        delegate = mock(HttpRequestBuilder.class);
+        when(delegate.uri(anyString())).thenReturn(delegate);
+        when(delegate.header(anyString(), anyString())).thenReturn(delegate);
+    }
+
+    @Test
+    void testBlockingCallHoldsPermitOfRequestKey() {
+        Bulkhead bulkhead = registry.forApiKey("app-request-key");
+        when(delegate.execute(String.class)).thenAnswer(invocation -> {
+            assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+            return "ok";
+        });
+
+        String result = registry.decorate(delegate, "Bearer app-default-key")
+                .uri("/chat-messages")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer app-request-key")
+                .execute(String.class);
+
+        assertEquals("ok", result);
+        assertTrue(bulkhead.isIdle());
+        assertEquals(0, registry.forApiKey("app-default-key").getMetrics().getAcquiredCount());
+    }
+
+    @Test
+    void testDefaultAuthorizationSelectsPartition() {
+        Bulkhead bulkhead = registry.forApiKey("app-default-key");
+        bulkhead.acquire();
+
+        HttpRequestBuilder builder = registry.decorate(delegate, "Bearer app-default-key").uri("/messages");
+        assertThrows(BulkheadFullException.class, () -> builder.execute(String.class));
+        verify(delegate, never()).execute(String.class);
+    }
+
+    @Test
+    void testPermitReleasedWhenCallFails() {
+        Bulkhead bulkhead = registry.forApiKey("app-request-key");
+        when(delegate.executeForStatus()).thenThrow(new IllegalStateException("boom"));
+
+        HttpRequestBuilder builder = registry.decorate(delegate, "Bearer app-request-key");
+        assertThrows(IllegalStateException.class, builder::executeForStatus);
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testRequestWithoutAuthorizationIsNotLimited() {
+        when(delegate.execute(String.class)).thenReturn("ok");
+
+        assertEquals("ok", registry.decorate(delegate, null).execute(String.class));
+        assertTrue(registry.getMetrics().isEmpty());
+    }
+
+    @Test
+    void testAsyncCallReleasesPermitOnCompletion() throws Exception {
+        Bulkhead bulkhead = registry.forApiKey("app-request-key");
+        CompletableFuture<String> response = new CompletableFuture<>();
+        when(delegate.executeAsync(String.class)).thenReturn(response);
+
+        CompletableFuture<String> result = registry.decorate(delegate, "Bearer app-request-key")
+                .executeAsync(String.class);
+        assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+
+        response.complete("ok");
+        assertEquals("ok", result.get());
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testAsyncCallRejectedWhenPartitionIsFull() {
+        registry.forApiKey("app-request-key").acquire();
+
+        CompletableFuture<String> result = registry.decorate(delegate, "Bearer app-request-key")
+                .executeAsync(String.class);
+        assertTrue(result.isCompletedExceptionally());
+        verify(delegate, never()).executeAsync(any(Class.class));
+    }
+
+    @Test
+    void testStreamHoldsPermitUntilTerminated() {
+        Bulkhead bulkhead = registry.forApiKey("app-request-key");
+        when(delegate.stream(String.class)).thenReturn(Flux.defer(() -> {
+            assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+            return Flux.fromIterable(Arrays.asList("a", "b"));
+        }));
+
+        Flux<String> stream = registry.decorate(delegate, "Bearer app-request-key").stream(String.class);
+        assertTrue(bulkhead.isIdle());
+        assertEquals(Arrays.asList("a", "b"), stream.collectList().block());
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testStreamRejectedWhenPartitionIsFull() {
+        registry.forApiKey("app-request-key").acquire();
+        when(delegate.stream(String.class)).thenReturn(Flux.fromIterable(Collections.singletonList("a")));
+
+        Flux<String> stream = registry.decorate(delegate, "Bearer app-request-key").stream(String.class);
+        assertThrows(BulkheadFullException.class, stream::blockLast);
+    }
+}
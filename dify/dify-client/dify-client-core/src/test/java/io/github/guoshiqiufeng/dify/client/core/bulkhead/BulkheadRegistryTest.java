@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BulkheadRegistry
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class BulkheadRegistryTest {
+
+    @Test
+    void testOfReturnsNullUnlessEnabled() {
+        assertNull(BulkheadRegistry.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(BulkheadRegistry.of(clientConfig));
+
+        clientConfig.getBulkhead().setEnabled(true);
+        assertNotNull(BulkheadRegistry.of(clientConfig));
+    }
+
+    @Test
+    void testConfiguredPartitionIsSharedByItsKeys() {
+        DifyProperties.BulkheadConfig config = new DifyProperties.BulkheadConfig();
+        DifyProperties.BulkheadPartition batch = new DifyProperties.BulkheadPartition();
+        batch.setName("batch");
+        batch.setApiKeys(Arrays.asList("app-batch-1", "app-batch-2"));
+        batch.setMaxConcurrentCalls(2);
+        config.setPartitions(Collections.singletonList(batch));
+        BulkheadRegistry registry = new BulkheadRegistry(config, null);
+
+        Bulkhead bulkhead = registry.forApiKey("app-batch-1");
+        assertEquals("batch", bulkhead.getName());
+        assertSame(bulkhead, registry.forApiKey("app-batch-2"));
+        assertSame(bulkhead, registry.forAuthorization("Bearer app-batch-1"));
+        assertEquals(2, bulkhead.getMetrics().getMaxConcurrentCalls());
+    }
+
+    @Test
+    void testOtherKeysGetOwnDefaultPartition() {
+        BulkheadRegistry registry = new BulkheadRegistry(new DifyProperties.BulkheadConfig(), null);
+
+        Bulkhead first = registry.forAuthorization("Bearer app-1234567890");
+        Bulkhead second = registry.forApiKey("app-0987654321");
+        assertNotSame(first, second);
+        assertSame(first, registry.forApiKey("app-1234567890"));
+        assertEquals("app-****7890", first.getName());
+        assertEquals(4, first.getMetrics().getMaxConcurrentCalls());
+
+        assertNull(registry.forApiKey(null));
+        assertNull(registry.forAuthorization(""));
+    }
+
+    @Test
+    void testMaskKey() {
+        assertEquals("****", BulkheadRegistry.maskKey("short"));
+        assertEquals("app-****wxyz", BulkheadRegistry.maskKey("app-abcdefwxyz"));
+    }
+
+    @Test
+    void testMetricsListConfiguredPartitionsFirst() {
+        DifyProperties.BulkheadConfig config = new DifyProperties.BulkheadConfig();
+        DifyProperties.BulkheadPartition batch = new DifyProperties.BulkheadPartition();
+        batch.setName("batch");
+        batch.setApiKeys(Collections.singletonList("app-batch"));
+        config.setPartitions(Collections.singletonList(batch));
+        BulkheadRegistry registry = new BulkheadRegistry(config, null);
+
+        registry.forApiKey("app-interactive").acquire();
+
+        List<BulkheadMetrics> metrics = registry.getMetrics();
+        assertEquals(2, metrics.size());
+        assertEquals("batch", metrics.get(0).getPartition());
+        assertEquals(1, metrics.get(1).getInFlightCalls());
+        assertThrows(UnsupportedOperationException.class, () -> metrics.add(metrics.get(0)));
+    }
+
+    @Test
+    void testIdleDefaultPartitionsAreEvicted() {
+        BulkheadRegistry registry = new BulkheadRegistry(new DifyProperties.BulkheadConfig(), null);
+        Bulkhead busy = registry.forApiKey("app-busy-key");
+        busy.acquire();
+        for (int i = 0; i < BulkheadRegistry.MAX_DEFAULT_PARTITIONS; i++) {
+            registry.forApiKey("app-rotating-" + i);
+        }
+
+        assertTrue(registry.getMetrics().size() <= BulkheadRegistry.MAX_DEFAULT_PARTITIONS);
+        assertSame(busy, registry.forApiKey("app-busy-key"));
+    }
+}
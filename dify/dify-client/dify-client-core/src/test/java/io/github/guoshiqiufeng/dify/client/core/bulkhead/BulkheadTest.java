@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bulkhead
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class BulkheadTest {
+
+    @Test
+    void testRejectsInvalidMaxConcurrentCalls() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("app", 0, 1, 0, null));
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        AtomicInteger queueFull = new AtomicInteger();
+        Bulkhead bulkhead = new Bulkhead("app", 1, 0, 0, new BulkheadListener() {
+            @Override
+            public void onQueueFull(String partition) {
+                queueFull.incrementAndGet();
+            }
+        });
+
+        bulkhead.acquire();
+        BulkheadFullException exception = assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals("app", exception.getPartition());
+        assertEquals(1, queueFull.get());
+
+        bulkhead.release();
+        bulkhead.acquire();
+        bulkhead.release();
+
+        BulkheadMetrics metrics = bulkhead.getMetrics();
+        assertEquals(0, metrics.getInFlightCalls());
+        assertEquals(2, metrics.getAcquiredCount());
+        assertEquals(1, metrics.getQueueFullCount());
+        assertEquals(1, metrics.getRejectedCount());
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testBlockingAcquireTimesOut() {
+        AtomicInteger queueTimeout = new AtomicInteger();
+        Bulkhead bulkhead = new Bulkhead("app", 1, 1, 50, new BulkheadListener() {
+            @Override
+            public void onQueueTimeout(String partition) {
+                queueTimeout.incrementAndGet();
+            }
+        });
+        bulkhead.acquire();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(1, queueTimeout.get());
+        assertEquals(1, bulkhead.getMetrics().getQueueTimeoutCount());
+        assertEquals(0, bulkhead.getMetrics().getQueuedCalls());
+    }
+
+    @Test
+    void testReleaseHandsPermitToOldestWaiter() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 2, 0, null);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> first = bulkhead.acquireAsync();
+        CompletableFuture<Void> second = bulkhead.acquireAsync();
+        assertFalse(first.isDone());
+        assertEquals(2, bulkhead.getMetrics().getQueuedCalls());
+
+        bulkhead.release();
+        first.get(1, TimeUnit.SECONDS);
+        assertFalse(second.isDone());
+        assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+
+        bulkhead.release();
+        second.get(1, TimeUnit.SECONDS);
+        bulkhead.release();
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testBlockingWaiterIsGrantedReleasedPermit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 1, 0, null);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(bulkhead::acquire);
+        while (bulkhead.getMetrics().getQueuedCalls() == 0) {
+            Thread.sleep(5);
+        }
+        bulkhead.release();
+        waiting.get(1, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+    }
+
+    @Test
+    void testAsyncAcquireTimesOut() {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 1, 50, null);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiter = bulkhead.acquireAsync();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> waiter.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        assertEquals(0, bulkhead.getMetrics().getQueuedCalls());
+
+        bulkhead.release();
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testAsyncAcquireRejectedWhenQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 0, 0, null);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> rejected = bulkhead.acquireAsync();
+        assertTrue(rejected.isCompletedExceptionally());
+    }
+
+    @Test
+    void testCancelledWaiterLeavesQueue() {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 1, 0, null);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiter = bulkhead.acquireAsync();
+        waiter.cancel(false);
+        assertEquals(0, bulkhead.getMetrics().getQueuedCalls());
+
+        bulkhead.release();
+        assertTrue(bulkhead.isIdle());
+    }
+
+    @Test
+    void testRaisingLimitGrantsQueuedCalls() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("app", 1, 2, 0, null);
+        bulkhead.acquire();
+        CompletableFuture<Void> first = bulkhead.acquireAsync();
+        CompletableFuture<Void> second = bulkhead.acquireAsync();
+
+        bulkhead.setMaxConcurrentCalls(2);
+        first.get(1, TimeUnit.SECONDS);
+        assertFalse(second.isDone());
+
+        bulkhead.setMaxConcurrentCalls(3);
+        second.get(1, TimeUnit.SECONDS);
+        assertEquals(3, bulkhead.getMetrics().getInFlightCalls());
+        assertEquals(3, bulkhead.getMetrics().getMaxConcurrentCalls());
+    }
+
+    @Test
+    void testLoweringLimitTakesEffectOnRelease() {
+        Bulkhead bulkhead = new Bulkhead("app", 2, 1, 0, null);
+        bulkhead.acquire();
+        bulkhead.acquire();
+        CompletableFuture<Void> waiter = bulkhead.acquireAsync();
+
+        bulkhead.setMaxConcurrentCalls(1);
+        bulkhead.release();
+        assertFalse(waiter.isDone());
+        assertEquals(1, bulkhead.getMetrics().getInFlightCalls());
+
+        bulkhead.release();
+        assertTrue(waiter.isDone());
+        assertThrows(IllegalArgumentException.class, () -> bulkhead.setMaxConcurrentCalls(0));
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.cache;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResponseCache
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class ResponseCacheTest {
+
+    private static final String ENDPOINT = "dataset:GET /v1/datasets/tags";
+    private static final long TTL = TimeUnit.MILLISECONDS.toNanos(60000);
+    private static final long STALE = TimeUnit.MILLISECONDS.toNanos(60000);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private static DifyProperties.CacheConfig config(int maxEntries) {
+        DifyProperties.CacheConfig config = new DifyProperties.CacheConfig();
+        config.setEnabled(true);
+        config.setMaxEntries(maxEntries);
+        return config;
+    }
+
+    private ResponseCache cache(int maxEntries, ExecutorService executor) {
+        return new ResponseCache(config(maxEntries), executor, clock::get);
+    }
+
+    private static CacheMetrics metrics(ResponseCache cache) {
+        List<CacheMetrics> metrics = cache.getMetrics();
+        assertEquals(1, metrics.size());
+        return metrics.get(0);
+    }
+
+    private static String get(ResponseCache cache, String requestUri, AtomicInteger requests) {
+        return cache.execute(ENDPOINT, requestUri, requestUri, TTL,
+                etag -> ResponseCache.Fetched.of(requestUri + "#" + requests.incrementAndGet(), null));
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(ResponseCache.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(ResponseCache.of(clientConfig));
+
+        clientConfig.getCache().setEnabled(true);
+        assertNotNull(ResponseCache.of(clientConfig));
+    }
+
+    @Test
+    void testTtlOfConfiguredReadEndpointsOnly() {
+        DifyProperties.CacheConfig config = config(10);
+        config.getTtls().put("/v1/site", 0L);
+        ResponseCache cache = new ResponseCache(config);
+
+        assertEquals(TimeUnit.MINUTES.toNanos(5), cache.ttlNanos("GET", "/v1/parameters"));
+        assertEquals(TimeUnit.MINUTES.toNanos(1), cache.ttlNanos("get", "/v1/datasets/{datasetId}/metadata"));
+        assertEquals(TimeUnit.MINUTES.toNanos(1), cache.ttlNanos("GET", "/v1/datasets/tags?type=knowledge"));
+        assertEquals(0, cache.ttlNanos("GET", "/v1/site"));
+        assertEquals(0, cache.ttlNanos("POST", "/v1/datasets/tags"));
+        assertEquals(0, cache.ttlNanos("GET", "/v1/datasets"));
+        assertEquals(0, cache.ttlNanos("GET", null));
+        assertTrue(cache.isWrite("PATCH"));
+        assertFalse(cache.isWrite("HEAD"));
+        assertEquals("chat:GET /v1/parameters", cache.forEndpointGroup("chat").endpoint("GET", "/v1/parameters?user=a"));
+    }
+
+    @Test
+    void testFreshHitThenStaleHitRefreshesInBackground() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ResponseCache cache = cache(10, executor);
+        AtomicInteger requests = new AtomicInteger();
+
+        assertEquals("/v1/datasets/tags#1", get(cache, "/v1/datasets/tags", requests));
+        clock.addAndGet(TTL - 1);
+        assertEquals("/v1/datasets/tags#1", get(cache, "/v1/datasets/tags", requests));
+        clock.addAndGet(1);
+        assertEquals("/v1/datasets/tags#1", get(cache, "/v1/datasets/tags", requests));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals("/v1/datasets/tags#2", get(cache, "/v1/datasets/tags", requests));
+
+        assertEquals(2, requests.get());
+        CacheMetrics metrics = metrics(cache);
+        assertEquals(ENDPOINT, metrics.getEndpoint());
+        assertEquals(2, metrics.getHits());
+        assertEquals(1, metrics.getStaleHits());
+        assertEquals(1, metrics.getMisses());
+        assertEquals(0.75, metrics.getHitRatio());
+    }
+
+    @Test
+    void testExpiredBeyondStaleWindowIsRevalidatedWithEtag() {
+        ResponseCache cache = cache(10, null);
+        List<String> sentEtags = new ArrayList<>();
+
+        assertEquals("tags", cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL, etag -> {
+            sentEtags.add(etag);
+            return ResponseCache.Fetched.of("tags", "\"v1\"");
+        }));
+        clock.addAndGet(TTL + STALE);
+        assertEquals("tags", cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL, etag -> {
+            sentEtags.add(etag);
+            return ResponseCache.Fetched.notModified();
+        }));
+        assertEquals("tags", cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL, etag -> {
+            throw new AssertionError("renewed response must be fresh");
+        }));
+
+        assertEquals(Arrays.asList(null, "\"v1\""), sentEtags);
+        CacheMetrics metrics = metrics(cache);
+        assertEquals(1, metrics.getNotModified());
+        assertEquals(2, metrics.getMisses());
+        assertEquals(1, metrics.getHits());
+    }
+
+    @Test
+    void testAsyncCallsAreCached() {
+        ResponseCache cache = cache(10, null);
+        AtomicInteger requests = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("tags", cache.executeAsync(ENDPOINT, "key", "/v1/datasets/tags", TTL, etag -> {
+                requests.incrementAndGet();
+                return CompletableFuture.completedFuture(ResponseCache.Fetched.of("tags", null));
+            }).join());
+        }
+        assertEquals(1, requests.get());
+        assertEquals(2, metrics(cache).getHits());
+    }
+
+    @Test
+    void testErrorsAndUncachedResponsesAreNotStored() {
+        ResponseCache cache = cache(10, null);
+
+        assertThrows(HttpClientException.class, () -> cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL,
+                etag -> {
+                    throw new HttpClientException(503, "unavailable");
+                }));
+        assertEquals("error", cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL,
+                etag -> ResponseCache.Fetched.uncached("error")));
+        assertEquals(0, cache.getSize());
+        assertEquals(2, metrics(cache).getMisses());
+    }
+
+    @Test
+    void testWriteInvalidatesSamePathBranch() {
+        ResponseCache cache = cache(10, null);
+        AtomicInteger requests = new AtomicInteger();
+        get(cache, "/v1/datasets/tags", requests);
+        get(cache, "/v1/datasets/tags?type=knowledge", requests);
+        get(cache, "/v1/datasets/dataset-1/metadata", requests);
+        get(cache, "/v1/datasets/dataset-2/metadata", requests);
+        get(cache, "/v1/parameters", requests);
+
+        cache.invalidate("/v1/chat-messages");
+        cache.invalidate("/v1/datasets/dataset-1/documents/document-1");
+        assertEquals(5, cache.getSize());
+
+        cache.invalidate("/v1/datasets/tags/binding");
+        assertEquals(3, cache.getSize());
+        cache.invalidate("/v1/datasets/dataset-1");
+        assertEquals(2, cache.getSize());
+        assertEquals(3, cache.getInvalidationCount());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getSize());
+        assertEquals(5, cache.getInvalidationCount());
+    }
+
+    @Test
+    void testResponseOfCallOverlappingWriteIsNotStored() {
+        ResponseCache cache = cache(10, null);
+
+        assertEquals("old", cache.execute(ENDPOINT, "key", "/v1/datasets/tags", TTL, etag -> {
+            cache.invalidate("/v1/datasets/tags");
+            return ResponseCache.Fetched.of("old", null);
+        }));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ResponseCache cache = cache(2, null);
+        AtomicInteger requests = new AtomicInteger();
+        get(cache, "/v1/datasets/tags?page=1", requests);
+        get(cache, "/v1/datasets/tags?page=2", requests);
+        get(cache, "/v1/datasets/tags?page=1", requests);
+        get(cache, "/v1/datasets/tags?page=3", requests);
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("/v1/datasets/tags?page=1#1", get(cache, "/v1/datasets/tags?page=1", requests));
+        assertEquals("/v1/datasets/tags?page=2#4", get(cache, "/v1/datasets/tags?page=2", requests));
+    }
+
+    @Test
+    void testDecorateCachesReadsAndInvalidatesOnWrite() {
+        ResponseCache cache = cache(10, null).forEndpointGroup("dataset");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenReturn("tags-1", "created", "tags-2");
+
+        HttpRequestBuilder first = cache.decorate(delegate, "GET", "Bearer key");
+        assertEquals("tags-1", first.uri("/v1/datasets/tags").execute(String.class));
+        HttpRequestBuilder second = cache.decorate(delegate, "GET", "Bearer key");
+        assertEquals("tags-1", second.uri("/v1/datasets/tags").execute(String.class));
+
+        HttpRequestBuilder write = cache.decorate(delegate, "POST", "Bearer key");
+        assertEquals("created", write.uri("/v1/datasets/tags").body(Map.of("name", "tag")).execute(String.class));
+
+        HttpRequestBuilder third = cache.decorate(delegate, "GET", "Bearer key");
+        assertEquals("tags-2", third.uri("/v1/datasets/tags").execute(String.class));
+        verify(delegate, times(3)).execute(String.class);
+        CacheMetrics metrics = metrics(cache);
+        assertEquals("dataset:GET /v1/datasets/tags", metrics.getEndpoint());
+        assertEquals(1, metrics.getHits());
+        assertEquals(2, metrics.getMisses());
+    }
+
+    @Test
+    void testDecorateSendsIfNoneMatchAndKeepsResponseOnNotModified() {
+        ResponseCache cache = cache(10, null).forEndpointGroup("chat");
+        AtomicReference<ResponseErrorHandler> observer = new AtomicReference<>();
+        AtomicInteger requests = new AtomicInteger();
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        ResponseSpec spec = mock(ResponseSpec.class);
+        when(delegate.retrieve()).thenReturn(spec);
+        when(spec.onStatus(any())).thenAnswer(invocation -> {
+            if (observer.get() == null) {
+                observer.set(invocation.getArgument(0));
+            }
+            return spec;
+        });
+        when(spec.body(String.class)).thenAnswer(invocation -> {
+            if (requests.incrementAndGet() == 1) {
+                observer.get().handle(new ResponseEntity<>(200, Map.of(HttpHeaders.ETAG, List.of("\"v1\"")), "site"));
+                return "site";
+            }
+            observer.get().handle(new ResponseEntity<>(304, Map.of(), ""));
+            throw new HttpClientException(304, "not modified");
+        });
+
+        assertEquals("site", cache.decorate(delegate, "GET", "Bearer key").uri("/v1/site").retrieve()
+                .body(String.class));
+        clock.addAndGet(TTL * 10);
+        assertEquals("site", cache.decorate(delegate, "GET", "Bearer key").uri("/v1/site").retrieve()
+                .body(String.class));
+
+        assertEquals(2, requests.get());
+        verify(delegate).header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        assertTrue(observer.get().getStatusPredicate().test(200));
+        assertEquals(1, metrics(cache).getNotModified());
+    }
+
+    @Test
+    void testDecorateHidesNotModifiedOfConditionalRequestFromErrorHandlers() {
+        ResponseCache cache = cache(10, null).forEndpointGroup("chat");
+        List<ResponseErrorHandler> handlers = new ArrayList<>();
+        AtomicInteger requests = new AtomicInteger();
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        ResponseSpec spec = mock(ResponseSpec.class);
+        when(delegate.retrieve()).thenReturn(spec);
+        when(spec.onStatus(any())).thenAnswer(invocation -> {
+            handlers.add(invocation.getArgument(0));
+            return spec;
+        });
+        ResponseErrorHandler errors = mock(ResponseErrorHandler.class);
+        when(errors.getStatusPredicate()).thenReturn(status -> status >= 300);
+        List<Boolean> notModifiedIsError = new ArrayList<>();
+        when(spec.body(String.class)).thenAnswer(invocation -> {
+            ResponseErrorHandler wrapped = handlers.get(handlers.size() - 1);
+            notModifiedIsError.add(wrapped.getStatusPredicate().test(304));
+            if (requests.incrementAndGet() == 1) {
+                handlers.get(handlers.size() - 2)
+                        .handle(new ResponseEntity<>(200, Map.of(HttpHeaders.ETAG, List.of("\"v1\"")), "site"));
+                return "site";
+            }
+            handlers.get(handlers.size() - 2).handle(new ResponseEntity<>(304, Map.of(), ""));
+            return null;
+        });
+
+        assertEquals("site", cache.decorate(delegate, "GET", "Bearer key").uri("/v1/site").retrieve()
+                .onStatus(errors).body(String.class));
+        clock.addAndGet(TTL * 10);
+        assertEquals("site", cache.decorate(delegate, "GET", "Bearer key").uri("/v1/site").retrieve()
+                .onStatus(errors).body(String.class));
+
+        assertEquals(Arrays.asList(true, false), notModifiedIsError);
+        assertTrue(handlers.get(handlers.size() - 1).getStatusPredicate().test(500));
+        verify(errors, never()).handle(any());
+        assertEquals(1, metrics(cache).getNotModified());
+    }
+}
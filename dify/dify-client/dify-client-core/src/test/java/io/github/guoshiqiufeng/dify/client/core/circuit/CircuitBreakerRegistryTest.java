@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadFullException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CircuitBreakerRegistry
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CircuitBreakerRegistryTest {
+
+    private static final String ENDPOINT = "dataset:POST /v1/datasets/{datasetId}/retrieve";
+
+    private static DifyProperties.CircuitBreakerConfig config() {
+        DifyProperties.CircuitBreakerConfig config = new DifyProperties.CircuitBreakerConfig();
+        config.setEnabled(true);
+        config.setSlidingWindowSize(4);
+        config.setMinimumNumberOfCalls(2);
+        return config;
+    }
+
+    private static String fail() {
+        throw new HttpClientException(503, "unavailable");
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(CircuitBreakerRegistry.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(CircuitBreakerRegistry.of(clientConfig));
+
+        clientConfig.getCircuitBreaker().setEnabled(true);
+        assertNotNull(CircuitBreakerRegistry.of(clientConfig));
+    }
+
+    @Test
+    void testExecuteFailsFastOnceOpen() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config(), null);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpClientException.class, () -> registry.execute(ENDPOINT, () -> {
+                calls.incrementAndGet();
+                return fail();
+            }));
+        }
+        CircuitBreakerOpenException error = assertThrows(CircuitBreakerOpenException.class,
+                () -> registry.execute(ENDPOINT, () -> {
+                    calls.incrementAndGet();
+                    return "ok";
+                }));
+
+        assertEquals(2, calls.get());
+        assertEquals(ENDPOINT, error.getEndpoint());
+        assertTrue(error.getRetryAfterMillis() > 0);
+        assertEquals(CircuitBreakerState.OPEN, registry.getState(ENDPOINT));
+        assertEquals(CircuitBreakerState.CLOSED, registry.getState("chat:POST /v1/chat-messages"));
+    }
+
+    @Test
+    void testClientErrorsDoNotOpen() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config(), null);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientException.class, () -> registry.execute(ENDPOINT, () -> {
+                throw new HttpClientException(404, "not found");
+            }));
+        }
+        assertEquals(CircuitBreakerState.CLOSED, registry.getState(ENDPOINT));
+        assertEquals(0, registry.getMetrics().get(0).getFailedCalls());
+    }
+
+    @Test
+    void testExecuteAsyncFailsFastOnceOpen() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config(), null);
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new HttpClientException("failed", new IOException("Connection reset")));
+            CompletableFuture<String> result = registry.executeAsync(ENDPOINT, () -> failed);
+            assertThrows(CompletionException.class, result::join);
+        }
+
+        CompletableFuture<String> rejected = registry.executeAsync(ENDPOINT,
+                () -> CompletableFuture.completedFuture("ok"));
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, error.getCause());
+    }
+
+    @Test
+    void testExecuteFluxIsJudgedByFirstSignal() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config(), null);
+        for (int i = 0; i < 4; i++) {
+            // failures after the first event do not count against the endpoint
+            Flux<String> stream = registry.executeFlux(ENDPOINT, () -> Flux.just("first")
+                    .concatWith(Flux.error(new HttpClientException(502, "bad gateway"))));
+            assertThrows(HttpClientException.class, stream::blockLast);
+        }
+        assertEquals(CircuitBreakerState.CLOSED, registry.getState(ENDPOINT));
+
+        for (int i = 0; i < 2; i++) {
+            Flux<String> stream = registry.executeFlux(ENDPOINT,
+                    () -> Flux.error(new HttpClientException(502, "bad gateway")));
+            assertThrows(HttpClientException.class, stream::blockLast);
+        }
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> rejected = registry.executeFlux(ENDPOINT, () -> {
+            subscriptions.incrementAndGet();
+            return Flux.just("ok");
+        });
+        assertThrows(CircuitBreakerOpenException.class, rejected::blockLast);
+        assertEquals(0, subscriptions.get());
+    }
+
+    @Test
+    void testClassifiesOutcomes() {
+        assertFalse(CircuitBreakerRegistry.isFailure("ok", null));
+        assertFalse(CircuitBreakerRegistry.isFailure(new ResponseEntity<>(200, Collections.emptyMap(), null), null));
+        assertTrue(CircuitBreakerRegistry.isFailure(new ResponseEntity<>(503, Collections.emptyMap(), null), null));
+        assertTrue(CircuitBreakerRegistry.isFailure(null, new HttpClientException(500, "error")));
+        assertFalse(CircuitBreakerRegistry.isFailure(null, new HttpClientException(429, "too many requests")));
+        assertTrue(CircuitBreakerRegistry.isFailure(null, new HttpClientException("failed", new IOException("reset"))));
+        assertTrue(CircuitBreakerRegistry.isFailure(null,
+                new CompletionException(new HttpClientException(504, "timeout"))));
+        assertNull(CircuitBreakerRegistry.isFailure(null, new CancellationException()));
+        assertNull(CircuitBreakerRegistry.isFailure(null, new BulkheadFullException("app-****0001", "full")));
+        assertNull(CircuitBreakerRegistry.isFailure(null, new IllegalStateException("serialization")));
+    }
+
+    @Test
+    void testDecoratedBuilderKeysBreakerByUriTemplate() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config(), null).forEndpointGroup("dataset");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenReturn("ok");
+
+        HttpRequestBuilder builder = registry.decorate(delegate, "POST", null);
+        builder.uri("/v1/datasets/{datasetId}/retrieve", "dataset-1");
+        assertEquals("ok", builder.execute(String.class));
+
+        List<CircuitBreakerMetrics> metrics = registry.getMetrics();
+        assertEquals(1, metrics.size());
+        assertEquals(ENDPOINT, metrics.get(0).getEndpoint());
+        assertEquals(CircuitBreakerState.CLOSED, metrics.get(0).getState());
+        assertEquals(1, metrics.get(0).getBufferedCalls());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.circuit;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker() {
+        DifyProperties.CircuitBreakerConfig config = new DifyProperties.CircuitBreakerConfig();
+        config.setSlidingWindowSize(10);
+        config.setMinimumNumberOfCalls(4);
+        config.setFailureRateThreshold(50.0);
+        config.setSlowCallRateThreshold(50.0);
+        config.setSlowCallDurationThresholdMillis(100L);
+        config.setWaitDurationInOpenStateMillis(1000L);
+        config.setPermittedCallsInHalfOpenState(2);
+        return new CircuitBreaker("dataset:POST /v1/datasets/{datasetId}/retrieve", config,
+                new CircuitBreakerListener() {
+                    @Override
+                    public void onStateTransition(String endpoint, CircuitBreakerState from, CircuitBreakerState to) {
+                        transitions.add(from + "->" + to);
+                    }
+                }, now::get);
+    }
+
+    private static void record(CircuitBreaker breaker, boolean failed, long durationMillis) {
+        CircuitBreaker.Phase permit = breaker.tryAcquire();
+        assertNotNull(permit);
+        breaker.onResult(permit, failed, TimeUnit.MILLISECONDS.toNanos(durationMillis));
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumNumberOfCalls() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 3; i++) {
+            record(breaker, true, 1);
+        }
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getMetrics().getFailureRate());
+    }
+
+    @Test
+    void testOpensOnFailureRate() {
+        CircuitBreaker breaker = breaker();
+        record(breaker, false, 1);
+        record(breaker, false, 1);
+        record(breaker, true, 1);
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+
+        record(breaker, true, 1);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(1000, breaker.getRetryAfterMillis());
+
+        CircuitBreakerMetrics metrics = breaker.getMetrics();
+        assertEquals(50.0, metrics.getFailureRate());
+        assertEquals(1, metrics.getNotPermittedCalls());
+    }
+
+    @Test
+    void testOpensOnSlowCallRate() {
+        CircuitBreaker breaker = breaker();
+        record(breaker, false, 1);
+        record(breaker, false, 1);
+        record(breaker, false, 100);
+        record(breaker, false, 500);
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(50.0, breaker.getMetrics().getSlowCallRate());
+    }
+
+    @Test
+    void testSlidingWindowForgetsOldOutcomes() {
+        CircuitBreaker breaker = breaker();
+        record(breaker, true, 1);
+        for (int i = 0; i < 10; i++) {
+            record(breaker, false, 1);
+        }
+        CircuitBreakerMetrics metrics = breaker.getMetrics();
+        assertEquals(10, metrics.getBufferedCalls());
+        assertEquals(0, metrics.getFailedCalls());
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulTrialCalls() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            record(breaker, true, 1);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        CircuitBreaker.Phase first = breaker.tryAcquire();
+        CircuitBreaker.Phase second = breaker.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        breaker.onResult(first, false, 0);
+        breaker.onResult(second, false, 0);
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getBufferedCalls());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailure() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            record(breaker, true, 1);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        record(breaker, true, 1);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(1000, breaker.getRetryAfterMillis());
+    }
+
+    @Test
+    void testIgnoredCallReleasesHalfOpenPermit() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            record(breaker, true, 1);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        CircuitBreaker.Phase first = breaker.tryAcquire();
+        assertNotNull(breaker.tryAcquire());
+        breaker.onIgnored(first);
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOutcomesOfEarlierPhasesAreNotCounted() {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Phase stale = breaker.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            record(breaker, true, 1);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertNotNull(breaker.tryAcquire());
+
+        breaker.onResult(stale, true, 0);
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+    }
+}
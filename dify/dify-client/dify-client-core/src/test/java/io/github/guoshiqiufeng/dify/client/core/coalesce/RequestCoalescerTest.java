@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.coalesce;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequestCoalescer
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class RequestCoalescerTest {
+
+    private static final String ENDPOINT = "chat:GET /v1/parameters";
+
+    private static CoalescingMetrics metrics(RequestCoalescer coalescer) {
+        List<CoalescingMetrics> metrics = coalescer.getMetrics();
+        assertEquals(1, metrics.size());
+        return metrics.get(0);
+    }
+
+    private static void awaitCoalesced(RequestCoalescer coalescer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metrics(coalescer).getCoalescedCalls() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(RequestCoalescer.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(RequestCoalescer.of(clientConfig));
+
+        clientConfig.getCoalesce().setEnabled(true);
+        assertNotNull(RequestCoalescer.of(clientConfig));
+    }
+
+    @Test
+    void testIsCoalescible() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+
+        assertTrue(coalescer.isCoalescible("GET"));
+        assertTrue(coalescer.isCoalescible("head"));
+        assertFalse(coalescer.isCoalescible("POST"));
+        assertFalse(coalescer.isCoalescible(null));
+    }
+
+    @Test
+    void testKeyIncludesEndpointGroup() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+
+        assertNotEquals(coalescer.forEndpointGroup("chat").key("GET", "/v1/info", "Bearer a", "body x"),
+                coalescer.forEndpointGroup("workflow").key("GET", "/v1/info", "Bearer a", "body x"));
+        assertNotEquals(coalescer.key("GET", "/v1/info", "Bearer a", "body x"),
+                coalescer.key("GET", "/v1/info", "Bearer b", "body x"));
+        assertEquals("chat:GET /v1/parameters", coalescer.forEndpointGroup("chat").endpoint("GET", "/v1/parameters?x=1"));
+    }
+
+    @Test
+    void testConcurrentBlockingCallsShareOneRequest() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger requests = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute(ENDPOINT, "key", () -> {
+                requests.incrementAndGet();
+                await(release);
+                return "parameters";
+            }));
+            while (coalescer.getInFlightCount() == 0) {
+                Thread.sleep(5);
+            }
+            Future<String> follower = executor.submit(() -> coalescer.execute(ENDPOINT, "key", () -> {
+                requests.incrementAndGet();
+                return "other";
+            }));
+            awaitCoalesced(coalescer);
+            release.countDown();
+
+            assertEquals("parameters", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("parameters", follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+        assertEquals(0, coalescer.getInFlightCount());
+        CoalescingMetrics metrics = metrics(coalescer);
+        assertEquals(2, metrics.getCalls());
+        assertEquals(1, metrics.getRequests());
+        assertEquals(1, metrics.getCoalescedCalls());
+        assertEquals(0.5, metrics.getCoalescingRatio());
+    }
+
+    @Test
+    void testErrorIsSharedWithAsyncCallers() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        HttpClientException failure = new HttpClientException(503, "unavailable");
+
+        CompletableFuture<String> first = coalescer.executeAsync(ENDPOINT, "key", () -> pending);
+        CompletableFuture<String> second = coalescer.executeAsync(ENDPOINT, "key", () -> {
+            throw new AssertionError("coalesced call must not be sent");
+        });
+        assertFalse(second.isDone());
+        pending.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(Exception.class, first::join).getCause());
+        assertSame(failure, assertThrows(Exception.class, second::join).getCause());
+        assertEquals(1, metrics(coalescer).getCoalescedCalls());
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger requests = new AtomicInteger();
+
+        assertEquals(1, (int) coalescer.execute(ENDPOINT, "key", requests::incrementAndGet));
+        assertEquals(2, (int) coalescer.execute(ENDPOINT, "key", requests::incrementAndGet));
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(ENDPOINT, "key", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals(0, coalescer.getInFlightCount());
+        assertEquals(0, metrics(coalescer).getCoalescedCalls());
+    }
+
+    @Test
+    void testCancellingFollowerDoesNotCancelSharedCall() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.executeAsync(ENDPOINT, "key", () -> pending);
+        CompletableFuture<String> second = coalescer.executeAsync(ENDPOINT, "key", () -> pending);
+        second.cancel(true);
+        pending.complete("site");
+
+        assertFalse(pending.isCancelled());
+        assertEquals("site", first.join());
+    }
+
+    @Test
+    void testDecorateCoalescesIdenticalReadsOnly() {
+        RequestCoalescer coalescer = new RequestCoalescer().forEndpointGroup("dataset");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        when(delegate.executeAsync(String.class)).thenReturn(pending);
+        doReturn(new CompletableFuture<>()).when(delegate).executeAsync(any(TypeReference.class));
+
+        HttpRequestBuilder first = coalescer.decorate(delegate, "GET", "Bearer key");
+        first.uri("/v1/datasets/{datasetId}", "dataset-1");
+        CompletableFuture<String> firstResult = first.executeAsync(String.class);
+
+        HttpRequestBuilder same = coalescer.decorate(delegate, "GET", "Bearer key");
+        same.uri("/v1/datasets/{datasetId}", "dataset-1");
+        CompletableFuture<String> sameResult = same.executeAsync(String.class);
+
+        HttpRequestBuilder otherId = coalescer.decorate(delegate, "GET", "Bearer key");
+        otherId.uri("/v1/datasets/{datasetId}", "dataset-2");
+        otherId.executeAsync(String.class);
+
+        HttpRequestBuilder otherQuery = coalescer.decorate(delegate, "GET", "Bearer key");
+        otherQuery.uri("/v1/datasets/{datasetId}", "dataset-1").queryParams(Map.of("page", "2"));
+        otherQuery.executeAsync(String.class);
+
+        HttpRequestBuilder otherType = coalescer.decorate(delegate, "GET", "Bearer key");
+        otherType.uri("/v1/datasets/{datasetId}", "dataset-1");
+        otherType.executeAsync(new TypeReference<Map<String, Object>>() {
+        });
+
+        HttpRequestBuilder write = coalescer.decorate(delegate, "POST", "Bearer key");
+        write.uri("/v1/datasets/{datasetId}", "dataset-1");
+        write.executeAsync(String.class);
+
+        pending.complete("dataset");
+        assertEquals("dataset", firstResult.join());
+        assertEquals("dataset", sameResult.join());
+        verify(delegate, times(4)).executeAsync(String.class);
+        CoalescingMetrics metrics = metrics(coalescer);
+        assertEquals("dataset:GET /v1/datasets/{datasetId}", metrics.getEndpoint());
+        assertEquals(5, metrics.getCalls());
+        assertEquals(1, metrics.getCoalescedCalls());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
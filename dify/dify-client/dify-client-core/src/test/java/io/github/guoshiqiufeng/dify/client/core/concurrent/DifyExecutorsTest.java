@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.concurrent;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.ExecutionModeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DifyExecutors, run against the Java 21 overlay
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class DifyExecutorsTest {
+
+    @Test
+    void testPlatformModeUsesPlatformExecutor() {
+        ExecutorService platform = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(platform, DifyExecutors.newExecutor(new DifyProperties.ClientConfig(), "test", () -> platform));
+            assertSame(platform, DifyExecutors.newExecutor(null, "test", () -> platform));
+            assertFalse(DifyExecutors.useVirtualThreads(null));
+        } finally {
+            platform.shutdownNow();
+        }
+    }
+
+    @Test
+    void testVirtualModeRunsTasksOnNamedVirtualThreads() throws Exception {
+        assertTrue(DifyExecutors.isVirtualThreadSupported());
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setExecutionMode(ExecutionModeEnum.VIRTUAL);
+        assertTrue(DifyExecutors.useVirtualThreads(clientConfig));
+
+        ExecutorService executor = DifyExecutors.newExecutor(clientConfig, "dify-test", () -> {
+            throw new AssertionError("platform executor must not be created");
+        });
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("dify-test-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockingIoExecutorDoesNotQueueBehindBusyThreads() throws Exception {
+        ExecutorService executor = DifyExecutors.newBlockingIoExecutor(null, "dify-io");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            int busy = Math.max(4, Runtime.getRuntime().availableProcessors() * 2) + 1;
+            for (int i = 0; i < busy; i++) {
+                executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+            }
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertFalse(thread.isVirtual());
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("dify-io-"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setExecutionMode(ExecutionModeEnum.VIRTUAL);
+        ExecutorService virtual = DifyExecutors.newBlockingIoExecutor(clientConfig, "dify-io");
+        try {
+            assertTrue(virtual.submit(Thread::currentThread).get(5, TimeUnit.SECONDS).isVirtual());
+        } finally {
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    void testSharedExecutorsUseBoundedDaemonThreads() throws Exception {
+        assertSame(DifyExecutors.scheduler(), DifyExecutors.scheduler());
+        assertSame(DifyExecutors.workers(), DifyExecutors.workers());
+
+        Thread timerThread = DifyExecutors.scheduler().schedule(Thread::currentThread, 1, TimeUnit.MILLISECONDS)
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(timerThread.isDaemon());
+        assertTrue(timerThread.getName().startsWith("dify-scheduler-"));
+
+        Thread workerThread = DifyExecutors.workers().submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertTrue(workerThread.isDaemon());
+        assertTrue(workerThread.getName().startsWith("dify-worker-"));
+
+        ThreadPoolExecutor workers = (ThreadPoolExecutor) DifyExecutors.workers();
+        assertTrue(workers.getMaximumPoolSize() >= 4);
+        assertEquals(DifyExecutors.WORKER_QUEUE_CAPACITY, workers.getQueue().remainingCapacity() + workers.getQueue().size());
+    }
+}
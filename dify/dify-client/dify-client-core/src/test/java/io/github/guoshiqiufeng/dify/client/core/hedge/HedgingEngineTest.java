@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import io.github.guoshiqiufeng.dify.client.core.http.CallCancellation;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HedgingEngine
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class HedgingEngineTest {
+
+    private static DifyProperties.HedgeConfig config() {
+        DifyProperties.HedgeConfig config = new DifyProperties.HedgeConfig();
+        config.setEnabled(true);
+        config.setMinDelayMillis(20L);
+        config.setMaxDelayMillis(20L);
+        return config;
+    }
+
+    private static HedgeMetrics metrics(HedgingEngine engine) {
+        List<HedgeMetrics> metrics = engine.getMetrics();
+        assertEquals(1, metrics.size());
+        return metrics.get(0);
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(HedgingEngine.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(HedgingEngine.of(clientConfig));
+
+        clientConfig.getHedge().setEnabled(true);
+        assertNotNull(HedgingEngine.of(clientConfig));
+    }
+
+    @Test
+    void testIsHedgeable() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+
+        assertTrue(engine.isHedgeable("GET", "/v1/parameters"));
+        assertTrue(engine.isHedgeable("head", null));
+        assertTrue(engine.isHedgeable("POST", "/v1/datasets/{datasetId}/retrieve"));
+        assertFalse(engine.isHedgeable("POST", "/v1/chat-messages"));
+        assertFalse(engine.isHedgeable("DELETE", "/v1/datasets/{datasetId}"));
+        assertFalse(engine.isHedgeable(null, "/v1/parameters"));
+    }
+
+    @Test
+    void testExecuteAsyncHedgesSlowAttempt() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/site",
+                () -> attempts.incrementAndGet() == 1 ? slow : CompletableFuture.completedFuture("fast"));
+
+        assertEquals("fast", result.join());
+        assertEquals(2, attempts.get());
+        assertTrue(slow.isCancelled());
+        HedgeMetrics metrics = metrics(engine);
+        assertEquals(1, metrics.getCalls());
+        assertEquals(1, metrics.getHedges());
+        assertEquals(1, metrics.getHedgeWins());
+    }
+
+    @Test
+    void testFastCallIsNotHedged() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/site", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertEquals("ok", result.join());
+        assertEquals(1, attempts.get());
+        assertEquals(0, metrics(engine).getHedges());
+    }
+
+    @Test
+    void testFailureBeforeDelayIsNotHedged() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+        HttpClientException failure = new HttpClientException(404, "not found");
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/site", () -> {
+            attempts.incrementAndGet();
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(failure);
+            return future;
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertSame(failure, error.getCause());
+        assertEquals(1, attempts.get());
+        assertEquals(0, metrics(engine).getHedges());
+    }
+
+    @Test
+    void testCallFailsOnlyWhenAllAttemptsFail() throws InterruptedException {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CountDownLatch hedged = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/meta", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                return slow;
+            }
+            hedged.countDown();
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new HttpClientException(502, "bad gateway"));
+            return future;
+        });
+
+        assertTrue(hedged.await(5, TimeUnit.SECONDS));
+        assertFalse(result.isDone());
+        slow.complete("slow");
+        assertEquals("slow", result.join());
+        assertEquals(0, metrics(engine).getHedgeWins());
+    }
+
+    @Test
+    void testBudgetBoundsHedges() throws InterruptedException {
+        DifyProperties.HedgeConfig config = config();
+        config.setBudgetRatio(0.0);
+        config.setBudgetMaxHedges(0);
+        CountDownLatch exhausted = new CountDownLatch(1);
+        HedgingEngine engine = new HedgingEngine(config, new HedgeListener() {
+            @Override
+            public void onBudgetExhausted(String endpoint) {
+                exhausted.countDown();
+            }
+        });
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/info", () -> {
+            attempts.incrementAndGet();
+            return slow;
+        });
+
+        assertTrue(exhausted.await(5, TimeUnit.SECONDS));
+        slow.complete("slow");
+        assertEquals("slow", result.join());
+        assertEquals(1, attempts.get());
+        assertEquals(1, metrics(engine).getBudgetExhaustedCount());
+    }
+
+    @Test
+    void testCancelCancelsAttempts() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        CompletableFuture<String> result = engine.executeAsync("GET /v1/info", () -> slow);
+        result.cancel(true);
+
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    void testExecuteHedgesSlowBlockingAttempt() throws InterruptedException {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger interrupts = new AtomicInteger();
+
+        String result = engine.execute("GET /v1/parameters", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupts.incrementAndGet();
+                }
+                finished.countDown();
+                return "slow";
+            }
+            return "fast";
+        });
+
+        // the caller returns while the first attempt, which cannot be cancelled, is still running
+        assertEquals("fast", result);
+        assertEquals(1, finished.getCount());
+        released.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(0, interrupts.get());
+        assertEquals(1, metrics(engine).getHedgeWins());
+    }
+
+    @Test
+    void testExecuteRunsOnCallingThreadWhenExecutorRejectsCall() {
+        ExecutorService saturated = Executors.newSingleThreadExecutor();
+        saturated.shutdown();
+        HedgingEngine engine = new HedgingEngine(config(), null, saturated);
+        Thread caller = Thread.currentThread();
+
+        String result = engine.execute("GET /v1/site", () -> {
+            assertSame(caller, Thread.currentThread());
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(0, metrics(engine).getHedges());
+    }
+
+    @Test
+    void testExecuteRunsFirstAttemptOnCallingThread() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        ThreadLocal<String> context = new ThreadLocal<>();
+        Thread caller = Thread.currentThread();
+        context.set("trace-1");
+        try {
+            String result = engine.execute("GET /v1/site", () -> {
+                assertSame(caller, Thread.currentThread());
+                return context.get();
+            }, true);
+            assertEquals("trace-1", result);
+        } finally {
+            context.remove();
+        }
+    }
+
+    @Test
+    void testExecuteCancelsLosingAttemptThroughCall() throws InterruptedException {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        String result = engine.execute("GET /v1/parameters", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                CallCancellation.register(cancelled::countDown);
+                try {
+                    assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    fail("the first attempt must be cancelled through its call");
+                }
+                throw new HttpClientException("Canceled");
+            }
+            return "fast";
+        }, true);
+
+        assertEquals("fast", result);
+        assertEquals(0, cancelled.getCount());
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(1, metrics(engine).getHedgeWins());
+    }
+
+    @Test
+    void testExecuteCancelsHedgeWhenFirstAttemptWins() throws InterruptedException {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        CountDownLatch hedged = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+
+        String result = engine.execute("GET /v1/parameters", () -> {
+            if (Thread.currentThread() == caller) {
+                try {
+                    assertTrue(hedged.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new HttpClientException("Interrupted", e);
+                }
+                return "first";
+            }
+            CallCancellation.register(cancelled::countDown);
+            hedged.countDown();
+            try {
+                cancelled.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new HttpClientException("Canceled");
+        }, true);
+
+        assertEquals("first", result);
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        HedgeMetrics metrics = metrics(engine);
+        assertEquals(1, metrics.getHedges());
+        assertEquals(0, metrics.getHedgeWins());
+    }
+
+    @Test
+    void testExecuteKeepsFirstAttemptWhenExecutorRejectsHedge() {
+        ExecutorService saturated = Executors.newSingleThreadExecutor();
+        saturated.shutdown();
+        HedgingEngine engine = new HedgingEngine(config(), null, saturated);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = engine.execute("GET /v1/site", () -> {
+            attempts.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new HttpClientException("Interrupted", e);
+            }
+            return "slow";
+        }, true);
+
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, metrics(engine).getHedges());
+    }
+
+    @Test
+    void testExecuteRethrowsFailure() {
+        HedgingEngine engine = new HedgingEngine(config(), null);
+        HttpClientException failure = new HttpClientException(404, "not found");
+
+        HttpClientException error = assertThrows(HttpClientException.class,
+                () -> engine.execute("GET /v1/site", () -> {
+                    throw failure;
+                }));
+        assertSame(failure, error);
+    }
+
+    @Test
+    void testDecoratedBuilderHedgesReadsOnly() {
+        HedgingEngine engine = new HedgingEngine(config(), null).forEndpointGroup("dataset");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenReturn("ok");
+
+        HttpRequestBuilder write = engine.decorate(delegate, "POST", null);
+        write.uri("/v1/datasets/{datasetId}/documents/{documentId}/segments", "dataset-1", "document-1");
+        assertEquals("ok", write.execute(String.class));
+        assertTrue(engine.getMetrics().isEmpty());
+
+        HttpRequestBuilder read = engine.decorate(delegate, "POST", null);
+        read.uri("/v1/datasets/{datasetId}/retrieve", "dataset-1");
+        assertEquals("ok", read.execute(String.class));
+        assertEquals("dataset:POST /v1/datasets/{datasetId}/retrieve", metrics(engine).getEndpoint());
+    }
+}
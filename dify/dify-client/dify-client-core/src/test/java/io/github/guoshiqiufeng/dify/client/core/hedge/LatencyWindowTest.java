@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for LatencyWindow
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class LatencyWindowTest {
+
+    @Test
+    void testDelayIsUpperBoundUntilMinSamples() {
+        LatencyWindow window = new LatencyWindow(90.0, 10, 1000, 10);
+        for (int i = 1; i < 10; i++) {
+            window.record(100);
+        }
+        assertEquals(1000, window.getDelayMillis());
+
+        window.record(100);
+        assertEquals(100, window.getDelayMillis());
+    }
+
+    @Test
+    void testDelayFollowsPercentile() {
+        LatencyWindow window = new LatencyWindow(90.0, 1, 1000, 10);
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+        // recomputed every RECOMPUTE_INTERVAL samples, last at the 98th of 100 samples
+        assertEquals(89, window.getDelayMillis());
+    }
+
+    @Test
+    void testDelayIsClamped() {
+        LatencyWindow slow = new LatencyWindow(50.0, 10, 500, 1);
+        slow.record(5000);
+        assertEquals(500, slow.getDelayMillis());
+
+        LatencyWindow fast = new LatencyWindow(50.0, 10, 500, 1);
+        fast.record(1);
+        assertEquals(10, fast.getDelayMillis());
+    }
+
+    @Test
+    void testWindowKeepsMostRecentSamples() {
+        LatencyWindow window = new LatencyWindow(100.0, 1, 100000, 1);
+        for (int i = 0; i < LatencyWindow.SIZE; i++) {
+            window.record(5000);
+        }
+        for (int i = 0; i < LatencyWindow.SIZE + LatencyWindow.RECOMPUTE_INTERVAL; i++) {
+            window.record(50);
+        }
+        assertEquals(50, window.getDelayMillis());
+    }
+}
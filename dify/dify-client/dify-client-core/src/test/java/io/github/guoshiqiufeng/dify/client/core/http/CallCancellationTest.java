@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CallCancellation
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CallCancellationTest {
+
+    @Test
+    void testRegisterOutsideScopeIsIgnored() {
+        AtomicInteger cancels = new AtomicInteger();
+        CallCancellation.register(cancels::incrementAndGet);
+
+        new CallCancellation().cancel();
+        assertEquals(0, cancels.get());
+    }
+
+    @Test
+    void testCancelRunsRegisteredAction() throws InterruptedException {
+        CallCancellation scope = new CallCancellation();
+        CountDownLatch registered = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        Thread worker = new Thread(() -> scope.run(() -> {
+            CallCancellation.register(cancelled::countDown);
+            registered.countDown();
+            try {
+                return cancelled.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        worker.start();
+        assertTrue(registered.await(5, TimeUnit.SECONDS));
+
+        scope.cancel();
+        scope.cancel();
+        worker.join(5000);
+        assertEquals(0, cancelled.getCount());
+        assertTrue(scope.isCancelled());
+        assertFalse(worker.isAlive());
+    }
+
+    @Test
+    void testCancelDoesNotInterruptCallWithoutAction() throws InterruptedException {
+        CallCancellation scope = new CallCancellation();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger interrupts = new AtomicInteger();
+
+        Thread worker = new Thread(() -> {
+            scope.run(() -> {
+                started.countDown();
+                try {
+                    assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    interrupts.incrementAndGet();
+                }
+                return null;
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                interrupts.incrementAndGet();
+            }
+        });
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scope.cancel();
+        cancelled.countDown();
+        worker.join(5000);
+        assertEquals(0, interrupts.get());
+        assertTrue(scope.isCancelled());
+    }
+
+    @Test
+    void testRunKeepsInterruptOfCall() throws InterruptedException {
+        CallCancellation scope = new CallCancellation();
+        AtomicInteger interrupts = new AtomicInteger();
+
+        Thread worker = new Thread(() -> {
+            scope.run(() -> {
+                Thread.currentThread().interrupt();
+                return null;
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                interrupts.incrementAndGet();
+            }
+        });
+        worker.start();
+        worker.join(5000);
+        assertEquals(1, interrupts.get());
+    }
+
+    @Test
+    void testIsActiveOnlyInsideScope() {
+        assertFalse(CallCancellation.isActive());
+        assertTrue(new CallCancellation().run(CallCancellation::isActive));
+        assertFalse(CallCancellation.isActive());
+    }
+
+    @Test
+    void testCancelledScopeRejectsCall() {
+        CallCancellation scope = new CallCancellation();
+        scope.cancel();
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(CancellationException.class, () -> scope.run(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.http;
+
+import io.github.guoshiqiufeng.dify.client.core.cache.ResponseCache;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.RequestCoalescer;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgingEngine;
+import io.github.guoshiqiufeng.dify.client.core.limit.AdaptiveConcurrencyLimiter;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimiterRegistry;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryEngine;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for HttpRequestDecorators
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class HttpRequestDecoratorsTest {
+
+    @Test
+    void testOfCreatesEnabledDecorators() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertTrue(HttpRequestDecorators.of(clientConfig).isEmpty());
+        assertTrue(HttpRequestDecorators.of(null).isEmpty());
+
+        clientConfig.getAdaptiveLimit().setEnabled(true);
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(1, decorators.size());
+        assertInstanceOf(AdaptiveConcurrencyLimiter.class, decorators.get(0));
+    }
+
+    @Test
+    void testOfAppliesRetryOutermost() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.getRetry().setEnabled(true);
+        clientConfig.getRateLimit().setEnabled(true);
+        clientConfig.getAdaptiveLimit().setEnabled(true);
+
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(3, decorators.size());
+        assertInstanceOf(AdaptiveConcurrencyLimiter.class, decorators.get(0));
+        assertInstanceOf(RateLimiterRegistry.class, decorators.get(1));
+        assertInstanceOf(RetryEngine.class, decorators.get(2));
+    }
+
+    @Test
+    void testOfAppliesCircuitBreakerFirst() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.getCircuitBreaker().setEnabled(true);
+        clientConfig.getAdaptiveLimit().setEnabled(true);
+
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(2, decorators.size());
+        assertInstanceOf(CircuitBreakerRegistry.class, decorators.get(0));
+        assertInstanceOf(AdaptiveConcurrencyLimiter.class, decorators.get(1));
+    }
+
+    @Test
+    void testOfAppliesHedgingInsideRetry() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.getRetry().setEnabled(true);
+        clientConfig.getHedge().setEnabled(true);
+        clientConfig.getRateLimit().setEnabled(true);
+
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(3, decorators.size());
+        assertInstanceOf(RateLimiterRegistry.class, decorators.get(0));
+        assertInstanceOf(HedgingEngine.class, decorators.get(1));
+        assertInstanceOf(RetryEngine.class, decorators.get(2));
+    }
+
+    @Test
+    void testOfAppliesCoalescingLast() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.getRetry().setEnabled(true);
+        clientConfig.getCoalesce().setEnabled(true);
+
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(2, decorators.size());
+        assertInstanceOf(RetryEngine.class, decorators.get(0));
+        assertInstanceOf(RequestCoalescer.class, decorators.get(1));
+    }
+
+    @Test
+    void testOfAppliesResponseCacheLast() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.getCoalesce().setEnabled(true);
+        clientConfig.getCache().setEnabled(true);
+
+        List<HttpRequestDecorator> decorators = HttpRequestDecorators.of(clientConfig);
+        assertEquals(2, decorators.size());
+        assertInstanceOf(RequestCoalescer.class, decorators.get(0));
+        assertInstanceOf(ResponseCache.class, decorators.get(1));
+    }
+
+    @Test
+    void testRegisterReplacesDecoratorOfSameClass() {
+        List<HttpRequestDecorator> decorators = new ArrayList<>();
+        AdaptiveConcurrencyLimiter own = new AdaptiveConcurrencyLimiter(null, null);
+        HttpRequestDecorator other = (builder, method, defaultAuthorization) -> builder;
+        AdaptiveConcurrencyLimiter shared = new AdaptiveConcurrencyLimiter(null, null);
+
+        HttpRequestDecorators.register(decorators, own);
+        HttpRequestDecorators.register(decorators, other);
+        HttpRequestDecorators.register(decorators, shared);
+
+        assertEquals(2, decorators.size());
+        assertSame(shared, decorators.get(0));
+        assertSame(other, decorators.get(1));
+    }
+
+    @Test
+    void testApplyWrapsInRegistrationOrder() {
+        HttpRequestBuilder builder = mock(HttpRequestBuilder.class);
+        HttpRequestBuilder first = mock(HttpRequestBuilder.class);
+        HttpRequestBuilder second = mock(HttpRequestBuilder.class);
+        List<HttpRequestDecorator> decorators = new ArrayList<>();
+        decorators.add((delegate, method, defaultAuthorization) -> {
+            assertSame(builder, delegate);
+            assertEquals("GET", method);
+            assertEquals("Bearer app-key", defaultAuthorization);
+            return first;
+        });
+        decorators.add((delegate, method, defaultAuthorization) -> {
+            assertSame(first, delegate);
+            return second;
+        });
+
+        assertSame(second, HttpRequestDecorators.apply(builder, decorators, "GET", "Bearer app-key"));
+        assertSame(builder, HttpRequestDecorators.apply(builder, new ArrayList<>(), "GET", null));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testOfReturnsNullUnlessEnabled() {
+        assertNull(AdaptiveConcurrencyLimiter.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(AdaptiveConcurrencyLimiter.of(clientConfig));
+
+        clientConfig.getAdaptiveLimit().setEnabled(true);
+        assertNotNull(AdaptiveConcurrencyLimiter.of(clientConfig));
+    }
+
+    @Test
+    void testSeparateRequestAndStreamLimits() {
+        DifyProperties.AdaptiveLimitConfig config = new DifyProperties.AdaptiveLimitConfig();
+        config.setInitialLimit(8);
+        config.setStreamInitialLimit(3);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, null);
+
+        assertEquals(8, limiter.getRequestLimit().getLimit());
+        assertEquals(3, limiter.getStreamLimit().getLimit());
+
+        List<AdaptiveLimitMetrics> metrics = limiter.getMetrics();
+        assertEquals(2, metrics.size());
+        assertEquals("requests", metrics.get(0).getName());
+        assertEquals("streams", metrics.get(1).getName());
+        assertEquals(config.getAlgorithm(), metrics.get(0).getAlgorithm());
+    }
+
+    @Test
+    void testDecoratedBuilderRoutesStreamsToStreamLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new DifyProperties.AdaptiveLimitConfig(),
+                null);
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenAnswer(invocation -> {
+            assertEquals(1, limiter.getRequestLimit().getMetrics().getInFlightCalls());
+            assertEquals(0, limiter.getStreamLimit().getMetrics().getInFlightCalls());
+            return "ok";
+        });
+        when(delegate.stream(String.class)).thenReturn(Flux.defer(() -> {
+            assertEquals(0, limiter.getRequestLimit().getMetrics().getInFlightCalls());
+            assertEquals(1, limiter.getStreamLimit().getMetrics().getInFlightCalls());
+            return Flux.just("a");
+        }));
+
+        assertEquals("ok", limiter.decorate(delegate, "POST", null).execute(String.class));
+        assertEquals("a", limiter.decorate(delegate, "POST", null).stream(String.class).blockLast());
+        verify(delegate).execute(String.class);
+        verify(delegate).stream(String.class);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.limit;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadFullException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.AdaptiveLimitAlgorithmEnum;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveLimit
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class AdaptiveLimitTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static AdaptiveLimit limit(AdaptiveLimitAlgorithmEnum algorithm, int initialLimit,
+                                       AdaptiveLimitListener listener) {
+        DifyProperties.AdaptiveLimitConfig config = new DifyProperties.AdaptiveLimitConfig();
+        config.setAlgorithm(algorithm);
+        return new AdaptiveLimit("requests", config, initialLimit, 10, listener);
+    }
+
+    @Test
+    void testAimdGrowsWhenSaturatedAndBacksOffOnDrop() {
+        List<String> changes = new ArrayList<>();
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 2, new AdaptiveLimitListener() {
+            @Override
+            public void onLimitChanged(String name, int oldLimit, int newLimit) {
+                changes.add(oldLimit + "->" + newLimit);
+            }
+        });
+
+        limit.onComplete(MILLIS, 2, "ok", null);
+        assertEquals(3, limit.getLimit());
+
+        limit.onComplete(MILLIS, 1, "ok", null);
+        assertEquals(3, limit.getLimit());
+
+        limit.onComplete(MILLIS, 3, null, new HttpClientException(429, "Too Many Requests"));
+        assertEquals(2, limit.getLimit());
+        assertEquals(Arrays.asList("2->3", "3->2"), changes);
+        assertEquals(1, limit.getMetrics().getDropCount());
+    }
+
+    @Test
+    void testLimitStaysWithinBounds() {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 10, null);
+        limit.onComplete(MILLIS, 10, "ok", null);
+        assertEquals(10, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.onComplete(MILLIS, 1, new ResponseEntity<>(503, Collections.emptyMap(), null), null);
+        }
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    void testGradientShrinksWhenLatencyRises() {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.GRADIENT, 5, null);
+        for (int i = 0; i < 20; i++) {
+            limit.onComplete(10 * MILLIS, limit.getLimit(), "ok", null);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 5, "limit should grow while latency is stable: " + grown);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onComplete(200 * MILLIS, limit.getLimit(), "ok", null);
+        }
+        assertTrue(limit.getLimit() < grown, "limit should shrink when latency rises: " + limit.getLimit());
+        assertEquals(0, limit.getMetrics().getDropCount());
+        assertTrue(limit.getMetrics().getAverageRttMillis() > 10);
+    }
+
+    @Test
+    void testGradientDoesNotGrowWithoutLoad() {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.GRADIENT, 6, null);
+        for (int i = 0; i < 20; i++) {
+            limit.onComplete(10 * MILLIS, 1, "ok", null);
+        }
+        assertEquals(6, limit.getLimit());
+    }
+
+    @Test
+    void testClassifiesOutcomes() {
+        assertFalse(AdaptiveLimit.isDropped("ok", null));
+        assertFalse(AdaptiveLimit.isDropped(new ResponseEntity<>(200, Collections.emptyMap(), null), null));
+        assertTrue(AdaptiveLimit.isDropped(new ResponseEntity<>(429, Collections.emptyMap(), null), null));
+        assertFalse(AdaptiveLimit.isDropped(null, new HttpClientException(404, "Not Found")));
+        assertTrue(AdaptiveLimit.isDropped(null, new HttpClientException(502, "Bad Gateway")));
+        assertTrue(AdaptiveLimit.isDropped(null,
+                new CompletionException(new HttpClientException("HTTP request failed", new IOException("reset")))));
+        assertTrue(AdaptiveLimit.isDropped(null, new StreamTimeoutException("idle")));
+        assertNull(AdaptiveLimit.isDropped(null, new CancellationException()));
+        assertNull(AdaptiveLimit.isDropped(null, new BulkheadFullException("requests", "full")));
+        assertNull(AdaptiveLimit.isDropped(null, new HttpClientException("Failed to serialize request body")));
+    }
+
+    @Test
+    void testExecuteRecordsSamples() {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 1, null);
+
+        assertEquals("ok", limit.execute(() -> "ok"));
+        assertEquals(2, limit.getLimit());
+
+        assertThrows(HttpClientException.class, () -> limit.execute(() -> {
+            throw new HttpClientException(500, "error");
+        }));
+        assertEquals(1, limit.getLimit());
+        assertEquals(0, limit.getMetrics().getInFlightCalls());
+    }
+
+    @Test
+    void testExecuteAsyncRecordsSampleOnCompletion() throws Exception {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 1, null);
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        CompletableFuture<String> result = limit.executeAsync(() -> response);
+        assertEquals(1, limit.getMetrics().getInFlightCalls());
+        assertEquals(1, limit.getLimit());
+
+        response.complete("ok");
+        assertEquals("ok", result.get(1, TimeUnit.SECONDS));
+        assertEquals(2, limit.getLimit());
+        assertEquals(0, limit.getMetrics().getInFlightCalls());
+    }
+
+    @Test
+    void testStreamHoldsLimitUntilTerminated() {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 1, null);
+
+        Flux<String> stream = limit.executeFlux(() -> Flux.just("a", "b")
+                .doOnNext(element -> assertEquals(1, limit.getMetrics().getInFlightCalls())));
+        assertEquals(Arrays.asList("a", "b"), stream.collectList().block());
+        assertEquals(0, limit.getMetrics().getInFlightCalls());
+        assertEquals(2, limit.getLimit());
+
+        Flux<String> failing = limit.executeFlux(() -> Flux.error(new HttpClientException(429, "busy")));
+        assertThrows(HttpClientException.class, failing::blockLast);
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    void testRaisedLimitAdmitsQueuedCalls() throws Exception {
+        AdaptiveLimit limit = limit(AdaptiveLimitAlgorithmEnum.AIMD, 1, null);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> firstResult = limit.executeAsync(() -> first);
+        CompletableFuture<String> second = limit.executeAsync(() -> CompletableFuture.completedFuture("second"));
+        assertFalse(second.isDone());
+        assertEquals(1, limit.getMetrics().getQueuedCalls());
+
+        first.complete("first");
+        assertEquals("first", firstResult.get(1, TimeUnit.SECONDS));
+        assertEquals("second", second.get(1, TimeUnit.SECONDS));
+    }
+}
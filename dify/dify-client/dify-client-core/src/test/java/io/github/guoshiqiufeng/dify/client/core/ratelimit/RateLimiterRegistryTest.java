@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.exception.DiftClientExceptionEnum;
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RateLimiterRegistry
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class RateLimiterRegistryTest {
+
+    @Test
+    void testOfReturnsNullUnlessEnabled() {
+        assertNull(RateLimiterRegistry.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(RateLimiterRegistry.of(clientConfig));
+
+        clientConfig.getRateLimit().setEnabled(true);
+        assertNotNull(RateLimiterRegistry.of(clientConfig));
+    }
+
+    @Test
+    void testBucketsPerApiKeyAndEndpointGroup() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(new DifyProperties.RateLimitConfig(), null);
+        RateLimiterRegistry chat = registry.forEndpointGroup("chat");
+        RateLimiterRegistry dataset = registry.forEndpointGroup("dataset");
+
+        TokenBucket bucket = chat.forApiKey("app-chat-key-0001");
+        assertSame(bucket, chat.forApiKey("app-chat-key-0001"));
+        assertSame(bucket, chat.forAuthorization("Bearer app-chat-key-0001"));
+        assertSame(bucket, registry.forEndpointGroup("chat").forApiKey("app-chat-key-0001"));
+        assertNotSame(bucket, dataset.forApiKey("app-chat-key-0001"));
+        assertNotSame(bucket, chat.forApiKey("app-chat-key-0002"));
+        assertEquals("chat:app-****0001", bucket.getName());
+        assertEquals("chat", chat.getEndpointGroup());
+
+        assertNull(chat.forApiKey(null));
+        assertNull(chat.forAuthorization(""));
+        assertEquals(3, registry.getMetrics().size());
+        assertEquals(3, dataset.getMetrics().size());
+    }
+
+    @Test
+    void testParseRetryAfter() {
+        assertEquals(2000, RateLimiterRegistry.parseRetryAfterMillis("2", 0));
+        assertEquals(1500, RateLimiterRegistry.parseRetryAfterMillis(" 1.5 ", 0));
+        assertEquals(-1, RateLimiterRegistry.parseRetryAfterMillis(null, 0));
+        assertEquals(-1, RateLimiterRegistry.parseRetryAfterMillis("soon", 0));
+        assertEquals(-1, RateLimiterRegistry.parseRetryAfterMillis("-1", 0));
+
+        String date = "Wed, 21 Oct 2015 07:28:00 GMT";
+        long epochMillis = ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        assertEquals(5000, RateLimiterRegistry.parseRetryAfterMillis(date, epochMillis - 5000));
+        assertEquals(0, RateLimiterRegistry.parseRetryAfterMillis(date, epochMillis + 5000));
+    }
+
+    @Test
+    void testPauseMillisBounds() {
+        DifyProperties.RateLimitConfig config = new DifyProperties.RateLimitConfig();
+        config.setDefaultRetryAfterMillis(700L);
+        config.setMaxRetryAfterMillis(10000L);
+        RateLimiterRegistry registry = new RateLimiterRegistry(config, null);
+
+        assertEquals(700, registry.pauseMillis(null, 0));
+        assertEquals(3000, registry.pauseMillis("3", 0));
+        assertEquals(10000, registry.pauseMillis("120", 0));
+    }
+
+    @Test
+    void testIsTooManyRequests() {
+        assertTrue(RateLimitHttpRequestBuilder.isTooManyRequests(new HttpClientException(429, "busy")));
+        assertTrue(RateLimitHttpRequestBuilder.isTooManyRequests(
+                new CompletionException(new DifyClientException(DiftClientExceptionEnum.RATE_LIMIT_EXCEEDED))));
+        assertFalse(RateLimitHttpRequestBuilder.isTooManyRequests(new HttpClientException(503, "down")));
+        assertFalse(RateLimitHttpRequestBuilder.isTooManyRequests(new IllegalStateException()));
+    }
+
+    @Test
+    void testErrorResponsePausesBucketForRetryAfter() throws Exception {
+        RateLimiterRegistry registry = new RateLimiterRegistry(new DifyProperties.RateLimitConfig(), null)
+                .forEndpointGroup("chat");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        ResponseSpec spec = mock(ResponseSpec.class);
+        AtomicReference<ResponseErrorHandler> registered = new AtomicReference<>();
+        when(delegate.retrieve()).thenReturn(spec);
+        when(spec.onStatus(any())).thenAnswer(invocation -> {
+            registered.set(invocation.getArgument(0));
+            return spec;
+        });
+        when(spec.body(String.class)).thenAnswer(invocation -> {
+            ResponseEntity<String> response = ResponseEntity.<String>builder()
+                    .statusCode(429)
+                    .header("retry-after", "3")
+                    .body("Too Many Requests")
+                    .build();
+            if (registered.get().getStatusPredicate().test(response.getStatusCode())) {
+                registered.get().handle(response);
+            }
+            return "unreachable";
+        });
+        ResponseErrorHandler handler = ResponseErrorHandler.on4xxStatus(response -> {
+            throw new DifyClientException(DiftClientExceptionEnum.RATE_LIMIT_EXCEEDED);
+        });
+
+        HttpRequestBuilder builder = registry.decorate(delegate, "POST", "Bearer app-chat-key-0001");
+        assertThrows(DifyClientException.class, () -> builder.retrieve().onStatus(handler).body(String.class));
+
+        RateLimitMetrics metrics = registry.forApiKey("app-chat-key-0001").getMetrics();
+        assertEquals(1, metrics.getThrottledCount());
+        assertTrue(metrics.getPausedMillis() > 2000);
+    }
+
+    @Test
+    void testFailureWith429PausesBucketForDefault() {
+        DifyProperties.RateLimitConfig config = new DifyProperties.RateLimitConfig();
+        config.setDefaultRetryAfterMillis(500L);
+        RateLimiterRegistry registry = new RateLimiterRegistry(config, null);
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenThrow(new HttpClientException(429, "busy"));
+
+        HttpRequestBuilder builder = registry.decorate(delegate, "POST", "Bearer app-chat-key-0001");
+        assertThrows(HttpClientException.class, () -> builder.execute(String.class));
+
+        RateLimitMetrics metrics = registry.forApiKey("app-chat-key-0001").getMetrics();
+        assertEquals(1, metrics.getThrottledCount());
+        assertTrue(metrics.getPausedMillis() > 0 && metrics.getPausedMillis() <= 500);
+    }
+
+    @Test
+    void testOnlyRequestsWithAuthorizationAreLimited() {
+        DifyProperties.RateLimitConfig config = new DifyProperties.RateLimitConfig();
+        config.setBurst(1);
+        config.setMaxQueueSize(0);
+        RateLimiterRegistry registry = new RateLimiterRegistry(config, null);
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenReturn("ok");
+
+        assertEquals("ok", registry.decorate(delegate, "GET", null).execute(String.class));
+        assertEquals("ok", registry.decorate(delegate, "GET", null).execute(String.class));
+
+        assertEquals("ok", registry.decorate(delegate, "GET", "Bearer app-key").execute(String.class));
+        assertThrows(RateLimitExceededException.class,
+                () -> registry.decorate(delegate, "GET", "Bearer app-key").execute(String.class));
+        assertEquals(1, registry.getMetrics().get(0).getRejectedCount());
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class TokenBucketTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenQueueAtRate() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket("test", 10, 2, 1, 1000, null, now::get);
+
+        assertEquals(0, bucket.reserve(now.get()));
+        assertEquals(0, bucket.reserve(now.get()));
+        assertEquals(100 * MILLI, bucket.reserve(now.get()));
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> bucket.reserve(now.get()));
+        assertEquals("test", e.getBucket());
+        assertEquals(200, e.getRetryAfterMillis());
+
+        RateLimitMetrics metrics = bucket.getMetrics();
+        assertEquals(2, metrics.getAcquiredCount());
+        assertEquals(1, metrics.getQueuedCalls());
+        assertEquals(1, metrics.getRejectedCount());
+    }
+
+    @Test
+    void testRejectsWaitLongerThanQueueTimeout() {
+        AtomicLong now = new AtomicLong(0);
+        AtomicInteger rejections = new AtomicInteger();
+        TokenBucket bucket = new TokenBucket("test", 10, 1, 10, 150, new RateLimitListener() {
+            @Override
+            public void onRejected(String bucket) {
+                rejections.incrementAndGet();
+            }
+        }, now::get);
+
+        assertEquals(0, bucket.reserve(now.get()));
+        assertEquals(100 * MILLI, bucket.reserve(now.get()));
+        assertThrows(RateLimitExceededException.class, () -> bucket.reserve(now.get()));
+        assertEquals(1, rejections.get());
+    }
+
+    @Test
+    void testRefillIsCappedAtBurst() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket("test", 10, 3, 0, 0, null, now::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve(now.get());
+        }
+        assertEquals(0, bucket.getMetrics().getAvailablePermits(), 1e-9);
+        assertFalse(bucket.isIdle());
+
+        now.addAndGet(150 * MILLI);
+        assertEquals(1.5, bucket.getMetrics().getAvailablePermits(), 1e-9);
+
+        now.addAndGet(10_000 * MILLI);
+        assertEquals(3, bucket.getMetrics().getAvailablePermits(), 1e-9);
+        assertTrue(bucket.isIdle());
+    }
+
+    @Test
+    void testPauseDropsStoredPermitsAndDelaysReservations() {
+        AtomicLong now = new AtomicLong(0);
+        AtomicLong pausedFor = new AtomicLong();
+        TokenBucket bucket = new TokenBucket("test", 10, 5, 10, 0, new RateLimitListener() {
+            @Override
+            public void onThrottled(String bucket, long pauseMillis) {
+                pausedFor.set(pauseMillis);
+            }
+        }, now::get);
+
+        bucket.pause(500);
+        RateLimitMetrics metrics = bucket.getMetrics();
+        assertEquals(0, metrics.getAvailablePermits(), 1e-9);
+        assertEquals(500, metrics.getPausedMillis());
+        assertEquals(1, metrics.getThrottledCount());
+        assertEquals(500, pausedFor.get());
+
+        // a shorter pause does not shorten the current one
+        bucket.pause(100);
+        assertEquals(1, bucket.getMetrics().getThrottledCount());
+
+        assertEquals(500 * MILLI, bucket.reserve(now.get()));
+        assertEquals(600 * MILLI, bucket.reserve(now.get()));
+    }
+
+    @Test
+    void testPauseMovesQueuedReservationsBack() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket("test", 10, 1, 10, 0, null, now::get);
+        assertEquals(0, bucket.reserve(now.get()));
+        long first = bucket.reserveSlot(now.get());
+        long second = bucket.reserveSlot(now.get());
+        long third = bucket.reserveSlot(now.get());
+
+        now.set(50 * MILLI);
+        bucket.pause(500);
+        // the queue keeps its spacing after the pause instead of draining at once when it ends
+        assertEquals(550 * MILLI, bucket.remainingWaitNanos(first));
+        assertEquals(650 * MILLI, bucket.remainingWaitNanos(second));
+        assertEquals(750 * MILLI, bucket.remainingWaitNanos(third));
+        assertEquals(850 * MILLI, bucket.reserve(now.get()));
+
+        // extending the pause only adds the extra time
+        bucket.pause(600);
+        assertEquals(650 * MILLI, bucket.remainingWaitNanos(first));
+        assertEquals(850 * MILLI, bucket.remainingWaitNanos(third));
+
+        now.set(700 * MILLI);
+        assertEquals(0, bucket.remainingWaitNanos(first));
+        assertEquals(100 * MILLI, bucket.remainingWaitNanos(second));
+    }
+
+    @Test
+    void testAcquireWaitsForNextPermit() {
+        TokenBucket bucket = new TokenBucket("test", 20, 1, 1, 0, null);
+        long start = System.nanoTime();
+        bucket.acquire();
+        bucket.acquire();
+        assertTrue(System.nanoTime() - start >= 40 * MILLI);
+
+        RateLimitMetrics metrics = bucket.getMetrics();
+        assertEquals(2, metrics.getAcquiredCount());
+        assertEquals(1, metrics.getDelayedCount());
+        assertEquals(0, metrics.getQueuedCalls());
+    }
+
+    @Test
+    void testAcquireAsyncCompletesAfterWait() {
+        TokenBucket bucket = new TokenBucket("test", 10, 1, 1, 0, null);
+        assertTrue(bucket.acquireAsync().isDone());
+
+        CompletableFuture<Void> permit = bucket.acquireAsync();
+        assertFalse(permit.isDone());
+        assertEquals(1, bucket.getMetrics().getQueuedCalls());
+        permit.join();
+        assertEquals(0, bucket.getMetrics().getQueuedCalls());
+        assertEquals(1, bucket.getMetrics().getDelayedCount());
+
+        CompletableFuture<Void> queued = bucket.acquireAsync();
+        CompletableFuture<Void> queueFull = bucket.acquireAsync();
+        assertTrue(queueFull.isCompletedExceptionally());
+        queued.cancel(false);
+        assertEquals(0, bucket.getMetrics().getQueuedCalls());
+    }
+
+    @Test
+    void testWaitingCallsHonourPause() {
+        TokenBucket bucket = new TokenBucket("test", 10, 1, 10, 0, null);
+        bucket.acquire();
+        long start = System.nanoTime();
+        CompletableFuture<Void> permit = bucket.acquireAsync();
+        bucket.pause(300);
+        permit.join();
+        assertTrue(System.nanoTime() - start >= 250 * MILLI);
+    }
+
+    @Test
+    void testCallsQueuedAcrossPauseResumeAtRate() {
+        TokenBucket bucket = new TokenBucket("test", 20, 1, 10, 0, null);
+        bucket.acquire();
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> permits = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            permits.add(bucket.acquireAsync().thenApply(ignored -> System.nanoTime()));
+        }
+        bucket.pause(200);
+
+        long previous = start;
+        for (CompletableFuture<Long> permit : permits) {
+            long granted = permit.join();
+            assertTrue(granted - previous >= 30 * MILLI);
+            previous = granted;
+        }
+        assertTrue(permits.get(0).join() - start >= 200 * MILLI);
+    }
+
+    @Test
+    void testExecuteVariants() {
+        TokenBucket bucket = new TokenBucket("test", 100, 1, 10, 0, null);
+        assertEquals("a", bucket.execute(() -> "a"));
+        assertEquals("b", bucket.executeAsync(() -> CompletableFuture.completedFuture("b")).join());
+        assertEquals("c", bucket.executeFlux(() -> Flux.just("c")).blockLast());
+        assertEquals(3, bucket.getMetrics().getAcquiredCount());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.exception.BaseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DefaultRetryPolicy
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class DefaultRetryPolicyTest {
+
+    private final DefaultRetryPolicy policy = new DefaultRetryPolicy(new DifyProperties.RetryConfig(), () -> 0.0);
+
+    /**
+     * Stands in for the pool acquire timeout of reactor-netty, matched by simple class name.
+     */
+    static class PoolAcquireTimeoutException extends TimeoutException {
+    }
+
+    @Test
+    void testIdempotentMethods() {
+        assertTrue(DefaultRetryPolicy.isIdempotent("GET"));
+        assertTrue(DefaultRetryPolicy.isIdempotent("delete"));
+        assertTrue(DefaultRetryPolicy.isIdempotent("PUT"));
+        assertFalse(DefaultRetryPolicy.isIdempotent("POST"));
+        assertFalse(DefaultRetryPolicy.isIdempotent("PATCH"));
+        assertFalse(DefaultRetryPolicy.isIdempotent(null));
+    }
+
+    @Test
+    void testRequestsNotSentAreRetriedForEveryMethod() {
+        assertTrue(policy.isRetryable("POST", new HttpClientException("failed", new ConnectException("refused"))));
+        assertTrue(policy.isRetryable("POST", new SocketTimeoutException("connect timed out")));
+        assertTrue(policy.isRetryable("POST", new HttpClientException("failed", new PoolAcquireTimeoutException())));
+    }
+
+    @Test
+    void testTransportErrorsAreOnlyRetriedForIdempotentMethods() {
+        HttpClientException reset = new HttpClientException("failed", new IOException("Connection reset"));
+        assertTrue(policy.isRetryable("GET", reset));
+        assertFalse(policy.isRetryable("POST", reset));
+        assertTrue(policy.isRetryable("GET", new SocketTimeoutException("Read timed out")));
+        assertFalse(policy.isRetryable("POST", new SocketTimeoutException("Read timed out")));
+    }
+
+    @Test
+    void testStatusCodes() {
+        assertTrue(policy.isRetryable("GET", new HttpClientException(502, "bad gateway")));
+        assertFalse(policy.isRetryable("POST", new HttpClientException(502, "bad gateway")));
+        assertTrue(policy.isRetryable("POST", new HttpClientException(503, "unavailable")));
+        assertTrue(policy.isRetryable("GET", new BaseException(504, "timeout")));
+        assertFalse(policy.isRetryable("GET", new HttpClientException(500, "error")));
+        assertFalse(policy.isRetryable("GET", new HttpClientException(404, "not found")));
+    }
+
+    @Test
+    void testLocalFailuresAreNotRetried() {
+        assertFalse(policy.isRetryable("GET", new StreamTimeoutException("idle", new IOException())));
+        assertFalse(policy.isRetryable("GET", new CancellationException()));
+        assertFalse(policy.isRetryable("GET", new HttpClientException("rejected")));
+        assertFalse(policy.isRetryable("GET", null));
+    }
+
+    @Test
+    void testRetryDelayStopsAtMaxAttempts() {
+        HttpClientException error = new HttpClientException(503, "unavailable");
+        assertEquals(200, policy.retryDelayMillis("GET", 1, error));
+        assertEquals(400, policy.retryDelayMillis("GET", 2, error));
+        assertEquals(-1, policy.retryDelayMillis("GET", 3, error));
+        assertEquals(-1, policy.retryDelayMillis("GET", 1, new HttpClientException(400, "bad request")));
+    }
+
+    @Test
+    void testBackoffIsCappedAndJittered() {
+        DifyProperties.RetryConfig config = new DifyProperties.RetryConfig();
+        config.setMaxAttempts(10);
+        config.setMaxBackoffMillis(1000L);
+        DefaultRetryPolicy noJitter = new DefaultRetryPolicy(config, () -> 0.0);
+        assertEquals(800, noJitter.backoffMillis(3));
+        assertEquals(1000, noJitter.backoffMillis(4));
+        assertEquals(1000, noJitter.backoffMillis(9));
+
+        DefaultRetryPolicy fullJitter = new DefaultRetryPolicy(config, () -> 0.999);
+        assertTrue(fullJitter.backoffMillis(4) >= 500);
+        assertTrue(fullJitter.backoffMillis(4) < 510);
+    }
+}
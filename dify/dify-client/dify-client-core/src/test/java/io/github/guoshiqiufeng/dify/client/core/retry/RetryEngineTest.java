@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.retry;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RetryEngine
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class RetryEngineTest {
+
+    private static DifyProperties.RetryConfig config() {
+        DifyProperties.RetryConfig config = new DifyProperties.RetryConfig();
+        config.setEnabled(true);
+        config.setInitialBackoffMillis(1L);
+        config.setMaxBackoffMillis(1L);
+        config.setJitter(0.0);
+        return config;
+    }
+
+    private static RetryMetrics metrics(RetryEngine engine) {
+        List<RetryMetrics> metrics = engine.getMetrics();
+        assertEquals(1, metrics.size());
+        return metrics.get(0);
+    }
+
+    @Test
+    void testOfRequiresEnabled() {
+        assertNull(RetryEngine.of(null));
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        assertNull(RetryEngine.of(clientConfig));
+
+        clientConfig.getRetry().setEnabled(true);
+        assertNotNull(RetryEngine.of(clientConfig));
+    }
+
+    @Test
+    void testExecuteRetriesTransientFailures() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = engine.execute("GET /v1/info", "GET", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new HttpClientException(503, "unavailable");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        RetryMetrics metrics = metrics(engine);
+        assertEquals("GET /v1/info", metrics.getEndpoint());
+        assertEquals(1, metrics.getCalls());
+        assertEquals(2, metrics.getRetries());
+        assertEquals(1, metrics.getRecoveredCalls());
+    }
+
+    @Test
+    void testExecuteDoesNotRetryUnsafeMethodAfterSend() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+        HttpClientException error = new HttpClientException("failed", new IOException("Connection reset"));
+
+        HttpClientException thrown = assertThrows(HttpClientException.class,
+                () -> engine.execute("POST /v1/chat-messages", "POST", () -> {
+                    attempts.incrementAndGet();
+                    throw error;
+                }));
+
+        assertSame(error, thrown);
+        assertEquals(1, attempts.get());
+        assertEquals(0, metrics(engine).getRetries());
+    }
+
+    @Test
+    void testExecuteGivesUpAfterMaxAttempts() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientException.class, () -> engine.execute("GET /v1/info", "GET", () -> {
+            attempts.incrementAndGet();
+            throw new HttpClientException(502, "bad gateway");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, metrics(engine).getFailedAfterRetryCalls());
+    }
+
+    @Test
+    void testBudgetBoundsRetries() {
+        DifyProperties.RetryConfig config = config();
+        config.setBudgetRatio(0.0);
+        config.setBudgetMaxRetries(1);
+        AtomicInteger exhausted = new AtomicInteger();
+        RetryEngine engine = new RetryEngine(config, new RetryListener() {
+            @Override
+            public void onBudgetExhausted(String endpoint, Throwable error) {
+                exhausted.incrementAndGet();
+            }
+        });
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientException.class, () -> engine.execute("GET /v1/info", "GET", () -> {
+            attempts.incrementAndGet();
+            throw new HttpClientException(503, "unavailable");
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, exhausted.get());
+        assertEquals(1, metrics(engine).getBudgetExhaustedCount());
+        assertEquals(0.0, engine.getRemainingBudget());
+    }
+
+    @Test
+    void testMaxRetryDurationBoundsRetries() {
+        DifyProperties.RetryConfig config = config();
+        config.setInitialBackoffMillis(100L);
+        config.setMaxBackoffMillis(100L);
+        config.setMaxRetryDurationMillis(50L);
+        RetryEngine engine = new RetryEngine(config, null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientException.class, () -> engine.execute("GET /v1/info", "GET", () -> {
+            attempts.incrementAndGet();
+            throw new HttpClientException(503, "unavailable");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testCustomPolicy() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryEngine engine = new RetryEngine(config(), (method, attempt, error) -> attempt < 5 ? 0 : -1, null);
+
+        assertThrows(IllegalStateException.class, () -> engine.execute("POST /v1/files", "POST", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("failed");
+        }));
+
+        assertEquals(5, attempts.get());
+    }
+
+    @Test
+    void testExecuteAsyncRetriesTransientFailures() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = engine.executeAsync("GET /v1/info", "GET", () -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            if (attempts.incrementAndGet() < 2) {
+                future.completeExceptionally(new CompletionException(new HttpClientException(504, "timeout")));
+            } else {
+                future.complete("ok");
+            }
+            return future;
+        }).join();
+
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, metrics(engine).getRecoveredCalls());
+    }
+
+    @Test
+    void testExecuteAsyncFailsWithCause() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        HttpClientException error = new HttpClientException(400, "bad request");
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> engine.executeAsync("GET /v1/info", "GET", () -> {
+                    CompletableFuture<String> future = new CompletableFuture<>();
+                    future.completeExceptionally(error);
+                    return future;
+                }).join());
+
+        assertSame(error, thrown.getCause());
+    }
+
+    @Test
+    void testExecuteFluxRetriesBeforeFirstElement() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        List<Integer> elements = engine.executeFlux("POST /v1/chat-messages", "POST", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                return Flux.error(new HttpClientException(503, "unavailable"));
+            }
+            return Flux.just(1, 2);
+        }).collectList().block();
+
+        assertEquals(2, elements.size());
+        assertEquals(2, attempts.get());
+        assertEquals(1, metrics(engine).getRecoveredCalls());
+    }
+
+    @Test
+    void testExecuteFluxIsNotRetriedAfterFirstElement() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+
+        Flux<Integer> stream = engine.executeFlux("GET /v1/events", "GET", () -> {
+            attempts.incrementAndGet();
+            return Flux.concat(Flux.just(1), Flux.error(new HttpClientException(503, "unavailable")));
+        });
+
+        assertThrows(HttpClientException.class, () -> stream.doOnNext(element -> received.incrementAndGet())
+                .blockLast());
+        assertEquals(1, attempts.get());
+        assertEquals(1, received.get());
+    }
+
+    @Test
+    void testDecoratedBuilderNamesEndpointAndRetries() {
+        RetryEngine engine = new RetryEngine(config(), null).forEndpointGroup("dataset");
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class))
+                .thenThrow(new HttpClientException("failed", new IOException("Connection reset")))
+                .thenReturn("ok");
+
+        HttpRequestBuilder builder = engine.decorate(delegate, "GET", null);
+        assertSame(builder, builder.uri("/v1/datasets/{id}?page={page}", "dataset-1", 1));
+        assertEquals("ok", builder.execute(String.class));
+
+        verify(delegate, times(2)).execute(String.class);
+        assertEquals("dataset:GET /v1/datasets/{id}", metrics(engine).getEndpoint());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDecoratedBuilderRecordsUriBuilderPath() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        UriBuilder uriBuilder = mock(UriBuilder.class);
+        when(delegate.uri(any(Consumer.class))).thenAnswer(invocation -> {
+            ((Consumer<UriBuilder>) invocation.getArgument(0)).accept(uriBuilder);
+            return delegate;
+        });
+        when(delegate.execute(String.class)).thenReturn("ok");
+
+        HttpRequestBuilder builder = engine.decorate(delegate, "GET", null);
+        builder.uri(uri -> uri.path("/v1/workflows/logs").queryParam("page", 1).build());
+        builder.execute(String.class);
+
+        verify(uriBuilder).path("/v1/workflows/logs");
+        verify(uriBuilder).queryParam("page", 1);
+        assertEquals("GET /v1/workflows/logs", metrics(engine).getEndpoint());
+    }
+
+    @Test
+    void testMultipartRequestsAreNotRetried() {
+        RetryEngine engine = new RetryEngine(config(), null);
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class);
+        when(delegate.execute(String.class)).thenThrow(new HttpClientException("failed", new IOException("reset")));
+
+        HttpRequestBuilder builder = engine.decorate(delegate, "PUT", null);
+        builder.multipart(Collections.singletonMap("file", "content"));
+
+        assertThrows(HttpClientException.class, () -> builder.execute(String.class));
+        verify(delegate, times(1)).execute(String.class);
+        assertTrue(engine.getMetrics().isEmpty());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SseFrameDecoder
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class SseFrameDecoderTest {
+
+    private SseFrameDecoder<String> newDecoder(int maxInMemorySize) {
+        return new SseFrameDecoder<>(
+                (data, offset, length) -> new String(data, offset, length, StandardCharsets.UTF_8), maxInMemorySize);
+    }
+
+    private List<String> decodeAll(SseFrameDecoder<String> decoder, String... chunks) {
+        List<String> result = new ArrayList<>();
+        for (String chunk : chunks) {
+            byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            result.addAll(decoder.decode(bytes, 0, bytes.length));
+        }
+        result.addAll(decoder.finish());
+        return result;
+    }
+
+    private ByteBuffer buffer(String chunk) {
+        return ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDecodeEventsInSingleBuffer() {
+        List<String> events = decodeAll(newDecoder(-1),
+                "data: {\"a\":1}\n\ndata: {\"b\":2}\n\n");
+
+        assertEquals(List.of("{\"a\":1}", "{\"b\":2}"), events);
+    }
+
+    @Test
+    void testDecodeEventSplitAcrossBuffers() {
+        List<String> events = decodeAll(newDecoder(-1),
+                "da", "ta: {\"answer\":", "\"你好\"}", "\n", "\ndata: {\"b\":2}\n\n");
+
+        assertEquals(List.of("{\"answer\":\"你好\"}", "{\"b\":2}"), events);
+    }
+
+    @Test
+    void testDecodeCrLfSplitAcrossBuffers() {
+        List<String> events = decodeAll(newDecoder(-1),
+                "data: first\r", "\n\r", "\ndata: second\r\r");
+
+        assertEquals(List.of("first", "second"), events);
+    }
+
+    @Test
+    void testSkipCommentsAndOtherFields() {
+        List<String> events = decodeAll(newDecoder(-1),
+                ": ping\n\nevent: ping\n\nid: 1\nevent: message\nretry: 10\ndata: {\"a\":1}\n\n");
+
+        assertEquals(List.of("{\"a\":1}"), events);
+    }
+
+    @Test
+    void testJoinMultiLineData() {
+        List<String> events = decodeAll(newDecoder(-1),
+                "data: line1\n", "data: line2\ndata:line3\n\n");
+
+        assertEquals(List.of("line1\nline2\nline3"), events);
+    }
+
+    @Test
+    void testEmptyDataIsDispatched() {
+        List<String> events = decodeAll(newDecoder(-1), "data:\n\n");
+
+        assertEquals(List.of(""), events);
+    }
+
+    @Test
+    void testFinishDispatchesUnterminatedEvent() {
+        SseFrameDecoder<String> decoder = newDecoder(-1);
+
+        assertTrue(decoder.decode(buffer("data: {\"a\":1}\ndata: {\"b\"")).isEmpty());
+        assertEquals(List.of("{\"a\":1}\n{\"b\""), decoder.finish());
+    }
+
+    @Test
+    void testSkipItemsMappedToNull() {
+        SseFrameDecoder<String> decoder = new SseFrameDecoder<>((data, offset, length) -> null, -1);
+
+        assertTrue(decodeAll(decoder, "data: {\"a\":1}\n\n").isEmpty());
+    }
+
+    @Test
+    void testLimitExceeded() {
+        SseFrameDecoder<String> decoder = newDecoder(16);
+
+        assertThrows(HttpClientException.class,
+                () -> decoder.decode(buffer("data: {\"answer\":\"this line is too long\"")));
+    }
+
+    @Test
+    void testLimitAppliesToPendingLineOnly() {
+        SseFrameDecoder<String> decoder = newDecoder(16);
+
+        List<String> events = decodeAll(decoder, "data: 1234567890\n\ndata: 1234567890\n\ndata: 1234567890\n\n");
+
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    void testDecodeByteBufferWithOffset() {
+        SseFrameDecoder<String> decoder = newDecoder(-1);
+        ByteBuffer chunk = buffer("xxdata: {\"a\":1}\n\n");
+        chunk.position(2);
+
+        assertEquals(List.of("{\"a\":1}"), decoder.decode(chunk));
+        assertFalse(chunk.hasRemaining());
+    }
+
+    @Test
+    void testJsonPayloadSkipsNonJson() {
+        SseFrameDecoder<String> decoder = new SseFrameDecoder<>(SseFrameDecoder.jsonPayload(
+                (data, offset, length) -> new String(data, offset, length, StandardCharsets.UTF_8)), -1);
+
+        List<String> events = decodeAll(decoder,
+                "data:\n\ndata: [DONE\n\ndata:   {\"a\":1}  \n\ndata: 42\n\ndata: true\n\ndata: nope\n\n");
+
+        assertEquals(List.of("{\"a\":1}", "42", "true"), events);
+    }
+
+    @Test
+    void testJsonPayloadSkipsDeserializationFailures() {
+        SseFrameDecoder<String> decoder = new SseFrameDecoder<>(SseFrameDecoder.jsonPayload((data, offset, length) -> {
+            if (data[offset + 1] == 'x') {
+                throw new IllegalStateException("bad payload");
+            }
+            return new String(data, offset, length, StandardCharsets.UTF_8);
+        }), -1);
+
+        List<String> events = decodeAll(decoder, "data: {x}\n\ndata: {\"a\":1}\n\n");
+
+        assertEquals(List.of("{\"a\":1}"), events);
+    }
+
+    @Test
+    void testIsCompleteJsonWithObjects() {
+        assertTrue(isCompleteJson("{\"key\":\"value\"}"));
+        assertTrue(isCompleteJson("{}"));
+        assertTrue(isCompleteJson("  {\"key\":\"value\"}  "));
+        assertFalse(isCompleteJson("{\"key\":\"value\""));
+        assertFalse(isCompleteJson("\"key\":\"value\"}"));
+    }
+
+    @Test
+    void testIsCompleteJsonWithArrays() {
+        assertTrue(isCompleteJson("[1,2,3]"));
+        assertTrue(isCompleteJson("[]"));
+        assertTrue(isCompleteJson("  [1,2,3]  "));
+        assertFalse(isCompleteJson("[1,2,3"));
+        assertFalse(isCompleteJson("1,2,3]"));
+    }
+
+    @Test
+    void testIsCompleteJsonWithStrings() {
+        assertTrue(isCompleteJson("\"hello\""));
+        assertTrue(isCompleteJson("\"\""));
+        assertFalse(isCompleteJson("\"hello"));
+        assertFalse(isCompleteJson("hello\""));
+    }
+
+    @Test
+    void testIsCompleteJsonWithPrimitives() {
+        assertTrue(isCompleteJson("true"));
+        assertTrue(isCompleteJson("false"));
+        assertTrue(isCompleteJson("null"));
+        assertTrue(isCompleteJson("123"));
+        assertTrue(isCompleteJson("123.456"));
+        assertTrue(isCompleteJson("-123.456"));
+        assertFalse(isCompleteJson("invalid"));
+    }
+
+    @Test
+    void testIsCompleteJsonWithEmptyInput() {
+        assertFalse(isCompleteJson(null));
+        assertFalse(isCompleteJson(""));
+        assertFalse(isCompleteJson("   "));
+    }
+
+    /**
+     * Trim the payload the way {@link SseFrameDecoder#jsonPayload} does before checking it.
+     */
+    private boolean isCompleteJson(String payload) {
+        if (payload == null) {
+            return false;
+        }
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        int from = 0;
+        int to = data.length;
+        while (from < to && data[from] <= ' ') {
+            from++;
+        }
+        while (to > from && data[to - 1] <= ' ') {
+            to--;
+        }
+        return SseFrameDecoder.isCompleteJson(data, from, to);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamCoalescer
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class StreamCoalescerTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(30);
+
+    /**
+     * Items shaped {@code "<segment>:<text>"} are deltas, anything else is structural.
+     */
+    private static final CoalesceStrategy<String> STRATEGY = new CoalesceStrategy<String>() {
+        @Override
+        public String delta(String item) {
+            return item.length() > 1 && item.charAt(1) == ':' ? item.substring(2) : null;
+        }
+
+        @Override
+        public boolean sameSegment(String head, String next) {
+            return head.charAt(0) == next.charAt(0);
+        }
+
+        @Override
+        public String merge(String head, String text) {
+            return head.charAt(0) + ":" + text;
+        }
+    };
+
+    private static Flux<String> coalesce(Flux<String> source, int maxBytes) {
+        return source.transform(StreamCoalescer.of(STRATEGY, WINDOW, maxBytes));
+    }
+
+    @Test
+    void testDeltasAreMergedUntilStructuralEvent() {
+        StepVerifier.create(coalesce(Flux.just("a:He", "a:llo", "END", "a:x"), 0))
+                .expectNext("a:Hello", "END", "a:x")
+                .verifyComplete();
+    }
+
+    @Test
+    void testSegmentChangeFlushesPendingDelta() {
+        StepVerifier.create(coalesce(Flux.just("a:1", "a:2", "b:3", "b:4"), 0))
+                .expectNext("a:12", "b:34")
+                .verifyComplete();
+    }
+
+    @Test
+    void testSingleDeltaIsEmittedUnchanged() {
+        String delta = new String("a:only");
+
+        StepVerifier.create(coalesce(Flux.just(delta), 0))
+                .assertNext(item -> assertSame(delta, item))
+                .verifyComplete();
+    }
+
+    @Test
+    void testByteThresholdFlushesImmediately() {
+        StepVerifier.create(coalesce(Flux.just("a:ab", "a:cd", "a:e"), 4))
+                .expectNext("a:abcd", "a:e")
+                .verifyComplete();
+    }
+
+    @Test
+    void testByteThresholdCountsUtf8Bytes() {
+        // Each CJK character is 3 bytes
+        StepVerifier.create(coalesce(Flux.just("a:你", "a:好", "a:!"), 6))
+                .expectNext("a:你好", "a:!")
+                .verifyComplete();
+    }
+
+    @Test
+    void testWindowFlushesPendingSegment() {
+        StepVerifier.withVirtualTime(() -> coalesce(Flux.just("a:1", "a:2")
+                        .concatWith(Flux.just("a:3").delayElements(Duration.ofMillis(100))), 0))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(29))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("a:12")
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("a:3")
+                .verifyComplete();
+    }
+
+    @Test
+    void testStaleWindowDoesNotFlushNextSegment() {
+        StepVerifier.withVirtualTime(() -> coalesce(Flux.just("a:1", "END")
+                        .concatWith(Flux.just("b:2").delayElements(Duration.ofMillis(20)))
+                        .concatWith(Flux.<String>never()), 0))
+                .expectSubscription()
+                .expectNext("a:1", "END")
+                .thenAwait(Duration.ofMillis(20))
+                .expectNoEvent(Duration.ofMillis(29))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("b:2")
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testErrorFlushesPendingSegmentFirst() {
+        Flux<String> source = Flux.just("a:1", "a:2").concatWith(Flux.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(coalesce(source, 0))
+                .expectNext("a:12")
+                .verifyErrorMessage("boom");
+    }
+
+    @Test
+    void testUpstreamDemandFollowsSubscriber() {
+        AtomicLong requested = new AtomicLong();
+        Flux<String> source = Flux.range(0, 1000)
+                .map(i -> i % 10 == 9 ? "END" : "a:" + i)
+                .doOnRequest(requested::addAndGet);
+
+        StepVerifier.create(coalesce(source, 0), 1)
+                .expectNext("a:012345678")
+                .then(() -> assertTrue(requested.get() <= 10, "requested " + requested.get()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> StreamCoalescer.of(STRATEGY, Duration.ZERO, 0));
+        assertThrows(IllegalArgumentException.class, () -> StreamCoalescer.of(STRATEGY, null, 0));
+    }
+
+    @Test
+    void testUtf8Length() {
+        assertEquals(0, StreamCoalescer.utf8Length(""));
+        assertEquals(5, StreamCoalescer.utf8Length("hello"));
+        assertEquals(2, StreamCoalescer.utf8Length("é"));
+        assertEquals(6, StreamCoalescer.utf8Length("你好"));
+        assertEquals(4, StreamCoalescer.utf8Length("😀"));
+    }
+}
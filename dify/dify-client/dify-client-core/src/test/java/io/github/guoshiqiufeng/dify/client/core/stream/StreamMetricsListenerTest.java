@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamMetricsListener
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class StreamMetricsListenerTest {
+
+    private static class RecordingListener implements StreamMetricsListener {
+        private final List<String> firstTokens = new ArrayList<>();
+        private final List<Throwable> completions = new ArrayList<>();
+        private int completeCount;
+
+        @Override
+        public void onFirstToken(String operation, Duration timeToFirstToken) {
+            assertFalse(timeToFirstToken.isNegative());
+            firstTokens.add(operation);
+        }
+
+        @Override
+        public void onComplete(String operation, Duration duration, Throwable error) {
+            assertFalse(duration.isNegative());
+            completeCount++;
+            completions.add(error);
+        }
+    }
+
+    @Test
+    void testNoopReturnsSameFlux() {
+        Flux<String> source = Flux.just("a");
+
+        assertSame(source, StreamMetricsListener.NOOP.instrument(source, "chat", item -> true));
+    }
+
+    @Test
+    void testFirstTokenReportedOnce() {
+        RecordingListener listener = new RecordingListener();
+
+        StepVerifier.create(listener.instrument(Flux.just("ping", "a", "b"), "chat", item -> !"ping".equals(item)))
+                .expectNext("ping", "a", "b")
+                .verifyComplete();
+
+        assertEquals(1, listener.firstTokens.size());
+        assertEquals("chat", listener.firstTokens.get(0));
+        assertEquals(1, listener.completeCount);
+        assertNull(listener.completions.get(0));
+    }
+
+    @Test
+    void testNoTokenDoesNotReportFirstToken() {
+        RecordingListener listener = new RecordingListener();
+
+        StepVerifier.create(listener.instrument(Flux.just("ping"), "chat", item -> !"ping".equals(item)))
+                .expectNext("ping")
+                .verifyComplete();
+
+        assertTrue(listener.firstTokens.isEmpty());
+        assertEquals(1, listener.completeCount);
+    }
+
+    @Test
+    void testErrorIsReported() {
+        RecordingListener listener = new RecordingListener();
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        StepVerifier.create(listener.instrument(Flux.<String>error(failure), "workflow", item -> true))
+                .expectErrorMatches(e -> e == failure)
+                .verify();
+
+        assertEquals(1, listener.completeCount);
+        assertSame(failure, listener.completions.get(0));
+    }
+
+    @Test
+    void testEachSubscriptionIsMeasuredSeparately() {
+        RecordingListener listener = new RecordingListener();
+        Flux<String> instrumented = listener.instrument(Flux.just("a"), "chat", item -> true);
+
+        StepVerifier.create(instrumented).expectNext("a").verifyComplete();
+        StepVerifier.create(instrumented).expectNext("a").verifyComplete();
+
+        assertEquals(2, listener.firstTokens.size());
+        assertEquals(2, listener.completeCount);
+    }
+}
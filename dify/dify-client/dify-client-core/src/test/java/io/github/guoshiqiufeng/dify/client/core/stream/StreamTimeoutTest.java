@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.stream;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamTimeout
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class StreamTimeoutTest {
+
+    @Test
+    void testOfNormalizesDisabledDeadlines() {
+        assertSame(StreamTimeout.NONE, StreamTimeout.of(null, null));
+        assertSame(StreamTimeout.NONE, StreamTimeout.of(Duration.ZERO, Duration.ofSeconds(-1)));
+        assertFalse(StreamTimeout.NONE.isEnabled());
+
+        StreamTimeout timeout = StreamTimeout.of(Duration.ofSeconds(10), Duration.ZERO);
+        assertTrue(timeout.isEnabled());
+        assertEquals(Duration.ofSeconds(10), timeout.getIdle());
+        assertNull(timeout.getTotal());
+        assertEquals(StreamTimeout.idle(Duration.ofSeconds(10)), timeout);
+    }
+
+    @Test
+    void testFromClientConfig() {
+        assertSame(StreamTimeout.NONE, StreamTimeout.from(null));
+        assertSame(StreamTimeout.NONE, StreamTimeout.from(new DifyProperties.ClientConfig()));
+
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setSseIdleTimeout(30);
+        clientConfig.setSseTotalTimeout(600);
+
+        StreamTimeout timeout = StreamTimeout.from(clientConfig);
+        assertEquals(Duration.ofSeconds(30), timeout.getIdle());
+        assertEquals(Duration.ofSeconds(600), timeout.getTotal());
+    }
+
+    @Test
+    void testApplyWithoutDeadlinesReturnsSource() {
+        Flux<String> source = Flux.just("a");
+
+        assertSame(source, StreamTimeout.NONE.apply(source));
+    }
+
+    @Test
+    void testIdleTimeoutExpires() {
+        StepVerifier.withVirtualTime(() -> StreamTimeout.idle(Duration.ofSeconds(10))
+                        .apply(Flux.concat(Flux.just("ping"), Flux.never())))
+                .expectNext("ping")
+                .thenAwait(Duration.ofSeconds(10))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("idle"));
+                })
+                .verify();
+    }
+
+    @Test
+    void testIdleTimeoutIsResetByEvents() {
+        StepVerifier.withVirtualTime(() -> StreamTimeout.idle(Duration.ofSeconds(10))
+                        .apply(Flux.interval(Duration.ofSeconds(8)).take(5)))
+                .thenAwait(Duration.ofSeconds(40))
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+
+    @Test
+    void testTotalTimeoutExpiresDespiteEvents() {
+        StepVerifier.withVirtualTime(() -> StreamTimeout.of(Duration.ofSeconds(10), Duration.ofSeconds(30))
+                        .apply(Flux.interval(Duration.ofSeconds(8))))
+                .thenAwait(Duration.ofSeconds(30))
+                .expectNextCount(3)
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("total"));
+                })
+                .verify();
+    }
+
+    @Test
+    void testTotalTimeoutOnly() {
+        StepVerifier.withVirtualTime(() -> StreamTimeout.total(Duration.ofSeconds(5)).apply(Flux.never()))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(5))
+                .expectError(StreamTimeoutException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.warmup;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.RequestCoalescer;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.RequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WarmUp
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class WarmUpTest {
+
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testConnectCountsEveryResponseAsConnected() {
+        HttpClient httpClient = mock(HttpClient.class);
+        RequestHeadersUriSpec uriSpec = mock(RequestHeadersUriSpec.class, RETURNS_SELF);
+        ResponseSpec responseSpec = mock(ResponseSpec.class);
+        when(httpClient.get()).thenReturn(uriSpec);
+        when(uriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toBodilessEntityAsync())
+                .thenReturn(CompletableFuture.completedFuture(mock(ResponseEntity.class)))
+                .thenReturn(failed(new HttpClientException(401, "unauthorized")))
+                .thenReturn(failed(new HttpClientException("Connection refused")));
+
+        WarmUpResult result = WarmUp.connect(httpClient, 3, "/v1").join();
+
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getConnected());
+        assertEquals(1, result.getFailed());
+        verify(httpClient, times(3)).get();
+    }
+
+    @Test
+    void testConnectNeverFailsWhenRequestCannotBeBuilt() {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.get()).thenThrow(new IllegalStateException("closed"));
+
+        WarmUpResult result = WarmUp.connect(httpClient, 2, "/v1").join();
+
+        assertEquals(2, result.getRequested());
+        assertEquals(0, result.getConnected());
+        assertEquals(2, result.getFailed());
+    }
+
+    @Test
+    void testConnectRequestsAreNotCoalesced() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        HttpRequestBuilder delegate = mock(HttpRequestBuilder.class, RETURNS_SELF);
+        ResponseSpec responseSpec = mock(ResponseSpec.class);
+        CompletableFuture<ResponseEntity<Void>> pending = new CompletableFuture<>();
+        when(delegate.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toBodilessEntityAsync()).thenReturn(pending);
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.get()).thenAnswer(invocation ->
+                new DefaultRequestHeadersUriSpec(coalescer.decorate(delegate, "GET", null)));
+
+        CompletableFuture<WarmUpResult> result = WarmUp.connect(httpClient, 3, "/v1/parameters");
+        pending.complete(null);
+
+        assertEquals(3, result.join().getConnected());
+        verify(responseSpec, times(3)).toBodilessEntityAsync();
+        verify(delegate).uri("/v1/parameters?warmup=0", new Object[0]);
+        verify(delegate).uri("/v1/parameters?warmup=2", new Object[0]);
+        assertEquals(0, coalescer.getMetrics().get(0).getCoalescedCalls());
+    }
+
+    @Test
+    void testConnectWithoutConnections() {
+        HttpClient httpClient = mock(HttpClient.class);
+
+        WarmUpResult result = WarmUp.connect(httpClient, 0, "/v1").join();
+
+        assertEquals(0, result.getRequested());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void testPrimeCodecSkipsTypesThatCannotBeRead() {
+        JsonMapper jsonMapper = mock(JsonMapper.class);
+        when(jsonMapper.fromJson("{}", String.class)).thenThrow(new IllegalArgumentException("not an object"));
+        when(jsonMapper.fromJson("{}", Object.class)).thenReturn(new Object());
+
+        int primed = WarmUp.primeCodec(jsonMapper, Arrays.asList(String.class, Object.class));
+
+        assertEquals(1, primed);
+        verify(jsonMapper).toJson(any());
+        verify(jsonMapper).toJsonIgnoreNull(any());
+    }
+}
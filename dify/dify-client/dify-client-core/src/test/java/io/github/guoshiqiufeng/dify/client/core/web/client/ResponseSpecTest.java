@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.web.client;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResponseSpec default methods
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class ResponseSpecTest {
+
+    @Test
+    void testBodyToFluxWithDeserializerFallsBackToHandledType() {
+        ResponseSpec spec = mock(ResponseSpec.class, CALLS_REAL_METHODS);
+        doReturn(Flux.just("event")).when(spec).bodyToFlux(String.class);
+        JsonDeserializer<String> deserializer = new JsonDeserializer<String>() {
+            @Override
+            public String deserialize(JsonNode root, JsonMapper jsonMapper) {
+                return null;
+            }
+
+            @Override
+            public Class<String> handledType() {
+                return String.class;
+            }
+        };
+
+        assertEquals("event", spec.bodyToFlux(deserializer).blockFirst());
+    }
+
+    @Test
+    void testBodyToFluxWithDeserializerRequiresHandledType() {
+        ResponseSpec spec = mock(ResponseSpec.class, CALLS_REAL_METHODS);
+        JsonDeserializer<String> deserializer = (root, jsonMapper) -> null;
+
+        assertThrows(UnsupportedOperationException.class, () -> spec.bodyToFlux(deserializer));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UriTemplate
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class UriTemplateTest {
+
+    @Test
+    void testExpandInOrder() {
+        UriTemplate template = UriTemplate.of("/v1/datasets/{datasetId}/documents/{documentId}");
+
+        assertEquals("/v1/datasets/ds-1/documents/42", template.expand("ds-1", 42));
+        assertEquals(Arrays.asList("datasetId", "documentId"), template.getVariableNames());
+    }
+
+    @Test
+    void testTemplateWithoutVariablesIsReturnedAsIs() {
+        String path = "/v1/chat-messages";
+
+        assertSame(path, UriTemplate.of(path).expand());
+        assertEquals(Collections.emptyList(), UriTemplate.of(path).getVariableNames());
+    }
+
+    @Test
+    void testTemplatesAreCompiledOnce() {
+        assertSame(UriTemplate.of("/v1/conversations/{conversationId}"),
+                UriTemplate.of("/v1/conversations/{conversationId}"));
+    }
+
+    @Test
+    void testNullValuesAreSkippedAndExtraValuesIgnored() {
+        UriTemplate template = UriTemplate.of("/v1/messages/{messageId}/feedbacks");
+
+        assertEquals("/v1/messages/m-1/feedbacks", template.expand(null, "m-1", "extra"));
+    }
+
+    @Test
+    void testNotEnoughValues() {
+        UriTemplate template = UriTemplate.of("/users/{id}/posts/{postId}");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> template.expand(123, null));
+        assertEquals("Not enough variable values available to expand 'postId'", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> template.expand((Object[]) null));
+    }
+
+    @Test
+    void testValuesAreInsertedLiterally() {
+        UriTemplate template = UriTemplate.of("/files/{name}/{id}");
+
+        assertEquals("/files/$1/{id}", template.expand("$1", "{id}"));
+    }
+
+    @Test
+    void testEmptyBracesAreNotPlaceholders() {
+        UriTemplate template = UriTemplate.of("/a{}/{b}");
+
+        assertEquals(Collections.singletonList("b"), template.getVariableNames());
+        assertEquals("/a{}/x", template.expand("x"));
+    }
+
+    @Test
+    void testNullTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> UriTemplate.of(null));
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.core.codec;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.exception.JsonException;
+import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonTokenReaderUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link JsonTokenReader} implementation shares, run by the token reader tests of each codec.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public abstract class JsonTokenReaderContractTest {
+
+    protected JsonMapper mapper;
+
+    /**
+     * Create the mapper of the codec under test.
+     *
+     * @return json mapper
+     */
+    protected abstract JsonMapper createMapper();
+
+    @BeforeEach
+    void setUpMapper() {
+        mapper = createMapper();
+    }
+
+    @Test
+    void testReadScalars() {
+        String json = "{\"s\":\"text\",\"i\":42,\"l\":1705398420123,\"d\":1.5,\"b\":true,\"n\":null}";
+        try (JsonTokenReader reader = mapper.createTokenReader(json)) {
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.peek());
+            reader.beginObject();
+            assertEquals("s", reader.nextName());
+            assertEquals(JsonToken.STRING, reader.peek());
+            assertEquals("text", reader.nextString());
+            assertEquals("i", reader.nextName());
+            assertEquals(JsonToken.NUMBER, reader.peek());
+            assertEquals(42, reader.nextInteger());
+            assertEquals("l", reader.nextName());
+            assertEquals(1705398420123L, reader.nextLong());
+            assertEquals("d", reader.nextName());
+            assertEquals(1.5, reader.nextDouble());
+            assertEquals("b", reader.nextName());
+            assertEquals(JsonToken.BOOLEAN, reader.peek());
+            assertEquals(true, reader.nextBoolean());
+            assertEquals("n", reader.nextName());
+            assertEquals(JsonToken.NULL, reader.peek());
+            assertNull(reader.nextString());
+            assertFalse(reader.hasNext());
+            reader.endObject();
+            assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        }
+    }
+
+    @Test
+    void testNullsAreReturnedAsNull() {
+        try (JsonTokenReader reader = mapper.createTokenReader("[null,null,null,null,null]")) {
+            reader.beginArray();
+            assertNull(reader.nextInteger());
+            assertNull(reader.nextLong());
+            assertNull(reader.nextDouble());
+            assertNull(reader.nextBoolean());
+            assertNull(reader.readValue(Map.class));
+            reader.endArray();
+        }
+    }
+
+    @Test
+    void testNumberAndBooleanAsString() {
+        try (JsonTokenReader reader = mapper.createTokenReader("[12,false]")) {
+            reader.beginArray();
+            assertEquals("12", reader.nextString());
+            assertEquals("false", reader.nextString());
+            reader.endArray();
+        }
+    }
+
+    @Test
+    void testContainerAsStringIsSkipped() {
+        try (JsonTokenReader reader = mapper.createTokenReader("{\"a\":{\"x\":[1,2]},\"b\":\"after\"}")) {
+            reader.beginObject();
+            assertEquals("a", reader.nextName());
+            assertNull(reader.nextString());
+            assertEquals("b", reader.nextName());
+            assertEquals("after", reader.nextString());
+            reader.endObject();
+        }
+    }
+
+    @Test
+    void testSkipValue() {
+        try (JsonTokenReader reader = mapper.createTokenReader("{\"skip\":{\"deep\":[{\"x\":1},[true]]},\"keep\":7}")) {
+            reader.beginObject();
+            assertEquals("skip", reader.nextName());
+            reader.skipValue();
+            assertEquals("keep", reader.nextName());
+            assertEquals(7, reader.nextInteger());
+            reader.endObject();
+        }
+    }
+
+    @Test
+    void testReadValueBindsNestedObject() {
+        try (JsonTokenReader reader = mapper.createTokenReader("{\"user\":{\"name\":\"Tom\",\"age\":30},\"next\":1}")) {
+            reader.beginObject();
+            assertEquals("user", reader.nextName());
+            Person person = reader.readValue(Person.class);
+            assertEquals("Tom", person.getName());
+            assertEquals(30, person.getAge());
+            assertEquals("next", reader.nextName());
+            assertEquals(1, reader.nextInteger());
+            reader.endObject();
+        }
+    }
+
+    @Test
+    void testReadTreeBuffersNestedValue() {
+        try (JsonTokenReader reader = mapper.createTokenReader("{\"data\":{\"name\":\"Tom\"},\"next\":\"x\"}")) {
+            reader.beginObject();
+            assertEquals("data", reader.nextName());
+            JsonNode node = reader.readTree();
+            assertEquals("Tom", node.get("name").asText());
+            assertEquals("next", reader.nextName());
+            assertEquals("x", reader.nextString());
+            reader.endObject();
+
+            Person person = mapper.treeToValue(node, Person.class);
+            assertEquals("Tom", person.getName());
+        }
+    }
+
+    @Test
+    void testReadFromByteSlice() {
+        byte[] bytes = "xx{\"answer\":\"你好\"}yy".getBytes(StandardCharsets.UTF_8);
+        try (JsonTokenReader reader = mapper.createTokenReader(bytes, 2, bytes.length - 4)) {
+            reader.beginObject();
+            assertEquals("answer", reader.nextName());
+            assertEquals("你好", reader.nextString());
+            reader.endObject();
+        }
+    }
+
+    @Test
+    void testUtilReadsMapAndList() {
+        String json = "{\"labels\":{\"a\":\"x\",\"n\":2,\"b\":true,\"list\":[1,\"y\"],\"nested\":{\"k\":\"v\"},\"z\":null},"
+                + "\"files\":[\"f1\",\"f2\"],\"notList\":\"x\",\"notMap\":[1]}";
+        try (JsonTokenReader reader = mapper.createTokenReader(json)) {
+            reader.beginObject();
+            assertEquals("labels", reader.nextName());
+            Map<String, Object> labels = JsonTokenReaderUtil.readMap(reader);
+            assertEquals("x", labels.get("a"));
+            assertEquals(2.0, labels.get("n"));
+            assertEquals(true, labels.get("b"));
+            assertEquals(Arrays.asList(1.0, "y"), labels.get("list"));
+            assertInstanceOf(Map.class, labels.get("nested"));
+            assertTrue(labels.containsKey("z"));
+            assertNull(labels.get("z"));
+
+            assertEquals("files", reader.nextName());
+            assertEquals(Arrays.asList("f1", "f2"), JsonTokenReaderUtil.readStringList(reader));
+            assertEquals("notList", reader.nextName());
+            List<String> empty = JsonTokenReaderUtil.readStringList(reader);
+            assertTrue(empty.isEmpty());
+            assertEquals("notMap", reader.nextName());
+            assertTrue(JsonTokenReaderUtil.readMap(reader).isEmpty());
+            reader.endObject();
+        }
+    }
+
+    @Test
+    void testUnexpectedTokenThrows() {
+        try (JsonTokenReader reader = mapper.createTokenReader("[1]")) {
+            assertThrows(JsonException.class, reader::beginObject);
+        }
+    }
+
+    @Test
+    void testMalformedJsonThrows() {
+        assertThrows(JsonException.class, () -> {
+            try (JsonTokenReader reader = mapper.createTokenReader("{\"a\":")) {
+                reader.beginObject();
+                reader.nextName();
+                reader.nextString();
+            }
+        });
+    }
+
+    public static class Person {
+        private String name;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorators;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpMethod;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodyUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.web.client.RequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * HTTP client implementation using the JDK {@code java.net.http.HttpClient}.
+ * <p>
+ * A single JDK client is shared by regular and streaming requests. With HTTP/2 every request, including
+ * long-lived SSE streams, is multiplexed as a stream over the same connection, so many concurrent chat
+ * streams only need a handful of connections. Streaming responses are consumed with {@code sendAsync} and
+ * a non-blocking body publisher, no thread is parked while waiting for events.
+ * <p>
+ * Requires Java 11+ and no HTTP library besides the JDK.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public class JdkHttpClient implements HttpClient {
+
+    @Getter
+    private final java.net.http.HttpClient httpClient;
+    @Getter
+    private final String baseUrl;
+    @Getter
+    private final HttpHeaders defaultHeaders;
+    @Getter
+    private final List<JdkHttpRequestInterceptor> interceptors;
+    private final JsonMapper jsonMapper;
+    @Getter
+    private final Boolean skipNull;
+    @Getter
+    private final boolean logging;
+    /**
+     * Time allowed for the response headers of regular requests, null for no limit.
+     */
+    @Getter
+    private final Duration requestTimeout;
+    /**
+     * Time allowed for the response headers of streaming requests, null for no limit.
+     */
+    @Getter
+    private final Duration sseRequestTimeout;
+    /**
+     * Default deadlines of SSE streams, overridable per call.
+     */
+    @Getter
+    private final StreamTimeout streamTimeout;
+    /**
+     * Per-API-key bulkheads limiting the requests of this client, null if not limited.
+     */
+    @Getter
+    @Setter
+    private volatile BulkheadRegistry bulkheadRegistry;
+    /**
+     * Decorators applied to the request builders of this client, in registration order.
+     */
+    private final List<HttpRequestDecorator> requestDecorators = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor with base URL and default configuration.
+     *
+     * @param baseUrl    the base URL for all requests
+     * @param jsonMapper the JSON mapper
+     */
+    public JdkHttpClient(String baseUrl, JsonMapper jsonMapper) {
+        this(baseUrl, new DifyProperties.ClientConfig(), jsonMapper);
+    }
+
+    /**
+     * Constructor with base URL and client configuration.
+     *
+     * @param baseUrl      the base URL for all requests
+     * @param clientConfig the client configuration
+     * @param jsonMapper   the JSON mapper
+     */
+    public JdkHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, JsonMapper jsonMapper) {
+        this(baseUrl, clientConfig, null, jsonMapper, new HttpHeaders(), Collections.emptyList());
+    }
+
+    /**
+     * Constructor with base URL, client configuration, builder, default headers, and interceptors.
+     *
+     * @param baseUrl        the base URL for all requests
+     * @param clientConfig   the client configuration
+     * @param builder        the JDK client builder carrying custom settings (TLS, proxy, executor...), null for defaults
+     * @param jsonMapper     the JSON mapper
+     * @param defaultHeaders the default headers to add to all requests
+     * @param interceptors   the request interceptors
+     */
+    public JdkHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, java.net.http.HttpClient.Builder builder,
+                         JsonMapper jsonMapper, HttpHeaders defaultHeaders, List<JdkHttpRequestInterceptor> interceptors) {
+        this.baseUrl = baseUrl;
+        this.jsonMapper = jsonMapper;
+        this.defaultHeaders = defaultHeaders != null ? defaultHeaders : new HttpHeaders();
+        this.interceptors = interceptors != null ? new ArrayList<>(interceptors) : Collections.emptyList();
+        this.skipNull = clientConfig != null ? clientConfig.getSkipNull() : true;
+        this.logging = clientConfig != null && Boolean.TRUE.equals(clientConfig.getLogging());
+        this.streamTimeout = StreamTimeout.from(clientConfig);
+        this.bulkheadRegistry = BulkheadRegistry.of(clientConfig);
+        this.requestDecorators.addAll(HttpRequestDecorators.of(clientConfig));
+
+        int readTimeout = (clientConfig != null && clientConfig.getReadTimeout() != null)
+                ? clientConfig.getReadTimeout() : 30;
+        Integer callTimeout = clientConfig != null ? clientConfig.getCallTimeout() : null;
+        this.requestTimeout = toTimeout(callTimeout != null && callTimeout > 0 ? callTimeout : readTimeout);
+        Integer sseReadTimeout = clientConfig != null ? clientConfig.getSseReadTimeout() : null;
+        if (sseReadTimeout != null && sseReadTimeout < 0) {
+            log.warn("【Dify】Invalid sseReadTimeout value: {}. Must be >= 0. Using default readTimeout instead.", sseReadTimeout);
+            sseReadTimeout = null;
+        }
+        this.sseRequestTimeout = sseReadTimeout != null ? toTimeout(sseReadTimeout) : this.requestTimeout;
+
+        this.httpClient = buildHttpClient(clientConfig, builder);
+    }
+
+    private static Duration toTimeout(int seconds) {
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    /**
+     * Build the JDK client.
+     * A user supplied builder is used as is apart from the connect timeout, otherwise HTTP/2 with fallback
+     * to HTTP/1.1 and redirects (except HTTPS to HTTP) are enabled, matching the other integrations, and the
+     * client runs its tasks on virtual threads in virtual execution mode.
+     *
+     * @param clientConfig the client configuration
+     * @param builder      the JDK client builder, null for defaults
+     * @return JDK client
+     */
+    private static java.net.http.HttpClient buildHttpClient(DifyProperties.ClientConfig clientConfig,
+                                                            java.net.http.HttpClient.Builder builder) {
+        if (builder == null) {
+            builder = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_2)
+                    .followRedirects(java.net.http.HttpClient.Redirect.NORMAL);
+            if (DifyExecutors.useVirtualThreads(clientConfig)) {
+                builder.executor(DifyExecutors.newVirtualThreadExecutor("dify-jdk-http"));
+            }
+        }
+        int connectTimeout = (clientConfig != null && clientConfig.getConnectTimeout() != null)
+                ? clientConfig.getConnectTimeout() : 30;
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofSeconds(connectTimeout));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public RequestHeadersUriSpec<?> get() {
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder(HttpMethod.GET.name()));
+    }
+
+    @Override
+    public RequestBodyUriSpec post() {
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(HttpMethod.POST.name()));
+    }
+
+    @Override
+    public RequestBodyUriSpec put() {
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(HttpMethod.PUT.name()));
+    }
+
+    @Override
+    public RequestHeadersUriSpec<?> delete() {
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder(HttpMethod.DELETE.name()));
+    }
+
+    @Override
+    public RequestBodyUriSpec patch() {
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(HttpMethod.PATCH.name()));
+    }
+
+    @Override
+    public RequestHeadersUriSpec<?> head() {
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder(HttpMethod.HEAD.name()));
+    }
+
+    @Override
+    public RequestHeadersUriSpec<?> options() {
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder(HttpMethod.OPTIONS.name()));
+    }
+
+    @Override
+    public RequestBodyUriSpec method(HttpMethod httpMethod) {
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(httpMethod.name()));
+    }
+
+    /**
+     * Add a decorator applied to the request builders of this client, replacing a decorator of the same class.
+     *
+     * @param decorator the request decorator
+     */
+    public void addRequestDecorator(HttpRequestDecorator decorator) {
+        HttpRequestDecorators.register(requestDecorators, decorator);
+    }
+
+    /**
+     * Get the decorators applied to the request builders of this client.
+     *
+     * @return the request decorators, in registration order
+     */
+    public List<HttpRequestDecorator> getRequestDecorators() {
+        return Collections.unmodifiableList(requestDecorators);
+    }
+
+    /**
+     * Create the request builder for a method, wrapped by the request decorators and limited by the bulkhead of
+     * the request's API key if configured.
+     *
+     * @param method HTTP method
+     * @return request builder
+     */
+    private HttpRequestBuilder newRequestBuilder(String method) {
+        String defaultAuthorization = defaultHeaders.getFirst(HttpHeaders.AUTHORIZATION);
+        HttpRequestBuilder requestBuilder = HttpRequestDecorators.apply(new JdkHttpRequestBuilder(this, jsonMapper, method),
+                requestDecorators, method, defaultAuthorization);
+        BulkheadRegistry registry = bulkheadRegistry;
+        return registry != null ? registry.decorate(requestBuilder, defaultAuthorization) : requestBuilder;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory for creating HTTP client instances using the JDK {@code java.net.http.HttpClient}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class JdkHttpClientFactory implements HttpClientFactory {
+
+    private final java.net.http.HttpClient.Builder builder;
+
+    private final JsonMapper jsonMapper;
+
+    private final HttpHeaders defaultHeaders;
+
+    private final List<JdkHttpRequestInterceptor> interceptors;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final List<HttpRequestDecorator> requestDecorators;
+
+    /**
+     * Constructor with JsonMapper, clients use HTTP/2 with fallback to HTTP/1.1.
+     *
+     * @param jsonMapper the JSON mapper
+     */
+    public JdkHttpClientFactory(JsonMapper jsonMapper) {
+        this(null, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, new ArrayList<>());
+    }
+
+    /**
+     * Constructor with a customized JDK client builder (TLS, proxy, executor, protocol version...).
+     *
+     * @param builder    the JDK client builder
+     * @param jsonMapper the JSON mapper
+     */
+    public JdkHttpClientFactory(java.net.http.HttpClient.Builder builder, JsonMapper jsonMapper) {
+        this(builder, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, new ArrayList<>());
+    }
+
+    private JdkHttpClientFactory(java.net.http.HttpClient.Builder builder, JsonMapper jsonMapper, HttpHeaders defaultHeaders,
+                                 List<JdkHttpRequestInterceptor> interceptors, BulkheadRegistry bulkheadRegistry,
+                                 List<HttpRequestDecorator> requestDecorators) {
+        this.builder = builder;
+        this.jsonMapper = jsonMapper;
+        this.defaultHeaders = defaultHeaders;
+        this.interceptors = interceptors;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.requestDecorators = requestDecorators;
+    }
+
+    @Override
+    public HttpClient createClient(String baseUrl, DifyProperties.ClientConfig clientConfig) {
+        JdkHttpClient client = new JdkHttpClient(baseUrl, clientConfig, builder, jsonMapper, defaultHeaders, interceptors);
+        if (bulkheadRegistry != null) {
+            client.setBulkheadRegistry(bulkheadRegistry);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators) {
+            client.addRequestDecorator(decorator);
+        }
+        return client;
+    }
+
+    @Override
+    public HttpClientFactory defaultHeader(String key, String value) {
+        HttpHeaders newHeaders = new HttpHeaders(this.defaultHeaders);
+        newHeaders.add(key, value);
+        return new JdkHttpClientFactory(builder, jsonMapper, newHeaders, interceptors, bulkheadRegistry,
+                requestDecorators);
+    }
+
+    @Override
+    public HttpClientFactory interceptor(Object interceptor) {
+        if (!(interceptor instanceof JdkHttpRequestInterceptor)) {
+            throw new IllegalArgumentException("Interceptor must be an instance of " + JdkHttpRequestInterceptor.class.getName());
+        }
+        List<JdkHttpRequestInterceptor> newInterceptors = new ArrayList<>(this.interceptors);
+        newInterceptors.add((JdkHttpRequestInterceptor) interceptor);
+        return new JdkHttpClientFactory(builder, jsonMapper, defaultHeaders, newInterceptors, bulkheadRegistry,
+                requestDecorators);
+    }
+
+    @Override
+    public JdkHttpClientFactory bulkheadRegistry(BulkheadRegistry bulkheadRegistry) {
+        return new JdkHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, bulkheadRegistry,
+                requestDecorators);
+    }
+
+    @Override
+    public JdkHttpClientFactory requestDecorator(HttpRequestDecorator decorator) {
+        List<HttpRequestDecorator> newDecorators = new ArrayList<>(this.requestDecorators);
+        newDecorators.add(decorator);
+        return new JdkHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, bulkheadRegistry,
+                newDecorators);
+    }
+}
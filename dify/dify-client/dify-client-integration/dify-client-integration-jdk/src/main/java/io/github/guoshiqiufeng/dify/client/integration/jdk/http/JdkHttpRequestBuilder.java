@@ -0,0 +1,785 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonSerializationHelper;
+import io.github.guoshiqiufeng.dify.client.core.http.*;
+import io.github.guoshiqiufeng.dify.client.core.http.util.HttpStatusValidator;
+import io.github.guoshiqiufeng.dify.client.core.http.util.MultipartBodyProcessor;
+import io.github.guoshiqiufeng.dify.client.core.http.util.RequestParameterProcessor;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.SseFrameDecoder;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.util.LinkedMultiValueMap;
+import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
+import io.github.guoshiqiufeng.dify.client.core.web.util.DefaultUriBuilder;
+import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
+import io.github.guoshiqiufeng.dify.client.integration.jdk.http.util.JdkMultipartBodyBuilder;
+import io.github.guoshiqiufeng.dify.core.utils.MultipartBodyBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@code java.net.http} based implementation of HttpRequestBuilder.
+ * <p>
+ * Regular requests are sent with the blocking {@code send}, or with {@code sendAsync} inside a
+ * {@link CallCancellation} scope so that the exchange can be cancelled, their {@code *Async} variants with
+ * {@code sendAsync} and complete the returned future from the client executor. Streaming requests use {@code sendAsync} with a
+ * publisher body handler: the response chunks are adapted to a {@link Flux} and framed by
+ * {@link SseFrameDecoder}, so no thread is held while the stream is open and demand is propagated to the
+ * HTTP/2 flow control window.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class JdkHttpRequestBuilder implements HttpRequestBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(JdkHttpRequestBuilder.class);
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String EVENT_STREAM = "text/event-stream";
+    /**
+     * Headers managed by the JDK client itself, setting them throws {@link IllegalArgumentException}.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade"));
+
+    private final JdkHttpClient client;
+    private final JsonMapper jsonMapper;
+    private final String method;
+
+    private URI uri;
+    private final Map<String, String> headers = new HashMap<>();
+    private final Map<String, String> cookies = new HashMap<>();
+    private final Map<String, String> queryParams = new LinkedHashMap<>();
+    private Object body;
+    private Map<String, Object> multipartData;
+
+    /**
+     * Constructor.
+     *
+     * @param client     JDK HTTP client
+     * @param jsonMapper JSON mapper
+     * @param method     HTTP method
+     */
+    public JdkHttpRequestBuilder(JdkHttpClient client, JsonMapper jsonMapper, String method) {
+        this.client = client;
+        this.jsonMapper = jsonMapper;
+        this.method = method;
+    }
+
+    @Override
+    public HttpRequestBuilder uri(String uri) {
+        this.uri = new DefaultUriBuilder().path(uri).build();
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder uri(String uri, Object... uriParams) {
+        this.uri = new DefaultUriBuilder().path(uri).build(uriParams);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder uri(Consumer<UriBuilder> uriBuilderConsumer) {
+        DefaultUriBuilder uriBuilder = new DefaultUriBuilder();
+        uriBuilderConsumer.accept(uriBuilder);
+        this.uri = uriBuilder.build();
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder header(String name, String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder headers(Map<String, String> headers) {
+        this.headers.putAll(headers);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder headers(Consumer<HttpHeaders> headersConsumer) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        headersConsumer.accept(httpHeaders);
+        // Convert HttpHeaders to single value map (using first value)
+        httpHeaders.forEach((key, values) -> {
+            if (values != null && !values.isEmpty()) {
+                this.headers.put(key, values.get(0));
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder cookies(Consumer<MultiValueMap<String, String>> cookiesConsumer) {
+        MultiValueMap<String, String> httpCookies = new LinkedMultiValueMap<>();
+        cookiesConsumer.accept(httpCookies);
+        httpCookies.forEach((key, values) -> {
+            if (values != null && !values.isEmpty()) {
+                this.cookies.put(key, values.get(0));
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder queryParam(String name, String value) {
+        this.queryParams.put(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder queryParams(Map<String, String> params) {
+        this.queryParams.putAll(params);
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder body(Object body) {
+        this.body = body;
+        return this;
+    }
+
+    @Override
+    public HttpRequestBuilder multipart(Map<String, Object> formData) {
+        this.multipartData = formData;
+        return this;
+    }
+
+    @Override
+    public <T> T execute(Class<T> responseType) {
+        HttpResponse<byte[]> response = send(buildRequest(false));
+        return handleResponse(response, responseType, true);
+    }
+
+    @Override
+    public <T> T execute(TypeReference<T> typeReference) {
+        HttpResponse<byte[]> response = send(buildRequest(false));
+        return handleResponse(response, typeReference, true);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Class<T> responseType) {
+        return sendAsync(buildRequest(false)).thenApply(response -> handleResponse(response, responseType, true));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(TypeReference<T> typeReference) {
+        return sendAsync(buildRequest(false)).thenApply(response -> handleResponse(response, typeReference, true));
+    }
+
+    @Override
+    public <T> ResponseEntity<T> executeForResponse(Class<T> responseType) {
+        HttpResponse<byte[]> response = send(buildRequest(false));
+        return buildHttpResponse(response, handleResponse(response, responseType, true));
+    }
+
+    @Override
+    public <T> ResponseEntity<T> executeForResponse(TypeReference<T> typeReference) {
+        HttpResponse<byte[]> response = send(buildRequest(false));
+        return buildHttpResponse(response, handleResponse(response, typeReference, true));
+    }
+
+    @Override
+    public <T> Flux<T> stream(Class<T> responseType) {
+        return decodeSse(exchangeForSse(Collections.emptyList(), StreamTimeout.NONE),
+                (data, offset, length) -> deserialize(data, offset, length, responseType));
+    }
+
+    @Override
+    public int executeForStatus() {
+        HttpResponse<byte[]> response = send(buildRequest(false));
+        if (!HttpStatusValidator.isSuccessful(response.statusCode())) {
+            handleError(response);
+        }
+        return response.statusCode();
+    }
+
+    @Override
+    public ResponseSpec retrieve() {
+        return new JdkResponseSpec();
+    }
+
+    @Override
+    public boolean isCancellable() {
+        return true;
+    }
+
+    /**
+     * {@code java.net.http} implementation of ResponseSpec.
+     */
+    private class JdkResponseSpec implements ResponseSpec {
+
+        private final List<ResponseErrorHandler> errorHandlers = new ArrayList<>();
+        private StreamTimeout streamTimeout;
+
+        @Override
+        public ResponseSpec onStatus(ResponseErrorHandler errorHandler) {
+            this.errorHandlers.add(errorHandler);
+            return this;
+        }
+
+        @Override
+        public ResponseSpec streamTimeout(StreamTimeout streamTimeout) {
+            this.streamTimeout = streamTimeout;
+            return this;
+        }
+
+        @Override
+        public <T> T body(Class<T> responseType) {
+            ResponseEntity<T> response = toEntity(responseType);
+            handleErrors(response);
+            return response.getBody();
+        }
+
+        @Override
+        public <T> T body(TypeReference<T> typeReference) {
+            ResponseEntity<T> response = toEntity(typeReference);
+            handleErrors(response);
+            return response.getBody();
+        }
+
+        @Override
+        public <T> ResponseEntity<T> toEntity(Class<T> responseType) {
+            return readEntity(send(buildRequest(false)), responseType);
+        }
+
+        @Override
+        public <T> ResponseEntity<T> toEntity(TypeReference<T> typeReference) {
+            return readEntity(send(buildRequest(false)), typeReference);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(Class<T> responseType) {
+            return sendAsync(buildRequest(false)).thenApply(response -> readEntity(response, responseType));
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(TypeReference<T> typeReference) {
+            return sendAsync(buildRequest(false)).thenApply(response -> readEntity(response, typeReference));
+        }
+
+        /**
+         * Read the response entity and apply the error handlers.
+         *
+         * @param response     the response
+         * @param responseType response type
+         * @param <T>          response body type
+         * @return the response entity
+         */
+        private <T> ResponseEntity<T> readEntity(HttpResponse<byte[]> response, Class<T> responseType) {
+            if (HttpStatusValidator.isSuccessful(response.statusCode())) {
+                ResponseEntity<T> httpResponse = buildHttpResponse(response, handleResponse(response, responseType, false));
+                handleErrors(httpResponse);
+                return httpResponse;
+            }
+            return toErrorEntity(response);
+        }
+
+        /**
+         * Read the response entity with TypeReference and apply the error handlers.
+         *
+         * @param response      the response
+         * @param typeReference type reference
+         * @param <T>           response body type
+         * @return the response entity
+         */
+        private <T> ResponseEntity<T> readEntity(HttpResponse<byte[]> response, TypeReference<T> typeReference) {
+            if (HttpStatusValidator.isSuccessful(response.statusCode())) {
+                ResponseEntity<T> httpResponse = buildHttpResponse(response, handleResponse(response, typeReference, false));
+                handleErrors(httpResponse);
+                return httpResponse;
+            }
+            return toErrorEntity(response);
+        }
+
+        /**
+         * For error responses, return the raw error message as body so that the error handlers can process it.
+         *
+         * @param response error response
+         * @param <T>      response body type
+         * @return response entity carrying the error body
+         */
+        private <T> ResponseEntity<T> toErrorEntity(HttpResponse<byte[]> response) {
+            String errorBody = bodyAsString(response.body());
+            log.debug("JDK HttpClient error response: status={}, body={}", response.statusCode(), errorBody);
+
+            @SuppressWarnings("unchecked")
+            T typedErrorBody = (T) errorBody;
+            ResponseEntity<T> httpResponse = buildHttpResponse(response, typedErrorBody);
+            handleErrors(httpResponse);
+            return httpResponse;
+        }
+
+        @Override
+        public ResponseEntity<Void> toBodilessEntity() {
+            ResponseEntity<Void> response = toEntity(Void.class);
+            handleErrors(response);
+            return response;
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(Class<T> responseType) {
+            return decodeSse(exchangeForSse(errorHandlers, effectiveStreamTimeout()),
+                    (data, offset, length) -> deserialize(data, offset, length, responseType));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(JsonDeserializer<T> deserializer) {
+            return decodeSse(exchangeForSse(errorHandlers, effectiveStreamTimeout()),
+                    (data, offset, length) -> jsonMapper.fromJson(data, offset, length, deserializer));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(TypeReference<T> typeReference) {
+            return decodeSse(exchangeForSse(errorHandlers, effectiveStreamTimeout()),
+                    (data, offset, length) -> jsonMapper.fromJson(new String(data, offset, length, StandardCharsets.UTF_8), typeReference));
+        }
+
+        private StreamTimeout effectiveStreamTimeout() {
+            return streamTimeout != null ? streamTimeout : client.getStreamTimeout();
+        }
+
+        /**
+         * Handle errors using registered error handlers.
+         *
+         * @param response the HTTP response
+         */
+        private void handleErrors(ResponseEntity<?> response) {
+            for (ResponseErrorHandler handler : errorHandlers) {
+                if (handler.getStatusPredicate().test(response.getStatusCode())) {
+                    try {
+                        handler.handle(response);
+                    } catch (Exception e) {
+                        if (e instanceof RuntimeException) {
+                            throw (RuntimeException) e;
+                        }
+                        throw new HttpClientException("Error handler failed: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Send a streaming request and expose the raw response chunks.
+     * <p>
+     * The request is only sent on subscription. Stream deadlines are applied to the raw chunks, so pings and
+     * events skipped while decoding still count as activity.
+     *
+     * @param errorHandlers error handlers applied to non-2xx responses
+     * @param streamTimeout deadlines of the stream
+     * @return Flux of response body chunks
+     */
+    private Flux<ByteBuffer> exchangeForSse(List<ResponseErrorHandler> errorHandlers, StreamTimeout streamTimeout) {
+        Flux<ByteBuffer> sseBody = Mono.fromFuture(() -> client.getHttpClient()
+                        .sendAsync(buildRequest(true), HttpResponse.BodyHandlers.ofPublisher()))
+                .flatMapMany(response -> {
+                    Flux<ByteBuffer> chunks = JdkFlowAdapter.flowPublisherToFlux(response.body())
+                            .concatMapIterable(Function.identity());
+                    if (HttpStatusValidator.isSuccessful(response.statusCode())) {
+                        return chunks;
+                    }
+                    return chunks
+                            .reduce(new ByteArrayOutputStream(), (out, chunk) -> {
+                                byte[] bytes = new byte[chunk.remaining()];
+                                chunk.get(bytes);
+                                out.write(bytes, 0, bytes.length);
+                                return out;
+                            })
+                            .flatMapMany(out -> applyErrorHandlers(response, out.toString(StandardCharsets.UTF_8), errorHandlers));
+                });
+        return streamTimeout != null ? streamTimeout.apply(sseBody) : sseBody;
+    }
+
+    /**
+     * Apply the error handlers to a failed streaming response.
+     *
+     * @param response      the streaming response
+     * @param bodyContent   the error body
+     * @param errorHandlers error handlers
+     * @return empty Flux when a handler accepted the error, otherwise an error signal
+     */
+    private Flux<ByteBuffer> applyErrorHandlers(HttpResponse<?> response, String bodyContent,
+                                                List<ResponseErrorHandler> errorHandlers) {
+        int statusCode = response.statusCode();
+        ResponseEntity<String> errorResponse = buildHttpResponse(response, bodyContent);
+        boolean handlerExecuted = false;
+        for (ResponseErrorHandler handler : errorHandlers) {
+            if (handler.getStatusPredicate().test(statusCode)) {
+                try {
+                    handler.handle(errorResponse);
+                    handlerExecuted = true;
+                } catch (Exception e) {
+                    if (e instanceof RuntimeException) {
+                        return Flux.error(e);
+                    }
+                    return Flux.error(new HttpClientException("Error handler failed: " + e.getMessage(), e));
+                }
+            }
+        }
+        // If no handler was executed, throw default exception to preserve error semantics
+        if (!handlerExecuted) {
+            return Flux.error(new HttpClientException(statusCode, bodyContent));
+        }
+        return Flux.empty();
+    }
+
+    /**
+     * Frame the raw chunks into SSE events and decode their JSON payloads.
+     *
+     * @param sseBody      raw response body
+     * @param deserializer deserializer of a trimmed payload slice
+     * @param <T>          response type
+     * @return Flux of response items
+     */
+    private <T> Flux<T> decodeSse(Flux<ByteBuffer> sseBody, SseFrameDecoder.PayloadDecoder<T> deserializer) {
+        SseFrameDecoder.PayloadDecoder<T> payloadDecoder = SseFrameDecoder.jsonPayload(deserializer);
+        return Flux.defer(() -> {
+            SseFrameDecoder<T> decoder = new SseFrameDecoder<>(payloadDecoder, SseFrameDecoder.DEFAULT_MAX_IN_MEMORY_SIZE);
+            return sseBody
+                    .concatMapIterable(decoder::decode)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.finish())));
+        });
+    }
+
+    /**
+     * Send a request and read the whole body.
+     * <p>
+     * Inside a {@link CallCancellation} scope the request is sent with {@code sendAsync} and the calling thread
+     * waits for the exchange, which cancelling the scope cancels.
+     *
+     * @param request the request
+     * @return the response
+     */
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            if (!CallCancellation.isActive()) {
+                return client.getHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+            }
+            CompletableFuture<HttpResponse<byte[]>> exchange = client.getHttpClient()
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            CallCancellation.register(() -> exchange.cancel(true));
+            return exchange.get();
+        } catch (IOException e) {
+            throw new HttpClientException("HTTP request failed: " + e.getMessage(), e);
+        } catch (CancellationException e) {
+            throw new HttpClientException("HTTP request cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new HttpClientException("HTTP request failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("HTTP request interrupted", e);
+        }
+    }
+
+    /**
+     * Send a request without blocking and read the whole body.
+     * <p>
+     * Transport failures complete the returned future with {@link HttpClientException}; cancelling it cancels the
+     * exchange.
+     *
+     * @param request the request
+     * @return future of the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> exchange = client.getHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<HttpResponse<byte[]>> future = new CompletableFuture<>();
+        exchange.whenComplete((response, error) -> {
+            if (error == null) {
+                future.complete(response);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            future.completeExceptionally(new HttpClientException("HTTP request failed: " + cause.getMessage(), cause));
+        });
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Build the JDK request.
+     *
+     * @param stream whether the request opens an SSE stream
+     * @return JDK request
+     */
+    private HttpRequest buildRequest(boolean stream) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(buildUri());
+        Duration timeout = stream ? client.getSseRequestTimeout() : client.getRequestTimeout();
+        if (timeout != null) {
+            requestBuilder.timeout(timeout);
+        }
+
+        Map<String, String> requestHeaders = new LinkedHashMap<>(client.getDefaultHeaders().toSingleValueMap());
+        requestHeaders.putAll(headers);
+        String contentType = findHeader(requestHeaders, HttpHeaders.CONTENT_TYPE);
+
+        HttpRequest.BodyPublisher bodyPublisher;
+        if (MultipartBodyProcessor.isMultipartRequest(contentType) && body instanceof Map
+                && MultipartBodyProcessor.isMultipartBodyMap((Map<?, ?>) body)) {
+            @SuppressWarnings("unchecked")
+            Map<String, MultipartBodyBuilder.Part> parts = (Map<String, MultipartBodyBuilder.Part>) body;
+            JdkMultipartBodyBuilder multipartBuilder = new JdkMultipartBodyBuilder(jsonMapper, client.getSkipNull())
+                    .addParts(parts);
+            bodyPublisher = HttpRequest.BodyPublishers.ofByteArray(multipartBuilder.build());
+            contentType = multipartBuilder.getContentType();
+        } else if (multipartData != null) {
+            JdkMultipartBodyBuilder multipartBuilder = new JdkMultipartBodyBuilder(jsonMapper, client.getSkipNull())
+                    .addFormData(multipartData);
+            bodyPublisher = HttpRequest.BodyPublishers.ofByteArray(multipartBuilder.build());
+            contentType = multipartBuilder.getContentType();
+        } else if (body != null) {
+            bodyPublisher = HttpRequest.BodyPublishers.ofString(serializeBody(), StandardCharsets.UTF_8);
+            if (contentType == null) {
+                contentType = JSON_CONTENT_TYPE;
+            }
+        } else {
+            bodyPublisher = HttpRequest.BodyPublishers.noBody();
+        }
+        requestBuilder.method(method, bodyPublisher);
+
+        for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
+            String name = entry.getKey();
+            if (entry.getValue() == null || RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))
+                    || HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    || (stream && "Accept".equalsIgnoreCase(name))) {
+                continue;
+            }
+            requestBuilder.header(name, entry.getValue());
+        }
+        if (contentType != null) {
+            requestBuilder.header(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+        if (stream) {
+            requestBuilder.header("Accept", EVENT_STREAM);
+        }
+
+        // Add cookies as Cookie header
+        if (!cookies.isEmpty()) {
+            String cookieHeader = RequestParameterProcessor.buildCookieHeader(cookies);
+            if (!cookieHeader.isEmpty()) {
+                requestBuilder.header("Cookie", cookieHeader);
+            }
+        }
+
+        for (JdkHttpRequestInterceptor interceptor : client.getInterceptors()) {
+            interceptor.intercept(requestBuilder);
+        }
+        HttpRequest request = requestBuilder.build();
+        if (client.isLogging() && log.isDebugEnabled()) {
+            log.debug("【Dify】HTTP Request | {} {}", request.method(), request.uri());
+        }
+        return request;
+    }
+
+    /**
+     * Build the request URI from base URL, path and query parameters.
+     *
+     * @return request URI
+     */
+    private URI buildUri() {
+        // Build URL - handle potential double slash when baseUrl ends with / and uri starts with /
+        String baseUrl = client.getBaseUrl();
+        String path = uri != null ? uri.toString() : "";
+        StringBuilder fullUrl = new StringBuilder(baseUrl.length() + path.length() + 32);
+        if (baseUrl.endsWith("/") && path.startsWith("/")) {
+            fullUrl.append(baseUrl).append(path, 1, path.length());
+        } else if (!baseUrl.endsWith("/") && !path.isEmpty() && !path.startsWith("/")) {
+            fullUrl.append(baseUrl).append('/').append(path);
+        } else {
+            fullUrl.append(baseUrl).append(path);
+        }
+        char separator = fullUrl.indexOf("?") >= 0 ? '&' : '?';
+        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            fullUrl.append(separator)
+                    .append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        try {
+            return URI.create(fullUrl.toString());
+        } catch (IllegalArgumentException e) {
+            throw new HttpClientException("Invalid URL: " + fullUrl, e);
+        }
+    }
+
+    private static String findHeader(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Serialize the JSON request body.
+     *
+     * @return JSON string
+     */
+    private String serializeBody() {
+        try {
+            return JsonSerializationHelper.serialize(body, jsonMapper, client.getSkipNull());
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to serialize request body to JSON", e);
+        }
+    }
+
+    /**
+     * Handle response and deserialize body.
+     *
+     * @param response     JDK response
+     * @param responseType response type class
+     * @param checkError   whether to check for errors
+     * @param <T>          response type
+     * @return deserialized response body
+     */
+    private <T> T handleResponse(HttpResponse<byte[]> response, Class<T> responseType, boolean checkError) {
+        if (checkError && !HttpStatusValidator.isSuccessful(response.statusCode())) {
+            handleError(response);
+        }
+        byte[] bodyBytes = response.body();
+        if (bodyBytes == null || bodyBytes.length == 0 || !HttpStatusValidator.isSuccessful(response.statusCode())) {
+            return null;
+        }
+        try {
+            return deserialize(bodyBytes, 0, bodyBytes.length, responseType);
+        } catch (HttpClientException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Failed to deserialize response body error:{}", e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Handle response with generic type reference.
+     *
+     * @param response      JDK response
+     * @param typeReference type reference
+     * @param checkError    whether to check for errors
+     * @param <T>           response type
+     * @return deserialized response body
+     */
+    private <T> T handleResponse(HttpResponse<byte[]> response, TypeReference<T> typeReference, boolean checkError) {
+        if (checkError && !HttpStatusValidator.isSuccessful(response.statusCode())) {
+            handleError(response);
+        }
+        byte[] bodyBytes = response.body();
+        if (bodyBytes == null || bodyBytes.length == 0) {
+            return null;
+        }
+        try {
+            return jsonMapper.fromJson(bodyAsString(bodyBytes), typeReference);
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to deserialize response body", e);
+        }
+    }
+
+    /**
+     * Deserialize a slice of UTF-8 encoded bytes to target type.
+     *
+     * @param bytes        array holding the payload
+     * @param offset       start of the payload
+     * @param length       payload length
+     * @param responseType target type
+     * @param <T>          response type
+     * @return deserialized object
+     */
+    private <T> T deserialize(byte[] bytes, int offset, int length, Class<T> responseType) {
+        if (length == 0 || responseType == Void.class || responseType == void.class) {
+            return null;
+        }
+        if (responseType == byte[].class) {
+            return responseType.cast(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+        if (responseType == String.class) {
+            return responseType.cast(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+        try {
+            return jsonMapper.fromJson(bytes, offset, length, responseType);
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to deserialize response body", e);
+        }
+    }
+
+    private static String bodyAsString(byte[] bodyBytes) {
+        return bodyBytes != null ? new String(bodyBytes, StandardCharsets.UTF_8) : "";
+    }
+
+    /**
+     * Build HttpResponse wrapper.
+     *
+     * @param response     JDK response
+     * @param responseBody deserialized response body
+     * @param <T>          response body type
+     * @return HttpResponse
+     */
+    private static <T> ResponseEntity<T> buildHttpResponse(HttpResponse<?> response, T responseBody) {
+        return new ResponseEntity<>(response.statusCode(), response.headers().map(), responseBody);
+    }
+
+    /**
+     * Handle HTTP error response.
+     *
+     * @param response JDK response
+     */
+    private void handleError(HttpResponse<byte[]> response) {
+        int statusCode = response.statusCode();
+        String responseBody = bodyAsString(response.body());
+
+        log.error("【Dify】HTTP request failed: {} {} - Status: {}, Body: {}",
+                method, response.request().uri(), statusCode, responseBody);
+
+        throw new HttpClientException(statusCode, responseBody);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Interceptor applied to every request sent by a {@link JdkHttpClient}.
+ * <p>
+ * {@code java.net.http.HttpClient} has no interceptor chain, so interceptors are given the request builder
+ * right before the request is built, after the default and per-request headers have been added.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface JdkHttpRequestInterceptor {
+
+    /**
+     * Customize the request about to be sent.
+     *
+     * @param requestBuilder the request builder
+     */
+    void intercept(HttpRequest.Builder requestBuilder);
+}
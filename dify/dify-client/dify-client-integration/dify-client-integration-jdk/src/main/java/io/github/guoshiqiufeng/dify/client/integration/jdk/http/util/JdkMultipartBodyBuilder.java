@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http.util;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonSerializationHelper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.util.MultipartBodyProcessor;
+import io.github.guoshiqiufeng.dify.core.utils.MultipartBodyBuilder;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builder for {@code multipart/form-data} request bodies sent with the JDK HTTP client.
+ * <p>
+ * {@code java.net.http} only ships byte, string and file body publishers, so the form is encoded into a
+ * single byte array here. Handles the same part types as the other integrations: files (byte[]), strings,
+ * numbers, booleans, and complex objects serialized as JSON.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class JdkMultipartBodyBuilder {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] DASHES = {'-', '-'};
+
+    @Getter
+    private final String boundary;
+    private final JsonMapper mapper;
+    private final boolean skipNull;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    /**
+     * Constructor with a random boundary.
+     *
+     * @param mapper   JSON mapper for serializing complex objects
+     * @param skipNull whether to skip null values when serializing to JSON
+     */
+    public JdkMultipartBodyBuilder(JsonMapper mapper, boolean skipNull) {
+        this(UUID.randomUUID().toString(), mapper, skipNull);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param boundary the multipart boundary
+     * @param mapper   JSON mapper for serializing complex objects
+     * @param skipNull whether to skip null values when serializing to JSON
+     */
+    public JdkMultipartBodyBuilder(String boundary, JsonMapper mapper, boolean skipNull) {
+        this.boundary = boundary;
+        this.mapper = mapper;
+        this.skipNull = skipNull;
+    }
+
+    /**
+     * Get the Content-Type header value of the body, including the boundary.
+     *
+     * @return content type
+     */
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * Add the parts built by {@link MultipartBodyBuilder}.
+     *
+     * @param parts map of part names to Part objects
+     * @return this builder
+     */
+    public JdkMultipartBodyBuilder addParts(Map<String, MultipartBodyBuilder.Part> parts) {
+        for (Map.Entry<String, MultipartBodyBuilder.Part> entry : parts.entrySet()) {
+            MultipartBodyBuilder.Part part = entry.getValue();
+            Object partValue = part.getValue();
+            if (partValue instanceof byte[]) {
+                String filename = MultipartBodyProcessor.extractFilename(part.getHeader("Content-Disposition"));
+                String partContentType = part.getHeader("Content-Type");
+                addFile(entry.getKey(), filename, (byte[]) partValue,
+                        partContentType != null ? partContentType : "application/octet-stream");
+            } else {
+                addValue(entry.getKey(), partValue);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add plain form fields. byte[] values are sent as a file named {@code file}.
+     *
+     * @param formData map of field names to values
+     * @return this builder
+     */
+    public JdkMultipartBodyBuilder addFormData(Map<String, Object> formData) {
+        for (Map.Entry<String, Object> entry : formData.entrySet()) {
+            if (entry.getValue() instanceof byte[]) {
+                addFile(entry.getKey(), "file", (byte[]) entry.getValue(), "application/octet-stream");
+            } else {
+                addValue(entry.getKey(), entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add a file part.
+     *
+     * @param name        part name
+     * @param filename    file name, may be null
+     * @param content     file content
+     * @param contentType content type of the file
+     * @return this builder
+     */
+    public JdkMultipartBodyBuilder addFile(String name, String filename, byte[] content, String contentType) {
+        StringBuilder disposition = new StringBuilder("form-data; name=\"").append(escape(name)).append('"');
+        if (filename != null) {
+            disposition.append("; filename=\"").append(escape(filename)).append('"');
+        }
+        writePart(disposition.toString(), contentType, content);
+        return this;
+    }
+
+    /**
+     * Add a text part, serializing complex values to JSON.
+     *
+     * @param name  part name
+     * @param value part value
+     * @return this builder
+     */
+    public JdkMultipartBodyBuilder addValue(String name, Object value) {
+        String text;
+        if (value instanceof String) {
+            text = (String) value;
+        } else if (value instanceof Number || value instanceof Boolean) {
+            text = String.valueOf(value);
+        } else {
+            try {
+                text = JsonSerializationHelper.serialize(value, mapper, skipNull);
+            } catch (Exception e) {
+                throw new HttpClientException("Failed to serialize multipart field to JSON: " + name, e);
+            }
+        }
+        writePart("form-data; name=\"" + escape(name) + "\"", null, text.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * Finish the body with the closing boundary.
+     *
+     * @return encoded body
+     */
+    public byte[] build() {
+        write(DASHES);
+        write(boundary.getBytes(StandardCharsets.US_ASCII));
+        write(DASHES);
+        write(CRLF);
+        return out.toByteArray();
+    }
+
+    private void writePart(String disposition, String contentType, byte[] content) {
+        write(DASHES);
+        write(boundary.getBytes(StandardCharsets.US_ASCII));
+        write(CRLF);
+        write(("Content-Disposition: " + disposition).getBytes(StandardCharsets.UTF_8));
+        write(CRLF);
+        if (contentType != null) {
+            write(("Content-Type: " + contentType).getBytes(StandardCharsets.UTF_8));
+            write(CRLF);
+        }
+        write(CRLF);
+        write(content);
+        write(CRLF);
+    }
+
+    private void write(byte[] bytes) {
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+}
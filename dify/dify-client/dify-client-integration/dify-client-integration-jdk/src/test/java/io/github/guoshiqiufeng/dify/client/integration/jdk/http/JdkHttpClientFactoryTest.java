@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
+import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdkHttpClientFactory
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+@ExtendWith(MockitoExtension.class)
+class JdkHttpClientFactoryTest {
+
+    @Mock
+    private JsonMapper jsonMapper;
+
+    private JdkHttpClientFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new JdkHttpClientFactory(jsonMapper);
+    }
+
+    @Test
+    void testCreateClientUsesHttp2ByDefault() {
+        HttpClient client = factory.createClient("http://example.com", new DifyProperties.ClientConfig());
+
+        JdkHttpClient jdkHttpClient = assertInstanceOf(JdkHttpClient.class, client);
+        assertEquals(java.net.http.HttpClient.Version.HTTP_2, jdkHttpClient.getHttpClient().version());
+        assertEquals(java.net.http.HttpClient.Redirect.NORMAL, jdkHttpClient.getHttpClient().followRedirects());
+        assertEquals(Duration.ofSeconds(30), jdkHttpClient.getHttpClient().connectTimeout().orElse(null));
+    }
+
+    @Test
+    void testCreateClientWithCustomBuilder() {
+        JdkHttpClientFactory customFactory = new JdkHttpClientFactory(
+                java.net.http.HttpClient.newBuilder().version(java.net.http.HttpClient.Version.HTTP_1_1), jsonMapper);
+
+        JdkHttpClient client = (JdkHttpClient) customFactory.createClient("http://example.com");
+
+        assertEquals(java.net.http.HttpClient.Version.HTTP_1_1, client.getHttpClient().version());
+    }
+
+    @Test
+    void testCreateClientMapsTimeouts() {
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        config.setReadTimeout(10);
+        config.setSseReadTimeout(0);
+
+        JdkHttpClient client = (JdkHttpClient) factory.createClient("http://example.com", config);
+
+        assertEquals(Duration.ofSeconds(10), client.getRequestTimeout());
+        assertNull(client.getSseRequestTimeout(), "sseReadTimeout 0 disables the timeout of streaming requests");
+    }
+
+    @Test
+    void testDefaultHeaderReturnsNewFactory() {
+        HttpClientFactory newFactory = factory.defaultHeader("X-Custom-Header", "custom-value");
+
+        assertInstanceOf(JdkHttpClientFactory.class, newFactory);
+        assertNotSame(factory, newFactory, "Should return a new factory instance");
+        JdkHttpClient client = (JdkHttpClient) newFactory.createClient("http://example.com");
+        assertEquals("custom-value", client.getDefaultHeaders().getFirst("X-Custom-Header"));
+        assertTrue(((JdkHttpClient) factory.createClient("http://example.com")).getDefaultHeaders().isEmpty());
+    }
+
+    @Test
+    void testInterceptorReturnsNewFactory() {
+        JdkHttpRequestInterceptor interceptor = builder -> builder.header("X-Trace", "1");
+
+        HttpClientFactory newFactory = factory.interceptor(interceptor);
+
+        assertNotSame(factory, newFactory, "Should return a new factory instance");
+        JdkHttpClient client = (JdkHttpClient) newFactory.createClient("http://example.com");
+        assertEquals(1, client.getInterceptors().size());
+    }
+
+    @Test
+    void testInterceptorWithInvalidTypeThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> factory.interceptor(new Object()));
+    }
+}
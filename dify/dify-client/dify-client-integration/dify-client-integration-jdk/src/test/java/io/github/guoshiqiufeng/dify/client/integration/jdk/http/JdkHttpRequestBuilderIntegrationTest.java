@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http;
+
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
+import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.utils.MultipartBodyBuilder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for JdkHttpRequestBuilder against a mock server
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class JdkHttpRequestBuilderIntegrationTest {
+
+    private MockWebServer mockServer;
+    private JdkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockServer = new MockWebServer();
+        mockServer.start();
+        HttpHeaders defaultHeaders = new HttpHeaders();
+        defaultHeaders.set("test-key", "test-value");
+        defaultHeaders.set("test-null", null);
+        client = new JdkHttpClient(
+                mockServer.url("/").toString(),
+                new DifyProperties.ClientConfig(),
+                null,
+                new GsonJsonMapper(),
+                defaultHeaders,
+                Collections.singletonList(builder -> builder.header("X-Intercepted", "yes"))
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    /**
+     * Helper method to get JdkHttpRequestBuilder from DefaultRequestHeadersUriSpec using reflection
+     */
+    private JdkHttpRequestBuilder getBuilder(Object spec) throws Exception {
+        Method method = spec.getClass().getDeclaredMethod("getRequestBuilder");
+        method.setAccessible(true);
+        return (JdkHttpRequestBuilder) method.invoke(spec);
+    }
+
+    @Test
+    void testExecuteWithSuccessfulResponse() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setBody("{\"name\":\"test\",\"id\":123}")
+                .setHeader("Content-Type", "application/json"));
+
+        TestResponse result = getBuilder(client.get()
+                .uri("/api/test"))
+                .execute(TestResponse.class);
+
+        assertEquals("test", result.name);
+        assertEquals(123, result.id);
+        RecordedRequest request = mockServer.takeRequest();
+        assertEquals("GET", request.getMethod());
+        assertEquals("/api/test", request.getPath());
+        assertEquals("test-value", request.getHeader("test-key"));
+        assertEquals("yes", request.getHeader("X-Intercepted"));
+    }
+
+    @Test
+    void testExecuteWithTypeReferenceList() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setBody("[{\"name\":\"a\",\"id\":1},{\"name\":\"b\",\"id\":2}]"));
+
+        List<TestResponse> result = getBuilder(client.get()
+                .uri("/api/list"))
+                .execute(new TypeReference<List<TestResponse>>() {
+                });
+
+        assertEquals(2, result.size());
+        assertEquals("b", result.get(1).name);
+    }
+
+    @Test
+    void testExecuteWithHttpError() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("{\"error\":\"boom\"}"));
+
+        HttpClientException exception = assertThrows(HttpClientException.class,
+                () -> getBuilder(client.get().uri("/api/error")).execute(TestResponse.class));
+        assertEquals(500, exception.getStatusCode());
+    }
+
+    @Test
+    void testPostJsonBodyWithQueryParamsAndCookies() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(204));
+
+        int status = getBuilder(client.post()
+                .uri("/api/create")
+                .cookie("session", "s1")
+                .body(new TestResponse("created", 7)))
+                .queryParam("user", "a b&c")
+                .executeForStatus();
+
+        assertEquals(204, status);
+        RecordedRequest request = mockServer.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/api/create?user=a+b%26c", request.getPath());
+        assertEquals("application/json; charset=utf-8", request.getHeader("Content-Type"));
+        assertEquals("session=s1", request.getHeader("Cookie"));
+        assertEquals("{\"name\":\"created\",\"id\":7}", request.getBody().readUtf8());
+    }
+
+    @Test
+    void testToEntityPassesErrorBodyToHandler() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setHeader("X-Request-Id", "r1")
+                .setBody("{\"code\":\"not_found\"}"));
+
+        AtomicReference<ResponseEntity<?>> handled = new AtomicReference<>();
+        ResponseEntity<TestResponse> response = client.get()
+                .uri("/api/missing")
+                .retrieve()
+                .onStatus(ResponseErrorHandler.on4xxStatus(handled::set))
+                .toEntity(TestResponse.class);
+
+        assertEquals(404, response.getStatusCode());
+        assertNotNull(handled.get());
+        assertEquals("{\"code\":\"not_found\"}", handled.get().getBody());
+        assertEquals("r1", handled.get().getHeaders().getFirst("x-request-id"));
+    }
+
+    @Test
+    void testMultipartUpload() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setBody("{\"name\":\"uploaded\",\"id\":888}"));
+
+        MultipartBodyBuilder multipartBodyBuilder = new MultipartBodyBuilder();
+        multipartBodyBuilder.part("user", "abc-123");
+        multipartBodyBuilder.part("file", "test data".getBytes())
+                .header("Content-Disposition", "form-data; name=\"file\"; filename=\"a.txt\"");
+
+        TestResponse result = client.post()
+                .uri("/api/upload")
+                .contentType("multipart/form-data")
+                .body(multipartBodyBuilder.build())
+                .retrieve()
+                .body(TestResponse.class);
+
+        assertEquals(888, result.id);
+        RecordedRequest request = mockServer.takeRequest();
+        assertTrue(request.getHeader("Content-Type").startsWith("multipart/form-data; boundary="));
+        String body = request.getBody().readUtf8();
+        assertTrue(body.contains("name=\"user\"\r\n\r\nabc-123"));
+        assertTrue(body.contains("filename=\"a.txt\""));
+        assertTrue(body.contains("test data"));
+    }
+
+    @Test
+    void testStreamWithSseEvents() throws Exception {
+        String sseData = "event: ping\n\n" +
+                "data: {\"name\":\"event1\",\"id\":1}\n\n" +
+                "data: {\"name\":\"event2\",\"id\":2}\n\n";
+        mockServer.enqueue(new MockResponse()
+                .setChunkedBody(sseData, 5)
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Flux<TestResponse> flux = client.post()
+                .uri("/api/stream")
+                .body(Collections.singletonMap("query", "hi"))
+                .retrieve()
+                .bodyToFlux(TestResponse.class);
+
+        StepVerifier.create(flux)
+                .expectNextMatches(event -> event.id == 1 && "event1".equals(event.name))
+                .expectNextMatches(event -> event.id == 2)
+                .verifyComplete();
+        assertEquals("text/event-stream", mockServer.takeRequest().getHeader("Accept"));
+    }
+
+    @Test
+    void testStreamWithTypeReference() {
+        mockServer.enqueue(new MockResponse()
+                .setBody("data: {\"id\":1}\r\n\r\ndata: [DONE]\n\n")
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Flux<Map<String, Object>> flux = client.get()
+                .uri("/api/stream")
+                .retrieve()
+                .bodyToFlux(new TypeReference<Map<String, Object>>() {
+                });
+
+        StepVerifier.create(flux)
+                .expectNextMatches(event -> event.containsKey("id"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamWithError() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setBody("{\"code\":\"unauthorized\"}"));
+
+        StepVerifier.create(streamOf(client.get().uri("/api/stream")))
+                .expectErrorMatches(e -> e instanceof HttpClientException
+                        && ((HttpClientException) e).getStatusCode() == 401
+                        && e.getMessage().contains("unauthorized"))
+                .verify();
+    }
+
+    @Test
+    void testStreamIdleTimeout() {
+        mockServer.enqueue(new MockResponse()
+                .setBody("data: {\"name\":\"late\",\"id\":1}\n\n")
+                .setBodyDelay(2, TimeUnit.SECONDS)
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Flux<TestResponse> flux = client.get()
+                .uri("/api/stream")
+                .retrieve()
+                .streamTimeout(StreamTimeout.idle(Duration.ofMillis(300)))
+                .bodyToFlux(TestResponse.class);
+
+        StepVerifier.create(flux)
+                .expectError(StreamTimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private Flux<TestResponse> streamOf(Object spec) {
+        try {
+            return getBuilder(spec).stream(TestResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testExecuteAsyncWithSuccessfulResponse() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setBody("{\"name\":\"async\",\"id\":7}")
+                .setHeader("Content-Type", "application/json"));
+
+        TestResponse result = getBuilder(client.get()
+                .uri("/api/async"))
+                .executeAsync(TestResponse.class)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("async", result.name);
+        assertEquals(7, result.id);
+        assertEquals("yes", mockServer.takeRequest().getHeader("X-Intercepted"));
+    }
+
+    @Test
+    void testExecuteAsyncWithHttpError() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(500).setBody("boom"));
+
+        CompletableFuture<TestResponse> future = getBuilder(client.get()
+                .uri("/api/error"))
+                .executeAsync(TestResponse.class);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        assertEquals(500, ((HttpClientException) exception.getCause()).getStatusCode());
+    }
+
+    @Test
+    void testToEntityAsyncPassesErrorBodyToHandler() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(404).setBody("missing"));
+        AtomicReference<Object> errorBody = new AtomicReference<>();
+
+        ResponseEntity<List<TestResponse>> response = client.get()
+                .uri("/api/missing")
+                .retrieve()
+                .onStatus(ResponseErrorHandler.onStatus(status -> status == 404, r -> errorBody.set(r.getBody())))
+                .toEntityAsync(new TypeReference<List<TestResponse>>() {
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(404, response.getStatusCode());
+        assertEquals("missing", errorBody.get());
+    }
+
+    @Test
+    void testToBodilessEntityAsyncOnConnectionFailure() throws IOException {
+        mockServer.shutdown();
+
+        CompletableFuture<ResponseEntity<Void>> future = client.delete()
+                .uri("/api/test")
+                .retrieve()
+                .toBodilessEntityAsync();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("HTTP request failed"));
+    }
+
+    static class TestResponse {
+        String name;
+        int id;
+
+        public TestResponse() {
+        }
+
+        public TestResponse(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.jdk.http.util;
+
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.core.utils.MultipartBodyBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for JdkMultipartBodyBuilder
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class JdkMultipartBodyBuilderTest {
+
+    @Test
+    void testBuildFromParts() {
+        MultipartBodyBuilder multipartBodyBuilder = new MultipartBodyBuilder();
+        multipartBodyBuilder.part("user", "abc-123");
+        multipartBodyBuilder.part("count", 3);
+        multipartBodyBuilder.part("file", "hello".getBytes(StandardCharsets.UTF_8))
+                .header("Content-Disposition", "form-data; name=\"file\"; filename=\"a.txt\"")
+                .header("Content-Type", "text/plain");
+
+        JdkMultipartBodyBuilder builder = new JdkMultipartBodyBuilder("b0undary", new GsonJsonMapper(), true)
+                .addParts(multipartBodyBuilder.build());
+        String body = new String(builder.build(), StandardCharsets.UTF_8);
+
+        assertEquals("multipart/form-data; boundary=b0undary", builder.getContentType());
+        assertEquals("--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"user\"\r\n\r\n"
+                + "abc-123\r\n"
+                + "--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"count\"\r\n\r\n"
+                + "3\r\n"
+                + "--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n"
+                + "hello\r\n"
+                + "--b0undary--\r\n", body);
+    }
+
+    @Test
+    void testBuildFromFormDataSerializesComplexValues() {
+        Map<String, Object> formData = new LinkedHashMap<>();
+        formData.put("meta", Collections.singletonMap("k", "v"));
+        formData.put("file", new byte[]{1, 2});
+
+        String body = new String(new JdkMultipartBodyBuilder("x", new GsonJsonMapper(), true)
+                .addFormData(formData).build(), StandardCharsets.ISO_8859_1);
+
+        assertTrue(body.contains("name=\"meta\"\r\n\r\n{\"k\":\"v\"}\r\n"));
+        assertTrue(body.contains("name=\"file\"; filename=\"file\"\r\nContent-Type: application/octet-stream\r\n\r\n\u0001\u0002\r\n"));
+    }
+
+    @Test
+    void testQuotesInNamesAreEscaped() {
+        String body = new String(new JdkMultipartBodyBuilder("x", new GsonJsonMapper(), true)
+                .addValue("a\"b", "v").build(), StandardCharsets.UTF_8);
+
+        assertTrue(body.contains("name=\"a%22b\""));
+    }
+
+    @Test
+    void testSerializationFailureIsWrapped() {
+        JsonMapper mapper = mock(JsonMapper.class);
+        when(mapper.toJsonIgnoreNull(any())).thenThrow(new RuntimeException("boom"));
+
+        JdkMultipartBodyBuilder builder = new JdkMultipartBodyBuilder("x", mapper, true);
+        Object value = new Object();
+        HttpClientException exception = assertThrows(HttpClientException.class, () -> builder.addValue("meta", value));
+        assertTrue(exception.getMessage().contains("meta"));
+    }
+}
@@ -15,21 +15,37 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.okhttp.http;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorators;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodyUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool.OkHttpTransport;
+import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool.OkHttpTransportRegistry;
 import io.github.guoshiqiufeng.dify.client.integration.okhttp.logging.LoggingInterceptor;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.utils.StrUtil;
+import io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher.OkHttpStreamPublisher;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -41,7 +57,7 @@ import java.util.concurrent.TimeUnit;
  * @since 2025-12-26
  */
 @Slf4j
-public class JavaHttpClient implements HttpClient {
+public class JavaHttpClient implements HttpClient, Closeable {
 
     @Getter
     private final OkHttpClient okHttpClient;
@@ -50,10 +66,46 @@ public class JavaHttpClient implements HttpClient {
     @Getter
     private final String baseUrl;
     private final HttpHeaders defaultHeaders;
+    /**
+     * Content-Type, Accept and default headers added to every request, built once.
+     */
+    private final Headers requestHeaders;
     private final OkHttpClient.Builder builder;
     private final JsonMapper jsonMapper;
     @Getter
     private final Boolean skipNull;
+    /**
+     * Number of SSE events decoded ahead of subscriber demand.
+     */
+    @Getter
+    private final int ssePrefetch;
+    /**
+     * Default deadlines of SSE streams, overridable per call.
+     */
+    @Getter
+    private final StreamTimeout streamTimeout;
+    /**
+     * Scheduler performing the blocking reads of streaming responses, null to read on the dispatcher executor.
+     */
+    @Getter
+    @Setter
+    private volatile Scheduler streamScheduler;
+    /**
+     * Per-API-key bulkheads limiting the requests of this client, null if not limited.
+     */
+    @Getter
+    @Setter
+    private volatile BulkheadRegistry bulkheadRegistry;
+    /**
+     * Decorators applied to the request builders of this client, in registration order.
+     */
+    private final List<HttpRequestDecorator> requestDecorators = new CopyOnWriteArrayList<>();
+    /**
+     * Lease on the connection pool and dispatcher shared with the other clients of the base URL, null if the client
+     * was created without configuration and keeps those of its builder.
+     */
+    @Getter
+    private final OkHttpTransport transport;
 
     /**
      * Constructor with base URL and client configuration.
@@ -63,25 +115,11 @@ public class JavaHttpClient implements HttpClient {
      * @param jsonMapper   the JSON mapper
      */
     public JavaHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, OkHttpClient.Builder builder, JsonMapper jsonMapper) {
-        this.baseUrl = baseUrl;
-        this.jsonMapper = jsonMapper;
-        this.builder = builder;
-        this.defaultHeaders = new HttpHeaders();
-        this.skipNull = clientConfig != null ? clientConfig.getSkipNull() : true;
-        OkHttpClient[] clients = createOkHttpClients(clientConfig, builder, new HttpHeaders(), new ArrayList<>());
-        this.okHttpClient = clients[0];
-        this.sseOkHttpClient = clients[1];
+        this(baseUrl, clientConfig, builder, jsonMapper, new HttpHeaders(), new ArrayList<>());
     }
 
     public JavaHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, OkHttpClient.Builder builder, JsonMapper jsonMapper, HttpHeaders defaultHeaders) {
-        this.baseUrl = baseUrl;
-        this.jsonMapper = jsonMapper;
-        this.builder = builder;
-        this.defaultHeaders = defaultHeaders;
-        this.skipNull = clientConfig != null ? clientConfig.getSkipNull() : true;
-        OkHttpClient[] clients = createOkHttpClients(clientConfig, builder, defaultHeaders, new ArrayList<>());
-        this.okHttpClient = clients[0];
-        this.sseOkHttpClient = clients[1];
+        this(baseUrl, clientConfig, builder, jsonMapper, defaultHeaders, new ArrayList<>());
     }
 
     /**
@@ -95,12 +133,36 @@ public class JavaHttpClient implements HttpClient {
      */
     public JavaHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, OkHttpClient.Builder builder, JsonMapper jsonMapper,
                           HttpHeaders defaultHeaders, List<Interceptor> interceptors) {
+        this(baseUrl, clientConfig, builder, jsonMapper, defaultHeaders, interceptors, OkHttpTransportRegistry.shared());
+    }
+
+    /**
+     * Constructor with base URL, client configuration, default headers, interceptors and the registry providing the
+     * connection pool and dispatcher.
+     *
+     * @param baseUrl           the base URL for all requests
+     * @param clientConfig      the client configuration
+     * @param jsonMapper        the JSON mapper
+     * @param defaultHeaders    the default headers to add to all requests
+     * @param interceptors      the list of custom interceptors
+     * @param transportRegistry the registry sharing connection pools and dispatchers between clients of the same
+     *                          base URL and pool settings
+     */
+    public JavaHttpClient(String baseUrl, DifyProperties.ClientConfig clientConfig, OkHttpClient.Builder builder, JsonMapper jsonMapper,
+                          HttpHeaders defaultHeaders, List<Interceptor> interceptors,
+                          OkHttpTransportRegistry transportRegistry) {
         this.baseUrl = baseUrl;
         this.jsonMapper = jsonMapper;
         this.builder = builder;
         this.defaultHeaders = defaultHeaders;
         this.skipNull = clientConfig != null ? clientConfig.getSkipNull() : true;
-        OkHttpClient[] clients = createOkHttpClients(clientConfig, builder, defaultHeaders, interceptors);
+        this.ssePrefetch = resolveSsePrefetch(clientConfig);
+        this.streamTimeout = StreamTimeout.from(clientConfig);
+        this.bulkheadRegistry = BulkheadRegistry.of(clientConfig);
+        this.requestDecorators.addAll(HttpRequestDecorators.of(clientConfig));
+        this.requestHeaders = buildRequestHeaders(defaultHeaders);
+        this.transport = clientConfig != null ? transportRegistry.acquire(baseUrl, clientConfig) : null;
+        OkHttpClient[] clients = createOkHttpClients(clientConfig, builder, interceptors);
         this.okHttpClient = clients[0];
         this.sseOkHttpClient = clients[1];
     }
@@ -124,18 +186,34 @@ public class JavaHttpClient implements HttpClient {
         this(baseUrl, clientConfig, new OkHttpClient.Builder(), jsonMapper, defaultHeaders, interceptors);
     }
 
+    /**
+     * Resolve the SSE prefetch from configuration, falling back to the default for missing or invalid values.
+     *
+     * @param clientConfig the client configuration
+     * @return SSE prefetch
+     */
+    private static int resolveSsePrefetch(DifyProperties.ClientConfig clientConfig) {
+        Integer ssePrefetch = clientConfig != null ? clientConfig.getSsePrefetch() : null;
+        if (ssePrefetch == null) {
+            return OkHttpStreamPublisher.DEFAULT_PREFETCH;
+        }
+        if (ssePrefetch < 1) {
+            log.warn("Invalid ssePrefetch value: {}, using default value {}", ssePrefetch, OkHttpStreamPublisher.DEFAULT_PREFETCH);
+            return OkHttpStreamPublisher.DEFAULT_PREFETCH;
+        }
+        return ssePrefetch;
+    }
+
     /**
      * Create OkHttpClient instances with configuration.
      * Creates separate clients for regular and SSE requests if sseReadTimeout differs.
      * Creates a new Builder instance to avoid shared state and race conditions.
      *
      * @param clientConfig   the client configuration
-     * @param defaultHeaders the default headers to add to all requests
      * @param interceptors   the list of custom interceptors
      * @return array of [regularClient, sseClient] - both may be the same instance if no SSE timeout configured
      */
     private OkHttpClient[] createOkHttpClients(DifyProperties.ClientConfig clientConfig, OkHttpClient.Builder builder,
-                                               HttpHeaders defaultHeaders,
                                                List<Interceptor> interceptors) {
         // Preserve user's custom builder configuration while avoiding shared mutable state
         // If a builder is provided, create a new builder from the existing client to preserve all configurations
@@ -172,7 +250,7 @@ public class JavaHttpClient implements HttpClient {
 
         // Build regular client with readTimeout
         OkHttpClient regularClient = buildOkHttpClient(builder, connectTimeout, readTimeout, writeTimeout,
-                clientConfig, defaultHeaders, interceptors);
+                clientConfig, interceptors);
 
         // Build SSE client if needed
         OkHttpClient sseClient;
@@ -196,7 +274,7 @@ public class JavaHttpClient implements HttpClient {
      */
     private OkHttpClient buildOkHttpClient(OkHttpClient.Builder builder, int connectTimeout, int readTimeout,
                                            int writeTimeout, DifyProperties.ClientConfig clientConfig,
-                                           HttpHeaders defaultHeaders, List<Interceptor> interceptors) {
+                                           List<Interceptor> interceptors) {
 
         builder.connectTimeout(connectTimeout, TimeUnit.SECONDS);
         builder.readTimeout(readTimeout, TimeUnit.SECONDS);
@@ -204,46 +282,9 @@ public class JavaHttpClient implements HttpClient {
 
         // Configure connection pool
         if (clientConfig != null) {
-            // Validate and apply connection pool settings with boundary checks
-            // Strategy: Use default value for invalid parameters (< 1)
-            // This matches the Spring implementation for consistency
-            int maxIdleConnections = clientConfig.getMaxIdleConnections() != null
-                    ? clientConfig.getMaxIdleConnections() : 5;
-            if (maxIdleConnections < 1) {
-                log.warn("Invalid maxIdleConnections value: {}, using default value 5", maxIdleConnections);
-                maxIdleConnections = 5;
-            }
-
-            int keepAliveSeconds = clientConfig.getKeepAliveSeconds() != null
-                    ? clientConfig.getKeepAliveSeconds() : 300;
-            if (keepAliveSeconds < 1) {
-                log.warn("Invalid keepAliveSeconds value: {}, using default value 300", keepAliveSeconds);
-                keepAliveSeconds = 300;
-            }
-
-            okhttp3.ConnectionPool pool = new okhttp3.ConnectionPool(
-                    maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
-            builder.connectionPool(pool);
-
-            // Configure dispatcher with boundary checks
-            int maxRequests = clientConfig.getMaxRequests() != null
-                    ? clientConfig.getMaxRequests() : 64;
-            if (maxRequests < 1) {
-                log.warn("Invalid maxRequests value: {}, using default value 64", maxRequests);
-                maxRequests = 64;
-            }
-
-            int maxRequestsPerHost = clientConfig.getMaxRequestsPerHost() != null
-                    ? clientConfig.getMaxRequestsPerHost() : 5;
-            if (maxRequestsPerHost < 1) {
-                log.warn("Invalid maxRequestsPerHost value: {}, using default value 5", maxRequestsPerHost);
-                maxRequestsPerHost = 5;
-            }
-
-            okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
-            dispatcher.setMaxRequests(maxRequests);
-            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
-            builder.dispatcher(dispatcher);
+            // Connection pool and dispatcher are shared with the other clients of the base URL and pool settings
+            builder.connectionPool(transport.getConnectionPool());
+            builder.dispatcher(transport.getDispatcher());
 
             // Configure call timeout if specified
             // Note: callTimeout can be 0 (no limit) or positive value
@@ -271,78 +312,124 @@ public class JavaHttpClient implements HttpClient {
             }
         }
 
-        builder.addInterceptor(chain -> {
-            okhttp3.Request.Builder requestBuilder = chain.request().newBuilder();
-            requestBuilder.addHeader("Content-Type", "application/json");
-            requestBuilder.addHeader("Accept", "application/json");
-            return chain.proceed(requestBuilder.build());
-        });
-
-        // Add default headers interceptor if configured
-        if (defaultHeaders != null && !defaultHeaders.isEmpty()) {
-            builder.addInterceptor(chain -> {
-                okhttp3.Request.Builder requestBuilder = chain.request().newBuilder();
-                defaultHeaders.forEach((key, values) -> {
-                    if (!values.isEmpty()) {
-                        values.forEach(value -> {
-                            if (StrUtil.isNotEmpty(value)) {
-                                requestBuilder.addHeader(key, value);
-                            }
-                        });
+        return builder.build();
+    }
+
+    /**
+     * Build the headers added to every request: JSON Content-Type and Accept, followed by the non-empty default
+     * headers.
+     *
+     * @param defaultHeaders the default headers, may be null
+     * @return the request headers
+     */
+    private static Headers buildRequestHeaders(HttpHeaders defaultHeaders) {
+        Headers.Builder headers = new Headers.Builder()
+                .add("Content-Type", "application/json")
+                .add("Accept", "application/json");
+        if (defaultHeaders != null) {
+            defaultHeaders.forEach((key, values) -> {
+                if (values != null) {
+                    for (String value : values) {
+                        if (StrUtil.isNotEmpty(value)) {
+                            headers.add(key, value);
+                        }
                     }
-                });
-                return chain.proceed(requestBuilder.build());
+                }
             });
         }
+        return headers.build();
+    }
 
-        return builder.build();
+    /**
+     * Get the headers added by {@link OkHttpRequestBuilder} to every request of this client.
+     *
+     * @return the request headers
+     */
+    Headers getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Close the client, releasing its lease on the shared connection pool and dispatcher. They are shut down once
+     * every client sharing them is closed. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (transport != null) {
+            transport.close();
+        }
     }
 
     @Override
     public RequestHeadersUriSpec<?> get() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "GET"));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("GET"));
     }
 
     @Override
     public RequestBodyUriSpec post() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "POST"));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("POST"));
     }
 
     @Override
     public RequestBodyUriSpec put() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "PUT"));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("PUT"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> delete() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "DELETE"));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("DELETE"));
     }
 
     @Override
     public RequestBodyUriSpec patch() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "PATCH"));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("PATCH"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> head() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "HEAD"));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("HEAD"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> options() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, "OPTIONS"));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("OPTIONS"));
     }
 
     @Override
     public RequestBodyUriSpec method(io.github.guoshiqiufeng.dify.client.core.http.HttpMethod httpMethod) {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new io.github.guoshiqiufeng.dify.client.integration.okhttp.http.OkHttpRequestBuilder(this, jsonMapper, httpMethod.name()));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(httpMethod.name()));
+    }
+
+    /**
+     * Add a decorator applied to the request builders of this client, replacing a decorator of the same class.
+     *
+     * @param decorator the request decorator
+     */
+    public void addRequestDecorator(HttpRequestDecorator decorator) {
+        HttpRequestDecorators.register(requestDecorators, decorator);
+    }
+
+    /**
+     * Get the decorators applied to the request builders of this client.
+     *
+     * @return the request decorators, in registration order
+     */
+    public List<HttpRequestDecorator> getRequestDecorators() {
+        return Collections.unmodifiableList(requestDecorators);
+    }
+
+    /**
+     * Create the request builder for a method, wrapped by the request decorators and limited by the bulkhead of
+     * the request's API key if configured.
+     *
+     * @param method HTTP method
+     * @return request builder
+     */
+    private HttpRequestBuilder newRequestBuilder(String method) {
+        String defaultAuthorization = defaultHeaders != null ? defaultHeaders.getFirst(HttpHeaders.AUTHORIZATION) : null;
+        HttpRequestBuilder requestBuilder = HttpRequestDecorators.apply(new OkHttpRequestBuilder(this, jsonMapper, method),
+                requestDecorators, method, defaultAuthorization);
+        BulkheadRegistry registry = bulkheadRegistry;
+        return registry != null ? registry.decorate(requestBuilder, defaultAuthorization) : requestBuilder;
     }
 }
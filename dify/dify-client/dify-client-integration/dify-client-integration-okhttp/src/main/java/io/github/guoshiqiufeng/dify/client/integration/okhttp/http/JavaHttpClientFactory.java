@@ -15,13 +15,17 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.okhttp.http;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool.OkHttpTransportRegistry;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,13 +47,22 @@ public class JavaHttpClientFactory implements HttpClientFactory {
 
     private final List<Interceptor> interceptors;
 
+    private final Scheduler streamScheduler;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final List<HttpRequestDecorator> requestDecorators;
+
+    private final OkHttpTransportRegistry transportRegistry;
+
     /**
      * Constructor with JsonMapper.
      *
      * @param jsonMapper the JSON mapper
      */
     public JavaHttpClientFactory(JsonMapper jsonMapper) {
-        this(new OkHttpClient.Builder(), jsonMapper, new HttpHeaders(), new ArrayList<>());
+        this(new OkHttpClient.Builder(), jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null, new ArrayList<>(),
+                OkHttpTransportRegistry.shared());
     }
 
     /**
@@ -58,29 +71,44 @@ public class JavaHttpClientFactory implements HttpClientFactory {
      * @param jsonMapper the JSON mapper
      */
     public JavaHttpClientFactory(OkHttpClient.Builder builder, JsonMapper jsonMapper) {
-        this(builder, jsonMapper, new HttpHeaders(), new ArrayList<>());
+        this(builder, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null, new ArrayList<>(),
+                OkHttpTransportRegistry.shared());
     }
 
-    private JavaHttpClientFactory(OkHttpClient.Builder builder, JsonMapper jsonMapper, HttpHeaders defaultHeaders, List<Interceptor> interceptors) {
+    private JavaHttpClientFactory(OkHttpClient.Builder builder, JsonMapper jsonMapper, HttpHeaders defaultHeaders,
+                                  List<Interceptor> interceptors, Scheduler streamScheduler,
+                                  BulkheadRegistry bulkheadRegistry, List<HttpRequestDecorator> requestDecorators,
+                                  OkHttpTransportRegistry transportRegistry) {
         this.builder = builder;
         this.jsonMapper = jsonMapper;
         this.defaultHeaders = defaultHeaders;
         this.interceptors = interceptors;
+        this.streamScheduler = streamScheduler;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.requestDecorators = requestDecorators;
+        this.transportRegistry = transportRegistry;
     }
 
     @Override
     public HttpClient createClient(String baseUrl, DifyProperties.ClientConfig clientConfig) {
-        if (!defaultHeaders.isEmpty() || !interceptors.isEmpty()) {
-            return new JavaHttpClient(baseUrl, clientConfig, jsonMapper, defaultHeaders, interceptors);
+        JavaHttpClient client = new JavaHttpClient(baseUrl, clientConfig, new OkHttpClient.Builder(), jsonMapper,
+                defaultHeaders, interceptors, transportRegistry);
+        client.setStreamScheduler(streamScheduler);
+        if (bulkheadRegistry != null) {
+            client.setBulkheadRegistry(bulkheadRegistry);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators) {
+            client.addRequestDecorator(decorator);
         }
-        return new JavaHttpClient(baseUrl, clientConfig, jsonMapper);
+        return client;
     }
 
     @Override
     public HttpClientFactory defaultHeader(String key, String value) {
         HttpHeaders newHeaders = new HttpHeaders(this.defaultHeaders);
         newHeaders.add(key, value);
-        return new JavaHttpClientFactory(builder, jsonMapper, newHeaders, interceptors);
+        return new JavaHttpClientFactory(builder, jsonMapper, newHeaders, interceptors, streamScheduler, bulkheadRegistry,
+                requestDecorators, transportRegistry);
     }
 
     @Override
@@ -90,6 +118,44 @@ public class JavaHttpClientFactory implements HttpClientFactory {
         }
         List<Interceptor> newInterceptors = new ArrayList<>(this.interceptors);
         newInterceptors.add((Interceptor) interceptor);
-        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, newInterceptors);
+        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, newInterceptors, streamScheduler, bulkheadRegistry,
+                requestDecorators, transportRegistry);
+    }
+
+    /**
+     * Set the scheduler performing the blocking reads of streaming responses.
+     *
+     * @param streamScheduler the scheduler, null to read on the dispatcher executor
+     * @return a new factory instance using the scheduler
+     */
+    public JavaHttpClientFactory streamScheduler(Scheduler streamScheduler) {
+        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, streamScheduler, bulkheadRegistry,
+                requestDecorators, transportRegistry);
+    }
+
+    @Override
+    public JavaHttpClientFactory bulkheadRegistry(BulkheadRegistry bulkheadRegistry) {
+        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, streamScheduler, bulkheadRegistry,
+                requestDecorators, transportRegistry);
+    }
+
+    @Override
+    public JavaHttpClientFactory requestDecorator(HttpRequestDecorator decorator) {
+        List<HttpRequestDecorator> newDecorators = new ArrayList<>(this.requestDecorators);
+        newDecorators.add(decorator);
+        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, streamScheduler, bulkheadRegistry,
+                newDecorators, transportRegistry);
+    }
+
+    /**
+     * Set the registry sharing connection pools and dispatchers between the clients created by this factory and
+     * other clients of the same base URL and pool settings.
+     *
+     * @param transportRegistry the registry, {@link OkHttpTransportRegistry#shared()} by default
+     * @return a new factory instance using the registry
+     */
+    public JavaHttpClientFactory transportRegistry(OkHttpTransportRegistry transportRegistry) {
+        return new JavaHttpClientFactory(builder, jsonMapper, defaultHeaders, interceptors, streamScheduler, bulkheadRegistry,
+                requestDecorators, transportRegistry);
     }
 }
@@ -15,6 +15,7 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.okhttp.http;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonSerializationHelper;
 import io.github.guoshiqiufeng.dify.client.core.http.*;
@@ -22,11 +23,13 @@ import io.github.guoshiqiufeng.dify.client.core.http.util.HttpStatusValidator;
 import io.github.guoshiqiufeng.dify.client.core.http.util.MultipartBodyProcessor;
 import io.github.guoshiqiufeng.dify.client.core.http.util.RequestParameterProcessor;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.util.LinkedMultiValueMap;
 import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
 import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.util.DefaultUriBuilder;
 import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
+import io.github.guoshiqiufeng.dify.client.core.web.util.UriTemplate;
 import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.util.OkHttpMultipartBodyBuilder;
 import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.util.OkHttpResponseProcessor;
 import io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher.OkHttpStreamPublisher;
@@ -37,15 +40,19 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 
 import java.io.IOException;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
  * OkHttp-based implementation of HttpRequestBuilder.
+ * <p>
+ * The {@code *Async} methods enqueue the call on the OkHttp dispatcher instead of executing it on the calling
+ * thread, the returned future is completed from the dispatcher callback.
  *
  * @author yanghq
  * @version 2.0.0
@@ -60,10 +67,16 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
     private final JsonMapper jsonMapper;
     private final String method;
 
-    private URI uri;
+    /**
+     * Expanded request path, possibly with a query string.
+     */
+    private String path;
     private final Map<String, String> headers = new HashMap<>();
-    private final Map<String, String> cookies = new HashMap<>();
-    private final Map<String, String> queryParams = new HashMap<>();
+    /**
+     * Cookies and query parameters are rare, their maps are created on first use.
+     */
+    private Map<String, String> cookies;
+    private Map<String, String> queryParams;
     private Object body;
     private Map<String, Object> multipartData;
 
@@ -82,21 +95,32 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
 
     @Override
     public HttpRequestBuilder uri(String uri) {
-        this.uri = new DefaultUriBuilder().path(uri).build();
+        this.path = expand(uri);
         return this;
     }
 
     @Override
     public HttpRequestBuilder uri(String uri, Object... uriParams) {
-        this.uri = new DefaultUriBuilder().path(uri).build(uriParams);
+        this.path = expand(uri, uriParams);
         return this;
     }
 
+    /**
+     * Expand a path with the compiled template cached for it.
+     *
+     * @param uri       the path, null for the base URL
+     * @param uriParams the values of the path variables
+     * @return the expanded path
+     */
+    private static String expand(String uri, Object... uriParams) {
+        return uri != null ? UriTemplate.of(uri).expand(uriParams) : "";
+    }
+
     @Override
     public HttpRequestBuilder uri(Consumer<UriBuilder> uriBuilderConsumer) {
         DefaultUriBuilder uriBuilder = new DefaultUriBuilder();
         uriBuilderConsumer.accept(uriBuilder);
-        this.uri = uriBuilder.build();
+        this.path = uriBuilder.build().toString();
         return this;
     }
 
@@ -132,7 +156,7 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         // Convert HttpHeaders to single value map (using first value)
         httpCookies.forEach((key, values) -> {
             if (values != null && !values.isEmpty()) {
-                this.cookies.put(key, values.get(0));
+                cookies().put(key, values.get(0));
             }
         });
         return this;
@@ -140,16 +164,30 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
 
     @Override
     public HttpRequestBuilder queryParam(String name, String value) {
-        this.queryParams.put(name, value);
+        queryParams().put(name, value);
         return this;
     }
 
     @Override
     public HttpRequestBuilder queryParams(Map<String, String> params) {
-        this.queryParams.putAll(params);
+        queryParams().putAll(params);
         return this;
     }
 
+    private Map<String, String> cookies() {
+        if (cookies == null) {
+            cookies = new HashMap<>();
+        }
+        return cookies;
+    }
+
+    private Map<String, String> queryParams() {
+        if (queryParams == null) {
+            queryParams = new HashMap<>();
+        }
+        return queryParams;
+    }
+
     @Override
     public HttpRequestBuilder body(Object body) {
         this.body = body;
@@ -165,7 +203,7 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
     @Override
     public <T> T execute(Class<T> responseType) {
         Request request = buildRequest();
-        try (Response response = client.getOkHttpClient().newCall(request).execute()) {
+        try (Response response = executeCall(request)) {
             return handleResponse(response, responseType);
         } catch (IOException e) {
             throw new HttpClientException("HTTP request failed: " + e.getMessage(), e);
@@ -175,17 +213,27 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
     @Override
     public <T> T execute(io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) {
         Request request = buildRequest();
-        try (Response response = client.getOkHttpClient().newCall(request).execute()) {
+        try (Response response = executeCall(request)) {
             return handleResponse(response, typeReference);
         } catch (IOException e) {
             throw new HttpClientException("HTTP request failed: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Class<T> responseType) {
+        return enqueue(response -> handleResponse(response, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) {
+        return enqueue(response -> handleResponse(response, typeReference));
+    }
+
     @Override
     public <T> ResponseEntity<T> executeForResponse(Class<T> responseType) {
         Request request = buildRequest();
-        try (Response response = client.getOkHttpClient().newCall(request).execute()) {
+        try (Response response = executeCall(request)) {
             T responseBody = handleResponse(response, responseType);
             return buildHttpResponse(response, responseBody);
         } catch (IOException e) {
@@ -196,7 +244,7 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
     @Override
     public <T> ResponseEntity<T> executeForResponse(io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) {
         Request request = buildRequest();
-        try (Response response = client.getOkHttpClient().newCall(request).execute()) {
+        try (Response response = executeCall(request)) {
             T responseBody = handleResponse(response, typeReference);
             return buildHttpResponse(response, responseBody);
         } catch (IOException e) {
@@ -208,15 +256,16 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
     public <T> Flux<T> stream(Class<T> responseType) {
         Request request = buildRequest();
         // Use SSE client for streaming requests
-        OkHttpStreamPublisher<T> publisher = new OkHttpStreamPublisher<>(client.getSseOkHttpClient(), request, jsonMapper, responseType);
+        OkHttpStreamPublisher<T> publisher = new OkHttpStreamPublisher<>(client.getSseOkHttpClient(), request, jsonMapper,
+                responseType, client.getSsePrefetch(), client.getStreamScheduler());
 
-        return Flux.create(publisher::stream);
+        return publisher.toFlux();
     }
 
     @Override
     public int executeForStatus() {
         Request request = buildRequest();
-        try (Response response = client.getOkHttpClient().newCall(request).execute()) {
+        try (Response response = executeCall(request)) {
             if (!response.isSuccessful()) {
                 handleError(response);
             }
@@ -231,12 +280,18 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         return new OkHttpResponseSpec();
     }
 
+    @Override
+    public boolean isCancellable() {
+        return true;
+    }
+
     /**
      * OkHttp implementation of ResponseSpec.
      */
     private class OkHttpResponseSpec implements ResponseSpec {
 
         private final List<ResponseErrorHandler> errorHandlers = new ArrayList<>();
+        private StreamTimeout streamTimeout;
 
         @Override
         public ResponseSpec onStatus(ResponseErrorHandler errorHandler) {
@@ -244,6 +299,12 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
             return this;
         }
 
+        @Override
+        public ResponseSpec streamTimeout(StreamTimeout streamTimeout) {
+            this.streamTimeout = streamTimeout;
+            return this;
+        }
+
         @Override
         public <T> T body(Class<T> responseType) {
             ResponseEntity<T> response = toEntity(responseType);
@@ -261,27 +322,8 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         @Override
         public <T> ResponseEntity<T> toEntity(Class<T> responseType) {
             Request request = buildRequest();
-            try (Response response = client.getOkHttpClient().newCall(request).execute()) {
-                int statusCode = response.code();
-
-                // For success responses (2xx), deserialize normally
-                if (HttpStatusValidator.isSuccessful(statusCode)) {
-                    T responseBody = handleResponse(response, responseType, false);
-                    ResponseEntity<T> httpResponse = buildHttpResponse(response, responseBody);
-                    handleErrors(httpResponse);
-                    return httpResponse;
-                } else {
-                    // For error responses, return raw error message as body
-                    // The error handler will receive this and can process it
-                    String errorBody = response.body() != null ? response.body().string() : "";
-                    log.debug("OkHttp error response: status={}, body={}", statusCode, errorBody);
-
-                    @SuppressWarnings("unchecked")
-                    T typedErrorBody = (T) errorBody;
-                    ResponseEntity<T> httpResponse = buildHttpResponse(response, typedErrorBody);
-                    handleErrors(httpResponse);
-                    return httpResponse;
-                }
+            try (Response response = executeCall(request)) {
+                return readEntity(response, responseType);
             } catch (IOException e) {
                 throw new HttpClientException("HTTP request failed: " + e.getMessage(), e);
             }
@@ -290,32 +332,83 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         @Override
         public <T> ResponseEntity<T> toEntity(io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) {
             Request request = buildRequest();
-            try (Response response = client.getOkHttpClient().newCall(request).execute()) {
-                int statusCode = response.code();
-
-                // For success responses (2xx), deserialize normally
-                if (HttpStatusValidator.isSuccessful(statusCode)) {
-                    T responseBody = handleResponse(response, typeReference, false);
-                    ResponseEntity<T> httpResponse = buildHttpResponse(response, responseBody);
-                    handleErrors(httpResponse);
-                    return httpResponse;
-                } else {
-                    // For error responses, return raw error message as body
-                    // The error handler will receive this and can process it
-                    String errorBody = response.body() != null ? response.body().string() : "";
-                    log.debug("OkHttp toEntity error response: status={}, body={}", statusCode, errorBody);
-
-                    @SuppressWarnings("unchecked")
-                    T typedErrorBody = (T) errorBody;
-                    ResponseEntity<T> httpResponse = buildHttpResponse(response, typedErrorBody);
-                    handleErrors(httpResponse);
-                    return httpResponse;
-                }
+            try (Response response = executeCall(request)) {
+                return readEntity(response, typeReference);
             } catch (IOException e) {
                 throw new HttpClientException("HTTP request failed: " + e.getMessage(), e);
             }
         }
 
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(Class<T> responseType) {
+            return enqueue(response -> readEntity(response, responseType));
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) {
+            return enqueue(response -> readEntity(response, typeReference));
+        }
+
+        /**
+         * Read the response entity and apply the error handlers.
+         *
+         * @param response     the HTTP response
+         * @param responseType response type class
+         * @param <T>          response type
+         * @return the response entity
+         * @throws IOException if reading the response body fails
+         */
+        private <T> ResponseEntity<T> readEntity(Response response, Class<T> responseType) throws IOException {
+            // For success responses (2xx), deserialize normally
+            if (HttpStatusValidator.isSuccessful(response.code())) {
+                T responseBody = handleResponse(response, responseType, false);
+                ResponseEntity<T> httpResponse = buildHttpResponse(response, responseBody);
+                handleErrors(httpResponse);
+                return httpResponse;
+            }
+            return readErrorEntity(response);
+        }
+
+        /**
+         * Read the response entity with generic type reference and apply the error handlers.
+         *
+         * @param response      the HTTP response
+         * @param typeReference type reference
+         * @param <T>           response type
+         * @return the response entity
+         * @throws IOException if reading the response body fails
+         */
+        private <T> ResponseEntity<T> readEntity(Response response, io.github.guoshiqiufeng.dify.client.core.http.TypeReference<T> typeReference) throws IOException {
+            // For success responses (2xx), deserialize normally
+            if (HttpStatusValidator.isSuccessful(response.code())) {
+                T responseBody = handleResponse(response, typeReference, false);
+                ResponseEntity<T> httpResponse = buildHttpResponse(response, responseBody);
+                handleErrors(httpResponse);
+                return httpResponse;
+            }
+            return readErrorEntity(response);
+        }
+
+        /**
+         * For error responses, return raw error message as body.
+         * The error handler will receive this and can process it.
+         *
+         * @param response the HTTP error response
+         * @param <T>      response type
+         * @return the response entity carrying the error body
+         * @throws IOException if reading the response body fails
+         */
+        private <T> ResponseEntity<T> readErrorEntity(Response response) throws IOException {
+            String errorBody = response.body() != null ? response.body().string() : "";
+            log.debug("OkHttp error response: status={}, body={}", response.code(), errorBody);
+
+            @SuppressWarnings("unchecked")
+            T typedErrorBody = (T) errorBody;
+            ResponseEntity<T> httpResponse = buildHttpResponse(response, typedErrorBody);
+            handleErrors(httpResponse);
+            return httpResponse;
+        }
+
         @Override
         public ResponseEntity<Void> toBodilessEntity() {
             ResponseEntity<Void> response = toEntity(Void.class);
@@ -326,8 +419,17 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         @Override
         public <T> Flux<T> bodyToFlux(Class<T> responseType) {
             Request request = buildRequest();
-            OkHttpStreamPublisher<T> publisher = new OkHttpStreamPublisher<>(client.getOkHttpClient(), request, jsonMapper, responseType);
-            return Flux.create(publisher::stream);
+            OkHttpStreamPublisher<T> publisher = new OkHttpStreamPublisher<>(client.getOkHttpClient(), request, jsonMapper,
+                    responseType, client.getSsePrefetch(), client.getStreamScheduler());
+            return publisher.timeout(streamTimeout != null ? streamTimeout : client.getStreamTimeout()).toFlux();
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(JsonDeserializer<T> deserializer) {
+            Request request = buildRequest();
+            OkHttpStreamPublisher<T> publisher = new OkHttpStreamPublisher<>(client.getOkHttpClient(), request, jsonMapper,
+                    deserializer, client.getSsePrefetch(), client.getStreamScheduler());
+            return publisher.timeout(streamTimeout != null ? streamTimeout : client.getStreamTimeout()).toFlux();
         }
 
         @Override
@@ -358,15 +460,70 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         }
     }
 
+    /**
+     * Execute the request on the current thread, registering the call with the {@link CallCancellation} scope of the
+     * thread so that cancelling the scope cancels the call.
+     *
+     * @param request the request
+     * @return the response, to be closed by the caller
+     * @throws IOException if the call failed or was cancelled
+     */
+    private Response executeCall(Request request) throws IOException {
+        Call call = client.getOkHttpClient().newCall(request);
+        CallCancellation.register(call::cancel);
+        return call.execute();
+    }
+
+    /**
+     * Enqueue the request on the OkHttp dispatcher.
+     * <p>
+     * No thread is parked while the call is in flight; the response is read on the dispatcher thread that
+     * delivers the callback. Cancelling the returned future cancels the call.
+     *
+     * @param handler reads the result from the response
+     * @param <T>     result type
+     * @return future completed from the OkHttp callback
+     */
+    private <T> CompletableFuture<T> enqueue(ResponseHandler<T> handler) {
+        Call call = client.getOkHttpClient().newCall(buildRequest());
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                future.completeExceptionally(new HttpClientException("HTTP request failed: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (Response closeable = response) {
+                    future.complete(handler.handle(closeable));
+                } catch (IOException e) {
+                    future.completeExceptionally(new HttpClientException("HTTP request failed: " + e.getMessage(), e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
     /**
      * Build OkHttp Request object.
+     * <p>
+     * The request is built once with its final headers: the per-request headers and cookies, followed by the
+     * Content-Type, Accept and default headers precomputed by the client.
      *
      * @return OkHttp Request
      */
-    private Request buildRequest() {
+    Request buildRequest() {
         // Build URL - handle potential double slash when baseUrl ends with / and uri starts with /
         String baseUrl = client.getBaseUrl();
-        String path = uri != null ? uri.toString() : "";
+        String path = this.path != null ? this.path : "";
         String fullUrl;
         if (baseUrl.endsWith("/") && path.startsWith("/")) {
             fullUrl = baseUrl + path.substring(1);
@@ -375,15 +532,17 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         } else {
             fullUrl = baseUrl + path;
         }
-        HttpUrl parsedUrl = HttpUrl.parse(fullUrl);
-        if (parsedUrl == null) {
+        HttpUrl url = HttpUrl.parse(fullUrl);
+        if (url == null) {
             throw new HttpClientException("Invalid URL: " + fullUrl);
         }
-        HttpUrl.Builder urlBuilder = parsedUrl.newBuilder();
-        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
-            urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+        if (queryParams != null && !queryParams.isEmpty()) {
+            HttpUrl.Builder urlBuilder = url.newBuilder();
+            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+                urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+            }
+            url = urlBuilder.build();
         }
-        HttpUrl url = urlBuilder.build();
 
         // Build request body
         RequestBody requestBody = buildRequestBody();
@@ -401,13 +560,19 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
         }
 
         // Add cookies as Cookie header
-        if (!cookies.isEmpty()) {
+        if (cookies != null && !cookies.isEmpty()) {
             String cookieHeader = RequestParameterProcessor.buildCookieHeader(cookies);
             if (!cookieHeader.isEmpty()) {
                 requestBuilder.addHeader("Cookie", cookieHeader);
             }
         }
 
+        // Add the Content-Type, Accept and default headers of the client
+        Headers clientHeaders = client.getRequestHeaders();
+        for (int i = 0, size = clientHeaders.size(); i < size; i++) {
+            requestBuilder.addHeader(clientHeaders.name(i), clientHeaders.value(i));
+        }
+
         return requestBuilder.build();
     }
 
@@ -642,4 +807,22 @@ public class OkHttpRequestBuilder implements HttpRequestBuilder {
 
         throw new HttpClientException(statusCode, responseBody);
     }
+
+    /**
+     * Reads the result of an enqueued call from its response.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+
+        /**
+         * Read the result from the response.
+         *
+         * @param response the HTTP response, closed by the caller
+         * @return the result
+         * @throws IOException if reading the response body fails
+         */
+        T handle(Response response) throws IOException;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lease of a client on a transport of an {@link OkHttpTransportRegistry}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class OkHttpTransport implements Closeable {
+
+    private final OkHttpTransportRegistry registry;
+    private final OkHttpTransportRegistry.Transport transport;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    OkHttpTransport(OkHttpTransportRegistry registry, OkHttpTransportRegistry.Transport transport) {
+        this.registry = registry;
+        this.transport = transport;
+    }
+
+    /**
+     * Get the connection pool shared by the clients of the transport.
+     *
+     * @return the connection pool
+     */
+    public ConnectionPool getConnectionPool() {
+        return transport.connectionPool;
+    }
+
+    /**
+     * Get the dispatcher shared by the clients of the transport.
+     *
+     * @return the dispatcher
+     */
+    public Dispatcher getDispatcher() {
+        return transport.dispatcher;
+    }
+
+    /**
+     * Whether the lease has been released.
+     *
+     * @return true once closed
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Release the lease, shutting the transport down if no other client holds it. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            registry.release(transport);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool;
+
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of OkHttp transports shared by the clients of one Dify host.
+ * <p>
+ * A transport is the {@link ConnectionPool} and {@link Dispatcher} of a base URL and pool settings
+ * ({@code maxIdleConnections}, {@code keepAliveSeconds}, {@code maxRequests}, {@code maxRequestsPerHost} and the
+ * execution mode). The chat, dataset, workflow and server clients of the same host therefore reuse the same
+ * connections and share one concurrency limit, while each keeps its own timeouts and interceptors.
+ * <p>
+ * Transports are reference counted: every {@link #acquire(String, DifyProperties.ClientConfig)} returns a lease, and
+ * the transport is shut down once the last lease is closed. A later acquire creates a new transport.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public final class OkHttpTransportRegistry {
+
+    private static final OkHttpTransportRegistry SHARED = new OkHttpTransportRegistry();
+
+    private final Map<Key, Transport> transports = new HashMap<>();
+
+    /**
+     * Get the registry shared by all clients of the process.
+     *
+     * @return the shared registry
+     */
+    public static OkHttpTransportRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Acquire the transport of a base URL and client configuration, creating it if no client holds it.
+     *
+     * @param baseUrl      the base URL of the client
+     * @param clientConfig the client configuration, null for the default pool settings
+     * @return lease on the transport, to be closed when the client is closed
+     */
+    public OkHttpTransport acquire(String baseUrl, DifyProperties.ClientConfig clientConfig) {
+        Key key = Key.of(baseUrl, clientConfig);
+        Transport transport;
+        synchronized (transports) {
+            transport = transports.get(key);
+            if (transport == null) {
+                transport = new Transport(key, clientConfig);
+                transports.put(key, transport);
+                log.debug("【Dify】Created OkHttp transport for {}", key);
+            }
+            transport.references++;
+        }
+        return new OkHttpTransport(this, transport);
+    }
+
+    /**
+     * Get the number of transports currently held by clients.
+     *
+     * @return number of transports
+     */
+    public int size() {
+        synchronized (transports) {
+            return transports.size();
+        }
+    }
+
+    /**
+     * Get the number of clients holding the transport of a base URL and client configuration.
+     *
+     * @param baseUrl      the base URL of the client
+     * @param clientConfig the client configuration, null for the default pool settings
+     * @return number of leases, 0 if the transport does not exist
+     */
+    public int getReferenceCount(String baseUrl, DifyProperties.ClientConfig clientConfig) {
+        synchronized (transports) {
+            Transport transport = transports.get(Key.of(baseUrl, clientConfig));
+            return transport != null ? transport.references : 0;
+        }
+    }
+
+    /**
+     * Release a lease, shutting the transport down if it was the last one.
+     *
+     * @param transport the transport of the lease
+     */
+    void release(Transport transport) {
+        synchronized (transports) {
+            if (--transport.references > 0) {
+                return;
+            }
+            transports.remove(transport.key, transport);
+        }
+        transport.dispatcher.executorService().shutdown();
+        transport.connectionPool.evictAll();
+        log.debug("【Dify】Shut down OkHttp transport for {}", transport.key);
+    }
+
+    /**
+     * Connection pool and dispatcher of a base URL and pool settings.
+     */
+    static final class Transport {
+
+        private final Key key;
+        final ConnectionPool connectionPool;
+        final Dispatcher dispatcher;
+        private int references;
+
+        Transport(Key key, DifyProperties.ClientConfig clientConfig) {
+            this.key = key;
+            this.connectionPool = new ConnectionPool(key.maxIdleConnections, key.keepAliveSeconds, TimeUnit.SECONDS);
+            // Async calls run on virtual threads in virtual execution mode
+            this.dispatcher = key.virtualThreads
+                    ? new Dispatcher(DifyExecutors.newVirtualThreadExecutor("dify-okhttp"))
+                    : new Dispatcher();
+            this.dispatcher.setMaxRequests(key.maxRequests);
+            this.dispatcher.setMaxRequestsPerHost(key.maxRequestsPerHost);
+        }
+    }
+
+    /**
+     * Base URL and normalized pool settings identifying a transport.
+     */
+    static final class Key {
+
+        private final String baseUrl;
+        private final int maxIdleConnections;
+        private final int keepAliveSeconds;
+        private final int maxRequests;
+        private final int maxRequestsPerHost;
+        private final boolean virtualThreads;
+
+        private Key(String baseUrl, int maxIdleConnections, int keepAliveSeconds, int maxRequests,
+                    int maxRequestsPerHost, boolean virtualThreads) {
+            this.baseUrl = baseUrl;
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveSeconds = keepAliveSeconds;
+            this.maxRequests = maxRequests;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            this.virtualThreads = virtualThreads;
+        }
+
+        /**
+         * Create the key of a client, using the default value for missing or invalid settings (< 1).
+         *
+         * @param baseUrl      the base URL of the client
+         * @param clientConfig the client configuration, may be null
+         * @return the key
+         */
+        static Key of(String baseUrl, DifyProperties.ClientConfig clientConfig) {
+            String url = baseUrl != null && baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+            if (clientConfig == null) {
+                return new Key(url, 5, 300, 64, 5, false);
+            }
+            return new Key(url,
+                    positive(clientConfig.getMaxIdleConnections(), 5, "maxIdleConnections"),
+                    positive(clientConfig.getKeepAliveSeconds(), 300, "keepAliveSeconds"),
+                    positive(clientConfig.getMaxRequests(), 64, "maxRequests"),
+                    positive(clientConfig.getMaxRequestsPerHost(), 5, "maxRequestsPerHost"),
+                    DifyExecutors.useVirtualThreads(clientConfig));
+        }
+
+        private static int positive(Integer value, int defaultValue, String name) {
+            if (value == null) {
+                return defaultValue;
+            }
+            if (value < 1) {
+                log.warn("Invalid {} value: {}, using default value {}", name, value, defaultValue);
+                return defaultValue;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return maxIdleConnections == key.maxIdleConnections &&
+                    keepAliveSeconds == key.keepAliveSeconds &&
+                    maxRequests == key.maxRequests &&
+                    maxRequestsPerHost == key.maxRequestsPerHost &&
+                    virtualThreads == key.virtualThreads &&
+                    Objects.equals(baseUrl, key.baseUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(baseUrl, maxIdleConnections, keepAliveSeconds, maxRequests, maxRequestsPerHost,
+                    virtualThreads);
+        }
+
+        @Override
+        public String toString() {
+            return baseUrl + " {maxIdleConnections=" + maxIdleConnections +
+                    ", keepAliveSeconds=" + keepAliveSeconds +
+                    ", maxRequests=" + maxRequests +
+                    ", maxRequestsPerHost=" + maxRequestsPerHost +
+                    ", virtualThreads=" + virtualThreads +
+                    '}';
+        }
+    }
+}
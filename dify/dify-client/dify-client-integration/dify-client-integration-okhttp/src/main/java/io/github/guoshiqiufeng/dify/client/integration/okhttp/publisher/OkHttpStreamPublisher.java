@@ -15,22 +15,38 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
 import io.github.guoshiqiufeng.dify.core.utils.LogMaskingUtils;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * OkHttp-based SSE streaming handler for Server-Sent Events (SSE).
  * This class handles SSE format: "data: {json}\n\n"
+ * <p>
+ * Decoding is delegated to {@link SseEventDecoder}, which works on the okio source of the response body.
+ * <p>
+ * {@link #toFlux()} reads the body on subscriber demand: the next frame is only decoded when downstream has
+ * requested it, at most {@code prefetch} events are decoded ahead, and a slow consumer therefore throttles
+ * the socket reads (and TCP window) instead of growing an unbounded buffer.
+ * <p>
+ * {@link StreamTimeout} deadlines are enforced by okio: the total timeout is the call timeout and the idle
+ * timeout is the read timeout of the response body source, so every byte received, pings included, resets it.
  *
  * @param <T> the type of items in the stream
  * @author yanghq
@@ -41,10 +57,22 @@ public class OkHttpStreamPublisher<T> {
 
     private static final Logger log = LoggerFactory.getLogger(OkHttpStreamPublisher.class);
 
+    /**
+     * Default number of events decoded ahead of subscriber demand.
+     */
+    public static final int DEFAULT_PREFETCH = 32;
+
     private final OkHttpClient client;
     private final Request request;
     private final JsonMapper jsonMapper;
     private final Class<T> responseType;
+    private final JsonDeserializer<T> deserializer;
+    private final int prefetch;
+    /**
+     * Scheduler performing the blocking reads, null to read on the dispatcher executor of the client.
+     */
+    private final Scheduler scheduler;
+    private StreamTimeout streamTimeout = StreamTimeout.NONE;
 
     /**
      * Constructor.
@@ -55,17 +83,90 @@ public class OkHttpStreamPublisher<T> {
      * @param responseType response item type
      */
     public OkHttpStreamPublisher(OkHttpClient client, Request request, JsonMapper jsonMapper, Class<T> responseType) {
+        this(client, request, jsonMapper, responseType, DEFAULT_PREFETCH, null);
+    }
+
+    /**
+     * Constructor with demand settings.
+     *
+     * @param client       OkHttp client
+     * @param request      HTTP request
+     * @param jsonMapper   JSON mapper
+     * @param responseType response item type
+     * @param prefetch     number of events decoded ahead of demand, values below 1 fall back to {@link #DEFAULT_PREFETCH}
+     * @param scheduler    scheduler performing the blocking reads, null to read on the dispatcher executor of the
+     *                     client
+     */
+    public OkHttpStreamPublisher(OkHttpClient client, Request request, JsonMapper jsonMapper, Class<T> responseType,
+                                 int prefetch, Scheduler scheduler) {
+        this(client, request, jsonMapper, responseType, null, prefetch, scheduler);
+    }
+
+    /**
+     * Constructor decoding every event with the given deserializer instance.
+     *
+     * @param client       OkHttp client
+     * @param request      HTTP request
+     * @param jsonMapper   JSON mapper
+     * @param deserializer deserializer for each event, events it maps to null are skipped
+     * @param prefetch     number of events decoded ahead of demand, values below 1 fall back to {@link #DEFAULT_PREFETCH}
+     * @param scheduler    scheduler performing the blocking reads, null to read on the dispatcher executor of the
+     *                     client
+     */
+    public OkHttpStreamPublisher(OkHttpClient client, Request request, JsonMapper jsonMapper,
+                                 JsonDeserializer<T> deserializer, int prefetch, Scheduler scheduler) {
+        this(client, request, jsonMapper, null, deserializer, prefetch, scheduler);
+    }
+
+    private OkHttpStreamPublisher(OkHttpClient client, Request request, JsonMapper jsonMapper, Class<T> responseType,
+                                  JsonDeserializer<T> deserializer, int prefetch, Scheduler scheduler) {
         this.client = client;
         this.request = request;
         this.jsonMapper = jsonMapper;
         this.responseType = responseType;
+        this.deserializer = deserializer;
+        this.prefetch = prefetch > 0 ? prefetch : DEFAULT_PREFETCH;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Set the deadlines of the stream.
+     *
+     * @param streamTimeout stream deadlines, null for none
+     * @return this publisher
+     */
+    public OkHttpStreamPublisher<T> timeout(StreamTimeout streamTimeout) {
+        this.streamTimeout = streamTimeout != null ? streamTimeout : StreamTimeout.NONE;
+        return this;
+    }
+
+    /**
+     * Create a demand-driven Flux for the stream.
+     * <p>
+     * The call is executed when subscribed and one SSE frame is read per requested item, on the configured
+     * scheduler or else on the dispatcher executor of the client. That executor is owned by the transport and not
+     * capped like {@link Schedulers#boundedElastic()}, so long streams neither queue behind nor starve each other.
+     * Cancelling the subscription cancels the call and releases the connection.
+     *
+     * @return Flux of decoded items
+     */
+    public Flux<T> toFlux() {
+        Scheduler readScheduler = scheduler != null ? scheduler
+                : Schedulers.fromExecutor(client.dispatcher().executorService());
+        return Flux.using(this::open, this::generate, StreamState::close)
+                .subscribeOn(readScheduler)
+                .limitRate(prefetch);
     }
 
     /**
      * Start streaming and emit items to the FluxSink.
+     * <p>
+     * Items are pushed as fast as the socket delivers them, regardless of subscriber demand.
      *
      * @param sink the FluxSink to emit items to
+     * @deprecated use {@link #toFlux()}, which reads the stream on subscriber demand
      */
+    @Deprecated
     public void stream(FluxSink<T> sink) {
         Call call = client.newCall(request);
 
@@ -84,7 +185,7 @@ public class OkHttpStreamPublisher<T> {
             @Override
             public void onResponse(Call call, Response response) {
                 if (!response.isSuccessful()) {
-                    handleError(response, sink);
+                    sink.error(toException(response));
                     return;
                 }
 
@@ -113,52 +214,20 @@ public class OkHttpStreamPublisher<T> {
 
     /**
      * Process SSE stream from response body.
+     * Frames are decoded at byte level by {@link SseEventDecoder} and handed to the codec as a byte slice,
+     * so no intermediate {@code String} is created per line or per event.
      *
      * @param body response body
      * @param sink FluxSink to emit events
      * @throws IOException if reading stream fails
      */
     private void processStream(ResponseBody body, FluxSink<T> sink) throws IOException {
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(body.byteStream(), StandardCharsets.UTF_8))) {
-
-            String line;
-            StringBuilder eventData = new StringBuilder();
-
-            while ((line = reader.readLine()) != null) {
-                // SSE format: "data: {json}"
-                if (line.startsWith("data: ")) {
-                    String data = line.substring(6); // Remove "data: " prefix
-                    eventData.append(data);
-
-                    // Check if this is a complete event (some SSE events may span multiple lines)
-                    if (isCompleteJson(data)) {
-                        try {
-                            T item = jsonMapper.fromJson(data, responseType);
-                            sink.next(item);
-                            eventData.setLength(0);
-                        } catch (Exception e) {
-                            log.warn("【Dify】Failed to parse SSE event: {}", data, e);
-                            // Continue processing other events
-                        }
-                    }
-                } else if (line.isEmpty() && eventData.length() > 0) {
-                    // Empty line indicates end of event
-                    try {
-                        String data = eventData.toString();
-                        T item = jsonMapper.fromJson(data, responseType);
-                        sink.next(item);
-                    } catch (Exception e) {
-                        log.warn("【Dify】Failed to parse SSE event: {}", eventData, e);
-                    }
-                    eventData.setLength(0);
-                } else if (line.startsWith(":")) {
-                    // Comment line, ignore
-                    continue;
-                } else if (line.startsWith("event:") || line.startsWith("id:") || line.startsWith("retry:")) {
-                    // SSE metadata, ignore for now
-                    continue;
-                }
+        try (BufferedSource source = body.source()) {
+            SseEventDecoder decoder = new SseEventDecoder(source);
+
+            T item;
+            while (!sink.isCancelled() && (item = readNext(decoder)) != null) {
+                sink.next(item);
             }
 
             // Stream completed successfully
@@ -167,53 +236,118 @@ public class OkHttpStreamPublisher<T> {
     }
 
     /**
-     * Check if a string is complete JSON (simple heuristic).
+     * Execute the call and prepare the decoder.
      *
-     * @param data JSON string
-     * @return true if appears to be complete JSON
+     * @return stream state
      */
-    private boolean isCompleteJson(String data) {
-        if (data == null || data.isEmpty()) {
-            return false;
+    private StreamState open() {
+        Call call = client.newCall(request);
+        long deadline = Long.MAX_VALUE;
+        if (streamTimeout.getTotal() != null) {
+            call.timeout().timeout(streamTimeout.getTotal().toNanos(), TimeUnit.NANOSECONDS);
+            deadline = System.nanoTime() + streamTimeout.getTotal().toNanos();
         }
-
-        data = data.trim();
-
-        // Check for complete JSON object
-        if (data.startsWith("{") && data.endsWith("}")) {
-            return true;
+        Response response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            if (System.nanoTime() >= deadline) {
+                throw streamTimeout.expired(true, e);
+            }
+            log.error("【Dify】Stream request failed", e);
+            throw new HttpClientException("Stream request failed: " + e.getMessage(), e);
         }
 
-        // Check for complete JSON array
-        if (data.startsWith("[") && data.endsWith("]")) {
-            return true;
+        if (!response.isSuccessful()) {
+            throw toException(response);
         }
 
-        // Check for JSON primitives
-        if (data.startsWith("\"") && data.endsWith("\"")) {
-            return true;
+        ResponseBody body = response.body();
+        if (body == null) {
+            response.close();
+            throw new HttpClientException("Response body is null");
+        }
+        BufferedSource source = body.source();
+        if (streamTimeout.getIdle() != null) {
+            source.timeout().timeout(streamTimeout.getIdle().toNanos(), TimeUnit.NANOSECONDS);
         }
+        return new StreamState(call, response, new SseEventDecoder(source), deadline);
+    }
 
-        if ("true".equals(data) || "false".equals(data) || "null".equals(data)) {
-            return true;
+    /**
+     * Create a generator emitting one decoded item per request.
+     *
+     * @param state stream state
+     * @return Flux of decoded items
+     */
+    private Flux<T> generate(StreamState state) {
+        return Flux.generate((SynchronousSink<T> sink) -> {
+            try {
+                T item = readNext(state.decoder);
+                if (item != null) {
+                    sink.next(item);
+                } else {
+                    state.exhausted = true;
+                    sink.complete();
+                }
+            } catch (IOException e) {
+                sink.error(toTimeoutException(state, e));
+            }
+        });
+    }
+
+    /**
+     * Report a read failure caused by an expired deadline as {@link StreamTimeoutException}.
+     *
+     * @param state stream state
+     * @param e     read failure
+     * @return exception to signal downstream
+     */
+    private Throwable toTimeoutException(StreamState state, IOException e) {
+        if (System.nanoTime() >= state.deadline) {
+            return streamTimeout.expired(true, e);
         }
+        if (streamTimeout.getIdle() != null && e instanceof InterruptedIOException) {
+            return streamTimeout.expired(false, e);
+        }
+        return e;
+    }
 
-        // Check for numbers
-        try {
-            Double.parseDouble(data);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+    /**
+     * Read frames until one can be decoded into an item.
+     * Empty frames and frames that fail to parse are skipped.
+     *
+     * @param decoder SSE decoder
+     * @return next item, or null if the stream is exhausted
+     * @throws IOException if reading stream fails
+     */
+    private T readNext(SseEventDecoder decoder) throws IOException {
+        while (decoder.next()) {
+            if (decoder.dataLength() == 0) {
+                continue;
+            }
+            try {
+                T item = deserializer != null
+                        ? jsonMapper.fromJson(decoder.data(), 0, decoder.dataLength(), deserializer)
+                        : jsonMapper.fromJson(decoder.data(), 0, decoder.dataLength(), responseType);
+                if (item != null) {
+                    return item;
+                }
+            } catch (Exception e) {
+                log.warn("【Dify】Failed to parse SSE event: {}", decoder.dataAsString(), e);
+                // Continue processing other events
+            }
         }
+        return null;
     }
 
     /**
-     * Handle HTTP error response.
+     * Convert an HTTP error response into an exception and close the response.
      *
      * @param response HTTP response
-     * @param sink     FluxSink to emit error
+     * @return exception describing the error
      */
-    private void handleError(Response response, FluxSink<T> sink) {
+    private HttpClientException toException(Response response) {
         try {
             int statusCode = response.code();
             String responseBody = response.body() != null ? response.body().string() : "";
@@ -228,11 +362,39 @@ public class OkHttpStreamPublisher<T> {
             log.error("【Dify】Stream request failed: Status: {}, Body: {}", statusCode, maskedBody);
 
             // Use original body in exception to preserve error parsing capability for downstream consumers
-            sink.error(new HttpClientException(statusCode, responseBody));
+            return new HttpClientException(statusCode, responseBody);
         } catch (IOException e) {
-            sink.error(new HttpClientException("Failed to read error response", e));
+            return new HttpClientException("Failed to read error response", e);
         } finally {
             response.close();
         }
     }
+
+    /**
+     * Resources of a demand-driven stream.
+     */
+    private static final class StreamState {
+
+        private final Call call;
+        private final Response response;
+        private final SseEventDecoder decoder;
+        private final long deadline;
+        private volatile boolean exhausted;
+
+        private StreamState(Call call, Response response, SseEventDecoder decoder, long deadline) {
+            this.call = call;
+            this.response = response;
+            this.decoder = decoder;
+            this.deadline = deadline;
+        }
+
+        private void close() {
+            if (!exhausted) {
+                // Cancelled or failed before the end of the stream: abort a read that may still be blocked
+                log.debug("【Dify】SSE stream cancelled, releasing connection");
+                call.cancel();
+            }
+            response.close();
+        }
+    }
 }
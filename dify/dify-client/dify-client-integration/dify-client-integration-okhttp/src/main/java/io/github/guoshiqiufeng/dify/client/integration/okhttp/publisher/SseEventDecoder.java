@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level Server-Sent Events frame decoder working directly on an okio {@link BufferedSource}.
+ * <p>
+ * Lines are located by scanning the source buffer for line terminators ({@code \n}, {@code \r\n} or {@code \r})
+ * and field names are matched against pre-encoded byte strings, so no {@code String} is built for a line.
+ * The value of every {@code data} field is copied once into a reusable scratch array; consecutive {@code data}
+ * lines are joined with {@code \n} as required by the SSE specification. The decoded payload is exposed as a
+ * byte slice ({@link #data()} / {@link #dataLength()}) that stays valid until the next call to {@link #next()}.
+ * <p>
+ * Differences from the strict specification: an event that is not followed by a blank line before the end of
+ * the stream is still dispatched, and events without any {@code data} are skipped.
+ * <p>
+ * Instances are not thread-safe and are meant to be used by the single thread reading the response body.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public final class SseEventDecoder {
+
+    private static final ByteString LINE_TERMINATORS = ByteString.encodeUtf8("\r\n");
+    private static final ByteString FIELD_DATA = ByteString.encodeUtf8("data");
+    private static final ByteString FIELD_EVENT = ByteString.encodeUtf8("event");
+    private static final ByteString FIELD_ID = ByteString.encodeUtf8("id");
+    private static final ByteString FIELD_RETRY = ByteString.encodeUtf8("retry");
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte COLON = ':';
+    private static final byte SPACE = ' ';
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final BufferedSource source;
+    private final Buffer buffer;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int dataLength;
+    private boolean hasData;
+    private String event;
+    private String lastEventId;
+    private long retry = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param source the response body source
+     */
+    public SseEventDecoder(BufferedSource source) {
+        this.source = source;
+        this.buffer = source.getBuffer();
+    }
+
+    /**
+     * Read from the source until the next event is complete.
+     *
+     * @return true if an event was decoded, false if the stream is exhausted
+     * @throws IOException if reading the source fails
+     */
+    public boolean next() throws IOException {
+        resetEvent();
+        while (true) {
+            long lineLength = source.indexOfElement(LINE_TERMINATORS);
+            int terminatorLength;
+            if (lineLength == -1) {
+                // End of stream: the remaining bytes (if any) form an unterminated last line
+                lineLength = buffer.size();
+                if (lineLength == 0) {
+                    return hasData;
+                }
+                terminatorLength = 0;
+            } else {
+                terminatorLength = terminatorLength(lineLength);
+            }
+
+            if (lineLength == 0) {
+                // Blank line dispatches the event
+                source.skip(terminatorLength);
+                if (hasData) {
+                    return true;
+                }
+                resetEvent();
+                continue;
+            }
+
+            processLine(lineLength);
+            source.skip(terminatorLength);
+
+            if (terminatorLength == 0) {
+                return hasData;
+            }
+        }
+    }
+
+    /**
+     * Get the data buffer of the current event.
+     * Only the first {@link #dataLength()} bytes are meaningful and the array is reused by {@link #next()}.
+     *
+     * @return UTF-8 encoded event data
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    /**
+     * Get the number of valid bytes in {@link #data()}.
+     *
+     * @return data length
+     */
+    public int dataLength() {
+        return dataLength;
+    }
+
+    /**
+     * Get the event type of the current event.
+     *
+     * @return event type, or null if the event did not declare one
+     */
+    public String event() {
+        return event;
+    }
+
+    /**
+     * Get the last event id seen on the stream.
+     *
+     * @return last event id, or null if none was received
+     */
+    public String lastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Get the reconnection time requested by the server.
+     *
+     * @return retry in milliseconds, or -1 if none was received
+     */
+    public long retry() {
+        return retry;
+    }
+
+    /**
+     * Decode the current event data as a UTF-8 string.
+     * Intended for logging and diagnostics only.
+     *
+     * @return event data as string
+     */
+    public String dataAsString() {
+        return new String(data, 0, dataLength, StandardCharsets.UTF_8);
+    }
+
+    private void resetEvent() {
+        dataLength = 0;
+        hasData = false;
+        event = null;
+    }
+
+    private int terminatorLength(long index) throws IOException {
+        if (buffer.getByte(index) == CR && source.request(index + 2) && buffer.getByte(index + 1) == LF) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private void processLine(long lineLength) throws IOException {
+        if (buffer.getByte(0) == COLON) {
+            // Comment line
+            source.skip(lineLength);
+            return;
+        }
+
+        long fieldLength = buffer.indexOf(COLON, 0, lineLength);
+        long valueStart;
+        if (fieldLength == -1) {
+            fieldLength = lineLength;
+            valueStart = lineLength;
+        } else {
+            valueStart = fieldLength + 1;
+            if (valueStart < lineLength && buffer.getByte(valueStart) == SPACE) {
+                valueStart++;
+            }
+        }
+        int valueLength = (int) (lineLength - valueStart);
+
+        if (isField(FIELD_DATA, fieldLength)) {
+            source.skip(valueStart);
+            appendData(valueLength);
+        } else if (isField(FIELD_EVENT, fieldLength)) {
+            source.skip(valueStart);
+            event = source.readUtf8(valueLength);
+        } else if (isField(FIELD_ID, fieldLength)) {
+            source.skip(valueStart);
+            String id = source.readUtf8(valueLength);
+            // Per specification, ids containing NULL are ignored
+            if (id.indexOf('\u0000') < 0) {
+                lastEventId = id;
+            }
+        } else if (isField(FIELD_RETRY, fieldLength)) {
+            source.skip(valueStart);
+            parseRetry(valueLength);
+        } else {
+            // Unknown field, ignore
+            source.skip(lineLength);
+        }
+    }
+
+    private boolean isField(ByteString name, long fieldLength) {
+        return fieldLength == name.size() && buffer.rangeEquals(0, name);
+    }
+
+    private void appendData(int valueLength) throws IOException {
+        int required = dataLength + valueLength + (hasData ? 1 : 0);
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length << 1));
+        }
+        if (hasData) {
+            data[dataLength++] = LF;
+        }
+        int remaining = valueLength;
+        while (remaining > 0) {
+            int read = buffer.read(data, dataLength, remaining);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            dataLength += read;
+            remaining -= read;
+        }
+        hasData = true;
+    }
+
+    private void parseRetry(int valueLength) throws IOException {
+        long value = 0;
+        for (int i = 0; i < valueLength; i++) {
+            byte b = buffer.getByte(i);
+            if (b < '0' || b > '9') {
+                // Per specification, non-digit retry values are ignored
+                source.skip(valueLength);
+                return;
+            }
+            value = value * 10 + (b - '0');
+        }
+        source.skip(valueLength);
+        if (valueLength > 0) {
+            retry = value;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -175,4 +177,21 @@ class JavaHttpClientFactoryTest {
         assertNotNull(client2);
         assertNotSame(client1, client2, "Should create different client instances");
     }
+
+    @Test
+    void testStreamSchedulerIsAppliedToClients() {
+        // Arrange
+        Scheduler scheduler = Schedulers.immediate();
+
+        // Act
+        JavaHttpClientFactory newFactory = factory.streamScheduler(scheduler);
+        HttpClient client = newFactory.defaultHeader("X-Custom-Header", "custom-value")
+                .createClient("http://example.com", new DifyProperties.ClientConfig());
+
+        // Assert
+        assertNotSame(factory, newFactory);
+        assertSame(scheduler, ((JavaHttpClient) client).getStreamScheduler());
+        assertNull(((JavaHttpClient) factory.createClient("http://example.com", new DifyProperties.ClientConfig()))
+                .getStreamScheduler());
+    }
 }
@@ -20,6 +20,7 @@ import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpMethod;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodyUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestHeadersUriSpec;
+import io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool.OkHttpTransportRegistry;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -754,4 +755,46 @@ class JavaHttpClientTest {
         assertNotNull(client.getOkHttpClient().connectionPool());
         assertNotNull(client.getOkHttpClient().dispatcher());
     }
+
+    @Test
+    @DisplayName("Should resolve ssePrefetch with fallback for invalid values")
+    void testSsePrefetchConfiguration() {
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        assertEquals(32, new JavaHttpClient("http://example.com", config, jsonMapper).getSsePrefetch());
+
+        config.setSsePrefetch(128);
+        assertEquals(128, new JavaHttpClient("http://example.com", config, jsonMapper).getSsePrefetch());
+
+        config.setSsePrefetch(0);
+        assertEquals(32, new JavaHttpClient("http://example.com", config, jsonMapper).getSsePrefetch());
+
+        config.setSsePrefetch(null);
+        assertEquals(32, new JavaHttpClient("http://example.com", config, jsonMapper).getSsePrefetch());
+    }
+
+    @Test
+    @DisplayName("Clients of the same base URL share connection pool and dispatcher but keep their own timeouts")
+    void testClientsShareTransport() {
+        OkHttpTransportRegistry registry = new OkHttpTransportRegistry();
+        DifyProperties.ClientConfig chatConfig = new DifyProperties.ClientConfig();
+        chatConfig.setReadTimeout(120);
+        DifyProperties.ClientConfig datasetConfig = new DifyProperties.ClientConfig();
+        datasetConfig.setReadTimeout(10);
+
+        JavaHttpClient chat = new JavaHttpClient("http://example.com", chatConfig, new OkHttpClient.Builder(),
+                jsonMapper, new HttpHeaders(), new ArrayList<>(), registry);
+        JavaHttpClient dataset = new JavaHttpClient("http://example.com", datasetConfig, new OkHttpClient.Builder(),
+                jsonMapper, new HttpHeaders(), new ArrayList<>(), registry);
+
+        assertSame(chat.getOkHttpClient().connectionPool(), dataset.getOkHttpClient().connectionPool());
+        assertSame(chat.getOkHttpClient().dispatcher(), dataset.getOkHttpClient().dispatcher());
+        assertEquals(120000, chat.getOkHttpClient().readTimeoutMillis());
+        assertEquals(10000, dataset.getOkHttpClient().readTimeoutMillis());
+
+        chat.close();
+        assertFalse(dataset.getOkHttpClient().dispatcher().executorService().isShutdown());
+        dataset.close();
+        assertTrue(dataset.getOkHttpClient().dispatcher().executorService().isShutdown());
+        assertEquals(0, registry.size());
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.http;
+
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the bytes allocated to build a chat request with the precomputed header block and compiled URI
+ * templates against the previous request path, which expanded the path with regular expressions, parsed the URL
+ * twice and rebuilt the request once per header interceptor.
+ * <p>
+ * The previous path is not the removed code itself but a hand-written reconstruction of its steps in
+ * {@link #legacyRequest(String, Object[], Object)}, so the comparison is only as faithful as that copy.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+class OkHttpRequestAllocationTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private static final String CHAT_PATH = "/v1/chat-messages";
+
+    private static final String STOP_PATH = "/v1/chat-messages/{taskId}/stop";
+
+    private static final int WARM_UP = 2_000;
+
+    private static final int ITERATIONS = 5_000;
+
+    private final GsonJsonMapper jsonMapper = new GsonJsonMapper();
+
+    private JavaHttpClient client;
+
+    private HttpHeaders defaultHeaders;
+
+    @BeforeEach
+    void setUp() {
+        defaultHeaders = new HttpHeaders();
+        defaultHeaders.set("X-Tenant", "tenant-1");
+        client = new JavaHttpClient("http://localhost:8080", new DifyProperties.ClientConfig(), null,
+                jsonMapper, defaultHeaders);
+    }
+
+    @Test
+    void testRequestCarriesClientHeaders() {
+        Request request = chatRequest().get();
+
+        assertEquals("http://localhost:8080/v1/chat-messages", request.url().toString());
+        assertEquals("POST", request.method());
+        assertEquals("Bearer app-key", request.header("Authorization"));
+        assertEquals("application/json", request.header("Accept"));
+        assertEquals("tenant-1", request.header("X-Tenant"));
+        assertTrue(request.headers("Content-Type").contains("application/json"));
+        assertNotNull(request.body());
+    }
+
+    @Test
+    void testRequestWithPathVariable() {
+        Request request = stopRequest().get();
+
+        assertEquals("http://localhost:8080/v1/chat-messages/task-1/stop", request.url().toString());
+        assertEquals(legacyStopRequest().get().url(), request.url());
+    }
+
+    @Test
+    void testAllocatesLessThanPreviousRequestPath() {
+        com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+        assumeTrue(threadMXBean != null, "Thread allocation measurement is not supported");
+
+        long lean = allocatedBytesPerRequest(threadMXBean, chatRequest());
+        long legacy = allocatedBytesPerRequest(threadMXBean, legacyChatRequest());
+        long leanWithVariable = allocatedBytesPerRequest(threadMXBean, stopRequest());
+        long legacyWithVariable = allocatedBytesPerRequest(threadMXBean, legacyStopRequest());
+
+        log.info("Request build allocation: chat request {} bytes, previous path {} bytes; stop request {} bytes, "
+                + "previous path {} bytes", lean, legacy, leanWithVariable, legacyWithVariable);
+        assertTrue(lean < legacy, "chat request allocated " + lean + " bytes, previous path " + legacy);
+        assertTrue(leanWithVariable < legacyWithVariable,
+                "stop request allocated " + leanWithVariable + " bytes, previous path " + legacyWithVariable);
+    }
+
+    private Supplier<Request> chatRequest() {
+        Map<String, Object> body = chatBody();
+        return () -> {
+            OkHttpRequestBuilder builder = new OkHttpRequestBuilder(client, jsonMapper, "POST");
+            builder.uri(CHAT_PATH).header("Authorization", "Bearer app-key").body(body);
+            return builder.buildRequest();
+        };
+    }
+
+    private Supplier<Request> stopRequest() {
+        Map<String, Object> body = stopBody();
+        return () -> {
+            OkHttpRequestBuilder builder = new OkHttpRequestBuilder(client, jsonMapper, "POST");
+            builder.uri(STOP_PATH, "task-1").header("Authorization", "Bearer app-key").body(body);
+            return builder.buildRequest();
+        };
+    }
+
+    private Supplier<Request> legacyChatRequest() {
+        Map<String, Object> body = chatBody();
+        return () -> legacyRequest(CHAT_PATH, new Object[0], body);
+    }
+
+    private Supplier<Request> legacyStopRequest() {
+        Map<String, Object> body = stopBody();
+        return () -> legacyRequest(STOP_PATH, new Object[]{"task-1"}, body);
+    }
+
+    /**
+     * Reconstruction of the previous request path: eager maps, regular expression expansion into a {@link URI},
+     * a URL builder pass and one request rebuild per header interceptor.
+     */
+    private Request legacyRequest(String template, Object[] uriVariables, Object body) {
+        Map<String, String> headers = new HashMap<>();
+        Map<String, String> cookies = new HashMap<>();
+        Map<String, String> queryParams = new HashMap<>();
+        headers.put("Authorization", "Bearer app-key");
+
+        String path = template;
+        for (Object value : uriVariables) {
+            path = path.replaceFirst("\\{[^}]+}", value.toString());
+        }
+        URI uri = URI.create(path);
+
+        HttpUrl.Builder urlBuilder = HttpUrl.get("http://localhost:8080" + uri).newBuilder();
+        for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+            urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+        }
+        Request.Builder requestBuilder = new Request.Builder()
+                .url(urlBuilder.build())
+                .method("POST", RequestBody.create(jsonMapper.toJson(body), JSON));
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            requestBuilder.addHeader(entry.getKey(), entry.getValue());
+        }
+        assertTrue(cookies.isEmpty());
+        Request request = requestBuilder.build();
+
+        request = request.newBuilder()
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Accept", "application/json")
+                .build();
+        Request.Builder defaults = request.newBuilder();
+        defaultHeaders.forEach((key, values) -> values.forEach(value -> defaults.addHeader(key, value)));
+        return defaults.build();
+    }
+
+    private static Map<String, Object> chatBody() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", "hello");
+        body.put("user", "user-1");
+        body.put("response_mode", "blocking");
+        body.put("inputs", new HashMap<>());
+        return body;
+    }
+
+    private static Map<String, Object> stopBody() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("user", "user-1");
+        return body;
+    }
+
+    private static long allocatedBytesPerRequest(com.sun.management.ThreadMXBean threadMXBean,
+                                                 Supplier<Request> request) {
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARM_UP; i++) {
+            assertNotNull(request.get());
+        }
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertNotNull(request.get());
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+        return sunThreadMXBean;
+    }
+}
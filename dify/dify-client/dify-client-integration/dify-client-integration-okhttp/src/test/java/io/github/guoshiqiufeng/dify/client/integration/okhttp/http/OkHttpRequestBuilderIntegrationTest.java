@@ -35,6 +35,8 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,6 +108,29 @@ class OkHttpRequestBuilderIntegrationTest {
         assertEquals("/api/test", request.getPath());
     }
 
+    @Test
+    void testExecuteSendsClientHeaders() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"name\":\"test\",\"id\":123}")
+                .setHeader("Content-Type", "application/json"));
+
+        // Act
+        getBuilder(client.get()
+                .uri("/api/users/{id}", 123)
+                .header("Authorization", "Bearer app-key"))
+                .execute(TestResponse.class);
+
+        // Assert
+        RecordedRequest request = mockServer.takeRequest();
+        assertEquals("/api/users/123", request.getPath());
+        assertEquals("Bearer app-key", request.getHeader("Authorization"));
+        assertEquals("application/json", request.getHeader("Accept"));
+        assertEquals("test-value", request.getHeader("test-key"));
+        assertNull(request.getHeader("test-null"));
+    }
+
     @Test
     void testExecuteWithStringResponse() throws Exception {
         // Arrange
@@ -2635,5 +2660,55 @@ class OkHttpRequestBuilderIntegrationTest {
         );
     }
 
-}
+    // ========== executeAsync() Tests ==========
+
+    @Test
+    void testExecuteAsyncWithSuccessfulResponse() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"name\":\"test\",\"id\":123}")
+                .setHeader("Content-Type", "application/json"));
+
+        TestResponse result = getBuilder(client.get()
+                .uri("/api/test"))
+                .executeAsync(TestResponse.class)
+                .get(5, TimeUnit.SECONDS);
 
+        assertEquals("test", result.name);
+        assertEquals(123, result.id);
+        assertEquals("/api/test", mockServer.takeRequest().getPath());
+    }
+
+    @Test
+    void testExecuteAsyncTypeReferenceWithSuccessfulResponse() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"name\":\"a\",\"id\":1}]")
+                .setHeader("Content-Type", "application/json"));
+
+        List<TestResponse> result = getBuilder(client.get()
+                .uri("/api/list"))
+                .executeAsync(new TypeReference<List<TestResponse>>() {
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result.size());
+        assertEquals("a", result.get(0).name);
+    }
+
+    @Test
+    void testExecuteAsyncWithUnsuccessfulResponse() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"error\":\"Not found\"}"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                getBuilder(client.get()
+                        .uri("/api/notfound"))
+                        .executeAsync(TestResponse.class)
+                        .get(5, TimeUnit.SECONDS)
+        );
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        assertEquals(404, ((HttpClientException) exception.getCause()).getStatusCode());
+    }
+}
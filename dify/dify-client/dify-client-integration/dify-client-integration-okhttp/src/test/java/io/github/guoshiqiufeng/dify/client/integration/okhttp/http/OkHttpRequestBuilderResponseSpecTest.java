@@ -35,6 +35,9 @@ import reactor.test.StepVerifier;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -1177,6 +1180,130 @@ class OkHttpRequestBuilderResponseSpecTest {
         );
     }
 
+    // ========== Async Tests ==========
+
+    @Test
+    void testBodyAsyncWithClassSuccess() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"name\":\"test\",\"id\":123}")
+                .setHeader("Content-Type", "application/json"));
+
+        // Act
+        CompletableFuture<TestResponse> future = client.get()
+                .uri("/api/test")
+                .retrieve()
+                .bodyAsync(TestResponse.class);
+
+        // Assert
+        TestResponse result = future.get(5, TimeUnit.SECONDS);
+        assertNotNull(result);
+        assertEquals("test", result.name);
+        assertEquals(123, result.id);
+    }
+
+    @Test
+    void testToEntityAsyncWithTypeReferenceSuccess() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"name\":\"a\",\"id\":1},{\"name\":\"b\",\"id\":2}]")
+                .setHeader("Content-Type", "application/json")
+                .setHeader("X-Request-Id", "req-1"));
+
+        // Act
+        ResponseEntity<List<TestResponse>> response = client.get()
+                .uri("/api/list")
+                .retrieve()
+                .toEntityAsync(new TypeReference<List<TestResponse>>() {
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(200, response.getStatusCode());
+        assertEquals("req-1", response.getHeaders().getFirst("X-Request-Id"));
+        assertEquals(2, response.getBody().size());
+        assertEquals("b", response.getBody().get(1).name);
+    }
+
+    @Test
+    void testBodyAsyncCompletesExceptionallyFromErrorHandler() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"error\":\"Not found\"}"));
+
+        // Act
+        CompletableFuture<TestResponse> future = client.get()
+                .uri("/api/missing")
+                .retrieve()
+                .onStatus(ResponseErrorHandler.onStatus(status -> status == 404, response -> {
+                    throw new IllegalStateException("Not found: " + response.getBody());
+                }))
+                .bodyAsync(TestResponse.class);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains("Not found"));
+    }
+
+    @Test
+    void testToBodilessEntityAsync() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse().setResponseCode(204));
+
+        // Act
+        ResponseEntity<Void> response = client.delete()
+                .uri("/api/test/1")
+                .retrieve()
+                .toBodilessEntityAsync()
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(204, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("DELETE", mockServer.takeRequest().getMethod());
+    }
+
+    @Test
+    void testToEntityAsyncCompletesExceptionallyOnConnectionFailure() throws IOException {
+        // Arrange
+        mockServer.shutdown();
+
+        // Act
+        CompletableFuture<ResponseEntity<TestResponse>> future = client.get()
+                .uri("/api/test")
+                .retrieve()
+                .toEntityAsync(TestResponse.class);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("HTTP request failed"));
+    }
+
+    @Test
+    void testToEntityAsyncCancel() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"name\":\"test\",\"id\":123}")
+                .setHeadersDelay(2, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ResponseEntity<TestResponse>> future = client.get()
+                .uri("/api/slow")
+                .retrieve()
+                .toEntityAsync(TestResponse.class);
+        boolean cancelled = future.cancel(true);
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(future.isCancelled());
+    }
+
     // ========== Test Data Classes ==========
 
     static class TestResponse {
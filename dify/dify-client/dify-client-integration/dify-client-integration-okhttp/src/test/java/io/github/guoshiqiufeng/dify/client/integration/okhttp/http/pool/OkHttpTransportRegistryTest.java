@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.http.pool;
+
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OkHttpTransportRegistry
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class OkHttpTransportRegistryTest {
+
+    private final OkHttpTransportRegistry registry = new OkHttpTransportRegistry();
+
+    @Test
+    void testSameBaseUrlAndPoolSettingsShareTransport() {
+        DifyProperties.ClientConfig chatConfig = new DifyProperties.ClientConfig();
+        chatConfig.setReadTimeout(120);
+        DifyProperties.ClientConfig datasetConfig = new DifyProperties.ClientConfig();
+        datasetConfig.setReadTimeout(10);
+
+        OkHttpTransport chat = registry.acquire("https://dify.example.com", chatConfig);
+        OkHttpTransport dataset = registry.acquire("https://dify.example.com/", datasetConfig);
+
+        assertSame(chat.getConnectionPool(), dataset.getConnectionPool());
+        assertSame(chat.getDispatcher(), dataset.getDispatcher());
+        assertEquals(1, registry.size());
+        assertEquals(2, registry.getReferenceCount("https://dify.example.com", chatConfig));
+    }
+
+    @Test
+    void testDifferentBaseUrlOrPoolSettingsUseSeparateTransports() {
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        DifyProperties.ClientConfig largerPool = new DifyProperties.ClientConfig();
+        largerPool.setMaxRequests(128);
+
+        OkHttpTransport first = registry.acquire("https://a.example.com", config);
+        OkHttpTransport otherHost = registry.acquire("https://b.example.com", config);
+        OkHttpTransport otherSettings = registry.acquire("https://a.example.com", largerPool);
+
+        assertNotSame(first.getConnectionPool(), otherHost.getConnectionPool());
+        assertNotSame(first.getDispatcher(), otherSettings.getDispatcher());
+        assertEquals(128, otherSettings.getDispatcher().getMaxRequests());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void testInvalidPoolSettingsFallBackToDefaults() {
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        config.setMaxRequests(0);
+        config.setMaxRequestsPerHost(-1);
+
+        OkHttpTransport transport = registry.acquire("https://dify.example.com", config);
+
+        assertEquals(64, transport.getDispatcher().getMaxRequests());
+        assertEquals(5, transport.getDispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    void testTransportShutsDownWhenLastLeaseIsClosed() {
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        OkHttpTransport first = registry.acquire("https://dify.example.com", config);
+        OkHttpTransport second = registry.acquire("https://dify.example.com", config);
+
+        first.close();
+        first.close();
+
+        assertTrue(first.isClosed());
+        assertEquals(1, registry.getReferenceCount("https://dify.example.com", config));
+        assertFalse(second.getDispatcher().executorService().isShutdown());
+
+        second.close();
+
+        assertEquals(0, registry.size());
+        assertTrue(second.getDispatcher().executorService().isShutdown());
+
+        OkHttpTransport recreated = registry.acquire("https://dify.example.com", config);
+        assertNotSame(second.getDispatcher(), recreated.getDispatcher());
+        recreated.close();
+    }
+}
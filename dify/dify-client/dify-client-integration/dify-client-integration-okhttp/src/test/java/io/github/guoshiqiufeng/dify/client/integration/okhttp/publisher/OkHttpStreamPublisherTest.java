@@ -15,8 +15,11 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.mockwebserver.MockResponse;
@@ -24,10 +27,24 @@ import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for OkHttpStreamPublisher
@@ -695,6 +712,318 @@ class OkHttpStreamPublisherTest {
                 .verify();
     }
 
+    // ========== Demand-driven toFlux Tests ==========
+
+    @Test
+    void testToFluxWithMultipleEvents() {
+        // Arrange
+        String sseData = "data: {\"id\":1,\"message\":\"first\"}\n\n" +
+                "data: {\"id\":2,\"message\":\"second\"}\n\n";
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData)
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class);
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectNextMatches(event -> event.id == 1 && "first".equals(event.message))
+                .expectNextMatches(event -> event.id == 2 && "second".equals(event.message))
+                .verifyComplete();
+    }
+
+    @Test
+    void testToFluxWithDeserializerSkipsNullItems() {
+        // Arrange
+        String sseData = "data: {\"id\":1}\n\n" +
+                "data: {\"id\":2}\n\n" +
+                "data: {\"id\":3}\n\n" +
+                "data: {\"id\":4}\n\n";
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData)
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        AtomicInteger decoded = new AtomicInteger();
+        JsonDeserializer<TestEvent> deserializer = (node, mapper) -> {
+            int index = decoded.incrementAndGet();
+            return index % 2 == 0 ? new TestEvent(index, "kept") : null;
+        };
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, deserializer, OkHttpStreamPublisher.DEFAULT_PREFETCH, null);
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectNextMatches(event -> event.id == 2)
+                .expectNextMatches(event -> event.id == 4)
+                .verifyComplete();
+        assertEquals(4, decoded.get());
+    }
+
+    @Test
+    void testToFluxWithErrorResponse() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("{\"error\":\"Internal server error\"}"));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class);
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectErrorMatches(throwable ->
+                        throwable instanceof HttpClientException &&
+                                ((HttpClientException) throwable).getStatusCode() == 500)
+                .verify();
+    }
+
+    @Test
+    void testToFluxWithConnectionFailure() throws IOException {
+        // Arrange
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+        mockServer.shutdown();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class);
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectError(HttpClientException.class)
+                .verify();
+    }
+
+    @Test
+    void testToFluxReadsOnlyOnDemand() throws InterruptedException {
+        // Arrange - the server sends far more events than the subscriber asks for
+        int totalEvents = 5000;
+        int prefetch = 8;
+        StringBuilder sseData = new StringBuilder();
+        for (int i = 1; i <= totalEvents; i++) {
+            sseData.append("data: {\"id\":").append(i).append(",\"message\":\"token\"}\n\n");
+        }
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData.toString())
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        CountingJsonMapper countingMapper = new CountingJsonMapper();
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, countingMapper, TestEvent.class, prefetch, null);
+
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch firstReceived = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SlowSubscriber subscriber = new SlowSubscriber(received, firstReceived, completed);
+
+        // Act - a slow subscriber asking for a single event
+        publisher.toFlux().subscribe(subscriber);
+        assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+
+        // Assert - decoding stops at the prefetch window instead of draining the socket
+        assertEquals(1, received.get());
+        assertTrue(countingMapper.decoded.get() <= prefetch,
+                "Decoded " + countingMapper.decoded.get() + " events with prefetch " + prefetch);
+
+        // Act - release demand, the stream resumes and completes
+        subscriber.requestUnbounded();
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(totalEvents, received.get());
+        assertEquals(totalEvents, countingMapper.decoded.get());
+    }
+
+    @Test
+    void testToFluxUsesProvidedScheduler() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setBody("data: {\"id\":1,\"message\":\"test\"}\n\n")
+                .setHeader("Content-Type", "text/event-stream"));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        Scheduler scheduler = Schedulers.newSingle("dify-sse-test");
+        try {
+            OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                    client, request, jsonMapper, TestEvent.class, 4, scheduler);
+
+            // Act & Assert
+            StepVerifier.create(publisher.toFlux().map(event -> Thread.currentThread().getName()))
+                    .expectNextMatches(name -> name.startsWith("dify-sse-test"))
+                    .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void testToFluxIdleTimeout() {
+        // Arrange - the first event arrives, then the server stalls
+        mockServer.enqueue(new MockResponse()
+                .setBody("data: {\"id\":1,\"message\":\"a\"}\n\ndata: {\"id\":2,\"message\":\"b\"}\n\n")
+                .setHeader("Content-Type", "text/event-stream")
+                .throttleBody(32, 3, TimeUnit.SECONDS));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class)
+                .timeout(StreamTimeout.idle(Duration.ofMillis(300)));
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectNextMatches(event -> event.id == 1)
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("idle"));
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testToFluxIdleTimeoutIsResetByPings() {
+        // Arrange - pings keep a slow stream alive, each chunk arrives well within the idle timeout
+        StringBuilder sseData = new StringBuilder();
+        for (int i = 1; i <= 3; i++) {
+            sseData.append("event: ping\n\n");
+            sseData.append("data: {\"id\":").append(i).append(",\"message\":\"token\"}\n\n");
+        }
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData.toString())
+                .setHeader("Content-Type", "text/event-stream")
+                .throttleBody(8, 100, TimeUnit.MILLISECONDS));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class)
+                .timeout(StreamTimeout.idle(Duration.ofMillis(500)));
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectNextCount(3)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testToFluxTotalTimeout() {
+        // Arrange - a steady stream that takes longer than the total deadline
+        StringBuilder sseData = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            sseData.append("data: {\"id\":").append(i).append(",\"message\":\"token\"}\n\n");
+        }
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData.toString())
+                .setHeader("Content-Type", "text/event-stream")
+                .throttleBody(16, 50, TimeUnit.MILLISECONDS));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class)
+                .timeout(StreamTimeout.of(Duration.ofSeconds(1), Duration.ofMillis(500)));
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .thenConsumeWhile(event -> true)
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("total"));
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testToFluxCancel() {
+        // Arrange - a slowly delivered stream that is cancelled after the first event
+        StringBuilder sseData = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            sseData.append("data: {\"id\":").append(i).append(",\"message\":\"token\"}\n\n");
+        }
+
+        mockServer.enqueue(new MockResponse()
+                .setBody(sseData.toString())
+                .setHeader("Content-Type", "text/event-stream")
+                .throttleBody(64, 1, TimeUnit.SECONDS));
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                client, request, jsonMapper, TestEvent.class);
+
+        // Act & Assert
+        StepVerifier.create(publisher.toFlux())
+                .expectNextMatches(event -> event.id == 1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testToFluxReadsMoreStreamsThanBoundedElasticCapConcurrently() throws InterruptedException {
+        // Arrange - every stream sends its first event, then stays open
+        int streams = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE + 1;
+        String firstEvent = "data: {\"id\":1,\"message\":\"first\"}\n\n";
+        for (int i = 0; i < streams; i++) {
+            mockServer.enqueue(new MockResponse()
+                    .setBody(firstEvent + "data: {\"id\":2,\"message\":\"second\"}\n\n")
+                    .setHeader("Content-Type", "text/event-stream")
+                    .throttleBody(firstEvent.length(), 30, TimeUnit.SECONDS));
+        }
+
+        Request request = new Request.Builder()
+                .url(mockServer.url("/stream"))
+                .build();
+
+        CountDownLatch firstEvents = new CountDownLatch(streams);
+        List<Disposable> subscriptions = new ArrayList<>();
+        try {
+            // Act
+            for (int i = 0; i < streams; i++) {
+                OkHttpStreamPublisher<TestEvent> publisher = new OkHttpStreamPublisher<>(
+                        client, request, jsonMapper, TestEvent.class);
+                subscriptions.add(publisher.toFlux().subscribe(event -> firstEvents.countDown()));
+            }
+
+            // Assert - no stream waits for a read thread held by another stream
+            assertTrue(firstEvents.await(20, TimeUnit.SECONDS));
+        } finally {
+            subscriptions.forEach(Disposable::dispose);
+        }
+    }
+
     // ========== Test Data Classes ==========
 
     static class TestEvent {
@@ -721,6 +1050,50 @@ class OkHttpStreamPublisherTest {
         }
     }
 
+    /**
+     * Subscriber requesting a single event until told otherwise.
+     */
+    static class SlowSubscriber extends BaseSubscriber<TestEvent> {
+        private final AtomicInteger received;
+        private final CountDownLatch firstReceived;
+        private final CountDownLatch completed;
+
+        SlowSubscriber(AtomicInteger received, CountDownLatch firstReceived, CountDownLatch completed) {
+            this.received = received;
+            this.firstReceived = firstReceived;
+            this.completed = completed;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(TestEvent value) {
+            received.incrementAndGet();
+            firstReceived.countDown();
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * JsonMapper counting how many SSE events were decoded.
+     */
+    static class CountingJsonMapper extends TestJsonMapper {
+        private final AtomicInteger decoded = new AtomicInteger();
+
+        @Override
+        public <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz) {
+            decoded.incrementAndGet();
+            return super.fromJson(json, offset, length, clazz);
+        }
+    }
+
     // ========== Test JsonMapper Implementation ==========
 
     static class TestJsonMapper implements JsonMapper {
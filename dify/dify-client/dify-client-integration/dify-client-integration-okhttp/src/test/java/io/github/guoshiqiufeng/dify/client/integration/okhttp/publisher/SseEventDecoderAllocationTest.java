@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation benchmark comparing {@link SseEventDecoder} with the previous
+ * {@code BufferedReader} based line parsing of {@link OkHttpStreamPublisher}.
+ * <p>
+ * Only the SSE framing is measured; payload deserialization is identical for both paths.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+class SseEventDecoderAllocationTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final String EVENT_JSON = "{\"event\":\"message\",\"task_id\":\"900bbd43-dc0b-4383-a372-aa6e6c414227\","
+            + "\"id\":\"663c5084-a254-4040-8ad3-51f2a3c1a77c\",\"message_id\":\"663c5084-a254-4040-8ad3-51f2a3c1a77c\","
+            + "\"conversation_id\":\"45701982-8118-4bc5-8e9b-64562b4555f2\",\"answer\":\"Hi\",\"created_at\":1705398420}";
+
+    private long sink;
+
+    @Test
+    void testDecoderAllocatesLessThanReaderPath() throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        assumeTrue(threadMXBean != null && threadMXBean.isThreadAllocatedMemorySupported(),
+                "Thread allocation measurement not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        String payload = buildPayload();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(EVENTS, readerPath(new Buffer().writeUtf8(payload)));
+            assertEquals(EVENTS, decoderPath(new Buffer().writeUtf8(payload)));
+        }
+
+        long threadId = Thread.currentThread().getId();
+
+        Buffer readerSource = new Buffer().writeUtf8(payload);
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        readerPath(readerSource);
+        long readerBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        Buffer decoderSource = new Buffer().writeUtf8(payload);
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        decoderPath(decoderSource);
+        long decoderBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        log.info("SSE framing allocation for {} events: reader path {} bytes ({} bytes/event), decoder {} bytes ({} bytes/event)",
+                EVENTS, readerBytes, readerBytes / EVENTS, decoderBytes, decoderBytes / EVENTS);
+
+        assertTrue(decoderBytes * 2 < readerBytes,
+                "Expected decoder to allocate less than half of reader path, reader=" + readerBytes + ", decoder=" + decoderBytes);
+    }
+
+    private static String buildPayload() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < EVENTS; i++) {
+            builder.append("data: ").append(EVENT_JSON).append("\n\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reproduces the previous line based framing: a String per line, {@code substring(6)} for the value
+     * and the trimming completeness check before handing the String to the codec.
+     */
+    private int readerPath(Buffer source) throws IOException {
+        int events = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(source.inputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            StringBuilder eventData = new StringBuilder();
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("data: ")) {
+                    String data = line.substring(6);
+                    eventData.append(data);
+                    String trimmed = data.trim();
+                    if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
+                        sink += data.length();
+                        events++;
+                        eventData.setLength(0);
+                    }
+                }
+            }
+        }
+        return events;
+    }
+
+    private int decoderPath(Buffer source) throws IOException {
+        int events = 0;
+        SseEventDecoder decoder = new SseEventDecoder(source);
+        while (decoder.next()) {
+            sink += decoder.dataLength();
+            events++;
+        }
+        return events;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
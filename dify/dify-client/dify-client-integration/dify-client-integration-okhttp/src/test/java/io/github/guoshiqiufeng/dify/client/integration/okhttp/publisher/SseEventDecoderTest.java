@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.okhttp.publisher;
+
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SseEventDecoder
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class SseEventDecoderTest {
+
+    private static SseEventDecoder decoder(String payload) {
+        return new SseEventDecoder(new Buffer().writeUtf8(payload));
+    }
+
+    @Test
+    void testSingleEvent() throws IOException {
+        SseEventDecoder decoder = decoder("data: {\"id\":1}\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("{\"id\":1}", decoder.dataAsString());
+        assertNull(decoder.event());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testMultipleEvents() throws IOException {
+        SseEventDecoder decoder = decoder("data: first\n\ndata: second\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("first", decoder.dataAsString());
+        assertTrue(decoder.next());
+        assertEquals("second", decoder.dataAsString());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testMultiLineDataIsJoinedWithNewline() throws IOException {
+        SseEventDecoder decoder = decoder("data: {\"id\":1,\ndata: \"message\":\"x\"}\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("{\"id\":1,\n\"message\":\"x\"}", decoder.dataAsString());
+    }
+
+    @Test
+    void testCrLfAndCrLineTerminators() throws IOException {
+        SseEventDecoder decoder = decoder("data: a\r\n\r\ndata: b\r\rdata: c\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("a", decoder.dataAsString());
+        assertTrue(decoder.next());
+        assertEquals("b", decoder.dataAsString());
+        assertTrue(decoder.next());
+        assertEquals("c", decoder.dataAsString());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testEventIdAndRetryFields() throws IOException {
+        SseEventDecoder decoder = decoder("event: message\nid: 42\nretry: 1500\ndata: payload\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("message", decoder.event());
+        assertEquals("42", decoder.lastEventId());
+        assertEquals(1500, decoder.retry());
+        assertEquals("payload", decoder.dataAsString());
+    }
+
+    @Test
+    void testEventTypeIsResetBetweenEvents() throws IOException {
+        SseEventDecoder decoder = decoder("event: ping\ndata: 1\n\ndata: 2\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("ping", decoder.event());
+        assertTrue(decoder.next());
+        assertNull(decoder.event());
+    }
+
+    @Test
+    void testInvalidRetryIsIgnored() throws IOException {
+        SseEventDecoder decoder = decoder("retry: abc\ndata: x\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals(-1, decoder.retry());
+    }
+
+    @Test
+    void testCommentsAndUnknownFieldsAreIgnored() throws IOException {
+        SseEventDecoder decoder = decoder(": keep-alive\nfoo: bar\ndata: value\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("value", decoder.dataAsString());
+    }
+
+    @Test
+    void testFieldWithoutSpaceAfterColon() throws IOException {
+        SseEventDecoder decoder = decoder("data:value\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("value", decoder.dataAsString());
+    }
+
+    @Test
+    void testFieldWithoutColonHasEmptyValue() throws IOException {
+        SseEventDecoder decoder = decoder("data\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals(0, decoder.dataLength());
+    }
+
+    @Test
+    void testBlankLinesWithoutDataAreSkipped() throws IOException {
+        SseEventDecoder decoder = decoder("\n\nevent: ping\n\ndata: x\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("x", decoder.dataAsString());
+        assertNull(decoder.event());
+    }
+
+    @Test
+    void testUnterminatedLastEventIsDispatched() throws IOException {
+        SseEventDecoder decoder = decoder("data: first\n\ndata: last");
+
+        assertTrue(decoder.next());
+        assertEquals("first", decoder.dataAsString());
+        assertTrue(decoder.next());
+        assertEquals("last", decoder.dataAsString());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void testEmptyStream() throws IOException {
+        assertFalse(decoder("").next());
+    }
+
+    @Test
+    void testLargeDataGrowsBuffer() throws IOException {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            large.append('x');
+        }
+        SseEventDecoder decoder = decoder("data: " + large + "\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals(20000, decoder.dataLength());
+        assertEquals(large.toString(), decoder.dataAsString());
+    }
+
+    @Test
+    void testUtf8Payload() throws IOException {
+        SseEventDecoder decoder = decoder("data: {\"answer\":\"你好\"}\n\n");
+
+        assertTrue(decoder.next());
+        assertEquals("{\"answer\":\"你好\"}", decoder.dataAsString());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
@@ -23,6 +24,7 @@ import io.github.guoshiqiufeng.dify.client.integration.spring.http.util.SpringSt
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -164,6 +166,26 @@ class ResponseConverter {
         }
     }
 
+    /**
+     * Deserialize response body string with a deserializer instance.
+     *
+     * @param bodyString   response body as string
+     * @param deserializer deserializer instance
+     * @param <T>          response type
+     * @return deserialized object
+     */
+    <T> T deserialize(String bodyString, JsonDeserializer<T> deserializer) {
+        if (bodyString == null || bodyString.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return jsonMapper.fromJson(bodyString, deserializer);
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to deserialize response", e);
+        }
+    }
+
     /**
      * Deserialize response body string with TypeReference.
      *
@@ -222,6 +244,76 @@ class ResponseConverter {
         }
     }
 
+    /**
+     * Deserialize a slice of UTF-8 encoded bytes to target type, as read from a streaming response.
+     *
+     * @param bytes        array holding the payload
+     * @param offset       start of the payload
+     * @param length       payload length
+     * @param responseType target type
+     * @param <T>          response type
+     * @return deserialized object
+     */
+    <T> T deserialize(byte[] bytes, int offset, int length, Class<T> responseType) {
+        if (length == 0 || responseType == Void.class || responseType == void.class) {
+            return null;
+        }
+
+        if (responseType == byte[].class) {
+            return responseType.cast(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+
+        if (responseType == String.class) {
+            return responseType.cast(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+
+        try {
+            return jsonMapper.fromJson(bytes, offset, length, responseType);
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to deserialize response", e);
+        }
+    }
+
+    /**
+     * Deserialize a slice of UTF-8 encoded bytes with a deserializer instance.
+     *
+     * @param bytes        array holding the payload
+     * @param offset       start of the payload
+     * @param length       payload length
+     * @param deserializer deserializer instance
+     * @param <T>          response type
+     * @return deserialized object
+     */
+    <T> T deserialize(byte[] bytes, int offset, int length, JsonDeserializer<T> deserializer) {
+        if (length == 0) {
+            return null;
+        }
+
+        try {
+            return jsonMapper.fromJson(bytes, offset, length, deserializer);
+        } catch (Exception e) {
+            throw new HttpClientException("Failed to deserialize response", e);
+        }
+    }
+
+    /**
+     * Deserialize a slice of UTF-8 encoded bytes with TypeReference.
+     *
+     * @param bytes         array holding the payload
+     * @param offset        start of the payload
+     * @param length        payload length
+     * @param typeReference type reference
+     * @param <T>           response type
+     * @return deserialized object
+     */
+    <T> T deserialize(byte[] bytes, int offset, int length, TypeReference<T> typeReference) {
+        if (length == 0) {
+            return null;
+        }
+
+        return deserialize(Arrays.copyOfRange(bytes, offset, offset + length), typeReference);
+    }
+
     /**
      * Build HttpResponse from Spring ResponseEntity.
      *
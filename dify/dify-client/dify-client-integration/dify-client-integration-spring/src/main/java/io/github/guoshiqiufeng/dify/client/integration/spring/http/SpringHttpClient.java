@@ -15,8 +15,14 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec;
+import io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorators;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestBodyUriSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.client.RequestHeadersUriSpec;
@@ -32,13 +38,16 @@ import io.github.guoshiqiufeng.dify.client.integration.spring.logging.DifyRestLo
 import io.github.guoshiqiufeng.dify.client.integration.spring.version.SpringVersionDetector;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Spring-based HTTP client implementation.
@@ -90,6 +99,16 @@ public class SpringHttpClient implements HttpClient {
     private final RestClientHttpClientFactory restClientHttpClientFactory;
     private final WebClientFactory webClientFactory;
     private final RestClientFactory restClientFactory;
+    /**
+     * Per-API-key bulkheads limiting the requests of this client, null if not limited.
+     */
+    @Getter
+    @Setter
+    private volatile BulkheadRegistry bulkheadRegistry;
+    /**
+     * Decorators applied to the request builders of this client, in registration order.
+     */
+    private final List<HttpRequestDecorator> requestDecorators = new CopyOnWriteArrayList<>();
 
     /**
      * Constructor with base URL and client configuration.
@@ -202,6 +221,8 @@ public class SpringHttpClient implements HttpClient {
         this.restClientHttpClientFactory = restClientHttpClientFactory;
         this.webClientFactory = webClientFactory;
         this.restClientFactory = restClientFactory;
+        this.bulkheadRegistry = BulkheadRegistry.of(clientConfig);
+        this.requestDecorators.addAll(HttpRequestDecorators.of(clientConfig));
 
         // Create WebClient (available in all Spring versions)
         this.webClient = createWebClient(webClientBuilder, false);
@@ -585,50 +606,75 @@ public class SpringHttpClient implements HttpClient {
 
     @Override
     public RequestHeadersUriSpec<?> get() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new SpringHttpRequestBuilder(this, "GET", jsonMapper, defaultHeaders));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("GET"));
     }
 
     @Override
     public RequestBodyUriSpec post() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new SpringHttpRequestBuilder(this, "POST", jsonMapper, defaultHeaders));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("POST"));
     }
 
     @Override
     public RequestBodyUriSpec put() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new SpringHttpRequestBuilder(this, "PUT", jsonMapper, defaultHeaders));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("PUT"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> delete() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new SpringHttpRequestBuilder(this, "DELETE", jsonMapper, defaultHeaders));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("DELETE"));
     }
 
     @Override
     public RequestBodyUriSpec patch() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new SpringHttpRequestBuilder(this, "PATCH", jsonMapper, defaultHeaders));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder("PATCH"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> head() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new SpringHttpRequestBuilder(this, "HEAD", jsonMapper, defaultHeaders));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("HEAD"));
     }
 
     @Override
     public RequestHeadersUriSpec<?> options() {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestHeadersUriSpec(
-                new SpringHttpRequestBuilder(this, "OPTIONS", jsonMapper, defaultHeaders));
+        return new DefaultRequestHeadersUriSpec(newRequestBuilder("OPTIONS"));
     }
 
     @Override
     public RequestBodyUriSpec method(io.github.guoshiqiufeng.dify.client.core.http.HttpMethod httpMethod) {
-        return new io.github.guoshiqiufeng.dify.client.core.http.DefaultRequestBodyUriSpec(
-                new SpringHttpRequestBuilder(this, httpMethod.name(), jsonMapper, defaultHeaders));
+        return new DefaultRequestBodyUriSpec(newRequestBuilder(httpMethod.name()));
+    }
+
+    /**
+     * Add a decorator applied to the request builders of this client, replacing a decorator of the same class.
+     *
+     * @param decorator the request decorator
+     */
+    public void addRequestDecorator(HttpRequestDecorator decorator) {
+        HttpRequestDecorators.register(requestDecorators, decorator);
+    }
+
+    /**
+     * Get the decorators applied to the request builders of this client.
+     *
+     * @return the request decorators, in registration order
+     */
+    public List<HttpRequestDecorator> getRequestDecorators() {
+        return Collections.unmodifiableList(requestDecorators);
+    }
+
+    /**
+     * Create the request builder for a method, wrapped by the request decorators and limited by the bulkhead of
+     * the request's API key if configured.
+     *
+     * @param method HTTP method
+     * @return request builder
+     */
+    private HttpRequestBuilder newRequestBuilder(String method) {
+        String defaultAuthorization = defaultHeaders.getFirst(HttpHeaders.AUTHORIZATION);
+        HttpRequestBuilder requestBuilder = HttpRequestDecorators.apply(new SpringHttpRequestBuilder(this, method, jsonMapper, defaultHeaders),
+                requestDecorators, method, defaultAuthorization);
+        BulkheadRegistry registry = bulkheadRegistry;
+        return registry != null ? registry.decorate(requestBuilder, defaultAuthorization) : requestBuilder;
     }
 
     /**
@@ -15,9 +15,11 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.RestClientHttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.WebClientConnectionProviderFactory;
@@ -50,16 +52,20 @@ public class SpringHttpClientFactory implements HttpClientFactory {
 
     private final RestClientHttpClientFactory restClientHttpClientFactory;
 
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final List<HttpRequestDecorator> requestDecorators;
+
     public SpringHttpClientFactory(JsonMapper jsonMapper) {
-        this(WebClient.builder(), null, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null);
+        this(WebClient.builder(), null, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null, null, new ArrayList<>());
     }
 
     public SpringHttpClientFactory(WebClient.Builder webClientBuilder, JsonMapper jsonMapper) {
-        this(webClientBuilder, null, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null);
+        this(webClientBuilder, null, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null, null, new ArrayList<>());
     }
 
     public SpringHttpClientFactory(WebClient.Builder webClientBuilder, Object restClientBuilder, JsonMapper jsonMapper) {
-        this(webClientBuilder, restClientBuilder, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null);
+        this(webClientBuilder, restClientBuilder, jsonMapper, new HttpHeaders(), new ArrayList<>(), null, null, null, new ArrayList<>());
     }
 
     /**
@@ -75,13 +81,14 @@ public class SpringHttpClientFactory implements HttpClientFactory {
                                     WebClientConnectionProviderFactory webClientConnectionProviderFactory,
                                     RestClientHttpClientFactory restClientHttpClientFactory) {
         this(webClientBuilder, restClientBuilder, jsonMapper, new HttpHeaders(), new ArrayList<>(),
-                webClientConnectionProviderFactory, restClientHttpClientFactory);
+                webClientConnectionProviderFactory, restClientHttpClientFactory, null, new ArrayList<>());
     }
 
     private SpringHttpClientFactory(WebClient.Builder webClientBuilder, Object restClientBuilder, JsonMapper jsonMapper,
                                     HttpHeaders defaultHeaders, List<Object> interceptors,
                                     WebClientConnectionProviderFactory webClientConnectionProviderFactory,
-                                    RestClientHttpClientFactory restClientHttpClientFactory) {
+                                    RestClientHttpClientFactory restClientHttpClientFactory,
+                                    BulkheadRegistry bulkheadRegistry, List<HttpRequestDecorator> requestDecorators) {
         this.webClientBuilder = webClientBuilder;
         this.restClientBuilder = restClientBuilder;
         this.jsonMapper = jsonMapper;
@@ -89,14 +96,23 @@ public class SpringHttpClientFactory implements HttpClientFactory {
         this.interceptors = interceptors;
         this.webClientConnectionProviderFactory = webClientConnectionProviderFactory;
         this.restClientHttpClientFactory = restClientHttpClientFactory;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.requestDecorators = requestDecorators;
     }
 
     @Override
     public HttpClient createClient(String baseUrl, DifyProperties.ClientConfig clientConfig) {
         WebClient.Builder builder = webClientBuilder.clone();
 
-        return new SpringHttpClient(baseUrl, clientConfig, builder, restClientBuilder, jsonMapper, defaultHeaders, interceptors,
-                webClientConnectionProviderFactory, restClientHttpClientFactory);
+        SpringHttpClient client = new SpringHttpClient(baseUrl, clientConfig, builder, restClientBuilder, jsonMapper,
+                defaultHeaders, interceptors, webClientConnectionProviderFactory, restClientHttpClientFactory);
+        if (bulkheadRegistry != null) {
+            client.setBulkheadRegistry(bulkheadRegistry);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators) {
+            client.addRequestDecorator(decorator);
+        }
+        return client;
     }
 
     @Override
@@ -104,7 +120,8 @@ public class SpringHttpClientFactory implements HttpClientFactory {
         HttpHeaders newHeaders = new HttpHeaders(this.defaultHeaders);
         newHeaders.add(key, value);
         return new SpringHttpClientFactory(webClientBuilder, restClientBuilder, jsonMapper, newHeaders, interceptors,
-                webClientConnectionProviderFactory, restClientHttpClientFactory);
+                webClientConnectionProviderFactory, restClientHttpClientFactory, bulkheadRegistry,
+                requestDecorators);
     }
 
     @Override
@@ -112,6 +129,23 @@ public class SpringHttpClientFactory implements HttpClientFactory {
         List<Object> newInterceptors = new ArrayList<>(this.interceptors);
         newInterceptors.add(interceptor);
         return new SpringHttpClientFactory(webClientBuilder, restClientBuilder, jsonMapper, defaultHeaders, newInterceptors,
-                webClientConnectionProviderFactory, restClientHttpClientFactory);
+                webClientConnectionProviderFactory, restClientHttpClientFactory, bulkheadRegistry,
+                requestDecorators);
+    }
+
+    @Override
+    public SpringHttpClientFactory bulkheadRegistry(BulkheadRegistry bulkheadRegistry) {
+        return new SpringHttpClientFactory(webClientBuilder, restClientBuilder, jsonMapper, defaultHeaders, interceptors,
+                webClientConnectionProviderFactory, restClientHttpClientFactory, bulkheadRegistry,
+                requestDecorators);
+    }
+
+    @Override
+    public SpringHttpClientFactory requestDecorator(HttpRequestDecorator decorator) {
+        List<HttpRequestDecorator> newDecorators = new ArrayList<>(this.requestDecorators);
+        newDecorators.add(decorator);
+        return new SpringHttpClientFactory(webClientBuilder, restClientBuilder, jsonMapper, defaultHeaders, interceptors,
+                webClientConnectionProviderFactory, restClientHttpClientFactory, bulkheadRegistry,
+                newDecorators);
     }
 }
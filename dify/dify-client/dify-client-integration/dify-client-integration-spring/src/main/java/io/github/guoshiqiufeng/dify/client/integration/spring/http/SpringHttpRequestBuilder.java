@@ -15,9 +15,11 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.*;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.util.LinkedMultiValueMap;
 import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
 import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
@@ -30,11 +32,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
  * Spring-based implementation of HttpRequestBuilder.
- * Uses RestClient for synchronous requests (Spring 6+) or WebClient (all versions).
+ * Uses RestClient for synchronous requests (Spring 6+) or WebClient (all versions), and WebClient for synchronous
+ * requests inside a {@link CallCancellation} scope so that they can be cancelled.
+ * Asynchronous requests always use WebClient, whose response is handed over as a {@link CompletableFuture}.
  * Delegates execution to specialized executors following Single Responsibility Principle.
  *
  * @author yanghq
@@ -170,7 +175,7 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
 
     @Override
     public <T> T execute(Class<T> responseType) {
-        if (restClientExecutor != null) {
+        if (useRestClient()) {
             return restClientExecutor.execute(method, uri, headers, cookies, body, responseType);
         } else {
             return webClientExecutor.execute(method, uri, headers, cookies, queryParams, body, responseType);
@@ -179,13 +184,23 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
 
     @Override
     public <T> T execute(TypeReference<T> typeReference) {
-        if (restClientExecutor != null) {
+        if (useRestClient()) {
             return restClientExecutor.execute(method, uri, headers, cookies, body, typeReference);
         } else {
             return webClientExecutor.execute(method, uri, headers, cookies, queryParams, body, typeReference);
         }
     }
 
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Class<T> responseType) {
+        return webClientExecutor.executeAsync(method, uri, headers, cookies, queryParams, body, responseType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(TypeReference<T> typeReference) {
+        return webClientExecutor.executeAsync(method, uri, headers, cookies, queryParams, body, typeReference);
+    }
+
     @Override
     public <T> ResponseEntity<T> executeForResponse(Class<T> responseType) {
         T body = execute(responseType);
@@ -222,6 +237,21 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
         return new SpringResponseSpec();
     }
 
+    @Override
+    public boolean isCancellable() {
+        return true;
+    }
+
+    /**
+     * Whether a blocking call goes through RestClient. Inside a {@link CallCancellation} scope it goes through
+     * WebClient, whose subscription is disposed when the scope is cancelled.
+     *
+     * @return true to use RestClient
+     */
+    private boolean useRestClient() {
+        return restClientExecutor != null && !CallCancellation.isActive();
+    }
+
     /**
      * Spring implementation of ResponseSpec.
      * Delegates execution to executors and handles error processing.
@@ -229,6 +259,7 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
     private class SpringResponseSpec implements ResponseSpec {
 
         private final List<ResponseErrorHandler> errorHandlers = new ArrayList<>();
+        private StreamTimeout streamTimeout;
 
         @Override
         public ResponseSpec onStatus(ResponseErrorHandler errorHandler) {
@@ -236,6 +267,12 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
             return this;
         }
 
+        @Override
+        public ResponseSpec streamTimeout(StreamTimeout streamTimeout) {
+            this.streamTimeout = streamTimeout;
+            return this;
+        }
+
         @Override
         public <T> T body(Class<T> responseType) {
             ResponseEntity<T> response = toEntity(responseType);
@@ -253,7 +290,7 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
         @Override
         public <T> ResponseEntity<T> toEntity(Class<T> responseType) {
             ResponseEntity<T> response;
-            if (restClientExecutor != null) {
+            if (useRestClient()) {
                 response = restClientExecutor.executeForEntity(method, uri, headers, cookies, body, responseType);
             } else {
                 response = webClientExecutor.executeForEntity(method, uri, headers, cookies, queryParams, body, responseType);
@@ -265,7 +302,7 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
         @Override
         public <T> ResponseEntity<T> toEntity(TypeReference<T> typeReference) {
             ResponseEntity<T> response;
-            if (restClientExecutor != null) {
+            if (useRestClient()) {
                 response = restClientExecutor.executeForEntity(method, uri, headers, cookies, body, typeReference);
             } else {
                 response = webClientExecutor.executeForEntity(method, uri, headers, cookies, queryParams, body, typeReference);
@@ -274,6 +311,30 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
             return response;
         }
 
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(Class<T> responseType) {
+            return webClientExecutor.executeForEntityAsync(method, uri, headers, cookies, queryParams, body, responseType)
+                    .thenApply(this::applyErrorHandlers);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> toEntityAsync(TypeReference<T> typeReference) {
+            return webClientExecutor.executeForEntityAsync(method, uri, headers, cookies, queryParams, body, typeReference)
+                    .thenApply(this::applyErrorHandlers);
+        }
+
+        /**
+         * Apply the error handlers once the asynchronous response is available.
+         *
+         * @param response the HTTP response
+         * @param <T>      response body type
+         * @return the same response
+         */
+        private <T> ResponseEntity<T> applyErrorHandlers(ResponseEntity<T> response) {
+            ResponseErrorHandlerUtils.handleErrors(errorHandlers, response);
+            return response;
+        }
+
         @Override
         public ResponseEntity<Void> toBodilessEntity() {
             ResponseEntity<Void> response = toEntity(Void.class);
@@ -283,12 +344,38 @@ public class SpringHttpRequestBuilder implements HttpRequestBuilder {
 
         @Override
         public <T> Flux<T> bodyToFlux(Class<T> responseType) {
+            StreamTimeout timeout = resolveStreamTimeout();
+            if (timeout.isEnabled()) {
+                return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, responseType, errorHandlers, timeout);
+            }
             return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, responseType, errorHandlers);
         }
 
+        @Override
+        public <T> Flux<T> bodyToFlux(JsonDeserializer<T> deserializer) {
+            StreamTimeout timeout = resolveStreamTimeout();
+            if (timeout.isEnabled()) {
+                return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, deserializer, errorHandlers, timeout);
+            }
+            return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, deserializer, errorHandlers);
+        }
+
         @Override
         public <T> Flux<T> bodyToFlux(TypeReference<T> typeReference) {
+            StreamTimeout timeout = resolveStreamTimeout();
+            if (timeout.isEnabled()) {
+                return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, typeReference, errorHandlers, timeout);
+            }
             return webClientExecutor.executeStream(method, uri, headers, cookies, queryParams, body, typeReference, errorHandlers);
         }
+
+        /**
+         * Resolve the stream deadlines, falling back to the client configuration.
+         *
+         * @return stream deadlines
+         */
+        private StreamTimeout resolveStreamTimeout() {
+            return streamTimeout != null ? streamTimeout : StreamTimeout.from(client.getClientConfig());
+        }
     }
 }
@@ -15,8 +15,10 @@
  */
 package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonSerializationHelper;
+import io.github.guoshiqiufeng.dify.client.core.http.CallCancellation;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
 import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
@@ -24,15 +26,17 @@ import io.github.guoshiqiufeng.dify.client.core.http.util.HttpStatusValidator;
 import io.github.guoshiqiufeng.dify.client.core.http.util.MultipartBodyProcessor;
 import io.github.guoshiqiufeng.dify.client.core.http.util.RequestParameterProcessor;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.SseFrameDecoder;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.util.HttpHeaderConverter;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.util.SpringMultipartBodyBuilder;
 import io.github.guoshiqiufeng.dify.client.integration.spring.util.ClientResponseUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -44,10 +48,19 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * Executor for Spring WebClient.
  * Handles request execution using WebClient API.
+ * <p>
+ * Every exchange is assembled as a {@link Mono}; the blocking methods subscribe with {@code block()}, or inside a
+ * {@link CallCancellation} scope through {@code toFuture()} so that cancelling the scope disposes the subscription,
+ * the {@code *Async} methods hand the Mono to the caller through {@code toFuture()} so that no thread waits for the
+ * response.
  *
  * @author yanghq
  * @version 2.0.0
@@ -114,13 +127,8 @@ class WebClientExecutor {
     <T> T execute(String method, URI uri, Map<String, String> headers,
                   Map<String, String> cookies, Map<String, String> queryParams,
                   Object body, Class<T> responseType) {
-        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
-
-        return requestSpec
-                .retrieve()
-                .bodyToMono(byte[].class)
-                .map(responseBody -> responseConverter.deserialize(responseBody, responseType))
-                .block();
+        return await(retrieveBody(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, responseType)));
     }
 
     /**
@@ -139,13 +147,82 @@ class WebClientExecutor {
     <T> T execute(String method, URI uri, Map<String, String> headers,
                   Map<String, String> cookies, Map<String, String> queryParams,
                   Object body, TypeReference<T> typeReference) {
-        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
+        return await(retrieveBody(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, typeReference)));
+    }
 
-        return requestSpec
-                .retrieve()
-                .bodyToMono(byte[].class)
-                .map(responseBody -> responseConverter.deserialize(responseBody, typeReference))
-                .block();
+    /**
+     * Wait for the exchange on the calling thread. Inside a {@link CallCancellation} scope the Mono is subscribed
+     * through {@code toFuture()}, and cancelling the scope cancels the future, which disposes the subscription.
+     *
+     * @param exchange the exchange
+     * @param <T>      result type
+     * @return the result, null if the exchange completed empty
+     */
+    private <T> T await(Mono<T> exchange) {
+        if (!CallCancellation.isActive()) {
+            return exchange.block();
+        }
+        CompletableFuture<T> future = exchange.toFuture();
+        CallCancellation.register(() -> future.cancel(true));
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            throw new HttpClientException("HTTP request cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new HttpClientException("HTTP request failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("HTTP request interrupted", e);
+        }
+    }
+
+    /**
+     * Execute request without blocking and return body.
+     *
+     * @param method       HTTP method
+     * @param uri          request URI
+     * @param headers      request headers
+     * @param cookies      request cookies
+     * @param queryParams  query parameters
+     * @param body         request body
+     * @param responseType response type
+     * @param <T>          response type
+     * @return future of the response body
+     */
+    <T> CompletableFuture<T> executeAsync(String method, URI uri, Map<String, String> headers,
+                                          Map<String, String> cookies, Map<String, String> queryParams,
+                                          Object body, Class<T> responseType) {
+        return retrieveBody(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, responseType)).toFuture();
+    }
+
+    /**
+     * Execute request with TypeReference without blocking and return body.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param typeReference type reference
+     * @param <T>           response type
+     * @return future of the response body
+     */
+    <T> CompletableFuture<T> executeAsync(String method, URI uri, Map<String, String> headers,
+                                          Map<String, String> cookies, Map<String, String> queryParams,
+                                          Object body, TypeReference<T> typeReference) {
+        return retrieveBody(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, typeReference)).toFuture();
     }
 
     /**
@@ -164,83 +241,8 @@ class WebClientExecutor {
     <T> ResponseEntity<T> executeForEntity(String method, URI uri, Map<String, String> headers,
                                            Map<String, String> cookies, Map<String, String> queryParams,
                                            Object body, Class<T> responseType) {
-        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
-
-        try {
-            // Use exchangeToMono for streaming response to avoid buffer limit
-            Mono<ResponseEntity<T>> responseMono = requestSpec
-                    .exchangeToMono(response -> {
-                        int statusCode = ClientResponseUtils.getStatusCodeValue(response);
-                        org.springframework.http.HttpHeaders responseHeaders = response.headers().asHttpHeaders();
-
-                        // Stream response body to avoid buffer limit (default 256KB)
-                        return response.bodyToFlux(org.springframework.core.io.buffer.DataBuffer.class)
-                                .map(dataBuffer -> {
-                                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                                    dataBuffer.read(bytes);
-                                    org.springframework.core.io.buffer.DataBufferUtils.release(dataBuffer);
-                                    return bytes;
-                                })
-                                .reduce(new byte[0], (acc, bytes) -> {
-                                    byte[] result = new byte[acc.length + bytes.length];
-                                    System.arraycopy(acc, 0, result, 0, acc.length);
-                                    System.arraycopy(bytes, 0, result, acc.length, bytes.length);
-                                    return result;
-                                })
-                                .map(responseBody -> {
-                                    // For success responses (2xx), deserialize normally
-                                    if (HttpStatusValidator.isSuccessful(statusCode)) {
-                                        T deserializedBody = responseConverter.deserialize(responseBody, responseType);
-                                        return ResponseEntity.<T>builder()
-                                                .statusCode(statusCode)
-                                                .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
-                                                .body(deserializedBody)
-                                                .build();
-                                    } else {
-                                        // For error responses, return raw error message as body
-                                        @SuppressWarnings("unchecked")
-                                        T errorBody = (T) (responseBody.length == 0 ? null : new String(responseBody, StandardCharsets.UTF_8));
-                                        return ResponseEntity.<T>builder()
-                                                .statusCode(statusCode)
-                                                .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
-                                                .body(errorBody)
-                                                .build();
-                                    }
-                                });
-                    });
-
-            if (responseMono == null) {
-                throw new HttpClientException("Response mono is null");
-            }
-
-            ResponseEntity<T> responseEntity = responseMono.block();
-
-            if (responseEntity == null) {
-                throw new HttpClientException("Response entity is null");
-            }
-
-            return responseEntity;
-        } catch (WebClientResponseException e) {
-            // Handle HTTP error responses (4xx, 5xx) thrown by WebClient
-            int statusCode = e.getStatusCode().value();
-            String errorBody = e.getResponseBodyAsString();
-
-            log.error("WebClient error response: status={}, body={}", statusCode, errorBody, e);
-
-            // Return error response without throwing exception
-            // Let the upper layer handleErrors() process it
-            @SuppressWarnings("unchecked")
-            T typedErrorBody = (T) errorBody;
-            return ResponseEntity.<T>builder()
-                    .statusCode(statusCode)
-                    .headers(HttpHeaderConverter.fromSpringHeaders(e.getHeaders()))
-                    .body(typedErrorBody)
-                    .build();
-        } catch (Exception e) {
-            // Catch all other exceptions (including DataBufferLimitException)
-            log.error("WebClient request failed: method={}, uri={}", method, uri, e);
-            throw new HttpClientException("Request failed: " + e.getMessage(), e);
-        }
+        return await(exchangeForEntity(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, responseType)));
     }
 
     /**
@@ -259,83 +261,164 @@ class WebClientExecutor {
     <T> ResponseEntity<T> executeForEntity(String method, URI uri, Map<String, String> headers,
                                            Map<String, String> cookies, Map<String, String> queryParams,
                                            Object body, TypeReference<T> typeReference) {
-        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
+        return await(exchangeForEntity(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, typeReference)));
+    }
 
-        try {
-            // Use exchangeToMono for streaming response to avoid buffer limit
-            Mono<ResponseEntity<T>> responseMono = requestSpec
-                    .exchangeToMono(response -> {
-                        int statusCode = ClientResponseUtils.getStatusCodeValue(response);
-                        org.springframework.http.HttpHeaders responseHeaders = response.headers().asHttpHeaders();
-
-                        // Stream response body to avoid buffer limit (default 256KB)
-                        return response.bodyToFlux(org.springframework.core.io.buffer.DataBuffer.class)
-                                .map(dataBuffer -> {
-                                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                                    dataBuffer.read(bytes);
-                                    org.springframework.core.io.buffer.DataBufferUtils.release(dataBuffer);
-                                    return bytes;
-                                })
-                                .reduce(new byte[0], (acc, bytes) -> {
-                                    byte[] result = new byte[acc.length + bytes.length];
-                                    System.arraycopy(acc, 0, result, 0, acc.length);
-                                    System.arraycopy(bytes, 0, result, acc.length, bytes.length);
-                                    return result;
-                                })
-                                .map(responseBody -> {
-                                    // For success responses (2xx), deserialize normally
-                                    if (HttpStatusValidator.isSuccessful(statusCode)) {
-                                        T deserializedBody = responseConverter.deserialize(responseBody, typeReference);
-                                        return ResponseEntity.<T>builder()
-                                                .statusCode(statusCode)
-                                                .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
-                                                .body(deserializedBody)
-                                                .build();
-                                    } else {
-                                        // For error responses, return raw error message as body
-                                        @SuppressWarnings("unchecked")
-                                        T errorBody = (T) (responseBody.length == 0 ? null : new String(responseBody, StandardCharsets.UTF_8));
-                                        return ResponseEntity.<T>builder()
-                                                .statusCode(statusCode)
-                                                .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
-                                                .body(errorBody)
-                                                .build();
-                                    }
-                                });
-                    });
+    /**
+     * Execute request without blocking and return full HttpResponse.
+     *
+     * @param method       HTTP method
+     * @param uri          request URI
+     * @param headers      request headers
+     * @param cookies      request cookies
+     * @param queryParams  query parameters
+     * @param body         request body
+     * @param responseType response type
+     * @param <T>          response type
+     * @return future of the HttpResponse with status, headers, and body
+     */
+    <T> CompletableFuture<ResponseEntity<T>> executeForEntityAsync(String method, URI uri, Map<String, String> headers,
+                                                                   Map<String, String> cookies, Map<String, String> queryParams,
+                                                                   Object body, Class<T> responseType) {
+        return exchangeForEntity(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, responseType)).toFuture();
+    }
 
-            if (responseMono == null) {
-                throw new HttpClientException("Response mono is null");
-            }
+    /**
+     * Execute request with TypeReference without blocking and return full HttpResponse.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param typeReference type reference
+     * @param <T>           response type
+     * @return future of the HttpResponse with status, headers, and body
+     */
+    <T> CompletableFuture<ResponseEntity<T>> executeForEntityAsync(String method, URI uri, Map<String, String> headers,
+                                                                   Map<String, String> cookies, Map<String, String> queryParams,
+                                                                   Object body, TypeReference<T> typeReference) {
+        return exchangeForEntity(method, uri, headers, cookies, queryParams, body,
+                responseBody -> responseConverter.deserialize(responseBody, typeReference)).toFuture();
+    }
 
-            ResponseEntity<T> responseEntity = responseMono.block();
+    /**
+     * Retrieve the response body, failing on non-2xx responses.
+     *
+     * @param method      HTTP method
+     * @param uri         request URI
+     * @param headers     request headers
+     * @param cookies     request cookies
+     * @param queryParams query parameters
+     * @param body        request body
+     * @param decoder     decoder of the response body
+     * @param <T>         response type
+     * @return Mono of the response body
+     */
+    private <T> Mono<T> retrieveBody(String method, URI uri, Map<String, String> headers,
+                                     Map<String, String> cookies, Map<String, String> queryParams,
+                                     Object body, Function<byte[], T> decoder) {
+        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
 
-            if (responseEntity == null) {
-                throw new HttpClientException("Response entity is null");
-            }
+        return requestSpec
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .map(decoder);
+    }
+
+    /**
+     * Exchange the request and build the full HttpResponse.
+     * <p>
+     * Error responses are not signalled as errors: their raw body is returned so that the upper layer
+     * {@code handleErrors()} can process it. Any other failure is mapped to {@link HttpClientException}.
+     *
+     * @param method      HTTP method
+     * @param uri         request URI
+     * @param headers     request headers
+     * @param cookies     request cookies
+     * @param queryParams query parameters
+     * @param body        request body
+     * @param decoder     decoder of a successful response body
+     * @param <T>         response type
+     * @return Mono of the HttpResponse with status, headers, and body
+     */
+    private <T> Mono<ResponseEntity<T>> exchangeForEntity(String method, URI uri, Map<String, String> headers,
+                                                          Map<String, String> cookies, Map<String, String> queryParams,
+                                                          Object body, Function<byte[], T> decoder) {
+        WebClient.RequestBodySpec requestSpec = buildRequest(method, uri, headers, cookies, queryParams, body);
+
+        // Use exchangeToMono for streaming response to avoid buffer limit
+        Mono<ResponseEntity<T>> responseMono = requestSpec
+                .exchangeToMono(response -> {
+                    int statusCode = ClientResponseUtils.getStatusCodeValue(response);
+                    org.springframework.http.HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+
+                    // Stream response body to avoid buffer limit (default 256KB)
+                    return response.bodyToFlux(DataBuffer.class)
+                            .map(dataBuffer -> {
+                                byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                                dataBuffer.read(bytes);
+                                DataBufferUtils.release(dataBuffer);
+                                return bytes;
+                            })
+                            .reduce(new byte[0], (acc, bytes) -> {
+                                byte[] result = new byte[acc.length + bytes.length];
+                                System.arraycopy(acc, 0, result, 0, acc.length);
+                                System.arraycopy(bytes, 0, result, acc.length, bytes.length);
+                                return result;
+                            })
+                            .map(responseBody -> {
+                                // For success responses (2xx), deserialize normally
+                                if (HttpStatusValidator.isSuccessful(statusCode)) {
+                                    return ResponseEntity.<T>builder()
+                                            .statusCode(statusCode)
+                                            .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
+                                            .body(decoder.apply(responseBody))
+                                            .build();
+                                } else {
+                                    // For error responses, return raw error message as body
+                                    @SuppressWarnings("unchecked")
+                                    T errorBody = (T) (responseBody.length == 0 ? null : new String(responseBody, StandardCharsets.UTF_8));
+                                    return ResponseEntity.<T>builder()
+                                            .statusCode(statusCode)
+                                            .headers(HttpHeaderConverter.fromSpringHeaders(responseHeaders))
+                                            .body(errorBody)
+                                            .build();
+                                }
+                            });
+                });
 
-            return responseEntity;
-        } catch (WebClientResponseException e) {
-            // Handle HTTP error responses (4xx, 5xx) thrown by WebClient
-            int statusCode = e.getStatusCode().value();
-            String errorBody = e.getResponseBodyAsString();
-
-            log.error("WebClient executeForEntity error response: status={}, body={}", statusCode, errorBody, e);
-
-            // Return error response without throwing exception
-            // Let the upper layer handleErrors() process it
-            @SuppressWarnings("unchecked")
-            T typedErrorBody = (T) errorBody;
-            return ResponseEntity.<T>builder()
-                    .statusCode(statusCode)
-                    .headers(HttpHeaderConverter.fromSpringHeaders(e.getHeaders()))
-                    .body(typedErrorBody)
-                    .build();
-        } catch (Exception e) {
-            // Catch all other exceptions (including DataBufferLimitException)
-            log.error("WebClient request failed: method={}, uri={}", method, uri, e);
-            throw new HttpClientException("Request failed: " + e.getMessage(), e);
+        if (responseMono == null) {
+            responseMono = Mono.error(new HttpClientException("Response mono is null"));
         }
+
+        return responseMono
+                .switchIfEmpty(Mono.error(() -> new HttpClientException("Response entity is null")))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    // Handle HTTP error responses (4xx, 5xx) thrown by WebClient
+                    int statusCode = e.getStatusCode().value();
+                    String errorBody = e.getResponseBodyAsString();
+
+                    log.error("WebClient error response: status={}, body={}", statusCode, errorBody, e);
+
+                    // Return error response without throwing exception
+                    // Let the upper layer handleErrors() process it
+                    @SuppressWarnings("unchecked")
+                    T typedErrorBody = (T) errorBody;
+                    return Mono.just(ResponseEntity.<T>builder()
+                            .statusCode(statusCode)
+                            .headers(HttpHeaderConverter.fromSpringHeaders(e.getHeaders()))
+                            .body(typedErrorBody)
+                            .build());
+                })
+                .onErrorMap(Exception.class, e -> {
+                    // Map all other exceptions (including DataBufferLimitException)
+                    log.error("WebClient request failed: method={}, uri={}", method, uri, e);
+                    return new HttpClientException("Request failed: " + e.getMessage(), e);
+                });
     }
 
     /**
@@ -374,24 +457,79 @@ class WebClientExecutor {
     <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
                               Map<String, String> cookies, Map<String, String> queryParams,
                               Object body, Class<T> responseType, List<ResponseErrorHandler> errorHandlers) {
-        Flux<ServerSentEvent<String>> sseFlux = exchangeForSse(method, uri, headers, cookies, queryParams, body, errorHandlers);
+        return executeStream(method, uri, headers, cookies, queryParams, body, responseType, errorHandlers, StreamTimeout.NONE);
+    }
 
-        return sseFlux
-                .doOnNext(sse -> log.debug("Received SSE event: id={}, event={}, data={}", sse.id(), sse.event(), sse.data()))
+    /**
+     * Execute streaming request with error handlers and stream deadlines.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param responseType  response type
+     * @param errorHandlers error handlers to apply
+     * @param streamTimeout deadlines of the stream
+     * @param <T>           response type
+     * @return Flux of response items
+     */
+    <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
+                              Map<String, String> cookies, Map<String, String> queryParams,
+                              Object body, Class<T> responseType, List<ResponseErrorHandler> errorHandlers,
+                              StreamTimeout streamTimeout) {
+        Flux<DataBuffer> sseBody = exchangeForSse(method, uri, headers, cookies, queryParams, body, errorHandlers, streamTimeout);
+
+        return decodeSse(sseBody, (data, offset, length) -> responseConverter.deserialize(data, offset, length, responseType))
                 .doOnComplete(() -> log.debug("SSE stream completed"))
-                .doOnError(e -> log.error("SSE stream error", e))
-                .mapNotNull(ServerSentEvent::data)
-                .doOnNext(data -> log.debug("Extracted data: {}", data))
-                .filter(data -> data != null && !data.isEmpty() && isCompleteJson(data))
-                .doOnNext(json -> log.debug("Filtered JSON: {}", json))
-                .mapNotNull(json -> {
-                    try {
-                        return responseConverter.deserialize(json, responseType);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse SSE event: {}", json, e);
-                        return null;
-                    }
-                });
+                .doOnError(e -> log.error("SSE stream error", e));
+    }
+
+    /**
+     * Execute streaming request decoding each event with a deserializer instance.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param deserializer  deserializer for each event, events it maps to null are skipped
+     * @param errorHandlers error handlers to apply
+     * @param <T>           response type
+     * @return Flux of response items
+     */
+    <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
+                              Map<String, String> cookies, Map<String, String> queryParams,
+                              Object body, JsonDeserializer<T> deserializer, List<ResponseErrorHandler> errorHandlers) {
+        return executeStream(method, uri, headers, cookies, queryParams, body, deserializer, errorHandlers, StreamTimeout.NONE);
+    }
+
+    /**
+     * Execute streaming request decoding each event with a deserializer instance, with stream deadlines.
+     * <p>
+     * Deadlines are applied to the raw event stream, so events the deserializer skips still reset the idle timeout.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param deserializer  deserializer for each event, events it maps to null are skipped
+     * @param errorHandlers error handlers to apply
+     * @param streamTimeout deadlines of the stream
+     * @param <T>           response type
+     * @return Flux of response items
+     */
+    <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
+                              Map<String, String> cookies, Map<String, String> queryParams,
+                              Object body, JsonDeserializer<T> deserializer, List<ResponseErrorHandler> errorHandlers,
+                              StreamTimeout streamTimeout) {
+        Flux<DataBuffer> sseBody = exchangeForSse(method, uri, headers, cookies, queryParams, body, errorHandlers, streamTimeout);
+
+        return decodeSse(sseBody, (data, offset, length) -> responseConverter.deserialize(data, offset, length, deserializer));
     }
 
     /**
@@ -430,19 +568,60 @@ class WebClientExecutor {
     <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
                               Map<String, String> cookies, Map<String, String> queryParams,
                               Object body, TypeReference<T> typeReference, List<ResponseErrorHandler> errorHandlers) {
-        Flux<ServerSentEvent<String>> sseFlux = exchangeForSse(method, uri, headers, cookies, queryParams, body, errorHandlers);
-
-        return sseFlux
-                .mapNotNull(ServerSentEvent::data)
-                .filter(data -> data != null && !data.isEmpty() && isCompleteJson(data))
-                .mapNotNull(json -> {
-                    try {
-                        return responseConverter.deserialize(json, typeReference);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse SSE event: {}", json, e);
-                        return null;
-                    }
-                });
+        return executeStream(method, uri, headers, cookies, queryParams, body, typeReference, errorHandlers, StreamTimeout.NONE);
+    }
+
+    /**
+     * Execute streaming request with TypeReference, error handlers and stream deadlines.
+     *
+     * @param method        HTTP method
+     * @param uri           request URI
+     * @param headers       request headers
+     * @param cookies       request cookies
+     * @param queryParams   query parameters
+     * @param body          request body
+     * @param typeReference type reference
+     * @param errorHandlers error handlers to apply
+     * @param streamTimeout deadlines of the stream
+     * @param <T>           response type
+     * @return Flux of response items
+     */
+    <T> Flux<T> executeStream(String method, URI uri, Map<String, String> headers,
+                              Map<String, String> cookies, Map<String, String> queryParams,
+                              Object body, TypeReference<T> typeReference, List<ResponseErrorHandler> errorHandlers,
+                              StreamTimeout streamTimeout) {
+        Flux<DataBuffer> sseBody = exchangeForSse(method, uri, headers, cookies, queryParams, body, errorHandlers, streamTimeout);
+
+        return decodeSse(sseBody, (data, offset, length) -> responseConverter.deserialize(data, offset, length, typeReference));
+    }
+
+    /**
+     * Decode the raw SSE body into typed items.
+     * <p>
+     * Events are framed straight from the received buffers and their payload is handed to the JSON mapper
+     * as a byte slice. Empty payloads and payloads that do not look like complete JSON are skipped, as are
+     * payloads that fail to deserialize.
+     *
+     * @param sseBody      raw response body
+     * @param deserializer deserializer of a trimmed payload slice
+     * @param <T>          response type
+     * @return Flux of response items
+     */
+    private <T> Flux<T> decodeSse(Flux<DataBuffer> sseBody, SseFrameDecoder.PayloadDecoder<T> deserializer) {
+        SseFrameDecoder.PayloadDecoder<T> payloadDecoder = SseFrameDecoder.jsonPayload(deserializer);
+        return Flux.defer(() -> {
+            SseFrameDecoder<T> decoder = new SseFrameDecoder<>(payloadDecoder, SseFrameDecoder.DEFAULT_MAX_IN_MEMORY_SIZE);
+            return sseBody
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return decoder.decode(buffer.readableByteCount(), buffer::read);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.finish())));
+        });
     }
 
     /**
@@ -455,24 +634,23 @@ class WebClientExecutor {
      * @param queryParams   query parameters
      * @param body          request body
      * @param errorHandlers error handlers to apply
-     * @return Flux of ServerSentEvent
+     * @param streamTimeout deadlines of the stream, applied to every received event including pings
+     * @return Flux of raw response body buffers
      */
-    private Flux<ServerSentEvent<String>> exchangeForSse(String method, URI uri, Map<String, String> headers,
+    private Flux<DataBuffer> exchangeForSse(String method, URI uri, Map<String, String> headers,
                                                          Map<String, String> cookies, Map<String, String> queryParams,
-                                                         Object body, List<ResponseErrorHandler> errorHandlers) {
+                                                         Object body, List<ResponseErrorHandler> errorHandlers,
+                                                         StreamTimeout streamTimeout) {
         WebClient.RequestBodySpec requestSpec = buildRequest(sseWebClient, method, uri, headers, cookies, queryParams, body);
-        ParameterizedTypeReference<ServerSentEvent<String>> sseType =
-                new ParameterizedTypeReference<ServerSentEvent<String>>() {
-                };
         List<ResponseErrorHandler> handlers = errorHandlers != null ? errorHandlers : Collections.emptyList();
 
-        return requestSpec
+        Flux<DataBuffer> sseBody = requestSpec
                 .accept(MediaType.TEXT_EVENT_STREAM)
                 .exchangeToFlux(response -> {
                     // Use ClientResponseUtils for Spring version compatibility
                     int statusCode = ClientResponseUtils.getStatusCodeValue(response);
                     if (HttpStatusValidator.isSuccessful(statusCode)) {
-                        return response.bodyToFlux(sseType);
+                        return response.bodyToFlux(DataBuffer.class);
                     }
                     // Handle error response (4xx, 5xx)
                     // Read response body with size limit to prevent memory issues
@@ -509,47 +687,7 @@ class WebClientExecutor {
                                 return Flux.empty();
                             });
                 });
-    }
-
-    /**
-     * Check if a string is complete JSON (simple heuristic).
-     *
-     * @param data JSON string
-     * @return true if appears to be complete JSON
-     */
-    private boolean isCompleteJson(String data) {
-        if (data == null || data.isEmpty()) {
-            return false;
-        }
-
-        data = data.trim();
-
-        // Check for complete JSON object
-        if (data.startsWith("{") && data.endsWith("}")) {
-            return true;
-        }
-
-        // Check for complete JSON array
-        if (data.startsWith("[") && data.endsWith("]")) {
-            return true;
-        }
-
-        // Check for JSON primitives
-        if (data.startsWith("\"") && data.endsWith("\"")) {
-            return true;
-        }
-
-        if ("true".equals(data) || "false".equals(data) || "null".equals(data)) {
-            return true;
-        }
-
-        // Check for numbers
-        try {
-            Double.parseDouble(data);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return streamTimeout != null ? streamTimeout.apply(sseBody) : sseBody;
     }
 
     /**
@@ -406,6 +406,30 @@ class ResponseConverterTest {
         }
     }
 
+    @Test
+    void testDeserializeByteSliceWithClassType() {
+        // Arrange
+        byte[] data = "xx{\"name\":\"test\"}yy".getBytes(StandardCharsets.UTF_8);
+        TestDto expectedDto = new TestDto("test", 1);
+        when(jsonMapper.fromJson(data, 2, 15, TestDto.class)).thenReturn(expectedDto);
+
+        // Act & Assert
+        assertSame(expectedDto, responseConverter.deserialize(data, 2, 15, TestDto.class));
+        assertEquals("{\"name\":\"test\"}", responseConverter.deserialize(data, 2, 15, String.class));
+        assertArrayEquals("{\"".getBytes(StandardCharsets.UTF_8), responseConverter.deserialize(data, 2, 2, byte[].class));
+        assertNull(responseConverter.deserialize(data, 2, 0, TestDto.class));
+    }
+
+    @Test
+    void testDeserializeByteSliceWrapsMapperFailure() {
+        // Arrange
+        byte[] data = "{bad}".getBytes(StandardCharsets.UTF_8);
+        when(jsonMapper.fromJson(data, 0, data.length, TestDto.class)).thenThrow(new RuntimeException("bad json"));
+
+        // Act & Assert
+        assertThrows(HttpClientException.class, () -> responseConverter.deserialize(data, 0, data.length, TestDto.class));
+    }
+
     // Test DTO class
     private static class TestDto {
         private String name;
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.spring.http;
+
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the live thread count while many {@code bodyAsync} calls are in flight.
+ * <p>Every call waits on a slow response, so a thread-per-call client needs one thread per concurrent call.
+ * The WebClient backed async path parks no thread and must keep the client side thread count flat as the
+ * concurrency grows. Threads of the mock server are excluded, it serves every connection on its own thread.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+class SpringHttpClientAsyncThreadTest {
+
+    private static final int[] CONCURRENCY_LEVELS = {16, 64, 128};
+
+    private static final long RESPONSE_DELAY_MILLIS = 300;
+
+    private static final int MAX_THREAD_GROWTH = 4;
+
+    private MockWebServer mockServer;
+
+    private SpringHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockServer = new MockWebServer();
+        mockServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"result\":\"ok\"}")
+                        .setHeadersDelay(RESPONSE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        });
+        mockServer.start();
+
+        DifyProperties.ClientConfig config = new DifyProperties.ClientConfig();
+        config.setMaxRequests(256);
+        config.setMaxRequestsPerHost(256);
+        client = new SpringHttpClient(mockServer.url("/").toString(), config, new GsonJsonMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    @Test
+    void testThreadCountStaysFlatAsConcurrencyGrows() throws Exception {
+        // Warm up at the highest level so that every event loop thread is already started
+        runRound(CONCURRENCY_LEVELS[CONCURRENCY_LEVELS.length - 1]);
+        int baseline = clientThreadCount();
+
+        Map<Integer, Integer> peaks = new LinkedHashMap<>();
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            peaks.put(concurrency, runRound(concurrency));
+        }
+        log.info("Async calls over WebClient, client threads: baseline={}, peak by concurrency={}", baseline, peaks);
+
+        for (Map.Entry<Integer, Integer> entry : peaks.entrySet()) {
+            assertTrue(entry.getValue() - baseline <= MAX_THREAD_GROWTH,
+                    "Expected thread count to stay flat, concurrency=" + entry.getKey()
+                            + ", baseline=" + baseline + ", peak=" + entry.getValue());
+        }
+    }
+
+    private int runRound(int concurrency) throws Exception {
+        List<CompletableFuture<String>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(client.get()
+                    .uri("/api/slow")
+                    .retrieve()
+                    .bodyAsync(String.class));
+        }
+
+        int peak = clientThreadCount();
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        while (!all.isDone()) {
+            peak = Math.max(peak, clientThreadCount());
+            Thread.sleep(10);
+        }
+        all.get(30, TimeUnit.SECONDS);
+
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("{\"result\":\"ok\"}", future.get());
+        }
+        return peak;
+    }
+
+    private static int clientThreadCount() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String name = thread.getName();
+            if (thread.isAlive() && !name.startsWith("MockWebServer") && !name.startsWith("OkHttp")) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -18,6 +18,8 @@ package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestBuilder;
+import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +31,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -532,6 +537,29 @@ class SpringHttpRequestBuilderTest {
         assertNotNull(result);
     }
 
+    @Test
+    void testResponseSpecBodyToFluxWithDeserializer() throws Exception {
+        // Arrange
+        builder.uri("/api/test");
+
+        java.lang.reflect.Field executorField = SpringHttpRequestBuilder.class.getDeclaredField("webClientExecutor");
+        executorField.setAccessible(true);
+        WebClientExecutor mockExecutor = mock(WebClientExecutor.class);
+        executorField.set(builder, mockExecutor);
+
+        io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer<String> deserializer = (node, mapper) -> node.asText();
+        reactor.core.publisher.Flux<String> mockFlux = reactor.core.publisher.Flux.just("item1", "item2");
+        when(mockExecutor.executeStream(anyString(), any(URI.class), any(), any(), any(), any(), eq(deserializer), anyList()))
+                .thenReturn(mockFlux);
+
+        // Act
+        var responseSpec = builder.retrieve();
+        var result = responseSpec.bodyToFlux(deserializer);
+
+        // Assert
+        assertSame(mockFlux, result);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testResponseSpecBodyToFluxWithTypeReference() throws Exception {
@@ -943,4 +971,64 @@ class SpringHttpRequestBuilderTest {
         assertThrows(io.github.guoshiqiufeng.dify.client.core.http.HttpClientException.class,
                 () -> responseSpec.toEntity(String.class));
     }
+
+    @Test
+    void testExecuteAsyncAlwaysUsesWebClientExecutor() throws Exception {
+        // Arrange
+        when(client.hasRestClient()).thenReturn(true);
+        when(client.getRestClient()).thenReturn(new Object());
+
+        SpringHttpRequestBuilder builderWithRestClient = new SpringHttpRequestBuilder(client, "GET", jsonMapper, null);
+        builderWithRestClient.uri("/api/test");
+
+        java.lang.reflect.Field restExecutorField = SpringHttpRequestBuilder.class.getDeclaredField("restClientExecutor");
+        restExecutorField.setAccessible(true);
+        RestClientExecutor mockRestExecutor = mock(RestClientExecutor.class);
+        restExecutorField.set(builderWithRestClient, mockRestExecutor);
+
+        java.lang.reflect.Field executorField = SpringHttpRequestBuilder.class.getDeclaredField("webClientExecutor");
+        executorField.setAccessible(true);
+        WebClientExecutor mockExecutor = mock(WebClientExecutor.class);
+        executorField.set(builderWithRestClient, mockExecutor);
+
+        when(mockExecutor.executeAsync(anyString(), any(URI.class), any(), any(), any(), any(), eq(String.class)))
+                .thenReturn(CompletableFuture.completedFuture("web client response"));
+
+        // Act
+        String result = builderWithRestClient.executeAsync(String.class).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("web client response", result);
+        verifyNoInteractions(mockRestExecutor);
+    }
+
+    @Test
+    void testToEntityAsyncAppliesErrorHandlers() throws Exception {
+        // Arrange
+        builder.uri("/api/test");
+
+        java.lang.reflect.Field executorField = SpringHttpRequestBuilder.class.getDeclaredField("webClientExecutor");
+        executorField.setAccessible(true);
+        WebClientExecutor mockExecutor = mock(WebClientExecutor.class);
+        executorField.set(builder, mockExecutor);
+
+        ResponseEntity<String> errorResponse = ResponseEntity.<String>builder()
+                .statusCode(400)
+                .body("Bad Request")
+                .build();
+        when(mockExecutor.executeForEntityAsync(anyString(), any(URI.class), any(), any(), any(), any(), eq(String.class)))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse));
+
+        // Act
+        CompletableFuture<String> future = builder.retrieve()
+                .onStatus(ResponseErrorHandler.onStatus(status -> status == 400, response -> {
+                    throw new IllegalStateException("Rejected: " + response.getBody());
+                }))
+                .bodyAsync(String.class);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("Rejected: Bad Request", exception.getCause().getMessage());
+    }
 }
@@ -17,8 +17,10 @@ package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 
 import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.SseFrameDecoder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -35,11 +37,14 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -469,6 +474,31 @@ class WebClientExecutorIntegrationTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testExecuteStreamWithChunkedBodyAndPings() throws Exception {
+        // Arrange
+        String sseData = ": ping\r\n\r\n" +
+                "event: message\r\ndata: {\"name\":\"event1\",\"value\":1}\r\n\r\n" +
+                "event: ping\r\n\r\n" +
+                "data: {\"name\":\"event2\",\r\ndata: \"value\":2}\r\n\r\n";
+
+        mockServer.enqueue(new MockResponse()
+                .setChunkedBody(sseData, 7)
+                .setHeader("Content-Type", "text/event-stream"));
+
+        URI uri = mockServer.url("/api/stream-chunked").uri();
+
+        // Act
+        Flux<TestDto> flux = executor.executeStream("GET", uri, new HashMap<>(),
+                new HashMap<>(), new HashMap<>(), null, TestDto.class);
+
+        // Assert
+        StepVerifier.create(flux)
+                .expectNextMatches(event -> event.getValue() == 1)
+                .expectNextMatches(event -> event.getValue() == 2 && "event2".equals(event.getName()))
+                .verifyComplete();
+    }
+
     @Test
     void testExecuteStreamWithTypeReference() throws Exception {
         // Arrange
@@ -730,72 +760,63 @@ class WebClientExecutorIntegrationTest {
     }
 
     @Test
-    void testIsCompleteJsonWithJsonObject() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonObject() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "{\"key\":\"value\"}"));
-        assertTrue((Boolean) method.invoke(executor, "{}"));
-        assertTrue((Boolean) method.invoke(executor, "  {\"key\":\"value\"}  "));
-        assertFalse((Boolean) method.invoke(executor, "{\"key\":\"value\""));
-        assertFalse((Boolean) method.invoke(executor, "\"key\":\"value\"}"));
+        assertTrue(isCompleteJson("{\"key\":\"value\"}"));
+        assertTrue(isCompleteJson("{}"));
+        assertTrue(isCompleteJson("  {\"key\":\"value\"}  "));
+        assertFalse(isCompleteJson("{\"key\":\"value\""));
+        assertFalse(isCompleteJson("\"key\":\"value\"}"));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonArray() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonArray() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "[1,2,3]"));
-        assertTrue((Boolean) method.invoke(executor, "[]"));
-        assertTrue((Boolean) method.invoke(executor, "  [1,2,3]  "));
-        assertFalse((Boolean) method.invoke(executor, "[1,2,3"));
-        assertFalse((Boolean) method.invoke(executor, "1,2,3]"));
+        assertTrue(isCompleteJson("[1,2,3]"));
+        assertTrue(isCompleteJson("[]"));
+        assertTrue(isCompleteJson("  [1,2,3]  "));
+        assertFalse(isCompleteJson("[1,2,3"));
+        assertFalse(isCompleteJson("1,2,3]"));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonString() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonString() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "\"hello\""));
-        assertTrue((Boolean) method.invoke(executor, "\"\""));
-        assertFalse((Boolean) method.invoke(executor, "\"hello"));
-        assertFalse((Boolean) method.invoke(executor, "hello\""));
+        assertTrue(isCompleteJson("\"hello\""));
+        assertTrue(isCompleteJson("\"\""));
+        assertFalse(isCompleteJson("\"hello"));
+        assertFalse(isCompleteJson("hello\""));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonPrimitives() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonPrimitives() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "true"));
-        assertTrue((Boolean) method.invoke(executor, "false"));
-        assertTrue((Boolean) method.invoke(executor, "null"));
-        assertTrue((Boolean) method.invoke(executor, "123"));
-        assertTrue((Boolean) method.invoke(executor, "123.456"));
-        assertTrue((Boolean) method.invoke(executor, "-123.456"));
-        assertFalse((Boolean) method.invoke(executor, "invalid"));
+        assertTrue(isCompleteJson("true"));
+        assertTrue(isCompleteJson("false"));
+        assertTrue(isCompleteJson("null"));
+        assertTrue(isCompleteJson("123"));
+        assertTrue(isCompleteJson("123.456"));
+        assertTrue(isCompleteJson("-123.456"));
+        assertFalse(isCompleteJson("invalid"));
     }
 
     @Test
-    void testIsCompleteJsonWithNullOrEmpty() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithNullOrEmpty() {
         // Act & Assert
-        assertFalse((Boolean) method.invoke(executor, (String) null));
-        assertFalse((Boolean) method.invoke(executor, ""));
-        assertFalse((Boolean) method.invoke(executor, "   "));
+        assertFalse(isCompleteJson(null));
+        assertFalse(isCompleteJson(""));
+        assertFalse(isCompleteJson("   "));
+    }
+
+    /**
+     * Check whether the SSE payload decoder used by the executor accepts a payload as complete JSON.
+     */
+    private boolean isCompleteJson(String payload) {
+        if (payload == null) {
+            return false;
+        }
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        return SseFrameDecoder.jsonPayload((bytes, offset, length) -> Boolean.TRUE).decode(data, 0, data.length) != null;
     }
 
     // ========== Multipart Request Tests ==========
@@ -1151,6 +1172,125 @@ class WebClientExecutorIntegrationTest {
         assertEquals("case-test", result.getName());
     }
 
+    // ========== Async Tests ==========
+
+    @Test
+    void testExecuteAsyncWithSuccessfulResponse() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"name\":\"async\",\"value\":7}")
+                .setHeader("Content-Type", "application/json"));
+
+        URI uri = mockServer.url("/api/async").uri();
+
+        // Act
+        CompletableFuture<TestDto> future = executor.executeAsync("GET", uri, new HashMap<>(), new HashMap<>(),
+                new HashMap<>(), null, TestDto.class);
+
+        // Assert
+        TestDto result = future.get(5, TimeUnit.SECONDS);
+        assertEquals("async", result.getName());
+        assertEquals(7, result.getValue());
+        assertEquals("/api/async", mockServer.takeRequest().getPath());
+    }
+
+    @Test
+    void testExecuteAsyncWithTypeReference() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"name\":\"a\",\"value\":1},{\"name\":\"b\",\"value\":2}]")
+                .setHeader("Content-Type", "application/json"));
+
+        URI uri = mockServer.url("/api/list").uri();
+
+        // Act
+        List<TestDto> result = executor.executeAsync("GET", uri, new HashMap<>(), new HashMap<>(),
+                new HashMap<>(), null, new TypeReference<List<TestDto>>() {
+                }).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("b", result.get(1).getName());
+    }
+
+    @Test
+    void testExecuteAsyncWithErrorResponse() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("{\"error\":\"boom\"}"));
+
+        URI uri = mockServer.url("/api/error").uri();
+
+        // Act
+        CompletableFuture<TestDto> future = executor.executeAsync("GET", uri, new HashMap<>(), new HashMap<>(),
+                new HashMap<>(), null, TestDto.class);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertNotNull(exception.getCause());
+    }
+
+    @Test
+    void testExecuteForEntityAsyncWithSuccessfulResponse() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(201)
+                .setBody("{\"name\":\"created\",\"value\":1}")
+                .setHeader("Content-Type", "application/json"));
+
+        URI uri = mockServer.url("/api/create").uri();
+
+        // Act
+        ResponseEntity<TestDto> response = executor.executeForEntityAsync("POST", uri, new HashMap<>(), new HashMap<>(),
+                new HashMap<>(), new TestDto("created", 1), TestDto.class).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(201, response.getStatusCode());
+        assertEquals("created", response.getBody().getName());
+    }
+
+    @Test
+    void testExecuteForEntityAsyncReturnsErrorBody() throws Exception {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"error\":\"not found\"}"));
+
+        URI uri = mockServer.url("/api/missing").uri();
+
+        // Act
+        ResponseEntity<List<TestDto>> response = executor.executeForEntityAsync("GET", uri, new HashMap<>(), new HashMap<>(),
+                new HashMap<>(), null, new TypeReference<List<TestDto>>() {
+                }).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(404, response.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", String.valueOf(response.getBody()));
+    }
+
+    @Test
+    void testExecuteForEntityAsyncCompletesExceptionallyOnDeserializationError() {
+        // Arrange
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{invalid")
+                .setHeader("Content-Type", "application/json"));
+
+        URI uri = mockServer.url("/api/invalid").uri();
+
+        // Act
+        CompletableFuture<ResponseEntity<TestDto>> future = executor.executeForEntityAsync("GET", uri, new HashMap<>(),
+                new HashMap<>(), new HashMap<>(), null, TestDto.class);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("Request failed"));
+    }
+
     /**
      * Test DTO for deserialization testing
      */
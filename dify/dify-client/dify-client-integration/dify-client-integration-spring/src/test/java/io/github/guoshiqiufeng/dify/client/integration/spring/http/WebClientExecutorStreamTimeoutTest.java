@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.client.integration.spring.http;
+
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeoutException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for stream deadlines in WebClientExecutor.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class WebClientExecutorStreamTimeoutTest {
+
+    private MockWebServer mockWebServer;
+    private WebClientExecutor executor;
+    private URI uri;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        WebClient webClient = WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build();
+        executor = new WebClientExecutor(webClient, GsonJsonMapper.getInstance());
+        uri = mockWebServer.url("/stream").uri();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private void enqueueStream(String body, long bytesPerPeriod, long period, TimeUnit unit) {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "text/event-stream")
+                .throttleBody(bytesPerPeriod, period, unit));
+    }
+
+    @Test
+    void testIdleTimeoutExpires() {
+        enqueueStream("data: {\"id\":1}\n\ndata: {\"id\":2}\n\n", 16, 3, TimeUnit.SECONDS);
+
+        StepVerifier.create(executor.executeStream("GET", uri, new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        null, String.class, Collections.emptyList(), StreamTimeout.idle(Duration.ofMillis(300))))
+                .expectNext("{\"id\":1}")
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("idle"));
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSkippedEventsResetIdleTimeout() {
+        // Pings and events the deserializer skips still count as activity
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 3; i++) {
+            body.append("event: ping\n\n");
+            body.append("data: {\"event\":\"node_started\"}\n\n");
+        }
+        body.append("data: {\"event\":\"message_end\"}\n\n");
+        enqueueStream(body.toString(), 16, 100, TimeUnit.MILLISECONDS);
+
+        JsonDeserializer<String> onlyMessageEnd = (root, jsonMapper) ->
+                "message_end".equals(root.get("event").asText()) ? "message_end" : null;
+
+        StepVerifier.create(executor.executeStream("GET", uri, new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        null, onlyMessageEnd, Collections.emptyList(), StreamTimeout.idle(Duration.ofMillis(500))))
+                .expectNext("message_end")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testTotalTimeoutExpires() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            body.append("data: {\"id\":").append(i).append("}\n\n");
+        }
+        enqueueStream(body.toString(), 16, 50, TimeUnit.MILLISECONDS);
+
+        StepVerifier.create(executor.executeStream("GET", uri, new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                        null, String.class, Collections.emptyList(),
+                        StreamTimeout.of(Duration.ofSeconds(1), Duration.ofMillis(500))))
+                .thenConsumeWhile(event -> true)
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(StreamTimeoutException.class, e);
+                    assertTrue(e.getMessage().contains("total"));
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+}
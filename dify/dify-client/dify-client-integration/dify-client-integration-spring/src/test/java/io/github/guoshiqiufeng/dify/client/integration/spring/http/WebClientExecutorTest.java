@@ -18,6 +18,7 @@ package io.github.guoshiqiufeng.dify.client.integration.spring.http;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
+import io.github.guoshiqiufeng.dify.client.core.stream.SseFrameDecoder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,8 +31,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -83,72 +84,63 @@ class WebClientExecutorTest {
     }
 
     @Test
-    void testIsCompleteJsonWithJsonObject() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonObject() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "{\"key\":\"value\"}"));
-        assertTrue((Boolean) method.invoke(executor, "{}"));
-        assertTrue((Boolean) method.invoke(executor, "  {\"key\":\"value\"}  "));
-        assertFalse((Boolean) method.invoke(executor, "{\"key\":\"value\""));
-        assertFalse((Boolean) method.invoke(executor, "\"key\":\"value\"}"));
+        assertTrue(isCompleteJson("{\"key\":\"value\"}"));
+        assertTrue(isCompleteJson("{}"));
+        assertTrue(isCompleteJson("  {\"key\":\"value\"}  "));
+        assertFalse(isCompleteJson("{\"key\":\"value\""));
+        assertFalse(isCompleteJson("\"key\":\"value\"}"));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonArray() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonArray() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "[1,2,3]"));
-        assertTrue((Boolean) method.invoke(executor, "[]"));
-        assertTrue((Boolean) method.invoke(executor, "  [1,2,3]  "));
-        assertFalse((Boolean) method.invoke(executor, "[1,2,3"));
-        assertFalse((Boolean) method.invoke(executor, "1,2,3]"));
+        assertTrue(isCompleteJson("[1,2,3]"));
+        assertTrue(isCompleteJson("[]"));
+        assertTrue(isCompleteJson("  [1,2,3]  "));
+        assertFalse(isCompleteJson("[1,2,3"));
+        assertFalse(isCompleteJson("1,2,3]"));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonString() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonString() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "\"hello\""));
-        assertTrue((Boolean) method.invoke(executor, "\"\""));
-        assertFalse((Boolean) method.invoke(executor, "\"hello"));
-        assertFalse((Boolean) method.invoke(executor, "hello\""));
+        assertTrue(isCompleteJson("\"hello\""));
+        assertTrue(isCompleteJson("\"\""));
+        assertFalse(isCompleteJson("\"hello"));
+        assertFalse(isCompleteJson("hello\""));
     }
 
     @Test
-    void testIsCompleteJsonWithJsonPrimitives() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithJsonPrimitives() {
         // Act & Assert
-        assertTrue((Boolean) method.invoke(executor, "true"));
-        assertTrue((Boolean) method.invoke(executor, "false"));
-        assertTrue((Boolean) method.invoke(executor, "null"));
-        assertTrue((Boolean) method.invoke(executor, "123"));
-        assertTrue((Boolean) method.invoke(executor, "123.456"));
-        assertTrue((Boolean) method.invoke(executor, "-123.456"));
-        assertFalse((Boolean) method.invoke(executor, "invalid"));
+        assertTrue(isCompleteJson("true"));
+        assertTrue(isCompleteJson("false"));
+        assertTrue(isCompleteJson("null"));
+        assertTrue(isCompleteJson("123"));
+        assertTrue(isCompleteJson("123.456"));
+        assertTrue(isCompleteJson("-123.456"));
+        assertFalse(isCompleteJson("invalid"));
     }
 
     @Test
-    void testIsCompleteJsonWithNullOrEmpty() throws Exception {
-        // Arrange
-        Method method = WebClientExecutor.class.getDeclaredMethod("isCompleteJson", String.class);
-        method.setAccessible(true);
-
+    void testIsCompleteJsonWithNullOrEmpty() {
         // Act & Assert
-        assertFalse((Boolean) method.invoke(executor, (String) null));
-        assertFalse((Boolean) method.invoke(executor, ""));
-        assertFalse((Boolean) method.invoke(executor, "   "));
+        assertFalse(isCompleteJson(null));
+        assertFalse(isCompleteJson(""));
+        assertFalse(isCompleteJson("   "));
+    }
+
+    /**
+     * Check whether the SSE payload decoder used by the executor accepts a payload as complete JSON.
+     */
+    private boolean isCompleteJson(String payload) {
+        if (payload == null) {
+            return false;
+        }
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        return SseFrameDecoder.jsonPayload((bytes, offset, length) -> Boolean.TRUE).decode(data, 0, data.length) != null;
     }
 
     @Test
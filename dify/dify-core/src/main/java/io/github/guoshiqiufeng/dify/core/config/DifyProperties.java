@@ -15,13 +15,19 @@
  */
 package io.github.guoshiqiufeng.dify.core.config;
 
+import io.github.guoshiqiufeng.dify.core.enums.AdaptiveLimitAlgorithmEnum;
+import io.github.guoshiqiufeng.dify.core.enums.ExecutionModeEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dify 配置
@@ -159,6 +165,94 @@ public class DifyProperties implements Serializable {
          */
         private Integer sseReadTimeout = 0;
 
+        /**
+         * SSE 事件间空闲超时时间（秒），ping 事件会重置计时，0 表示不设置，默认 0
+         * <p>
+         * 可在调用流式接口时单独指定
+         * </p>
+         */
+        private Integer sseIdleTimeout = 0;
+
+        /**
+         * SSE 流总超时时间（秒），从订阅开始计算，0 表示不设置，默认 0
+         * <p>
+         * 可在调用流式接口时单独指定
+         * </p>
+         */
+        private Integer sseTotalTimeout = 0;
+
+        /**
+         * SSE 预取事件数，按订阅者需求分批读取响应流，最多预先解码该数量的事件，默认 32
+         */
+        private Integer ssePrefetch = 32;
+
+        /**
+         * 阻塞式接口(chat / runWorkflow)是否改用流式接口实现，默认 false
+         * <p>
+         * 开启后连接由 ping 事件保活、逐步聚合最终结果，普通接口可使用较短的 readTimeout
+         * </p>
+         */
+        private Boolean blockingOverStreaming = false;
+
+        /**
+         * 阻塞式客户端的线程执行模式，默认 PLATFORM
+         * <p>
+         * VIRTUAL 模式下 OkHttp Dispatcher、JDK HttpClient 与状态检查的异步任务改用虚拟线程执行，
+         * 大量并发的阻塞调用无需再按并发量配置平台线程池；需要 Java 21 及以上运行环境，低版本下回退为 PLATFORM
+         * </p>
+         */
+        private ExecutionModeEnum executionMode = ExecutionModeEnum.PLATFORM;
+
+        /**
+         * 按 API Key 隔离的并发舱壁配置，默认关闭
+         */
+        private BulkheadConfig bulkhead = new BulkheadConfig();
+
+        /**
+         * 自适应并发限制配置，默认关闭
+         */
+        private AdaptiveLimitConfig adaptiveLimit = new AdaptiveLimitConfig();
+
+        /**
+         * 按 API Key 与接口分组限流的令牌桶配置，默认关闭
+         */
+        private RateLimitConfig rateLimit = new RateLimitConfig();
+
+        /**
+         * 按 API Key 与用户统计 token 消耗的准入控制配置，默认关闭
+         */
+        private TokenBudgetConfig tokenBudget = new TokenBudgetConfig();
+
+        /**
+         * 请求重试配置，默认关闭
+         */
+        private RetryConfig retry = new RetryConfig();
+
+        /**
+         * 只读请求对冲配置，默认关闭
+         */
+        private HedgeConfig hedge = new HedgeConfig();
+
+        /**
+         * 按接口统计失败率与慢调用率的熔断配置，默认关闭
+         */
+        private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+        /**
+         * 相同只读请求合并配置，默认关闭
+         */
+        private CoalesceConfig coalesce = new CoalesceConfig();
+
+        /**
+         * 应用元数据等只读接口的响应缓存配置，默认关闭
+         */
+        private CacheConfig cache = new CacheConfig();
+
+        /**
+         * 应用启动时的连接预热配置，默认关闭
+         */
+        private WarmUpConfig warmUp = new WarmUpConfig();
+
         // ========== 日志配置 ==========
 
         /**
@@ -177,6 +271,521 @@ public class DifyProperties implements Serializable {
         }
     }
 
+    /**
+     * 舱壁配置
+     * <p>
+     * 开启后每个 API Key 拥有独立的并发额度与等待队列，某个应用的大量请求只会占满自己的额度，
+     * 不会耗尽共享的连接池而阻塞其他应用的请求。未在 partitions 中声明的 API Key 使用默认额度各自独立隔离
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BulkheadConfig implements Serializable {
+        private static final long serialVersionUID = 4127583906237014881L;
+
+        /**
+         * 是否启用舱壁隔离，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 每个分区的最大并发请求数，默认 4
+         */
+        private Integer maxConcurrentCalls = 4;
+
+        /**
+         * 每个分区的最大排队请求数，0 表示额度用尽时立即拒绝，默认 16
+         */
+        private Integer maxQueueSize = 16;
+
+        /**
+         * 排队等待超时时间（毫秒），0 表示不设置，默认 1000
+         */
+        private Integer queueTimeoutMillis = 1000;
+
+        /**
+         * 自定义分区，可为指定的 API Key 单独设置额度，多个 API Key 可共用同一分区
+         */
+        private List<BulkheadPartition> partitions = new ArrayList<>();
+    }
+
+    /**
+     * 舱壁分区
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BulkheadPartition implements Serializable {
+        private static final long serialVersionUID = -3305906128614275413L;
+
+        /**
+         * 分区名称，用于指标与日志
+         */
+        private String name;
+
+        /**
+         * 归属该分区的 API Key
+         */
+        private List<String> apiKeys = new ArrayList<>();
+
+        /**
+         * 最大并发请求数，为空时使用默认配置
+         */
+        private Integer maxConcurrentCalls;
+
+        /**
+         * 最大排队请求数，为空时使用默认配置
+         */
+        private Integer maxQueueSize;
+
+        /**
+         * 排队等待超时时间（毫秒），为空时使用默认配置
+         */
+        private Integer queueTimeoutMillis;
+    }
+
+    /**
+     * 自适应并发限制配置
+     * <p>
+     * 开启后客户端根据请求延迟以及 429、5xx、网络错误等信号在运行时调整允许同时进行的请求数，
+     * 代替固定的 maxRequests / maxRequestsPerHost：Dify 空闲时逐步放开并发，过载时及时收缩。
+     * 流式与非流式请求使用各自独立的并发上限，超出上限的请求排队等待
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class AdaptiveLimitConfig implements Serializable {
+        private static final long serialVersionUID = 6671931546728095384L;
+
+        /**
+         * 是否启用自适应并发限制，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 限制算法，默认 GRADIENT
+         */
+        private AdaptiveLimitAlgorithmEnum algorithm = AdaptiveLimitAlgorithmEnum.GRADIENT;
+
+        /**
+         * 非流式请求的初始并发上限，默认 20
+         */
+        private Integer initialLimit = 20;
+
+        /**
+         * 非流式请求的最大并发上限，默认 200
+         */
+        private Integer maxLimit = 200;
+
+        /**
+         * 流式请求的初始并发上限，默认 10
+         */
+        private Integer streamInitialLimit = 10;
+
+        /**
+         * 流式请求的最大并发上限，默认 100
+         */
+        private Integer streamMaxLimit = 100;
+
+        /**
+         * 并发上限的最小值，默认 1
+         */
+        private Integer minLimit = 1;
+
+        /**
+         * 出现 429、5xx 或网络错误时并发上限的缩减比例，默认 0.9
+         */
+        private Double backoffRatio = 0.9;
+
+        /**
+         * 梯度算法可容忍的延迟倍数，当前延迟超过长期平均延迟的该倍数时开始收缩，默认 2.0
+         */
+        private Double rttTolerance = 2.0;
+
+        /**
+         * 超出并发上限时的最大排队请求数，默认 128
+         */
+        private Integer maxQueueSize = 128;
+
+        /**
+         * 排队等待超时时间（毫秒），0 表示不设置，默认 5000
+         */
+        private Integer queueTimeoutMillis = 5000;
+    }
+
+    /**
+     * 客户端限流配置
+     * <p>
+     * 开启后每个 API Key 在每个接口分组（chat、workflow、dataset、server）下拥有独立的令牌桶，
+     * 超出速率的请求在本地排队等待令牌，而不是直接发往 Dify。
+     * 收到 429 响应时按 Retry-After 暂停对应的令牌桶，暂停期间所有线程的请求都在本地等待
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RateLimitConfig implements Serializable {
+        private static final long serialVersionUID = 3317760525081734215L;
+
+        /**
+         * 是否启用客户端限流，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 每个令牌桶每秒生成的令牌数，默认 10
+         */
+        private Double permitsPerSecond = 10.0;
+
+        /**
+         * 令牌桶容量，即空闲后允许的突发请求数，默认 20
+         */
+        private Integer burst = 20;
+
+        /**
+         * 每个令牌桶最大排队请求数，默认 64
+         */
+        private Integer maxQueueSize = 64;
+
+        /**
+         * 请求等待令牌的最长时间（毫秒），预计等待超过该时间的请求直接拒绝，0 表示不设置，默认 30000
+         */
+        private Long queueTimeoutMillis = 30000L;
+
+        /**
+         * 429 响应未携带 Retry-After 时的暂停时间（毫秒），默认 1000
+         */
+        private Long defaultRetryAfterMillis = 1000L;
+
+        /**
+         * Retry-After 暂停时间上限（毫秒），默认 60000
+         */
+        private Long maxRetryAfterMillis = 60000L;
+    }
+
+    /**
+     * token 预算（每分钟 token 数）准入控制配置
+     * <p>
+     * 开启后根据 chat 的 message_end 事件与 workflow 的 workflow_finished 事件中的 usage 信息，
+     * 统计每个 API Key 及每个用户最近一分钟实际消耗的 token 数。
+     * 预算耗尽时新的 chat、streamingChat、runWorkflow 调用在本地等待，预计等待超过上限则直接拒绝
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TokenBudgetConfig implements Serializable {
+        private static final long serialVersionUID = -4621337950718402611L;
+
+        /**
+         * 是否启用 token 预算准入控制，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 每个 API Key 每分钟允许消耗的 token 数，0 表示不限制，默认 0
+         */
+        private Long tokensPerMinute = 0L;
+
+        /**
+         * 每个 API Key 下每个用户每分钟允许消耗的 token 数，0 表示不限制，默认 0
+         */
+        private Long userTokensPerMinute = 0L;
+
+        /**
+         * 预算耗尽时请求等待的最长时间（毫秒），预计等待超过该时间的请求直接拒绝，0 表示不等待，默认 10000
+         */
+        private Long maxWaitMillis = 10000L;
+    }
+
+    /**
+     * 请求重试配置
+     * <p>
+     * 开启后连接失败、连接重置、连接池获取超时以及网关返回的 502/503/504 等瞬时错误按指数退避加随机抖动重试。
+     * GET、HEAD、OPTIONS、PUT、DELETE 等幂等请求在上述错误时均可重试；POST 等非幂等请求只在请求确定未发出
+     * （连接失败、连接池获取超时）或状态码属于 unsafeRetryableStatusCodes 时重试，避免重复执行。
+     * 流式请求收到第一个事件后不再重试
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RetryConfig implements Serializable {
+        private static final long serialVersionUID = 6034185214578021796L;
+
+        /**
+         * 是否启用请求重试，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 最大尝试次数（包含首次请求），默认 3
+         */
+        private Integer maxAttempts = 3;
+
+        /**
+         * 首次重试的退避时间（毫秒），默认 200
+         */
+        private Long initialBackoffMillis = 200L;
+
+        /**
+         * 退避时间上限（毫秒），默认 5000
+         */
+        private Long maxBackoffMillis = 5000L;
+
+        /**
+         * 每次重试退避时间的增长倍数，默认 2.0
+         */
+        private Double multiplier = 2.0;
+
+        /**
+         * 随机抖动比例（0-1），退避时间在 [退避 * (1 - jitter), 退避] 之间随机取值，默认 0.5
+         */
+        private Double jitter = 0.5;
+
+        /**
+         * 单次调用（包含所有重试与退避）的最长时间（毫秒），超过后不再重试，0 表示不限制，默认 30000
+         */
+        private Long maxRetryDurationMillis = 30000L;
+
+        /**
+         * 重试预算比例，每次调用为预算增加该比例的重试次数，预算耗尽时不再重试，默认 0.2
+         */
+        private Double budgetRatio = 0.2;
+
+        /**
+         * 重试预算上限，即短时间内最多可连续消耗的重试次数，默认 20
+         */
+        private Integer budgetMaxRetries = 20;
+
+        /**
+         * 幂等请求可重试的状态码，默认 502、503、504
+         */
+        private List<Integer> retryableStatusCodes = new ArrayList<>(Arrays.asList(502, 503, 504));
+
+        /**
+         * 非幂等请求可重试的状态码，仅应包含服务端确定未处理请求的状态码，默认 503
+         */
+        private List<Integer> unsafeRetryableStatusCodes = new ArrayList<>(Arrays.asList(503));
+    }
+
+    /**
+     * 只读请求对冲配置
+     * <p>
+     * 开启后 GET 等只读请求以及 hedgePaths 中的请求在首次请求超过对冲延迟仍未返回时，再发出一次相同的请求，
+     * 采用先返回的结果并取消另一个请求，以降低个别慢实例造成的长尾延迟。对冲延迟取该接口最近请求耗时的
+     * delayPercentile 分位数，并限制在 minDelayMillis 与 maxDelayMillis 之间
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HedgeConfig implements Serializable {
+        private static final long serialVersionUID = -2861738495016302175L;
+
+        /**
+         * 是否启用请求对冲，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 对冲延迟取接口最近请求耗时的分位数（0-100），默认 95
+         */
+        private Double delayPercentile = 95.0;
+
+        /**
+         * 对冲延迟下限（毫秒），默认 50
+         */
+        private Long minDelayMillis = 50L;
+
+        /**
+         * 对冲延迟上限（毫秒），请求耗时样本不足 minSamples 时也使用该值，默认 2000
+         */
+        private Long maxDelayMillis = 2000L;
+
+        /**
+         * 计算分位数所需的最少请求耗时样本数，默认 20
+         */
+        private Integer minSamples = 20;
+
+        /**
+         * 对冲预算比例，每次请求为预算增加该比例的对冲次数，即对冲请求最多占总请求的比例，默认 0.1
+         */
+        private Double budgetRatio = 0.1;
+
+        /**
+         * 对冲预算上限，即短时间内最多可连续发出的对冲请求数，默认 10
+         */
+        private Integer budgetMaxHedges = 10;
+
+        /**
+         * 除 GET、HEAD 外可对冲的只读请求 URI 模板，默认包含知识库检索接口
+         */
+        private List<String> hedgePaths = new ArrayList<>(Arrays.asList("/v1/datasets/{datasetId}/retrieve"));
+    }
+
+    /**
+     * 熔断配置
+     * <p>
+     * 开启后按接口（URI 模板）分别统计最近 slidingWindowSize 次请求的失败率与慢调用率，超过阈值时熔断器打开，
+     * 后续请求直接抛出 CircuitBreakerOpenException 而不再占用线程与连接。打开 waitDurationInOpenStateMillis 后进入
+     * 半开状态，放行 permittedCallsInHalfOpenState 个试探请求，全部成功则关闭，任一失败或慢调用则重新打开。
+     * 5xx 响应、网络错误与超时计为失败，4xx 等调用方错误不计入
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CircuitBreakerConfig implements Serializable {
+        private static final long serialVersionUID = 4417265093829178365L;
+
+        /**
+         * 是否启用熔断，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 失败率阈值（百分比），达到后熔断器打开，默认 50
+         */
+        private Double failureRateThreshold = 50.0;
+
+        /**
+         * 慢调用率阈值（百分比），达到后熔断器打开，默认 80
+         */
+        private Double slowCallRateThreshold = 80.0;
+
+        /**
+         * 慢调用耗时阈值（毫秒），流式请求按收到第一个事件的耗时计算，默认 10000
+         */
+        private Long slowCallDurationThresholdMillis = 10000L;
+
+        /**
+         * 滑动窗口大小，即统计失败率的最近请求数，默认 50
+         */
+        private Integer slidingWindowSize = 50;
+
+        /**
+         * 计算失败率所需的最少请求数，默认 20
+         */
+        private Integer minimumNumberOfCalls = 20;
+
+        /**
+         * 熔断器打开后进入半开状态前的等待时间（毫秒），默认 30000
+         */
+        private Long waitDurationInOpenStateMillis = 30000L;
+
+        /**
+         * 半开状态下放行的试探请求数，默认 5
+         */
+        private Integer permittedCallsInHalfOpenState = 5;
+    }
+
+    /**
+     * 请求合并配置
+     * <p>
+     * 开启后同时进行的相同 GET、HEAD 请求（方法、URI、查询参数与 Authorization 均相同）只向 Dify 发送一次，
+     * 其余调用等待该请求完成并共享其结果或异常。阻塞与异步调用之间同样合并，流式请求与带请求体的请求不合并
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CoalesceConfig implements Serializable {
+        private static final long serialVersionUID = -2305718846201573951L;
+
+        /**
+         * 是否启用请求合并，默认 false
+         */
+        private Boolean enabled = false;
+    }
+
+    /**
+     * 响应缓存配置
+     * <p>
+     * 开启后 ttls 中列出的 GET 接口（URI 模板）的响应按 URI、查询参数与 Authorization 缓存 ttl 毫秒，
+     * 缓存过期后 staleWhileRevalidateMillis 内仍直接返回旧响应，同时在后台刷新一次。Dify 返回 ETag 时，
+     * 刷新请求携带 If-None-Match，响应 304 时沿用缓存内容。通过本客户端发出的写请求（POST、PUT、PATCH、DELETE）
+     * 会清除同一路径及其上下级路径的缓存，例如创建、修改标签后清除标签列表缓存。缓存条目超过 maxEntries 时淘汰最久未使用的条目
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CacheConfig implements Serializable {
+        private static final long serialVersionUID = 6385902197405768235L;
+
+        /**
+         * 是否启用响应缓存，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 最大缓存条目数，默认 1000
+         */
+        private Integer maxEntries = 1000;
+
+        /**
+         * 缓存过期后仍可返回旧响应并在后台刷新的时间（毫秒），0 表示过期后同步刷新，默认 60000
+         */
+        private Long staleWhileRevalidateMillis = 60000L;
+
+        /**
+         * 各接口 URI 模板的缓存时间（毫秒），未列出或不大于 0 的接口不缓存。
+         * 默认缓存应用参数、站点、应用信息、元信息、嵌入模型与 Rerank 模型列表 5 分钟，知识库标签与元数据列表 1 分钟
+         */
+        private Map<String, Long> ttls = defaultTtls();
+
+        private static Map<String, Long> defaultTtls() {
+            Map<String, Long> ttls = new LinkedHashMap<>();
+            ttls.put("/v1/parameters", 300000L);
+            ttls.put("/v1/site", 300000L);
+            ttls.put("/v1/info", 300000L);
+            ttls.put("/v1/meta", 300000L);
+            ttls.put("/v1/workspaces/current/models/model-types/text-embedding", 300000L);
+            ttls.put("/v1/workspaces/current/models/model-types/rerank", 300000L);
+            ttls.put("/v1/datasets/tags", 60000L);
+            ttls.put("/v1/datasets/{datasetId}/metadata", 60000L);
+            return ttls;
+        }
+    }
+
+    /**
+     * 连接预热配置
+     * <p>
+     * 开启后应用启动时每个客户端向 Dify 并发发送 connections 个不带 API Key 的轻量请求，提前完成 DNS 解析、TCP 与 TLS 握手并在连接池中保留这些连接，
+     * 同时预先加载对话、工作流等请求与响应对象的 JSON 编解码信息。预热在应用就绪（readiness）之前完成，最长等待 timeoutMillis，
+     * 超时或失败不会阻止应用启动
+     * </p>
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class WarmUpConfig implements Serializable {
+        private static final long serialVersionUID = -1958136724390287561L;
+
+        /**
+         * 是否启用连接预热，默认 false
+         */
+        private Boolean enabled = false;
+
+        /**
+         * 每个客户端预先建立的连接数，默认 4
+         */
+        private Integer connections = 4;
+
+        /**
+         * 预热请求的路径，任意响应（包括 401、404）均视为连接已建立，默认 /v1
+         */
+        private String path = "/v1";
+
+        /**
+         * 预热最长等待时间（毫秒），超时后应用照常就绪，默认 10000
+         */
+        private Long timeoutMillis = 10000L;
+    }
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -190,6 +799,12 @@ public class DifyProperties implements Serializable {
         @Builder.Default
         private Boolean healthIndicatorInitByServer = true;
 
+        /**
+         * 健康检查是否根据实际请求的熔断器状态生成，而不是调用各接口探测，需启用 client-config.circuit-breaker
+         */
+        @Builder.Default
+        private Boolean healthIndicatorByTraffic = false;
+
         /**
          * all apikey
          */
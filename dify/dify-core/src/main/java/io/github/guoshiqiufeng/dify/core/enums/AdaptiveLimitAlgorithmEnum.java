@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.core.enums;
+
+/**
+ * 自适应并发限制算法
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public enum AdaptiveLimitAlgorithmEnum {
+
+    /**
+     * 加性增、乘性减,请求成功且额度用满时并发上限加 1,出现 429、5xx 或网络错误时按 backoffRatio 缩减
+     */
+    AIMD,
+    /**
+     * 梯度算法,根据长期平均延迟与当前延迟之比调整并发上限,延迟升高时在出现错误前提前收缩,
+     * 出现 429、5xx 或网络错误时同样按 backoffRatio 缩减
+     */
+    GRADIENT
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.core.enums;
+
+/**
+ * 阻塞式客户端的线程执行模式
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public enum ExecutionModeEnum {
+
+    /**
+     * 平台线程,使用各客户端默认的线程池
+     */
+    PLATFORM,
+    /**
+     * 虚拟线程,需要 Java 21 及以上运行环境,低版本下回退为平台线程
+     */
+    VIRTUAL
+}
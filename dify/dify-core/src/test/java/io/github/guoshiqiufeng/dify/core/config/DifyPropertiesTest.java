@@ -129,6 +129,7 @@ class DifyPropertiesTest {
 
         // 测试 SSE 配置默认值
         assertEquals(0, config.getSseReadTimeout());
+        assertEquals(32, config.getSsePrefetch());
 
         // 测试日志配置默认值
         assertTrue(config.getLoggingMaskEnabled());
@@ -151,6 +152,8 @@ class DifyPropertiesTest {
         // 测试 setter/getter - SSE 配置
         config.setSseReadTimeout(120);
         assertEquals(120, config.getSseReadTimeout());
+        config.setSsePrefetch(64);
+        assertEquals(64, config.getSsePrefetch());
 
         // 测试 setter/getter - 日志配置
         config.setLoggingMaskEnabled(false);
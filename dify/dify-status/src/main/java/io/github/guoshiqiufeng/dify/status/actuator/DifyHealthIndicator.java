@@ -45,7 +45,9 @@ public class DifyHealthIndicator implements HealthIndicator {
     public Health health() {
         try {
             AggregatedStatusReport report;
-            if (statusConfig.getHealthIndicatorInitByServer()) {
+            if (Boolean.TRUE.equals(statusConfig.getHealthIndicatorByTraffic())) {
+                report = statusService.checkStatusByTraffic();
+            } else if (statusConfig.getHealthIndicatorInitByServer()) {
                 report = statusService.checkAllClientsStatusByServer();
             } else {
                 report = statusService.checkAllClientsStatus(statusConfig);
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.status.checker;
+
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerMetrics;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerState;
+import io.github.guoshiqiufeng.dify.status.dto.ApiStatusResult;
+import io.github.guoshiqiufeng.dify.status.dto.ClientStatusReport;
+import io.github.guoshiqiufeng.dify.status.enums.ApiStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Status checker reading the circuit breakers of one client instead of calling Dify.
+ * Every endpoint that has carried traffic is reported with the state of its circuit breaker.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+public class CircuitBreakerStatusChecker extends AbstractClientStatusChecker {
+
+    private final String clientName;
+
+    private final Map<String, CircuitBreakerMetrics> metrics = new LinkedHashMap<>();
+
+    /**
+     * Create a checker for the endpoints of one client.
+     *
+     * @param clientName name of the client
+     * @param metrics    circuit breaker snapshots of the client, keyed by method and URI template
+     */
+    public CircuitBreakerStatusChecker(String clientName, Map<String, CircuitBreakerMetrics> metrics) {
+        this.clientName = clientName;
+        this.metrics.putAll(metrics);
+    }
+
+    /**
+     * Create one checker per client from the circuit breakers of a registry.
+     * Endpoints of the chat, dataset, server and workflow groups are reported by DifyChat, DifyDataset,
+     * DifyServer and DifyWorkflow, any other endpoint by Dify.
+     *
+     * @param registry circuit breaker registry
+     * @return checkers sorted by client name
+     */
+    public static List<CircuitBreakerStatusChecker> of(CircuitBreakerRegistry registry) {
+        Map<String, Map<String, CircuitBreakerMetrics>> byClient = new TreeMap<>();
+        for (CircuitBreakerMetrics snapshot : registry.getMetrics()) {
+            String endpoint = snapshot.getEndpoint();
+            int space = endpoint.indexOf(' ');
+            int colon = endpoint.indexOf(':');
+            String group = null;
+            if (colon > 0 && (space < 0 || colon < space)) {
+                group = endpoint.substring(0, colon);
+                endpoint = endpoint.substring(colon + 1);
+            }
+            byClient.computeIfAbsent(clientName(group), key -> new TreeMap<>()).put(endpoint, snapshot);
+        }
+        List<CircuitBreakerStatusChecker> checkers = new ArrayList<>();
+        byClient.forEach((name, snapshots) -> checkers.add(new CircuitBreakerStatusChecker(name, snapshots)));
+        return checkers;
+    }
+
+    private static String clientName(String group) {
+        if (group == null) {
+            return "Dify";
+        }
+        switch (group) {
+            case "chat":
+                return "DifyChat";
+            case "dataset":
+                return "DifyDataset";
+            case "server":
+                return "DifyServer";
+            case "workflow":
+                return "DifyWorkflow";
+            default:
+                return "Dify";
+        }
+    }
+
+    @Override
+    public String getClientName() {
+        return clientName;
+    }
+
+    @Override
+    public ApiStatusResult checkStatus(String methodName, String apiKey) {
+        CircuitBreakerMetrics snapshot = metrics.get(methodName);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Unknown method: " + methodName);
+        }
+        int space = methodName.indexOf(' ');
+        ApiStatus status;
+        String errorMessage = null;
+        if (snapshot.getState() == CircuitBreakerState.CLOSED) {
+            status = ApiStatus.NORMAL;
+        } else {
+            status = snapshot.getFailureRate() >= snapshot.getSlowCallRate() ? ApiStatus.SERVER_ERROR : ApiStatus.TIMEOUT;
+            errorMessage = "Circuit breaker " + snapshot.getState();
+        }
+        return ApiStatusResult.builder()
+                .methodName(methodName)
+                .endpoint(space >= 0 ? methodName.substring(space + 1) : null)
+                .status(status)
+                .errorMessage(errorMessage)
+                .checkTime(LocalDateTime.now())
+                .details(String.format(Locale.ROOT,
+                        "circuitBreaker=%s, failureRate=%.1f%%, slowCallRate=%.1f%%, bufferedCalls=%d, notPermittedCalls=%d",
+                        snapshot.getState(), snapshot.getFailureRate(), snapshot.getSlowCallRate(),
+                        snapshot.getBufferedCalls(), snapshot.getNotPermittedCalls()))
+                .build();
+    }
+
+    @Override
+    protected String[] methodsToCheck() {
+        return metrics.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Report every endpoint of the client
+     *
+     * @return ClientStatusReport
+     */
+    public ClientStatusReport checkAllApis() {
+        return checkAllApisInternal(null);
+    }
+}
@@ -59,4 +59,12 @@ public interface DifyStatusService {
      * @return AggregatedStatusReport
      */
     AggregatedStatusReport checkStatus(StatusCheckConfig config);
+
+    /**
+     * Build a status report from the circuit breakers of the clients, without calling any API.
+     * Every endpoint called since startup is reported with the state and failure rates of its circuit breaker.
+     *
+     * @return AggregatedStatusReport, without client reports if circuit breakers are not enabled
+     */
+    AggregatedStatusReport checkStatusByTraffic();
 }
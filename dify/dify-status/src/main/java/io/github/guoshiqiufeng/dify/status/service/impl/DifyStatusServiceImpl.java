@@ -15,6 +15,7 @@
  */
 package io.github.guoshiqiufeng.dify.status.service.impl;
 
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.server.dto.request.AppsRequest;
 import io.github.guoshiqiufeng.dify.server.dto.response.ApiKeyResponse;
@@ -22,6 +23,7 @@ import io.github.guoshiqiufeng.dify.server.dto.response.AppsResponse;
 import io.github.guoshiqiufeng.dify.server.dto.response.AppsResponseResult;
 import io.github.guoshiqiufeng.dify.server.dto.response.DatasetApiKeyResponse;
 import io.github.guoshiqiufeng.dify.status.cache.StatusCacheService;
+import io.github.guoshiqiufeng.dify.status.checker.CircuitBreakerStatusChecker;
 import io.github.guoshiqiufeng.dify.status.checker.DifyChatStatusChecker;
 import io.github.guoshiqiufeng.dify.status.checker.DifyDatasetStatusChecker;
 import io.github.guoshiqiufeng.dify.status.checker.DifyServerStatusChecker;
@@ -61,6 +63,7 @@ public class DifyStatusServiceImpl implements DifyStatusService {
     private final DifyWorkflowStatusChecker workflowChecker;
     private final ExecutorService executorService;
     private final StatusCacheService cacheService;
+    private volatile CircuitBreakerRegistry circuitBreakerRegistry;
 
     public DifyStatusServiceImpl(
             DifyChatStatusChecker chatChecker,
@@ -94,6 +97,15 @@ public class DifyStatusServiceImpl implements DifyStatusService {
         this.cacheService = cacheService;
     }
 
+    /**
+     * Set the circuit breaker registry reported by {@link #checkStatusByTraffic()}
+     *
+     * @param circuitBreakerRegistry circuit breaker registry of the clients
+     */
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
     @Override
     public ClientStatusReport checkClientStatus(String clientName, String apiKey) {
         switch (clientName.toLowerCase()) {
@@ -229,6 +241,18 @@ public class DifyStatusServiceImpl implements DifyStatusService {
         return report;
     }
 
+    @Override
+    public AggregatedStatusReport checkStatusByTraffic() {
+        List<ClientStatusReport> clientReports = new ArrayList<>();
+        CircuitBreakerRegistry registry = circuitBreakerRegistry;
+        if (registry != null) {
+            for (CircuitBreakerStatusChecker checker : CircuitBreakerStatusChecker.of(registry)) {
+                clientReports.add(checker.checkAllApis());
+            }
+        }
+        return aggregateReports(clientReports);
+    }
+
     /**
      * Aggregate client reports into overall status report
      *
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.status.checker;
+
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.status.dto.ApiStatusResult;
+import io.github.guoshiqiufeng.dify.status.dto.ClientStatusReport;
+import io.github.guoshiqiufeng.dify.status.enums.ApiStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CircuitBreakerStatusChecker test
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+class CircuitBreakerStatusCheckerTest {
+
+    private CircuitBreakerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        DifyProperties.CircuitBreakerConfig config = new DifyProperties.CircuitBreakerConfig();
+        config.setEnabled(true);
+        config.setSlidingWindowSize(2);
+        config.setMinimumNumberOfCalls(2);
+        registry = new CircuitBreakerRegistry(config, null);
+    }
+
+    private void fail(CircuitBreakerRegistry view, String method, String uriTemplate) {
+        assertThrows(HttpClientException.class, () -> view.execute(view.endpoint(method, uriTemplate), () -> {
+            throw new HttpClientException(503, "unavailable");
+        }));
+    }
+
+    private void succeed(CircuitBreakerRegistry view, String method, String uriTemplate) {
+        assertEquals("ok", view.execute(view.endpoint(method, uriTemplate), () -> "ok"));
+    }
+
+    @Test
+    void testNoTraffic() {
+        assertTrue(CircuitBreakerStatusChecker.of(registry).isEmpty());
+    }
+
+    @Test
+    void testGroupsEndpointsByClient() {
+        CircuitBreakerRegistry dataset = registry.forEndpointGroup("dataset");
+        succeed(dataset, "GET", "/v1/datasets?page=1");
+        succeed(registry.forEndpointGroup("chat"), "GET", "/v1/parameters");
+        succeed(registry.forEndpointGroup("custom"), "GET", "/v1/custom");
+        succeed(registry, "GET", "/v1/plain");
+
+        List<CircuitBreakerStatusChecker> checkers = CircuitBreakerStatusChecker.of(registry);
+
+        assertEquals(3, checkers.size());
+        assertEquals("Dify", checkers.get(0).getClientName());
+        assertEquals(2, checkers.get(0).checkAllApis().getTotalApis());
+        assertEquals("DifyChat", checkers.get(1).getClientName());
+        assertEquals("DifyDataset", checkers.get(2).getClientName());
+
+        ClientStatusReport report = checkers.get(2).checkAllApis();
+        assertEquals(ApiStatus.NORMAL, report.getOverallStatus());
+        ApiStatusResult result = report.getApiStatuses().get(0);
+        assertEquals("GET /v1/datasets", result.getMethodName());
+        assertEquals("/v1/datasets", result.getEndpoint());
+        assertNull(result.getErrorMessage());
+        assertTrue(result.getDetails().startsWith("circuitBreaker=CLOSED"));
+    }
+
+    @Test
+    void testOpenBreakerReportsServerError() {
+        CircuitBreakerRegistry dataset = registry.forEndpointGroup("dataset");
+        fail(dataset, "POST", "/v1/datasets/{datasetId}/retrieve");
+        fail(dataset, "POST", "/v1/datasets/{datasetId}/retrieve");
+        succeed(dataset, "GET", "/v1/datasets");
+
+        ClientStatusReport report = CircuitBreakerStatusChecker.of(registry).get(0).checkAllApis();
+
+        assertEquals("DifyDataset", report.getClientName());
+        assertEquals(ApiStatus.CLIENT_ERROR, report.getOverallStatus());
+        assertEquals(2, report.getTotalApis());
+        assertEquals(1, report.getNormalApis());
+        ApiStatusResult result = report.getApiStatuses().get(1);
+        assertEquals("POST /v1/datasets/{datasetId}/retrieve", result.getMethodName());
+        assertEquals(ApiStatus.SERVER_ERROR, result.getStatus());
+        assertEquals("Circuit breaker OPEN", result.getErrorMessage());
+        assertTrue(result.getDetails().contains("failureRate=100.0%"));
+    }
+
+    @Test
+    void testUnknownMethod() {
+        succeed(registry.forEndpointGroup("chat"), "GET", "/v1/parameters");
+        CircuitBreakerStatusChecker checker = CircuitBreakerStatusChecker.of(registry).get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> checker.checkStatus("GET /v1/unknown", null));
+    }
+}
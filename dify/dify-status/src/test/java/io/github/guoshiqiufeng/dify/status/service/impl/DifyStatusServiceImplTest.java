@@ -15,6 +15,8 @@
  */
 package io.github.guoshiqiufeng.dify.status.service.impl;
 
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.status.checker.DifyChatStatusChecker;
 import io.github.guoshiqiufeng.dify.status.checker.DifyDatasetStatusChecker;
@@ -481,6 +483,45 @@ class DifyStatusServiceImplTest {
         assertTrue(report.getClientReports().size() >= 3); // At least chat, dataset, workflow
     }
 
+    @Test
+    void testCheckStatusByTraffic_WithoutRegistry() {
+        AggregatedStatusReport report = statusService.checkStatusByTraffic();
+
+        assertNotNull(report);
+        assertTrue(report.getClientReports().isEmpty());
+        assertEquals(0, report.getTotalApis());
+        assertEquals(ApiStatus.NORMAL, report.getOverallStatus());
+    }
+
+    @Test
+    void testCheckStatusByTraffic() {
+        DifyProperties.CircuitBreakerConfig config = new DifyProperties.CircuitBreakerConfig();
+        config.setEnabled(true);
+        config.setSlidingWindowSize(2);
+        config.setMinimumNumberOfCalls(2);
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(config, null);
+        CircuitBreakerRegistry chat = registry.forEndpointGroup("chat");
+        CircuitBreakerRegistry dataset = registry.forEndpointGroup("dataset");
+        chat.execute(chat.endpoint("GET", "/v1/parameters"), () -> "ok");
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpClientException.class, () -> dataset.execute(dataset.endpoint("GET", "/v1/datasets"), () -> {
+                throw new HttpClientException(503, "unavailable");
+            }));
+        }
+        statusService.setCircuitBreakerRegistry(registry);
+
+        AggregatedStatusReport report = statusService.checkStatusByTraffic();
+
+        assertEquals(2, report.getClientReports().size());
+        assertEquals(2, report.getTotalApis());
+        assertEquals(1, report.getHealthyApis());
+        assertEquals(ApiStatus.CLIENT_ERROR, report.getOverallStatus());
+        assertEquals(ApiStatus.NORMAL, report.getClientSummary().get("DifyChat"));
+        assertEquals(ApiStatus.SERVER_ERROR, report.getClientSummary().get("DifyDataset"));
+        assertFalse(chatChecker.wasCheckAllApisCalled());
+        assertFalse(datasetChecker.wasCheckAllApisCalled());
+    }
+
     @Test
     void testCheckStatus_WithNullCheckers() {
         // Test when some checkers are null
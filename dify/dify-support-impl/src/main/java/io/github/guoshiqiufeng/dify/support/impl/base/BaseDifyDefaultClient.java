@@ -15,9 +15,12 @@
  */
 package io.github.guoshiqiufeng.dify.support.impl.base;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.http.ResponseErrorHandler;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.warmup.WarmUp;
+import io.github.guoshiqiufeng.dify.client.core.warmup.WarmUpResult;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.core.client.BaseDifyClient;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
@@ -25,6 +28,11 @@ import io.github.guoshiqiufeng.dify.core.exception.DiftClientExceptionEnum;
 import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 /**
@@ -33,7 +41,7 @@ import java.util.function.Predicate;
  * @since 2025/12/30 09:31
  */
 @Slf4j
-public class BaseDifyDefaultClient implements BaseDifyClient {
+public class BaseDifyDefaultClient implements BaseDifyClient, Closeable {
 
     protected final ResponseErrorHandler responseErrorHandler;
 
@@ -57,6 +65,50 @@ public class BaseDifyDefaultClient implements BaseDifyClient {
         this.httpClient = httpClientFactory.createClient(baseUrl, clientConfig);
     }
 
+    /**
+     * Open pooled connections to Dify ahead of the first calls of this client by sending concurrent requests without
+     * credentials.
+     *
+     * @param connections number of connections to open
+     * @param path        path of the warm-up requests, any response proves a connection
+     * @return future of the outcome, never completing exceptionally
+     */
+    public CompletableFuture<WarmUpResult> warmUp(int connections, String path) {
+        return WarmUp.connect(httpClient, connections, path);
+    }
+
+    /**
+     * Build the JSON serializers and deserializers of the DTOs sent and received by the main calls of this client.
+     *
+     * @param jsonMapper the JSON mapper of the HTTP client
+     * @return number of DTO types primed
+     */
+    public int primeCodec(JsonMapper jsonMapper) {
+        return WarmUp.primeCodec(jsonMapper, getCodecTypes());
+    }
+
+    /**
+     * Get the DTO types primed by {@link #primeCodec(JsonMapper)}.
+     *
+     * @return DTO types, none by default
+     */
+    protected List<Class<?>> getCodecTypes() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Close the HTTP client if it holds resources, such as the lease of an OkHttp client on the connection pool and
+     * dispatcher it shares with the other clients of the same Dify host.
+     *
+     * @throws IOException if the HTTP client fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        if (httpClient instanceof Closeable) {
+            ((Closeable) httpClient).close();
+        }
+    }
+
     private static class DifyResponseErrorHandler implements ResponseErrorHandler {
 
         @Override
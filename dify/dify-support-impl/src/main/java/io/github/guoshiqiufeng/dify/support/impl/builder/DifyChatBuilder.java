@@ -16,8 +16,12 @@
 package io.github.guoshiqiufeng.dify.support.impl.builder;
 
 import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.chat.ReactiveDifyChat;
 import io.github.guoshiqiufeng.dify.chat.client.DifyChatClient;
 import io.github.guoshiqiufeng.dify.chat.impl.DifyChatClientImpl;
+import io.github.guoshiqiufeng.dify.chat.impl.ReactiveDifyChatClientImpl;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.support.impl.chat.DifyChatDefaultClient;
 
@@ -43,6 +47,16 @@ public final class DifyChatBuilder {
         return new DifyChatClientImpl(difyChatClient);
     }
 
+    /**
+     * Create a ReactiveDifyChat instance that exposes the given DifyChat as Mono/Flux
+     *
+     * @param difyChat the chat facade
+     * @return the ReactiveDifyChat instance
+     */
+    public static ReactiveDifyChat createReactive(DifyChat difyChat) {
+        return new ReactiveDifyChatClientImpl(difyChat);
+    }
+
     /**
      * Create a DifyChatClient with the given HTTP client
      *
@@ -66,6 +80,34 @@ public final class DifyChatBuilder {
      * Builder class for DifyChatClient
      */
     public static final class Builder extends BaseDifyBuilder<Builder> {
+
+        private StreamMetricsListener streamMetricsListener;
+
+        private TokenBudgetController tokenBudgetController;
+
+        /**
+         * Set the listener receiving time-to-first-token and duration of streaming calls
+         *
+         * @param streamMetricsListener the listener
+         * @return the builder
+         */
+        public Builder streamMetricsListener(StreamMetricsListener streamMetricsListener) {
+            this.streamMetricsListener = streamMetricsListener;
+            return this;
+        }
+
+        /**
+         * Set the controller admitting chat calls by the tokens consumed per API key and user, overriding the one
+         * created from {@code clientConfig.tokenBudget}
+         *
+         * @param tokenBudgetController the controller
+         * @return the builder
+         */
+        public Builder tokenBudgetController(TokenBudgetController tokenBudgetController) {
+            this.tokenBudgetController = tokenBudgetController;
+            return this;
+        }
+
         /**
          * Build the DifyChatClient
          *
@@ -74,7 +116,12 @@ public final class DifyChatBuilder {
         public DifyChatClient build() {
             initDefaults();
             HttpClient httpClient = createHttpClient();
-            return new DifyChatDefaultClient(httpClient);
+            DifyChatDefaultClient client = new DifyChatDefaultClient(httpClient, clientConfig);
+            client.setStreamMetricsListener(streamMetricsListener);
+            if (tokenBudgetController != null) {
+                client.setTokenBudgetController(tokenBudgetController);
+            }
+            return client;
         }
     }
 }
@@ -19,8 +19,10 @@ import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.core.utils.StrUtil;
 import io.github.guoshiqiufeng.dify.dataset.DifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.ReactiveDifyDataset;
 import io.github.guoshiqiufeng.dify.dataset.client.DifyDatasetClient;
 import io.github.guoshiqiufeng.dify.dataset.impl.DifyDatasetClientImpl;
+import io.github.guoshiqiufeng.dify.dataset.impl.ReactiveDifyDatasetClientImpl;
 import io.github.guoshiqiufeng.dify.support.impl.dataset.DifyDatasetDefaultClient;
 
 /**
@@ -45,6 +47,16 @@ public final class DifyDatasetBuilder {
         return new DifyDatasetClientImpl(difyDatasetClient);
     }
 
+    /**
+     * Create a ReactiveDifyDataset instance that exposes the given DifyDataset as Mono/Flux
+     *
+     * @param difyDataset the dataset facade
+     * @return the ReactiveDifyDataset instance
+     */
+    public static ReactiveDifyDataset createReactive(DifyDataset difyDataset) {
+        return new ReactiveDifyDatasetClientImpl(difyDataset);
+    }
+
     /**
      * Create a DifyDatasetClient with the given HTTP client
      *
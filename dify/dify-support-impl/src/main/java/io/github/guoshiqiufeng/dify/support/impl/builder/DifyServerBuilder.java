@@ -19,10 +19,12 @@ import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.server.DifyServer;
+import io.github.guoshiqiufeng.dify.server.ReactiveDifyServer;
 import io.github.guoshiqiufeng.dify.server.client.BaseDifyServerToken;
 import io.github.guoshiqiufeng.dify.server.client.DifyServerClient;
 import io.github.guoshiqiufeng.dify.server.client.DifyServerTokenDefault;
 import io.github.guoshiqiufeng.dify.server.impl.DifyServerClientImpl;
+import io.github.guoshiqiufeng.dify.server.impl.ReactiveDifyServerClientImpl;
 import io.github.guoshiqiufeng.dify.support.impl.server.DifyServerDefaultClient;
 
 /**
@@ -47,6 +49,16 @@ public final class DifyServerBuilder {
         return new DifyServerClientImpl(difyServerClient);
     }
 
+    /**
+     * Create a ReactiveDifyServer instance that exposes the given DifyServer as Mono/Flux
+     *
+     * @param difyServer the server facade
+     * @return the ReactiveDifyServer instance
+     */
+    public static ReactiveDifyServer createReactive(DifyServer difyServer) {
+        return new ReactiveDifyServerClientImpl(difyServer);
+    }
+
     /**
      * Create a DifyServerClient with the given HTTP client and server properties
      *
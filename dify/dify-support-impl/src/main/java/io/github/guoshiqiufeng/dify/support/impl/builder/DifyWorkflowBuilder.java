@@ -15,11 +15,15 @@
  */
 package io.github.guoshiqiufeng.dify.support.impl.builder;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.support.impl.workflow.DifyWorkflowDefaultClient;
 import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.ReactiveDifyWorkflow;
 import io.github.guoshiqiufeng.dify.workflow.client.DifyWorkflowClient;
 import io.github.guoshiqiufeng.dify.workflow.impl.DifyWorkflowClientImpl;
+import io.github.guoshiqiufeng.dify.workflow.impl.ReactiveDifyWorkflowClientImpl;
 
 /**
  * Builder for creating DifyWorkflow and DifyWorkflowClient instances
@@ -43,6 +47,16 @@ public final class DifyWorkflowBuilder {
         return new DifyWorkflowClientImpl(difyWorkflowClient);
     }
 
+    /**
+     * Create a ReactiveDifyWorkflow instance that exposes the given DifyWorkflow as Mono/Flux
+     *
+     * @param difyWorkflow the workflow facade
+     * @return the ReactiveDifyWorkflow instance
+     */
+    public static ReactiveDifyWorkflow createReactive(DifyWorkflow difyWorkflow) {
+        return new ReactiveDifyWorkflowClientImpl(difyWorkflow);
+    }
+
     /**
      * Create a DifyWorkflowClient with the given HTTP client
      *
@@ -66,6 +80,34 @@ public final class DifyWorkflowBuilder {
      * Builder class for DifyWorkflowClient
      */
     public static final class Builder extends BaseDifyBuilder<Builder> {
+
+        private StreamMetricsListener streamMetricsListener;
+
+        private TokenBudgetController tokenBudgetController;
+
+        /**
+         * Set the listener receiving time-to-first-token and duration of streaming calls
+         *
+         * @param streamMetricsListener the listener
+         * @return the builder
+         */
+        public Builder streamMetricsListener(StreamMetricsListener streamMetricsListener) {
+            this.streamMetricsListener = streamMetricsListener;
+            return this;
+        }
+
+        /**
+         * Set the controller admitting workflow runs by the tokens consumed per API key and user, overriding the one
+         * created from {@code clientConfig.tokenBudget}
+         *
+         * @param tokenBudgetController the controller
+         * @return the builder
+         */
+        public Builder tokenBudgetController(TokenBudgetController tokenBudgetController) {
+            this.tokenBudgetController = tokenBudgetController;
+            return this;
+        }
+
         /**
          * Build the DifyWorkflowClient
          *
@@ -74,7 +116,12 @@ public final class DifyWorkflowBuilder {
         public DifyWorkflowClient build() {
             initDefaults();
             HttpClient httpClient = createHttpClient();
-            return new DifyWorkflowDefaultClient(httpClient);
+            DifyWorkflowDefaultClient client = new DifyWorkflowDefaultClient(httpClient, clientConfig);
+            client.setStreamMetricsListener(streamMetricsListener);
+            if (tokenBudgetController != null) {
+                client.setTokenBudgetController(tokenBudgetController);
+            }
+            return client;
         }
     }
 }
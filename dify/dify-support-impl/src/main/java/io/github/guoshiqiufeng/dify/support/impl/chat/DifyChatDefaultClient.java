@@ -19,9 +19,15 @@ import io.github.guoshiqiufeng.dify.chat.client.DifyChatClient;
 import io.github.guoshiqiufeng.dify.chat.constant.ChatUriConstant;
 import io.github.guoshiqiufeng.dify.chat.dto.request.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.chat.stream.StreamingChatAggregator;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
 import io.github.guoshiqiufeng.dify.client.core.http.*;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
 import io.github.guoshiqiufeng.dify.core.bean.BeanUtils;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
@@ -36,12 +42,16 @@ import io.github.guoshiqiufeng.dify.core.utils.MultipartBodyBuilder;
 import io.github.guoshiqiufeng.dify.core.utils.StrUtil;
 import io.github.guoshiqiufeng.dify.dataset.constant.DatasetUriConstant;
 import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
+import io.github.guoshiqiufeng.dify.support.impl.dto.chat.ChatMessageSendCompletionResponseDeserializer;
 import io.github.guoshiqiufeng.dify.support.impl.dto.chat.ChatMessageSendCompletionResponseDto;
 import io.github.guoshiqiufeng.dify.support.impl.utils.DatasetHeaderUtils;
 import io.github.guoshiqiufeng.dify.support.impl.utils.MultipartBodyUtil;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -51,12 +61,72 @@ import java.util.stream.Collectors;
  */
 public class DifyChatDefaultClient extends BaseDifyDefaultClient implements DifyChatClient {
 
+    private static final String CHAT_OPERATION = "chat";
+
+    /**
+     * Events needed to assemble a blocking response from the stream
+     */
+    private static final Set<StreamEventEnum> BLOCKING_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            StreamEventEnum.message, StreamEventEnum.agent_message, StreamEventEnum.message_replace,
+            StreamEventEnum.message_end, StreamEventEnum.error));
+
+    /**
+     * DTOs of the main calls, primed on warm-up
+     */
+    private static final List<Class<?>> CODEC_TYPES = Collections.unmodifiableList(Arrays.asList(
+            ChatMessageVO.class, ChatMessageSendResponse.class, ChatMessageSendCompletionResponseDto.class,
+            AppParametersResponseVO.class));
+
+    private final boolean blockingOverStreaming;
+
+    private StreamMetricsListener streamMetricsListener = StreamMetricsListener.NOOP;
+
+    private TokenBudgetController tokenBudget;
+
     public DifyChatDefaultClient(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param httpClient   the HTTP client
+     * @param clientConfig the client configuration, used for {@code blockingOverStreaming} and {@code tokenBudget}
+     */
+    public DifyChatDefaultClient(HttpClient httpClient, DifyProperties.ClientConfig clientConfig) {
         super(httpClient);
+        this.blockingOverStreaming = isBlockingOverStreaming(clientConfig);
+        this.tokenBudget = TokenBudgetController.of(clientConfig);
     }
 
     public DifyChatDefaultClient(String baseUrl, DifyProperties.ClientConfig clientConfig, HttpClientFactory httpClientFactory) {
         super(baseUrl, clientConfig, httpClientFactory);
+        this.blockingOverStreaming = isBlockingOverStreaming(clientConfig);
+        this.tokenBudget = TokenBudgetController.of(clientConfig);
+    }
+
+    /**
+     * Set the listener receiving time-to-first-token and duration of streaming calls.
+     *
+     * @param streamMetricsListener the listener, null disables reporting
+     */
+    public void setStreamMetricsListener(StreamMetricsListener streamMetricsListener) {
+        this.streamMetricsListener = streamMetricsListener != null ? streamMetricsListener : StreamMetricsListener.NOOP;
+    }
+
+    /**
+     * Set the controller admitting chat calls by the tokens consumed per API key and user, shared with other
+     * clients to enforce one budget.
+     *
+     * @param tokenBudget the controller, null disables the token budget
+     */
+    public void setTokenBudgetController(TokenBudgetController tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    @Override
+    protected List<Class<?>> getCodecTypes() {
+        return CODEC_TYPES;
     }
 
     @Override
@@ -64,6 +134,35 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
         Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
         Assert.notEmpty(chatRequest.getContent(), "The request content can not be empty.");
 
+        if (blockingOverStreaming) {
+            return chatOverStreaming(chatRequest).block();
+        }
+        if (tokenBudget != null) {
+            return tokenBudget.execute(chatRequest.getApiKey(), chatRequest.getUserId(),
+                    () -> chatSpec(chatRequest).body(ChatMessageSendResponse.class), DifyChatDefaultClient::usageTokens);
+        }
+
+        return chatSpec(chatRequest).body(ChatMessageSendResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<ChatMessageSendResponse> chatAsync(ChatMessageSendRequest chatRequest) {
+        Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
+        Assert.notEmpty(chatRequest.getContent(), "The request content can not be empty.");
+
+        if (blockingOverStreaming) {
+            return chatOverStreaming(chatRequest).toFuture();
+        }
+        if (tokenBudget != null) {
+            return tokenBudget.executeAsync(chatRequest.getApiKey(), chatRequest.getUserId(),
+                    () -> chatSpec(chatRequest).bodyAsync(ChatMessageSendResponse.class),
+                    DifyChatDefaultClient::usageTokens);
+        }
+
+        return chatSpec(chatRequest).bodyAsync(ChatMessageSendResponse.class);
+    }
+
+    private ResponseSpec chatSpec(ChatMessageSendRequest chatRequest) {
         ChatMessageVO chatMessage = builderChatMessage(ResponseModeEnum.blocking, chatRequest);
 
         return this.httpClient.post()
@@ -72,52 +171,142 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + chatRequest.getApiKey())
                 .body(chatMessage)
                 .retrieve()
-                .onStatus(this.responseErrorHandler)
-                .body(ChatMessageSendResponse.class);
+                .onStatus(this.responseErrorHandler);
     }
 
     @Override
     public Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest) {
+        return streamingChat(chatRequest, null, null);
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest, Set<StreamEventEnum> events) {
+        return streamingChat(chatRequest, events, null);
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest, Set<StreamEventEnum> events,
+                                                                 StreamTimeout streamTimeout) {
         Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
         Assert.notEmpty(chatRequest.getContent(), "The request content can not be empty.");
 
+        // the budget needs the usage of message_end, so it is requested and dropped again if not asked for
+        boolean hideUsage = tokenBudget != null && !CollUtil.isEmpty(events)
+                && !events.contains(StreamEventEnum.message_end);
+        Set<StreamEventEnum> requestedEvents = events;
+        if (hideUsage) {
+            requestedEvents = EnumSet.copyOf(events);
+            requestedEvents.add(StreamEventEnum.message_end);
+        }
+        Set<StreamEventEnum> streamEvents = requestedEvents;
+        Flux<ChatMessageSendCompletionResponse> stream = withTokenBudget(chatRequest,
+                () -> streamingChatFlux(chatRequest, streamEvents, streamTimeout));
+        if (hideUsage) {
+            return stream.filter(response -> !StreamEventEnum.message_end.name().equals(response.getEvent()));
+        }
+        return stream;
+    }
+
+    private Flux<ChatMessageSendCompletionResponse> streamingChatFlux(ChatMessageSendRequest chatRequest,
+                                                                      Set<StreamEventEnum> events,
+                                                                      StreamTimeout streamTimeout) {
         ChatMessageVO chatMessage = builderChatMessage(ResponseModeEnum.streaming, chatRequest);
 
-        return this.httpClient.post()
+        ResponseSpec responseSpec = this.httpClient.post()
                 .uri(ChatUriConstant.V1_CHAT_MESSAGES_URI)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + chatRequest.getApiKey())
                 .body(chatMessage)
                 .retrieve()
-                .onStatus(this.responseErrorHandler)
-                .bodyToFlux(ChatMessageSendCompletionResponseDto.class)
-                .mapNotNull(dto -> {
-                    if (dto.getData() == null) {
-                        return null;
-                    }
-                    return dto.getData();
-                });
+                .onStatus(this.responseErrorHandler);
+        if (streamTimeout != null) {
+            responseSpec = responseSpec.streamTimeout(streamTimeout);
+        }
+        if (CollUtil.isEmpty(events)) {
+            return responseSpec.bodyToFlux(ChatMessageSendCompletionResponseDto.class)
+                    .mapNotNull(ChatMessageSendCompletionResponseDto::getData);
+        }
+        return responseSpec.bodyToFlux(new ChatMessageSendCompletionResponseDeserializer(events))
+                .mapNotNull(ChatMessageSendCompletionResponseDto::getData);
+    }
+
+    /**
+     * Serve a blocking chat over the streaming endpoint.
+     * The connection is kept alive by ping events, so the call is bound by the SSE read timeout
+     * instead of the regular read timeout.
+     */
+    private Mono<ChatMessageSendResponse> chatOverStreaming(ChatMessageSendRequest chatRequest) {
+        Flux<ChatMessageSendCompletionResponse> stream = streamMetricsListener.instrument(
+                streamingChat(chatRequest, BLOCKING_EVENTS), CHAT_OPERATION, DifyChatDefaultClient::isAnswerEvent);
+        return StreamingChatAggregator.aggregate(stream);
+    }
+
+    private Flux<ChatMessageSendCompletionResponse> withTokenBudget(ChatMessageSendRequest chatRequest,
+                                                                    Supplier<Flux<ChatMessageSendCompletionResponse>> call) {
+        if (tokenBudget == null) {
+            return call.get();
+        }
+        return tokenBudget.executeFlux(chatRequest.getApiKey(), chatRequest.getUserId(), call,
+                response -> StreamEventEnum.message_end.name().equals(response.getEvent()) ? usageTokens(response) : null);
+    }
+
+    private static Integer usageTokens(ChatMessageSendResponse response) {
+        ChatMessageSendResponse.Metadata metadata = response.getMetadata();
+        if (metadata == null || metadata.getUsage() == null) {
+            return null;
+        }
+        return metadata.getUsage().getTotalTokens();
+    }
+
+    private static boolean isAnswerEvent(ChatMessageSendCompletionResponse response) {
+        String event = response.getEvent();
+        return StreamEventEnum.message.name().equals(event)
+                || StreamEventEnum.agent_message.name().equals(event)
+                || StreamEventEnum.message_replace.name().equals(event);
+    }
+
+    private static boolean isBlockingOverStreaming(DifyProperties.ClientConfig clientConfig) {
+        return clientConfig != null && Boolean.TRUE.equals(clientConfig.getBlockingOverStreaming());
     }
 
     @Override
     public void stopMessagesStream(String apiKey, String taskId, String userId) {
+        stopMessagesStreamSpec(apiKey, taskId, userId).toBodilessEntity();
+    }
+
+    @Override
+    public CompletableFuture<Void> stopMessagesStreamAsync(String apiKey, String taskId, String userId) {
+        return stopMessagesStreamSpec(apiKey, taskId, userId).toBodilessEntityAsync().thenApply(response -> null);
+    }
+
+    private ResponseSpec stopMessagesStreamSpec(String apiKey, String taskId, String userId) {
         Assert.notNull(apiKey, "apiKey must not be null");
         Assert.notNull(taskId, "taskId must not be null");
 
         Map<String, Object> params = new HashMap<>(1);
         params.put("user", userId);
 
-        this.httpClient.post()
+        return this.httpClient.post()
                 .uri(ChatUriConstant.V1_CHAT_MESSAGES_URI + "/{taskId}/stop", taskId)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .body(params)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toBodilessEntity();
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public MessageFeedbackResponse messageFeedback(MessageFeedbackRequest request) {
+        return messageFeedbackSpec(request).body(new TypeReference<MessageFeedbackResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<MessageFeedbackResponse> messageFeedbackAsync(MessageFeedbackRequest request) {
+        return messageFeedbackSpec(request).bodyAsync(new TypeReference<MessageFeedbackResponse>() {
+        });
+    }
+
+    private ResponseSpec messageFeedbackSpec(MessageFeedbackRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
 
         Map<String, Object> values = new HashMap<>(3);
@@ -130,13 +319,22 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .body(values)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<MessageFeedbackResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<MessageConversationsResponse> conversations(MessageConversationsRequest request) {
+        return conversationsSpec(request).body(new TypeReference<DifyPageResult<MessageConversationsResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<MessageConversationsResponse>> conversationsAsync(MessageConversationsRequest request) {
+        return conversationsSpec(request).bodyAsync(new TypeReference<DifyPageResult<MessageConversationsResponse>>() {
+        });
+    }
+
+    private ResponseSpec conversationsSpec(MessageConversationsRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         if (StrUtil.isEmpty(request.getSortBy())) {
             request.setSortBy("-updated_at");
@@ -155,13 +353,22 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<MessageConversationsResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<MessagesResponseVO> messages(MessagesRequest request) {
+        return messagesSpec(request).body(new TypeReference<DifyPageResult<MessagesResponseVO>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<MessagesResponseVO>> messagesAsync(MessagesRequest request) {
+        return messagesSpec(request).bodyAsync(new TypeReference<DifyPageResult<MessagesResponseVO>>() {
+        });
+    }
+
+    private ResponseSpec messagesSpec(MessagesRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         if (request.getLimit() == null) {
             request.setLimit(20);
@@ -179,44 +386,74 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<MessagesResponseVO>>() {
-                });
-
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public List<String> messagesSuggested(String messageId, String apiKey, String userId) {
-        DifyResult<List<String>> body = this.httpClient.get()
+        DifyResult<List<String>> body = messagesSuggestedSpec(messageId, apiKey, userId)
+                .body(new TypeReference<DifyResult<List<String>>>() {
+                });
+        return suggestedData(body);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> messagesSuggestedAsync(String messageId, String apiKey, String userId) {
+        return messagesSuggestedSpec(messageId, apiKey, userId)
+                .bodyAsync(new TypeReference<DifyResult<List<String>>>() {
+                })
+                .thenApply(DifyChatDefaultClient::suggestedData);
+    }
+
+    private ResponseSpec messagesSuggestedSpec(String messageId, String apiKey, String userId) {
+        return this.httpClient.get()
                 .uri(ChatUriConstant.V1_MESSAGES_URI + "/{messageId}/suggested?user={user}",
                         messageId,
                         userId)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyResult<List<String>>>() {
-                });
+                .onStatus(responseErrorHandler);
+    }
+
+    private static List<String> suggestedData(DifyResult<List<String>> body) {
         return body == null ? new ArrayList<>() : body.getData();
     }
 
     @Override
     public void deleteConversation(String conversationId, String apiKey, String userId) {
+        deleteConversationSpec(conversationId, apiKey, userId).toBodilessEntity();
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteConversationAsync(String conversationId, String apiKey, String userId) {
+        return deleteConversationSpec(conversationId, apiKey, userId).toBodilessEntityAsync().thenApply(response -> null);
+    }
+
+    private ResponseSpec deleteConversationSpec(String conversationId, String apiKey, String userId) {
         Map<String, Object> params = new HashMap<>(1);
         params.put("user", userId);
 
-        this.httpClient.method(HttpMethod.DELETE)
+        return this.httpClient.method(HttpMethod.DELETE)
                 .uri(ChatUriConstant.V1_CONVERSATIONS_URI + "/{conversationId}", conversationId)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(params)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toBodilessEntity();
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public ResponseEntity<byte[]> textToAudio(TextToAudioRequest request) {
+        return textToAudioSpec(request).toEntity(byte[].class);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> textToAudioAsync(TextToAudioRequest request) {
+        return textToAudioSpec(request).toEntityAsync(byte[].class);
+    }
+
+    private ResponseSpec textToAudioSpec(TextToAudioRequest request) {
         Map<String, String> requestBody = new HashMap<>(3);
         requestBody.put("user", request.getUserId());
         requestBody.put("text", request.getText());
@@ -226,12 +463,20 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .body(requestBody)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toEntity(byte[].class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyTextVO audioToText(AudioToTextRequest request) {
+        return audioToTextSpec(request).body(DifyTextVO.class);
+    }
+
+    @Override
+    public CompletableFuture<DifyTextVO> audioToTextAsync(AudioToTextRequest request) {
+        return audioToTextSpec(request).bodyAsync(DifyTextVO.class);
+    }
+
+    private ResponseSpec audioToTextSpec(AudioToTextRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         MultipartBodyBuilder builder = MultipartBodyUtil.getMultipartBodyBuilderForAudio(request.getFile());
 
@@ -241,12 +486,22 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(builder.build())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DifyTextVO.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public MessageConversationsResponse renameConversation(RenameConversationRequest renameConversationRequest) {
+        return renameConversationSpec(renameConversationRequest).body(new TypeReference<MessageConversationsResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<MessageConversationsResponse> renameConversationAsync(RenameConversationRequest renameConversationRequest) {
+        return renameConversationSpec(renameConversationRequest).bodyAsync(new TypeReference<MessageConversationsResponse>() {
+        });
+    }
+
+    private ResponseSpec renameConversationSpec(RenameConversationRequest renameConversationRequest) {
         if (renameConversationRequest.getAutoGenerate() == null) {
             renameConversationRequest.setAutoGenerate(false);
         }
@@ -260,36 +515,61 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + renameConversationRequest.getApiKey())
                 .body(values)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<MessageConversationsResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppParametersResponseVO parameters(String apiKey) {
+        return parametersSpec(apiKey).body(new TypeReference<AppParametersResponseVO>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<AppParametersResponseVO> parametersAsync(String apiKey) {
+        return parametersSpec(apiKey).bodyAsync(new TypeReference<AppParametersResponseVO>() {
+        });
+    }
+
+    private ResponseSpec parametersSpec(String apiKey) {
         return this.httpClient.get()
                 .uri(ChatUriConstant.V1_PARAMETERS_URI)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<AppParametersResponseVO>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppSiteResponse site(String apiKey) {
+        return siteSpec(apiKey).body(new TypeReference<AppSiteResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<AppSiteResponse> siteAsync(String apiKey) {
+        return siteSpec(apiKey).bodyAsync(new TypeReference<AppSiteResponse>() {
+        });
+    }
+
+    private ResponseSpec siteSpec(String apiKey) {
         Assert.notNull(apiKey, "apiKey must not be null");
         return this.httpClient.get()
                 .uri(ChatUriConstant.V1_SITE_URI)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<AppSiteResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public FileUploadResponse fileUpload(FileUploadRequest request) {
+        return fileUploadSpec(request).body(FileUploadResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<FileUploadResponse> fileUploadAsync(FileUploadRequest request) {
+        return fileUploadSpec(request).bodyAsync(FileUploadResponse.class);
+    }
+
+    private ResponseSpec fileUploadSpec(FileUploadRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getFile(), "file must not be null");
         Assert.notNull(request.getUserId(), "userId must not be null");
@@ -302,12 +582,20 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(builder.build())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(FileUploadResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public ResponseEntity<byte[]> filePreview(FilePreviewRequest request) {
+        return filePreviewSpec(request).toEntity(byte[].class);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> filePreviewAsync(FilePreviewRequest request) {
+        return filePreviewSpec(request).toEntityAsync(byte[].class);
+    }
+
+    private ResponseSpec filePreviewSpec(FilePreviewRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getFileId(), "fileId must not be null");
         Assert.notNull(request.getApiKey(), "apiKey must not be null");
@@ -323,105 +611,181 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 })
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toEntity(byte[].class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppInfoResponse info(String apiKey) {
+        return infoSpec(apiKey).body(AppInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppInfoResponse> infoAsync(String apiKey) {
+        return infoSpec(apiKey).bodyAsync(AppInfoResponse.class);
+    }
+
+    private ResponseSpec infoSpec(String apiKey) {
         Assert.notNull(apiKey, "apiKey must not be null");
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_INFO)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppMetaResponse meta(String apiKey) {
+        return metaSpec(apiKey).body(AppMetaResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppMetaResponse> metaAsync(String apiKey) {
+        return metaSpec(apiKey).bodyAsync(AppMetaResponse.class);
+    }
+
+    private ResponseSpec metaSpec(String apiKey) {
         Assert.notNull(apiKey, "apiKey must not be null");
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_META)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppMetaResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<AppAnnotationResponse> pageAppAnnotation(AppAnnotationPageRequest request) {
+        return pageAppAnnotationSpec(request).body(new TypeReference<DifyPageResult<AppAnnotationResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<AppAnnotationResponse>> pageAppAnnotationAsync(AppAnnotationPageRequest request) {
+        return pageAppAnnotationSpec(request).bodyAsync(new TypeReference<DifyPageResult<AppAnnotationResponse>>() {
+        });
+    }
+
+    private ResponseSpec pageAppAnnotationSpec(AppAnnotationPageRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS + "?page={page}&limit={limit}", request.getPage(), request.getLimit())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request.getApiKey()).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<AppAnnotationResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppAnnotationResponse createAppAnnotation(AppAnnotationCreateRequest request) {
+        return createAppAnnotationSpec(request).body(AppAnnotationResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationResponse> createAppAnnotationAsync(AppAnnotationCreateRequest request) {
+        return createAppAnnotationSpec(request).bodyAsync(AppAnnotationResponse.class);
+    }
+
+    private ResponseSpec createAppAnnotationSpec(AppAnnotationCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request.getApiKey()).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppAnnotationResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppAnnotationResponse updateAppAnnotation(AppAnnotationUpdateRequest request) {
+        return updateAppAnnotationSpec(request).body(AppAnnotationResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationResponse> updateAppAnnotationAsync(AppAnnotationUpdateRequest request) {
+        return updateAppAnnotationSpec(request).bodyAsync(AppAnnotationResponse.class);
+    }
+
+    private ResponseSpec updateAppAnnotationSpec(AppAnnotationUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.put()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS + "/{annotation_id}", request.getAnnotationId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request.getApiKey()).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppAnnotationResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void deleteAppAnnotation(String annotationId, String apiKey) {
+        deleteAppAnnotationSpec(annotationId, apiKey).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppAnnotationAsync(String annotationId, String apiKey) {
+        return deleteAppAnnotationSpec(annotationId, apiKey).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteAppAnnotationSpec(String annotationId, String apiKey) {
         Assert.notNull(annotationId, "annotationId must not be null");
         Assert.notNull(apiKey, "apiKey must not be null");
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS + "/{annotation_id}", annotationId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler).body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppAnnotationReplyResponse annotationReply(AppAnnotationReplyRequest request) {
+        return annotationReplySpec(request).body(AppAnnotationReplyResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationReplyResponse> annotationReplyAsync(AppAnnotationReplyRequest request) {
+        return annotationReplySpec(request).bodyAsync(AppAnnotationReplyResponse.class);
+    }
+
+    private ResponseSpec annotationReplySpec(AppAnnotationReplyRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS_REPLY + "/{action}", request.getAction())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request.getApiKey()).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppAnnotationReplyResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppAnnotationReplyResponse queryAnnotationReply(AppAnnotationReplyQueryRequest request) {
+        return queryAnnotationReplySpec(request).body(AppAnnotationReplyResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationReplyResponse> queryAnnotationReplyAsync(AppAnnotationReplyQueryRequest request) {
+        return queryAnnotationReplySpec(request).bodyAsync(AppAnnotationReplyResponse.class);
+    }
+
+    private ResponseSpec queryAnnotationReplySpec(AppAnnotationReplyQueryRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_APPS_ANNOTATIONS_REPLY + "/{action}/status/{job_id}",
                         request.getAction(), request.getJobId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request.getApiKey()).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(AppAnnotationReplyResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<AppFeedbackResponse> feedbacks(AppFeedbackPageRequest request) {
+        return feedbacksSpec(request).body(new TypeReference<DifyPageResult<AppFeedbackResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<AppFeedbackResponse>> feedbacksAsync(AppFeedbackPageRequest request) {
+        return feedbacksSpec(request).bodyAsync(new TypeReference<DifyPageResult<AppFeedbackResponse>>() {
+        });
+    }
+
+    private ResponseSpec feedbacksSpec(AppFeedbackPageRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -431,13 +795,22 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<AppFeedbackResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<ConversationVariableResponse> conversationVariables(ConversationVariableRequest request) {
+        return conversationVariablesSpec(request).body(new TypeReference<DifyPageResult<ConversationVariableResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<ConversationVariableResponse>> conversationVariablesAsync(ConversationVariableRequest request) {
+        return conversationVariablesSpec(request).bodyAsync(new TypeReference<DifyPageResult<ConversationVariableResponse>>() {
+        });
+    }
+
+    private ResponseSpec conversationVariablesSpec(ConversationVariableRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getConversationId(), "conversationId must not be null");
 
@@ -452,13 +825,20 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 })
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<ConversationVariableResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public ConversationVariableResponse updateConversationVariable(UpdateConversationVariableRequest request) {
+        return updateConversationVariableSpec(request).body(ConversationVariableResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<ConversationVariableResponse> updateConversationVariableAsync(UpdateConversationVariableRequest request) {
+        return updateConversationVariableSpec(request).bodyAsync(ConversationVariableResponse.class);
+    }
+
+    private ResponseSpec updateConversationVariableSpec(UpdateConversationVariableRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getConversationId(), "conversationId must not be null");
         Assert.notNull(request.getVariableId(), "variableId must not be null");
@@ -474,8 +854,7 @@ public class DifyChatDefaultClient extends BaseDifyDefaultClient implements Dify
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(values)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(ConversationVariableResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     private ChatMessageVO builderChatMessage(ResponseModeEnum responseMode, ChatMessageSendRequest sendRequest) {
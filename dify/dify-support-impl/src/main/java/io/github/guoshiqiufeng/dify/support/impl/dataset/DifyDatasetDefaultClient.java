@@ -20,6 +20,7 @@ import io.github.guoshiqiufeng.dify.client.core.http.HttpMethod;
 import io.github.guoshiqiufeng.dify.client.core.http.MediaType;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.utils.Assert;
@@ -36,6 +37,7 @@ import io.github.guoshiqiufeng.dify.support.impl.utils.MultipartBodyUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yanghq
@@ -56,19 +58,38 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
 
     @Override
     public DatasetResponse create(DatasetCreateRequest request) {
+        return createSpec(request).body(DatasetResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DatasetResponse> createAsync(DatasetCreateRequest request) {
+        return createSpec(request).bodyAsync(DatasetResponse.class);
+    }
+
+    private ResponseSpec createSpec(DatasetCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_DATASETS_URL)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DatasetResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DifyPageResult<DatasetResponse> page(DatasetPageRequest request) {
+        return pageSpec(request).body(new TypeReference<DifyPageResult<DatasetResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<DatasetResponse>> pageAsync(DatasetPageRequest request) {
+        return pageSpec(request).bodyAsync(new TypeReference<DifyPageResult<DatasetResponse>>() {
+        });
+    }
+
+    private ResponseSpec pageSpec(DatasetPageRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uri ->
@@ -82,13 +103,20 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 )
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<DatasetResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DatasetInfoResponse info(DatasetInfoRequest request) {
+        return infoSpec(request).body(DatasetInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DatasetInfoResponse> infoAsync(DatasetInfoRequest request) {
+        return infoSpec(request).bodyAsync(DatasetInfoResponse.class);
+    }
+
+    private ResponseSpec infoSpec(DatasetInfoRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uri ->
@@ -97,12 +125,20 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 )
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DatasetInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DatasetInfoResponse update(DatasetUpdateRequest request) {
+        return updateSpec(request).body(DatasetInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DatasetInfoResponse> updateAsync(DatasetUpdateRequest request) {
+        return updateSpec(request).bodyAsync(DatasetInfoResponse.class);
+    }
+
+    private ResponseSpec updateSpec(DatasetUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.patch()
                 .uri(uri ->
@@ -112,38 +148,62 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .body(request)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DatasetInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void delete(String datasetId, String apiKey) {
+        deleteSpec(datasetId, apiKey).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String datasetId, String apiKey) {
+        return deleteSpec(datasetId, apiKey).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteSpec(String datasetId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_DATASETS_URL + "/{datasetId}", datasetId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DocumentCreateResponse createDocumentByText(DocumentCreateByTextRequest request) {
+        return createDocumentByTextSpec(request).body(DocumentCreateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> createDocumentByTextAsync(DocumentCreateByTextRequest request) {
+        return createDocumentByTextSpec(request).bodyAsync(DocumentCreateResponse.class);
+    }
+
+    private ResponseSpec createDocumentByTextSpec(DocumentCreateByTextRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_DOCUMENT_CREATE_BY_TEXT_URL, request.getDatasetId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentCreateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DocumentCreateResponse createDocumentByFile(DocumentCreateByFileRequest request) {
+        return createDocumentByFileSpec(request).body(DocumentCreateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> createDocumentByFileAsync(DocumentCreateByFileRequest request) {
+        return createDocumentByFileSpec(request).bodyAsync(DocumentCreateResponse.class);
+    }
+
+    private ResponseSpec createDocumentByFileSpec(DocumentCreateByFileRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         MultipartBodyBuilder builder = MultipartBodyUtil.getMultipartBodyBuilder(request.getFile(), request);
         return httpClient.post()
@@ -152,13 +212,21 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(builder.build())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentCreateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DocumentCreateResponse updateDocumentByText(DocumentUpdateByTextRequest request) {
+        return updateDocumentByTextSpec(request).body(DocumentCreateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> updateDocumentByTextAsync(DocumentUpdateByTextRequest request) {
+        return updateDocumentByTextSpec(request).bodyAsync(DocumentCreateResponse.class);
+    }
+
+    private ResponseSpec updateDocumentByTextSpec(DocumentUpdateByTextRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
 
         return httpClient.post()
@@ -166,13 +234,21 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentCreateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DocumentCreateResponse updateDocumentByFile(DocumentUpdateByFileRequest request) {
+        return updateDocumentByFileSpec(request).body(DocumentCreateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> updateDocumentByFileAsync(DocumentUpdateByFileRequest request) {
+        return updateDocumentByFileSpec(request).bodyAsync(DocumentCreateResponse.class);
+    }
+
+    private ResponseSpec updateDocumentByFileSpec(DocumentUpdateByFileRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         MultipartBodyBuilder builder = MultipartBodyUtil.getMultipartBodyBuilder(request.getFile(), request);
 
@@ -183,13 +259,23 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(builder.build())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentCreateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DifyPageResult<DocumentInfo> pageDocument(DatasetPageDocumentRequest request) {
+        return pageDocumentSpec(request).body(new TypeReference<DifyPageResult<DocumentInfo>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<DocumentInfo>> pageDocumentAsync(DatasetPageDocumentRequest request) {
+        return pageDocumentSpec(request).bodyAsync(new TypeReference<DifyPageResult<DocumentInfo>>() {
+        });
+    }
+
+    private ResponseSpec pageDocumentSpec(DatasetPageDocumentRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -200,25 +286,40 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                         .build(request.getDatasetId()))
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<DocumentInfo>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DocumentInfo getDocument(String datasetId, String documentId, String apiKey) {
+        return getDocumentSpec(datasetId, documentId, apiKey).body(DocumentInfo.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String apiKey) {
+        return getDocumentSpec(datasetId, documentId, apiKey).bodyAsync(DocumentInfo.class);
+    }
+
+    private ResponseSpec getDocumentSpec(String datasetId, String documentId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_DOCUMENT_URL, datasetId, documentId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentInfo.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DocumentInfo getDocument(String datasetId, String documentId, String metadata, String apiKey) {
+        return getDocumentSpec(datasetId, documentId, metadata, apiKey).body(DocumentInfo.class);
+    }
+
+    @Override
+    public CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String metadata, String apiKey) {
+        return getDocumentSpec(datasetId, documentId, metadata, apiKey).bodyAsync(DocumentInfo.class);
+    }
+
+    private ResponseSpec getDocumentSpec(String datasetId, String documentId, String metadata, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
         return httpClient.get()
@@ -228,52 +329,87 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                         .build(datasetId, documentId))
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DocumentInfo.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DocumentIndexingStatusResponse indexingStatus(DocumentIndexingStatusRequest request) {
+        return indexingStatusSpec(request).body(new TypeReference<DocumentIndexingStatusResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse> indexingStatusAsync(DocumentIndexingStatusRequest request) {
+        return indexingStatusSpec(request).bodyAsync(new TypeReference<DocumentIndexingStatusResponse>() {
+        });
+    }
+
+    private ResponseSpec indexingStatusSpec(DocumentIndexingStatusRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_DOCUMENT_INDEXING_STATUS_URL, request.getDatasetId(), request.getBatch())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DocumentIndexingStatusResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void deleteDocument(String datasetId, String documentId, String apiKey) {
+        deleteDocumentSpec(datasetId, documentId, apiKey).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDocumentAsync(String datasetId, String documentId, String apiKey) {
+        return deleteDocumentSpec(datasetId, documentId, apiKey).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteDocumentSpec(String datasetId, String documentId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_DOCUMENT_URL, datasetId, documentId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public SegmentResponse createSegment(SegmentCreateRequest request) {
+        return createSegmentSpec(request).body(SegmentResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<SegmentResponse> createSegmentAsync(SegmentCreateRequest request) {
+        return createSegmentSpec(request).bodyAsync(SegmentResponse.class);
+    }
+
+    private ResponseSpec createSegmentSpec(SegmentCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_DOCUMENTS_SEGMENTS_URL, request.getDatasetId(), request.getDocumentId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(SegmentResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public SegmentResponse pageSegment(SegmentPageRequest request) {
+        return pageSegmentSpec(request).body(new TypeReference<SegmentResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<SegmentResponse> pageSegmentAsync(SegmentPageRequest request) {
+        return pageSegmentSpec(request).bodyAsync(new TypeReference<SegmentResponse>() {
+        });
+    }
+
+    private ResponseSpec pageSegmentSpec(SegmentPageRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -285,50 +421,79 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                         .build(request.getDatasetId(), request.getDocumentId()))
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<SegmentResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void deleteSegment(String datasetId, String documentId, String segmentId, String apiKey) {
+        deleteSegmentSpec(datasetId, documentId, segmentId, apiKey).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey) {
+        return deleteSegmentSpec(datasetId, documentId, segmentId, apiKey).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteSegmentSpec(String datasetId, String documentId, String segmentId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
         Assert.notNull(segmentId, "segmentId can not be null");
 
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_DOCUMENTS_SEGMENT_URL, datasetId, documentId, segmentId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public SegmentUpdateResponse updateSegment(SegmentUpdateRequest request) {
+        return updateSegmentSpec(request).body(SegmentUpdateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<SegmentUpdateResponse> updateSegmentAsync(SegmentUpdateRequest request) {
+        return updateSegmentSpec(request).bodyAsync(SegmentUpdateResponse.class);
+    }
+
+    private ResponseSpec updateSegmentSpec(SegmentUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_DOCUMENTS_SEGMENT_URL, request.getDatasetId(), request.getDocumentId(), request.getSegmentId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(SegmentUpdateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public SegmentData getSegment(String datasetId, String documentId, String segmentId, String apiKey) {
+        SegmentDataResponseDto body = getSegmentSpec(datasetId, documentId, segmentId, apiKey)
+                .body(SegmentDataResponseDto.class);
+        return segmentData(body);
+    }
+
+    @Override
+    public CompletableFuture<SegmentData> getSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey) {
+        return getSegmentSpec(datasetId, documentId, segmentId, apiKey)
+                .bodyAsync(SegmentDataResponseDto.class)
+                .thenApply(DifyDatasetDefaultClient::segmentData);
+    }
+
+    private ResponseSpec getSegmentSpec(String datasetId, String documentId, String segmentId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
         Assert.notNull(segmentId, "segmentId can not be null");
-        SegmentDataResponseDto body = httpClient.get()
+        return httpClient.get()
                 .uri(DatasetUriConstant.V1_DOCUMENTS_SEGMENT_URL, datasetId, documentId, segmentId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(SegmentDataResponseDto.class);
+                .onStatus(responseErrorHandler);
+    }
+
+    private static SegmentData segmentData(SegmentDataResponseDto body) {
         if (body == null) {
             return null;
         }
@@ -337,6 +502,15 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
 
     @Override
     public SegmentChildChunkCreateResponse createSegmentChildChunk(SegmentChildChunkCreateRequest request) {
+        return createSegmentChildChunkSpec(request).body(SegmentChildChunkCreateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<SegmentChildChunkCreateResponse> createSegmentChildChunkAsync(SegmentChildChunkCreateRequest request) {
+        return createSegmentChildChunkSpec(request).bodyAsync(SegmentChildChunkCreateResponse.class);
+    }
+
+    private ResponseSpec createSegmentChildChunkSpec(SegmentChildChunkCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getContent(), "content can not be null");
         return httpClient.post()
@@ -344,12 +518,22 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(SegmentChildChunkCreateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<SegmentChildChunkResponse> pageSegmentChildChunk(SegmentChildChunkPageRequest request) {
+        return pageSegmentChildChunkSpec(request).body(new TypeReference<DifyPageResult<SegmentChildChunkResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<SegmentChildChunkResponse>> pageSegmentChildChunkAsync(SegmentChildChunkPageRequest request) {
+        return pageSegmentChildChunkSpec(request).bodyAsync(new TypeReference<DifyPageResult<SegmentChildChunkResponse>>() {
+        });
+    }
+
+    private ResponseSpec pageSegmentChildChunkSpec(SegmentChildChunkPageRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -360,26 +544,41 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                         .build(request.getDatasetId(), request.getDocumentId(), request.getSegmentId()))
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<SegmentChildChunkResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void deleteSegmentChildChunk(SegmentChildChunkDeleteRequest request) {
+        deleteSegmentChildChunkSpec(request).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSegmentChildChunkAsync(SegmentChildChunkDeleteRequest request) {
+        return deleteSegmentChildChunkSpec(request).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteSegmentChildChunkSpec(SegmentChildChunkDeleteRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getChildChunkId(), "childChunkId can not be null");
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_DOCUMENTS_SEGMENTS_CHILD_CHUNK_URL,
                         request.getDatasetId(), request.getDocumentId(), request.getSegmentId(), request.getChildChunkId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public SegmentChildChunkUpdateResponse updateSegmentChildChunk(SegmentChildChunkUpdateRequest request) {
+        return updateSegmentChildChunkSpec(request).body(SegmentChildChunkUpdateResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<SegmentChildChunkUpdateResponse> updateSegmentChildChunkAsync(SegmentChildChunkUpdateRequest request) {
+        return updateSegmentChildChunkSpec(request).bodyAsync(SegmentChildChunkUpdateResponse.class);
+    }
+
+    private ResponseSpec updateSegmentChildChunkSpec(SegmentChildChunkUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         Assert.notNull(request.getChildChunkId(), "childChunkId can not be null");
         return httpClient.patch()
@@ -390,13 +589,23 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(SegmentChildChunkUpdateResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public UploadFileInfoResponse uploadFileInfo(String datasetId, String documentId, String apiKey) {
+        return uploadFileInfoSpec(datasetId, documentId, apiKey).body(new TypeReference<UploadFileInfoResponse>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<UploadFileInfoResponse> uploadFileInfoAsync(String datasetId, String documentId, String apiKey) {
+        return uploadFileInfoSpec(datasetId, documentId, apiKey).bodyAsync(new TypeReference<UploadFileInfoResponse>() {
+        });
+    }
+
+    private ResponseSpec uploadFileInfoSpec(String datasetId, String documentId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(documentId, "documentId can not be null");
 
@@ -404,210 +613,346 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .uri(DatasetUriConstant.V1_DOCUMENTS_UPLOAD_FILE, datasetId, documentId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<UploadFileInfoResponse>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public RetrieveResponse retrieve(RetrieveRequest request) {
+        return retrieveSpec(request).body(RetrieveResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<RetrieveResponse> retrieveAsync(RetrieveRequest request) {
+        return retrieveSpec(request).bodyAsync(RetrieveResponse.class);
+    }
+
+    private ResponseSpec retrieveSpec(RetrieveRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_DATASETS_RETRIEVE_URL, request.getDatasetId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(RetrieveResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public MetaDataResponse createMetaData(MetaDataCreateRequest request) {
+        return createMetaDataSpec(request).body(MetaDataResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataResponse> createMetaDataAsync(MetaDataCreateRequest request) {
+        return createMetaDataSpec(request).bodyAsync(MetaDataResponse.class);
+    }
+
+    private ResponseSpec createMetaDataSpec(MetaDataCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_METADATA_CREATE_URL, request.getDatasetId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(MetaDataResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public MetaDataResponse updateMetaData(MetaDataUpdateRequest request) {
+        return updateMetaDataSpec(request).body(MetaDataResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataResponse> updateMetaDataAsync(MetaDataUpdateRequest request) {
+        return updateMetaDataSpec(request).bodyAsync(MetaDataResponse.class);
+    }
+
+    private ResponseSpec updateMetaDataSpec(MetaDataUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.patch()
                 .uri(DatasetUriConstant.V1_METADATA_UPDATE_URL, request.getDatasetId(), request.getMetaDataId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(MetaDataResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void deleteMetaData(String datasetId, String metadataId, String apiKey) {
+        deleteMetaDataSpec(datasetId, metadataId, apiKey).body(void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteMetaDataAsync(String datasetId, String metadataId, String apiKey) {
+        return deleteMetaDataSpec(datasetId, metadataId, apiKey).bodyAsync(void.class);
+    }
+
+    private ResponseSpec deleteMetaDataSpec(String datasetId, String metadataId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         Assert.notNull(metadataId, "metadataId can not be null");
 
-        httpClient.delete()
+        return httpClient.delete()
                 .uri(DatasetUriConstant.V1_METADATA_DELETE_URL, datasetId, metadataId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void actionMetaData(MetaDataActionRequest request) {
+        actionMetaDataSpec(request).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> actionMetaDataAsync(MetaDataActionRequest request) {
+        return actionMetaDataSpec(request).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec actionMetaDataSpec(MetaDataActionRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
-        httpClient.post()
+        return httpClient.post()
                 .uri(DatasetUriConstant.V1_METADATA_ACTION_URL, request.getDatasetId(), request.getAction().name())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public void updateDocumentMetaData(DocumentMetaDataUpdateRequest request) {
+        updateDocumentMetaDataSpec(request).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateDocumentMetaDataAsync(DocumentMetaDataUpdateRequest request) {
+        return updateDocumentMetaDataSpec(request).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec updateDocumentMetaDataSpec(DocumentMetaDataUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         // 使用 httpClient 发送 POST 请求
-        httpClient.post()
+        return httpClient.post()
                 .uri(DatasetUriConstant.V1_DOCUMENT_METADATA_UPDATE_URL, request.getDatasetId())
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .body(request)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public MetaDataListResponse listMetaData(String datasetId, String apiKey) {
+        return listMetaDataSpec(datasetId, apiKey).body(MetaDataListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataListResponse> listMetaDataAsync(String datasetId, String apiKey) {
+        return listMetaDataSpec(datasetId, apiKey).bodyAsync(MetaDataListResponse.class);
+    }
+
+    private ResponseSpec listMetaDataSpec(String datasetId, String apiKey) {
         Assert.notNull(datasetId, "datasetId can not be null");
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_METADATA_LIST_URL, datasetId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(MetaDataListResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public TextEmbeddingListResponse listTextEmbedding(String apiKey) {
+        return listTextEmbeddingSpec(apiKey).body(TextEmbeddingListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<TextEmbeddingListResponse> listTextEmbeddingAsync(String apiKey) {
+        return listTextEmbeddingSpec(apiKey).bodyAsync(TextEmbeddingListResponse.class);
+    }
+
+    private ResponseSpec listTextEmbeddingSpec(String apiKey) {
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_TEXT_EMBEDDING_LIST_URL)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(TextEmbeddingListResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public TextEmbeddingListResponse listRerank(String apiKey) {
+        return listRerankSpec(apiKey).body(TextEmbeddingListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<TextEmbeddingListResponse> listRerankAsync(String apiKey) {
+        return listRerankSpec(apiKey).bodyAsync(TextEmbeddingListResponse.class);
+    }
+
+    private ResponseSpec listRerankSpec(String apiKey) {
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_RERANK_LIST_URL)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(TextEmbeddingListResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public TagInfoResponse createTag(TagCreateRequest request) {
+        return createTagSpec(request).body(TagInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<TagInfoResponse> createTagAsync(TagCreateRequest request) {
+        return createTagSpec(request).bodyAsync(TagInfoResponse.class);
+    }
+
+    private ResponseSpec createTagSpec(TagCreateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.post()
                 .uri(DatasetUriConstant.V1_TAGS)
                 .body(request)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(TagInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public List<TagInfoResponse> listTag(String apiKey) {
+        return listTagSpec(apiKey).body(new TypeReference<List<TagInfoResponse>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<TagInfoResponse>> listTagAsync(String apiKey) {
+        return listTagSpec(apiKey).bodyAsync(new TypeReference<List<TagInfoResponse>>() {
+        });
+    }
+
+    private ResponseSpec listTagSpec(String apiKey) {
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_TAGS)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<List<TagInfoResponse>>() {
-                });
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public TagInfoResponse updateTag(TagUpdateRequest request) {
+        return updateTagSpec(request).body(TagInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<TagInfoResponse> updateTagAsync(TagUpdateRequest request) {
+        return updateTagSpec(request).bodyAsync(TagInfoResponse.class);
+    }
+
+    private ResponseSpec updateTagSpec(TagUpdateRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
         return httpClient.patch()
                 .uri(DatasetUriConstant.V1_TAGS)
                 .body(request)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(TagInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void deleteTag(String tagId, String apiKey) {
+        deleteTagSpec(tagId, apiKey).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTagAsync(String tagId, String apiKey) {
+        return deleteTagSpec(tagId, apiKey).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec deleteTagSpec(String tagId, String apiKey) {
         // Validate input parameters
         if (tagId == null || tagId.trim().isEmpty()) {
             throw new IllegalArgumentException("Tag ID must not be null or empty");
         }
         Map<String, String> param = new HashMap<>(1);
         param.put("tag_id", tagId);
-        httpClient.method(HttpMethod.DELETE)
+        return httpClient.method(HttpMethod.DELETE)
                 .uri(DatasetUriConstant.V1_TAGS)
                 .body(param)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void bindingTag(TagBindingRequest request) {
+        bindingTagSpec(request).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> bindingTagAsync(TagBindingRequest request) {
+        return bindingTagSpec(request).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec bindingTagSpec(TagBindingRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
-        httpClient.post()
+        return httpClient.post()
                 .uri(DatasetUriConstant.V1_TAGS_BINDING)
                 .body(request)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void unbindingTag(TagUnbindingRequest request) {
+        unbindingTagSpec(request).body(Void.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> unbindingTagAsync(TagUnbindingRequest request) {
+        return unbindingTagSpec(request).bodyAsync(Void.class);
+    }
+
+    private ResponseSpec unbindingTagSpec(TagUnbindingRequest request) {
         Assert.notNull(request, REQUEST_BODY_NULL_ERROR);
-        httpClient.post()
+        return httpClient.post()
                 .uri(DatasetUriConstant.V1_TAGS_UNBINDING)
                 .body(request)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(request).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(Void.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DataSetTagsResponse listDatasetTag(String datasetId, String apiKey) {
+        return listDatasetTagSpec(datasetId, apiKey).body(DataSetTagsResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DataSetTagsResponse> listDatasetTagAsync(String datasetId, String apiKey) {
+        return listDatasetTagSpec(datasetId, apiKey).bodyAsync(DataSetTagsResponse.class);
+    }
+
+    private ResponseSpec listDatasetTagSpec(String datasetId, String apiKey) {
         return httpClient.get()
                 .uri(DatasetUriConstant.V1_DATASET_TAGS, datasetId)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DataSetTagsResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DatasetStatusResponse changeDocumentStatus(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
+        return changeDocumentStatusSpec(datasetId, documentIds, status, apiKey).body(DatasetStatusResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<DatasetStatusResponse> changeDocumentStatusAsync(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
+        return changeDocumentStatusSpec(datasetId, documentIds, status, apiKey).bodyAsync(DatasetStatusResponse.class);
+    }
+
+    private ResponseSpec changeDocumentStatusSpec(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
         Map<String, Set<String>> param = new HashMap<>(1);
         param.put("document_ids", documentIds);
         return httpClient.patch()
@@ -615,7 +960,6 @@ public class DifyDatasetDefaultClient extends BaseDifyDefaultClient implements D
                 .body(param)
                 .headers(h -> DatasetHeaderUtils.getHttpHeadersConsumer(apiKey).accept(h))
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(DatasetStatusResponse.class);
+                .onStatus(responseErrorHandler);
     }
 }
@@ -19,15 +19,20 @@ import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionR
 import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendResponse;
 import io.github.guoshiqiufeng.dify.chat.dto.response.message.CompletionData;
 import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
-import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonToken;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.StreamingJsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonNodeUtil;
+import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonTokenReaderUtil;
 import io.github.guoshiqiufeng.dify.core.bean.BeanUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ChatMessageSendCompletionResponse 通用反序列化器
@@ -35,13 +40,17 @@ import java.util.Map;
  * 基于抽象的 JsonNode 接口实现,与具体 JSON 库解耦
  * 各模块传入对应的 JsonMapper 实现即可使用
  * </p>
+ * <p>
+ * 支持流式读取的 JsonMapper 会使用 {@link #deserialize(JsonTokenReader, JsonMapper)} 单次前向读取,
+ * 不构建 JSON 树,也不经过中间对象复制
+ * </p>
  *
  * @author yanghq
  * @version 2.0.0
  * @since 2025/12/30
  */
 @Slf4j
-public class ChatMessageSendCompletionResponseDeserializer implements JsonDeserializer<ChatMessageSendCompletionResponseDto> {
+public class ChatMessageSendCompletionResponseDeserializer implements StreamingJsonDeserializer<ChatMessageSendCompletionResponseDto> {
 
     private static final String CONSTANT_EVENT = "event";
     private static final String CONSTANT_WORKFLOW_RUN_ID = "workflow_run_id";
@@ -59,6 +68,37 @@ public class ChatMessageSendCompletionResponseDeserializer implements JsonDeseri
     public static final String TOOL_INPUT = "tool_input";
     public static final String MESSAGE_FILES = "message_files";
 
+    private static final String CONVERSATION_ID = "conversation_id";
+    private static final String MESSAGE_ID = "message_id";
+    private static final String CREATED_AT = "created_at";
+    private static final String ID = "id";
+    private static final String ANSWER = "answer";
+    private static final String FROM_VARIABLE_SELECTOR = "from_variable_selector";
+    private static final String METADATA = "metadata";
+
+    /**
+     * 需要保留的事件类型,null 表示保留全部事件
+     */
+    private final Set<StreamEventEnum> events;
+
+    public ChatMessageSendCompletionResponseDeserializer() {
+        this(null);
+    }
+
+    /**
+     * 创建按事件类型过滤的反序列化器
+     *
+     * @param events 需要保留的事件类型,null 或空集合表示保留全部事件
+     */
+    public ChatMessageSendCompletionResponseDeserializer(Set<StreamEventEnum> events) {
+        this.events = events == null || events.isEmpty() ? null : EnumSet.copyOf(events);
+    }
+
+    @Override
+    public Class<ChatMessageSendCompletionResponseDto> handledType() {
+        return ChatMessageSendCompletionResponseDto.class;
+    }
+
     /**
      * 反序列化 JSON 节点为 ChatMessageSendCompletionResponseDto
      *
@@ -70,7 +110,7 @@ public class ChatMessageSendCompletionResponseDeserializer implements JsonDeseri
     public ChatMessageSendCompletionResponseDto deserialize(JsonNode root, JsonMapper jsonMapper) {
         JsonNode eventNode = root.get(CONSTANT_EVENT);
         if (eventNode == null || !eventNode.isTextual()) {
-            return new ChatMessageSendCompletionResponseDto(builderResponse(root, jsonMapper));
+            return events == null ? new ChatMessageSendCompletionResponseDto(builderResponse(root, jsonMapper)) : null;
         }
 
         StreamEventEnum event;
@@ -80,7 +120,10 @@ public class ChatMessageSendCompletionResponseDeserializer implements JsonDeseri
             dataClass = event.getClazz();
         } catch (IllegalArgumentException e) {
             log.warn("Unknown event type: {}", eventNode.asText());
-            return new ChatMessageSendCompletionResponseDto(builderResponse(root, jsonMapper));
+            return events == null ? new ChatMessageSendCompletionResponseDto(builderResponse(root, jsonMapper)) : null;
+        }
+        if (!accept(event)) {
+            return null;
         }
 
         ChatMessageSendCompletionResponse response = builderResponse(root, jsonMapper);
@@ -95,6 +138,167 @@ public class ChatMessageSendCompletionResponseDeserializer implements JsonDeseri
         return new ChatMessageSendCompletionResponseDto(response);
     }
 
+    /**
+     * 单次前向读取 JSON 为 ChatMessageSendCompletionResponseDto
+     * <p>
+     * data 字段按 event 对应的类型直接绑定;若 data 先于 event 出现,则暂存为 JSON 树,读取完成后再转换。
+     * 设置了事件过滤时,读到不需要的 event 后直接跳过剩余内容并返回 null,不创建响应对象
+     * </p>
+     *
+     * @param reader     JSON 流式读取器
+     * @param jsonMapper JSON 映射器
+     * @return 反序列化后的对象,被过滤的事件返回 null
+     */
+    @Override
+    public ChatMessageSendCompletionResponseDto deserialize(JsonTokenReader reader, JsonMapper jsonMapper) {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return events == null ? new ChatMessageSendCompletionResponseDto(new ChatMessageSendCompletionResponse()) : null;
+        }
+
+        ChatMessageSendCompletionResponse response = null;
+        String event = null;
+        boolean eventRead = false;
+        Class<? extends CompletionData> dataClass = null;
+        JsonNode pendingData = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (CONSTANT_EVENT.equals(name)) {
+                event = reader.nextString();
+                eventRead = true;
+                StreamEventEnum eventType = resolveEvent(event);
+                if (!accept(eventType)) {
+                    skipRemaining(reader);
+                    return null;
+                }
+                dataClass = eventType != null ? eventType.getClazz() : null;
+                continue;
+            }
+            if (CONSTANT_DATA.equals(name)) {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                } else if (dataClass != null) {
+                    response = response != null ? response : new ChatMessageSendCompletionResponse();
+                    response.setData(reader.readValue(dataClass));
+                } else if (!eventRead) {
+                    pendingData = reader.readTree();
+                } else {
+                    reader.skipValue();
+                }
+                continue;
+            }
+            response = response != null ? response : new ChatMessageSendCompletionResponse();
+            readField(name, reader, response);
+        }
+        reader.endObject();
+
+        if (!eventRead && events != null) {
+            return null;
+        }
+        response = response != null ? response : new ChatMessageSendCompletionResponse();
+        response.setEvent(event);
+        if (pendingData != null && dataClass != null) {
+            response.setData(jsonMapper.treeToValue(pendingData, dataClass));
+        }
+        return new ChatMessageSendCompletionResponseDto(response);
+    }
+
+    private static void readField(String name, JsonTokenReader reader, ChatMessageSendCompletionResponse response) {
+        switch (name) {
+            case CONVERSATION_ID:
+            case "conversationId":
+                response.setConversationId(reader.nextString());
+                break;
+            case MESSAGE_ID:
+            case "messageId":
+                response.setMessageId(reader.nextString());
+                break;
+            case CREATED_AT:
+            case "createdAt":
+                response.setCreatedAt(reader.nextLong());
+                break;
+            case CONSTANT_TASK_ID:
+            case "taskId":
+                response.setTaskId(reader.nextString());
+                break;
+            case ID:
+                response.setId(reader.nextString());
+                break;
+            case ANSWER:
+                response.setAnswer(reader.nextString());
+                break;
+            case FROM_VARIABLE_SELECTOR:
+            case "fromVariableSelector":
+                response.setFromVariableSelector(reader.readValue(Object.class));
+                break;
+            case METADATA:
+                response.setMetadata(reader.readValue(ChatMessageSendResponse.Metadata.class));
+                break;
+            case CONSTANT_WORKFLOW_RUN_ID:
+                response.setWorkflowRunId(reader.nextString());
+                break;
+            case POSITION:
+                response.setPosition(reader.nextInteger());
+                break;
+            case THOUGHT:
+                response.setThought(reader.nextString());
+                break;
+            case OBSERVATION:
+                response.setObservation(reader.nextString());
+                break;
+            case TOOL:
+                response.setTool(reader.nextString());
+                break;
+            case TOOL_LABELS:
+                response.setToolLabels(JsonTokenReaderUtil.readMap(reader));
+                break;
+            case TOOL_INPUT:
+                response.setToolInput(reader.nextString());
+                break;
+            case MESSAGE_FILES:
+                response.setMessageFiles(JsonTokenReaderUtil.readStringList(reader));
+                break;
+            case CONSTANT_STATUS:
+                response.setStatus(reader.nextInteger());
+                break;
+            case CONSTANT_CODE:
+                response.setCode(reader.nextString());
+                break;
+            case CONSTANT_MESSAGE:
+                response.setMessage(reader.nextString());
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    private static void skipRemaining(JsonTokenReader reader) {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+        reader.endObject();
+    }
+
+    private boolean accept(StreamEventEnum eventType) {
+        return events == null || (eventType != null && events.contains(eventType));
+    }
+
+    private static StreamEventEnum resolveEvent(String event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return StreamEventEnum.valueOf(event);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown event type: {}", event);
+            return null;
+        }
+    }
+
     private static ChatMessageSendCompletionResponse builderResponse(JsonNode root, JsonMapper jsonMapper) {
         ChatMessageSendResponse chatMessageSendResponse = jsonMapper.treeToValue(root, ChatMessageSendResponse.class);
         ChatMessageSendCompletionResponse chatMessageSendCompletionResponse = new ChatMessageSendCompletionResponse();
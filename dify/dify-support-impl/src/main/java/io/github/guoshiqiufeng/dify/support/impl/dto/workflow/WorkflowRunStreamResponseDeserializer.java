@@ -15,34 +15,65 @@
  */
 package io.github.guoshiqiufeng.dify.support.impl.dto.workflow;
 
-import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonToken;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonTokenReader;
+import io.github.guoshiqiufeng.dify.client.core.codec.StreamingJsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonNodeUtil;
+import io.github.guoshiqiufeng.dify.client.core.codec.util.JsonTokenReaderUtil;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
 import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * WorkflowRunStreamResponse 通用反序列化器
  * <p>
  * 基于抽象的 JsonNode 接口实现,与具体 JSON 库解耦
  * </p>
+ * <p>
+ * 支持流式读取的 JsonMapper 会使用 {@link #deserialize(JsonTokenReader, JsonMapper)} 单次前向读取
+ * </p>
  *
  * @author yanghq
  * @version 2.0.0
  * @since 2025/12/30
  */
 @Slf4j
-public class WorkflowRunStreamResponseDeserializer implements JsonDeserializer<WorkflowRunStreamResponseDto> {
+public class WorkflowRunStreamResponseDeserializer implements StreamingJsonDeserializer<WorkflowRunStreamResponseDto> {
 
     private static final String CONSTANT_EVENT = "event";
     private static final String CONSTANT_TASK_ID = "task_id";
     private static final String CONSTANT_WORKFLOW_RUN_ID = "workflow_run_id";
     private static final String CONSTANT_DATA = "data";
 
+    /**
+     * 需要保留的事件类型,null 表示保留全部事件
+     */
+    private final Set<StreamEventEnum> events;
+
+    public WorkflowRunStreamResponseDeserializer() {
+        this(null);
+    }
+
+    /**
+     * 创建按事件类型过滤的反序列化器
+     *
+     * @param events 需要保留的事件类型,null 或空集合表示保留全部事件
+     */
+    public WorkflowRunStreamResponseDeserializer(Set<StreamEventEnum> events) {
+        this.events = events == null || events.isEmpty() ? null : EnumSet.copyOf(events);
+    }
+
+    @Override
+    public Class<WorkflowRunStreamResponseDto> handledType() {
+        return WorkflowRunStreamResponseDto.class;
+    }
+
     /**
      * 反序列化 JSON 节点为 WorkflowRunStreamResponse
      *
@@ -54,7 +85,7 @@ public class WorkflowRunStreamResponseDeserializer implements JsonDeserializer<W
     public WorkflowRunStreamResponseDto deserialize(JsonNode root, JsonMapper jsonMapper) {
         JsonNode eventNode = root.get(CONSTANT_EVENT);
         if (eventNode == null || !eventNode.isTextual()) {
-            return new WorkflowRunStreamResponseDto(builderResponse(root, jsonMapper));
+            return events == null ? new WorkflowRunStreamResponseDto(builderResponse(root, jsonMapper)) : null;
         }
 
         StreamEventEnum event;
@@ -64,7 +95,10 @@ public class WorkflowRunStreamResponseDeserializer implements JsonDeserializer<W
             dataClass = event.getClazz();
         } catch (IllegalArgumentException e) {
             log.warn("Unknown event type: {}", eventNode.asText());
-            return new WorkflowRunStreamResponseDto(builderResponse(root, jsonMapper));
+            return events == null ? new WorkflowRunStreamResponseDto(builderResponse(root, jsonMapper)) : null;
+        }
+        if (!accept(event)) {
+            return null;
         }
 
         WorkflowRunStreamResponse response = builderResponse(root, jsonMapper);
@@ -84,6 +118,116 @@ public class WorkflowRunStreamResponseDeserializer implements JsonDeserializer<W
         return new WorkflowRunStreamResponseDto(response);
     }
 
+    /**
+     * 单次前向读取 JSON 为 WorkflowRunStreamResponse
+     * <p>
+     * data 字段按 event 对应的类型直接绑定;若 data 先于 event 出现,则暂存为 JSON 树,读取完成后再转换。
+     * 设置了事件过滤时,读到不需要的 event 后直接跳过剩余内容并返回 null,不创建响应对象
+     * </p>
+     *
+     * @param reader     JSON 流式读取器
+     * @param jsonMapper JSON 映射器
+     * @return 反序列化后的对象,被过滤的事件返回 null
+     */
+    @Override
+    public WorkflowRunStreamResponseDto deserialize(JsonTokenReader reader, JsonMapper jsonMapper) {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return events == null ? new WorkflowRunStreamResponseDto(new WorkflowRunStreamResponse()) : null;
+        }
+
+        StreamEventEnum event = null;
+        boolean eventRead = false;
+        String taskId = null;
+        String workflowRunId = null;
+        Object data = null;
+        JsonNode pendingData = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case CONSTANT_EVENT:
+                    event = resolveEvent(reader.nextString());
+                    eventRead = true;
+                    if (!accept(event)) {
+                        skipRemaining(reader);
+                        return null;
+                    }
+                    break;
+                case CONSTANT_DATA:
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.skipValue();
+                    } else if (event != null) {
+                        data = readData(reader, event.getClazz());
+                    } else if (!eventRead) {
+                        pendingData = reader.readTree();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case CONSTANT_TASK_ID:
+                    taskId = reader.nextString();
+                    break;
+                case CONSTANT_WORKFLOW_RUN_ID:
+                    workflowRunId = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (!eventRead && events != null) {
+            return null;
+        }
+        if (pendingData != null && event != null) {
+            Class<?> dataClass = event.getClazz();
+            data = dataClass == Map.class
+                    ? JsonNodeUtil.convertToMap(pendingData)
+                    : jsonMapper.treeToValue(pendingData, dataClass);
+        }
+
+        WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
+        response.setEvent(event);
+        response.setTaskId(taskId);
+        response.setWorkflowRunId(workflowRunId);
+        response.setData(data);
+        return new WorkflowRunStreamResponseDto(response);
+    }
+
+    private static Object readData(JsonTokenReader reader, Class<?> dataClass) {
+        if (dataClass == Map.class) {
+            return JsonTokenReaderUtil.readMap(reader);
+        }
+        return reader.readValue(dataClass);
+    }
+
+    private static void skipRemaining(JsonTokenReader reader) {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+        reader.endObject();
+    }
+
+    private boolean accept(StreamEventEnum event) {
+        return events == null || (event != null && events.contains(event));
+    }
+
+    private static StreamEventEnum resolveEvent(String event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return StreamEventEnum.valueOf(event);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown event type: {}", event);
+            return null;
+        }
+    }
+
     private static WorkflowRunStreamResponse builderResponse(JsonNode root, JsonMapper jsonMapper) {
         WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
 
@@ -20,6 +20,7 @@ import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
 import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyResult;
@@ -43,7 +44,11 @@ import io.github.guoshiqiufeng.dify.server.dto.response.*;
 import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * @author yanghq
@@ -53,6 +58,8 @@ import java.util.*;
 @Slf4j
 public class DifyServerDefaultClient extends BaseDifyDefaultClient implements DifyServerClient {
 
+    private static final DateTimeFormatter STATISTICS_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final DifyProperties.Server difyServerProperties;
 
     private final BaseDifyServerToken difyServerToken;
@@ -125,136 +132,211 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
         return result;
     }
 
+    @Override
+    public CompletableFuture<List<AppsResponse>> appsAsync(String mode, String name) {
+        return appPagesAsync(mode, name, 1, new ArrayList<>());
+    }
+
     @Override
     public AppsResponseResult apps(AppsRequest appsRequest) {
-        return executeWithRetry(
-                () -> httpClient.get()
-                        .uri(uriBuilder -> uriBuilder
-                                .path(ServerUriConstant.APPS)
-                                .queryParam("page", appsRequest.getPage())
-                                .queryParam("limit", appsRequest.getLimit())
-                                .queryParamIfPresent("mode", Optional.ofNullable(appsRequest.getMode()).filter(m -> !m.isEmpty()))
-                                .queryParamIfPresent("name", Optional.ofNullable(appsRequest.getName()).filter(m -> !m.isEmpty()))
-                                .queryParamIfPresent("is_created_by_me", Optional.ofNullable(appsRequest.getIsCreatedByMe()))
-                                .build())
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(AppsResponseResult.class)
-        );
+        return executeWithRetry(() -> appsSpec(appsRequest).body(AppsResponseResult.class));
+    }
+
+    @Override
+    public CompletableFuture<AppsResponseResult> appsAsync(AppsRequest appsRequest) {
+        return executeWithRetryAsync(() -> appsSpec(appsRequest).bodyAsync(AppsResponseResult.class));
+    }
+
+    private ResponseSpec appsSpec(AppsRequest appsRequest) {
+        return httpClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(ServerUriConstant.APPS)
+                        .queryParam("page", appsRequest.getPage())
+                        .queryParam("limit", appsRequest.getLimit())
+                        .queryParamIfPresent("mode", Optional.ofNullable(appsRequest.getMode()).filter(m -> !m.isEmpty()))
+                        .queryParamIfPresent("name", Optional.ofNullable(appsRequest.getName()).filter(m -> !m.isEmpty()))
+                        .queryParamIfPresent("is_created_by_me", Optional.ofNullable(appsRequest.getIsCreatedByMe()))
+                        .build())
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppsResponse app(String appId) {
-        return executeWithRetry(
-                () -> httpClient.get()
-                        .uri(ServerUriConstant.APPS + "/{appId}", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(AppsResponse.class)
-        );
+        return executeWithRetry(() -> appSpec(appId).body(AppsResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> appAsync(String appId) {
+        return executeWithRetryAsync(() -> appSpec(appId).bodyAsync(AppsResponse.class));
+    }
+
+    private ResponseSpec appSpec(String appId) {
+        return httpClient.get()
+                .uri(ServerUriConstant.APPS + "/{appId}", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppsResponse createApp(AppCreateRequest request) {
+        assertCreateAppRequest(request);
+        return executeWithRetry(() -> createAppSpec(request).body(AppsResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> createAppAsync(AppCreateRequest request) {
+        assertCreateAppRequest(request);
+        return executeWithRetryAsync(() -> createAppSpec(request).bodyAsync(AppsResponse.class));
+    }
+
+    private static void assertCreateAppRequest(AppCreateRequest request) {
         Assert.notNull(request, "request cannot be null");
         Assert.notNull(request.getName(), "request.name cannot be null");
         Assert.isTrue(!request.getName().isEmpty(), "request.name cannot be empty");
         Assert.notNull(request.getMode(), "request.mode cannot be null");
         Assert.isTrue(!request.getMode().isEmpty(), "request.mode cannot be empty");
-        return executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.APPS)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .body(request)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(AppsResponse.class)
-        );
+    }
+
+    private ResponseSpec createAppSpec(AppCreateRequest request) {
+        return httpClient.post()
+                .uri(ServerUriConstant.APPS)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .body(request)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public AppsResponse updateApp(String appId, AppUpdateRequest request) {
+        assertUpdateAppRequest(appId, request);
+        return executeWithRetry(() -> updateAppSpec(appId, request).body(AppsResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> updateAppAsync(String appId, AppUpdateRequest request) {
+        assertUpdateAppRequest(appId, request);
+        return executeWithRetryAsync(() -> updateAppSpec(appId, request).bodyAsync(AppsResponse.class));
+    }
+
+    private static void assertUpdateAppRequest(String appId, AppUpdateRequest request) {
         Assert.notNull(appId, "appId cannot be null");
         Assert.notNull(request, "request cannot be null");
         Assert.notNull(request.getName(), "request.name cannot be null");
         Assert.isTrue(!request.getName().isEmpty(), "request.name cannot be empty");
-        return executeWithRetry(
-                () -> httpClient.put()
-                        .uri(ServerUriConstant.APPS + "/{appId}", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .body(request)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(AppsResponse.class)
-        );
+    }
+
+    private ResponseSpec updateAppSpec(String appId, AppUpdateRequest request) {
+        return httpClient.put()
+                .uri(ServerUriConstant.APPS + "/{appId}", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .body(request)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void deleteApp(String appId) {
         Assert.notNull(appId, "appId cannot be null");
-        executeWithRetry(
-                () -> httpClient.delete()
-                        .uri(ServerUriConstant.APPS + "/{appId}", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(Void.class)
-        );
+        executeWithRetry(() -> deleteAppSpec(appId).body(Void.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppAsync(String appId) {
+        Assert.notNull(appId, "appId cannot be null");
+        return executeWithRetryAsync(() -> deleteAppSpec(appId).bodyAsync(Void.class));
+    }
+
+    private ResponseSpec deleteAppSpec(String appId) {
+        return httpClient.delete()
+                .uri(ServerUriConstant.APPS + "/{appId}", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void updateAppModelConfig(String appId, AppModelConfigRequest request) {
         Assert.notNull(appId, "appId cannot be null");
         Assert.notNull(request, "request cannot be null");
-        executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.APP_MODEL_CONFIG, appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .body(request)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(Void.class)
-        );
+        executeWithRetry(() -> updateAppModelConfigSpec(appId, request).body(Void.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAppModelConfigAsync(String appId, AppModelConfigRequest request) {
+        Assert.notNull(appId, "appId cannot be null");
+        Assert.notNull(request, "request cannot be null");
+        return executeWithRetryAsync(() -> updateAppModelConfigSpec(appId, request).bodyAsync(Void.class));
+    }
+
+    private ResponseSpec updateAppModelConfigSpec(String appId, AppModelConfigRequest request) {
+        return httpClient.post()
+                .uri(ServerUriConstant.APP_MODEL_CONFIG, appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .body(request)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public MemberInviteResponse inviteMembers(MemberInviteRequest request) {
+        assertInviteMembersRequest(request);
+        return executeWithRetry(() -> inviteMembersSpec(request).body(MemberInviteResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<MemberInviteResponse> inviteMembersAsync(MemberInviteRequest request) {
+        assertInviteMembersRequest(request);
+        return executeWithRetryAsync(() -> inviteMembersSpec(request).bodyAsync(MemberInviteResponse.class));
+    }
+
+    private static void assertInviteMembersRequest(MemberInviteRequest request) {
         Assert.notNull(request, "request cannot be null");
         Assert.notNull(request.getEmails(), "request.emails cannot be null");
         Assert.isTrue(!request.getEmails().isEmpty(), "request.emails cannot be empty");
         Assert.notNull(request.getRole(), "request.role cannot be null");
         Assert.isTrue(!request.getRole().isEmpty(), "request.role cannot be empty");
-        return executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.WORKSPACE_MEMBERS_INVITE_EMAIL)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .body(request)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(MemberInviteResponse.class)
-        );
+    }
+
+    private ResponseSpec inviteMembersSpec(MemberInviteRequest request) {
+        return httpClient.post()
+                .uri(ServerUriConstant.WORKSPACE_MEMBERS_INVITE_EMAIL)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .body(request)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public List<ApiKeyResponse> getAppApiKey(String appId) {
-        ApiKeyResultResponse tmp = executeWithRetry(
-                () -> httpClient.get()
-                        .uri(ServerUriConstant.APPS + "/{appId}/api-keys", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(ApiKeyResultResponse.class)
-        );
+        return appApiKeys(executeWithRetry(() -> getAppApiKeySpec(appId).body(ApiKeyResultResponse.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<ApiKeyResponse>> getAppApiKeyAsync(String appId) {
+        return executeWithRetryAsync(() -> getAppApiKeySpec(appId).bodyAsync(ApiKeyResultResponse.class))
+                .thenApply(DifyServerDefaultClient::appApiKeys);
+    }
+
+    private ResponseSpec getAppApiKeySpec(String appId) {
+        return httpClient.get()
+                .uri(ServerUriConstant.APPS + "/{appId}/api-keys", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
+    }
+
+    private static List<ApiKeyResponse> appApiKeys(ApiKeyResultResponse tmp) {
         if (tmp == null) {
             return new ArrayList<>();
         }
@@ -263,66 +345,89 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
 
     @Override
     public List<ApiKeyResponse> initAppApiKey(String appId) {
-        ApiKeyResponse apiKeyResponseVO = executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.APPS + "/{appId}/api-keys", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(ApiKeyResponse.class)
-        );
-        if (apiKeyResponseVO != null) {
-            List<ApiKeyResponse> apiKeyResponses = new ArrayList<>();
-            apiKeyResponses.add(apiKeyResponseVO);
-            return apiKeyResponses;
-        } else {
-            return null;
-        }
+        return singletonOrNull(executeWithRetry(() -> initAppApiKeySpec(appId).body(ApiKeyResponse.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<ApiKeyResponse>> initAppApiKeyAsync(String appId) {
+        return executeWithRetryAsync(() -> initAppApiKeySpec(appId).bodyAsync(ApiKeyResponse.class))
+                .thenApply(DifyServerDefaultClient::singletonOrNull);
+    }
+
+    private ResponseSpec initAppApiKeySpec(String appId) {
+        return httpClient.post()
+                .uri(ServerUriConstant.APPS + "/{appId}/api-keys", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void deleteAppApiKey(String appId, String apiKeyId) {
-        executeWithRetry(
-                () -> httpClient.delete()
-                        .uri(ServerUriConstant.APP_API_KEYS + "/{apiKeyId}", appId, apiKeyId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(Void.class)
-        );
+        executeWithRetry(() -> deleteAppApiKeySpec(appId, apiKeyId).body(Void.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppApiKeyAsync(String appId, String apiKeyId) {
+        return executeWithRetryAsync(() -> deleteAppApiKeySpec(appId, apiKeyId).bodyAsync(Void.class));
+    }
+
+    private ResponseSpec deleteAppApiKeySpec(String appId, String apiKeyId) {
+        return httpClient.delete()
+                .uri(ServerUriConstant.APP_API_KEYS + "/{apiKeyId}", appId, apiKeyId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public List<DatasetApiKeyResponse> getDatasetApiKey() {
-        DatasetApiKeyResult result = executeWithRetry(
-                () -> httpClient.get()
-                        .uri(ServerUriConstant.DATASETS + "/api-keys")
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(DatasetApiKeyResult.class)
-        );
+        DatasetApiKeyResult result = executeWithRetry(() -> getDatasetApiKeySpec().body(DatasetApiKeyResult.class));
         return result != null ? result.getData() : null;
     }
 
+    @Override
+    public CompletableFuture<List<DatasetApiKeyResponse>> getDatasetApiKeyAsync() {
+        return executeWithRetryAsync(() -> getDatasetApiKeySpec().bodyAsync(DatasetApiKeyResult.class))
+                .thenApply(result -> result != null ? result.getData() : null);
+    }
+
+    private ResponseSpec getDatasetApiKeySpec() {
+        return httpClient.get()
+                .uri(ServerUriConstant.DATASETS + "/api-keys")
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
+    }
+
     @Override
     public List<DatasetApiKeyResponse> initDatasetApiKey() {
-        DatasetApiKeyResponse result = executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.DATASETS + "/api-keys")
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(DatasetApiKeyResponse.class)
-        );
-        if (result != null) {
-            List<DatasetApiKeyResponse> datasetApiKeyResponses = new ArrayList<>();
-            datasetApiKeyResponses.add(result);
-            return datasetApiKeyResponses;
+        return singletonOrNull(executeWithRetry(() -> initDatasetApiKeySpec().body(DatasetApiKeyResponse.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<DatasetApiKeyResponse>> initDatasetApiKeyAsync() {
+        return executeWithRetryAsync(() -> initDatasetApiKeySpec().bodyAsync(DatasetApiKeyResponse.class))
+                .thenApply(DifyServerDefaultClient::singletonOrNull);
+    }
+
+    private ResponseSpec initDatasetApiKeySpec() {
+        return httpClient.post()
+                .uri(ServerUriConstant.DATASETS + "/api-keys")
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
+    }
+
+    private static <T> List<T> singletonOrNull(T apiKey) {
+        if (apiKey != null) {
+            List<T> apiKeys = new ArrayList<>();
+            apiKeys.add(apiKey);
+            return apiKeys;
         } else {
             return null;
         }
@@ -330,297 +435,303 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
 
     @Override
     public void deleteDatasetApiKey(String apiKeyId) {
-        executeWithRetry(
-                () -> httpClient.delete()
-                        .uri(ServerUriConstant.DATASET_API_KEYS, apiKeyId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(Void.class)
-        );
+        executeWithRetry(() -> deleteDatasetApiKeySpec(apiKeyId).body(Void.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDatasetApiKeyAsync(String apiKeyId) {
+        return executeWithRetryAsync(() -> deleteDatasetApiKeySpec(apiKeyId).bodyAsync(Void.class));
+    }
+
+    private ResponseSpec deleteDatasetApiKeySpec(String apiKeyId) {
+        return httpClient.delete()
+                .uri(ServerUriConstant.DATASET_API_KEYS, apiKeyId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DifyPageResult<ChatConversationResponse> chatConversations(ChatConversationsRequest request) {
-        return executeWithRetry(
-                () -> httpClient.get()
-                        .uri(uriBuilder -> uriBuilder
-                                .path(ServerUriConstant.APPS + "/{appId}/chat-conversations")
-                                .queryParam("page", request.getPage())
-                                .queryParam("limit", request.getLimit())
-                                .queryParamIfPresent("start", Optional.ofNullable(request.getStart()))
-                                .queryParamIfPresent("end", Optional.ofNullable(request.getEnd()))
-                                .queryParamIfPresent("sort_by", Optional.ofNullable(request.getSortBy()))
-                                .queryParamIfPresent("annotation_status", Optional.ofNullable(request.getAnnotationStatus()))
-                                .build(request.getAppId()))
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(new TypeReference<DifyPageResult<ChatConversationResponse>>() {
-                        })
-        );
+        return executeWithRetry(() -> chatConversationsSpec(request)
+                .body(new TypeReference<DifyPageResult<ChatConversationResponse>>() {
+                }));
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<ChatConversationResponse>> chatConversationsAsync(ChatConversationsRequest request) {
+        return executeWithRetryAsync(() -> chatConversationsSpec(request)
+                .bodyAsync(new TypeReference<DifyPageResult<ChatConversationResponse>>() {
+                }));
+    }
+
+    private ResponseSpec chatConversationsSpec(ChatConversationsRequest request) {
+        return httpClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(ServerUriConstant.APPS + "/{appId}/chat-conversations")
+                        .queryParam("page", request.getPage())
+                        .queryParam("limit", request.getLimit())
+                        .queryParamIfPresent("start", Optional.ofNullable(request.getStart()))
+                        .queryParamIfPresent("end", Optional.ofNullable(request.getEnd()))
+                        .queryParamIfPresent("sort_by", Optional.ofNullable(request.getSortBy()))
+                        .queryParamIfPresent("annotation_status", Optional.ofNullable(request.getAnnotationStatus()))
+                        .build(request.getAppId()))
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void workflowsPublish(String appId) {
-        executeWithRetry(
-                () -> httpClient.post()
-                        .uri(ServerUriConstant.APPS + "/{appId}/workflows/publish", appId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(Void.class)
-        );
+        executeWithRetry(() -> workflowsPublishSpec(appId).body(Void.class));
     }
 
     @Override
-    public List<DailyConversationsResponse> dailyConversations(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    DailyConversationsResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.DAILY_CONVERSATIONS)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<DailyConversationsResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public CompletableFuture<Void> workflowsPublishAsync(String appId) {
+        return executeWithRetryAsync(() -> workflowsPublishSpec(appId).bodyAsync(Void.class));
+    }
+
+    private ResponseSpec workflowsPublishSpec(String appId) {
+        return httpClient.post()
+                .uri(ServerUriConstant.APPS + "/{appId}/workflows/publish", appId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
-    public List<DailyWorkflowConversationsResponse> dailyWorkflowConversations(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    DailyWorkflowConversationsResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.WORKFLOW_DAILY_CONVERSATIONS)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<DailyWorkflowConversationsResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public List<DailyConversationsResponse> dailyConversations(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.DAILY_CONVERSATIONS, appId, start, end)
+                .body(new TypeReference<DailyConversationsResultResponse>() {
+                }), DailyConversationsResultResponse::getData));
     }
 
     @Override
-    public List<DailyEndUsersResponse> dailyEndUsers(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    DailyEndUsersResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.DAILY_END_USERS)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<DailyEndUsersResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public CompletableFuture<List<DailyConversationsResponse>> dailyConversationsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.DAILY_CONVERSATIONS, appId, start, end)
+                .bodyAsync(new TypeReference<DailyConversationsResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, DailyConversationsResultResponse::getData));
     }
 
     @Override
-    public List<AverageSessionInteractionsResponse> averageSessionInteractions(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    AverageSessionInteractionsResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.AVERAGE_SESSION_INTERACTIONS)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<AverageSessionInteractionsResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public List<DailyWorkflowConversationsResponse> dailyWorkflowConversations(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.WORKFLOW_DAILY_CONVERSATIONS, appId, start, end)
+                .body(new TypeReference<DailyWorkflowConversationsResultResponse>() {
+                }), DailyWorkflowConversationsResultResponse::getData));
     }
 
     @Override
-    public List<TokensPerSecondResponse> tokensPerSecond(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    TokensPerSecondResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.TOKENS_PER_SECOND)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<TokensPerSecondResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public CompletableFuture<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversationsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.WORKFLOW_DAILY_CONVERSATIONS, appId, start, end)
+                .bodyAsync(new TypeReference<DailyWorkflowConversationsResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, DailyWorkflowConversationsResultResponse::getData));
     }
 
     @Override
-    public List<UserSatisfactionRateResponse> userSatisfactionRate(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    UserSatisfactionRateResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.USER_SATISFACTION_RATE)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<UserSatisfactionRateResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public List<DailyEndUsersResponse> dailyEndUsers(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.DAILY_END_USERS, appId, start, end)
+                .body(new TypeReference<DailyEndUsersResultResponse>() {
+                }), DailyEndUsersResultResponse::getData));
     }
 
     @Override
-    public List<TokenCostsResponse> tokenCosts(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    TokenCostsResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.TOKEN_COSTS)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<TokenCostsResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public CompletableFuture<List<DailyEndUsersResponse>> dailyEndUsersAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.DAILY_END_USERS, appId, start, end)
+                .bodyAsync(new TypeReference<DailyEndUsersResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, DailyEndUsersResultResponse::getData));
     }
 
     @Override
-    public List<DailyMessagesResponse> dailyMessages(String appId, java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return executeWithRetry(
-                () -> {
-                    DailyMessagesResultResponse response = httpClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path(ServerUriConstant.DAILY_MESSAGES)
-                                    .queryParam("start", start.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .queryParam("end", end.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                                    .build(appId))
-                            .headers(this::addAuthorizationHeader)
-                            .cookies(this::addAuthorizationCookies)
-                            .retrieve()
-                            .onStatus(responseErrorHandler)
-                            .body(new TypeReference<DailyMessagesResultResponse>() {
-                            });
-                    return response != null ? response.getData() : Collections.emptyList();
-                }
-        );
+    public List<AverageSessionInteractionsResponse> averageSessionInteractions(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.AVERAGE_SESSION_INTERACTIONS, appId, start, end)
+                .body(new TypeReference<AverageSessionInteractionsResultResponse>() {
+                }), AverageSessionInteractionsResultResponse::getData));
+    }
+
+    @Override
+    public CompletableFuture<List<AverageSessionInteractionsResponse>> averageSessionInteractionsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.AVERAGE_SESSION_INTERACTIONS, appId, start, end)
+                .bodyAsync(new TypeReference<AverageSessionInteractionsResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, AverageSessionInteractionsResultResponse::getData));
+    }
+
+    @Override
+    public List<TokensPerSecondResponse> tokensPerSecond(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.TOKENS_PER_SECOND, appId, start, end)
+                .body(new TypeReference<TokensPerSecondResultResponse>() {
+                }), TokensPerSecondResultResponse::getData));
+    }
+
+    @Override
+    public CompletableFuture<List<TokensPerSecondResponse>> tokensPerSecondAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.TOKENS_PER_SECOND, appId, start, end)
+                .bodyAsync(new TypeReference<TokensPerSecondResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, TokensPerSecondResultResponse::getData));
+    }
+
+    @Override
+    public List<UserSatisfactionRateResponse> userSatisfactionRate(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.USER_SATISFACTION_RATE, appId, start, end)
+                .body(new TypeReference<UserSatisfactionRateResultResponse>() {
+                }), UserSatisfactionRateResultResponse::getData));
+    }
+
+    @Override
+    public CompletableFuture<List<UserSatisfactionRateResponse>> userSatisfactionRateAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.USER_SATISFACTION_RATE, appId, start, end)
+                .bodyAsync(new TypeReference<UserSatisfactionRateResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, UserSatisfactionRateResultResponse::getData));
+    }
+
+    @Override
+    public List<TokenCostsResponse> tokenCosts(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.TOKEN_COSTS, appId, start, end)
+                .body(new TypeReference<TokenCostsResultResponse>() {
+                }), TokenCostsResultResponse::getData));
+    }
+
+    @Override
+    public CompletableFuture<List<TokenCostsResponse>> tokenCostsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.TOKEN_COSTS, appId, start, end)
+                .bodyAsync(new TypeReference<TokenCostsResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, TokenCostsResultResponse::getData));
+    }
+
+    @Override
+    public List<DailyMessagesResponse> dailyMessages(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetry(() -> statisticsData(statisticsSpec(ServerUriConstant.DAILY_MESSAGES, appId, start, end)
+                .body(new TypeReference<DailyMessagesResultResponse>() {
+                }), DailyMessagesResultResponse::getData));
+    }
+
+    @Override
+    public CompletableFuture<List<DailyMessagesResponse>> dailyMessagesAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return executeWithRetryAsync(() -> statisticsSpec(ServerUriConstant.DAILY_MESSAGES, appId, start, end)
+                .bodyAsync(new TypeReference<DailyMessagesResultResponse>() {
+                }))
+                .thenApply(response -> statisticsData(response, DailyMessagesResultResponse::getData));
+    }
+
+    private ResponseSpec statisticsSpec(String path, String appId, LocalDateTime start, LocalDateTime end) {
+        return httpClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(path)
+                        .queryParam("start", start.format(STATISTICS_TIME_FORMATTER))
+                        .queryParam("end", end.format(STATISTICS_TIME_FORMATTER))
+                        .build(appId))
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
+    }
+
+    private static <R, T> List<T> statisticsData(R response, Function<R, List<T>> data) {
+        return response != null ? data.apply(response) : Collections.emptyList();
     }
 
     @Override
     public DocumentIndexingStatusResponse getDatasetIndexingStatus(String datasetId) {
-        return executeWithRetry(() ->
-                httpClient
-                        .get()
-                        .uri(ServerUriConstant.DATASET_INDEXING_STATUS, datasetId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(DocumentIndexingStatusResponse.class));
+        return executeWithRetry(() -> getDatasetIndexingStatusSpec(datasetId).body(DocumentIndexingStatusResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse> getDatasetIndexingStatusAsync(String datasetId) {
+        return executeWithRetryAsync(() -> getDatasetIndexingStatusSpec(datasetId).bodyAsync(DocumentIndexingStatusResponse.class));
+    }
+
+    private ResponseSpec getDatasetIndexingStatusSpec(String datasetId) {
+        return httpClient
+                .get()
+                .uri(ServerUriConstant.DATASET_INDEXING_STATUS, datasetId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DocumentIndexingStatusResponse.ProcessingStatus getDocumentIndexingStatus(String datasetId, String documentId) {
-        return executeWithRetry(() -> {
-            Map<String, Object> uriVariables = new HashMap<>();
-            uriVariables.put("datasetId", datasetId);
-            uriVariables.put("documentId", documentId);
-            return httpClient
-                    .get()
-                    .uri(ServerUriConstant.DOCUMENT_INDEXING_STATUS, uriVariables)
-                    .headers(this::addAuthorizationHeader)
-                    .cookies(this::addAuthorizationCookies)
-                    .retrieve()
-                    .onStatus(responseErrorHandler)
-                    .body(DocumentIndexingStatusResponse.ProcessingStatus.class);
-        });
+        return executeWithRetry(() -> getDocumentIndexingStatusSpec(datasetId, documentId)
+                .body(DocumentIndexingStatusResponse.ProcessingStatus.class));
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatusAsync(String datasetId, String documentId) {
+        return executeWithRetryAsync(() -> getDocumentIndexingStatusSpec(datasetId, documentId)
+                .bodyAsync(DocumentIndexingStatusResponse.ProcessingStatus.class));
+    }
+
+    private ResponseSpec getDocumentIndexingStatusSpec(String datasetId, String documentId) {
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("datasetId", datasetId);
+        uriVariables.put("documentId", documentId);
+        return httpClient
+                .get()
+                .uri(ServerUriConstant.DOCUMENT_INDEXING_STATUS, uriVariables)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public DatasetErrorDocumentsResponse getDatasetErrorDocuments(String datasetId) {
-        return executeWithRetry(() ->
-                httpClient
-                        .get()
-                        .uri(ServerUriConstant.DATASET_ERROR_DOCUMENTS, datasetId)
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(DatasetErrorDocumentsResponse.class));
+        return executeWithRetry(() -> getDatasetErrorDocumentsSpec(datasetId).body(DatasetErrorDocumentsResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<DatasetErrorDocumentsResponse> getDatasetErrorDocumentsAsync(String datasetId) {
+        return executeWithRetryAsync(() -> getDatasetErrorDocumentsSpec(datasetId).bodyAsync(DatasetErrorDocumentsResponse.class));
+    }
+
+    private ResponseSpec getDatasetErrorDocumentsSpec(String datasetId) {
+        return httpClient
+                .get()
+                .uri(ServerUriConstant.DATASET_ERROR_DOCUMENTS, datasetId)
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public void retryDocumentIndexing(DocumentRetryRequest request) {
+        executeWithRetry(() -> retryDocumentIndexingSpec(request).toBodilessEntity());
+    }
+
+    @Override
+    public CompletableFuture<Void> retryDocumentIndexingAsync(DocumentRetryRequest request) {
+        return executeWithRetryAsync(() -> retryDocumentIndexingSpec(request).toBodilessEntityAsync())
+                .thenApply(response -> null);
+    }
+
+    private ResponseSpec retryDocumentIndexingSpec(DocumentRetryRequest request) {
         // 创建只包含document_ids的请求体
         Map<String, List<String>> requestBody = new HashMap<>();
         requestBody.put("document_ids", request.getDocumentIds());
 
-        executeWithRetry(() ->
-                httpClient
-                        .post()
-                        .uri(ServerUriConstant.DOCUMENT_RETRY, request.getDatasetId())
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .body(requestBody)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .toBodilessEntity());
+        return httpClient
+                .post()
+                .uri(ServerUriConstant.DOCUMENT_RETRY, request.getDatasetId())
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .body(requestBody)
+                .retrieve()
+                .onStatus(responseErrorHandler);
     }
 
     private void appPages(String mode, String name, int page, List<AppsResponse> result) {
-        AppsResponseResult response = executeWithRetry(
-                () -> httpClient.get()
-                        .uri(uriBuilder -> uriBuilder
-                                .path(ServerUriConstant.APPS)
-                                .queryParam("page", page)
-                                .queryParam("limit", 100)
-                                .queryParamIfPresent("mode", Optional.ofNullable(mode).filter(m -> !m.isEmpty()))
-                                .queryParamIfPresent("name", Optional.ofNullable(name).filter(m -> !m.isEmpty()))
-                                .build())
-                        .headers(this::addAuthorizationHeader)
-                        .cookies(this::addAuthorizationCookies)
-                        .retrieve()
-                        .onStatus(responseErrorHandler)
-                        .body(AppsResponseResult.class)
-        );
+        AppsResponseResult response = executeWithRetry(() -> appPageSpec(mode, name, page).body(AppsResponseResult.class));
 
         if (response == null) {
             return;
@@ -635,6 +746,39 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
         }
     }
 
+    private CompletableFuture<List<AppsResponse>> appPagesAsync(String mode, String name, int page, List<AppsResponse> result) {
+        return executeWithRetryAsync(() -> appPageSpec(mode, name, page).bodyAsync(AppsResponseResult.class))
+                .thenCompose(response -> {
+                    if (response == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    List<AppsResponse> data = response.getData();
+                    if (data != null) {
+                        result.addAll(data);
+                    }
+
+                    if (Boolean.TRUE.equals(response.getHasMore())) {
+                        return appPagesAsync(mode, name, page + 1, result);
+                    }
+                    return CompletableFuture.completedFuture(result);
+                });
+    }
+
+    private ResponseSpec appPageSpec(String mode, String name, int page) {
+        return httpClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(ServerUriConstant.APPS)
+                        .queryParam("page", page)
+                        .queryParam("limit", 100)
+                        .queryParamIfPresent("mode", Optional.ofNullable(mode).filter(m -> !m.isEmpty()))
+                        .queryParamIfPresent("name", Optional.ofNullable(name).filter(m -> !m.isEmpty()))
+                        .build())
+                .headers(this::addAuthorizationHeader)
+                .cookies(this::addAuthorizationCookies)
+                .retrieve()
+                .onStatus(responseErrorHandler);
+    }
+
     private void addAuthorizationHeader(io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders headers) {
         difyServerToken.addAuthorizationHeader(headers, this);
     }
@@ -647,8 +791,21 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
         return difyServerToken.executeWithRetry(supplier, this);
     }
 
+    private <T> CompletableFuture<T> executeWithRetryAsync(RequestSupplier<CompletableFuture<T>> supplier) {
+        return difyServerToken.executeWithRetryAsync(supplier, this);
+    }
+
     @Override
     public LoginResponse login() {
+        return loginResult(loginSpec().toEntity(LoginResultResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<LoginResponse> loginAsync() {
+        return loginSpec().toEntityAsync(LoginResultResponse.class).thenApply(this::loginResult);
+    }
+
+    private ResponseSpec loginSpec() {
         Assert.notNull(difyServerProperties, "The difyServerProperties can not be null.");
         DifyLoginRequest requestVO = DifyLoginRequest.build(
                 difyServerProperties.getEmail(),
@@ -657,33 +814,37 @@ public class DifyServerDefaultClient extends BaseDifyDefaultClient implements Di
         if (difyServerProperties.getPasswordEncryption() && !StrUtil.isEmpty(difyServerProperties.getPassword())) {
             requestVO.setPassword(Base64.getEncoder().encodeToString(difyServerProperties.getPassword().getBytes()));
         }
-        // 发送请求并获取完整 ResponseEntity
-        ResponseEntity<LoginResultResponse> responseEntity = httpClient.post()
+        return httpClient.post()
                 .uri(ServerUriConstant.LOGIN)
                 .body(requestVO)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toEntity(LoginResultResponse.class);
-        // 获取 Set-Cookie 头
-        List<String> setCookies = responseEntity.getHeaders().getOrEmpty("Set-Cookie");
-        // 处理结果
-        LoginResultResponse result = responseEntity.getBody();
-        return processLoginResult(result, setCookies);
+                .onStatus(responseErrorHandler);
     }
 
     @Override
     public LoginResponse refreshToken(String refreshToken) {
+        return loginResult(refreshTokenSpec(refreshToken).toEntity(LoginResultResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<LoginResponse> refreshTokenAsync(String refreshToken) {
+        return refreshTokenSpec(refreshToken).toEntityAsync(LoginResultResponse.class).thenApply(this::loginResult);
+    }
+
+    private ResponseSpec refreshTokenSpec(String refreshToken) {
         Map<String, String> requestVO = new HashMap<>(1);
         requestVO.put("refresh_token", refreshToken);
-        ResponseEntity<LoginResultResponse> responseEntity = httpClient.post()
+        return httpClient.post()
                 .uri(ServerUriConstant.REFRESH_TOKEN)
                 // support Https
                 .cookie("__Host-refresh_token", refreshToken)
                 .cookie("refresh_token", refreshToken)
                 .body(requestVO)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .toEntity(LoginResultResponse.class);
+                .onStatus(responseErrorHandler);
+    }
+
+    private LoginResponse loginResult(ResponseEntity<LoginResultResponse> responseEntity) {
         // 获取 Set-Cookie 头
         List<String> setCookies = responseEntity.getHeaders().getOrEmpty("Set-Cookie");
         // 处理结果
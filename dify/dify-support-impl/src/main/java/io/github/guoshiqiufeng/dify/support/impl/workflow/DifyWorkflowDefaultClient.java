@@ -15,10 +15,14 @@
  */
 package io.github.guoshiqiufeng.dify.support.impl.workflow;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
+import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.core.bean.BeanUtils;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.enums.ResponseModeEnum;
@@ -27,18 +31,29 @@ import io.github.guoshiqiufeng.dify.core.pojo.request.ChatMessageVO;
 import io.github.guoshiqiufeng.dify.core.utils.CollUtil;
 import io.github.guoshiqiufeng.dify.core.utils.StrUtil;
 import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
+import io.github.guoshiqiufeng.dify.support.impl.dto.workflow.WorkflowRunStreamResponseDeserializer;
 import io.github.guoshiqiufeng.dify.support.impl.dto.workflow.WorkflowRunStreamResponseDto;
 import io.github.guoshiqiufeng.dify.workflow.client.DifyWorkflowClient;
 import io.github.guoshiqiufeng.dify.workflow.constant.WorkflowConstant;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.stream.WorkflowFinishedData;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.workflow.stream.WorkflowRunAggregator;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -48,62 +63,223 @@ import java.util.stream.Collectors;
  */
 public class DifyWorkflowDefaultClient extends BaseDifyDefaultClient implements DifyWorkflowClient {
 
+    private static final String WORKFLOW_OPERATION = "workflow";
+
+    /**
+     * Events needed to assemble a blocking response from the stream
+     */
+    private static final Set<StreamEventEnum> BLOCKING_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            StreamEventEnum.workflow_started, StreamEventEnum.text_chunk, StreamEventEnum.workflow_finished));
+
+    /**
+     * DTOs of the main calls, primed on warm-up
+     */
+    private static final List<Class<?>> CODEC_TYPES = Collections.unmodifiableList(Arrays.asList(
+            ChatMessageVO.class, WorkflowRunResponse.class, WorkflowRunStreamResponseDto.class, WorkflowInfoResponse.class));
+
+    private final boolean blockingOverStreaming;
+
+    private StreamMetricsListener streamMetricsListener = StreamMetricsListener.NOOP;
+
+    private TokenBudgetController tokenBudget;
+
     public DifyWorkflowDefaultClient(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param httpClient   the HTTP client
+     * @param clientConfig the client configuration, used for {@code blockingOverStreaming} and {@code tokenBudget}
+     */
+    public DifyWorkflowDefaultClient(HttpClient httpClient, DifyProperties.ClientConfig clientConfig) {
         super(httpClient);
+        this.blockingOverStreaming = isBlockingOverStreaming(clientConfig);
+        this.tokenBudget = TokenBudgetController.of(clientConfig);
     }
 
     public DifyWorkflowDefaultClient(String baseUrl, DifyProperties.ClientConfig clientConfig,
                                      HttpClientFactory httpClientFactory) {
         super(baseUrl, clientConfig, httpClientFactory);
+        this.blockingOverStreaming = isBlockingOverStreaming(clientConfig);
+        this.tokenBudget = TokenBudgetController.of(clientConfig);
+    }
+
+    /**
+     * Set the listener receiving time-to-first-token and duration of streaming calls.
+     *
+     * @param streamMetricsListener the listener, null disables reporting
+     */
+    public void setStreamMetricsListener(StreamMetricsListener streamMetricsListener) {
+        this.streamMetricsListener = streamMetricsListener != null ? streamMetricsListener : StreamMetricsListener.NOOP;
+    }
+
+    /**
+     * Set the controller admitting workflow runs by the tokens consumed per API key and user, shared with other
+     * clients to enforce one budget.
+     *
+     * @param tokenBudget the controller, null disables the token budget
+     */
+    public void setTokenBudgetController(TokenBudgetController tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    @Override
+    protected List<Class<?>> getCodecTypes() {
+        return CODEC_TYPES;
     }
 
 
     @Override
     public WorkflowRunResponse runWorkflow(WorkflowRunRequest request) {
+        if (blockingOverStreaming) {
+            return runWorkflowOverStreaming(request).block();
+        }
+        if (tokenBudget != null) {
+            return tokenBudget.execute(request.getApiKey(), request.getUserId(),
+                    () -> runWorkflowSpec(request).body(WorkflowRunResponse.class),
+                    DifyWorkflowDefaultClient::usageTokens);
+        }
+        return runWorkflowSpec(request).body(WorkflowRunResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowRunResponse> runWorkflowAsync(WorkflowRunRequest request) {
+        if (blockingOverStreaming) {
+            return runWorkflowOverStreaming(request).toFuture();
+        }
+        if (tokenBudget != null) {
+            return tokenBudget.executeAsync(request.getApiKey(), request.getUserId(),
+                    () -> runWorkflowSpec(request).bodyAsync(WorkflowRunResponse.class),
+                    DifyWorkflowDefaultClient::usageTokens);
+        }
+        return runWorkflowSpec(request).bodyAsync(WorkflowRunResponse.class);
+    }
+
+    private ResponseSpec runWorkflowSpec(WorkflowRunRequest request) {
         ChatMessageVO chatMessage = builderChatMessage(ResponseModeEnum.blocking, request);
         return httpClient.post()
                 .uri(WorkflowConstant.WORKFLOW_RUN_URL)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .body(chatMessage)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(WorkflowRunResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request) {
+        return runWorkflowStream(request, null, null);
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events) {
+        return runWorkflowStream(request, events, null);
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                             StreamTimeout streamTimeout) {
+        // the budget needs the usage of workflow_finished, so it is requested and dropped again if not asked for
+        boolean hideUsage = tokenBudget != null && !CollUtil.isEmpty(events)
+                && !events.contains(StreamEventEnum.workflow_finished);
+        Set<StreamEventEnum> requestedEvents = events;
+        if (hideUsage) {
+            requestedEvents = EnumSet.copyOf(events);
+            requestedEvents.add(StreamEventEnum.workflow_finished);
+        }
+        Set<StreamEventEnum> streamEvents = requestedEvents;
+        Flux<WorkflowRunStreamResponse> stream = withTokenBudget(request,
+                () -> runWorkflowStreamFlux(request, streamEvents, streamTimeout));
+        if (hideUsage) {
+            return stream.filter(response -> response.getEvent() != StreamEventEnum.workflow_finished);
+        }
+        return stream;
+    }
+
+    private Flux<WorkflowRunStreamResponse> runWorkflowStreamFlux(WorkflowRunRequest request,
+                                                                  Set<StreamEventEnum> events,
+                                                                  StreamTimeout streamTimeout) {
         ChatMessageVO chatMessage = builderChatMessage(ResponseModeEnum.streaming, request);
 
-        return httpClient.post()
+        ResponseSpec responseSpec = httpClient.post()
                 .uri(WorkflowConstant.WORKFLOW_RUN_URL)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .body(chatMessage)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .bodyToFlux(WorkflowRunStreamResponseDto.class)
-                .mapNotNull(dto -> {
-                    if (dto.getData() == null) {
-                        return null;
-                    }
-                    return dto.getData();
-                });
+                .onStatus(responseErrorHandler);
+        if (streamTimeout != null) {
+            responseSpec = responseSpec.streamTimeout(streamTimeout);
+        }
+        if (CollUtil.isEmpty(events)) {
+            return responseSpec.bodyToFlux(WorkflowRunStreamResponseDto.class)
+                    .mapNotNull(WorkflowRunStreamResponseDto::getData);
+        }
+        return responseSpec.bodyToFlux(new WorkflowRunStreamResponseDeserializer(events))
+                .mapNotNull(WorkflowRunStreamResponseDto::getData);
     }
 
+    /**
+     * Serve a blocking workflow run over the streaming endpoint.
+     * The connection is kept alive by ping events, so the call is bound by the SSE read timeout
+     * instead of the regular read timeout.
+     */
+    private Mono<WorkflowRunResponse> runWorkflowOverStreaming(WorkflowRunRequest request) {
+        Flux<WorkflowRunStreamResponse> stream = streamMetricsListener.instrument(
+                runWorkflowStream(request, BLOCKING_EVENTS), WORKFLOW_OPERATION,
+                response -> response.getEvent() == StreamEventEnum.text_chunk);
+        return WorkflowRunAggregator.aggregate(stream);
+    }
+
+    private Flux<WorkflowRunStreamResponse> withTokenBudget(WorkflowRunRequest request,
+                                                            Supplier<Flux<WorkflowRunStreamResponse>> call) {
+        if (tokenBudget == null) {
+            return call.get();
+        }
+        return tokenBudget.executeFlux(request.getApiKey(), request.getUserId(), call, response ->
+                response.getData() instanceof WorkflowFinishedData
+                        ? ((WorkflowFinishedData) response.getData()).getTotalTokens() : null);
+    }
+
+    private static Integer usageTokens(WorkflowRunResponse response) {
+        return response.getData() != null ? response.getData().getTotalTokens() : null;
+    }
+
+    private static boolean isBlockingOverStreaming(DifyProperties.ClientConfig clientConfig) {
+        return clientConfig != null && Boolean.TRUE.equals(clientConfig.getBlockingOverStreaming());
+    }
 
     @Override
     public WorkflowInfoResponse info(String workflowRunId, String apiKey) {
+        return infoSpec(workflowRunId, apiKey).body(WorkflowInfoResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowInfoResponse> infoAsync(String workflowRunId, String apiKey) {
+        return infoSpec(workflowRunId, apiKey).bodyAsync(WorkflowInfoResponse.class);
+    }
+
+    private ResponseSpec infoSpec(String workflowRunId, String apiKey) {
         return httpClient.get()
                 .uri(WorkflowConstant.WORKFLOW_RUN_URL + "/{workflowRunId}", workflowRunId)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(WorkflowInfoResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public WorkflowStopResponse stopWorkflowStream(String apiKey, String taskId, String userId) {
+        return stopWorkflowStreamSpec(apiKey, taskId, userId).body(WorkflowStopResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowStopResponse> stopWorkflowStreamAsync(String apiKey, String taskId, String userId) {
+        return stopWorkflowStreamSpec(apiKey, taskId, userId).bodyAsync(WorkflowStopResponse.class);
+    }
+
+    private ResponseSpec stopWorkflowStreamSpec(String apiKey, String taskId, String userId) {
         Map<String, String> body = new java.util.HashMap<>();
         body.put("user", userId);
         return httpClient.post()
@@ -111,13 +287,23 @@ public class DifyWorkflowDefaultClient extends BaseDifyDefaultClient implements
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .body(body)
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(WorkflowStopResponse.class);
+                .onStatus(responseErrorHandler);
     }
 
 
     @Override
     public DifyPageResult<WorkflowLogs> logs(WorkflowLogsRequest request) {
+        return logsSpec(request).body(new TypeReference<DifyPageResult<WorkflowLogs>>() {
+        });
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<WorkflowLogs>> logsAsync(WorkflowLogsRequest request) {
+        return logsSpec(request).bodyAsync(new TypeReference<DifyPageResult<WorkflowLogs>>() {
+        });
+    }
+
+    private ResponseSpec logsSpec(WorkflowLogsRequest request) {
         if (request.getPage() == null) {
             request.setPage(1);
         }
@@ -135,10 +321,7 @@ public class DifyWorkflowDefaultClient extends BaseDifyDefaultClient implements
                 )
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + request.getApiKey())
                 .retrieve()
-                .onStatus(responseErrorHandler)
-                .body(new TypeReference<DifyPageResult<WorkflowLogs>>() {
-                });  // 转为同步调用
-
+                .onStatus(responseErrorHandler);
     }
 
     private ChatMessageVO builderChatMessage(ResponseModeEnum responseMode, WorkflowRunRequest request) {
@@ -25,13 +25,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.Closeable;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * Unit tests for BaseDifyDefaultClient
@@ -172,6 +175,17 @@ class BaseDifyDefaultClientTest {
         assertTrue(statusPredicate.test(302)); // Found
     }
 
+    @Test
+    void testErrorHandlerStatusPredicate_NotModified() {
+        // Arrange
+        HttpClient mockHttpClient = mock(HttpClient.class);
+        BaseDifyDefaultClient client = new BaseDifyDefaultClient(mockHttpClient);
+        Predicate<Integer> statusPredicate = client.responseErrorHandler.getStatusPredicate();
+
+        // Act & Assert
+        assertTrue(statusPredicate.test(304)); // Not Modified, only expected by the response cache, which hides it
+    }
+
     @Test
     void testErrorHandler_401Unauthorized() {
         // Arrange
@@ -320,4 +334,26 @@ class BaseDifyDefaultClientTest {
 
         assertNotNull(exception);
     }
+
+    @Test
+    void testCloseClosesCloseableHttpClient() throws Exception {
+        // Arrange
+        HttpClient mockHttpClient = mock(HttpClient.class, withSettings().extraInterfaces(Closeable.class));
+        BaseDifyDefaultClient client = new BaseDifyDefaultClient(mockHttpClient);
+
+        // Act
+        client.close();
+
+        // Assert
+        verify((Closeable) mockHttpClient).close();
+    }
+
+    @Test
+    void testCloseIgnoresHttpClientWithoutResources() {
+        // Arrange
+        BaseDifyDefaultClient client = new BaseDifyDefaultClient(mock(HttpClient.class));
+
+        // Act & Assert
+        assertDoesNotThrow(client::close);
+    }
 }
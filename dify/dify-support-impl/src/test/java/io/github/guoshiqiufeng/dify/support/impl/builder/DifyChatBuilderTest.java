@@ -16,6 +16,7 @@
 package io.github.guoshiqiufeng.dify.support.impl.builder;
 
 import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.chat.ReactiveDifyChat;
 import io.github.guoshiqiufeng.dify.chat.client.DifyChatClient;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
@@ -52,6 +53,18 @@ class DifyChatBuilderTest {
         assertNotNull(difyChat);
     }
 
+    @Test
+    void testCreateReactive() {
+        // Arrange
+        DifyChat difyChat = mock(DifyChat.class);
+
+        // Act
+        ReactiveDifyChat reactiveDifyChat = DifyChatBuilder.createReactive(difyChat);
+
+        // Assert
+        assertNotNull(reactiveDifyChat);
+    }
+
     @Test
     void testCreateClient() {
         // Arrange
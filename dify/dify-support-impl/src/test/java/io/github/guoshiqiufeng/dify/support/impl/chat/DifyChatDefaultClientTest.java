@@ -20,19 +20,26 @@ import io.github.guoshiqiufeng.dify.chat.dto.request.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.*;
 import io.github.guoshiqiufeng.dify.chat.enums.AnnotationReplyActionEnum;
 import io.github.guoshiqiufeng.dify.chat.enums.IconTypeEnum;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetExceededException;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.http.*;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.core.web.client.ResponseSpec;
 import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
 import io.github.guoshiqiufeng.dify.client.integration.spring.file.DifyFileConverter;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyResult;
 import io.github.guoshiqiufeng.dify.core.pojo.request.ChatMessageVO;
 import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
 import io.github.guoshiqiufeng.dify.dataset.constant.DatasetUriConstant;
 import io.github.guoshiqiufeng.dify.support.impl.BaseClientTest;
+import io.github.guoshiqiufeng.dify.support.impl.dto.chat.ChatMessageSendCompletionResponseDeserializer;
 import io.github.guoshiqiufeng.dify.support.impl.dto.chat.ChatMessageSendCompletionResponseDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -43,13 +50,19 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -307,6 +320,178 @@ public class DifyChatDefaultClientTest extends BaseClientTest {
         verify(requestBodySpecMock).body(any(ChatMessageVO.class));
     }
 
+    @Test
+    @DisplayName("Test streamingChat method with event filter")
+    @SuppressWarnings("unchecked")
+    public void testStreamingChatWithEventFilter() {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent("message_end");
+        response.setId("chat-123");
+
+        ChatMessageSendCompletionResponseDto dto = new ChatMessageSendCompletionResponseDto();
+        dto.setData(response);
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class))).thenReturn(Flux.just(dto));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        Flux<ChatMessageSendCompletionResponse> responseFlux =
+                client.streamingChat(request, EnumSet.of(StreamEventEnum.message_end));
+
+        StepVerifier.create(responseFlux)
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(requestBodyUriSpecMock).uri(ChatUriConstant.V1_CHAT_MESSAGES_URI);
+        verify(responseSpecMock).bodyToFlux(any(ChatMessageSendCompletionResponseDeserializer.class));
+        verify(responseSpecMock, never()).bodyToFlux(ChatMessageSendCompletionResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Test streamingChat method passes the stream timeout to the response spec")
+    public void testStreamingChatWithStreamTimeout() {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent("message_end");
+        response.setId("chat-123");
+
+        ChatMessageSendCompletionResponseDto dto = new ChatMessageSendCompletionResponseDto();
+        dto.setData(response);
+
+        StreamTimeout timeout = StreamTimeout.of(Duration.ofSeconds(30), Duration.ofMinutes(5));
+        when(responseSpecMock.streamTimeout(any())).thenReturn(responseSpecMock);
+        when(responseSpecMock.bodyToFlux(ChatMessageSendCompletionResponseDto.class)).thenReturn(Flux.just(dto));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        StepVerifier.create(client.streamingChat(request, null, timeout))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(responseSpecMock).streamTimeout(timeout);
+        verify(responseSpecMock).bodyToFlux(ChatMessageSendCompletionResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Test chat method aggregates the stream when blocking over streaming is enabled")
+    @SuppressWarnings("unchecked")
+    public void testChatOverStreaming() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setBlockingOverStreaming(true);
+        DifyChatDefaultClient streamingClient = new DifyChatDefaultClient(httpClientMock, clientConfig);
+        StreamMetricsListener listener = mock(StreamMetricsListener.class);
+        when(listener.instrument(any(Flux.class), anyString(), any())).thenCallRealMethod();
+        streamingClient.setStreamMetricsListener(listener);
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class))).thenReturn(Flux.just(
+                completionDto("message", "Hello, "),
+                completionDto("message", "Dify!"),
+                completionDto("message_end", null)));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        ChatMessageSendResponse response = streamingClient.chat(request);
+
+        assertEquals("Hello, Dify!", response.getAnswer());
+        assertEquals("msg-123", response.getMessageId());
+        assertEquals("conv-123", response.getConversationId());
+        verify(responseSpecMock).bodyToFlux(any(ChatMessageSendCompletionResponseDeserializer.class));
+        verify(responseSpecMock, never()).body(ChatMessageSendResponse.class);
+        verify(listener).onFirstToken(eq("chat"), any());
+        verify(listener).onComplete(eq("chat"), any(), isNull());
+    }
+
+    @Test
+    @DisplayName("Test chat method fails when the stream ends before message_end in blocking over streaming mode")
+    @SuppressWarnings("unchecked")
+    public void testChatOverStreamingWithoutMessageEnd() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setBlockingOverStreaming(true);
+        DifyChatDefaultClient streamingClient = new DifyChatDefaultClient(httpClientMock, clientConfig);
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class))).thenReturn(Flux.just(
+                completionDto("message", "Hello, "),
+                completionDto("message", "Di")));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        DifyClientException exception = assertThrows(DifyClientException.class, () -> streamingClient.chat(request));
+        assertEquals("Chat stream ended before message_end", exception.getMsg());
+    }
+
+    private static ChatMessageSendCompletionResponseDto completionDto(String event, String answer) {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent(event);
+        response.setMessageId("msg-123");
+        response.setConversationId("conv-123");
+        response.setAnswer(answer);
+        ChatMessageSendCompletionResponseDto dto = new ChatMessageSendCompletionResponseDto();
+        dto.setData(response);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Test streamingChat method records message_end usage against the token budget")
+    public void testStreamingChatWithTokenBudget() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setTokenBudget(new DifyProperties.TokenBudgetConfig(true, 100L, 0L, 0L));
+        DifyChatDefaultClient budgetClient = new DifyChatDefaultClient(httpClientMock, clientConfig);
+
+        ChatMessageSendCompletionResponseDto end = completionDto("message_end", null);
+        ChatMessageSendResponse.Usage usage = new ChatMessageSendResponse.Usage();
+        usage.setTotalTokens(150);
+        ChatMessageSendResponse.Metadata metadata = new ChatMessageSendResponse.Metadata();
+        metadata.setUsage(usage);
+        end.getData().setMetadata(metadata);
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class))).thenReturn(Flux.just(
+                completionDto("message", "Hello"), end));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        // message_end is only requested for the budget and not passed on
+        List<ChatMessageSendCompletionResponse> events = budgetClient
+                .streamingChat(request, EnumSet.of(StreamEventEnum.message)).collectList().block();
+        assertEquals(1, events.size());
+        assertEquals("message", events.get(0).getEvent());
+
+        assertThrows(TokenBudgetExceededException.class, () -> budgetClient.chat(request));
+        verify(responseSpecMock, never()).body(ChatMessageSendResponse.class);
+    }
+
+    @Test
+    @DisplayName("Test streamingChat method with empty event filter streams all events")
+    public void testStreamingChatWithEmptyEventFilter() {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent("message");
+
+        ChatMessageSendCompletionResponseDto dto = new ChatMessageSendCompletionResponseDto();
+        dto.setData(response);
+
+        when(responseSpecMock.bodyToFlux(ChatMessageSendCompletionResponseDto.class)).thenReturn(Flux.just(dto));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setContent("Hello, Dify!");
+
+        StepVerifier.create(client.streamingChat(request, Collections.emptySet()))
+                .expectNext(response)
+                .verifyComplete();
+    }
+
 
     @Test
     @DisplayName("Test stopMessagesStream method")
@@ -1460,4 +1645,94 @@ public class DifyChatDefaultClientTest extends BaseClientTest {
         verify(requestBodySpecMock).body(any(Map.class));
         verify(responseSpecMock).body(eq(ConversationVariableResponse.class));
     }
+
+    @Test
+    @DisplayName("Test chatAsync method completes with the response body")
+    public void testChatAsync() throws Exception {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("test-user-id");
+        request.setContent("Hello, how are you?");
+
+        ChatMessageSendResponse expectedResponse = new ChatMessageSendResponse();
+        expectedResponse.setId("msg-123456");
+        expectedResponse.setAnswer("I'm doing well, thank you for asking!");
+        when(responseSpecMock.bodyAsync(ChatMessageSendResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        ChatMessageSendResponse actualResponse = client.chatAsync(request).get(5, TimeUnit.SECONDS);
+
+        assertSame(expectedResponse, actualResponse);
+        verify(httpClientMock).post();
+        verify(requestBodyUriSpecMock).uri(ChatUriConstant.V1_CHAT_MESSAGES_URI);
+        verify(requestBodySpecMock).body(any(ChatMessageVO.class));
+        verify(responseSpecMock).bodyAsync(ChatMessageSendResponse.class);
+        verify(responseSpecMock, never()).body(ChatMessageSendResponse.class);
+    }
+
+    @Test
+    @DisplayName("Test chatAsync method validates the request on the calling thread")
+    public void testChatAsyncWithEmptyContent() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+
+        assertThrows(IllegalArgumentException.class, () -> client.chatAsync(request));
+        verify(httpClientMock, never()).post();
+    }
+
+    @Test
+    @DisplayName("Test chatAsync method aggregates the stream when blocking over streaming is enabled")
+    public void testChatAsyncOverStreaming() throws Exception {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setBlockingOverStreaming(true);
+        DifyChatDefaultClient streamingClient = new DifyChatDefaultClient(httpClientMock, clientConfig);
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class))).thenReturn(Flux.just(
+                completionDto("message", "Hello, "),
+                completionDto("message", "Dify!"),
+                completionDto("message_end", null)));
+
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey(TEST_API_KEY);
+        request.setUserId("user-123");
+        request.setContent("Hello, Dify!");
+
+        ChatMessageSendResponse response = streamingClient.chatAsync(request).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Hello, Dify!", response.getAnswer());
+        assertEquals("msg-123", response.getMessageId());
+        verify(responseSpecMock, never()).bodyAsync(ChatMessageSendResponse.class);
+    }
+
+    @Test
+    @DisplayName("Test messagesSuggestedAsync method maps an empty body to an empty list")
+    public void testMessagesSuggestedAsyncForEmpty() throws Exception {
+        when(responseSpecMock.bodyAsync(any(TypeReference.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        List<String> actualResponse = client.messagesSuggestedAsync("msg-123456", TEST_API_KEY, "test-user-id")
+                .get(5, TimeUnit.SECONDS);
+
+        assertNotNull(actualResponse);
+        assertTrue(actualResponse.isEmpty());
+        verify(requestHeadersUriSpecMock).uri(
+                ChatUriConstant.V1_MESSAGES_URI + "/{messageId}/suggested?user={user}",
+                "msg-123456",
+                "test-user-id"
+        );
+    }
+
+    @Test
+    @DisplayName("Test stopMessagesStreamAsync method propagates a failed response")
+    public void testStopMessagesStreamAsyncFailure() {
+        CompletableFuture<ResponseEntity<Void>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new HttpClientException(500, "Internal Server Error"));
+        when(responseSpecMock.toBodilessEntityAsync()).thenReturn(failed);
+
+        CompletableFuture<Void> future = client.stopMessagesStreamAsync(TEST_API_KEY, "task-123", "test-user-id");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        verify(requestBodyUriSpecMock).uri(ChatUriConstant.V1_CHAT_MESSAGES_URI + "/{taskId}/stop", "task-123");
+    }
 }
@@ -40,6 +40,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -2191,4 +2194,55 @@ public class DifyDatasetDefaultClientTest extends BaseClientTest {
         verify(requestHeadersSpecMock).headers(any(Consumer.class));
     }
 
+    @Test
+    public void testRetrieveAsync() throws Exception {
+        RetrieveRequest request = new RetrieveRequest();
+        request.setApiKey("test-api-key");
+        request.setDatasetId("dataset-123456");
+        request.setQuery("test query");
+
+        RetrieveResponse expectedResponse = new RetrieveResponse();
+        when(responseSpecMock.bodyAsync(RetrieveResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        CompletableFuture<RetrieveResponse> future = client.retrieveAsync(request);
+
+        assertSame(expectedResponse, future.get(1, TimeUnit.SECONDS));
+        verify(httpClientMock).post();
+        verify(responseSpecMock, never()).body(RetrieveResponse.class);
+    }
+
+    @Test
+    public void testDeleteAsyncFailure() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new HttpClientException(404, "Not Found"));
+        when(responseSpecMock.bodyAsync(Void.class)).thenReturn(failed);
+
+        CompletableFuture<Void> future = client.deleteAsync("dataset-123456", "test-api-key");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+        verify(requestHeadersUriSpecMock).uri(eq(DatasetUriConstant.V1_DATASETS_URL + "/{datasetId}"), eq("dataset-123456"));
+    }
+
+    @Test
+    public void testGetSegmentAsync() throws Exception {
+        SegmentData expectedResponse = new SegmentData();
+        expectedResponse.setId("segment-123456");
+        when(responseSpecMock.bodyAsync(SegmentDataResponseDto.class))
+                .thenReturn(CompletableFuture.completedFuture(new SegmentDataResponseDto(expectedResponse)));
+
+        SegmentData actualResponse = client.getSegmentAsync("dataset-123456", "document-123456", "segment-123456", "test-api-key")
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals("segment-123456", actualResponse.getId());
+    }
+
+    @Test
+    public void testGetSegmentAsyncWithNullBody() throws Exception {
+        when(responseSpecMock.bodyAsync(SegmentDataResponseDto.class)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertNull(client.getSegmentAsync("dataset-123456", "document-123456", "segment-123456", "test-api-key")
+                .get(1, TimeUnit.SECONDS));
+    }
 }
@@ -17,12 +17,20 @@ package io.github.guoshiqiufeng.dify.support.impl.dto.chat;
 
 import io.github.guoshiqiufeng.dify.chat.dto.response.message.EmptyData;
 import io.github.guoshiqiufeng.dify.chat.dto.response.message.WorkflowStartedData;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.codec.jackson.JacksonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.codec.jackson3.Jackson3JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -465,4 +473,208 @@ class ChatMessageSendCompletionResponseDeserializerTest {
         assertNotNull(result.getData().getMessageFiles());
         assertTrue(result.getData().getMessageFiles().isEmpty());
     }
+
+    // ========== Streaming deserialization ==========
+
+    private static final String MESSAGE_EVENT = "{\"event\":\"message\",\"task_id\":\"t-1\",\"id\":\"m-1\","
+            + "\"message_id\":\"m-1\",\"conversation_id\":\"c-1\",\"answer\":\"Hi\",\"created_at\":1705398420,"
+            + "\"from_variable_selector\":[\"node\",\"text\"],\"unknown\":{\"nested\":[1,2,{\"a\":true}]}}";
+
+    private static final String MESSAGE_END_EVENT = "{\"event\":\"message_end\",\"task_id\":\"t-1\",\"id\":\"m-1\","
+            + "\"message_id\":\"m-1\",\"conversation_id\":\"c-1\",\"metadata\":{\"usage\":{\"prompt_tokens\":10,"
+            + "\"completion_tokens\":5,\"total_tokens\":15,\"total_price\":\"0.001\",\"currency\":\"USD\",\"latency\":1.25},"
+            + "\"retriever_resources\":[{\"position\":1,\"dataset_id\":\"d-1\",\"score\":0.5,\"content\":\"text\"}]}}";
+
+    private static final String AGENT_THOUGHT_EVENT = "{\"event\":\"agent_thought\",\"id\":\"a-1\",\"task_id\":\"t-1\","
+            + "\"message_id\":\"m-1\",\"position\":1,\"thought\":\"thinking\",\"observation\":\"seen\",\"tool\":\"search\","
+            + "\"tool_labels\":{\"search\":{\"en_US\":\"Search\"},\"count\":2,\"flag\":true},\"tool_input\":\"{}\","
+            + "\"message_files\":[\"f-1\",\"f-2\"],\"created_at\":1705395332,\"conversation_id\":\"c-1\"}";
+
+    private static final String WORKFLOW_STARTED_EVENT = "{\"event\":\"workflow_started\",\"task_id\":\"t-1\","
+            + "\"workflow_run_id\":\"r-1\",\"data\":{\"id\":\"r-1\",\"workflow_id\":\"w-1\",\"sequence_number\":3,"
+            + "\"created_at\":1705395332,\"inputs\":{\"q\":\"x\"}}}";
+
+    private static final String ERROR_EVENT = "{\"event\":\"error\",\"task_id\":\"t-1\",\"message_id\":\"m-1\","
+            + "\"status\":400,\"code\":\"invalid_param\",\"message\":\"bad request\"}";
+
+    static Stream<JsonMapper> mappers() {
+        return Stream.of(JacksonJsonMapper.getInstance(), Jackson3JsonMapper.getInstance(), GsonJsonMapper.getInstance());
+    }
+
+    private static void assertStreamingMatchesTree(JsonMapper mapper, String json) {
+        ChatMessageSendCompletionResponseDto tree = new ChatMessageSendCompletionResponseDeserializer()
+                .deserialize(mapper.parseTree(json), mapper);
+        ChatMessageSendCompletionResponseDto streamed = mapper.fromJson(json, ChatMessageSendCompletionResponseDto.class);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ChatMessageSendCompletionResponseDto streamedBytes = mapper.fromJson(bytes, 0, bytes.length,
+                ChatMessageSendCompletionResponseDto.class);
+
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamed));
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamedBytes));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForMessage(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, MESSAGE_EVENT);
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(MESSAGE_EVENT, ChatMessageSendCompletionResponseDto.class);
+        assertEquals("message", result.getData().getEvent());
+        assertEquals("c-1", result.getData().getConversationId());
+        assertEquals(1705398420L, result.getData().getCreatedAt());
+        assertEquals("Hi", result.getData().getAnswer());
+        assertNotNull(result.getData().getFromVariableSelector());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForMessageEnd(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, MESSAGE_END_EVENT);
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(MESSAGE_END_EVENT, ChatMessageSendCompletionResponseDto.class);
+        assertEquals(15, result.getData().getMetadata().getUsage().getTotalTokens());
+        assertEquals("d-1", result.getData().getMetadata().getRetrieverResources().get(0).getDatasetId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForAgentThought(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, AGENT_THOUGHT_EVENT);
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(AGENT_THOUGHT_EVENT, ChatMessageSendCompletionResponseDto.class);
+        assertEquals(1, result.getData().getPosition());
+        assertEquals(Arrays.asList("f-1", "f-2"), result.getData().getMessageFiles());
+        assertEquals(2.0, result.getData().getToolLabels().get("count"));
+        assertInstanceOf(Map.class, result.getData().getToolLabels().get("search"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForWorkflowStarted(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, WORKFLOW_STARTED_EVENT);
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(WORKFLOW_STARTED_EVENT, ChatMessageSendCompletionResponseDto.class);
+        assertEquals("r-1", result.getData().getWorkflowRunId());
+        WorkflowStartedData data = assertInstanceOf(WorkflowStartedData.class, result.getData().getData());
+        assertEquals("w-1", data.getWorkflowId());
+        assertEquals(3, data.getSequenceNumber());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForError(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, ERROR_EVENT);
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(ERROR_EVENT, ChatMessageSendCompletionResponseDto.class);
+        assertEquals(400, result.getData().getStatus());
+        assertEquals("invalid_param", result.getData().getCode());
+        assertEquals("bad request", result.getData().getMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingDataBeforeEvent(JsonMapper mapper) {
+        String json = "{\"data\":{\"workflow_id\":\"w-1\"},\"event\":\"workflow_started\"}";
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(json, ChatMessageSendCompletionResponseDto.class);
+
+        WorkflowStartedData data = assertInstanceOf(WorkflowStartedData.class, result.getData().getData());
+        assertEquals("w-1", data.getWorkflowId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingUnknownEventHasNoData(JsonMapper mapper) {
+        String json = "{\"event\":\"unknown_event\",\"data\":{\"id\":\"x\"},\"task_id\":\"t-1\"}";
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(json, ChatMessageSendCompletionResponseDto.class);
+
+        assertEquals("unknown_event", result.getData().getEvent());
+        assertEquals("t-1", result.getData().getTaskId());
+        assertNull(result.getData().getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingNullValues(JsonMapper mapper) {
+        String json = "{\"event\":\"message\",\"answer\":null,\"created_at\":null,\"data\":null,\"metadata\":null}";
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(json, ChatMessageSendCompletionResponseDto.class);
+
+        assertNull(result.getData().getAnswer());
+        assertNull(result.getData().getCreatedAt());
+        assertNull(result.getData().getData());
+        assertNull(result.getData().getMetadata());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingNonObjectRoot(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson("[1,2]", ChatMessageSendCompletionResponseDto.class);
+
+        assertNotNull(result.getData());
+        assertNull(result.getData().getEvent());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterSkipsUnwantedEvent(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDeserializer deserializer =
+                new ChatMessageSendCompletionResponseDeserializer(EnumSet.of(StreamEventEnum.message_end));
+        byte[] bytes = MESSAGE_EVENT.getBytes(StandardCharsets.UTF_8);
+
+        assertNull(mapper.fromJson(MESSAGE_EVENT, deserializer));
+        assertNull(mapper.fromJson(bytes, 0, bytes.length, deserializer));
+        assertNull(deserializer.deserialize(mapper.parseTree(MESSAGE_EVENT), mapper));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterKeepsRequestedEvent(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDeserializer deserializer =
+                new ChatMessageSendCompletionResponseDeserializer(EnumSet.of(StreamEventEnum.message_end));
+
+        ChatMessageSendCompletionResponseDto streamed = mapper.fromJson(MESSAGE_END_EVENT, deserializer);
+        ChatMessageSendCompletionResponseDto tree = deserializer.deserialize(mapper.parseTree(MESSAGE_END_EVENT), mapper);
+
+        assertEquals("message_end", streamed.getData().getEvent());
+        assertEquals(15, streamed.getData().getMetadata().getUsage().getTotalTokens());
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamed));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterDropsEventsWithoutKnownType(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDeserializer deserializer =
+                new ChatMessageSendCompletionResponseDeserializer(EnumSet.of(StreamEventEnum.message));
+
+        assertNull(mapper.fromJson("{\"task_id\":\"t-1\"}", deserializer));
+        assertNull(mapper.fromJson("{\"event\":\"unknown_event\"}", deserializer));
+        assertNull(mapper.fromJson("[1,2]", deserializer));
+        assertNull(deserializer.deserialize(mapper.parseTree("{\"task_id\":\"t-1\"}"), mapper));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterAppliedWhenEventFollowsFields(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDeserializer deserializer =
+                new ChatMessageSendCompletionResponseDeserializer(EnumSet.of(StreamEventEnum.workflow_started));
+
+        assertNull(mapper.fromJson("{\"task_id\":\"t-1\",\"event\":\"message\",\"answer\":\"Hi\"}", deserializer));
+
+        ChatMessageSendCompletionResponseDto result = mapper.fromJson(
+                "{\"task_id\":\"t-1\",\"data\":{\"workflow_id\":\"w-1\"},\"event\":\"workflow_started\"}", deserializer);
+        assertEquals("t-1", result.getData().getTaskId());
+        assertInstanceOf(WorkflowStartedData.class, result.getData().getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testEmptyFilterKeepsAllEvents(JsonMapper mapper) {
+        ChatMessageSendCompletionResponseDeserializer deserializer =
+                new ChatMessageSendCompletionResponseDeserializer(Collections.emptySet());
+
+        assertEquals("message", mapper.fromJson(MESSAGE_EVENT, deserializer).getData().getEvent());
+        assertEquals("unknown_event", mapper.fromJson("{\"event\":\"unknown_event\"}", deserializer).getData().getEvent());
+    }
 }
@@ -17,11 +17,19 @@ package io.github.guoshiqiufeng.dify.support.impl.dto.workflow;
 
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonNode;
+import io.github.guoshiqiufeng.dify.client.codec.gson.GsonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.codec.jackson.JacksonJsonMapper;
+import io.github.guoshiqiufeng.dify.client.codec.jackson3.Jackson3JsonMapper;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.stream.WorkflowStartedData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -466,4 +474,121 @@ class WorkflowRunStreamResponseDeserializerTest {
         assertNotNull(result.getData());
         assertInstanceOf(Map.class, result.getData().getData());
     }
+
+    // ========== Streaming deserialization ==========
+
+    private static final String WORKFLOW_STARTED_EVENT = "{\"event\":\"workflow_started\",\"task_id\":\"t-1\","
+            + "\"workflow_run_id\":\"r-1\",\"data\":{\"id\":\"r-1\",\"workflow_id\":\"w-1\",\"sequence_number\":3,"
+            + "\"created_at\":1705395332,\"inputs\":{\"q\":\"x\"}},\"extra\":[1,{\"b\":null}]}";
+
+    private static final String TEXT_CHUNK_EVENT = "{\"event\":\"text_chunk\",\"task_id\":\"t-1\","
+            + "\"workflow_run_id\":\"r-1\",\"data\":{\"text\":\"Hello\",\"from_variable_selector\":[\"n\",\"text\"],\"n\":1}}";
+
+    static Stream<JsonMapper> mappers() {
+        return Stream.of(JacksonJsonMapper.getInstance(), Jackson3JsonMapper.getInstance(), GsonJsonMapper.getInstance());
+    }
+
+    private static void assertStreamingMatchesTree(JsonMapper mapper, String json) {
+        WorkflowRunStreamResponseDto tree = new WorkflowRunStreamResponseDeserializer()
+                .deserialize(mapper.parseTree(json), mapper);
+        WorkflowRunStreamResponseDto streamed = mapper.fromJson(json, WorkflowRunStreamResponseDto.class);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        WorkflowRunStreamResponseDto streamedBytes = mapper.fromJson(bytes, 0, bytes.length, WorkflowRunStreamResponseDto.class);
+
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamed));
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamedBytes));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForWorkflowStarted(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, WORKFLOW_STARTED_EVENT);
+
+        WorkflowRunStreamResponseDto result = mapper.fromJson(WORKFLOW_STARTED_EVENT, WorkflowRunStreamResponseDto.class);
+        assertEquals(StreamEventEnum.workflow_started, result.getData().getEvent());
+        assertEquals("t-1", result.getData().getTaskId());
+        assertEquals("r-1", result.getData().getWorkflowRunId());
+        WorkflowStartedData data = assertInstanceOf(WorkflowStartedData.class, result.getData().getData());
+        assertEquals("w-1", data.getWorkflowId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingMatchesTreeForTextChunk(JsonMapper mapper) {
+        assertStreamingMatchesTree(mapper, TEXT_CHUNK_EVENT);
+
+        WorkflowRunStreamResponseDto result = mapper.fromJson(TEXT_CHUNK_EVENT, WorkflowRunStreamResponseDto.class);
+        Map<?, ?> data = assertInstanceOf(Map.class, result.getData().getData());
+        assertEquals("Hello", data.get("text"));
+        assertEquals(1.0, data.get("n"));
+        assertEquals(Arrays.asList("n", "text"), data.get("from_variable_selector"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingDataBeforeEvent(JsonMapper mapper) {
+        String json = "{\"data\":{\"text\":\"Hello\"},\"event\":\"text_chunk\"}";
+
+        WorkflowRunStreamResponseDto result = mapper.fromJson(json, WorkflowRunStreamResponseDto.class);
+
+        Map<?, ?> data = assertInstanceOf(Map.class, result.getData().getData());
+        assertEquals("Hello", data.get("text"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testStreamingUnknownEventHasNoData(JsonMapper mapper) {
+        String json = "{\"event\":\"unknown_event\",\"data\":{\"id\":\"x\"},\"task_id\":\"t-1\"}";
+
+        WorkflowRunStreamResponseDto result = mapper.fromJson(json, WorkflowRunStreamResponseDto.class);
+
+        assertNull(result.getData().getEvent());
+        assertEquals("t-1", result.getData().getTaskId());
+        assertNull(result.getData().getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterSkipsUnwantedEvent(JsonMapper mapper) {
+        WorkflowRunStreamResponseDeserializer deserializer =
+                new WorkflowRunStreamResponseDeserializer(EnumSet.of(StreamEventEnum.workflow_started));
+        byte[] bytes = TEXT_CHUNK_EVENT.getBytes(StandardCharsets.UTF_8);
+
+        assertNull(mapper.fromJson(TEXT_CHUNK_EVENT, deserializer));
+        assertNull(mapper.fromJson(bytes, 0, bytes.length, deserializer));
+        assertNull(deserializer.deserialize(mapper.parseTree(TEXT_CHUNK_EVENT), mapper));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterKeepsRequestedEvent(JsonMapper mapper) {
+        WorkflowRunStreamResponseDeserializer deserializer =
+                new WorkflowRunStreamResponseDeserializer(EnumSet.of(StreamEventEnum.text_chunk));
+
+        WorkflowRunStreamResponseDto streamed = mapper.fromJson(TEXT_CHUNK_EVENT, deserializer);
+        WorkflowRunStreamResponseDto tree = deserializer.deserialize(mapper.parseTree(TEXT_CHUNK_EVENT), mapper);
+
+        assertEquals(StreamEventEnum.text_chunk, streamed.getData().getEvent());
+        assertEquals(mapper.toJson(tree), mapper.toJson(streamed));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterDropsEventsWithoutKnownType(JsonMapper mapper) {
+        WorkflowRunStreamResponseDeserializer deserializer =
+                new WorkflowRunStreamResponseDeserializer(EnumSet.of(StreamEventEnum.text_chunk));
+
+        assertNull(mapper.fromJson("{\"task_id\":\"t-1\"}", deserializer));
+        assertNull(mapper.fromJson("{\"event\":\"unknown_event\",\"data\":{}}", deserializer));
+        assertNull(deserializer.deserialize(mapper.parseTree("{\"event\":\"unknown_event\"}"), mapper));
+    }
+
+    @ParameterizedTest
+    @MethodSource("mappers")
+    void testFilterAppliedWhenEventFollowsData(JsonMapper mapper) {
+        WorkflowRunStreamResponseDeserializer deserializer =
+                new WorkflowRunStreamResponseDeserializer(EnumSet.of(StreamEventEnum.workflow_finished));
+
+        assertNull(mapper.fromJson("{\"data\":{\"text\":\"Hello\"},\"event\":\"text_chunk\"}", deserializer));
+    }
 }
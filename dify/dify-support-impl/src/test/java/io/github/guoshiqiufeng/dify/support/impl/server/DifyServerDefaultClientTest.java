@@ -46,6 +46,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -2422,4 +2424,90 @@ public class DifyServerDefaultClientTest extends BaseClientTest {
             fail("Failed to test processLoginResult method with success and null cookies: " + e.getMessage());
         }
     }
+
+    @Test
+    @DisplayName("Test loginAsync extracts tokens without blocking")
+    public void testLoginAsync() throws Exception {
+        stubLoginAsync("async-access-token");
+
+        LoginResponse response = client.loginAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals("async-access-token", response.getAccessToken());
+        verify(requestBodyUriSpecMock).uri("/console/api/login");
+        verify(responseSpecMock, never()).toEntity(LoginResultResponse.class);
+    }
+
+    @Test
+    public void testAppAsync() throws Exception {
+        stubLoginAsync("async-access-token");
+        AppsResponse expectedResponse = new AppsResponse();
+        expectedResponse.setId("app-123456");
+        when(responseSpecMock.bodyAsync(AppsResponse.class)).thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        AppsResponse actualResponse = client.appAsync("app-123456").get(5, TimeUnit.SECONDS);
+
+        assertSame(expectedResponse, actualResponse);
+        verify(requestHeadersUriSpecMock).uri(eq(ServerUriConstant.APPS + "/{appId}"), eq("app-123456"));
+        verify(responseSpecMock, never()).body(AppsResponse.class);
+    }
+
+    @Test
+    public void testAppsAsyncFollowsPages() throws Exception {
+        stubLoginAsync("async-access-token");
+        AppsResponse first = new AppsResponse();
+        first.setId("app-1");
+        AppsResponseResult firstPage = new AppsResponseResult();
+        firstPage.setData(List.of(first));
+        firstPage.setHasMore(true);
+        AppsResponse second = new AppsResponse();
+        second.setId("app-2");
+        AppsResponseResult secondPage = new AppsResponseResult();
+        secondPage.setData(List.of(second));
+        secondPage.setHasMore(false);
+        when(responseSpecMock.bodyAsync(AppsResponseResult.class))
+                .thenReturn(CompletableFuture.completedFuture(firstPage))
+                .thenReturn(CompletableFuture.completedFuture(secondPage));
+
+        List<AppsResponse> apps = client.appsAsync("chat", null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, apps.size());
+        assertEquals("app-1", apps.get(0).getId());
+        assertEquals("app-2", apps.get(1).getId());
+        verify(responseSpecMock, times(2)).bodyAsync(AppsResponseResult.class);
+    }
+
+    @Test
+    public void testRetryDocumentIndexingAsync() throws Exception {
+        stubLoginAsync("async-access-token");
+        io.github.guoshiqiufeng.dify.server.dto.request.DocumentRetryRequest request =
+                new io.github.guoshiqiufeng.dify.server.dto.request.DocumentRetryRequest();
+        request.setDatasetId("dataset-1");
+        request.setDocumentIds(List.of("doc-1"));
+        when(responseSpecMock.toBodilessEntityAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertNull(client.retryDocumentIndexingAsync(request).get(5, TimeUnit.SECONDS));
+
+        verify(requestBodyUriSpecMock).uri(eq(ServerUriConstant.DOCUMENT_RETRY), eq("dataset-1"));
+        verify(responseSpecMock, never()).toBodilessEntity();
+    }
+
+    @Test
+    public void testCreateAppAsyncValidation() {
+        assertThrows(IllegalArgumentException.class, () -> client.createAppAsync(null));
+        verify(httpClientMock, never()).post();
+    }
+
+    private void stubLoginAsync(String accessToken) {
+        LoginResultResponse loginResult = new LoginResultResponse();
+        loginResult.setResult(DifyResult.SUCCESS);
+        LoginResponse loginData = new LoginResponse();
+        loginData.setAccessToken(accessToken);
+        loginData.setRefreshToken("async-refresh-token");
+        loginResult.setData(loginData);
+        ResponseEntity<LoginResultResponse> responseEntity = ResponseEntity.<LoginResultResponse>builder()
+                .statusCode(200)
+                .body(loginResult)
+                .build();
+        when(responseSpecMock.toEntityAsync(LoginResultResponse.class)).thenReturn(CompletableFuture.completedFuture(responseEntity));
+    }
 }
@@ -15,29 +15,40 @@
  */
 package io.github.guoshiqiufeng.dify.support.impl.workflow;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetExceededException;
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonDeserializer;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.core.http.TypeReference;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.client.core.web.util.UriBuilder;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.request.ChatMessageVO;
 import io.github.guoshiqiufeng.dify.support.impl.BaseClientTest;
+import io.github.guoshiqiufeng.dify.support.impl.dto.workflow.WorkflowRunStreamResponseDeserializer;
 import io.github.guoshiqiufeng.dify.support.impl.dto.workflow.WorkflowRunStreamResponseDto;
 import io.github.guoshiqiufeng.dify.workflow.constant.WorkflowConstant;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.stream.WorkflowFinishedData;
 import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -225,6 +236,144 @@ public class DifyWorkflowDefaultClientTest extends BaseClientTest {
         verify(requestBodySpecMock).body(any(ChatMessageVO.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRunWorkflowStreamWithEventFilter() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+        finished.setWorkflowRunId("workflow-run-123456");
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class)))
+                .thenReturn(Flux.just(new WorkflowRunStreamResponseDto(finished)));
+
+        List<WorkflowRunStreamResponse> actualResponses = client
+                .runWorkflowStream(request, EnumSet.of(StreamEventEnum.workflow_finished))
+                .collectList().block();
+
+        assertNotNull(actualResponses);
+        assertEquals(1, actualResponses.size());
+        assertEquals(StreamEventEnum.workflow_finished, actualResponses.get(0).getEvent());
+
+        verify(requestBodyUriSpecMock).uri(WorkflowConstant.WORKFLOW_RUN_URL);
+        verify(responseSpecMock).bodyToFlux(any(WorkflowRunStreamResponseDeserializer.class));
+        verify(responseSpecMock, never()).bodyToFlux(WorkflowRunStreamResponseDto.class);
+    }
+
+    @Test
+    public void testRunWorkflowStreamWithStreamTimeout() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+
+        StreamTimeout timeout = StreamTimeout.idle(Duration.ofSeconds(30));
+        when(responseSpecMock.streamTimeout(any())).thenReturn(responseSpecMock);
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class)))
+                .thenReturn(Flux.just(new WorkflowRunStreamResponseDto(finished)));
+
+        List<WorkflowRunStreamResponse> actualResponses = client
+                .runWorkflowStream(request, EnumSet.of(StreamEventEnum.workflow_finished), timeout)
+                .collectList().block();
+
+        assertNotNull(actualResponses);
+        assertEquals(1, actualResponses.size());
+        verify(responseSpecMock).streamTimeout(timeout);
+        verify(responseSpecMock).bodyToFlux(any(WorkflowRunStreamResponseDeserializer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRunWorkflowOverStreaming() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setBlockingOverStreaming(true);
+        DifyWorkflowDefaultClient streamingClient = new DifyWorkflowDefaultClient(httpClientMock, clientConfig);
+        StreamMetricsListener listener = mock(StreamMetricsListener.class);
+        when(listener.instrument(any(Flux.class), anyString(), any())).thenCallRealMethod();
+        streamingClient.setStreamMetricsListener(listener);
+
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        WorkflowRunStreamResponse chunk = new WorkflowRunStreamResponse();
+        chunk.setEvent(StreamEventEnum.text_chunk);
+        chunk.setWorkflowRunId("workflow-run-123456");
+        chunk.setTaskId("task-123456");
+        chunk.setData(Collections.singletonMap("text", "Hello"));
+
+        WorkflowFinishedData finishedData = new WorkflowFinishedData();
+        finishedData.setId("workflow-run-123456");
+        finishedData.setStatus("succeeded");
+        finishedData.setOutputs(Collections.singletonMap("text", "Hello"));
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+        finished.setWorkflowRunId("workflow-run-123456");
+        finished.setTaskId("task-123456");
+        finished.setData(finishedData);
+
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class)))
+                .thenReturn(Flux.just(new WorkflowRunStreamResponseDto(chunk), new WorkflowRunStreamResponseDto(finished)));
+
+        WorkflowRunResponse response = streamingClient.runWorkflow(request);
+
+        assertEquals("workflow-run-123456", response.getWorkflowRunId());
+        assertEquals("task-123456", response.getTaskId());
+        assertEquals("succeeded", response.getData().getStatus());
+        assertEquals("Hello", response.getData().getOutputs().get("text"));
+        verify(responseSpecMock).bodyToFlux(any(WorkflowRunStreamResponseDeserializer.class));
+        verify(responseSpecMock, never()).body(WorkflowRunResponse.class);
+        verify(listener).onFirstToken(eq("workflow"), any());
+        verify(listener).onComplete(eq("workflow"), any(), isNull());
+    }
+
+    @Test
+    public void testRunWorkflowWithTokenBudget() {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setTokenBudget(new DifyProperties.TokenBudgetConfig(true, 0L, 100L, 0L));
+        DifyWorkflowDefaultClient budgetClient = new DifyWorkflowDefaultClient(httpClientMock, clientConfig);
+
+        WorkflowRunResponse.WorkflowRunData data = new WorkflowRunResponse.WorkflowRunData();
+        data.setTotalTokens(150);
+        WorkflowRunResponse expected = new WorkflowRunResponse();
+        expected.setData(data);
+        when(responseSpecMock.body(WorkflowRunResponse.class)).thenReturn(expected);
+
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        assertSame(expected, budgetClient.runWorkflow(request));
+        assertThrows(TokenBudgetExceededException.class, () -> budgetClient.runWorkflow(request));
+        verify(responseSpecMock, times(1)).body(WorkflowRunResponse.class);
+
+        // the budget is per user
+        request.setUserId("other-user-id");
+        assertSame(expected, budgetClient.runWorkflow(request));
+    }
+
+    @Test
+    public void testRunWorkflowStreamWithNullEventFilter() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+
+        WorkflowRunStreamResponse started = new WorkflowRunStreamResponse();
+        started.setEvent(StreamEventEnum.workflow_started);
+
+        when(responseSpecMock.bodyToFlux(WorkflowRunStreamResponseDto.class))
+                .thenReturn(Flux.just(new WorkflowRunStreamResponseDto(started)));
+
+        List<WorkflowRunStreamResponse> actualResponses = client.runWorkflowStream(request, null).collectList().block();
+
+        assertNotNull(actualResponses);
+        assertEquals(1, actualResponses.size());
+    }
+
     @Test
     public void testInfo() {
         // Prepare test data
@@ -429,4 +578,66 @@ public class DifyWorkflowDefaultClientTest extends BaseClientTest {
         defaultRequest.setStatus("");
         client.logs(defaultRequest);
     }
+
+    @Test
+    public void testRunWorkflowAsync() throws Exception {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        WorkflowRunResponse expectedResponse = new WorkflowRunResponse();
+        expectedResponse.setWorkflowRunId("workflow-run-123456");
+        when(responseSpecMock.bodyAsync(WorkflowRunResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        CompletableFuture<WorkflowRunResponse> future = client.runWorkflowAsync(request);
+
+        assertSame(expectedResponse, future.get(1, TimeUnit.SECONDS));
+        verify(requestBodyUriSpecMock).uri(WorkflowConstant.WORKFLOW_RUN_URL);
+        verify(requestBodySpecMock).header(eq("Authorization"), eq("Bearer test-api-key"));
+        verify(responseSpecMock, never()).body(WorkflowRunResponse.class);
+    }
+
+    @Test
+    public void testRunWorkflowAsyncOverStreaming() throws Exception {
+        DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+        clientConfig.setBlockingOverStreaming(true);
+        DifyWorkflowDefaultClient streamingClient = new DifyWorkflowDefaultClient(httpClientMock, clientConfig);
+
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+        request.setUserId("test-user-id");
+
+        WorkflowFinishedData finishedData = new WorkflowFinishedData();
+        finishedData.setId("workflow-run-123456");
+        finishedData.setStatus("succeeded");
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+        finished.setWorkflowRunId("workflow-run-123456");
+        finished.setTaskId("task-123456");
+        finished.setData(finishedData);
+        when(responseSpecMock.bodyToFlux(any(JsonDeserializer.class)))
+                .thenReturn(Flux.just(new WorkflowRunStreamResponseDto(finished)));
+
+        WorkflowRunResponse response = streamingClient.runWorkflowAsync(request).get(1, TimeUnit.SECONDS);
+
+        assertEquals("workflow-run-123456", response.getWorkflowRunId());
+        assertEquals("succeeded", response.getData().getStatus());
+        verify(responseSpecMock, never()).bodyAsync(WorkflowRunResponse.class);
+    }
+
+    @Test
+    public void testStopWorkflowStreamAsync() throws Exception {
+        WorkflowStopResponse expectedResponse = new WorkflowStopResponse();
+        expectedResponse.setResult("success");
+        when(responseSpecMock.bodyAsync(WorkflowStopResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        WorkflowStopResponse actualResponse = client.stopWorkflowStreamAsync("test-api-key", "task-123456", "test-user-id")
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals("success", actualResponse.getResult());
+        verify(requestBodyUriSpecMock).uri(eq(WorkflowConstant.WORKFLOW_TASKS_URL + "/{taskId}/stop"), eq("task-123456"));
+        verify(requestBodySpecMock).body(any(HashMap.class));
+    }
 }
@@ -17,12 +17,18 @@ package io.github.guoshiqiufeng.dify.chat;
 
 import io.github.guoshiqiufeng.dify.chat.dto.request.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.chat.stream.ChatCoalesceStrategy;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 聊天相关接口定义
@@ -49,6 +55,48 @@ public interface DifyChat {
      */
     Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest);
 
+    /**
+     * 发送消息并获取指定事件类型的消息流
+     * <p>
+     * 其它类型的事件在解码时直接跳过,不会创建响应对象
+     * </p>
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @param events      需要返回的事件类型，null 或空集合表示返回全部事件
+     * @return Flux<ChatMessageSendResponse> 消息流，实时返回指定类型的事件
+     */
+    Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events);
+
+    /**
+     * 发送消息并获取指定事件类型的消息流,使用指定的流超时
+     * <p>
+     * 空闲超时按事件间隔计算,ping 事件与被过滤的事件同样会重置计时;超时后流以 StreamTimeoutException 结束并释放连接
+     * </p>
+     *
+     * @param sendRequest   消息发送请求对象，包含消息内容等信息
+     * @param events        需要返回的事件类型，null 或空集合表示返回全部事件
+     * @param streamTimeout 流的空闲超时与总超时，null 表示使用客户端配置的 sseIdleTimeout / sseTotalTimeout
+     * @return Flux<ChatMessageSendResponse> 消息流，实时返回指定类型的事件
+     */
+    Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events,
+                                                                  StreamTimeout streamTimeout);
+
+    /**
+     * 发送消息并获取合并后的消息流
+     * <p>
+     * 连续的 message / agent_message 增量在时间窗口内合并为一条输出,或在合并文本达到字节阈值时立即输出;
+     * message_end、error 等结构事件立即透传,用于降低向下游转发时的写放大
+     * </p>
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @param window      增量最长等待时间,如 30ms
+     * @param maxBytes    合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return Flux<ChatMessageSendResponse> 合并后的消息流
+     */
+    default Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Duration window, int maxBytes) {
+        return sendChatMessageStream(sendRequest).transform(ChatCoalesceStrategy.coalescer(window, maxBytes));
+    }
+
     /**
      * 停止消息流
      *
@@ -267,4 +315,211 @@ public interface DifyChat {
      * @since 1.4.1
      */
     ConversationVariableResponse updateConversationVariable(UpdateConversationVariableRequest request);
+
+    /**
+     * {@link #send(ChatMessageSendRequest)} 的异步版本
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @return 异步结果，ChatMessageSendResponse 消息发送响应对象，包含发送结果等信息
+     */
+    CompletableFuture<ChatMessageSendResponse> sendAsync(ChatMessageSendRequest sendRequest);
+
+    /**
+     * {@link #stopMessagesStream(String, String, String)} 的异步版本
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @param taskId 任务ID，标识需要停止的消息流任务
+     * @param userId 用户ID，标识操作者
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> stopMessagesStreamAsync(String apiKey, String taskId, String userId);
+
+    /**
+     * {@link #messageFeedback(MessageFeedbackRequest)} 的异步版本
+     *
+     * @param messageFeedbackRequest 消息反馈请求对象，包含消息ID、反馈内容等信息
+     * @return 异步结果，MessageFeedbackResponse 消息反馈响应
+     */
+    CompletableFuture<MessageFeedbackResponse> messageFeedbackAsync(MessageFeedbackRequest messageFeedbackRequest);
+
+    /**
+     * {@link #feedbacks(AppFeedbackPageRequest)} 的异步版本
+     *
+     * @param request 反馈列表请求对象，包含分页信息
+     * @return 异步结果，DifyPageResult<AppFeedbackResponse> 分页结果，包含反馈列表信息
+     */
+    CompletableFuture<DifyPageResult<AppFeedbackResponse>> feedbacksAsync(AppFeedbackPageRequest request);
+
+    /**
+     * {@link #conversations(MessageConversationsRequest)} 的异步版本
+     *
+     * @param request 会话查询请求对象，包含分页、过滤条件等信息
+     * @return 异步结果，DifyPageResult<MessageConversationsResponse> 分页结果，包含会话列表信息
+     */
+    CompletableFuture<DifyPageResult<MessageConversationsResponse>> conversationsAsync(MessageConversationsRequest request);
+
+    /**
+     * {@link #messages(MessagesRequest)} 的异步版本
+     *
+     * @param request 消息查询请求对象，包含分页、过滤条件等信息
+     * @return 异步结果，DifyPageResult<MessagesResponseVO> 分页结果，包含消息列表信息
+     */
+    CompletableFuture<DifyPageResult<MessagesResponseVO>> messagesAsync(MessagesRequest request);
+
+    /**
+     * {@link #messagesSuggested(String, String, String)} 的异步版本
+     *
+     * @param messageId 消息ID，标识需要获取建议消息的目标消息
+     * @param apiKey    API密钥，用于身份验证
+     * @param userId    用户ID，标识查询者
+     * @return 异步结果，List<String> 建议消息列表，包含建议的消息内容
+     */
+    CompletableFuture<List<String>> messagesSuggestedAsync(String messageId, String apiKey, String userId);
+
+    /**
+     * {@link #deleteConversation(String, String, String)} 的异步版本
+     *
+     * @param conversationId 会话ID，标识需要删除的会话
+     * @param apiKey         API密钥，用于身份验证
+     * @param userId         用户ID，标识操作者
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteConversationAsync(String conversationId, String apiKey, String userId);
+
+    /**
+     * {@link #renameConversation(RenameConversationRequest)} 的异步版本
+     *
+     * @param renameConversationRequest 会话重命名请求对象，包含会话ID、新名称等信息
+     * @return 异步结果，MessageConversationsResponse 重命名后的会话信息
+     */
+    CompletableFuture<MessageConversationsResponse> renameConversationAsync(RenameConversationRequest renameConversationRequest);
+
+    /**
+     * {@link #parameters(String)} 的异步版本
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @return 异步结果，DifyAppParametersResponseVO 应用参数响应对象，包含应用配置信息
+     */
+    CompletableFuture<AppParametersResponseVO> parametersAsync(String apiKey);
+
+    /**
+     * {@link #textToAudio(TextToAudioRequest)} 的异步版本
+     *
+     * @param request 文本转语音请求对象，包含文本内容等信息
+     * @return 异步结果，语音文件流
+     */
+    CompletableFuture<ResponseEntity<byte[]>> textToAudioAsync(TextToAudioRequest request);
+
+    /**
+     * {@link #audioToText(AudioToTextRequest)} 的异步版本
+     *
+     * @param request 语音转文本请求对象，包含语音文件等信息
+     * @return 异步结果，DifyTextVO 文本响应对象，包含转换后的文本内容
+     */
+    CompletableFuture<DifyTextVO> audioToTextAsync(AudioToTextRequest request);
+
+    /**
+     * {@link #fileUpload(FileUploadRequest)} 的异步版本
+     *
+     * @param request 上传文件请求对象
+     * @return 异步结果，上传文件结果
+     */
+    CompletableFuture<FileUploadResponse> fileUploadAsync(FileUploadRequest request);
+
+    /**
+     * {@link #filePreview(FilePreviewRequest)} 的异步版本
+     *
+     * @param request 文件预览请求对象，包含文件ID、下载方式等信息
+     * @return 异步结果，{@code ResponseEntity<byte[]>} 文件内容响应，包含适当的浏览器显示或下载标头
+     */
+    CompletableFuture<ResponseEntity<byte[]>> filePreviewAsync(FilePreviewRequest request);
+
+    /**
+     * {@link #info(String)} 的异步版本
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return 异步结果，Application info
+     */
+    CompletableFuture<AppInfoResponse> infoAsync(String apiKey);
+
+    /**
+     * {@link #meta(String)} 的异步版本
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return 异步结果，Application meta
+     */
+    CompletableFuture<AppMetaResponse> metaAsync(String apiKey);
+
+    /**
+     * {@link #site(String)} 的异步版本
+     *
+     * @param apikey The API key for authentication and retrieving app parameters
+     * @return 异步结果，Application site
+     */
+    CompletableFuture<AppSiteResponse> siteAsync(String apikey);
+
+    /**
+     * {@link #pageAppAnnotation(AppAnnotationPageRequest)} 的异步版本
+     *
+     * @param request Annotation pagination request containing page parameters and filters
+     * @return 异步结果，DifyPageResult<AppAnnotationResponse> Paginated result with annotation list
+     */
+    CompletableFuture<DifyPageResult<AppAnnotationResponse>> pageAppAnnotationAsync(AppAnnotationPageRequest request);
+
+    /**
+     * {@link #createAppAnnotation(AppAnnotationCreateRequest)} 的异步版本
+     *
+     * @param request Annotation creation request containing annotation content and metadata
+     * @return 异步结果，AppAnnotationResponse The created annotation information
+     */
+    CompletableFuture<AppAnnotationResponse> createAppAnnotationAsync(AppAnnotationCreateRequest request);
+
+    /**
+     * {@link #updateAppAnnotation(AppAnnotationUpdateRequest)} 的异步版本
+     *
+     * @param request Annotation update request containing modified annotation content and metadata
+     * @return 异步结果，AppAnnotationResponse The updated annotation information
+     */
+    CompletableFuture<AppAnnotationResponse> updateAppAnnotationAsync(AppAnnotationUpdateRequest request);
+
+    /**
+     * {@link #deleteAppAnnotation(String, String)} 的异步版本
+     *
+     * @param annotationId Annotation ID to identify the annotation to delete
+     * @param apiKey       API key for authentication
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteAppAnnotationAsync(String annotationId, String apiKey);
+
+    /**
+     * {@link #annotationReply(AppAnnotationReplyRequest)} 的异步版本
+     *
+     * @param request Annotation reply request containing the reply content and metadata
+     * @return 异步结果，AppAnnotationReplyResponse Response containing the created reply information
+     */
+    CompletableFuture<AppAnnotationReplyResponse> annotationReplyAsync(AppAnnotationReplyRequest request);
+
+    /**
+     * {@link #queryAnnotationReply(AppAnnotationReplyQueryRequest)} 的异步版本
+     *
+     * @param request Query parameters for retrieving annotation reply data
+     * @return 异步结果，AppAnnotationReplyResponse Response containing the requested reply information
+     */
+    CompletableFuture<AppAnnotationReplyResponse> queryAnnotationReplyAsync(AppAnnotationReplyQueryRequest request);
+
+    /**
+     * {@link #conversationVariables(ConversationVariableRequest)} 的异步版本
+     *
+     * @param request 会话变量请求对象，包含会话ID和可选的变量名称
+     * @return 异步结果，DifyPageResult<ConversationVariableResponse> 分页结果，包含会话变量列表信息
+     */
+    CompletableFuture<DifyPageResult<ConversationVariableResponse>> conversationVariablesAsync(ConversationVariableRequest request);
+
+    /**
+     * {@link #updateConversationVariable(UpdateConversationVariableRequest)} 的异步版本
+     *
+     * @param request 更新会话变量请求对象，包含会话ID、变量ID和新值
+     * @return 异步结果，ConversationVariableResponse 更新后的会话变量信息
+     */
+    CompletableFuture<ConversationVariableResponse> updateConversationVariableAsync(UpdateConversationVariableRequest request);
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat;
+
+import io.github.guoshiqiufeng.dify.chat.dto.request.*;
+import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.chat.stream.ChatCoalesceStrategy;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DifyChat 的响应式版本
+ * <p>
+ * 方法与 {@link DifyChat} 一一对应,普通请求以 {@link Mono} 返回,流式请求以 {@link Flux} 返回,调用过程中不会阻塞线程;
+ * 接口返回空内容时 Mono 直接完成而不发出元素
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public interface ReactiveDifyChat {
+
+    /**
+     * 发送消息
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @return Mono，ChatMessageSendResponse 消息发送响应对象，包含发送结果等信息
+     */
+    Mono<ChatMessageSendResponse> send(ChatMessageSendRequest sendRequest);
+
+    /**
+     * 发送消息并获取消息流
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @return Mono，Flux<ChatMessageSendResponse> 消息流，实时返回消息发送的结果
+     */
+    Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest);
+
+    /**
+     * 发送消息并获取指定事件类型的消息流
+     * <p>
+     * 其它类型的事件在解码时直接跳过,不会创建响应对象
+     * </p>
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @param events      需要返回的事件类型，null 或空集合表示返回全部事件
+     * @return Mono，Flux<ChatMessageSendResponse> 消息流，实时返回指定类型的事件
+     */
+    Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events);
+
+    /**
+     * 发送消息并获取指定事件类型的消息流,使用指定的流超时
+     * <p>
+     * 空闲超时按事件间隔计算,ping 事件与被过滤的事件同样会重置计时;超时后流以 StreamTimeoutException 结束并释放连接
+     * </p>
+     *
+     * @param sendRequest   消息发送请求对象，包含消息内容等信息
+     * @param events        需要返回的事件类型，null 或空集合表示返回全部事件
+     * @param streamTimeout 流的空闲超时与总超时，null 表示使用客户端配置的 sseIdleTimeout / sseTotalTimeout
+     * @return Mono，Flux<ChatMessageSendResponse> 消息流，实时返回指定类型的事件
+     */
+    Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events,
+                                                                  StreamTimeout streamTimeout);
+
+    /**
+     * 发送消息并获取合并后的消息流
+     * <p>
+     * 连续的 message / agent_message 增量在时间窗口内合并为一条输出,或在合并文本达到字节阈值时立即输出;
+     * message_end、error 等结构事件立即透传,用于降低向下游转发时的写放大
+     * </p>
+     *
+     * @param sendRequest 消息发送请求对象，包含消息内容等信息
+     * @param window      增量最长等待时间,如 30ms
+     * @param maxBytes    合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return Flux<ChatMessageSendResponse> 合并后的消息流
+     */
+    default Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Duration window, int maxBytes) {
+        return sendChatMessageStream(sendRequest).transform(ChatCoalesceStrategy.coalescer(window, maxBytes));
+    }
+
+    /**
+     * 停止消息流
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @param taskId 任务ID，标识需要停止的消息流任务
+     * @param userId 用户ID，标识操作者
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> stopMessagesStream(String apiKey, String taskId, String userId);
+
+    /**
+     * 消息反馈
+     *
+     * @param messageFeedbackRequest 消息反馈请求对象，包含消息ID、反馈内容等信息
+     * @return Mono，MessageFeedbackResponse 消息反馈响应
+     */
+    Mono<MessageFeedbackResponse> messageFeedback(MessageFeedbackRequest messageFeedbackRequest);
+
+    /**
+     * 获取应用反馈列表
+     *
+     * @param request 反馈列表请求对象，包含分页信息
+     * @return Mono，DifyPageResult<AppFeedbackResponse> 分页结果，包含反馈列表信息
+     */
+    Mono<DifyPageResult<AppFeedbackResponse>> feedbacks(AppFeedbackPageRequest request);
+
+    /**
+     * 获取会话列表
+     *
+     * @param request 会话查询请求对象，包含分页、过滤条件等信息
+     * @return Mono，DifyPageResult<MessageConversationsResponse> 分页结果，包含会话列表信息
+     */
+    Mono<DifyPageResult<MessageConversationsResponse>> conversations(MessageConversationsRequest request);
+
+    /**
+     * 获取消息列表
+     *
+     * @param request 消息查询请求对象，包含分页、过滤条件等信息
+     * @return Mono，DifyPageResult<MessagesResponseVO> 分页结果，包含消息列表信息
+     */
+    Mono<DifyPageResult<MessagesResponseVO>> messages(MessagesRequest request);
+
+    /**
+     * 获取建议消息列表
+     *
+     * @param messageId 消息ID，标识需要获取建议消息的目标消息
+     * @param apiKey    API密钥，用于身份验证
+     * @param userId    用户ID，标识查询者
+     * @return Mono，List<String> 建议消息列表，包含建议的消息内容
+     */
+    Mono<List<String>> messagesSuggested(String messageId, String apiKey, String userId);
+
+    /**
+     * 删除会话
+     *
+     * @param conversationId 会话ID，标识需要删除的会话
+     * @param apiKey         API密钥，用于身份验证
+     * @param userId         用户ID，标识操作者
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> deleteConversation(String conversationId, String apiKey, String userId);
+
+    /**
+     * 会话重命名
+     *
+     * @param renameConversationRequest 会话重命名请求对象，包含会话ID、新名称等信息
+     * @return Mono，MessageConversationsResponse 重命名后的会话信息
+     */
+    Mono<MessageConversationsResponse> renameConversation(RenameConversationRequest renameConversationRequest);
+
+    /**
+     * 获取应用参数
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @return Mono，DifyAppParametersResponseVO 应用参数响应对象，包含应用配置信息
+     */
+    Mono<AppParametersResponseVO> parameters(String apiKey);
+
+    /**
+     * 文本转语音
+     *
+     * @param request 文本转语音请求对象，包含文本内容等信息
+     * @return Mono，语音文件流
+     */
+    Mono<ResponseEntity<byte[]>> textToAudio(TextToAudioRequest request);
+
+    /**
+     * 语音转文本
+     *
+     * @param request 语音转文本请求对象，包含语音文件等信息
+     * @return Mono，DifyTextVO 文本响应对象，包含转换后的文本内容
+     */
+    Mono<DifyTextVO> audioToText(AudioToTextRequest request);
+
+    /**
+     * 上传文件
+     *
+     * @param request 上传文件请求对象
+     * @return Mono，上传文件结果
+     */
+    Mono<FileUploadResponse> fileUpload(FileUploadRequest request);
+
+    /**
+     * 文件预览
+     * 预览或下载已上传的文件。此端点允许您访问先前通过文件上传 API 上传的文件。
+     * 文件只能在属于请求应用程序的消息范围内访问。
+     *
+     * @param request 文件预览请求对象，包含文件ID、下载方式等信息
+     * @return Mono，{@code ResponseEntity<byte[]>} 文件内容响应，包含适当的浏览器显示或下载标头
+     */
+    Mono<ResponseEntity<byte[]>> filePreview(FilePreviewRequest request);
+
+    /**
+     * app info
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return Mono，Application info
+     */
+    Mono<AppInfoResponse> info(String apiKey);
+
+    /**
+     * app meta
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return Mono，Application meta
+     */
+    Mono<AppMetaResponse> meta(String apiKey);
+
+    /**
+     * app site
+     *
+     * @param apikey The API key for authentication and retrieving app parameters
+     * @return Mono，Application site
+     */
+    Mono<AppSiteResponse> site(String apikey);
+
+    /**
+     * Paginate application annotations
+     *
+     * @param request Annotation pagination request containing page parameters and filters
+     * @return Mono，DifyPageResult<AppAnnotationResponse> Paginated result with annotation list
+     */
+    Mono<DifyPageResult<AppAnnotationResponse>> pageAppAnnotation(AppAnnotationPageRequest request);
+
+    /**
+     * Create application annotation
+     *
+     * @param request Annotation creation request containing annotation content and metadata
+     * @return Mono，AppAnnotationResponse The created annotation information
+     */
+    Mono<AppAnnotationResponse> createAppAnnotation(AppAnnotationCreateRequest request);
+
+    /**
+     * Update application annotation
+     *
+     * @param request Annotation update request containing modified annotation content and metadata
+     * @return Mono，AppAnnotationResponse The updated annotation information
+     */
+    Mono<AppAnnotationResponse> updateAppAnnotation(AppAnnotationUpdateRequest request);
+
+    /**
+     * Delete application annotation
+     *
+     * @param annotationId Annotation ID to identify the annotation to delete
+     * @param apiKey       API key for authentication
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> deleteAppAnnotation(String annotationId, String apiKey);
+
+    /**
+     * Reply to an annotation
+     *
+     * @param request Annotation reply request containing the reply content and metadata
+     * @return Mono，AppAnnotationReplyResponse Response containing the created reply information
+     */
+    Mono<AppAnnotationReplyResponse> annotationReply(AppAnnotationReplyRequest request);
+
+    /**
+     * Query annotation reply information
+     *
+     * @param request Query parameters for retrieving annotation reply data
+     * @return Mono，AppAnnotationReplyResponse Response containing the requested reply information
+     */
+    Mono<AppAnnotationReplyResponse> queryAnnotationReply(AppAnnotationReplyQueryRequest request);
+
+    /**
+     * 获取会话变量列表
+     *
+     * @param request 会话变量请求对象，包含会话ID和可选的变量名称
+     * @return Mono，DifyPageResult<ConversationVariableResponse> 分页结果，包含会话变量列表信息
+     */
+    Mono<DifyPageResult<ConversationVariableResponse>> conversationVariables(ConversationVariableRequest request);
+
+    /**
+     * 更新会话变量
+     *
+     * @param request 更新会话变量请求对象，包含会话ID、变量ID和新值
+     * @return Mono，ConversationVariableResponse 更新后的会话变量信息
+     */
+    Mono<ConversationVariableResponse> updateConversationVariable(UpdateConversationVariableRequest request);
+}
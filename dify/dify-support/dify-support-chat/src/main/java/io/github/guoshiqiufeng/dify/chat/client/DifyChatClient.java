@@ -17,17 +17,24 @@ package io.github.guoshiqiufeng.dify.chat.client;
 
 import io.github.guoshiqiufeng.dify.chat.dto.request.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dify Chat Client Interface
  * Provides methods to interact with Dify's chat API for sending messages,
  * managing conversations, and handling message-related operations.
+ * <p>Every blocking call has an {@code *Async} variant that sends the request without parking the calling
+ * thread. Argument validation fails immediately, request and response failures complete the returned
+ * future exceptionally.
  *
  * @author yanghq
  * @version 0.8.0
@@ -52,6 +59,28 @@ public interface DifyChatClient {
      */
     Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest);
 
+    /**
+     * Sends a chat message and returns only the requested event types as a reactive stream
+     * Events of other types are skipped while decoding and never materialized as responses
+     *
+     * @param chatRequest The chat message request containing message content and parameters
+     * @param events      The event types to emit, null or empty emits all events
+     * @return A Publisher stream of chat message completion responses
+     */
+    Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest, Set<StreamEventEnum> events);
+
+    /**
+     * Sends a chat message and returns the requested event types as a reactive stream bound by the given deadlines
+     * The idle timeout is reset by every received event, including pings and skipped events
+     *
+     * @param chatRequest   The chat message request containing message content and parameters
+     * @param events        The event types to emit, null or empty emits all events
+     * @param streamTimeout The idle and total deadlines of the stream, null uses the client configuration
+     * @return A Publisher stream of chat message completion responses
+     */
+    Flux<ChatMessageSendCompletionResponse> streamingChat(ChatMessageSendRequest chatRequest, Set<StreamEventEnum> events,
+                                                          StreamTimeout streamTimeout);
+
     /**
      * Stops an ongoing message stream
      *
@@ -270,4 +299,211 @@ public interface DifyChatClient {
      * @since 1.4.1
      */
     ConversationVariableResponse updateConversationVariable(UpdateConversationVariableRequest request);
+
+    /**
+     * Asynchronous variant of {@link #chat(ChatMessageSendRequest)}
+     *
+     * @param chatRequest The chat message request containing message content and parameters
+     * @return A future of the response from the chat service
+     */
+    CompletableFuture<ChatMessageSendResponse> chatAsync(ChatMessageSendRequest chatRequest);
+
+    /**
+     * Asynchronous variant of {@link #stopMessagesStream(String, String, String)}
+     *
+     * @param apiKey The API key for authentication
+     * @param taskId The ID of the streaming task to stop
+     * @param userId The ID of the user who initiated the stream
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> stopMessagesStreamAsync(String apiKey, String taskId, String userId);
+
+    /**
+     * Asynchronous variant of {@link #messageFeedback(MessageFeedbackRequest)}
+     *
+     * @param request The message feedback request containing rating and other feedback details
+     * @return A future of the response from the feedback submission
+     */
+    CompletableFuture<MessageFeedbackResponse> messageFeedbackAsync(MessageFeedbackRequest request);
+
+    /**
+     * Asynchronous variant of {@link #conversations(MessageConversationsRequest)}
+     *
+     * @param request The request parameters for fetching conversations
+     * @return A future of paginated result containing conversation data
+     */
+    CompletableFuture<DifyPageResult<MessageConversationsResponse>> conversationsAsync(MessageConversationsRequest request);
+
+    /**
+     * Asynchronous variant of {@link #messages(MessagesRequest)}
+     *
+     * @param request The request parameters for fetching messages
+     * @return A future of paginated result containing message data
+     */
+    CompletableFuture<DifyPageResult<MessagesResponseVO>> messagesAsync(MessagesRequest request);
+
+    /**
+     * Asynchronous variant of {@link #messagesSuggested(String, String, String)}
+     *
+     * @param messageId The ID of the message to get suggestions for
+     * @param apiKey    The API key for authentication
+     * @param userId    The ID of the user requesting suggestions
+     * @return A future of a list of suggested message texts
+     */
+    CompletableFuture<List<String>> messagesSuggestedAsync(String messageId, String apiKey, String userId);
+
+    /**
+     * Asynchronous variant of {@link #feedbacks(AppFeedbackPageRequest)}
+     *
+     * @param request Feedback list request containing pagination parameters
+     * @return A future of difyPageResult<AppFeedbackResponse> Paginated result with feedback list
+     */
+    CompletableFuture<DifyPageResult<AppFeedbackResponse>> feedbacksAsync(AppFeedbackPageRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteConversation(String, String, String)}
+     *
+     * @param conversationId The ID of the conversation to delete
+     * @param apiKey         The API key for authentication
+     * @param userId         The ID of the user who owns the conversation
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteConversationAsync(String conversationId, String apiKey, String userId);
+
+    /**
+     * Asynchronous variant of {@link #textToAudio(TextToAudioRequest)}
+     *
+     * @param request The text to audio conversion request
+     * @return A future of hTTP response containing the audio data as byte array
+     */
+    CompletableFuture<ResponseEntity<byte[]>> textToAudioAsync(TextToAudioRequest request);
+
+    /**
+     * Asynchronous variant of {@link #audioToText(AudioToTextRequest)}
+     *
+     * @param request The audio to text conversion request
+     * @return A future of text data extracted from the audio
+     */
+    CompletableFuture<DifyTextVO> audioToTextAsync(AudioToTextRequest request);
+
+    /**
+     * Asynchronous variant of {@link #renameConversation(RenameConversationRequest)}
+     *
+     * @param renameConversationRequest The request containing the new name and conversation details
+     * @return A future of updated conversation data
+     */
+    CompletableFuture<MessageConversationsResponse> renameConversationAsync(RenameConversationRequest renameConversationRequest);
+
+    /**
+     * Asynchronous variant of {@link #parameters(String)}
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return A future of application parameters data
+     */
+    CompletableFuture<AppParametersResponseVO> parametersAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #site(String)}
+     *
+     * @param apikey The API key for authentication and retrieving app parameters
+     * @return A future of application site
+     */
+    CompletableFuture<AppSiteResponse> siteAsync(String apikey);
+
+    /**
+     * Asynchronous variant of {@link #fileUpload(FileUploadRequest)}
+     *
+     * @param request file upload param
+     * @return A future of file upload response
+     */
+    CompletableFuture<FileUploadResponse> fileUploadAsync(FileUploadRequest request);
+
+    /**
+     * Asynchronous variant of {@link #filePreview(FilePreviewRequest)}
+     *
+     * @param request file preview request containing file ID and download mode
+     * @return A future of file content response with appropriate headers for browser display or download
+     */
+    CompletableFuture<ResponseEntity<byte[]>> filePreviewAsync(FilePreviewRequest request);
+
+    /**
+     * Asynchronous variant of {@link #info(String)}
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return A future of application info
+     */
+    CompletableFuture<AppInfoResponse> infoAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #meta(String)}
+     *
+     * @param apiKey The API key for authentication and retrieving app parameters
+     * @return A future of application meta
+     */
+    CompletableFuture<AppMetaResponse> metaAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #pageAppAnnotation(AppAnnotationPageRequest)}
+     *
+     * @param request Annotation pagination request containing page parameters and filters
+     * @return A future of difyPageResult<AppAnnotationResponse> Paginated result with annotation list
+     */
+    CompletableFuture<DifyPageResult<AppAnnotationResponse>> pageAppAnnotationAsync(AppAnnotationPageRequest request);
+
+    /**
+     * Asynchronous variant of {@link #createAppAnnotation(AppAnnotationCreateRequest)}
+     *
+     * @param request Annotation creation request containing annotation content and metadata
+     * @return A future of appAnnotationResponse The created annotation information
+     */
+    CompletableFuture<AppAnnotationResponse> createAppAnnotationAsync(AppAnnotationCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateAppAnnotation(AppAnnotationUpdateRequest)}
+     *
+     * @param request Annotation update request containing modified annotation content and metadata
+     * @return A future of appAnnotationResponse The updated annotation information
+     */
+    CompletableFuture<AppAnnotationResponse> updateAppAnnotationAsync(AppAnnotationUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteAppAnnotation(String, String)}
+     *
+     * @param annotationId Annotation ID to identify the annotation to delete
+     * @param apiKey       API key for authentication
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteAppAnnotationAsync(String annotationId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #annotationReply(AppAnnotationReplyRequest)}
+     *
+     * @param request Annotation reply request containing the reply content and metadata
+     * @return A future of appAnnotationReplyResponse Response containing the created reply information
+     */
+    CompletableFuture<AppAnnotationReplyResponse> annotationReplyAsync(AppAnnotationReplyRequest request);
+
+    /**
+     * Asynchronous variant of {@link #queryAnnotationReply(AppAnnotationReplyQueryRequest)}
+     *
+     * @param request Query parameters for retrieving annotation reply data
+     * @return A future of appAnnotationReplyResponse Response containing the requested reply information
+     */
+    CompletableFuture<AppAnnotationReplyResponse> queryAnnotationReplyAsync(AppAnnotationReplyQueryRequest request);
+
+    /**
+     * Asynchronous variant of {@link #conversationVariables(ConversationVariableRequest)}
+     *
+     * @param request Session variable request object with session ID and optional variable name
+     * @return A future of difyPageResult<ConversationVariableResponse> Paginated results with information about the list of session variables
+     */
+    CompletableFuture<DifyPageResult<ConversationVariableResponse>> conversationVariablesAsync(ConversationVariableRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateConversationVariable(UpdateConversationVariableRequest)}
+     *
+     * @param request 更新会话变量请求对象，包含会话ID、变量ID和新值
+     * @return A future of conversationVariableResponse 更新后的会话变量信息
+     */
+    CompletableFuture<ConversationVariableResponse> updateConversationVariableAsync(UpdateConversationVariableRequest request);
 }
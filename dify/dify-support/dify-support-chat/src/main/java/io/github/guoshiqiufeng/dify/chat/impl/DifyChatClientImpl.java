@@ -19,14 +19,18 @@ import io.github.guoshiqiufeng.dify.chat.DifyChat;
 import io.github.guoshiqiufeng.dify.chat.client.DifyChatClient;
 import io.github.guoshiqiufeng.dify.chat.dto.request.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
 import io.github.guoshiqiufeng.dify.chat.pipeline.DifyChatPipelineUtils;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yanghq
@@ -52,6 +56,17 @@ public class DifyChatClientImpl implements DifyChat {
         return difyChatClient.streamingChat(sendRequest).doOnNext(DifyChatPipelineUtils::processChat);
     }
 
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events) {
+        return difyChatClient.streamingChat(sendRequest, events).doOnNext(DifyChatPipelineUtils::processChat);
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events,
+                                                                         StreamTimeout streamTimeout) {
+        return difyChatClient.streamingChat(sendRequest, events, streamTimeout).doOnNext(DifyChatPipelineUtils::processChat);
+    }
+
     @Override
     public void stopMessagesStream(String apiKey, String taskId, String userId) {
         difyChatClient.stopMessagesStream(apiKey, taskId, userId);
@@ -171,4 +186,129 @@ public class DifyChatClientImpl implements DifyChat {
     public ConversationVariableResponse updateConversationVariable(UpdateConversationVariableRequest request) {
         return difyChatClient.updateConversationVariable(request);
     }
+
+    @Override
+    public CompletableFuture<ChatMessageSendResponse> sendAsync(ChatMessageSendRequest sendRequest) {
+        return difyChatClient.chatAsync(sendRequest);
+    }
+
+    @Override
+    public CompletableFuture<Void> stopMessagesStreamAsync(String apiKey, String taskId, String userId) {
+        return difyChatClient.stopMessagesStreamAsync(apiKey, taskId, userId);
+    }
+
+    @Override
+    public CompletableFuture<MessageFeedbackResponse> messageFeedbackAsync(MessageFeedbackRequest messageFeedbackRequest) {
+        return difyChatClient.messageFeedbackAsync(messageFeedbackRequest);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<AppFeedbackResponse>> feedbacksAsync(AppFeedbackPageRequest request) {
+        return difyChatClient.feedbacksAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<MessageConversationsResponse>> conversationsAsync(MessageConversationsRequest request) {
+        return difyChatClient.conversationsAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<MessagesResponseVO>> messagesAsync(MessagesRequest request) {
+        return difyChatClient.messagesAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> messagesSuggestedAsync(String messageId, String apiKey, String userId) {
+        return difyChatClient.messagesSuggestedAsync(messageId, apiKey, userId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteConversationAsync(String conversationId, String apiKey, String userId) {
+        return difyChatClient.deleteConversationAsync(conversationId, apiKey, userId);
+    }
+
+    @Override
+    public CompletableFuture<MessageConversationsResponse> renameConversationAsync(RenameConversationRequest renameConversationRequest) {
+        return difyChatClient.renameConversationAsync(renameConversationRequest);
+    }
+
+    @Override
+    public CompletableFuture<AppParametersResponseVO> parametersAsync(String apiKey) {
+        return difyChatClient.parametersAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> textToAudioAsync(TextToAudioRequest request) {
+        return difyChatClient.textToAudioAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyTextVO> audioToTextAsync(AudioToTextRequest request) {
+        return difyChatClient.audioToTextAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<FileUploadResponse> fileUploadAsync(FileUploadRequest request) {
+        return difyChatClient.fileUploadAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> filePreviewAsync(FilePreviewRequest request) {
+        return difyChatClient.filePreviewAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<AppInfoResponse> infoAsync(String apiKey) {
+        return difyChatClient.infoAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<AppMetaResponse> metaAsync(String apiKey) {
+        return difyChatClient.metaAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<AppSiteResponse> siteAsync(String apikey) {
+        return difyChatClient.siteAsync(apikey);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<AppAnnotationResponse>> pageAppAnnotationAsync(AppAnnotationPageRequest request) {
+        return difyChatClient.pageAppAnnotationAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationResponse> createAppAnnotationAsync(AppAnnotationCreateRequest request) {
+        return difyChatClient.createAppAnnotationAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationResponse> updateAppAnnotationAsync(AppAnnotationUpdateRequest request) {
+        return difyChatClient.updateAppAnnotationAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppAnnotationAsync(String annotationId, String apiKey) {
+        return difyChatClient.deleteAppAnnotationAsync(annotationId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationReplyResponse> annotationReplyAsync(AppAnnotationReplyRequest request) {
+        return difyChatClient.annotationReplyAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<AppAnnotationReplyResponse> queryAnnotationReplyAsync(AppAnnotationReplyQueryRequest request) {
+        return difyChatClient.queryAnnotationReplyAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<ConversationVariableResponse>> conversationVariablesAsync(ConversationVariableRequest request) {
+        return difyChatClient.conversationVariablesAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<ConversationVariableResponse> updateConversationVariableAsync(UpdateConversationVariableRequest request) {
+        return difyChatClient.updateConversationVariableAsync(request);
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.impl;
+
+import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.chat.ReactiveDifyChat;
+import io.github.guoshiqiufeng.dify.chat.dto.request.*;
+import io.github.guoshiqiufeng.dify.chat.dto.response.*;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于 {@link DifyChat} 异步方法的 {@link ReactiveDifyChat} 实现
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class ReactiveDifyChatClientImpl implements ReactiveDifyChat {
+
+    private final DifyChat difyChat;
+
+    public ReactiveDifyChatClientImpl(DifyChat difyChat) {
+        this.difyChat = difyChat;
+    }
+
+    @Override
+    public Mono<ChatMessageSendResponse> send(ChatMessageSendRequest sendRequest) {
+        return Mono.fromFuture(() -> difyChat.sendAsync(sendRequest));
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest) {
+        return difyChat.sendChatMessageStream(sendRequest);
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events) {
+        return difyChat.sendChatMessageStream(sendRequest, events);
+    }
+
+    @Override
+    public Flux<ChatMessageSendCompletionResponse> sendChatMessageStream(ChatMessageSendRequest sendRequest, Set<StreamEventEnum> events,
+                                                                         StreamTimeout streamTimeout) {
+        return difyChat.sendChatMessageStream(sendRequest, events, streamTimeout);
+    }
+
+    @Override
+    public Mono<Void> stopMessagesStream(String apiKey, String taskId, String userId) {
+        return Mono.fromFuture(() -> difyChat.stopMessagesStreamAsync(apiKey, taskId, userId));
+    }
+
+    @Override
+    public Mono<MessageFeedbackResponse> messageFeedback(MessageFeedbackRequest messageFeedbackRequest) {
+        return Mono.fromFuture(() -> difyChat.messageFeedbackAsync(messageFeedbackRequest));
+    }
+
+    @Override
+    public Mono<DifyPageResult<AppFeedbackResponse>> feedbacks(AppFeedbackPageRequest request) {
+        return Mono.fromFuture(() -> difyChat.feedbacksAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<MessageConversationsResponse>> conversations(MessageConversationsRequest request) {
+        return Mono.fromFuture(() -> difyChat.conversationsAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<MessagesResponseVO>> messages(MessagesRequest request) {
+        return Mono.fromFuture(() -> difyChat.messagesAsync(request));
+    }
+
+    @Override
+    public Mono<List<String>> messagesSuggested(String messageId, String apiKey, String userId) {
+        return Mono.fromFuture(() -> difyChat.messagesSuggestedAsync(messageId, apiKey, userId));
+    }
+
+    @Override
+    public Mono<Void> deleteConversation(String conversationId, String apiKey, String userId) {
+        return Mono.fromFuture(() -> difyChat.deleteConversationAsync(conversationId, apiKey, userId));
+    }
+
+    @Override
+    public Mono<MessageConversationsResponse> renameConversation(RenameConversationRequest renameConversationRequest) {
+        return Mono.fromFuture(() -> difyChat.renameConversationAsync(renameConversationRequest));
+    }
+
+    @Override
+    public Mono<AppParametersResponseVO> parameters(String apiKey) {
+        return Mono.fromFuture(() -> difyChat.parametersAsync(apiKey));
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> textToAudio(TextToAudioRequest request) {
+        return Mono.fromFuture(() -> difyChat.textToAudioAsync(request));
+    }
+
+    @Override
+    public Mono<DifyTextVO> audioToText(AudioToTextRequest request) {
+        return Mono.fromFuture(() -> difyChat.audioToTextAsync(request));
+    }
+
+    @Override
+    public Mono<FileUploadResponse> fileUpload(FileUploadRequest request) {
+        return Mono.fromFuture(() -> difyChat.fileUploadAsync(request));
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> filePreview(FilePreviewRequest request) {
+        return Mono.fromFuture(() -> difyChat.filePreviewAsync(request));
+    }
+
+    @Override
+    public Mono<AppInfoResponse> info(String apiKey) {
+        return Mono.fromFuture(() -> difyChat.infoAsync(apiKey));
+    }
+
+    @Override
+    public Mono<AppMetaResponse> meta(String apiKey) {
+        return Mono.fromFuture(() -> difyChat.metaAsync(apiKey));
+    }
+
+    @Override
+    public Mono<AppSiteResponse> site(String apikey) {
+        return Mono.fromFuture(() -> difyChat.siteAsync(apikey));
+    }
+
+    @Override
+    public Mono<DifyPageResult<AppAnnotationResponse>> pageAppAnnotation(AppAnnotationPageRequest request) {
+        return Mono.fromFuture(() -> difyChat.pageAppAnnotationAsync(request));
+    }
+
+    @Override
+    public Mono<AppAnnotationResponse> createAppAnnotation(AppAnnotationCreateRequest request) {
+        return Mono.fromFuture(() -> difyChat.createAppAnnotationAsync(request));
+    }
+
+    @Override
+    public Mono<AppAnnotationResponse> updateAppAnnotation(AppAnnotationUpdateRequest request) {
+        return Mono.fromFuture(() -> difyChat.updateAppAnnotationAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteAppAnnotation(String annotationId, String apiKey) {
+        return Mono.fromFuture(() -> difyChat.deleteAppAnnotationAsync(annotationId, apiKey));
+    }
+
+    @Override
+    public Mono<AppAnnotationReplyResponse> annotationReply(AppAnnotationReplyRequest request) {
+        return Mono.fromFuture(() -> difyChat.annotationReplyAsync(request));
+    }
+
+    @Override
+    public Mono<AppAnnotationReplyResponse> queryAnnotationReply(AppAnnotationReplyQueryRequest request) {
+        return Mono.fromFuture(() -> difyChat.queryAnnotationReplyAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<ConversationVariableResponse>> conversationVariables(ConversationVariableRequest request) {
+        return Mono.fromFuture(() -> difyChat.conversationVariablesAsync(request));
+    }
+
+    @Override
+    public Mono<ConversationVariableResponse> updateConversationVariable(UpdateConversationVariableRequest request) {
+        return Mono.fromFuture(() -> difyChat.updateConversationVariableAsync(request));
+    }
+}
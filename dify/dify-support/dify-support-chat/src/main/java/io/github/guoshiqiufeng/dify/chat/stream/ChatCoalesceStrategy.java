@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.stream;
+
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionResponse;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.client.core.stream.CoalesceStrategy;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamCoalescer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 聊天消息流合并策略
+ * <p>
+ * 合并同一消息内连续的 message / agent_message 增量,其它事件(message_end、error 等)作为结构事件立即透传。
+ * 合并结果沿用首个增量对象,answer 替换为拼接后的文本
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public final class ChatCoalesceStrategy implements CoalesceStrategy<ChatMessageSendCompletionResponse> {
+
+    private static final ChatCoalesceStrategy INSTANCE = new ChatCoalesceStrategy();
+
+    private static final String MESSAGE = StreamEventEnum.message.name();
+    private static final String AGENT_MESSAGE = StreamEventEnum.agent_message.name();
+
+    private ChatCoalesceStrategy() {
+    }
+
+    /**
+     * 获取策略实例
+     *
+     * @return 策略实例
+     */
+    public static ChatCoalesceStrategy getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 创建聊天消息流合并操作符,通过 {@code flux.transform(...)} 使用
+     *
+     * @param window   增量最长等待时间
+     * @param maxBytes 合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return 合并操作符
+     */
+    public static StreamCoalescer<ChatMessageSendCompletionResponse> coalescer(Duration window, int maxBytes) {
+        return StreamCoalescer.of(INSTANCE, window, maxBytes);
+    }
+
+    @Override
+    public String delta(ChatMessageSendCompletionResponse item) {
+        String event = item.getEvent();
+        if (MESSAGE.equals(event) || AGENT_MESSAGE.equals(event)) {
+            return item.getAnswer() == null ? "" : item.getAnswer();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean sameSegment(ChatMessageSendCompletionResponse head, ChatMessageSendCompletionResponse next) {
+        return Objects.equals(head.getEvent(), next.getEvent())
+                && Objects.equals(head.getMessageId(), next.getMessageId())
+                && Objects.equals(head.getConversationId(), next.getConversationId())
+                && Objects.equals(head.getTaskId(), next.getTaskId())
+                && Objects.equals(head.getFromVariableSelector(), next.getFromVariableSelector());
+    }
+
+    @Override
+    public ChatMessageSendCompletionResponse merge(ChatMessageSendCompletionResponse head, String text) {
+        head.setAnswer(text);
+        return head;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.stream;
+
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionResponse;
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendResponse;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * 流式聊天应答聚合器
+ * <p>
+ * 将 streamingChat 返回的增量事件聚合为与阻塞式 chat() 等价的 {@link ChatMessageSendResponse}。
+ * 增量文本追加到同一个缓冲区,快照仅在内容变化后生成一次,{@link #snapshot(int)} 只复制调用方尚未读取的部分;
+ * message_replace 会替换已收到的全部内容,message_end 携带的 metadata(usage、引用资源)会被保留,
+ * error 事件以及未收到 message_end 就结束的流会转换为 {@link DifyClientException}
+ * </p>
+ * <p>
+ * 线程安全:事件由流线程写入,其它线程可随时调用 {@link #snapshot()} 读取当前已生成的部分应答
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class StreamingChatAggregator implements Consumer<ChatMessageSendCompletionResponse> {
+
+    private static final String MESSAGE = StreamEventEnum.message.name();
+    private static final String AGENT_MESSAGE = StreamEventEnum.agent_message.name();
+    private static final String MESSAGE_REPLACE = StreamEventEnum.message_replace.name();
+    private static final String MESSAGE_END = StreamEventEnum.message_end.name();
+    private static final String ERROR = StreamEventEnum.error.name();
+    private static final int DEFAULT_ERROR_STATUS = 500;
+    private static final int INCOMPLETE_STATUS = 500;
+
+    /**
+     * 已收到的应答文本
+     */
+    private final StringBuilder answer = new StringBuilder();
+
+    /**
+     * 上次生成的快照,应答变化后置空
+     */
+    private String snapshot = "";
+
+    private String taskId;
+    private String id;
+    private String messageId;
+    private String conversationId;
+    private Long createdAt;
+    private ChatMessageSendResponse.Metadata metadata;
+    private boolean completed;
+    private DifyClientException error;
+
+    /**
+     * 聚合事件流,流结束后返回最终应答
+     *
+     * @param stream 流式聊天事件
+     * @return 聚合后的应答,流中出现 error 事件或未收到 message_end 时以 {@link DifyClientException} 结束
+     */
+    public static Mono<ChatMessageSendResponse> aggregate(Flux<ChatMessageSendCompletionResponse> stream) {
+        return Mono.defer(() -> {
+            StreamingChatAggregator aggregator = new StreamingChatAggregator();
+            return stream.doOnNext(aggregator).then(Mono.fromCallable(aggregator::toResponse));
+        });
+    }
+
+    /**
+     * 接收一条流式事件
+     *
+     * @param event 流式事件
+     * @throws DifyClientException 收到 error 事件时抛出
+     */
+    @Override
+    public synchronized void accept(ChatMessageSendCompletionResponse event) {
+        if (event == null || event.getEvent() == null) {
+            return;
+        }
+        String type = event.getEvent();
+        if (ERROR.equals(type)) {
+            Integer status = event.getStatus() != null ? event.getStatus() : DEFAULT_ERROR_STATUS;
+            error = new DifyClientException(status, "[" + event.getCode() + "] " + event.getMessage());
+            throw error;
+        }
+        if (MESSAGE.equals(type) || AGENT_MESSAGE.equals(type)) {
+            captureIds(event);
+            append(event.getAnswer());
+        } else if (MESSAGE_REPLACE.equals(type)) {
+            captureIds(event);
+            replace(event.getAnswer());
+        } else if (MESSAGE_END.equals(type)) {
+            captureIds(event);
+            if (event.getMetadata() != null) {
+                metadata = event.getMetadata();
+            }
+            completed = true;
+        }
+    }
+
+    /**
+     * 获取当前已生成的应答文本
+     * <p>
+     * 内容未变化时直接返回上次结果;需要逐个增量读取时使用 {@link #snapshot(int)},避免每次复制完整应答
+     * </p>
+     *
+     * @return 当前应答文本
+     */
+    public synchronized String snapshot() {
+        if (snapshot == null) {
+            snapshot = answer.toString();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 获取指定位置之后的应答文本
+     * <p>
+     * 仅复制 start 之后的字符,调用方记录已读取的长度即可增量读取;
+     * message_replace 会替换完整应答,此时应重新调用 {@link #snapshot()}
+     * </p>
+     *
+     * @param start 已读取的字符数
+     * @return start 之后的应答文本,start 不小于当前长度时返回空字符串
+     */
+    public synchronized String snapshot(int start) {
+        if (start <= 0) {
+            return snapshot();
+        }
+        return start >= answer.length() ? "" : answer.substring(start);
+    }
+
+    /**
+     * 获取当前应答文本长度
+     *
+     * @return 字符数
+     */
+    public synchronized int length() {
+        return answer.length();
+    }
+
+    /**
+     * 是否已收到 message_end 事件
+     *
+     * @return true 表示应答已完整
+     */
+    public synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 生成与阻塞式 chat() 等价的应答
+     *
+     * @return 聚合后的应答
+     * @throws DifyClientException 流中出现过 error 事件或未收到 message_end 事件时抛出
+     */
+    public synchronized ChatMessageSendResponse toResponse() {
+        if (error != null) {
+            throw error;
+        }
+        if (!completed) {
+            throw new DifyClientException(INCOMPLETE_STATUS, "Chat stream ended before message_end");
+        }
+        ChatMessageSendResponse response = new ChatMessageSendResponse();
+        response.setEvent(MESSAGE);
+        response.setTaskId(taskId);
+        response.setId(id);
+        response.setMessageId(messageId);
+        response.setConversationId(conversationId);
+        response.setCreatedAt(createdAt);
+        response.setAnswer(snapshot());
+        response.setMetadata(metadata);
+        return response;
+    }
+
+    private void append(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        answer.append(delta);
+        snapshot = null;
+    }
+
+    private void replace(String replacement) {
+        snapshot = replacement == null ? "" : replacement;
+        answer.setLength(0);
+        answer.append(snapshot);
+    }
+
+    private void captureIds(ChatMessageSendCompletionResponse event) {
+        if (taskId == null) {
+            taskId = event.getTaskId();
+        }
+        if (id == null) {
+            id = event.getId();
+        }
+        if (messageId == null) {
+            messageId = event.getMessageId();
+        }
+        if (conversationId == null) {
+            conversationId = event.getConversationId();
+        }
+        if (createdAt == null) {
+            createdAt = event.getCreatedAt();
+        }
+    }
+}
@@ -38,10 +38,12 @@ import io.github.guoshiqiufeng.dify.chat.dto.response.*;
 import io.github.guoshiqiufeng.dify.chat.dto.response.parameter.Enabled;
 import io.github.guoshiqiufeng.dify.chat.enums.AnnotationReplyActionEnum;
 import io.github.guoshiqiufeng.dify.chat.enums.IconTypeEnum;
+import io.github.guoshiqiufeng.dify.chat.enums.StreamEventEnum;
 import io.github.guoshiqiufeng.dify.client.core.http.ContentDisposition;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.http.MediaType;
 import io.github.guoshiqiufeng.dify.client.core.response.ResponseEntity;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyFile;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.core.pojo.response.MessagesResponseVO;
@@ -51,7 +53,9 @@ import org.mockito.Mockito;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -131,6 +135,74 @@ class DifyChatClientImplTest {
         verify(difyChatClient, times(1)).streamingChat(any(ChatMessageSendRequest.class));
     }
 
+    @Test
+    void testStreamingChatWithEventFilter() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setContent("Tell me about AI");
+        request.setApiKey("streaming");
+        Set<StreamEventEnum> events = EnumSet.of(StreamEventEnum.message_end);
+
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent("message_end");
+        response.setId("msg_123");
+
+        when(difyChatClient.streamingChat(request, events)).thenReturn(Flux.just(response));
+
+        StepVerifier.create(difyChat.sendChatMessageStream(request, events))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(difyChatClient, times(1)).streamingChat(request, events);
+    }
+
+    @Test
+    void testStreamingChatWithStreamTimeout() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setContent("Tell me about AI");
+        request.setApiKey("streaming");
+        StreamTimeout timeout = StreamTimeout.of(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent("message");
+        response.setAnswer("AI");
+
+        when(difyChatClient.streamingChat(request, null, timeout)).thenReturn(Flux.just(response));
+
+        StepVerifier.create(difyChat.sendChatMessageStream(request, null, timeout))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(difyChatClient, times(1)).streamingChat(request, null, timeout);
+    }
+
+    @Test
+    void testStreamingChatCoalesced() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setContent("Tell me about AI");
+        request.setApiKey("streaming");
+
+        ChatMessageSendCompletionResponse response1 = new ChatMessageSendCompletionResponse();
+        response1.setEvent("message");
+        response1.setMessageId("msg_123");
+        response1.setAnswer("Artificial");
+
+        ChatMessageSendCompletionResponse response2 = new ChatMessageSendCompletionResponse();
+        response2.setEvent("message");
+        response2.setMessageId("msg_123");
+        response2.setAnswer(" Intelligence");
+
+        ChatMessageSendCompletionResponse end = new ChatMessageSendCompletionResponse();
+        end.setEvent("message_end");
+        end.setMessageId("msg_123");
+
+        when(difyChatClient.streamingChat(request)).thenReturn(Flux.just(response1, response2, end));
+
+        StepVerifier.create(difyChat.sendChatMessageStream(request, Duration.ofMillis(30), 0))
+                .assertNext(merged -> assertEquals("Artificial Intelligence", merged.getAnswer()))
+                .expectNext(end)
+                .verifyComplete();
+    }
+
     @Test
     void testStopMessagesStream() {
         // Arrange
@@ -857,4 +929,32 @@ class DifyChatClientImplTest {
 
         verify(difyChatClient, times(1)).updateConversationVariable(any(UpdateConversationVariableRequest.class));
     }
+
+    @Test
+    void testSendAsync() throws Exception {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        request.setApiKey("test-api-key");
+        request.setContent("Hello");
+
+        ChatMessageSendResponse expectedResponse = new ChatMessageSendResponse();
+        expectedResponse.setMessageId("msg-123");
+        when(difyChatClient.chatAsync(any(ChatMessageSendRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        ChatMessageSendResponse actualResponse = difyChat.sendAsync(request).get();
+
+        assertSame(expectedResponse, actualResponse);
+        verify(difyChatClient, times(1)).chatAsync(request);
+        verify(difyChatClient, never()).chat(any(ChatMessageSendRequest.class));
+    }
+
+    @Test
+    void testStopMessagesStreamAsync() throws Exception {
+        when(difyChatClient.stopMessagesStreamAsync(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertNull(difyChat.stopMessagesStreamAsync("test-api-key", "task-123", "user-123").get());
+
+        verify(difyChatClient, times(1)).stopMessagesStreamAsync("test-api-key", "task-123", "user-123");
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.impl;
+
+import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.chat.ReactiveDifyChat;
+import io.github.guoshiqiufeng.dify.chat.dto.request.ChatMessageSendRequest;
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionResponse;
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ReactiveDifyChatClientImpl}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class ReactiveDifyChatClientImplTest {
+
+    private DifyChat difyChat;
+    private ReactiveDifyChat reactiveDifyChat;
+
+    @BeforeEach
+    void setup() {
+        difyChat = mock(DifyChat.class);
+        reactiveDifyChat = new ReactiveDifyChatClientImpl(difyChat);
+    }
+
+    @Test
+    void testSendIsLazyAndUsesAsyncCall() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        ChatMessageSendResponse response = new ChatMessageSendResponse();
+        when(difyChat.sendAsync(any(ChatMessageSendRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+        Mono<ChatMessageSendResponse> mono = reactiveDifyChat.send(request);
+        verify(difyChat, never()).sendAsync(any(ChatMessageSendRequest.class));
+
+        StepVerifier.create(mono)
+                .expectNext(response)
+                .verifyComplete();
+        verify(difyChat, times(1)).sendAsync(request);
+        verify(difyChat, never()).send(any(ChatMessageSendRequest.class));
+    }
+
+    @Test
+    void testSendFailure() {
+        CompletableFuture<ChatMessageSendResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("boom"));
+        when(difyChat.sendAsync(any(ChatMessageSendRequest.class))).thenReturn(failed);
+
+        StepVerifier.create(reactiveDifyChat.send(new ChatMessageSendRequest()))
+                .expectErrorMatches(e -> e instanceof IllegalStateException && "boom".equals(e.getMessage()))
+                .verify();
+    }
+
+    @Test
+    void testArgumentErrorSurfacesAsOnError() {
+        when(difyChat.sendAsync(any())).thenThrow(new IllegalArgumentException("request cannot be null"));
+
+        StepVerifier.create(reactiveDifyChat.send(null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testStopMessagesStream() {
+        when(difyChat.stopMessagesStreamAsync("key", "task", "user")).thenReturn(CompletableFuture.completedFuture(null));
+
+        StepVerifier.create(reactiveDifyChat.stopMessagesStream("key", "task", "user"))
+                .verifyComplete();
+        verify(difyChat, times(1)).stopMessagesStreamAsync("key", "task", "user");
+    }
+
+    @Test
+    void testSendChatMessageStream() {
+        ChatMessageSendRequest request = new ChatMessageSendRequest();
+        ChatMessageSendCompletionResponse first = new ChatMessageSendCompletionResponse();
+        ChatMessageSendCompletionResponse second = new ChatMessageSendCompletionResponse();
+        when(difyChat.sendChatMessageStream(request)).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(reactiveDifyChat.sendChatMessageStream(request))
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+}
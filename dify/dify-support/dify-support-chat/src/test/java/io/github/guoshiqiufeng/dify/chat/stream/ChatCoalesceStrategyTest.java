@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.stream;
+
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ChatCoalesceStrategy}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class ChatCoalesceStrategyTest {
+
+    private static ChatMessageSendCompletionResponse event(String event, String messageId, String answer) {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent(event);
+        response.setMessageId(messageId);
+        response.setConversationId("conv-1");
+        response.setTaskId("task-1");
+        response.setAnswer(answer);
+        return response;
+    }
+
+    @Test
+    void testDelta() {
+        ChatCoalesceStrategy strategy = ChatCoalesceStrategy.getInstance();
+
+        assertEquals("Hi", strategy.delta(event("message", "m-1", "Hi")));
+        assertEquals("Hi", strategy.delta(event("agent_message", "m-1", "Hi")));
+        assertEquals("", strategy.delta(event("message", "m-1", null)));
+        assertNull(strategy.delta(event("message_end", "m-1", null)));
+        assertNull(strategy.delta(event("error", "m-1", null)));
+        assertNull(strategy.delta(event("message_replace", "m-1", "x")));
+    }
+
+    @Test
+    void testSameSegment() {
+        ChatCoalesceStrategy strategy = ChatCoalesceStrategy.getInstance();
+        ChatMessageSendCompletionResponse head = event("message", "m-1", "a");
+
+        assertTrue(strategy.sameSegment(head, event("message", "m-1", "b")));
+        assertFalse(strategy.sameSegment(head, event("agent_message", "m-1", "b")));
+        assertFalse(strategy.sameSegment(head, event("message", "m-2", "b")));
+
+        ChatMessageSendCompletionResponse otherNode = event("message", "m-1", "b");
+        otherNode.setFromVariableSelector(Arrays.asList("node-2", "text"));
+        assertFalse(strategy.sameSegment(head, otherNode));
+    }
+
+    @Test
+    void testCoalescerMergesAnswers() {
+        ChatMessageSendCompletionResponse first = event("message", "m-1", "Hel");
+        ChatMessageSendCompletionResponse end = event("message_end", "m-1", null);
+
+        Flux<ChatMessageSendCompletionResponse> flux = Flux.just(first, event("message", "m-1", "lo"), end)
+                .transform(ChatCoalesceStrategy.coalescer(Duration.ofMillis(30), 0));
+
+        StepVerifier.create(flux)
+                .assertNext(merged -> {
+                    assertSame(first, merged);
+                    assertEquals("Hello", merged.getAnswer());
+                    assertEquals("m-1", merged.getMessageId());
+                })
+                .expectNext(end)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.chat.stream;
+
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendCompletionResponse;
+import io.github.guoshiqiufeng.dify.chat.dto.response.ChatMessageSendResponse;
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StreamingChatAggregator}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class StreamingChatAggregatorTest {
+
+    private static ChatMessageSendCompletionResponse event(String event, String answer) {
+        ChatMessageSendCompletionResponse response = new ChatMessageSendCompletionResponse();
+        response.setEvent(event);
+        response.setTaskId("task-1");
+        response.setId("msg-1");
+        response.setMessageId("msg-1");
+        response.setConversationId("conv-1");
+        response.setCreatedAt(1705398420L);
+        response.setAnswer(answer);
+        return response;
+    }
+
+    private static ChatMessageSendCompletionResponse messageEnd() {
+        ChatMessageSendResponse.Usage usage = new ChatMessageSendResponse.Usage();
+        usage.setTotalTokens(15);
+        ChatMessageSendResponse.Metadata metadata = new ChatMessageSendResponse.Metadata();
+        metadata.setUsage(usage);
+        ChatMessageSendCompletionResponse end = event("message_end", null);
+        end.setMetadata(metadata);
+        return end;
+    }
+
+    @Test
+    void testAggregatesDeltasAndMetadata() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+
+        aggregator.accept(event("message", "Hello"));
+        aggregator.accept(event("ping", null));
+        aggregator.accept(event("message", ", "));
+        aggregator.accept(event("agent_message", "world"));
+        aggregator.accept(messageEnd());
+
+        ChatMessageSendResponse response = aggregator.toResponse();
+        assertTrue(aggregator.isCompleted());
+        assertEquals("message", response.getEvent());
+        assertEquals("Hello, world", response.getAnswer());
+        assertEquals("task-1", response.getTaskId());
+        assertEquals("msg-1", response.getMessageId());
+        assertEquals("conv-1", response.getConversationId());
+        assertEquals(1705398420L, response.getCreatedAt());
+        assertEquals(15, response.getMetadata().getUsage().getTotalTokens());
+    }
+
+    @Test
+    void testSnapshotIsIncremental() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+        assertEquals("", aggregator.snapshot());
+
+        aggregator.accept(event("message", "Hel"));
+        aggregator.accept(event("message", "lo"));
+        String first = aggregator.snapshot();
+        assertEquals("Hello", first);
+        assertSame(first, aggregator.snapshot());
+        assertEquals(5, aggregator.length());
+        assertFalse(aggregator.isCompleted());
+
+        aggregator.accept(event("message", "!"));
+        assertEquals("Hello!", aggregator.snapshot());
+        assertEquals(6, aggregator.length());
+    }
+
+    @Test
+    void testSnapshotFromReadOffset() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+        StringBuilder received = new StringBuilder();
+
+        for (String delta : new String[]{"He", "ll", "o", "!"}) {
+            aggregator.accept(event("message", delta));
+            String added = aggregator.snapshot(received.length());
+            assertEquals(delta, added);
+            received.append(added);
+        }
+        assertEquals("Hello!", received.toString());
+        assertEquals("", aggregator.snapshot(received.length()));
+        assertEquals("Hello!", aggregator.snapshot(0));
+
+        aggregator.accept(event("message_replace", "Hi"));
+        assertEquals("", aggregator.snapshot(received.length()));
+        assertEquals("Hi", aggregator.snapshot());
+    }
+
+    @Test
+    void testMessageReplaceDiscardsPreviousAnswer() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+
+        aggregator.accept(event("message", "flagged "));
+        aggregator.snapshot();
+        aggregator.accept(event("message", "content"));
+        aggregator.accept(event("message_replace", "Preset reply."));
+        assertEquals("Preset reply.", aggregator.snapshot());
+
+        aggregator.accept(event("message", " More."));
+        aggregator.accept(messageEnd());
+        assertEquals("Preset reply. More.", aggregator.toResponse().getAnswer());
+    }
+
+    @Test
+    void testMissingMessageEndFails() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+        aggregator.accept(event("message", "Truncat"));
+
+        DifyClientException exception = assertThrows(DifyClientException.class, aggregator::toResponse);
+        assertEquals(500, exception.getCode());
+        assertEquals("Truncat", aggregator.snapshot());
+    }
+
+    @Test
+    void testErrorEventFails() {
+        StreamingChatAggregator aggregator = new StreamingChatAggregator();
+        ChatMessageSendCompletionResponse error = event("error", null);
+        error.setStatus(400);
+        error.setCode("invalid_param");
+        error.setMessage("bad request");
+
+        DifyClientException exception = assertThrows(DifyClientException.class, () -> aggregator.accept(error));
+        assertEquals(400, exception.getCode());
+        assertEquals("[invalid_param] bad request", exception.getMsg());
+        assertThrows(DifyClientException.class, aggregator::toResponse);
+    }
+
+    @Test
+    void testAggregate() {
+        Flux<ChatMessageSendCompletionResponse> stream = Flux.just(
+                event("message", "Hi"), event("message", " there"), messageEnd());
+
+        StepVerifier.create(StreamingChatAggregator.aggregate(stream))
+                .assertNext(response -> {
+                    assertEquals("Hi there", response.getAnswer());
+                    assertEquals(15, response.getMetadata().getUsage().getTotalTokens());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testAggregateStreamEndingBeforeMessageEnd() {
+        Flux<ChatMessageSendCompletionResponse> stream = Flux.just(event("message", "Hi"), event("message", " th"));
+
+        StepVerifier.create(StreamingChatAggregator.aggregate(stream))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(DifyClientException.class, e);
+                    assertEquals("Chat stream ended before message_end", ((DifyClientException) e).getMsg());
+                })
+                .verify();
+    }
+
+    @Test
+    void testAggregateErrorEvent() {
+        ChatMessageSendCompletionResponse error = event("error", null);
+        error.setCode("provider_error");
+        error.setMessage("quota exceeded");
+
+        StepVerifier.create(StreamingChatAggregator.aggregate(Flux.just(event("message", "Hi"), error)))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(DifyClientException.class, e);
+                    assertEquals(500, ((DifyClientException) e).getCode());
+                })
+                .verify();
+    }
+}
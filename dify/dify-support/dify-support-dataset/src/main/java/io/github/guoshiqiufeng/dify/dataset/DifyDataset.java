@@ -22,6 +22,7 @@ import io.github.guoshiqiufeng.dify.dataset.enums.document.DocActionEnum;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yanghq
@@ -517,4 +518,356 @@ public interface DifyDataset {
      * @since 1.3.3
      */
     DatasetStatusResponse changeDocumentStatus(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey);
+
+    /**
+     * {@link #create(DatasetCreateRequest)} 的异步版本
+     *
+     * @param request 知识库创建请求对象，包含创建 知识库所需的信息。
+     * @return 异步结果，返回创建的 知识库响应对象。
+     */
+    CompletableFuture<DatasetResponse> createAsync(DatasetCreateRequest request);
+
+    /**
+     * {@link #page(DatasetPageRequest)} 的异步版本
+     *
+     * @param request 分页查询请求对象，包含分页参数和查询条件。
+     * @return 异步结果，返回分页查询结果，包含 知识库信息列表和分页信息。
+     */
+    CompletableFuture<DifyPageResult<DatasetResponse>> pageAsync(DatasetPageRequest request);
+
+    /**
+     * {@link #info(DatasetInfoRequest)} 的异步版本
+     *
+     * @param request 知识库详情查询请求对象
+     * @return 异步结果，知识库详情
+     */
+    CompletableFuture<DatasetInfoResponse> infoAsync(DatasetInfoRequest request);
+
+    /**
+     * {@link #update(DatasetUpdateRequest)} 的异步版本
+     *
+     * @param request 请求对象
+     * @return 异步结果，知识库详情
+     */
+    CompletableFuture<DatasetInfoResponse> updateAsync(DatasetUpdateRequest request);
+
+    /**
+     * {@link #delete(String, String)} 的异步版本
+     *
+     * @param datasetId 知识库的唯一标识符。
+     * @param apiKey    知识库的唯一标识符。
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteAsync(String datasetId, String apiKey);
+
+    /**
+     * {@link #createDocumentByText(DocumentCreateByTextRequest)} 的异步版本
+     *
+     * @param request 文档创建请求对象，包含通过文本创建文档所需的信息。
+     * @return 异步结果，返回文档创建响应对象。
+     */
+    CompletableFuture<DocumentCreateResponse> createDocumentByTextAsync(DocumentCreateByTextRequest request);
+
+    /**
+     * {@link #createDocumentByFile(DocumentCreateByFileRequest)} 的异步版本
+     *
+     * @param request 文档创建请求对象，包含通过文件创建文档所需的信息。
+     * @return 异步结果，返回文档创建响应对象。
+     */
+    CompletableFuture<DocumentCreateResponse> createDocumentByFileAsync(DocumentCreateByFileRequest request);
+
+    /**
+     * {@link #updateDocumentByText(DocumentUpdateByTextRequest)} 的异步版本
+     *
+     * @param request 文档更新请求对象，包含通过文本更新文档所需的信息。
+     * @return 异步结果，返回文档更新响应对象。
+     */
+    CompletableFuture<DocumentCreateResponse> updateDocumentByTextAsync(DocumentUpdateByTextRequest request);
+
+    /**
+     * {@link #updateDocumentByFile(DocumentUpdateByFileRequest)} 的异步版本
+     *
+     * @param request 文档更新请求对象，包含通过文件更新文档所需的信息。
+     * @return 异步结果，返回文档更新响应对象。
+     */
+    CompletableFuture<DocumentCreateResponse> updateDocumentByFileAsync(DocumentUpdateByFileRequest request);
+
+    /**
+     * {@link #pageDocument(DatasetPageDocumentRequest)} 的异步版本
+     *
+     * @param request 分页查询请求对象，包含分页参数和查询条件。
+     * @return 异步结果，返回分页查询结果，包含文档信息列表和分页信息。
+     */
+    CompletableFuture<DifyPageResult<DocumentInfo>> pageDocumentAsync(DatasetPageDocumentRequest request);
+
+    /**
+     * {@link #getDocument(String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param apiKey     apiKey
+     * @return 异步结果，返回文档详情信息。
+     */
+    CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * {@link #getDocument(String, String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param metadata   元数据过滤选项 (all, only, without)
+     * @param apiKey     apiKey
+     * @return 异步结果，返回文档详情信息。
+     */
+    CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String metadata, String apiKey);
+
+    /**
+     * {@link #indexingStatus(DocumentIndexingStatusRequest)} 的异步版本
+     *
+     * @param request 索引状态查询请求对象，包含查询所需的信息。
+     * @return 异步结果，返回文档索引状态响应对象。
+     */
+    CompletableFuture<DocumentIndexingStatusResponse> indexingStatusAsync(DocumentIndexingStatusRequest request);
+
+    /**
+     * {@link #deleteDocument(String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param apiKey     apiKey
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteDocumentAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * {@link #createSegment(SegmentCreateRequest)} 的异步版本
+     *
+     * @param request 分段创建请求对象，包含创建分段所需的信息。
+     * @return 异步结果，返回分段创建响应对象。
+     */
+    CompletableFuture<SegmentResponse> createSegmentAsync(SegmentCreateRequest request);
+
+    /**
+     * {@link #pageSegment(SegmentPageRequest)} 的异步版本
+     *
+     * @param request 分页查询请求对象，包含分页参数和查询条件。
+     * @return 异步结果，返回分段分页查询响应对象。
+     */
+    CompletableFuture<SegmentResponse> pageSegmentAsync(SegmentPageRequest request);
+
+    /**
+     * {@link #deleteSegment(String, String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param segmentId  分段的唯一标识符。
+     * @param apiKey     apiKey
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey);
+
+    /**
+     * {@link #updateSegment(SegmentUpdateRequest)} 的异步版本
+     *
+     * @param request 分段更新请求对象，包含更新分段所需的信息。
+     * @return 异步结果，返回分段更新响应对象。
+     */
+    CompletableFuture<SegmentUpdateResponse> updateSegmentAsync(SegmentUpdateRequest request);
+
+    /**
+     * {@link #getSegment(String, String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param segmentId  分段的唯一标识符。
+     * @param apiKey     apiKey
+     * @return 异步结果，返回分段详情信息。
+     */
+    CompletableFuture<SegmentData> getSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey);
+
+    /**
+     * {@link #createSegmentChildChunk(SegmentChildChunkCreateRequest)} 的异步版本
+     *
+     * @param request 子分段创建请求对象，包含创建分段所需的信息。
+     * @return 异步结果，返回子分段响应对象
+     */
+    CompletableFuture<SegmentChildChunkCreateResponse> createSegmentChildChunkAsync(SegmentChildChunkCreateRequest request);
+
+    /**
+     * {@link #pageSegmentChildChunk(SegmentChildChunkPageRequest)} 的异步版本
+     *
+     * @param request 子分段分页查询请求对象，包含分页参数和查询条件。
+     * @return 异步结果，返回子分段分页查询响应对象
+     */
+    CompletableFuture<DifyPageResult<SegmentChildChunkResponse>> pageSegmentChildChunkAsync(SegmentChildChunkPageRequest request);
+
+    /**
+     * {@link #deleteSegmentChildChunk(SegmentChildChunkDeleteRequest)} 的异步版本
+     *
+     * @param request 子分段删除请求对象
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteSegmentChildChunkAsync(SegmentChildChunkDeleteRequest request);
+
+    /**
+     * {@link #updateSegmentChildChunk(SegmentChildChunkUpdateRequest)} 的异步版本
+     *
+     * @param request 子分段更新请求对象，包含更新子分段所需的信息。
+     * @return 异步结果，返回子分段更新响应对象
+     */
+    CompletableFuture<SegmentChildChunkUpdateResponse> updateSegmentChildChunkAsync(SegmentChildChunkUpdateRequest request);
+
+    /**
+     * {@link #uploadFileInfo(String, String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符。
+     * @param documentId 文档的唯一标识符。
+     * @param apiKey     apiKey
+     * @return 异步结果，返回上传文件信息响应对象。
+     */
+    CompletableFuture<UploadFileInfoResponse> uploadFileInfoAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * {@link #retrieve(RetrieveRequest)} 的异步版本
+     *
+     * @param request 检索请求对象，包含检索所需的信息。
+     * @return 异步结果，返回检索响应对象。
+     */
+    CompletableFuture<RetrieveResponse> retrieveAsync(RetrieveRequest request);
+
+    /**
+     * {@link #createMetaData(MetaDataCreateRequest)} 的异步版本
+     *
+     * @param request 元数据创建请求参数（需包含数据集ID和元数据内容）
+     * @return 异步结果，创建成功的元数据详情
+     */
+    CompletableFuture<MetaDataResponse> createMetaDataAsync(MetaDataCreateRequest request);
+
+    /**
+     * {@link #updateMetaData(MetaDataUpdateRequest)} 的异步版本
+     *
+     * @param request 元数据更新请求参数（需包含元数据ID和更新内容）
+     * @return 异步结果，更新后的元数据详情
+     */
+    CompletableFuture<MetaDataResponse> updateMetaDataAsync(MetaDataUpdateRequest request);
+
+    /**
+     * {@link #deleteMetaData(String, String, String)} 的异步版本
+     *
+     * @param datasetId  数据集ID
+     * @param metadataId 元数据ID
+     * @param apiKey     apiKey
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteMetaDataAsync(String datasetId, String metadataId, String apiKey);
+
+    /**
+     * {@link #actionMetaData(MetaDataActionRequest)} 的异步版本
+     *
+     * @param request 操作请求参数（需包含操作类型和目标元数据ID）
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> actionMetaDataAsync(MetaDataActionRequest request);
+
+    /**
+     * {@link #updateDocumentMetaData(DocumentMetaDataUpdateRequest)} 的异步版本
+     *
+     * @param request 文档元数据更新请求（需包含文档ID和元数据变更内容）
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> updateDocumentMetaDataAsync(DocumentMetaDataUpdateRequest request);
+
+    /**
+     * {@link #listMetaData(String, String)} 的异步版本
+     *
+     * @param datasetId 数据集ID
+     * @param apiKey    apiKey
+     * @return 异步结果，元数据列表及分页信息
+     */
+    CompletableFuture<MetaDataListResponse> listMetaDataAsync(String datasetId, String apiKey);
+
+    /**
+     * {@link #listTextEmbedding(String)} 的异步版本
+     *
+     * @param apiKey apiKey
+     * @return 异步结果，嵌入模型列表
+     */
+    CompletableFuture<TextEmbeddingListResponse> listTextEmbeddingAsync(String apiKey);
+
+    /**
+     * {@link #listRerank(String)} 的异步版本
+     *
+     * @param apiKey The API key for authentication and authorization to the Dify API
+     * @return 异步结果，The rerank list response
+     */
+    CompletableFuture<TextEmbeddingListResponse> listRerankAsync(String apiKey);
+
+    /**
+     * {@link #createTag(TagCreateRequest)} 的异步版本
+     *
+     * @param request Tag creation request containing tag information
+     * @return 异步结果，TagInfoResponse containing the created tag details
+     */
+    CompletableFuture<TagInfoResponse> createTagAsync(TagCreateRequest request);
+
+    /**
+     * {@link #listTag(String)} 的异步版本
+     *
+     * @param apiKey The API key for authentication and authorization to the Dify API
+     * @return 异步结果，List of TagInfoResponse containing all tag information
+     */
+    CompletableFuture<List<TagInfoResponse>> listTagAsync(String apiKey);
+
+    /**
+     * {@link #updateTag(TagUpdateRequest)} 的异步版本
+     *
+     * @param request Tag update request containing updated tag information
+     * @return 异步结果，TagInfoResponse containing the updated tag details
+     */
+    CompletableFuture<TagInfoResponse> updateTagAsync(TagUpdateRequest request);
+
+    /**
+     * {@link #deleteTag(String, String)} 的异步版本
+     *
+     * @param tagId  ID of the tag to be deleted
+     * @param apiKey API key for authentication (can be null)
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteTagAsync(String tagId, String apiKey);
+
+    /**
+     * {@link #bindingTag(TagBindingRequest)} 的异步版本
+     *
+     * @param request Tag binding request containing binding information
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> bindingTagAsync(TagBindingRequest request);
+
+    /**
+     * {@link #unbindingTag(TagUnbindingRequest)} 的异步版本
+     *
+     * @param request Tag unbinding request containing unbinding information
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> unbindingTagAsync(TagUnbindingRequest request);
+
+    /**
+     * {@link #listDatasetTag(String, String)} 的异步版本
+     *
+     * @param datasetId ID of the dataset to query tags for
+     * @param apiKey    API key for authentication
+     * @return 异步结果，DataSetTagsResponse containing dataset tag information
+     */
+    CompletableFuture<DataSetTagsResponse> listDatasetTagAsync(String datasetId, String apiKey);
+
+    /**
+     * {@link #changeDocumentStatus(String, Set, DocActionEnum, String)} 的异步版本
+     *
+     * @param datasetId   知识库的唯一标识符。
+     * @param documentIds 文档的唯一标识符。
+     * @param status      状态
+     * @param apiKey      apiKey
+     * @return 异步结果，结果 默认成功
+     */
+    CompletableFuture<DatasetStatusResponse> changeDocumentStatusAsync(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey);
 }
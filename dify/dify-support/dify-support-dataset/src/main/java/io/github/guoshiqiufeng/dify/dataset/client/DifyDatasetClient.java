@@ -22,11 +22,15 @@ import io.github.guoshiqiufeng.dify.dataset.enums.document.DocActionEnum;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dify Dataset Client Interface
  * Provides methods to interact with Dify's dataset API for managing datasets,
  * documents, segments, and related operations.
+ * <p>Every blocking call has an {@code *Async} variant that sends the request without parking the calling
+ * thread. Argument validation fails immediately, request and response failures complete the returned
+ * future exceptionally.
  *
  * @author yanghq
  * @version 0.8.0
@@ -383,4 +387,356 @@ public interface DifyDatasetClient {
      * @since 1.3.3
      */
     DatasetStatusResponse changeDocumentStatus(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #create(DatasetCreateRequest)}
+     *
+     * @param request The dataset creation request containing dataset details
+     * @return A future of the created dataset response
+     */
+    CompletableFuture<DatasetResponse> createAsync(DatasetCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #page(DatasetPageRequest)}
+     *
+     * @param request The request parameters for fetching datasets
+     * @return A future of paginated result containing dataset data
+     */
+    CompletableFuture<DifyPageResult<DatasetResponse>> pageAsync(DatasetPageRequest request);
+
+    /**
+     * Asynchronous variant of {@link #info(DatasetInfoRequest)}
+     *
+     * @param request request parameters
+     * @return A future of dataset data
+     */
+    CompletableFuture<DatasetInfoResponse> infoAsync(DatasetInfoRequest request);
+
+    /**
+     * Asynchronous variant of {@link #update(DatasetUpdateRequest)}
+     *
+     * @param request request parameters
+     * @return A future of dataset data
+     */
+    CompletableFuture<DatasetInfoResponse> updateAsync(DatasetUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #delete(String, String)}
+     *
+     * @param datasetId The ID of the dataset to delete
+     * @param apiKey    The API key for authentication and authorization to the Dify API
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteAsync(String datasetId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #createDocumentByText(DocumentCreateByTextRequest)}
+     *
+     * @param request The document creation request containing text data
+     * @return A future of the created document response
+     */
+    CompletableFuture<DocumentCreateResponse> createDocumentByTextAsync(DocumentCreateByTextRequest request);
+
+    /**
+     * Asynchronous variant of {@link #createDocumentByFile(DocumentCreateByFileRequest)}
+     *
+     * @param request The document creation request containing file data
+     * @return A future of the created document response
+     */
+    CompletableFuture<DocumentCreateResponse> createDocumentByFileAsync(DocumentCreateByFileRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateDocumentByText(DocumentUpdateByTextRequest)}
+     *
+     * @param request The document update request containing new text data
+     * @return A future of the updated document response
+     */
+    CompletableFuture<DocumentCreateResponse> updateDocumentByTextAsync(DocumentUpdateByTextRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateDocumentByFile(DocumentUpdateByFileRequest)}
+     *
+     * @param request The document update request containing new file data
+     * @return A future of the updated document response
+     */
+    CompletableFuture<DocumentCreateResponse> updateDocumentByFileAsync(DocumentUpdateByFileRequest request);
+
+    /**
+     * Asynchronous variant of {@link #pageDocument(DatasetPageDocumentRequest)}
+     *
+     * @param request The request parameters for fetching documents
+     * @return A future of paginated result containing document information
+     */
+    CompletableFuture<DifyPageResult<DocumentInfo>> pageDocumentAsync(DatasetPageDocumentRequest request);
+
+    /**
+     * Asynchronous variant of {@link #getDocument(String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset containing the document
+     * @param documentId The ID of the document to retrieve
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future of detailed information about the document
+     */
+    CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #getDocument(String, String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset containing the document
+     * @param documentId The ID of the document to retrieve
+     * @param metadata   Metadata filter option (all, only, without)
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future of detailed information about the document
+     */
+    CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String metadata, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #indexingStatus(DocumentIndexingStatusRequest)}
+     *
+     * @param request The request parameters for checking indexing status
+     * @return A future of the document indexing status response
+     */
+    CompletableFuture<DocumentIndexingStatusResponse> indexingStatusAsync(DocumentIndexingStatusRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteDocument(String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset containing the document
+     * @param documentId The ID of the document to delete
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteDocumentAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #createSegment(SegmentCreateRequest)}
+     *
+     * @param request The segment creation request
+     * @return A future of the created segment response
+     */
+    CompletableFuture<SegmentResponse> createSegmentAsync(SegmentCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #pageSegment(SegmentPageRequest)}
+     *
+     * @param request The request parameters for fetching segments
+     * @return A future of the segment response containing paginated segments
+     */
+    CompletableFuture<SegmentResponse> pageSegmentAsync(SegmentPageRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteSegment(String, String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset containing the document
+     * @param documentId The ID of the document containing the segment
+     * @param segmentId  The ID of the segment to delete
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #updateSegment(SegmentUpdateRequest)}
+     *
+     * @param request The segment update request
+     * @return A future of the segment update response
+     */
+    CompletableFuture<SegmentUpdateResponse> updateSegmentAsync(SegmentUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #getSegment(String, String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset containing the document
+     * @param documentId The ID of the document containing the segment
+     * @param segmentId  The ID of the segment to retrieve
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future of detailed information about the segment
+     */
+    CompletableFuture<SegmentData> getSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #createSegmentChildChunk(SegmentChildChunkCreateRequest)}
+     *
+     * @param request The segment child chunk creation request
+     * @return A future of the segment child chunk creation response
+     */
+    CompletableFuture<SegmentChildChunkCreateResponse> createSegmentChildChunkAsync(SegmentChildChunkCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #pageSegmentChildChunk(SegmentChildChunkPageRequest)}
+     *
+     * @param request The request parameters for fetching segment child chunks
+     * @return A future of paginated result containing segment child chunk data
+     */
+    CompletableFuture<DifyPageResult<SegmentChildChunkResponse>> pageSegmentChildChunkAsync(SegmentChildChunkPageRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteSegmentChildChunk(SegmentChildChunkDeleteRequest)}
+     *
+     * @param request The segment child chunk deletion request
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteSegmentChildChunkAsync(SegmentChildChunkDeleteRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateSegmentChildChunk(SegmentChildChunkUpdateRequest)}
+     *
+     * @param request The segment child chunk update request
+     * @return A future of the segment child chunk update response
+     */
+    CompletableFuture<SegmentChildChunkUpdateResponse> updateSegmentChildChunkAsync(SegmentChildChunkUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #uploadFileInfo(String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset
+     * @param documentId The ID of the document
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future of the upload file information response
+     */
+    CompletableFuture<UploadFileInfoResponse> uploadFileInfoAsync(String datasetId, String documentId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #retrieve(RetrieveRequest)}
+     *
+     * @param request The retrieve request parameters
+     * @return A future of the retrieve response
+     */
+    CompletableFuture<RetrieveResponse> retrieveAsync(RetrieveRequest request);
+
+    /**
+     * Asynchronous variant of {@link #createMetaData(MetaDataCreateRequest)}
+     *
+     * @param request The metadata creation request
+     * @return A future of the metadata response
+     */
+    CompletableFuture<MetaDataResponse> createMetaDataAsync(MetaDataCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateMetaData(MetaDataUpdateRequest)}
+     *
+     * @param request The metadata update request
+     * @return A future of the metadata response
+     */
+    CompletableFuture<MetaDataResponse> updateMetaDataAsync(MetaDataUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteMetaData(String, String, String)}
+     *
+     * @param datasetId  The ID of the dataset
+     * @param metadataId The ID of the metadata to delete
+     * @param apiKey     The API key for authentication and authorization to the Dify API
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteMetaDataAsync(String datasetId, String metadataId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #actionMetaData(MetaDataActionRequest)}
+     *
+     * @param request The metadata action request
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> actionMetaDataAsync(MetaDataActionRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateDocumentMetaData(DocumentMetaDataUpdateRequest)}
+     *
+     * @param request The document metadata update request
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> updateDocumentMetaDataAsync(DocumentMetaDataUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #listMetaData(String, String)}
+     *
+     * @param datasetId The ID of the dataset
+     * @param apiKey    The API key for authentication and authorization to the Dify API
+     * @return A future of the metadata list response
+     */
+    CompletableFuture<MetaDataListResponse> listMetaDataAsync(String datasetId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #listTextEmbedding(String)}
+     *
+     * @param apiKey The API key for authentication and authorization to the Dify API
+     * @return A future of the text embedding list response
+     */
+    CompletableFuture<TextEmbeddingListResponse> listTextEmbeddingAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #listRerank(String)}
+     *
+     * @param apiKey The API key for authentication and authorization to the Dify API
+     * @return A future of the rerank list response
+     */
+    CompletableFuture<TextEmbeddingListResponse> listRerankAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #createTag(TagCreateRequest)}
+     *
+     * @param request Tag creation request containing tag information
+     * @return A future of tagInfoResponse containing the created tag details
+     */
+    CompletableFuture<TagInfoResponse> createTagAsync(TagCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #listTag(String)}
+     *
+     * @param apiKey API key for authentication (can be null)
+     * @return A future of list of TagInfoResponse containing all tag information
+     */
+    CompletableFuture<List<TagInfoResponse>> listTagAsync(String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #updateTag(TagUpdateRequest)}
+     *
+     * @param request Tag update request containing updated tag information
+     * @return A future of tagInfoResponse containing the updated tag details
+     */
+    CompletableFuture<TagInfoResponse> updateTagAsync(TagUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteTag(String, String)}
+     *
+     * @param tagId  ID of the tag to be deleted
+     * @param apiKey API key for authentication (can be null)
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteTagAsync(String tagId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #bindingTag(TagBindingRequest)}
+     *
+     * @param request Tag binding request containing binding information
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> bindingTagAsync(TagBindingRequest request);
+
+    /**
+     * Asynchronous variant of {@link #unbindingTag(TagUnbindingRequest)}
+     *
+     * @param request Tag unbinding request containing unbinding information
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> unbindingTagAsync(TagUnbindingRequest request);
+
+    /**
+     * Asynchronous variant of {@link #listDatasetTag(String, String)}
+     *
+     * @param datasetId ID of the dataset to query tags for
+     * @param apiKey    API key for authentication
+     * @return A future of dataSetTagsResponse containing dataset tag information
+     */
+    CompletableFuture<DataSetTagsResponse> listDatasetTagAsync(String datasetId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #changeDocumentStatus(String, Set, DocActionEnum, String)}
+     *
+     * @param datasetId   ID of the dataset containing the document
+     * @param documentIds ID of the document to change status
+     * @param status      New status for the document
+     * @param apiKey      API key for authentication (can be null)
+     * @return A future of datasetStatusResponse containing the updated document status
+     */
+    CompletableFuture<DatasetStatusResponse> changeDocumentStatusAsync(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey);
 }
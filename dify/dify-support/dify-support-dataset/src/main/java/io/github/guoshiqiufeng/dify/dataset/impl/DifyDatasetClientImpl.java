@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yanghq
@@ -244,4 +245,209 @@ public class DifyDatasetClientImpl implements DifyDataset {
     public DatasetStatusResponse changeDocumentStatus(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
         return difyDatasetClient.changeDocumentStatus(datasetId, documentIds, status, apiKey);
     }
+
+    @Override
+    public CompletableFuture<DatasetResponse> createAsync(DatasetCreateRequest request) {
+        return difyDatasetClient.createAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<DatasetResponse>> pageAsync(DatasetPageRequest request) {
+        return difyDatasetClient.pageAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DatasetInfoResponse> infoAsync(DatasetInfoRequest request) {
+        return difyDatasetClient.infoAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DatasetInfoResponse> updateAsync(DatasetUpdateRequest request) {
+        return difyDatasetClient.updateAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String datasetId, String apiKey) {
+        return difyDatasetClient.deleteAsync(datasetId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> createDocumentByTextAsync(DocumentCreateByTextRequest request) {
+        return difyDatasetClient.createDocumentByTextAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> createDocumentByFileAsync(DocumentCreateByFileRequest request) {
+        return difyDatasetClient.createDocumentByFileAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> updateDocumentByTextAsync(DocumentUpdateByTextRequest request) {
+        return difyDatasetClient.updateDocumentByTextAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DocumentCreateResponse> updateDocumentByFileAsync(DocumentUpdateByFileRequest request) {
+        return difyDatasetClient.updateDocumentByFileAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<DocumentInfo>> pageDocumentAsync(DatasetPageDocumentRequest request) {
+        return difyDatasetClient.pageDocumentAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String apiKey) {
+        return difyDatasetClient.getDocumentAsync(datasetId, documentId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<DocumentInfo> getDocumentAsync(String datasetId, String documentId, String metadata, String apiKey) {
+        return difyDatasetClient.getDocumentAsync(datasetId, documentId, metadata, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse> indexingStatusAsync(DocumentIndexingStatusRequest request) {
+        return difyDatasetClient.indexingStatusAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDocumentAsync(String datasetId, String documentId, String apiKey) {
+        return difyDatasetClient.deleteDocumentAsync(datasetId, documentId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<SegmentResponse> createSegmentAsync(SegmentCreateRequest request) {
+        return difyDatasetClient.createSegmentAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<SegmentResponse> pageSegmentAsync(SegmentPageRequest request) {
+        return difyDatasetClient.pageSegmentAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey) {
+        return difyDatasetClient.deleteSegmentAsync(datasetId, documentId, segmentId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<SegmentUpdateResponse> updateSegmentAsync(SegmentUpdateRequest request) {
+        return difyDatasetClient.updateSegmentAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<SegmentData> getSegmentAsync(String datasetId, String documentId, String segmentId, String apiKey) {
+        return difyDatasetClient.getSegmentAsync(datasetId, documentId, segmentId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<SegmentChildChunkCreateResponse> createSegmentChildChunkAsync(SegmentChildChunkCreateRequest request) {
+        return difyDatasetClient.createSegmentChildChunkAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<SegmentChildChunkResponse>> pageSegmentChildChunkAsync(SegmentChildChunkPageRequest request) {
+        return difyDatasetClient.pageSegmentChildChunkAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSegmentChildChunkAsync(SegmentChildChunkDeleteRequest request) {
+        return difyDatasetClient.deleteSegmentChildChunkAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<SegmentChildChunkUpdateResponse> updateSegmentChildChunkAsync(SegmentChildChunkUpdateRequest request) {
+        return difyDatasetClient.updateSegmentChildChunkAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<UploadFileInfoResponse> uploadFileInfoAsync(String datasetId, String documentId, String apiKey) {
+        return difyDatasetClient.uploadFileInfoAsync(datasetId, documentId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<RetrieveResponse> retrieveAsync(RetrieveRequest request) {
+        return difyDatasetClient.retrieveAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataResponse> createMetaDataAsync(MetaDataCreateRequest request) {
+        return difyDatasetClient.createMetaDataAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataResponse> updateMetaDataAsync(MetaDataUpdateRequest request) {
+        return difyDatasetClient.updateMetaDataAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteMetaDataAsync(String datasetId, String metadataId, String apiKey) {
+        return difyDatasetClient.deleteMetaDataAsync(datasetId, metadataId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> actionMetaDataAsync(MetaDataActionRequest request) {
+        return difyDatasetClient.actionMetaDataAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateDocumentMetaDataAsync(DocumentMetaDataUpdateRequest request) {
+        return difyDatasetClient.updateDocumentMetaDataAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<MetaDataListResponse> listMetaDataAsync(String datasetId, String apiKey) {
+        return difyDatasetClient.listMetaDataAsync(datasetId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<TextEmbeddingListResponse> listTextEmbeddingAsync(String apiKey) {
+        return difyDatasetClient.listTextEmbeddingAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<TextEmbeddingListResponse> listRerankAsync(String apiKey) {
+        return difyDatasetClient.listRerankAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<TagInfoResponse> createTagAsync(TagCreateRequest request) {
+        return difyDatasetClient.createTagAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<List<TagInfoResponse>> listTagAsync(String apiKey) {
+        return difyDatasetClient.listTagAsync(apiKey);
+    }
+
+    @Override
+    public CompletableFuture<TagInfoResponse> updateTagAsync(TagUpdateRequest request) {
+        return difyDatasetClient.updateTagAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTagAsync(String tagId, String apiKey) {
+        return difyDatasetClient.deleteTagAsync(tagId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> bindingTagAsync(TagBindingRequest request) {
+        return difyDatasetClient.bindingTagAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> unbindingTagAsync(TagUnbindingRequest request) {
+        return difyDatasetClient.unbindingTagAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<DataSetTagsResponse> listDatasetTagAsync(String datasetId, String apiKey) {
+        return difyDatasetClient.listDatasetTagAsync(datasetId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<DatasetStatusResponse> changeDocumentStatusAsync(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
+        return difyDatasetClient.changeDocumentStatusAsync(datasetId, documentIds, status, apiKey);
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.dataset.impl;
+
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.dataset.DifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.ReactiveDifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.dto.request.*;
+import io.github.guoshiqiufeng.dify.dataset.dto.response.*;
+import io.github.guoshiqiufeng.dify.dataset.enums.document.DocActionEnum;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于 {@link DifyDataset} 异步方法的 {@link ReactiveDifyDataset} 实现
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class ReactiveDifyDatasetClientImpl implements ReactiveDifyDataset {
+
+    private final DifyDataset difyDataset;
+
+    public ReactiveDifyDatasetClientImpl(DifyDataset difyDataset) {
+        this.difyDataset = difyDataset;
+    }
+
+    @Override
+    public Mono<DatasetResponse> create(DatasetCreateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<DatasetResponse>> page(DatasetPageRequest request) {
+        return Mono.fromFuture(() -> difyDataset.pageAsync(request));
+    }
+
+    @Override
+    public Mono<DatasetInfoResponse> info(DatasetInfoRequest request) {
+        return Mono.fromFuture(() -> difyDataset.infoAsync(request));
+    }
+
+    @Override
+    public Mono<DatasetInfoResponse> update(DatasetUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateAsync(request));
+    }
+
+    @Override
+    public Mono<Void> delete(String datasetId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.deleteAsync(datasetId, apiKey));
+    }
+
+    @Override
+    public Mono<DocumentCreateResponse> createDocumentByText(DocumentCreateByTextRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createDocumentByTextAsync(request));
+    }
+
+    @Override
+    public Mono<DocumentCreateResponse> createDocumentByFile(DocumentCreateByFileRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createDocumentByFileAsync(request));
+    }
+
+    @Override
+    public Mono<DocumentCreateResponse> updateDocumentByText(DocumentUpdateByTextRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateDocumentByTextAsync(request));
+    }
+
+    @Override
+    public Mono<DocumentCreateResponse> updateDocumentByFile(DocumentUpdateByFileRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateDocumentByFileAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<DocumentInfo>> pageDocument(DatasetPageDocumentRequest request) {
+        return Mono.fromFuture(() -> difyDataset.pageDocumentAsync(request));
+    }
+
+    @Override
+    public Mono<DocumentInfo> getDocument(String datasetId, String documentId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.getDocumentAsync(datasetId, documentId, apiKey));
+    }
+
+    @Override
+    public Mono<DocumentInfo> getDocument(String datasetId, String documentId, String metadata, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.getDocumentAsync(datasetId, documentId, metadata, apiKey));
+    }
+
+    @Override
+    public Mono<DocumentIndexingStatusResponse> indexingStatus(DocumentIndexingStatusRequest request) {
+        return Mono.fromFuture(() -> difyDataset.indexingStatusAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteDocument(String datasetId, String documentId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.deleteDocumentAsync(datasetId, documentId, apiKey));
+    }
+
+    @Override
+    public Mono<SegmentResponse> createSegment(SegmentCreateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createSegmentAsync(request));
+    }
+
+    @Override
+    public Mono<SegmentResponse> pageSegment(SegmentPageRequest request) {
+        return Mono.fromFuture(() -> difyDataset.pageSegmentAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteSegment(String datasetId, String documentId, String segmentId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.deleteSegmentAsync(datasetId, documentId, segmentId, apiKey));
+    }
+
+    @Override
+    public Mono<SegmentUpdateResponse> updateSegment(SegmentUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateSegmentAsync(request));
+    }
+
+    @Override
+    public Mono<SegmentData> getSegment(String datasetId, String documentId, String segmentId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.getSegmentAsync(datasetId, documentId, segmentId, apiKey));
+    }
+
+    @Override
+    public Mono<SegmentChildChunkCreateResponse> createSegmentChildChunk(SegmentChildChunkCreateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createSegmentChildChunkAsync(request));
+    }
+
+    @Override
+    public Mono<DifyPageResult<SegmentChildChunkResponse>> pageSegmentChildChunk(SegmentChildChunkPageRequest request) {
+        return Mono.fromFuture(() -> difyDataset.pageSegmentChildChunkAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteSegmentChildChunk(SegmentChildChunkDeleteRequest request) {
+        return Mono.fromFuture(() -> difyDataset.deleteSegmentChildChunkAsync(request));
+    }
+
+    @Override
+    public Mono<SegmentChildChunkUpdateResponse> updateSegmentChildChunk(SegmentChildChunkUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateSegmentChildChunkAsync(request));
+    }
+
+    @Override
+    public Mono<UploadFileInfoResponse> uploadFileInfo(String datasetId, String documentId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.uploadFileInfoAsync(datasetId, documentId, apiKey));
+    }
+
+    @Override
+    public Mono<RetrieveResponse> retrieve(RetrieveRequest request) {
+        return Mono.fromFuture(() -> difyDataset.retrieveAsync(request));
+    }
+
+    @Override
+    public Mono<MetaDataResponse> createMetaData(MetaDataCreateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createMetaDataAsync(request));
+    }
+
+    @Override
+    public Mono<MetaDataResponse> updateMetaData(MetaDataUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateMetaDataAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteMetaData(String datasetId, String metadataId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.deleteMetaDataAsync(datasetId, metadataId, apiKey));
+    }
+
+    @Override
+    public Mono<Void> actionMetaData(MetaDataActionRequest request) {
+        return Mono.fromFuture(() -> difyDataset.actionMetaDataAsync(request));
+    }
+
+    @Override
+    public Mono<Void> updateDocumentMetaData(DocumentMetaDataUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateDocumentMetaDataAsync(request));
+    }
+
+    @Override
+    public Mono<MetaDataListResponse> listMetaData(String datasetId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.listMetaDataAsync(datasetId, apiKey));
+    }
+
+    @Override
+    public Mono<TextEmbeddingListResponse> listTextEmbedding(String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.listTextEmbeddingAsync(apiKey));
+    }
+
+    @Override
+    public Mono<TextEmbeddingListResponse> listRerank(String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.listRerankAsync(apiKey));
+    }
+
+    @Override
+    public Mono<TagInfoResponse> createTag(TagCreateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.createTagAsync(request));
+    }
+
+    @Override
+    public Mono<List<TagInfoResponse>> listTag(String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.listTagAsync(apiKey));
+    }
+
+    @Override
+    public Mono<TagInfoResponse> updateTag(TagUpdateRequest request) {
+        return Mono.fromFuture(() -> difyDataset.updateTagAsync(request));
+    }
+
+    @Override
+    public Mono<Void> deleteTag(String tagId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.deleteTagAsync(tagId, apiKey));
+    }
+
+    @Override
+    public Mono<Void> bindingTag(TagBindingRequest request) {
+        return Mono.fromFuture(() -> difyDataset.bindingTagAsync(request));
+    }
+
+    @Override
+    public Mono<Void> unbindingTag(TagUnbindingRequest request) {
+        return Mono.fromFuture(() -> difyDataset.unbindingTagAsync(request));
+    }
+
+    @Override
+    public Mono<DataSetTagsResponse> listDatasetTag(String datasetId, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.listDatasetTagAsync(datasetId, apiKey));
+    }
+
+    @Override
+    public Mono<DatasetStatusResponse> changeDocumentStatus(String datasetId, Set<String> documentIds, DocActionEnum status, String apiKey) {
+        return Mono.fromFuture(() -> difyDataset.changeDocumentStatusAsync(datasetId, documentIds, status, apiKey));
+    }
+}
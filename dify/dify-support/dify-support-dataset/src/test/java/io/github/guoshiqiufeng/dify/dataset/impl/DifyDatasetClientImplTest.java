@@ -33,9 +33,12 @@ import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -1621,4 +1624,29 @@ public class DifyDatasetClientImplTest {
         assertEquals(expectedSegment.getKeywords(), actualSegment.getKeywords());
         verify(difyDatasetClient, times(1)).getSegment(datasetId, documentId, segmentId, apiKey);
     }
+
+    @Test
+    void testRetrieveAsync() throws Exception {
+        RetrieveRequest request = new RetrieveRequest();
+        request.setDatasetId("dataset_123");
+        request.setQuery("test query");
+
+        RetrieveResponse expectedResponse = new RetrieveResponse();
+        when(difyDatasetClient.retrieveAsync(any(RetrieveRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        assertSame(expectedResponse, difyDataset.retrieveAsync(request).get());
+
+        verify(difyDatasetClient, times(1)).retrieveAsync(request);
+    }
+
+    @Test
+    void testDeleteAsync() throws Exception {
+        when(difyDatasetClient.deleteAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertNull(difyDataset.deleteAsync("dataset_async", "test_api_key").get());
+
+        verify(difyDatasetClient, times(1)).deleteAsync("dataset_async", "test_api_key");
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.dataset.impl;
+
+import io.github.guoshiqiufeng.dify.dataset.DifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.ReactiveDifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.dto.request.DatasetCreateRequest;
+import io.github.guoshiqiufeng.dify.dataset.dto.response.DatasetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ReactiveDifyDatasetClientImpl}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class ReactiveDifyDatasetClientImplTest {
+
+    private DifyDataset difyDataset;
+    private ReactiveDifyDataset reactiveDifyDataset;
+
+    @BeforeEach
+    void setup() {
+        difyDataset = mock(DifyDataset.class);
+        reactiveDifyDataset = new ReactiveDifyDatasetClientImpl(difyDataset);
+    }
+
+    @Test
+    void testCreate() {
+        DatasetCreateRequest request = new DatasetCreateRequest();
+        DatasetResponse response = new DatasetResponse();
+        when(difyDataset.createAsync(request)).thenReturn(CompletableFuture.completedFuture(response));
+
+        StepVerifier.create(reactiveDifyDataset.create(request))
+                .expectNext(response)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDefaultDeleteUsesNullApiKey() {
+        when(difyDataset.deleteAsync("dataset", null)).thenReturn(CompletableFuture.completedFuture(null));
+
+        StepVerifier.create(reactiveDifyDataset.delete("dataset"))
+                .verifyComplete();
+        verify(difyDataset, times(1)).deleteAsync("dataset", null);
+    }
+
+    @Test
+    void testDeleteFailure() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("boom"));
+        when(difyDataset.deleteAsync("dataset", "key")).thenReturn(failed);
+
+        StepVerifier.create(reactiveDifyDataset.delete("dataset", "key"))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
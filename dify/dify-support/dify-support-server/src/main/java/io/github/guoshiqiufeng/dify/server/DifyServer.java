@@ -28,6 +28,7 @@ import io.github.guoshiqiufeng.dify.server.dto.response.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dify服务接口，提供与Dify平台交互的方法
@@ -322,4 +323,246 @@ public interface DifyServer {
      */
     void retryDocumentIndexing(DocumentRetryRequest request);
 
+    /**
+     * {@link #apps(String, String)} 的异步版本
+     *
+     * @param mode 模式 chat\agent-chat\completion\advanced-chat\workflow
+     * @param name 应用名称，用于过滤应用列表（可选，传入空字符串时表示不过滤）
+     * @return 异步结果，返回符合条件的应用列表，每个应用封装为 {@link AppsResponse} 对象
+     */
+    CompletableFuture<List<AppsResponse>> appsAsync(String mode, String name);
+
+    /**
+     * {@link #apps(AppsRequest)} 的异步版本
+     *
+     * @param appsRequest Application query request containing pagination parameters and filter conditions
+     * @return 异步结果，Paginated application list result encapsulated in {@link AppsResponseResult} object Contains current page data, total count, page number, page limit and other pagination information
+     */
+    CompletableFuture<AppsResponseResult> appsAsync(AppsRequest appsRequest);
+
+    /**
+     * {@link #app(String)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 异步结果，返回封装了应用详细信息的 {@link AppsResponse} 对象，如果未找到应用则返回null
+     */
+    CompletableFuture<AppsResponse> appAsync(String appId);
+
+    /**
+     * {@link #createApp(AppCreateRequest)} 的异步版本
+     *
+     * @param request 应用创建请求，需包含应用名称和模式（chat、agent-chat、advanced-chat、workflow、completion），不能为 null
+     * @return 异步结果，返回封装了新建应用详细信息的 {@link AppsResponse} 对象
+     */
+    CompletableFuture<AppsResponse> createAppAsync(AppCreateRequest request);
+
+    /**
+     * {@link #updateApp(String, AppUpdateRequest)} 的异步版本
+     *
+     * @param appId   应用的唯一标识符，不能为空
+     * @param request 应用更新请求，需包含应用名称，不能为 null
+     * @return 异步结果，返回封装了更新后应用详细信息的 {@link AppsResponse} 对象
+     */
+    CompletableFuture<AppsResponse> updateAppAsync(String appId, AppUpdateRequest request);
+
+    /**
+     * {@link #deleteApp(String)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteAppAsync(String appId);
+
+    /**
+     * {@link #updateAppModelConfig(String, AppModelConfigRequest)} 的异步版本
+     *
+     * @param appId   应用的唯一标识符，不能为空
+     * @param request 模型配置请求，包含 pre_prompt、model、agent_mode、file_upload 等字段，不能为 null
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> updateAppModelConfigAsync(String appId, AppModelConfigRequest request);
+
+    /**
+     * {@link #inviteMembers(MemberInviteRequest)} 的异步版本
+     *
+     * @param request 邀请请求，需包含邮箱列表和角色，不能为 null
+     * @return 异步结果，返回封装了邀请结果的 {@link MemberInviteResponse} 对象，包含每个邮箱的激活 URL 或失败原因
+     */
+    CompletableFuture<MemberInviteResponse> inviteMembersAsync(MemberInviteRequest request);
+
+    /**
+     * {@link #getAppApiKey(String)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 异步结果，返回封装了API Key信息的列表，每个API Key封装为 {@link ApiKeyResponse} 对象
+     */
+    CompletableFuture<List<ApiKeyResponse>> getAppApiKeyAsync(String appId);
+
+    /**
+     * {@link #initAppApiKey(String)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 异步结果，返回初始化后的API Key列表，每个API Key封装为 {@link ApiKeyResponse} 对象
+     */
+    CompletableFuture<List<ApiKeyResponse>> initAppApiKeyAsync(String appId);
+
+    /**
+     * {@link #deleteAppApiKey(String, String)} 的异步版本
+     *
+     * @param appId    应用的唯一标识符，不能为空
+     * @param apiKeyId API Key的唯一标识符，不能为空
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteAppApiKeyAsync(String appId, String apiKeyId);
+
+    /**
+     * {@link #getDatasetApiKey()} 的异步版本
+     *
+     * @return 异步结果，返回知识库API Key列表，每个API Key封装为 {@link DatasetApiKeyResponse} 对象，如果未找到则返回null
+     */
+    CompletableFuture<List<DatasetApiKeyResponse>> getDatasetApiKeyAsync();
+
+    /**
+     * {@link #initDatasetApiKey()} 的异步版本
+     *
+     * @return 异步结果，返回初始化后的知识库API Key列表，每个API Key封装为 {@link DatasetApiKeyResponse} 对象，如果初始化失败则返回空列表
+     */
+    CompletableFuture<List<DatasetApiKeyResponse>> initDatasetApiKeyAsync();
+
+    /**
+     * {@link #deleteDatasetApiKey(String)} 的异步版本
+     *
+     * @param apiKeyId API Key的唯一标识符，不能为空
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> deleteDatasetApiKeyAsync(String apiKeyId);
+
+    /**
+     * {@link #chatConversations(ChatConversationsRequest)} 的异步版本
+     *
+     * @param request 聊天会话查询请求，包含分页参数和过滤条件
+     * @return 异步结果，分页结果，包含会话列表信息
+     */
+    CompletableFuture<DifyPageResult<ChatConversationResponse>> chatConversationsAsync(ChatConversationsRequest request);
+
+    /**
+     * {@link #workflowsPublish(String)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> workflowsPublishAsync(String appId);
+
+    /**
+     * {@link #dailyConversations(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回每日对话统计列表，每个统计封装为 {@link DailyConversationsResponse} 对象
+     */
+    CompletableFuture<List<DailyConversationsResponse>> dailyConversationsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #dailyWorkflowConversations(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回每日工作流对话统计列表，每个统计封装为 {@link DailyWorkflowConversationsResponse} 对象
+     */
+    CompletableFuture<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversationsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #dailyEndUsers(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回每日终端用户统计列表，每个统计封装为 {@link DailyEndUsersResponse} 对象
+     */
+    CompletableFuture<List<DailyEndUsersResponse>> dailyEndUsersAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #averageSessionInteractions(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回平均会话交互统计列表，每个统计封装为 {@link AverageSessionInteractionsResponse} 对象
+     */
+    CompletableFuture<List<AverageSessionInteractionsResponse>> averageSessionInteractionsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #tokensPerSecond(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回每秒令牌统计列表，每个统计封装为 {@link TokensPerSecondResponse} 对象
+     */
+    CompletableFuture<List<TokensPerSecondResponse>> tokensPerSecondAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #userSatisfactionRate(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间،格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回用户满意度率统计列表，每个统计封装为 {@link UserSatisfactionRateResponse} 对象
+     */
+    CompletableFuture<List<UserSatisfactionRateResponse>> userSatisfactionRateAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #tokenCosts(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回令牌费用统计列表，每个统计封装为 {@link TokenCostsResponse} 对象
+     */
+    CompletableFuture<List<TokenCostsResponse>> tokenCostsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #dailyMessages(String, LocalDateTime, LocalDateTime)} 的异步版本
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return 异步结果，返回每日消息统计列表，每个统计封装为 {@link DailyMessagesResponse} 对象
+     */
+    CompletableFuture<List<DailyMessagesResponse>> dailyMessagesAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * {@link #getDatasetIndexingStatus(String)} 的异步版本
+     *
+     * @param datasetId 知识库的唯一标识符，不能为空
+     * @return 异步结果，返回封装了所有文档索引状态的 {@link DocumentIndexingStatusResponse} 对象，包含正在索引、已完成、失败等状态的文档列表及其详细信息
+     */
+    CompletableFuture<DocumentIndexingStatusResponse> getDatasetIndexingStatusAsync(String datasetId);
+
+    /**
+     * {@link #getDocumentIndexingStatus(String, String)} 的异步版本
+     *
+     * @param datasetId  知识库的唯一标识符，不能为空
+     * @param documentId 文档的唯一标识符，不能为空
+     * @return 异步结果，返回封装了文档索引处理状态的 {@link DocumentIndexingStatusResponse.ProcessingStatus} 对象，包含索引进度、状态、错误信息（如果有）等详细信息
+     */
+    CompletableFuture<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatusAsync(String datasetId, String documentId);
+
+    /**
+     * {@link #getDatasetErrorDocuments(String)} 的异步版本
+     *
+     * @param datasetId 知识库的唯一标识符，不能为空
+     * @return 异步结果，返回封装了错误文档列表的 {@link DatasetErrorDocumentsResponse} 对象，包含失败文档的详细信息、错误原因、总数等
+     */
+    CompletableFuture<DatasetErrorDocumentsResponse> getDatasetErrorDocumentsAsync(String datasetId);
+
+    /**
+     * {@link #retryDocumentIndexing(DocumentRetryRequest)} 的异步版本
+     *
+     * @param request 文档重试请求，封装了知识库ID和需要重试的文档ID列表，不能为null
+     * @return 请求完成时结束的 future
+     */
+    CompletableFuture<Void> retryDocumentIndexingAsync(DocumentRetryRequest request);
 }
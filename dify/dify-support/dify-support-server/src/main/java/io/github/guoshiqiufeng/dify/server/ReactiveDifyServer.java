@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.server;
+
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.dataset.dto.response.DocumentIndexingStatusResponse;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppCreateRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppModelConfigRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppUpdateRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppsRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.ChatConversationsRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.DocumentRetryRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.MemberInviteRequest;
+import io.github.guoshiqiufeng.dify.server.dto.response.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DifyServer 的响应式版本
+ * <p>
+ * 方法与 {@link DifyServer} 一一对应,结果均以 {@link Mono} 返回,调用过程中不会阻塞线程;
+ * 接口返回空内容时 Mono 直接完成而不发出元素
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public interface ReactiveDifyServer {
+
+    /**
+     * 获取所有应用列表
+     *
+     * @param mode 模式 chat\agent-chat\completion\advanced-chat\workflow
+     * @param name 应用名称，用于过滤应用列表（可选，传入空字符串时表示不过滤）
+     * @return Mono，返回符合条件的应用列表，每个应用封装为 {@link AppsResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<AppsResponse>> apps(String mode, String name);
+
+    /**
+     * Retrieves paginated list of applications based on request parameters
+     *
+     * @param appsRequest Application query request containing pagination parameters and filter conditions
+     *                    Should include mode, name, isCreatedByMe and other filtering conditions, as well as page, limit for pagination
+     * @return Mono，Paginated application list result encapsulated in {@link AppsResponseResult} object
+     * Contains current page data, total count, page number, page limit and other pagination information
+     */
+    Mono<AppsResponseResult> apps(AppsRequest appsRequest);
+
+    /**
+     * 根据应用ID获取单个应用的详细信息
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return Mono，返回封装了应用详细信息的 {@link AppsResponse} 对象，如果未找到应用则返回null
+     * @throws NullPointerException 如果 appId 为 null
+     */
+    Mono<AppsResponse> app(String appId);
+
+    /**
+     * 创建一个新的智能体应用
+     *
+     * @param request 应用创建请求，需包含应用名称和模式（chat、agent-chat、advanced-chat、workflow、completion），不能为 null
+     * @return Mono，返回封装了新建应用详细信息的 {@link AppsResponse} 对象
+     * @throws NullPointerException     如果 request 为 null
+     * @throws IllegalArgumentException 如果 name 或 mode 为空
+     */
+    Mono<AppsResponse> createApp(AppCreateRequest request);
+
+    /**
+     * 更新指定应用的基础信息（名称、描述、图标等）
+     *
+     * @param appId   应用的唯一标识符，不能为空
+     * @param request 应用更新请求，需包含应用名称，不能为 null
+     * @return Mono，返回封装了更新后应用详细信息的 {@link AppsResponse} 对象
+     * @throws NullPointerException     如果 appId 或 request 为 null
+     * @throws IllegalArgumentException 如果 name 为空
+     */
+    Mono<AppsResponse> updateApp(String appId, AppUpdateRequest request);
+
+    /**
+     * 删除指定应用
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @throws NullPointerException 如果 appId 为 null
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> deleteApp(String appId);
+
+    /**
+     * 更新（发布）指定应用的模型配置，对应 Dify 控制台 "发布更新" 操作
+     * <p>适用于 chat / agent-chat / completion 模式的应用。advanced-chat、workflow 模式请使用 {@link #workflowsPublish(String)}。
+     *
+     * @param appId   应用的唯一标识符，不能为空
+     * @param request 模型配置请求，包含 pre_prompt、model、agent_mode、file_upload 等字段，不能为 null
+     * @throws NullPointerException 如果 appId 或 request 为 null
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> updateAppModelConfig(String appId, AppModelConfigRequest request);
+
+    /**
+     * 邀请新成员加入当前工作空间（Dify 会在邀请时自动创建账号，并返回激活链接）
+     *
+     * @param request 邀请请求，需包含邮箱列表和角色，不能为 null
+     * @return Mono，返回封装了邀请结果的 {@link MemberInviteResponse} 对象，包含每个邮箱的激活 URL 或失败原因
+     * @throws NullPointerException     如果 request 为 null
+     * @throws IllegalArgumentException 如果 emails 为空或 role 为空
+     */
+    Mono<MemberInviteResponse> inviteMembers(MemberInviteRequest request);
+
+    /**
+     * 根据应用ID获取该应用的所有API Key列表
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return Mono，返回封装了API Key信息的列表，每个API Key封装为 {@link ApiKeyResponse} 对象
+     * @throws NullPointerException 如果 id 为 null
+     */
+    Mono<List<ApiKeyResponse>> getAppApiKey(String appId);
+
+    /**
+     * 初始化应用的API Key
+     * 如果应用尚未创建API Key，此方法将创建并返回新的API Key
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @return Mono，返回初始化后的API Key列表，每个API Key封装为 {@link ApiKeyResponse} 对象
+     * @throws NullPointerException 如果 id 为 null
+     */
+    Mono<List<ApiKeyResponse>> initAppApiKey(String appId);
+
+    /**
+     * 删除指定应用的API Key
+     *
+     * @param appId    应用的唯一标识符，不能为空
+     * @param apiKeyId API Key的唯一标识符，不能为空
+     * @throws NullPointerException 如果 appId 或 apiKeyId 为 null
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> deleteAppApiKey(String appId, String apiKeyId);
+
+    /**
+     * 获取知识库的API Key列表
+     * 用于访问Dify平台上的知识库资源
+     *
+     * @return Mono，返回知识库API Key列表，每个API Key封装为 {@link DatasetApiKeyResponse} 对象，
+     * 如果未找到则返回null
+     */
+    Mono<List<DatasetApiKeyResponse>> getDatasetApiKey();
+
+    /**
+     * 初始化知识库的API Key
+     * 如果知识库尚未创建API Key，此方法将创建并返回新的API Key
+     *
+     * @return Mono，返回初始化后的知识库API Key列表，每个API Key封装为 {@link DatasetApiKeyResponse} 对象，
+     * 如果初始化失败则返回空列表
+     */
+    Mono<List<DatasetApiKeyResponse>> initDatasetApiKey();
+
+    /**
+     * 删除指定知识库的API Key
+     *
+     * @param apiKeyId API Key的唯一标识符，不能为空
+     * @throws NullPointerException 如果 apiKeyId 为 null
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> deleteDatasetApiKey(String apiKeyId);
+
+    /**
+     * 获取应用的聊天会话列表
+     *
+     * @param request 聊天会话查询请求，包含分页参数和过滤条件
+     * @return Mono，分页结果，包含会话列表信息
+     */
+    Mono<DifyPageResult<ChatConversationResponse>> chatConversations(ChatConversationsRequest request);
+
+    /**
+     * 工作流发布
+     * @param appId 应用的唯一标识符，不能为空
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> workflowsPublish(String appId);
+
+    /**
+     * 获取应用的每日对话统计(工作流除外)
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回每日对话统计列表，每个统计封装为 {@link DailyConversationsResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<DailyConversationsResponse>> dailyConversations(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的每日工作流对话统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回每日工作流对话统计列表，每个统计封装为 {@link DailyWorkflowConversationsResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversations(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的每日终端用户统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回每日终端用户统计列表，每个统计封装为 {@link DailyEndUsersResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<DailyEndUsersResponse>> dailyEndUsers(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的平均会话交互统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回平均会话交互统计列表，每个统计封装为 {@link AverageSessionInteractionsResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<AverageSessionInteractionsResponse>> averageSessionInteractions(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的每秒令牌统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回每秒令牌统计列表，每个统计封装为 {@link TokensPerSecondResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<TokensPerSecondResponse>> tokensPerSecond(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的用户满意度率统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间،格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回用户满意度率统计列表，每个统计封装为 {@link UserSatisfactionRateResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<UserSatisfactionRateResponse>> userSatisfactionRate(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的令牌费用统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回令牌费用统计列表，每个统计封装为 {@link TokenCostsResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<TokenCostsResponse>> tokenCosts(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取应用的每日消息统计
+     *
+     * @param appId 应用的唯一标识符，不能为空
+     * @param start 开始时间，格式为 "yyyy-MM-dd HH:mm"
+     * @param end   结束时间，格式为 "yyyy-MM-dd HH:mm"
+     * @return Mono，返回每日消息统计列表，每个统计封装为 {@link DailyMessagesResponse} 对象
+     * @throws IllegalArgumentException 如果传入的参数不符合预期格式或范围
+     */
+    Mono<List<DailyMessagesResponse>> dailyMessages(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 获取知识库中所有文档的索引状态
+     * 通过调用 Dify 的控制台 API，返回指定知识库内所有文档的索引处理状态信息
+     *
+     * @param datasetId 知识库的唯一标识符，不能为空
+     * @return Mono，返回封装了所有文档索引状态的 {@link DocumentIndexingStatusResponse} 对象，
+     * 包含正在索引、已完成、失败等状态的文档列表及其详细信息
+     * @throws NullPointerException 如果 datasetId 为 null
+     */
+    Mono<DocumentIndexingStatusResponse> getDatasetIndexingStatus(String datasetId);
+
+    /**
+     * 获取知识库中指定文档的索引状态
+     * 通过调用 Dify 的控制台 API，返回特定文档的详细索引处理状态
+     *
+     * @param datasetId  知识库的唯一标识符，不能为空
+     * @param documentId 文档的唯一标识符，不能为空
+     * @return Mono，返回封装了文档索引处理状态的 {@link DocumentIndexingStatusResponse.ProcessingStatus} 对象，
+     * 包含索引进度、状态、错误信息（如果有）等详细信息
+     * @throws NullPointerException 如果 datasetId 或 documentId 为 null
+     */
+    Mono<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatus(String datasetId, String documentId);
+
+    /**
+     * 获取知识库中索引失败的错误文档列表
+     * 通过调用 Dify 的控制台 API，返回指定知识库中所有索引处理失败的文档及其错误信息
+     *
+     * @param datasetId 知识库的唯一标识符，不能为空
+     * @return Mono，返回封装了错误文档列表的 {@link DatasetErrorDocumentsResponse} 对象，
+     * 包含失败文档的详细信息、错误原因、总数等
+     * @throws NullPointerException 如果 datasetId 为 null
+     */
+    Mono<DatasetErrorDocumentsResponse> getDatasetErrorDocuments(String datasetId);
+
+    /**
+     * 重试知识库中指定文档的索引处理
+     * 对于索引失败的文档，通过调用此方法可以重新触发索引处理流程
+     *
+     * @param request 文档重试请求，封装了知识库ID和需要重试的文档ID列表，不能为null
+     * @throws NullPointerException     如果 request 为 null
+     * @throws IllegalArgumentException 如果 request 中的 datasetId 或 documentIds 为空
+     * @return 请求完成时结束的 Mono
+     */
+    Mono<Void> retryDocumentIndexing(DocumentRetryRequest request);
+}
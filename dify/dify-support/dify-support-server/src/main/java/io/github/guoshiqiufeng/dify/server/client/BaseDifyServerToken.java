@@ -15,11 +15,18 @@
  */
 package io.github.guoshiqiufeng.dify.server.client;
 
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.client.core.util.MultiValueMap;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
 /**
  * @author yanghq
  * @version 1.0
@@ -33,6 +40,8 @@ public abstract class BaseDifyServerToken {
      */
     protected static final int MAX_RETRY_ATTEMPTS = 3;
 
+    private volatile Executor tokenExecutor;
+
     /**
      * Abstract method to add authorization header to HTTP request.
      *
@@ -60,13 +69,7 @@ public abstract class BaseDifyServerToken {
             try {
                 return supplier.get();
             } catch (Exception e) {
-                boolean noLogin = false;
-                if (e instanceof DifyClientException) {
-                    noLogin = ((DifyClientException) e).noLogin();
-                } else if (e.getMessage() != null && e.getMessage().contains("[401]")) {
-                    noLogin = true;
-                }
-                if (e.getMessage() != null && noLogin && retryCount < MAX_RETRY_ATTEMPTS - 1) {
+                if (shouldRefresh(e, retryCount)) {
                     log.warn("Token invalid, attempting to refresh token. Retry count: {}", retryCount + 1);
                     refreshOrObtainNewToken(difyServerClient);
                     retryCount++;
@@ -78,6 +81,65 @@ public abstract class BaseDifyServerToken {
         throw new RuntimeException("Max retry attempts reached");
     }
 
+    /**
+     * Non-blocking variant of {@link #executeWithRetry(RequestSupplier, DifyServerClient)}.
+     * Makes sure a token is available first, then retries on 401 Unauthorized errors after
+     * {@link #refreshOrObtainNewTokenAsync(DifyServerClient)} completed, up to MAX_RETRY_ATTEMPTS times.
+     *
+     * @param supplier         supplier starting the request, called once per attempt
+     * @param difyServerClient client instance for token operations
+     * @param <T>              type of the response object
+     * @return future of the result from the successful attempt, completed exceptionally with the last error otherwise
+     */
+    public <T> CompletableFuture<T> executeWithRetryAsync(RequestSupplier<CompletableFuture<T>> supplier,
+                                                          DifyServerClient difyServerClient) {
+        return obtainTokenAsync(difyServerClient)
+                .thenCompose(ignored -> attemptAsync(supplier, difyServerClient, 0));
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(RequestSupplier<CompletableFuture<T>> supplier,
+                                                  DifyServerClient difyServerClient, int retryCount) {
+        CompletableFuture<T> attempt;
+        try {
+            attempt = supplier.get();
+        } catch (Exception e) {
+            attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(e);
+        }
+        return attempt.handle((result, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof Exception && shouldRefresh((Exception) cause, retryCount)) {
+                log.warn("Token invalid, attempting to refresh token. Retry count: {}", retryCount + 1);
+                return refreshOrObtainNewTokenAsync(difyServerClient)
+                        .thenCompose(ignored -> attemptAsync(supplier, difyServerClient, retryCount + 1));
+            }
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(cause);
+            return failed;
+        }).thenCompose(future -> future);
+    }
+
+    private static boolean shouldRefresh(Exception e, int retryCount) {
+        boolean noLogin = false;
+        if (e instanceof DifyClientException) {
+            noLogin = ((DifyClientException) e).noLogin();
+        } else if (e.getMessage() != null && e.getMessage().contains("[401]")) {
+            noLogin = true;
+        }
+        return e.getMessage() != null && noLogin && retryCount < MAX_RETRY_ATTEMPTS - 1;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
     /**
      * Abstract method to refresh or obtain new authentication token.
      *
@@ -85,5 +147,66 @@ public abstract class BaseDifyServerToken {
      */
     abstract void refreshOrObtainNewToken(DifyServerClient difyServerClient);
 
+    /**
+     * Makes sure a token is stored before a non-blocking request is built, so that
+     * {@link #addAuthorizationHeader} and {@link #addAuthorizationCookies} do not have to log in on the calling thread.
+     * <p>The default completes immediately and leaves the login to the header callbacks, as the blocking path does.
+     *
+     * @param difyServerClient client instance containing authentication information
+     * @return future completed once a token is available
+     */
+    public CompletableFuture<Void> obtainTokenAsync(DifyServerClient difyServerClient) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #refreshOrObtainNewToken(DifyServerClient)}.
+     * <p>The default runs the blocking refresh on the {@link #getTokenExecutor() token executor}, implementations
+     * override it with {@link DifyServerClient#refreshTokenAsync(String)} and {@link DifyServerClient#loginAsync()}.
+     *
+     * @param difyServerClient client instance containing authentication information
+     * @return future completed once the token has been replaced
+     */
+    protected CompletableFuture<Void> refreshOrObtainNewTokenAsync(DifyServerClient difyServerClient) {
+        return CompletableFuture.runAsync(() -> refreshOrObtainNewToken(difyServerClient), getTokenExecutor());
+    }
+
+    /**
+     * Executor running the blocking token work of the non-blocking path, such as token store I/O, so that it never
+     * runs on the calling thread or on the HTTP client threads completing the login.
+     *
+     * @return the configured executor, by default a pool of daemon threads shared by all token stores
+     */
+    protected Executor getTokenExecutor() {
+        Executor executor = tokenExecutor;
+        return executor != null ? executor : DefaultTokenExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Set the executor running the blocking token work of the non-blocking path, for example a virtual thread
+     * executor from {@link DifyExecutors#newVirtualThreadExecutor(String)}.
+     *
+     * @param tokenExecutor the executor, null for the default pool shared by all token stores
+     */
+    public void setTokenExecutor(Executor tokenExecutor) {
+        this.tokenExecutor = tokenExecutor;
+    }
+
+    /**
+     * Run the blocking token work on virtual threads when the client configuration asks for them, unless an executor
+     * has been set.
+     *
+     * @param clientConfig the client configuration, may be null
+     */
+    public void applyExecutionMode(DifyProperties.ClientConfig clientConfig) {
+        if (tokenExecutor == null && DifyExecutors.useVirtualThreads(clientConfig)) {
+            tokenExecutor = DifyExecutors.newBlockingIoExecutor(clientConfig, "dify-token");
+        }
+    }
+
+    private static final class DefaultTokenExecutorHolder {
+
+        private static final Executor INSTANCE = DifyExecutors.newBlockingIoExecutor(null, "dify-token");
+    }
 
 }
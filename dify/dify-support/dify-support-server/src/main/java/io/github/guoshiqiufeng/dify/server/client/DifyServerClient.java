@@ -28,11 +28,16 @@ import io.github.guoshiqiufeng.dify.server.dto.response.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dify Server Client Interface
  * Provides methods to interact with Dify's server API for managing applications,
  * API keys, authentication, and related operations.
+ * <p>Every blocking call has an {@code *Async} variant that sends the request without parking the calling
+ * thread. Tokens are obtained and refreshed through {@link BaseDifyServerToken#executeWithRetryAsync}, so a
+ * missing or expired login is also handled without blocking. Argument validation fails immediately, request
+ * and response failures complete the returned future exceptionally.
  *
  * @author yanghq
  * @version 0.8.0
@@ -317,4 +322,262 @@ public interface DifyServerClient {
      * @throws IllegalArgumentException if datasetId or documentIds in the request is empty
      */
     void retryDocumentIndexing(DocumentRetryRequest request);
+
+    /**
+     * Asynchronous variant of {@link #apps(String, String)}
+     *
+     * @param mode The application mode to filter by (e.g., "completion", "chat")
+     * @param name The application name to search for
+     * @return A future of list of application responses matching the criteria
+     */
+    CompletableFuture<List<AppsResponse>> appsAsync(String mode, String name);
+
+    /**
+     * Asynchronous variant of {@link #apps(AppsRequest)}
+     *
+     * @param appsRequest Application query request containing pagination parameters and filter conditions
+     * @return A future of paginated application list result encapsulated in {@link AppsResponseResult} object Contains current page data, total count, page number, page limit and other pagination information
+     */
+    CompletableFuture<AppsResponseResult> appsAsync(AppsRequest appsRequest);
+
+    /**
+     * Asynchronous variant of {@link #app(String)}
+     *
+     * @param appId The ID of the application to retrieve
+     * @return A future of the application response containing detailed information
+     */
+    CompletableFuture<AppsResponse> appAsync(String appId);
+
+    /**
+     * Asynchronous variant of {@link #createApp(AppCreateRequest)}
+     *
+     * @param request Application create request containing name, mode and icon information
+     * @return A future of the newly created application details
+     */
+    CompletableFuture<AppsResponse> createAppAsync(AppCreateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #updateApp(String, AppUpdateRequest)}
+     *
+     * @param appId   The ID of the application to update
+     * @param request Application update request containing the fields to modify
+     * @return A future of the updated application details
+     */
+    CompletableFuture<AppsResponse> updateAppAsync(String appId, AppUpdateRequest request);
+
+    /**
+     * Asynchronous variant of {@link #deleteApp(String)}
+     *
+     * @param appId The ID of the application to delete
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteAppAsync(String appId);
+
+    /**
+     * Asynchronous variant of {@link #updateAppModelConfig(String, AppModelConfigRequest)}
+     *
+     * @param appId   The ID of the application whose model configuration should be updated
+     * @param request Model configuration payload (pre-prompt, model, agent_mode, file_upload, ...)
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> updateAppModelConfigAsync(String appId, AppModelConfigRequest request);
+
+    /**
+     * Asynchronous variant of {@link #inviteMembers(MemberInviteRequest)}
+     *
+     * @param request Member invitation request containing emails, role and language
+     * @return A future of invitation result containing per-email activation URL or failure message
+     */
+    CompletableFuture<MemberInviteResponse> inviteMembersAsync(MemberInviteRequest request);
+
+    /**
+     * Asynchronous variant of {@link #getAppApiKey(String)}
+     *
+     * @param appId The ID of the application to get API keys for
+     * @return A future of list of API key responses associated with the application
+     */
+    CompletableFuture<List<ApiKeyResponse>> getAppApiKeyAsync(String appId);
+
+    /**
+     * Asynchronous variant of {@link #initAppApiKey(String)}
+     *
+     * @param appId The ID of the application to initialize API keys for
+     * @return A future of list of newly generated API key responses
+     */
+    CompletableFuture<List<ApiKeyResponse>> initAppApiKeyAsync(String appId);
+
+    /**
+     * Asynchronous variant of {@link #deleteAppApiKey(String, String)}
+     *
+     * @param appId    The ID of the application to delete API key for
+     * @param apiKeyId The ID of the API key to delete
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteAppApiKeyAsync(String appId, String apiKeyId);
+
+    /**
+     * Asynchronous variant of {@link #getDatasetApiKey()}
+     *
+     * @return A future of list of dataset API key responses
+     */
+    CompletableFuture<List<DatasetApiKeyResponse>> getDatasetApiKeyAsync();
+
+    /**
+     * Asynchronous variant of {@link #initDatasetApiKey()}
+     *
+     * @return A future of list of newly generated dataset API key responses
+     */
+    CompletableFuture<List<DatasetApiKeyResponse>> initDatasetApiKeyAsync();
+
+    /**
+     * Asynchronous variant of {@link #deleteDatasetApiKey(String)}
+     *
+     * @param apiKeyId The ID of the dataset API key to delete
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> deleteDatasetApiKeyAsync(String apiKeyId);
+
+    /**
+     * Asynchronous variant of {@link #login()}
+     *
+     * @return A future of login response containing access token and refresh token
+     */
+    CompletableFuture<LoginResponse> loginAsync();
+
+    /**
+     * Asynchronous variant of {@link #refreshToken(String)}
+     *
+     * @param refreshToken The refresh token used to obtain a new access token
+     * @return A future of login response containing new access token and refresh token
+     */
+    CompletableFuture<LoginResponse> refreshTokenAsync(String refreshToken);
+
+    /**
+     * Asynchronous variant of {@link #chatConversations(ChatConversationsRequest)}
+     *
+     * @param request Chat conversations query request containing pagination parameters and filter conditions
+     * @return A future of paginated chat conversations result encapsulated in {@link DifyPageResult} object Contains current page data, total count, page number, page limit and other pagination information
+     */
+    CompletableFuture<DifyPageResult<ChatConversationResponse>> chatConversationsAsync(ChatConversationsRequest request);
+
+    /**
+     * Asynchronous variant of {@link #workflowsPublish(String)}
+     *
+     * @param appId The ID of the application to publish
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> workflowsPublishAsync(String appId);
+
+    /**
+     * Asynchronous variant of {@link #dailyConversations(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of daily conversation statistics, each encapsulated in {@link DailyConversationsResponse} object
+     */
+    CompletableFuture<List<DailyConversationsResponse>> dailyConversationsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #dailyWorkflowConversations(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of daily workflow conversation statistics, each encapsulated in {@link DailyWorkflowConversationsResponse} object
+     */
+    CompletableFuture<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversationsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #dailyEndUsers(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of daily end users statistics, each encapsulated in {@link DailyEndUsersResponse} object
+     */
+    CompletableFuture<List<DailyEndUsersResponse>> dailyEndUsersAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #averageSessionInteractions(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of average session interactions statistics, each encapsulated in {@link AverageSessionInteractionsResponse} object
+     */
+    CompletableFuture<List<AverageSessionInteractionsResponse>> averageSessionInteractionsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #tokensPerSecond(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of tokens per second statistics, each encapsulated in {@link TokensPerSecondResponse} object
+     */
+    CompletableFuture<List<TokensPerSecondResponse>> tokensPerSecondAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #userSatisfactionRate(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of user satisfaction rate statistics, each encapsulated in {@link UserSatisfactionRateResponse} object
+     */
+    CompletableFuture<List<UserSatisfactionRateResponse>> userSatisfactionRateAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #tokenCosts(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of token costs statistics, each encapsulated in {@link TokenCostsResponse} object
+     */
+    CompletableFuture<List<TokenCostsResponse>> tokenCostsAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #dailyMessages(String, LocalDateTime, LocalDateTime)}
+     *
+     * @param appId The ID of the application to get statistics for
+     * @param start Start time in format "yyyy-MM-dd HH:mm"
+     * @param end   End time in format "yyyy-MM-dd HH:mm"
+     * @return A future of list of daily messages statistics, each encapsulated in {@link DailyMessagesResponse} object
+     */
+    CompletableFuture<List<DailyMessagesResponse>> dailyMessagesAsync(String appId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Asynchronous variant of {@link #getDatasetIndexingStatus(String)}
+     *
+     * @param datasetId The unique identifier of the dataset, must not be null
+     * @return A future of {@link DocumentIndexingStatusResponse} object containing indexing status of all documents, including lists of documents that are indexing, completed, or failed, along with detailed information
+     */
+    CompletableFuture<DocumentIndexingStatusResponse> getDatasetIndexingStatusAsync(String datasetId);
+
+    /**
+     * Asynchronous variant of {@link #getDocumentIndexingStatus(String, String)}
+     *
+     * @param datasetId  The unique identifier of the dataset, must not be null
+     * @param documentId The unique identifier of the document, must not be null
+     * @return A future of {@link DocumentIndexingStatusResponse.ProcessingStatus} object containing document indexing status, including indexing progress, status, error information (if any), and other detailed information
+     */
+    CompletableFuture<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatusAsync(String datasetId, String documentId);
+
+    /**
+     * Asynchronous variant of {@link #getDatasetErrorDocuments(String)}
+     *
+     * @param datasetId The unique identifier of the dataset, must not be null
+     * @return A future of {@link DatasetErrorDocumentsResponse} object containing list of error documents, including details of failed documents, error reasons, total count, etc.
+     */
+    CompletableFuture<DatasetErrorDocumentsResponse> getDatasetErrorDocumentsAsync(String datasetId);
+
+    /**
+     * Asynchronous variant of {@link #retryDocumentIndexing(DocumentRetryRequest)}
+     *
+     * @param request Document retry request encapsulating dataset ID and list of document IDs to retry, must not be null
+     * @return A future completed once the request has finished
+     */
+    CompletableFuture<Void> retryDocumentIndexingAsync(DocumentRetryRequest request);
 }
@@ -19,7 +19,10 @@ import io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders;
 import io.github.guoshiqiufeng.dify.server.dto.response.LoginResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * @author yanghq
@@ -37,6 +40,11 @@ public class DifyServerTokenDefault extends BaseDifyServerToken {
 
     private final ReentrantLock tokenLock = new ReentrantLock();
 
+    /**
+     * Login or refresh started by the non-blocking path, shared by every caller that needs a token meanwhile
+     */
+    private final AtomicReference<CompletableFuture<Void>> pendingToken = new AtomicReference<>();
+
     @Override
     public void addAuthorizationHeader(HttpHeaders headers, DifyServerClient difyServerClient) {
         String token = accessToken;
@@ -76,12 +84,7 @@ public class DifyServerTokenDefault extends BaseDifyServerToken {
         try {
             // Double-check inside lock
             if (accessToken == null) {
-                LoginResponse loginResponse = difyServerClient.login();
-                if (loginResponse != null) {
-                    this.accessToken = loginResponse.getAccessToken();
-                    this.refreshToken = loginResponse.getRefreshToken();
-                    this.csrfToken = loginResponse.getCsrfToken();
-                }
+                storeTokens(difyServerClient.login());
             }
             return accessToken;
         } finally {
@@ -89,6 +92,78 @@ public class DifyServerTokenDefault extends BaseDifyServerToken {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> obtainTokenAsync(DifyServerClient difyServerClient) {
+        if (accessToken != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return joinPendingToken(() -> accessToken != null
+                ? CompletableFuture.completedFuture(null)
+                : difyServerClient.loginAsync().thenAccept(this::storeTokens));
+    }
+
+    @Override
+    protected CompletableFuture<Void> refreshOrObtainNewTokenAsync(DifyServerClient difyServerClient) {
+        return joinPendingToken(() -> {
+            String token = refreshToken;
+            CompletableFuture<LoginResponse> refreshed;
+            if (token == null) {
+                refreshed = CompletableFuture.completedFuture(null);
+            } else {
+                refreshed = difyServerClient.refreshTokenAsync(token)
+                        .exceptionally(e -> {
+                            log.warn("Failed to refresh token:{}, will attempt to login", unwrap(e).getMessage());
+                            return null;
+                        });
+            }
+            // 如果刷新token失败或没有刷新token，则重新登录
+            return refreshed
+                    .thenCompose(response -> response != null
+                            ? CompletableFuture.completedFuture(response)
+                            : difyServerClient.loginAsync())
+                    .thenAccept(this::storeTokens);
+        });
+    }
+
+    /**
+     * Starts the given token operation unless one is already running, in which case its future is returned.
+     */
+    private CompletableFuture<Void> joinPendingToken(Supplier<CompletableFuture<Void>> operation) {
+        while (true) {
+            CompletableFuture<Void> pending = pendingToken.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<Void> promise = new CompletableFuture<>();
+            if (pendingToken.compareAndSet(null, promise)) {
+                CompletableFuture<Void> started;
+                try {
+                    started = operation.get();
+                } catch (Exception e) {
+                    started = new CompletableFuture<>();
+                    started.completeExceptionally(e);
+                }
+                started.whenComplete((ignored, error) -> {
+                    pendingToken.compareAndSet(promise, null);
+                    if (error != null) {
+                        promise.completeExceptionally(error);
+                    } else {
+                        promise.complete(null);
+                    }
+                });
+                return promise;
+            }
+        }
+    }
+
+    private void storeTokens(LoginResponse response) {
+        if (response != null) {
+            this.accessToken = response.getAccessToken();
+            this.refreshToken = response.getRefreshToken();
+            this.csrfToken = response.getCsrfToken();
+        }
+    }
+
     /**
      * refresh or obtain new token
      */
@@ -100,9 +175,7 @@ public class DifyServerTokenDefault extends BaseDifyServerToken {
                 try {
                     LoginResponse response = difyServerClient.refreshToken(refreshToken);
                     if (response != null) {
-                        this.accessToken = response.getAccessToken();
-                        this.refreshToken = response.getRefreshToken();
-                        this.csrfToken = response.getCsrfToken();
+                        storeTokens(response);
                         return;
                     }
                 } catch (Exception e) {
@@ -110,12 +183,7 @@ public class DifyServerTokenDefault extends BaseDifyServerToken {
                 }
             }
             // 如果刷新token失败或没有刷新token，则重新登录
-            LoginResponse loginResponse = difyServerClient.login();
-            if (loginResponse != null) {
-                this.accessToken = loginResponse.getAccessToken();
-                this.refreshToken = loginResponse.getRefreshToken();
-                this.csrfToken = loginResponse.getCsrfToken();
-            }
+            storeTokens(difyServerClient.login());
         } finally {
             tokenLock.unlock();
         }
@@ -23,6 +23,8 @@ import io.github.guoshiqiufeng.dify.server.dto.response.LoginResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,19 +69,21 @@ public class DifyServerTokenRedis extends BaseDifyServerToken {
     }
 
     private String obtainToken(DifyServerClient difyServerClient) {
-        LoginResponse loginResponse = difyServerClient.login();
-        if (loginResponse != null) {
-            String accessToken = loginResponse.getAccessToken();
-            redisTemplate.opsForValue().set(DifyRedisKey.ACCESS_TOKEN, accessToken);
-            redisTemplate.expire(DifyRedisKey.ACCESS_TOKEN, TOKEN_EXPIRE_MINUTES, TimeUnit.MINUTES);
-            redisTemplate.opsForValue().set(DifyRedisKey.REFRESH_TOKEN, loginResponse.getRefreshToken());
-            if (StrUtil.isNotEmpty(loginResponse.getCsrfToken())) {
-                redisTemplate.opsForValue().set(DifyRedisKey.CSRF_TOKEN, loginResponse.getCsrfToken());
-            }
+        return storeTokens(difyServerClient.login());
+    }
 
-            return accessToken;
-        }
-        return null;
+    /**
+     * Redis is read and written on the {@link #getTokenExecutor() token executor}, neither on the calling thread nor
+     * on the HTTP client thread completing the login.
+     */
+    @Override
+    public CompletableFuture<Void> obtainTokenAsync(DifyServerClient difyServerClient) {
+        Executor executor = getTokenExecutor();
+        return CompletableFuture
+                .supplyAsync(() -> redisTemplate.opsForValue().get(DifyRedisKey.ACCESS_TOKEN), executor)
+                .thenCompose(accessToken -> StrUtil.isNotEmpty(accessToken)
+                        ? CompletableFuture.completedFuture(null)
+                        : difyServerClient.loginAsync().thenAcceptAsync(this::storeTokens, executor));
     }
 
     /**
@@ -92,13 +96,7 @@ public class DifyServerTokenRedis extends BaseDifyServerToken {
             try {
                 LoginResponse response = difyServerClient.refreshToken(refreshToken);
                 if (response != null) {
-                    String accessToken = response.getAccessToken();
-                    redisTemplate.opsForValue().set(DifyRedisKey.ACCESS_TOKEN, accessToken);
-                    redisTemplate.expire(DifyRedisKey.ACCESS_TOKEN, TOKEN_EXPIRE_MINUTES, TimeUnit.MINUTES);
-                    redisTemplate.opsForValue().set(DifyRedisKey.REFRESH_TOKEN, response.getRefreshToken());
-                    if (StrUtil.isNotEmpty(response.getCsrfToken())) {
-                        redisTemplate.opsForValue().set(DifyRedisKey.CSRF_TOKEN, response.getCsrfToken());
-                    }
+                    storeTokens(response);
                     return;
                 }
             } catch (Exception e) {
@@ -106,16 +104,47 @@ public class DifyServerTokenRedis extends BaseDifyServerToken {
             }
         }
         // 如果刷新token失败或没有刷新token，则重新登录
-        LoginResponse loginResponse = difyServerClient.login();
-        if (loginResponse != null) {
-            String accessToken = loginResponse.getAccessToken();
-            redisTemplate.opsForValue().set(DifyRedisKey.ACCESS_TOKEN, accessToken);
-            redisTemplate.expire(DifyRedisKey.ACCESS_TOKEN, TOKEN_EXPIRE_MINUTES, TimeUnit.MINUTES);
-            redisTemplate.opsForValue().set(DifyRedisKey.REFRESH_TOKEN, loginResponse.getRefreshToken());
-            if (StrUtil.isNotEmpty(loginResponse.getCsrfToken())) {
-                redisTemplate.opsForValue().set(DifyRedisKey.CSRF_TOKEN, loginResponse.getCsrfToken());
-            }
-        }
+        storeTokens(difyServerClient.login());
+    }
 
+    /**
+     * Redis is read and written on the {@link #getTokenExecutor() token executor}, like
+     * {@link #obtainTokenAsync(DifyServerClient)}.
+     */
+    @Override
+    protected CompletableFuture<Void> refreshOrObtainNewTokenAsync(DifyServerClient difyServerClient) {
+        Executor executor = getTokenExecutor();
+        return CompletableFuture
+                .supplyAsync(() -> redisTemplate.opsForValue().get(DifyRedisKey.REFRESH_TOKEN), executor)
+                .thenCompose(refreshToken -> refreshToken == null
+                        ? CompletableFuture.<LoginResponse>completedFuture(null)
+                        : refreshTokenAsync(difyServerClient, refreshToken))
+                // 如果刷新token失败或没有刷新token，则重新登录
+                .thenCompose(response -> response != null
+                        ? CompletableFuture.completedFuture(response)
+                        : difyServerClient.loginAsync())
+                .thenAcceptAsync(this::storeTokens, executor);
+    }
+
+    private CompletableFuture<LoginResponse> refreshTokenAsync(DifyServerClient difyServerClient, String refreshToken) {
+        return difyServerClient.refreshTokenAsync(refreshToken)
+                .exceptionally(e -> {
+                    log.warn("Failed to refresh token:{}, will attempt to login", unwrap(e).getMessage());
+                    return null;
+                });
+    }
+
+    private String storeTokens(LoginResponse loginResponse) {
+        if (loginResponse == null) {
+            return null;
+        }
+        String accessToken = loginResponse.getAccessToken();
+        redisTemplate.opsForValue().set(DifyRedisKey.ACCESS_TOKEN, accessToken);
+        redisTemplate.expire(DifyRedisKey.ACCESS_TOKEN, TOKEN_EXPIRE_MINUTES, TimeUnit.MINUTES);
+        redisTemplate.opsForValue().set(DifyRedisKey.REFRESH_TOKEN, loginResponse.getRefreshToken());
+        if (StrUtil.isNotEmpty(loginResponse.getCsrfToken())) {
+            redisTemplate.opsForValue().set(DifyRedisKey.CSRF_TOKEN, loginResponse.getCsrfToken());
+        }
+        return accessToken;
     }
 }
@@ -31,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author yanghq
@@ -186,4 +187,144 @@ public class DifyServerClientImpl implements DifyServer {
         difyServerClient.retryDocumentIndexing(request);
 
     }
+
+    @Override
+    public CompletableFuture<List<AppsResponse>> appsAsync(String mode, String name) {
+        return difyServerClient.appsAsync(mode, name);
+    }
+
+    @Override
+    public CompletableFuture<AppsResponseResult> appsAsync(AppsRequest appsRequest) {
+        return difyServerClient.appsAsync(appsRequest);
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> appAsync(String appId) {
+        return difyServerClient.appAsync(appId);
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> createAppAsync(AppCreateRequest request) {
+        return difyServerClient.createAppAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<AppsResponse> updateAppAsync(String appId, AppUpdateRequest request) {
+        return difyServerClient.updateAppAsync(appId, request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppAsync(String appId) {
+        return difyServerClient.deleteAppAsync(appId);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAppModelConfigAsync(String appId, AppModelConfigRequest request) {
+        return difyServerClient.updateAppModelConfigAsync(appId, request);
+    }
+
+    @Override
+    public CompletableFuture<MemberInviteResponse> inviteMembersAsync(MemberInviteRequest request) {
+        return difyServerClient.inviteMembersAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<List<ApiKeyResponse>> getAppApiKeyAsync(String appId) {
+        return difyServerClient.getAppApiKeyAsync(appId);
+    }
+
+    @Override
+    public CompletableFuture<List<ApiKeyResponse>> initAppApiKeyAsync(String appId) {
+        return difyServerClient.initAppApiKeyAsync(appId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAppApiKeyAsync(String appId, String apiKeyId) {
+        return difyServerClient.deleteAppApiKeyAsync(appId, apiKeyId);
+    }
+
+    @Override
+    public CompletableFuture<List<DatasetApiKeyResponse>> getDatasetApiKeyAsync() {
+        return difyServerClient.getDatasetApiKeyAsync();
+    }
+
+    @Override
+    public CompletableFuture<List<DatasetApiKeyResponse>> initDatasetApiKeyAsync() {
+        return difyServerClient.initDatasetApiKeyAsync();
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDatasetApiKeyAsync(String apiKeyId) {
+        return difyServerClient.deleteDatasetApiKeyAsync(apiKeyId);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<ChatConversationResponse>> chatConversationsAsync(ChatConversationsRequest request) {
+        return difyServerClient.chatConversationsAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<Void> workflowsPublishAsync(String appId) {
+        return difyServerClient.workflowsPublishAsync(appId);
+    }
+
+    @Override
+    public CompletableFuture<List<DailyConversationsResponse>> dailyConversationsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.dailyConversationsAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversationsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.dailyWorkflowConversationsAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<DailyEndUsersResponse>> dailyEndUsersAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.dailyEndUsersAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<AverageSessionInteractionsResponse>> averageSessionInteractionsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.averageSessionInteractionsAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<TokensPerSecondResponse>> tokensPerSecondAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.tokensPerSecondAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<UserSatisfactionRateResponse>> userSatisfactionRateAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.userSatisfactionRateAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<TokenCostsResponse>> tokenCostsAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.tokenCostsAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<List<DailyMessagesResponse>> dailyMessagesAsync(String appId, LocalDateTime start, LocalDateTime end) {
+        return difyServerClient.dailyMessagesAsync(appId, start, end);
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse> getDatasetIndexingStatusAsync(String datasetId) {
+        return difyServerClient.getDatasetIndexingStatusAsync(datasetId);
+    }
+
+    @Override
+    public CompletableFuture<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatusAsync(String datasetId, String documentId) {
+        return difyServerClient.getDocumentIndexingStatusAsync(datasetId, documentId);
+    }
+
+    @Override
+    public CompletableFuture<DatasetErrorDocumentsResponse> getDatasetErrorDocumentsAsync(String datasetId) {
+        return difyServerClient.getDatasetErrorDocumentsAsync(datasetId);
+    }
+
+    @Override
+    public CompletableFuture<Void> retryDocumentIndexingAsync(DocumentRetryRequest request) {
+        return difyServerClient.retryDocumentIndexingAsync(request);
+    }
 }
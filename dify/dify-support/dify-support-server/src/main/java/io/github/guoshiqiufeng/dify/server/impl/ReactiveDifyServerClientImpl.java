@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.server.impl;
+
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.dataset.dto.response.DocumentIndexingStatusResponse;
+import io.github.guoshiqiufeng.dify.server.DifyServer;
+import io.github.guoshiqiufeng.dify.server.ReactiveDifyServer;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppCreateRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppModelConfigRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppUpdateRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.AppsRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.ChatConversationsRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.DocumentRetryRequest;
+import io.github.guoshiqiufeng.dify.server.dto.request.MemberInviteRequest;
+import io.github.guoshiqiufeng.dify.server.dto.response.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 基于 {@link DifyServer} 异步方法的 {@link ReactiveDifyServer} 实现
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class ReactiveDifyServerClientImpl implements ReactiveDifyServer {
+
+    private final DifyServer difyServer;
+
+    public ReactiveDifyServerClientImpl(DifyServer difyServer) {
+        this.difyServer = difyServer;
+    }
+
+    @Override
+    public Mono<List<AppsResponse>> apps(String mode, String name) {
+        return Mono.fromFuture(() -> difyServer.appsAsync(mode, name));
+    }
+
+    @Override
+    public Mono<AppsResponseResult> apps(AppsRequest appsRequest) {
+        return Mono.fromFuture(() -> difyServer.appsAsync(appsRequest));
+    }
+
+    @Override
+    public Mono<AppsResponse> app(String appId) {
+        return Mono.fromFuture(() -> difyServer.appAsync(appId));
+    }
+
+    @Override
+    public Mono<AppsResponse> createApp(AppCreateRequest request) {
+        return Mono.fromFuture(() -> difyServer.createAppAsync(request));
+    }
+
+    @Override
+    public Mono<AppsResponse> updateApp(String appId, AppUpdateRequest request) {
+        return Mono.fromFuture(() -> difyServer.updateAppAsync(appId, request));
+    }
+
+    @Override
+    public Mono<Void> deleteApp(String appId) {
+        return Mono.fromFuture(() -> difyServer.deleteAppAsync(appId));
+    }
+
+    @Override
+    public Mono<Void> updateAppModelConfig(String appId, AppModelConfigRequest request) {
+        return Mono.fromFuture(() -> difyServer.updateAppModelConfigAsync(appId, request));
+    }
+
+    @Override
+    public Mono<MemberInviteResponse> inviteMembers(MemberInviteRequest request) {
+        return Mono.fromFuture(() -> difyServer.inviteMembersAsync(request));
+    }
+
+    @Override
+    public Mono<List<ApiKeyResponse>> getAppApiKey(String appId) {
+        return Mono.fromFuture(() -> difyServer.getAppApiKeyAsync(appId));
+    }
+
+    @Override
+    public Mono<List<ApiKeyResponse>> initAppApiKey(String appId) {
+        return Mono.fromFuture(() -> difyServer.initAppApiKeyAsync(appId));
+    }
+
+    @Override
+    public Mono<Void> deleteAppApiKey(String appId, String apiKeyId) {
+        return Mono.fromFuture(() -> difyServer.deleteAppApiKeyAsync(appId, apiKeyId));
+    }
+
+    @Override
+    public Mono<List<DatasetApiKeyResponse>> getDatasetApiKey() {
+        return Mono.fromFuture(() -> difyServer.getDatasetApiKeyAsync());
+    }
+
+    @Override
+    public Mono<List<DatasetApiKeyResponse>> initDatasetApiKey() {
+        return Mono.fromFuture(() -> difyServer.initDatasetApiKeyAsync());
+    }
+
+    @Override
+    public Mono<Void> deleteDatasetApiKey(String apiKeyId) {
+        return Mono.fromFuture(() -> difyServer.deleteDatasetApiKeyAsync(apiKeyId));
+    }
+
+    @Override
+    public Mono<DifyPageResult<ChatConversationResponse>> chatConversations(ChatConversationsRequest request) {
+        return Mono.fromFuture(() -> difyServer.chatConversationsAsync(request));
+    }
+
+    @Override
+    public Mono<Void> workflowsPublish(String appId) {
+        return Mono.fromFuture(() -> difyServer.workflowsPublishAsync(appId));
+    }
+
+    @Override
+    public Mono<List<DailyConversationsResponse>> dailyConversations(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.dailyConversationsAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<DailyWorkflowConversationsResponse>> dailyWorkflowConversations(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.dailyWorkflowConversationsAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<DailyEndUsersResponse>> dailyEndUsers(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.dailyEndUsersAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<AverageSessionInteractionsResponse>> averageSessionInteractions(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.averageSessionInteractionsAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<TokensPerSecondResponse>> tokensPerSecond(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.tokensPerSecondAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<UserSatisfactionRateResponse>> userSatisfactionRate(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.userSatisfactionRateAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<TokenCostsResponse>> tokenCosts(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.tokenCostsAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<List<DailyMessagesResponse>> dailyMessages(String appId, LocalDateTime start, LocalDateTime end) {
+        return Mono.fromFuture(() -> difyServer.dailyMessagesAsync(appId, start, end));
+    }
+
+    @Override
+    public Mono<DocumentIndexingStatusResponse> getDatasetIndexingStatus(String datasetId) {
+        return Mono.fromFuture(() -> difyServer.getDatasetIndexingStatusAsync(datasetId));
+    }
+
+    @Override
+    public Mono<DocumentIndexingStatusResponse.ProcessingStatus> getDocumentIndexingStatus(String datasetId, String documentId) {
+        return Mono.fromFuture(() -> difyServer.getDocumentIndexingStatusAsync(datasetId, documentId));
+    }
+
+    @Override
+    public Mono<DatasetErrorDocumentsResponse> getDatasetErrorDocuments(String datasetId) {
+        return Mono.fromFuture(() -> difyServer.getDatasetErrorDocumentsAsync(datasetId));
+    }
+
+    @Override
+    public Mono<Void> retryDocumentIndexing(DocumentRetryRequest request) {
+        return Mono.fromFuture(() -> difyServer.retryDocumentIndexingAsync(request));
+    }
+}
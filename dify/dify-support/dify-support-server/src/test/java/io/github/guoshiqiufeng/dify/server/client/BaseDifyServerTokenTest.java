@@ -15,6 +15,9 @@
  */
 package io.github.guoshiqiufeng.dify.server.client;
 
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.ExecutionModeEnum;
 import io.github.guoshiqiufeng.dify.core.exception.DiftClientExceptionEnum;
 import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +27,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -214,8 +223,113 @@ class BaseDifyServerTokenTest {
      * Test implementation of BaseDifyServerToken
      * for testing purposes
      */
+    @Test
+    @DisplayName("Test executeWithRetryAsync successful on first attempt")
+    void testExecuteWithRetryAsyncSuccessOnFirstAttempt() throws Exception {
+        RequestSupplier<CompletableFuture<String>> supplier = () -> CompletableFuture.completedFuture("success");
+
+        String result = token.executeWithRetryAsync(supplier, difyServerClient).get(5, TimeUnit.SECONDS);
+
+        assertEquals("success", result);
+        assertEquals(0, token.refreshTokenCallCount);
+    }
+
+    @Test
+    @DisplayName("Test executeWithRetryAsync refreshes and retries on 401")
+    void testExecuteWithRetryAsyncWithOneRetry() throws Exception {
+        CompletableFuture<String> unauthorized = new CompletableFuture<>();
+        unauthorized.completeExceptionally(new RuntimeException("[401] Unauthorized"));
+        RequestSupplier<CompletableFuture<String>> supplier = mock(RequestSupplier.class);
+        when(supplier.get())
+                .thenReturn(unauthorized)
+                .thenReturn(CompletableFuture.completedFuture("success after retry"));
+
+        String result = token.executeWithRetryAsync(supplier, difyServerClient).get(5, TimeUnit.SECONDS);
+
+        assertEquals("success after retry", result);
+        assertEquals(1, token.refreshTokenCallCount);
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("Test executeWithRetryAsync with maximum retries")
+    void testExecuteWithRetryAsyncMaximumRetries() {
+        RuntimeException authError = new RuntimeException("[401] Unauthorized");
+        RequestSupplier<CompletableFuture<String>> supplier = mock(RequestSupplier.class);
+        when(supplier.get()).thenThrow(authError);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                token.executeWithRetryAsync(supplier, difyServerClient).get(5, TimeUnit.SECONDS));
+
+        assertSame(authError, exception.getCause());
+        assertEquals(2, token.refreshTokenCallCount);
+        verify(supplier, times(3)).get();
+    }
+
+    @Test
+    @DisplayName("Test executeWithRetryAsync with non-401 error")
+    void testExecuteWithRetryAsyncNon401Error() {
+        RuntimeException error = new RuntimeException("[500] Server Error");
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(error);
+        RequestSupplier<CompletableFuture<String>> supplier = mock(RequestSupplier.class);
+        when(supplier.get()).thenReturn(failed);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                token.executeWithRetryAsync(supplier, difyServerClient).get(5, TimeUnit.SECONDS));
+
+        assertSame(error, exception.getCause());
+        assertEquals(0, token.refreshTokenCallCount);
+        verify(supplier, times(1)).get();
+    }
+
+    @Test
+    @DisplayName("Test refreshOrObtainNewTokenAsync runs the blocking refresh on the token executor")
+    void testRefreshOrObtainNewTokenAsyncUsesTokenExecutor() throws Exception {
+        ExecutorService tokenExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "token-io"));
+        try {
+            token.setTokenExecutor(tokenExecutor);
+
+            token.refreshOrObtainNewTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, token.refreshTokenCallCount);
+            assertEquals("token-io", token.refreshThread);
+        } finally {
+            tokenExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test the default token executor is not the shared worker pool")
+    void testDefaultTokenExecutorIsDedicated() throws Exception {
+        assertNotSame(DifyExecutors.workers(), token.getTokenExecutor());
+
+        token.refreshOrObtainNewTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, token.refreshTokenCallCount);
+        assertTrue(token.refreshThread.startsWith("dify-token-"));
+    }
+
+    @Test
+    @DisplayName("Test applyExecutionMode keeps an executor that has been set")
+    void testApplyExecutionModeKeepsConfiguredExecutor() {
+        ExecutorService tokenExecutor = Executors.newSingleThreadExecutor();
+        try {
+            token.setTokenExecutor(tokenExecutor);
+            DifyProperties.ClientConfig clientConfig = new DifyProperties.ClientConfig();
+            clientConfig.setExecutionMode(ExecutionModeEnum.VIRTUAL);
+
+            token.applyExecutionMode(clientConfig);
+
+            assertSame(tokenExecutor, token.getTokenExecutor());
+        } finally {
+            tokenExecutor.shutdownNow();
+        }
+    }
+
     private static class TestBaseDifyServerToken extends BaseDifyServerToken {
         int refreshTokenCallCount = 0;
+        String refreshThread;
 
         @Override
         public void addAuthorizationHeader(io.github.guoshiqiufeng.dify.client.core.http.HttpHeaders headers, DifyServerClient difyServerClient) {
@@ -230,6 +344,7 @@ class BaseDifyServerTokenTest {
         @Override
         void refreshOrObtainNewToken(DifyServerClient difyServerClient) {
             refreshTokenCallCount++;
+            refreshThread = Thread.currentThread().getName();
         }
     }
 }
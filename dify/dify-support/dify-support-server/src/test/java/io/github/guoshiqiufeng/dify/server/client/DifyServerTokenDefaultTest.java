@@ -28,6 +28,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -561,4 +563,74 @@ class DifyServerTokenDefaultTest {
         assertEquals("existing-token", result);
         verify(difyServerClient, never()).login();
     }
+
+    @Test
+    @DisplayName("Test obtainTokenAsync shares one login between concurrent callers")
+    void testObtainTokenAsyncSingleLogin() throws Exception {
+        CompletableFuture<LoginResponse> login = new CompletableFuture<>();
+        when(difyServerClient.loginAsync()).thenReturn(login);
+
+        CompletableFuture<Void> first = tokenDefault.obtainTokenAsync(difyServerClient);
+        CompletableFuture<Void> second = tokenDefault.obtainTokenAsync(difyServerClient);
+
+        LoginResponse loginResponse = new LoginResponse();
+        loginResponse.setAccessToken("async-access-token");
+        loginResponse.setRefreshToken("async-refresh-token");
+        login.complete(loginResponse);
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        verify(difyServerClient, times(1)).loginAsync();
+        verify(difyServerClient, never()).login();
+
+        // A token is present now, so no further login is attempted
+        tokenDefault.obtainTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+        verify(difyServerClient, times(1)).loginAsync();
+
+        Field accessTokenField = DifyServerTokenDefault.class.getDeclaredField("accessToken");
+        accessTokenField.setAccessible(true);
+        assertEquals("async-access-token", accessTokenField.get(tokenDefault));
+    }
+
+    @Test
+    @DisplayName("Test refreshOrObtainNewTokenAsync falls back to login when refresh fails")
+    void testRefreshOrObtainNewTokenAsyncWithFailedRefresh() throws Exception {
+        Field refreshTokenField = DifyServerTokenDefault.class.getDeclaredField("refreshToken");
+        refreshTokenField.setAccessible(true);
+        refreshTokenField.set(tokenDefault, "old-refresh-token");
+
+        CompletableFuture<LoginResponse> failedRefresh = new CompletableFuture<>();
+        failedRefresh.completeExceptionally(new RuntimeException("[401] Unauthorized"));
+        when(difyServerClient.refreshTokenAsync("old-refresh-token")).thenReturn(failedRefresh);
+        LoginResponse loginResponse = new LoginResponse();
+        loginResponse.setAccessToken("new-access-token");
+        loginResponse.setRefreshToken("new-refresh-token");
+        when(difyServerClient.loginAsync()).thenReturn(CompletableFuture.completedFuture(loginResponse));
+
+        tokenDefault.refreshOrObtainNewTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+        verify(difyServerClient).refreshTokenAsync("old-refresh-token");
+        verify(difyServerClient).loginAsync();
+        verify(difyServerClient, never()).refreshToken(anyString());
+        assertEquals("new-refresh-token", refreshTokenField.get(tokenDefault));
+    }
+
+    @Test
+    @DisplayName("Test refreshOrObtainNewTokenAsync with valid refresh token")
+    void testRefreshOrObtainNewTokenAsyncWithValidRefreshToken() throws Exception {
+        Field refreshTokenField = DifyServerTokenDefault.class.getDeclaredField("refreshToken");
+        refreshTokenField.setAccessible(true);
+        refreshTokenField.set(tokenDefault, "old-refresh-token");
+
+        LoginResponse refreshResponse = new LoginResponse();
+        refreshResponse.setAccessToken("refreshed-access-token");
+        refreshResponse.setRefreshToken("refreshed-refresh-token");
+        when(difyServerClient.refreshTokenAsync("old-refresh-token"))
+                .thenReturn(CompletableFuture.completedFuture(refreshResponse));
+
+        tokenDefault.refreshOrObtainNewTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+        verify(difyServerClient, never()).loginAsync();
+        assertEquals("refreshed-refresh-token", refreshTokenField.get(tokenDefault));
+    }
 }
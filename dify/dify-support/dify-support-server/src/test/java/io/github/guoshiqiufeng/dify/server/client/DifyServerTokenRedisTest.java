@@ -44,6 +44,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -473,4 +479,74 @@ class DifyServerTokenRedisTest {
         verify(valueOperations).set(eq(DifyRedisKey.CSRF_TOKEN), eq("new-csrf-token"));
         verify(httpHeaders).setBearerAuth("new-access-token");
     }
+
+    @Test
+    @DisplayName("Test obtainTokenAsync reads and writes Redis on the token executor")
+    void testObtainTokenAsyncUsesTokenExecutor() throws Exception {
+        ExecutorService tokenExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "token-io"));
+        try {
+            tokenRedis.setTokenExecutor(tokenExecutor);
+            List<String> redisThreads = new CopyOnWriteArrayList<>();
+            when(valueOperations.get(DifyRedisKey.ACCESS_TOKEN)).thenAnswer(invocation -> {
+                redisThreads.add(Thread.currentThread().getName());
+                return null;
+            });
+            doAnswer(invocation -> redisThreads.add(Thread.currentThread().getName()))
+                    .when(valueOperations).set(eq(DifyRedisKey.ACCESS_TOKEN), eq("new-access-token"));
+            CompletableFuture<LoginResponse> login = new CompletableFuture<>();
+            when(difyServerClient.loginAsync()).thenReturn(login);
+
+            CompletableFuture<Void> result = tokenRedis.obtainTokenAsync(difyServerClient);
+            LoginResponse loginResponse = new LoginResponse();
+            loginResponse.setAccessToken("new-access-token");
+            loginResponse.setRefreshToken("new-refresh-token");
+            // completed by the caller, as the HTTP client thread would
+            login.complete(loginResponse);
+            result.get(5, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList("token-io", "token-io"), redisThreads);
+            verify(valueOperations).set(DifyRedisKey.REFRESH_TOKEN, "new-refresh-token");
+        } finally {
+            tokenExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test obtainTokenAsync with token in Redis does not log in")
+    void testObtainTokenAsyncWithTokenInRedis() throws Exception {
+        when(valueOperations.get(DifyRedisKey.ACCESS_TOKEN)).thenReturn("redis-access-token");
+
+        tokenRedis.obtainTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+        verify(difyServerClient, never()).loginAsync();
+    }
+
+    @Test
+    @DisplayName("Test refreshOrObtainNewTokenAsync reads and writes Redis on the token executor")
+    void testRefreshOrObtainNewTokenAsyncUsesTokenExecutor() throws Exception {
+        ExecutorService tokenExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "token-io"));
+        try {
+            tokenRedis.setTokenExecutor(tokenExecutor);
+            List<String> redisThreads = new CopyOnWriteArrayList<>();
+            when(valueOperations.get(DifyRedisKey.REFRESH_TOKEN)).thenAnswer(invocation -> {
+                redisThreads.add(Thread.currentThread().getName());
+                return "old-refresh-token";
+            });
+            doAnswer(invocation -> redisThreads.add(Thread.currentThread().getName()))
+                    .when(valueOperations).set(eq(DifyRedisKey.ACCESS_TOKEN), eq("refreshed-access-token"));
+            LoginResponse refreshed = new LoginResponse();
+            refreshed.setAccessToken("refreshed-access-token");
+            refreshed.setRefreshToken("refreshed-refresh-token");
+            when(difyServerClient.refreshTokenAsync("old-refresh-token"))
+                    .thenReturn(CompletableFuture.completedFuture(refreshed));
+
+            tokenRedis.refreshOrObtainNewTokenAsync(difyServerClient).get(5, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList("token-io", "token-io"), redisThreads);
+            verify(valueOperations).set(DifyRedisKey.REFRESH_TOKEN, "refreshed-refresh-token");
+            verify(difyServerClient, never()).loginAsync();
+        } finally {
+            tokenExecutor.shutdownNow();
+        }
+    }
 }
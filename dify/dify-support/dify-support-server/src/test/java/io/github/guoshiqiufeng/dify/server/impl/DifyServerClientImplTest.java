@@ -31,9 +31,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 /**
@@ -800,4 +802,26 @@ class DifyServerClientImplTest {
         // Assert
         verify(difyServerClient, times(1)).retryDocumentIndexing(request);
     }
+
+    @Test
+    void testAppsAsync() throws Exception {
+        List<AppsResponse> expectedApps = Arrays.asList(new AppsResponse(), new AppsResponse());
+        when(difyServerClient.appsAsync("chat", "test-app")).thenReturn(CompletableFuture.completedFuture(expectedApps));
+
+        assertSame(expectedApps, difyServerClientImpl.appsAsync("chat", "test-app").get());
+
+        verify(difyServerClient, times(1)).appsAsync("chat", "test-app");
+        verify(difyServerClient, never()).apps("chat", "test-app");
+    }
+
+    @Test
+    void testRetryDocumentIndexingAsync() throws Exception {
+        DocumentRetryRequest request = new DocumentRetryRequest();
+        when(difyServerClient.retryDocumentIndexingAsync(request)).thenReturn(CompletableFuture.completedFuture(null));
+
+        difyServerClientImpl.retryDocumentIndexingAsync(request).get();
+
+        verify(difyServerClient, times(1)).retryDocumentIndexingAsync(request);
+        verify(difyServerClient, never()).retryDocumentIndexing(request);
+    }
 }
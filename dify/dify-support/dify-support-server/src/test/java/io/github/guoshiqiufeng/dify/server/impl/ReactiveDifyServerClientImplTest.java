@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.server.impl;
+
+import io.github.guoshiqiufeng.dify.server.DifyServer;
+import io.github.guoshiqiufeng.dify.server.ReactiveDifyServer;
+import io.github.guoshiqiufeng.dify.server.dto.response.AppsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ReactiveDifyServerClientImpl}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class ReactiveDifyServerClientImplTest {
+
+    private DifyServer difyServer;
+    private ReactiveDifyServer reactiveDifyServer;
+
+    @BeforeEach
+    void setup() {
+        difyServer = mock(DifyServer.class);
+        reactiveDifyServer = new ReactiveDifyServerClientImpl(difyServer);
+    }
+
+    @Test
+    void testApps() {
+        List<AppsResponse> apps = Collections.singletonList(new AppsResponse());
+        when(difyServer.appsAsync("chat", "name")).thenReturn(CompletableFuture.completedFuture(apps));
+
+        StepVerifier.create(reactiveDifyServer.apps("chat", "name"))
+                .expectNext(apps)
+                .verifyComplete();
+        verify(difyServer, never()).apps(anyString(), anyString());
+    }
+
+    @Test
+    void testDeleteApp() {
+        when(difyServer.deleteAppAsync("app")).thenReturn(CompletableFuture.completedFuture(null));
+
+        StepVerifier.create(reactiveDifyServer.deleteApp("app"))
+                .verifyComplete();
+        verify(difyServer, times(1)).deleteAppAsync("app");
+    }
+}
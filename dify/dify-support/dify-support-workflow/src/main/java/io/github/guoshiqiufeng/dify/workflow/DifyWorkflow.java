@@ -15,12 +15,19 @@
  */
 package io.github.guoshiqiufeng.dify.workflow;
 
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.workflow.stream.WorkflowCoalesceStrategy;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author yanghq
  * @version 1.0
@@ -44,6 +51,48 @@ public interface DifyWorkflow {
      */
     Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request);
 
+    /**
+     * 运行工作流并获取指定事件类型的实时数据流
+     * <p>
+     * 其它类型的事件在解码时直接跳过,不会创建响应对象
+     * </p>
+     *
+     * @param request 工作流运行请求对象，包含输入参数和配置
+     * @param events  需要返回的事件类型，null 或空集合表示返回全部事件
+     * @return Flux<WorkflowRunResponse> 工作流执行过程中指定类型事件的实时响应流
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events);
+
+    /**
+     * 运行工作流并获取指定事件类型的实时数据流,使用指定的流超时
+     * <p>
+     * 空闲超时按事件间隔计算,ping 事件与被过滤的事件同样会重置计时;超时后流以 StreamTimeoutException 结束并释放连接
+     * </p>
+     *
+     * @param request       工作流运行请求对象，包含输入参数和配置
+     * @param events        需要返回的事件类型，null 或空集合表示返回全部事件
+     * @param streamTimeout 流的空闲超时与总超时，null 表示使用客户端配置的 sseIdleTimeout / sseTotalTimeout
+     * @return Flux<WorkflowRunResponse> 工作流执行过程中指定类型事件的实时响应流
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                      StreamTimeout streamTimeout);
+
+    /**
+     * 运行工作流并获取合并后的实时数据流
+     * <p>
+     * 同一输出节点连续的 text_chunk 增量在时间窗口内合并为一条输出,或在合并文本达到字节阈值时立即输出;
+     * workflow_finished 等结构事件立即透传,用于降低向下游转发时的写放大
+     * </p>
+     *
+     * @param request  工作流运行请求对象，包含输入参数和配置
+     * @param window   增量最长等待时间,如 30ms
+     * @param maxBytes 合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return Flux<WorkflowRunResponse> 合并后的实时响应流
+     */
+    default Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Duration window, int maxBytes) {
+        return runWorkflowStream(request).transform(WorkflowCoalesceStrategy.coalescer(window, maxBytes));
+    }
+
     /**
      * 获取工作流运行详情
      *
@@ -70,4 +119,39 @@ public interface DifyWorkflow {
      * @return DifyPageResult<WorkflowLogs> 分页结果，包含工作流执行日志列表
      */
     DifyPageResult<WorkflowLogs> logs(WorkflowLogsRequest request);
+
+    /**
+     * {@link #runWorkflow(WorkflowRunRequest)} 的异步版本
+     *
+     * @param request 工作流运行请求对象，包含输入参数和配置
+     * @return 异步结果，WorkflowRunResponse 工作流运行响应对象，包含执行结果和状态信息
+     */
+    CompletableFuture<WorkflowRunResponse> runWorkflowAsync(WorkflowRunRequest request);
+
+    /**
+     * {@link #info(String, String)} 的异步版本
+     *
+     * @param workflowRunId 工作流运行实例ID，用于标识具体执行任务
+     * @param apiKey        API密钥，用于身份验证
+     * @return 异步结果，WorkflowRunResponse 工作流运行的详细信息，包含状态、输入输出等数据
+     */
+    CompletableFuture<WorkflowInfoResponse> infoAsync(String workflowRunId, String apiKey);
+
+    /**
+     * {@link #stopWorkflowStream(String, String, String)} 的异步版本
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @param taskId 任务ID，标识需要停止的流式响应任务
+     * @param userId 用户ID，标识操作者
+     * @return 异步结果，WorkflowStopResponse 停止操作的响应结果，包含停止状态和相关信息
+     */
+    CompletableFuture<WorkflowStopResponse> stopWorkflowStreamAsync(String apiKey, String taskId, String userId);
+
+    /**
+     * {@link #logs(WorkflowLogsRequest)} 的异步版本
+     *
+     * @param request 日志查询请求对象，包含分页、排序和过滤条件
+     * @return 异步结果，DifyPageResult<WorkflowLogs> 分页结果，包含工作流执行日志列表
+     */
+    CompletableFuture<DifyPageResult<WorkflowLogs>> logsAsync(WorkflowLogsRequest request);
 }
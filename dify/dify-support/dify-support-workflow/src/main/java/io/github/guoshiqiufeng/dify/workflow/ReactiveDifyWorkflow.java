@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow;
+
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
+import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import io.github.guoshiqiufeng.dify.workflow.stream.WorkflowCoalesceStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * DifyWorkflow 的响应式版本
+ * <p>
+ * 方法与 {@link DifyWorkflow} 一一对应,普通请求以 {@link Mono} 返回,流式请求以 {@link Flux} 返回,调用过程中不会阻塞线程;
+ * 接口返回空内容时 Mono 直接完成而不发出元素
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public interface ReactiveDifyWorkflow {
+
+    /**
+     * 运行工作流
+     *
+     * @param request 工作流运行请求对象，包含输入参数和配置
+     * @return Mono，WorkflowRunResponse 工作流运行响应对象，包含执行结果和状态信息
+     */
+    Mono<WorkflowRunResponse> runWorkflow(WorkflowRunRequest request);
+
+    /**
+     * 运行工作流并获取实时数据流
+     *
+     * @param request 工作流运行请求对象，包含输入参数和配置
+     * @return Mono，Flux<WorkflowRunResponse> 工作流执行过程的实时响应流，用于持续获取执行状态
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request);
+
+    /**
+     * 运行工作流并获取指定事件类型的实时数据流
+     * <p>
+     * 其它类型的事件在解码时直接跳过,不会创建响应对象
+     * </p>
+     *
+     * @param request 工作流运行请求对象，包含输入参数和配置
+     * @param events  需要返回的事件类型，null 或空集合表示返回全部事件
+     * @return Mono，Flux<WorkflowRunResponse> 工作流执行过程中指定类型事件的实时响应流
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events);
+
+    /**
+     * 运行工作流并获取指定事件类型的实时数据流,使用指定的流超时
+     * <p>
+     * 空闲超时按事件间隔计算,ping 事件与被过滤的事件同样会重置计时;超时后流以 StreamTimeoutException 结束并释放连接
+     * </p>
+     *
+     * @param request       工作流运行请求对象，包含输入参数和配置
+     * @param events        需要返回的事件类型，null 或空集合表示返回全部事件
+     * @param streamTimeout 流的空闲超时与总超时，null 表示使用客户端配置的 sseIdleTimeout / sseTotalTimeout
+     * @return Mono，Flux<WorkflowRunResponse> 工作流执行过程中指定类型事件的实时响应流
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                      StreamTimeout streamTimeout);
+
+    /**
+     * 运行工作流并获取合并后的实时数据流
+     * <p>
+     * 同一输出节点连续的 text_chunk 增量在时间窗口内合并为一条输出,或在合并文本达到字节阈值时立即输出;
+     * workflow_finished 等结构事件立即透传,用于降低向下游转发时的写放大
+     * </p>
+     *
+     * @param request  工作流运行请求对象，包含输入参数和配置
+     * @param window   增量最长等待时间,如 30ms
+     * @param maxBytes 合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return Flux<WorkflowRunResponse> 合并后的实时响应流
+     */
+    default Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Duration window, int maxBytes) {
+        return runWorkflowStream(request).transform(WorkflowCoalesceStrategy.coalescer(window, maxBytes));
+    }
+
+    /**
+     * 获取工作流运行详情
+     *
+     * @param workflowRunId 工作流运行实例ID，用于标识具体执行任务
+     * @param apiKey        API密钥，用于身份验证
+     * @return Mono，WorkflowRunResponse 工作流运行的详细信息，包含状态、输入输出等数据
+     */
+    Mono<WorkflowInfoResponse> info(String workflowRunId, String apiKey);
+
+    /**
+     * 停止工作流流式响应
+     *
+     * @param apiKey API密钥，用于身份验证
+     * @param taskId 任务ID，标识需要停止的流式响应任务
+     * @param userId 用户ID，标识操作者
+     * @return Mono，WorkflowStopResponse 停止操作的响应结果，包含停止状态和相关信息
+     */
+    Mono<WorkflowStopResponse> stopWorkflowStream(String apiKey, String taskId, String userId);
+
+    /**
+     * 查询工作流日志
+     *
+     * @param request 日志查询请求对象，包含分页、排序和过滤条件
+     * @return Mono，DifyPageResult<WorkflowLogs> 分页结果，包含工作流执行日志列表
+     */
+    Mono<DifyPageResult<WorkflowLogs>> logs(WorkflowLogsRequest request);
+}
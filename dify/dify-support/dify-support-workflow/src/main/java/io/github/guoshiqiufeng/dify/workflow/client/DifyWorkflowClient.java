@@ -15,16 +15,24 @@
  */
 package io.github.guoshiqiufeng.dify.workflow.client;
 
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
 import reactor.core.publisher.Flux;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Dify Workflow Client Interface
  * Provides methods to interact with Dify's workflow API for running workflows,
  * managing workflow execution, retrieving workflow information, and accessing logs.
+ * <p>Every blocking call has an {@code *Async} variant that sends the request without parking the calling
+ * thread. Argument validation fails immediately, request and response failures complete the returned
+ * future exceptionally.
  *
  * @author yanghq
  * @version 0.8.0
@@ -49,6 +57,28 @@ public interface DifyWorkflowClient {
      */
     Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request);
 
+    /**
+     * Runs a workflow and returns only the requested event types as a reactive stream
+     * Events of other types are skipped while decoding and never materialized as responses
+     *
+     * @param request The workflow run request containing workflow parameters and inputs
+     * @param events  The event types to emit, null or empty emits all events
+     * @return A Flux stream of workflow run responses
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events);
+
+    /**
+     * Runs a workflow and returns the requested event types as a reactive stream bound by the given deadlines
+     * The idle timeout is reset by every received event, including pings and skipped events
+     *
+     * @param request       The workflow run request containing workflow parameters and inputs
+     * @param events        The event types to emit, null or empty emits all events
+     * @param streamTimeout The idle and total deadlines of the stream, null uses the client configuration
+     * @return A Flux stream of workflow run responses
+     */
+    Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                      StreamTimeout streamTimeout);
+
     /**
      * Retrieves information about a specific workflow run
      *
@@ -76,4 +106,38 @@ public interface DifyWorkflowClient {
      */
     DifyPageResult<WorkflowLogs> logs(WorkflowLogsRequest request);
 
+    /**
+     * Asynchronous variant of {@link #runWorkflow(WorkflowRunRequest)}
+     *
+     * @param request The workflow run request containing workflow parameters and inputs
+     * @return A future of the workflow run response with execution results
+     */
+    CompletableFuture<WorkflowRunResponse> runWorkflowAsync(WorkflowRunRequest request);
+
+    /**
+     * Asynchronous variant of {@link #info(String, String)}
+     *
+     * @param workflowRunId The ID of the workflow run to retrieve information for
+     * @param apiKey        The API key for authentication and authorization to the Dify API
+     * @return A future of the workflow information response
+     */
+    CompletableFuture<WorkflowInfoResponse> infoAsync(String workflowRunId, String apiKey);
+
+    /**
+     * Asynchronous variant of {@link #stopWorkflowStream(String, String, String)}
+     *
+     * @param apiKey The API key for authentication and authorization to the Dify API
+     * @param taskId The ID of the streaming task to stop
+     * @param userId The ID of the user who initiated the workflow
+     * @return A future of the workflow stop response
+     */
+    CompletableFuture<WorkflowStopResponse> stopWorkflowStreamAsync(String apiKey, String taskId, String userId);
+
+    /**
+     * Asynchronous variant of {@link #logs(WorkflowLogsRequest)}
+     *
+     * @param request The workflow logs request containing parameters for fetching logs
+     * @return A future of paginated result containing workflow log data
+     */
+    CompletableFuture<DifyPageResult<WorkflowLogs>> logsAsync(WorkflowLogsRequest request);
 }
@@ -15,15 +15,20 @@
  */
 package io.github.guoshiqiufeng.dify.workflow.impl;
 
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
 import io.github.guoshiqiufeng.dify.workflow.client.DifyWorkflowClient;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
 import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author yanghq
  * @version 1.0
@@ -48,6 +53,17 @@ public class DifyWorkflowClientImpl implements DifyWorkflow {
         return difyWorkflowClient.runWorkflowStream(request);
     }
 
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events) {
+        return difyWorkflowClient.runWorkflowStream(request, events);
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                             StreamTimeout streamTimeout) {
+        return difyWorkflowClient.runWorkflowStream(request, events, streamTimeout);
+    }
+
     @Override
     public WorkflowInfoResponse info(String workflowRunId, String apiKey) {
         return difyWorkflowClient.info(workflowRunId, apiKey);
@@ -62,4 +78,24 @@ public class DifyWorkflowClientImpl implements DifyWorkflow {
     public DifyPageResult<WorkflowLogs> logs(WorkflowLogsRequest request) {
         return difyWorkflowClient.logs(request);
     }
+
+    @Override
+    public CompletableFuture<WorkflowRunResponse> runWorkflowAsync(WorkflowRunRequest request) {
+        return difyWorkflowClient.runWorkflowAsync(request);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowInfoResponse> infoAsync(String workflowRunId, String apiKey) {
+        return difyWorkflowClient.infoAsync(workflowRunId, apiKey);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowStopResponse> stopWorkflowStreamAsync(String apiKey, String taskId, String userId) {
+        return difyWorkflowClient.stopWorkflowStreamAsync(apiKey, taskId, userId);
+    }
+
+    @Override
+    public CompletableFuture<DifyPageResult<WorkflowLogs>> logsAsync(WorkflowLogsRequest request) {
+        return difyWorkflowClient.logsAsync(request);
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.impl;
+
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
+import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
+import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.ReactiveDifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowLogsRequest;
+import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.*;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * 基于 {@link DifyWorkflow} 异步方法的 {@link ReactiveDifyWorkflow} 实现
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class ReactiveDifyWorkflowClientImpl implements ReactiveDifyWorkflow {
+
+    private final DifyWorkflow difyWorkflow;
+
+    public ReactiveDifyWorkflowClientImpl(DifyWorkflow difyWorkflow) {
+        this.difyWorkflow = difyWorkflow;
+    }
+
+    @Override
+    public Mono<WorkflowRunResponse> runWorkflow(WorkflowRunRequest request) {
+        return Mono.fromFuture(() -> difyWorkflow.runWorkflowAsync(request));
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request) {
+        return difyWorkflow.runWorkflowStream(request);
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events) {
+        return difyWorkflow.runWorkflowStream(request, events);
+    }
+
+    @Override
+    public Flux<WorkflowRunStreamResponse> runWorkflowStream(WorkflowRunRequest request, Set<StreamEventEnum> events,
+                                                             StreamTimeout streamTimeout) {
+        return difyWorkflow.runWorkflowStream(request, events, streamTimeout);
+    }
+
+    @Override
+    public Mono<WorkflowInfoResponse> info(String workflowRunId, String apiKey) {
+        return Mono.fromFuture(() -> difyWorkflow.infoAsync(workflowRunId, apiKey));
+    }
+
+    @Override
+    public Mono<WorkflowStopResponse> stopWorkflowStream(String apiKey, String taskId, String userId) {
+        return Mono.fromFuture(() -> difyWorkflow.stopWorkflowStreamAsync(apiKey, taskId, userId));
+    }
+
+    @Override
+    public Mono<DifyPageResult<WorkflowLogs>> logs(WorkflowLogsRequest request) {
+        return Mono.fromFuture(() -> difyWorkflow.logsAsync(request));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.stream;
+
+import io.github.guoshiqiufeng.dify.client.core.stream.CoalesceStrategy;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamCoalescer;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 工作流事件流合并策略
+ * <p>
+ * 合并同一输出节点连续的 text_chunk 增量,其它事件(workflow_finished、node_finished 等)作为结构事件立即透传。
+ * 合并结果沿用首个增量对象,data 中的 text 替换为拼接后的文本
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public final class WorkflowCoalesceStrategy implements CoalesceStrategy<WorkflowRunStreamResponse> {
+
+    private static final WorkflowCoalesceStrategy INSTANCE = new WorkflowCoalesceStrategy();
+
+    private static final String TEXT = "text";
+    private static final String FROM_VARIABLE_SELECTOR = "from_variable_selector";
+
+    private WorkflowCoalesceStrategy() {
+    }
+
+    /**
+     * 获取策略实例
+     *
+     * @return 策略实例
+     */
+    public static WorkflowCoalesceStrategy getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 创建工作流事件流合并操作符,通过 {@code flux.transform(...)} 使用
+     *
+     * @param window   增量最长等待时间
+     * @param maxBytes 合并文本达到该 UTF-8 字节数时立即输出,小于等于 0 表示不限制
+     * @return 合并操作符
+     */
+    public static StreamCoalescer<WorkflowRunStreamResponse> coalescer(Duration window, int maxBytes) {
+        return StreamCoalescer.of(INSTANCE, window, maxBytes);
+    }
+
+    @Override
+    public String delta(WorkflowRunStreamResponse item) {
+        if (item.getEvent() != StreamEventEnum.text_chunk || !(item.getData() instanceof Map)) {
+            return null;
+        }
+        Object text = ((Map<?, ?>) item.getData()).get(TEXT);
+        if (text == null) {
+            return "";
+        }
+        return text instanceof String ? (String) text : null;
+    }
+
+    @Override
+    public boolean sameSegment(WorkflowRunStreamResponse head, WorkflowRunStreamResponse next) {
+        return Objects.equals(head.getTaskId(), next.getTaskId())
+                && Objects.equals(head.getWorkflowRunId(), next.getWorkflowRunId())
+                && Objects.equals(((Map<?, ?>) head.getData()).get(FROM_VARIABLE_SELECTOR),
+                ((Map<?, ?>) next.getData()).get(FROM_VARIABLE_SELECTOR));
+    }
+
+    @Override
+    public WorkflowRunStreamResponse merge(WorkflowRunStreamResponse head, String text) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) head.getData()).entrySet()) {
+            data.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        data.put(TEXT, text);
+        head.setData(data);
+        return head;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.stream;
+
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.stream.WorkflowFinishedData;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * 工作流事件流聚合器
+ * <p>
+ * 将 runWorkflowStream 返回的事件聚合为与阻塞式 runWorkflow() 等价的 {@link WorkflowRunResponse},
+ * 运行结果取自 workflow_finished 事件
+ * </p>
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+public class WorkflowRunAggregator implements Consumer<WorkflowRunStreamResponse> {
+
+    private static final int INCOMPLETE_STATUS = 500;
+
+    private String workflowRunId;
+    private String taskId;
+    private WorkflowFinishedData finished;
+
+    /**
+     * 聚合事件流,流结束后返回最终运行结果
+     *
+     * @param stream 工作流事件流
+     * @return 聚合后的运行结果,未收到 workflow_finished 时以 {@link DifyClientException} 结束
+     */
+    public static Mono<WorkflowRunResponse> aggregate(Flux<WorkflowRunStreamResponse> stream) {
+        return Mono.defer(() -> {
+            WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+            return stream.doOnNext(aggregator).then(Mono.fromCallable(aggregator::toResponse));
+        });
+    }
+
+    /**
+     * 接收一条流式事件
+     *
+     * @param event 流式事件
+     */
+    @Override
+    public synchronized void accept(WorkflowRunStreamResponse event) {
+        if (event == null) {
+            return;
+        }
+        if (workflowRunId == null) {
+            workflowRunId = event.getWorkflowRunId();
+        }
+        if (taskId == null) {
+            taskId = event.getTaskId();
+        }
+        if (event.getEvent() == StreamEventEnum.workflow_finished && event.getData() instanceof WorkflowFinishedData) {
+            finished = (WorkflowFinishedData) event.getData();
+        }
+    }
+
+    /**
+     * 是否已收到 workflow_finished 事件
+     *
+     * @return true 表示运行已结束
+     */
+    public synchronized boolean isCompleted() {
+        return finished != null;
+    }
+
+    /**
+     * 生成与阻塞式 runWorkflow() 等价的运行结果
+     *
+     * @return 运行结果
+     * @throws DifyClientException 未收到 workflow_finished 事件时抛出
+     */
+    public synchronized WorkflowRunResponse toResponse() {
+        if (finished == null) {
+            throw new DifyClientException(INCOMPLETE_STATUS, "Workflow stream ended before workflow_finished");
+        }
+        WorkflowRunResponse.WorkflowRunData data = new WorkflowRunResponse.WorkflowRunData();
+        data.setId(finished.getId());
+        data.setWorkflowId(finished.getWorkflowId());
+        data.setStatus(finished.getStatus());
+        data.setOutputs(finished.getOutputs());
+        data.setError(finished.getError());
+        data.setElapsedTime(finished.getElapsedTime());
+        data.setTotalTokens(finished.getTotalTokens());
+        data.setTotalSteps(finished.getTotalSteps());
+        data.setCreatedAt(finished.getCreatedAt());
+        data.setFinishedAt(finished.getFinishedAt());
+
+        WorkflowRunResponse response = new WorkflowRunResponse();
+        response.setWorkflowRunId(workflowRunId != null ? workflowRunId : finished.getId());
+        response.setTaskId(taskId);
+        response.setData(data);
+        return response;
+    }
+}
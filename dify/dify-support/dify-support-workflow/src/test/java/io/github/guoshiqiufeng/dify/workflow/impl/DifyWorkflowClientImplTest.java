@@ -15,6 +15,7 @@
  */
 package io.github.guoshiqiufeng.dify.workflow.impl;
 
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamTimeout;
 import io.github.guoshiqiufeng.dify.core.pojo.DifyPageResult;
 import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
 import io.github.guoshiqiufeng.dify.workflow.client.DifyWorkflowClient;
@@ -27,12 +28,13 @@ import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -138,6 +140,72 @@ public class DifyWorkflowClientImplTest {
         verify(difyWorkflowClient, times(1)).runWorkflowStream(any(WorkflowRunRequest.class));
     }
 
+    @Test
+    void testRunWorkflowStreamWithEventFilter() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("streaming-key");
+        Set<StreamEventEnum> events = EnumSet.of(StreamEventEnum.workflow_finished);
+
+        WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
+        response.setEvent(StreamEventEnum.workflow_finished);
+        response.setWorkflowRunId("workflow_123");
+
+        when(difyWorkflowClient.runWorkflowStream(request, events)).thenReturn(Flux.just(response));
+
+        StepVerifier.create(difyWorkflow.runWorkflowStream(request, events))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(difyWorkflowClient, times(1)).runWorkflowStream(request, events);
+    }
+
+    @Test
+    void testRunWorkflowStreamWithStreamTimeout() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("streaming-key");
+        Set<StreamEventEnum> events = EnumSet.of(StreamEventEnum.workflow_finished);
+        StreamTimeout timeout = StreamTimeout.idle(Duration.ofSeconds(30));
+
+        WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
+        response.setEvent(StreamEventEnum.workflow_finished);
+
+        when(difyWorkflowClient.runWorkflowStream(request, events, timeout)).thenReturn(Flux.just(response));
+
+        StepVerifier.create(difyWorkflow.runWorkflowStream(request, events, timeout))
+                .expectNext(response)
+                .verifyComplete();
+
+        verify(difyWorkflowClient, times(1)).runWorkflowStream(request, events, timeout);
+    }
+
+    @Test
+    void testRunWorkflowStreamCoalesced() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("streaming-key");
+
+        WorkflowRunStreamResponse chunk1 = new WorkflowRunStreamResponse();
+        chunk1.setEvent(StreamEventEnum.text_chunk);
+        chunk1.setTaskId("task_123");
+        chunk1.setData(Collections.singletonMap("text", "First part"));
+
+        WorkflowRunStreamResponse chunk2 = new WorkflowRunStreamResponse();
+        chunk2.setEvent(StreamEventEnum.text_chunk);
+        chunk2.setTaskId("task_123");
+        chunk2.setData(Collections.singletonMap("text", " of the streaming response"));
+
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+        finished.setTaskId("task_123");
+
+        when(difyWorkflowClient.runWorkflowStream(request)).thenReturn(Flux.just(chunk1, chunk2, finished));
+
+        StepVerifier.create(difyWorkflow.runWorkflowStream(request, Duration.ofMillis(30), 0))
+                .assertNext(merged -> assertEquals("First part of the streaming response",
+                        ((Map<?, ?>) merged.getData()).get("text")))
+                .expectNext(finished)
+                .verifyComplete();
+    }
+
     @Test
     void testInfo() {
         // Arrange
@@ -259,4 +327,32 @@ public class DifyWorkflowClientImplTest {
 
         verify(difyWorkflowClient, times(1)).logs(any(WorkflowLogsRequest.class));
     }
+
+    @Test
+    void testRunWorkflowAsync() throws Exception {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        request.setApiKey("test-api-key");
+
+        WorkflowRunResponse expectedResponse = new WorkflowRunResponse();
+        expectedResponse.setWorkflowRunId("workflow_123");
+        when(difyWorkflowClient.runWorkflowAsync(any(WorkflowRunRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        assertSame(expectedResponse, difyWorkflow.runWorkflowAsync(request).get());
+
+        verify(difyWorkflowClient, times(1)).runWorkflowAsync(request);
+        verify(difyWorkflowClient, never()).runWorkflow(any(WorkflowRunRequest.class));
+    }
+
+    @Test
+    void testInfoAsync() throws Exception {
+        WorkflowInfoResponse expectedResponse = new WorkflowInfoResponse();
+        expectedResponse.setId("run_123");
+        when(difyWorkflowClient.infoAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        assertSame(expectedResponse, difyWorkflow.infoAsync("run_123", "test-api-key").get());
+
+        verify(difyWorkflowClient, times(1)).infoAsync("run_123", "test-api-key");
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.impl;
+
+import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.ReactiveDifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.dto.request.WorkflowRunRequest;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowInfoResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ReactiveDifyWorkflowClientImpl}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class ReactiveDifyWorkflowClientImplTest {
+
+    private DifyWorkflow difyWorkflow;
+    private ReactiveDifyWorkflow reactiveDifyWorkflow;
+
+    @BeforeEach
+    void setup() {
+        difyWorkflow = mock(DifyWorkflow.class);
+        reactiveDifyWorkflow = new ReactiveDifyWorkflowClientImpl(difyWorkflow);
+    }
+
+    @Test
+    void testRunWorkflow() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        WorkflowRunResponse response = new WorkflowRunResponse();
+        response.setWorkflowRunId("workflow_123");
+        when(difyWorkflow.runWorkflowAsync(request)).thenReturn(CompletableFuture.completedFuture(response));
+
+        StepVerifier.create(reactiveDifyWorkflow.runWorkflow(request))
+                .expectNext(response)
+                .verifyComplete();
+        verify(difyWorkflow, never()).runWorkflow(any(WorkflowRunRequest.class));
+    }
+
+    @Test
+    void testInfoWithNullResultCompletesEmpty() {
+        when(difyWorkflow.infoAsync("run", "key")).thenReturn(CompletableFuture.<WorkflowInfoResponse>completedFuture(null));
+
+        StepVerifier.create(reactiveDifyWorkflow.info("run", "key"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testRunWorkflowStream() {
+        WorkflowRunRequest request = new WorkflowRunRequest();
+        WorkflowRunStreamResponse event = new WorkflowRunStreamResponse();
+        when(difyWorkflow.runWorkflowStream(request)).thenReturn(Flux.just(event));
+
+        StepVerifier.create(reactiveDifyWorkflow.runWorkflowStream(request))
+                .expectNext(event)
+                .verifyComplete();
+    }
+}
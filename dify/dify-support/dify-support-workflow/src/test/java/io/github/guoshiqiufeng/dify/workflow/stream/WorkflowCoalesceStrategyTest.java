@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.stream;
+
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkflowCoalesceStrategy}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class WorkflowCoalesceStrategyTest {
+
+    private static WorkflowRunStreamResponse textChunk(String text, String node) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("text", text);
+        data.put("from_variable_selector", Arrays.asList(node, "text"));
+        WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
+        response.setEvent(StreamEventEnum.text_chunk);
+        response.setTaskId("task-1");
+        response.setWorkflowRunId("run-1");
+        response.setData(data);
+        return response;
+    }
+
+    @Test
+    void testDelta() {
+        WorkflowCoalesceStrategy strategy = WorkflowCoalesceStrategy.getInstance();
+
+        assertEquals("Hi", strategy.delta(textChunk("Hi", "node-1")));
+
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+        assertNull(strategy.delta(finished));
+
+        WorkflowRunStreamResponse noData = new WorkflowRunStreamResponse();
+        noData.setEvent(StreamEventEnum.text_chunk);
+        assertNull(strategy.delta(noData));
+    }
+
+    @Test
+    void testSameSegment() {
+        WorkflowCoalesceStrategy strategy = WorkflowCoalesceStrategy.getInstance();
+        WorkflowRunStreamResponse head = textChunk("a", "node-1");
+
+        assertTrue(strategy.sameSegment(head, textChunk("b", "node-1")));
+        assertFalse(strategy.sameSegment(head, textChunk("b", "node-2")));
+    }
+
+    @Test
+    void testCoalescerMergesText() {
+        WorkflowRunStreamResponse first = textChunk("The ", "node-1");
+        WorkflowRunStreamResponse finished = new WorkflowRunStreamResponse();
+        finished.setEvent(StreamEventEnum.workflow_finished);
+
+        Flux<WorkflowRunStreamResponse> flux = Flux.just(first, textChunk("weather", "node-1"), finished)
+                .transform(WorkflowCoalesceStrategy.coalescer(Duration.ofMillis(30), 0));
+
+        StepVerifier.create(flux)
+                .assertNext(merged -> {
+                    Map<?, ?> data = (Map<?, ?>) merged.getData();
+                    assertEquals("The weather", data.get("text"));
+                    assertEquals(Arrays.asList("node-1", "text"), data.get("from_variable_selector"));
+                })
+                .expectNext(finished)
+                .verifyComplete();
+    }
+}
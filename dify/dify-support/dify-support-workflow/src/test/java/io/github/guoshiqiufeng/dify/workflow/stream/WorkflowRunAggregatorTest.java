@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.workflow.stream;
+
+import io.github.guoshiqiufeng.dify.core.exception.DifyClientException;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.WorkflowRunStreamResponse;
+import io.github.guoshiqiufeng.dify.workflow.dto.response.stream.WorkflowFinishedData;
+import io.github.guoshiqiufeng.dify.workflow.enums.StreamEventEnum;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkflowRunAggregator}.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026/10/17
+ */
+class WorkflowRunAggregatorTest {
+
+    private static WorkflowRunStreamResponse event(StreamEventEnum event, Object data) {
+        WorkflowRunStreamResponse response = new WorkflowRunStreamResponse();
+        response.setEvent(event);
+        response.setWorkflowRunId("run-1");
+        response.setTaskId("task-1");
+        response.setData(data);
+        return response;
+    }
+
+    private static WorkflowFinishedData finishedData() {
+        WorkflowFinishedData data = new WorkflowFinishedData();
+        data.setId("run-1");
+        data.setWorkflowId("wf-1");
+        data.setStatus("succeeded");
+        data.setOutputs(Collections.singletonMap("text", "Hello"));
+        data.setElapsedTime(1.5f);
+        data.setTotalTokens(42);
+        data.setTotalSteps(3);
+        data.setCreatedAt(1705398420L);
+        data.setFinishedAt(1705398422L);
+        return data;
+    }
+
+    @Test
+    void testAggregatesFinishedEvent() {
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+
+        aggregator.accept(event(StreamEventEnum.workflow_started, null));
+        aggregator.accept(event(StreamEventEnum.text_chunk, Collections.singletonMap("text", "Hel")));
+        assertFalse(aggregator.isCompleted());
+        aggregator.accept(event(StreamEventEnum.workflow_finished, finishedData()));
+
+        assertTrue(aggregator.isCompleted());
+        WorkflowRunResponse response = aggregator.toResponse();
+        assertEquals("run-1", response.getWorkflowRunId());
+        assertEquals("task-1", response.getTaskId());
+        WorkflowRunResponse.WorkflowRunData data = response.getData();
+        assertEquals("run-1", data.getId());
+        assertEquals("wf-1", data.getWorkflowId());
+        assertEquals("succeeded", data.getStatus());
+        Map<String, Object> outputs = data.getOutputs();
+        assertEquals("Hello", outputs.get("text"));
+        assertEquals(1.5f, data.getElapsedTime());
+        assertEquals(42, data.getTotalTokens());
+        assertEquals(3, data.getTotalSteps());
+        assertEquals(1705398420L, data.getCreatedAt());
+        assertEquals(1705398422L, data.getFinishedAt());
+    }
+
+    @Test
+    void testNullEventIsIgnored() {
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+
+        aggregator.accept(null);
+
+        assertFalse(aggregator.isCompleted());
+    }
+
+    @Test
+    void testMissingFinishedEventFails() {
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        aggregator.accept(event(StreamEventEnum.workflow_started, null));
+
+        DifyClientException exception = assertThrows(DifyClientException.class, aggregator::toResponse);
+        assertEquals(500, exception.getCode());
+    }
+
+    @Test
+    void testAggregateFlux() {
+        Flux<WorkflowRunStreamResponse> stream = Flux.just(
+                event(StreamEventEnum.workflow_started, null),
+                event(StreamEventEnum.text_chunk, Collections.singletonMap("text", "Hello")),
+                event(StreamEventEnum.workflow_finished, finishedData()));
+
+        StepVerifier.create(WorkflowRunAggregator.aggregate(stream))
+                .assertNext(response -> {
+                    assertEquals("run-1", response.getWorkflowRunId());
+                    assertEquals("succeeded", response.getData().getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testAggregateFluxWithoutFinishedEventErrors() {
+        StepVerifier.create(WorkflowRunAggregator.aggregate(Flux.just(event(StreamEventEnum.workflow_started, null))))
+                .expectError(DifyClientException.class)
+                .verify();
+    }
+}
@@ -16,10 +16,16 @@
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
 import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.chat.ReactiveDifyChat;
 import io.github.guoshiqiufeng.dify.chat.client.DifyChatClient;
 import io.github.guoshiqiufeng.dify.chat.impl.DifyChatClientImpl;
+import io.github.guoshiqiufeng.dify.chat.impl.ReactiveDifyChatClientImpl;
 import io.github.guoshiqiufeng.dify.chat.pipeline.ChatMessagePipelineModel;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.SpringHttpClientFactory;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
@@ -29,6 +35,7 @@ import io.github.guoshiqiufeng.dify.core.pipeline.PipelineProcess;
 import io.github.guoshiqiufeng.dify.core.pipeline.PipelineTemplate;
 import io.github.guoshiqiufeng.dify.support.impl.chat.DifyChatDefaultClient;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -36,6 +43,7 @@ import org.springframework.context.annotation.Bean;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Dify Chat 自动配置抽象基类
@@ -58,10 +66,24 @@ public abstract class AbstractDifyChatAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(DifyChatClient.class)
-    public DifyChatClient difyChatClient(DifyProperties properties, JsonMapper jsonMapper) {
+    public DifyChatClient difyChatClient(DifyProperties properties, JsonMapper jsonMapper,
+                                     ObjectProvider<StreamMetricsListener> streamMetricsListener,
+                                     ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+                                     ObjectProvider<HttpRequestDecorator> requestDecorators,
+                                     ObjectProvider<TokenBudgetController> tokenBudgetController) {
         SpringHttpClientFactory httpClientFactory = createHttpClientFactory(properties, jsonMapper);
+        BulkheadRegistry sharedBulkheads = bulkheadRegistry.getIfAvailable();
+        if (sharedBulkheads != null) {
+            httpClientFactory = httpClientFactory.bulkheadRegistry(sharedBulkheads);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators.orderedStream().collect(Collectors.toList())) {
+            httpClientFactory = httpClientFactory.requestDecorator(decorator.forEndpointGroup("chat"));
+        }
         HttpClient httpClient = httpClientFactory.createClient(properties.getUrl(), properties.getClientConfig());
-        return new DifyChatDefaultClient(httpClient);
+        DifyChatDefaultClient client = new DifyChatDefaultClient(httpClient, properties.getClientConfig());
+        client.setStreamMetricsListener(streamMetricsListener.getIfAvailable());
+        tokenBudgetController.ifAvailable(client::setTokenBudgetController);
+        return client;
     }
 
     @Bean
@@ -70,6 +92,12 @@ public abstract class AbstractDifyChatAutoConfiguration {
         return new DifyChatClientImpl(difyChatClient);
     }
 
+    @Bean
+    @ConditionalOnMissingBean({ReactiveDifyChat.class})
+    public ReactiveDifyChatClientImpl reactiveDifyChat(DifyChat difyChat) {
+        return new ReactiveDifyChatClientImpl(difyChat);
+    }
+
     @Bean("chatTemplate")
     @ConditionalOnMissingBean(name = "chatTemplate")
     public PipelineTemplate<ChatMessagePipelineModel> chatTemplate(
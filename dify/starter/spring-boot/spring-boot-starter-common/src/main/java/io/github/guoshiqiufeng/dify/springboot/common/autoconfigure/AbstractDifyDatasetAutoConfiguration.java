@@ -15,20 +15,27 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.client.core.http.HttpClientFactory;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.dataset.DifyDataset;
+import io.github.guoshiqiufeng.dify.dataset.ReactiveDifyDataset;
 import io.github.guoshiqiufeng.dify.dataset.client.DifyDatasetClient;
 import io.github.guoshiqiufeng.dify.dataset.impl.DifyDatasetClientImpl;
+import io.github.guoshiqiufeng.dify.dataset.impl.ReactiveDifyDatasetClientImpl;
 import io.github.guoshiqiufeng.dify.support.impl.dataset.DifyDatasetDefaultClient;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpHeaders;
 
+import java.util.stream.Collectors;
+
 /**
  * Dify Dataset 自动配置抽象基类
  *
@@ -46,10 +53,19 @@ public abstract class AbstractDifyDatasetAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(DifyDatasetClient.class)
-    public DifyDatasetClient difyDatasetClient(DifyProperties properties, JsonMapper jsonMapper) {
+    public DifyDatasetClient difyDatasetClient(DifyProperties properties, JsonMapper jsonMapper,
+                                               ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+                                               ObjectProvider<HttpRequestDecorator> requestDecorators) {
         String apikey = "Bearer " + properties.getDataset().getApiKey();
-        HttpClientFactory httpClientFactory = createHttpClientFactory(properties, jsonMapper)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, apikey);
+        HttpClientFactory httpClientFactory = createHttpClientFactory(properties, jsonMapper);
+        BulkheadRegistry sharedBulkheads = bulkheadRegistry.getIfAvailable();
+        if (sharedBulkheads != null) {
+            httpClientFactory = httpClientFactory.bulkheadRegistry(sharedBulkheads);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators.orderedStream().collect(Collectors.toList())) {
+            httpClientFactory = httpClientFactory.requestDecorator(decorator.forEndpointGroup("dataset"));
+        }
+        httpClientFactory = httpClientFactory.defaultHeader(HttpHeaders.AUTHORIZATION, apikey);
         HttpClient httpClient = httpClientFactory.createClient(properties.getUrl(), properties.getClientConfig());
         return new DifyDatasetDefaultClient(httpClient);
     }
@@ -59,4 +75,10 @@ public abstract class AbstractDifyDatasetAutoConfiguration {
     public DifyDatasetClientImpl difyDataset(DifyDatasetClient difyDatasetClient) {
         return new DifyDatasetClientImpl(difyDatasetClient);
     }
+
+    @Bean
+    @ConditionalOnMissingBean({ReactiveDifyDataset.class})
+    public ReactiveDifyDatasetClientImpl reactiveDifyDataset(DifyDataset difyDataset) {
+        return new ReactiveDifyDatasetClientImpl(difyDataset);
+    }
 }
@@ -15,21 +15,28 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.SpringHttpClientFactory;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.server.DifyServer;
+import io.github.guoshiqiufeng.dify.server.ReactiveDifyServer;
 import io.github.guoshiqiufeng.dify.server.client.BaseDifyServerToken;
 import io.github.guoshiqiufeng.dify.server.client.DifyServerClient;
 import io.github.guoshiqiufeng.dify.server.client.DifyServerTokenDefault;
 import io.github.guoshiqiufeng.dify.server.impl.DifyServerClientImpl;
+import io.github.guoshiqiufeng.dify.server.impl.ReactiveDifyServerClientImpl;
 import io.github.guoshiqiufeng.dify.support.impl.server.DifyServerDefaultClient;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 
+import java.util.stream.Collectors;
+
 /**
  * Dify Server 自动配置抽象基类
  *
@@ -59,9 +66,19 @@ public abstract class AbstractDifyServerAutoConfiguration {
     @ConditionalOnMissingBean(DifyServerClient.class)
     public DifyServerClient difyServerClient(DifyProperties properties,
                                              BaseDifyServerToken difyServerToken,
-                                             JsonMapper jsonMapper) {
+                                             JsonMapper jsonMapper,
+                                             ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+                                             ObjectProvider<HttpRequestDecorator> requestDecorators) {
         SpringHttpClientFactory httpClientFactory = createHttpClientFactory(properties, jsonMapper);
+        BulkheadRegistry sharedBulkheads = bulkheadRegistry.getIfAvailable();
+        if (sharedBulkheads != null) {
+            httpClientFactory = httpClientFactory.bulkheadRegistry(sharedBulkheads);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators.orderedStream().collect(Collectors.toList())) {
+            httpClientFactory = httpClientFactory.requestDecorator(decorator.forEndpointGroup("server"));
+        }
         HttpClient httpClient = httpClientFactory.createClient(properties.getUrl(), properties.getClientConfig());
+        difyServerToken.applyExecutionMode(properties.getClientConfig());
         return new DifyServerDefaultClient(httpClient, properties.getServer(), difyServerToken);
     }
 
@@ -70,4 +87,10 @@ public abstract class AbstractDifyServerAutoConfiguration {
     public DifyServerClientImpl difyServerHandler(DifyServerClient difyServerClient) {
         return new DifyServerClientImpl(difyServerClient);
     }
+
+    @Bean
+    @ConditionalOnMissingBean({ReactiveDifyServer.class})
+    public ReactiveDifyServerClientImpl reactiveDifyServer(DifyServer difyServer) {
+        return new ReactiveDifyServerClientImpl(difyServer);
+    }
 }
@@ -15,19 +15,28 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
 import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.stream.StreamMetricsListener;
 import io.github.guoshiqiufeng.dify.client.core.web.client.HttpClient;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.SpringHttpClientFactory;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.support.impl.workflow.DifyWorkflowDefaultClient;
 import io.github.guoshiqiufeng.dify.workflow.DifyWorkflow;
+import io.github.guoshiqiufeng.dify.workflow.ReactiveDifyWorkflow;
 import io.github.guoshiqiufeng.dify.workflow.client.DifyWorkflowClient;
 import io.github.guoshiqiufeng.dify.workflow.impl.DifyWorkflowClientImpl;
+import io.github.guoshiqiufeng.dify.workflow.impl.ReactiveDifyWorkflowClientImpl;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 
+import java.util.stream.Collectors;
+
 /**
  * Dify Workflow 自动配置抽象基类
  *
@@ -45,10 +54,24 @@ public abstract class AbstractDifyWorkflowAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(DifyWorkflowClient.class)
-    public DifyWorkflowClient difyWorkflowClient(DifyProperties properties, JsonMapper jsonMapper) {
+    public DifyWorkflowClient difyWorkflowClient(DifyProperties properties, JsonMapper jsonMapper,
+                                     ObjectProvider<StreamMetricsListener> streamMetricsListener,
+                                     ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+                                     ObjectProvider<HttpRequestDecorator> requestDecorators,
+                                     ObjectProvider<TokenBudgetController> tokenBudgetController) {
         SpringHttpClientFactory httpClientFactory = createHttpClientFactory(properties, jsonMapper);
+        BulkheadRegistry sharedBulkheads = bulkheadRegistry.getIfAvailable();
+        if (sharedBulkheads != null) {
+            httpClientFactory = httpClientFactory.bulkheadRegistry(sharedBulkheads);
+        }
+        for (HttpRequestDecorator decorator : requestDecorators.orderedStream().collect(Collectors.toList())) {
+            httpClientFactory = httpClientFactory.requestDecorator(decorator.forEndpointGroup("workflow"));
+        }
         HttpClient httpClient = httpClientFactory.createClient(properties.getUrl(), properties.getClientConfig());
-        return new DifyWorkflowDefaultClient(httpClient);
+        DifyWorkflowDefaultClient client = new DifyWorkflowDefaultClient(httpClient, properties.getClientConfig());
+        client.setStreamMetricsListener(streamMetricsListener.getIfAvailable());
+        tokenBudgetController.ifAvailable(client::setTokenBudgetController);
+        return client;
     }
 
     @Bean
@@ -56,4 +79,10 @@ public abstract class AbstractDifyWorkflowAutoConfiguration {
     public DifyWorkflowClientImpl difyWorkflowHandler(DifyWorkflowClient difyWorkflowClient) {
         return new DifyWorkflowClientImpl(difyWorkflowClient);
     }
+
+    @Bean
+    @ConditionalOnMissingBean({ReactiveDifyWorkflow.class})
+    public ReactiveDifyWorkflowClientImpl reactiveDifyWorkflow(DifyWorkflow difyWorkflow) {
+        return new ReactiveDifyWorkflowClientImpl(difyWorkflow);
+    }
 }
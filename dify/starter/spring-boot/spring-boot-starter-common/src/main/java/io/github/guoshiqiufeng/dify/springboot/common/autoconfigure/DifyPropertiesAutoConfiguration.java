@@ -15,13 +15,19 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.stream.Collectors;
+
 /**
  * Dify Properties 自动配置基类
  *
@@ -46,6 +52,23 @@ public class DifyPropertiesAutoConfiguration {
         return new PropertiesDifyConnectionDetails(properties);
     }
 
+    /**
+     * 应用启动时预热 Dify 客户端的连接与 JSON 编解码，在应用就绪前完成
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dify.client-config.warm-up.enabled", havingValue = "true")
+    public DifyWarmUpRunner difyWarmUpRunner(DifyProperties properties,
+                                             ObjectProvider<BaseDifyDefaultClient> clients,
+                                             ObjectProvider<JsonMapper> jsonMapper) {
+        DifyProperties.ClientConfig clientConfig = properties.getClientConfig() != null
+                ? properties.getClientConfig() : new DifyProperties.ClientConfig();
+        DifyProperties.WarmUpConfig warmUp = clientConfig.getWarmUp() != null
+                ? clientConfig.getWarmUp() : new DifyProperties.WarmUpConfig();
+        return new DifyWarmUpRunner(warmUp, () -> clients.orderedStream().collect(Collectors.toList()),
+                jsonMapper::getIfAvailable);
+    }
+
     public static class PropertiesDifyConnectionDetails implements DifyConnectionDetails {
 
         private final DifyProperties properties;
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2026, fubluesky (fubluesky@foxmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
+
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.warmup.WarmUpResult;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Warms up the Dify clients on application startup, configured by {@code dify.client-config.warm-up}.
+ * <p>
+ * Every client opens {@code connections} pooled connections to Dify and primes the JSON codec of its main DTOs. The
+ * warm-up runs as an {@link ApplicationRunner}, before the application is reported ready, so readiness probes only
+ * succeed once it finished or {@code timeoutMillis} elapsed. Failures are logged and never fail the startup.
+ *
+ * @author yanghq
+ * @version 2.0.0
+ * @since 2026-10-17
+ */
+@Slf4j
+public class DifyWarmUpRunner implements ApplicationRunner, Ordered {
+
+    private final DifyProperties.WarmUpConfig config;
+    private final Supplier<List<BaseDifyDefaultClient>> clients;
+    private final Supplier<JsonMapper> jsonMapper;
+    private volatile boolean completed;
+
+    /**
+     * Constructor.
+     *
+     * @param config     the warm-up configuration
+     * @param clients    the clients to warm up, resolved when the runner runs so that every client bean exists
+     * @param jsonMapper the JSON mapper of the clients, supplying null skips priming the codec
+     */
+    public DifyWarmUpRunner(DifyProperties.WarmUpConfig config, Supplier<List<BaseDifyDefaultClient>> clients,
+                            Supplier<JsonMapper> jsonMapper) {
+        this.config = config;
+        this.clients = clients;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<BaseDifyDefaultClient> clients = this.clients.get();
+        JsonMapper jsonMapper = this.jsonMapper.get();
+        int primed = 0;
+        if (jsonMapper != null) {
+            for (BaseDifyDefaultClient client : clients) {
+                primed += client.primeCodec(jsonMapper);
+            }
+        }
+        int connections = config.getConnections() != null ? config.getConnections() : 0;
+        List<CompletableFuture<WarmUpResult>> warmUps = new ArrayList<>();
+        for (BaseDifyDefaultClient client : clients) {
+            warmUps.add(client.warmUp(connections, config.getPath()));
+        }
+        long timeoutMillis = config.getTimeoutMillis() != null ? config.getTimeoutMillis() : 0;
+        try {
+            CompletableFuture.allOf(warmUps.toArray(new CompletableFuture<?>[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("【Dify】Warm-up did not finish within {} ms, continuing startup", timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("【Dify】Warm-up failed: {}", e.getMessage());
+        }
+        int requested = 0;
+        int connected = 0;
+        for (CompletableFuture<WarmUpResult> warmUp : warmUps) {
+            WarmUpResult result = warmUp.getNow(null);
+            if (result != null) {
+                requested += result.getRequested();
+                connected += result.getConnected();
+            }
+        }
+        completed = true;
+        log.info("【Dify】Warm-up finished in {} ms: {} of {} connections opened, {} DTO types primed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), connected, requested, primed);
+    }
+
+    /**
+     * Whether the warm-up has run, whether or not it finished within its timeout.
+     *
+     * @return true once {@link #run(ApplicationArguments)} returned
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Run before the application runners of the application.
+     *
+     * @return highest precedence
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
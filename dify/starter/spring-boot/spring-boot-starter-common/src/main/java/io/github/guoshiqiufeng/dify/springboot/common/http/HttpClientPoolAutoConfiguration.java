@@ -15,20 +15,54 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.http;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetListener;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadListener;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.client.core.cache.ResponseCache;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerListener;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.RequestCoalescer;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgeListener;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgingEngine;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorators;
+import io.github.guoshiqiufeng.dify.client.core.limit.AdaptiveConcurrencyLimiter;
+import io.github.guoshiqiufeng.dify.client.core.limit.AdaptiveLimitListener;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimitListener;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimiterRegistry;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryEngine;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryListener;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryPolicy;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.DefaultRestClientHttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.DefaultWebClientConnectionProviderFactory;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.RestClientHttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.WebClientConnectionProviderFactory;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 /**
- * Auto-configuration for HTTP client connection pools.
- * Provides default factory beans for WebClient and RestClient connection pool configuration.
- * Users can override these beans to provide custom connection pool implementations.
+ * Auto-configuration for HTTP client connection pools and the request decorators of the Dify clients.
+ * Every bean can be overridden by defining one of the same type.
+ * <ul>
+ *     <li>{@code defaultWebClientConnectionProviderFactory}: WebClient connection pool</li>
+ *     <li>{@code defaultRestClientHttpClientFactory}: RestClient connection pool</li>
+ *     <li>{@code difyCircuitBreakerRegistry}: per-endpoint circuit breakers</li>
+ *     <li>{@code difyBulkheadRegistry}: per-API-key bulkheads</li>
+ *     <li>{@code difyAdaptiveConcurrencyLimiter}: adaptive concurrency limit</li>
+ *     <li>{@code difyRateLimiterRegistry}: per-API-key rate limits</li>
+ *     <li>{@code difyHedgingEngine}: hedging of slow reads</li>
+ *     <li>{@code difyRetryEngine}: retries of transient failures</li>
+ *     <li>{@code difyRequestCoalescer}: coalescing of identical concurrent reads</li>
+ *     <li>{@code difyResponseCache}: cache of metadata reads</li>
+ *     <li>{@code difyTokenBudgetController}: token budget of chat and workflow calls</li>
+ * </ul>
  *
  * @author yanghq
  * @version 2.0.0
@@ -66,4 +100,175 @@ public class HttpClientPoolAutoConfiguration {
         log.debug("Creating default RestClientHttpClientFactory");
         return new DefaultRestClientHttpClientFactory();
     }
+
+    /**
+     * Provide per-endpoint circuit breakers shared by all Dify clients when
+     * {@code dify.client-config.circuit-breaker.enabled} is set. Ordered before the other decorators so the breakers
+     * are applied innermost and measure the Dify server rather than local queueing. State transitions and fast
+     * failures are reported to the {@link CircuitBreakerListener} bean if one is defined, current states are
+     * available from {@link CircuitBreakerRegistry#getMetrics()} and the dify-status traffic report.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of state transitions and fast failures
+     * @return shared circuit breaker registry
+     */
+    @Bean
+    @ConditionalOnMissingBean(CircuitBreakerRegistry.class)
+    @ConditionalOnProperty(name = "dify.client-config.circuit-breaker.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.CIRCUIT_BREAKER_ORDER)
+    public CircuitBreakerRegistry difyCircuitBreakerRegistry(DifyProperties properties,
+                                                             ObjectProvider<CircuitBreakerListener> listener) {
+        log.debug("Creating shared CircuitBreakerRegistry");
+        return CircuitBreakerRegistry.of(properties.getClientConfig(), listener.getIfAvailable());
+    }
+
+    /**
+     * Provide per-API-key bulkheads shared by all Dify clients when {@code dify.client-config.bulkhead.enabled} is set.
+     * Rejections are reported to the {@link BulkheadListener} bean if one is defined, cumulative counts are
+     * available from {@link BulkheadRegistry#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of rejections
+     * @return shared bulkhead registry
+     */
+    @Bean
+    @ConditionalOnMissingBean(BulkheadRegistry.class)
+    @ConditionalOnProperty(name = "dify.client-config.bulkhead.enabled", havingValue = "true")
+    public BulkheadRegistry difyBulkheadRegistry(DifyProperties properties, ObjectProvider<BulkheadListener> listener) {
+        log.debug("Creating shared BulkheadRegistry");
+        return new BulkheadRegistry(properties.getClientConfig().getBulkhead(), listener.getIfAvailable());
+    }
+
+    /**
+     * Provide an adaptive concurrency limiter shared by all Dify clients when
+     * {@code dify.client-config.adaptive-limit.enabled} is set, so the limits follow the combined load on the Dify
+     * server. Limit changes and rejections are reported to the {@link AdaptiveLimitListener} bean if one is defined,
+     * current values are available from {@link AdaptiveConcurrencyLimiter#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of limit changes and rejections
+     * @return shared adaptive concurrency limiter
+     */
+    @Bean
+    @ConditionalOnMissingBean(AdaptiveConcurrencyLimiter.class)
+    @ConditionalOnProperty(name = "dify.client-config.adaptive-limit.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.ADAPTIVE_LIMIT_ORDER)
+    public AdaptiveConcurrencyLimiter difyAdaptiveConcurrencyLimiter(DifyProperties properties,
+                                                                     ObjectProvider<AdaptiveLimitListener> listener) {
+        log.debug("Creating shared AdaptiveConcurrencyLimiter");
+        return new AdaptiveConcurrencyLimiter(properties.getClientConfig().getAdaptiveLimit(), listener.getIfAvailable());
+    }
+
+    /**
+     * Provide per-API-key token buckets shared by all Dify clients when {@code dify.client-config.rate-limit.enabled}
+     * is set, so a 429 response pauses the key for every client of its endpoint group. Rejections and pauses are
+     * reported to the {@link RateLimitListener} bean if one is defined, cumulative counts are available from
+     * {@link RateLimiterRegistry#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of rejections and pauses
+     * @return shared rate limiter registry
+     */
+    @Bean
+    @ConditionalOnMissingBean(RateLimiterRegistry.class)
+    @ConditionalOnProperty(name = "dify.client-config.rate-limit.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.RATE_LIMIT_ORDER)
+    public RateLimiterRegistry difyRateLimiterRegistry(DifyProperties properties,
+                                                       ObjectProvider<RateLimitListener> listener) {
+        log.debug("Creating shared RateLimiterRegistry");
+        return new RateLimiterRegistry(properties.getClientConfig().getRateLimit(), listener.getIfAvailable());
+    }
+
+    /**
+     * Provide the hedging engine shared by all Dify clients when {@code dify.client-config.hedge.enabled} is set, so
+     * the hedging budget bounds the extra load of every client together. Hedges are reported to the
+     * {@link HedgeListener} bean if one is defined, and the hedging delay and cumulative counts per endpoint are
+     * available from {@link HedgingEngine#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of hedges
+     * @return shared hedging engine
+     */
+    @Bean
+    @ConditionalOnMissingBean(HedgingEngine.class)
+    @ConditionalOnProperty(name = "dify.client-config.hedge.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.HEDGE_ORDER)
+    public HedgingEngine difyHedgingEngine(DifyProperties properties, ObjectProvider<HedgeListener> listener) {
+        log.debug("Creating shared HedgingEngine");
+        return HedgingEngine.of(properties.getClientConfig(), listener.getIfAvailable());
+    }
+
+    /**
+     * Provide the retry engine shared by all Dify clients when {@code dify.client-config.retry.enabled} is set, so
+     * the retry budget bounds the retries of every client together. A {@link RetryPolicy} bean replaces the default
+     * policy, retries are reported to the {@link RetryListener} bean if one is defined, and cumulative counts per
+     * endpoint are available from {@link RetryEngine#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param policy     optional custom retry policy
+     * @param listener   optional listener of retries
+     * @return shared retry engine
+     */
+    @Bean
+    @ConditionalOnMissingBean(RetryEngine.class)
+    @ConditionalOnProperty(name = "dify.client-config.retry.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.RETRY_ORDER)
+    public RetryEngine difyRetryEngine(DifyProperties properties, ObjectProvider<RetryPolicy> policy,
+                                       ObjectProvider<RetryListener> listener) {
+        log.debug("Creating shared RetryEngine");
+        return new RetryEngine(properties.getClientConfig().getRetry(), policy.getIfAvailable(),
+                listener.getIfAvailable());
+    }
+
+    /**
+     * Provide the request coalescer shared by all Dify clients when {@code dify.client-config.coalesce.enabled} is
+     * set. Ordered after the retry engine so coalesced calls share one retried call. The coalescing ratio per
+     * endpoint is available from {@link RequestCoalescer#getMetrics()}.
+     *
+     * @return shared request coalescer
+     */
+    @Bean
+    @ConditionalOnMissingBean(RequestCoalescer.class)
+    @ConditionalOnProperty(name = "dify.client-config.coalesce.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.COALESCE_ORDER)
+    public RequestCoalescer difyRequestCoalescer() {
+        log.debug("Creating shared RequestCoalescer");
+        return new RequestCoalescer();
+    }
+
+    /**
+     * Provide the response cache shared by all Dify clients when {@code dify.client-config.cache.enabled} is set.
+     * Ordered after the request coalescer so concurrent cache misses share one request. Hit and miss counts per
+     * endpoint are available from {@link ResponseCache#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @return shared response cache
+     */
+    @Bean
+    @ConditionalOnMissingBean(ResponseCache.class)
+    @ConditionalOnProperty(name = "dify.client-config.cache.enabled", havingValue = "true")
+    @Order(HttpRequestDecorators.CACHE_ORDER)
+    public ResponseCache difyResponseCache(DifyProperties properties) {
+        log.debug("Creating shared ResponseCache");
+        return ResponseCache.of(properties.getClientConfig());
+    }
+
+    /**
+     * Provide the tokens-per-minute budget shared by the chat and workflow clients when
+     * {@code dify.client-config.token-budget.enabled} is set, so tokens consumed through either client count against
+     * the same API key and user. Delayed and rejected calls are reported to the {@link TokenBudgetListener} bean if
+     * one is defined, cumulative counts are available from {@link TokenBudgetController#getMetrics()}.
+     *
+     * @param properties Dify properties
+     * @param listener   optional listener of delayed and rejected calls
+     * @return shared token budget controller
+     */
+    @Bean
+    @ConditionalOnMissingBean(TokenBudgetController.class)
+    @ConditionalOnProperty(name = "dify.client-config.token-budget.enabled", havingValue = "true")
+    public TokenBudgetController difyTokenBudgetController(DifyProperties properties,
+                                                           ObjectProvider<TokenBudgetListener> listener) {
+        log.debug("Creating shared TokenBudgetController");
+        return new TokenBudgetController(properties.getClientConfig().getTokenBudget(), listener.getIfAvailable());
+    }
 }
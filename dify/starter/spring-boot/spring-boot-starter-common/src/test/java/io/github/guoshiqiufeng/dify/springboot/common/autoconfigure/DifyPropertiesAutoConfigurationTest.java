@@ -15,12 +15,20 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.autoconfigure;
 
+import io.github.guoshiqiufeng.dify.client.core.codec.JsonMapper;
+import io.github.guoshiqiufeng.dify.client.core.warmup.WarmUpResult;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.support.impl.base.BaseDifyDefaultClient;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
 
 /**
  * Test for DifyPropertiesAutoConfiguration
@@ -65,4 +73,48 @@ class DifyPropertiesAutoConfigurationTest {
                     assertThat(context.getBean(DifyProperties.class)).isSameAs(customProperties);
                 });
     }
+
+    @Test
+    void shouldNotCreateWarmUpRunnerByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(DifyWarmUpRunner.class));
+    }
+
+    @Test
+    void shouldCreateWarmUpRunnerWhenEnabled() {
+        contextRunner
+                .withPropertyValues("dify.client-config.warm-up.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(DifyWarmUpRunner.class));
+    }
+
+    @Test
+    void warmUpRunnerShouldWarmUpEveryClient() {
+        DifyProperties.WarmUpConfig config = new DifyProperties.WarmUpConfig();
+        config.setConnections(2);
+        BaseDifyDefaultClient client = mock(BaseDifyDefaultClient.class);
+        JsonMapper jsonMapper = mock(JsonMapper.class);
+        when(client.primeCodec(jsonMapper)).thenReturn(4);
+        when(client.warmUp(2, "/v1")).thenReturn(CompletableFuture.completedFuture(new WarmUpResult(2, 2, 0, 5)));
+        DifyWarmUpRunner runner = new DifyWarmUpRunner(config, () -> Collections.singletonList(client),
+                () -> jsonMapper);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(runner.isCompleted()).isTrue();
+        verify(client).primeCodec(jsonMapper);
+        verify(client).warmUp(2, "/v1");
+    }
+
+    @Test
+    void warmUpRunnerShouldNotWaitLongerThanTimeout() {
+        DifyProperties.WarmUpConfig config = new DifyProperties.WarmUpConfig();
+        config.setTimeoutMillis(10L);
+        BaseDifyDefaultClient client = mock(BaseDifyDefaultClient.class);
+        when(client.warmUp(4, "/v1")).thenReturn(new CompletableFuture<>());
+        DifyWarmUpRunner runner = new DifyWarmUpRunner(config, () -> Collections.singletonList(client), () -> null);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertThat(runner.isCompleted()).isTrue();
+        verify(client, never()).primeCodec(any());
+    }
 }
@@ -15,8 +15,30 @@
  */
 package io.github.guoshiqiufeng.dify.springboot.common.http;
 
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetController;
+import io.github.guoshiqiufeng.dify.client.core.budget.TokenBudgetMetrics;
+import io.github.guoshiqiufeng.dify.client.core.bulkhead.BulkheadRegistry;
+import io.github.guoshiqiufeng.dify.client.core.cache.ResponseCache;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerOpenException;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerState;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.CoalescingMetrics;
+import io.github.guoshiqiufeng.dify.client.core.coalesce.RequestCoalescer;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgeMetrics;
+import io.github.guoshiqiufeng.dify.client.core.hedge.HedgingEngine;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpClientException;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorator;
+import io.github.guoshiqiufeng.dify.client.core.http.HttpRequestDecorators;
+import io.github.guoshiqiufeng.dify.client.core.limit.AdaptiveConcurrencyLimiter;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimitMetrics;
+import io.github.guoshiqiufeng.dify.client.core.ratelimit.RateLimiterRegistry;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryEngine;
+import io.github.guoshiqiufeng.dify.client.core.retry.RetryMetrics;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.RestClientHttpClientFactory;
 import io.github.guoshiqiufeng.dify.client.integration.spring.http.pool.WebClientConnectionProviderFactory;
+import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
+import io.github.guoshiqiufeng.dify.core.enums.AdaptiveLimitAlgorithmEnum;
+import io.github.guoshiqiufeng.dify.springboot.common.autoconfigure.DifyPropertiesAutoConfiguration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -24,7 +46,13 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for HttpClientPoolAutoConfiguration.
@@ -83,6 +111,220 @@ class HttpClientPoolAutoConfigurationTest {
                 });
     }
 
+    @Test
+    @DisplayName("Should not create BulkheadRegistry unless bulkheads are enabled")
+    void testBulkheadRegistryDisabledByDefault() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(BulkheadRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Should create shared BulkheadRegistry when bulkheads are enabled")
+    void testBulkheadRegistryEnabled() {
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.bulkhead.enabled=true",
+                        "dify.client-config.bulkhead.partitions[0].name=batch",
+                        "dify.client-config.bulkhead.partitions[0].api-keys[0]=app-batch",
+                        "dify.client-config.bulkhead.partitions[0].max-concurrent-calls=1")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(BulkheadRegistry.class);
+                    BulkheadRegistry registry = context.getBean(BulkheadRegistry.class);
+                    assertThat(registry.forApiKey("app-batch").getName()).isEqualTo("batch");
+                    assertThat(registry.getMetrics().get(0).getMaxConcurrentCalls()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    @DisplayName("Should create shared AdaptiveConcurrencyLimiter when adaptive limiting is enabled")
+    void testAdaptiveConcurrencyLimiterEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(AdaptiveConcurrencyLimiter.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.adaptive-limit.enabled=true",
+                        "dify.client-config.adaptive-limit.algorithm=AIMD",
+                        "dify.client-config.adaptive-limit.initial-limit=5")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AdaptiveConcurrencyLimiter.class);
+                    AdaptiveConcurrencyLimiter limiter = context.getBean(AdaptiveConcurrencyLimiter.class);
+                    assertThat(limiter.getRequestLimit().getLimit()).isEqualTo(5);
+                    assertThat(limiter.getMetrics().get(0).getAlgorithm()).isEqualTo(AdaptiveLimitAlgorithmEnum.AIMD);
+                });
+    }
+
+    @Test
+    void testRateLimiterRegistryEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(RateLimiterRegistry.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.rate-limit.enabled=true",
+                        "dify.client-config.rate-limit.permits-per-second=2",
+                        "dify.client-config.rate-limit.burst=3")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RateLimiterRegistry.class);
+                    RateLimiterRegistry registry = context.getBean(RateLimiterRegistry.class);
+                    registry.forEndpointGroup("chat").forApiKey("app-chat-key-0001");
+                    RateLimitMetrics metrics = registry.getMetrics().get(0);
+                    assertThat(metrics.getName()).isEqualTo("chat:app-****0001");
+                    assertThat(metrics.getPermitsPerSecond()).isEqualTo(2.0);
+                    assertThat(metrics.getBurst()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    void testCircuitBreakerRegistryEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(CircuitBreakerRegistry.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.circuit-breaker.enabled=true",
+                        "dify.client-config.circuit-breaker.sliding-window-size=2",
+                        "dify.client-config.circuit-breaker.minimum-number-of-calls=2")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(CircuitBreakerRegistry.class);
+                    CircuitBreakerRegistry registry = context.getBean(CircuitBreakerRegistry.class)
+                            .forEndpointGroup("dataset");
+                    String endpoint = registry.endpoint("GET", "/v1/datasets");
+                    for (int i = 0; i < 2; i++) {
+                        assertThatThrownBy(() -> registry.execute(endpoint, () -> {
+                            throw new HttpClientException(503, "unavailable");
+                        })).isInstanceOf(HttpClientException.class);
+                    }
+                    assertThat(registry.getState("dataset:GET /v1/datasets")).isEqualTo(CircuitBreakerState.OPEN);
+                    assertThatThrownBy(() -> registry.execute(endpoint, () -> "ok"))
+                            .isInstanceOf(CircuitBreakerOpenException.class);
+                });
+    }
+
+    @Test
+    void testHedgingEngineEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(HedgingEngine.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.hedge.enabled=true",
+                        "dify.client-config.hedge.max-delay-millis=1500")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(HedgingEngine.class);
+                    HedgingEngine engine = context.getBean(HedgingEngine.class).forEndpointGroup("chat");
+                    assertThat(engine.execute(engine.endpoint("GET", "/v1/parameters"), () -> "ok")).isEqualTo("ok");
+                    HedgeMetrics metrics = engine.getMetrics().get(0);
+                    assertThat(metrics.getEndpoint()).isEqualTo("chat:GET /v1/parameters");
+                    assertThat(metrics.getHedgeDelayMillis()).isEqualTo(1500);
+                });
+    }
+
+    @Test
+    void testRetryEngineEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(RetryEngine.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.retry.enabled=true",
+                        "dify.client-config.retry.max-attempts=2")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RetryEngine.class);
+                    RetryEngine engine = context.getBean(RetryEngine.class).forEndpointGroup("dataset");
+                    AtomicInteger attempts = new AtomicInteger();
+                    assertThatThrownBy(() -> engine.execute(engine.endpoint("GET", "/v1/datasets"), "GET", () -> {
+                        attempts.incrementAndGet();
+                        throw new HttpClientException(503, "unavailable");
+                    })).isInstanceOf(HttpClientException.class);
+                    assertThat(attempts.get()).isEqualTo(2);
+                    RetryMetrics metrics = engine.getMetrics().get(0);
+                    assertThat(metrics.getEndpoint()).isEqualTo("dataset:GET /v1/datasets");
+                    assertThat(metrics.getRetries()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void testRequestCoalescerEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(RequestCoalescer.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.coalesce.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RequestCoalescer.class);
+                    RequestCoalescer coalescer = context.getBean(RequestCoalescer.class).forEndpointGroup("chat");
+                    String endpoint = coalescer.endpoint("GET", "/v1/site");
+                    String key = coalescer.key("GET", "/v1/site", "Bearer app-key", "body java.lang.String");
+                    assertThat(coalescer.execute(endpoint, key, () -> "ok")).isEqualTo("ok");
+                    CoalescingMetrics metrics = coalescer.getMetrics().get(0);
+                    assertThat(metrics.getEndpoint()).isEqualTo("chat:GET /v1/site");
+                    assertThat(metrics.getRequests()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void testResponseCacheEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(ResponseCache.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.cache.enabled=true",
+                        "dify.client-config.cache.ttls[/v1/info]=0",
+                        "dify.client-config.cache.ttls[/v1/apps/annotations]=1000")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ResponseCache.class);
+                    ResponseCache cache = context.getBean(ResponseCache.class).forEndpointGroup("chat");
+                    assertThat(cache.ttlNanos("GET", "/v1/site")).isEqualTo(TimeUnit.MINUTES.toNanos(5));
+                    assertThat(cache.ttlNanos("GET", "/v1/apps/annotations")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+                    assertThat(cache.ttlNanos("GET", "/v1/info")).isZero();
+                    assertThat(cache.getMetrics()).isEmpty();
+                });
+    }
+
+    @Test
+    @DisplayName("Should order the decorator beans from the innermost to the outermost decorator")
+    void testRequestDecoratorOrder() {
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.circuit-breaker.enabled=true",
+                        "dify.client-config.adaptive-limit.enabled=true",
+                        "dify.client-config.rate-limit.enabled=true",
+                        "dify.client-config.hedge.enabled=true",
+                        "dify.client-config.retry.enabled=true",
+                        "dify.client-config.coalesce.enabled=true",
+                        "dify.client-config.cache.enabled=true",
+                        "dify.client-config.cache.ttls[/v1/info]=1000")
+                .run(context -> {
+                    // the autoconfigurations apply the decorators in this order, the first one wrapping the backend
+                    List<Class<?>> ordered = context.getBeanProvider(HttpRequestDecorator.class).orderedStream()
+                            .map(Object::getClass)
+                            .collect(Collectors.toList());
+                    assertThat(ordered).containsExactly(CircuitBreakerRegistry.class, AdaptiveConcurrencyLimiter.class,
+                            RateLimiterRegistry.class, HedgingEngine.class, RetryEngine.class, RequestCoalescer.class,
+                            ResponseCache.class);
+
+                    DifyProperties properties = context.getBean(DifyProperties.class);
+                    List<Class<?>> standalone = HttpRequestDecorators.of(properties.getClientConfig()).stream()
+                            .map(Object::getClass)
+                            .collect(Collectors.toList());
+                    assertThat(ordered).isEqualTo(standalone);
+                });
+    }
+
+    @Test
+    void testTokenBudgetControllerEnabled() {
+        this.contextRunner.run(context -> assertThat(context).doesNotHaveBean(TokenBudgetController.class));
+
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(DifyPropertiesAutoConfiguration.class))
+                .withPropertyValues("dify.client-config.token-budget.enabled=true",
+                        "dify.client-config.token-budget.tokens-per-minute=1000")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TokenBudgetController.class);
+                    TokenBudgetController controller = context.getBean(TokenBudgetController.class);
+                    controller.record("app-chat-key-0001", "user", 200);
+                    TokenBudgetMetrics metrics = controller.getMetrics().get(0);
+                    assertThat(metrics.getName()).isEqualTo("app-****0001");
+                    assertThat(metrics.getTokensPerMinute()).isEqualTo(1000);
+                    assertThat(metrics.getUsedTokens()).isEqualTo(200);
+                });
+    }
+
     @Configuration
     static class CustomWebClientFactoryConfig {
         @Bean
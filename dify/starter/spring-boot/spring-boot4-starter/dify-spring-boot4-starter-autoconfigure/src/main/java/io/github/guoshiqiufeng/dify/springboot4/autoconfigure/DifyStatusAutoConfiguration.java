@@ -16,6 +16,8 @@
 package io.github.guoshiqiufeng.dify.springboot4.autoconfigure;
 
 import io.github.guoshiqiufeng.dify.chat.DifyChat;
+import io.github.guoshiqiufeng.dify.client.core.circuit.CircuitBreakerRegistry;
+import io.github.guoshiqiufeng.dify.client.core.concurrent.DifyExecutors;
 import io.github.guoshiqiufeng.dify.core.config.DifyProperties;
 import io.github.guoshiqiufeng.dify.dataset.DifyDataset;
 import io.github.guoshiqiufeng.dify.server.DifyServer;
@@ -39,6 +41,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Dify status auto-configuration for Spring Boot 4
  *
@@ -92,9 +97,16 @@ public class DifyStatusAutoConfiguration {
             ObjectProvider<DifyChatStatusChecker> chatChecker,
             ObjectProvider<DifyDatasetStatusChecker> datasetChecker,
             ObjectProvider<DifyServerStatusChecker> serverChecker,
-            ObjectProvider<DifyWorkflowStatusChecker> workflowChecker) {
-        return new DifyStatusServiceImpl(chatChecker.getIfAvailable(),
-                datasetChecker.getIfAvailable(), serverChecker.getIfAvailable(), workflowChecker.getIfAvailable());
+            ObjectProvider<DifyWorkflowStatusChecker> workflowChecker,
+            ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+            DifyProperties properties) {
+        ExecutorService executorService = DifyExecutors.newExecutor(properties.getClientConfig(), "dify-status",
+                () -> Executors.newFixedThreadPool(4));
+        DifyStatusServiceImpl statusService = new DifyStatusServiceImpl(chatChecker.getIfAvailable(),
+                datasetChecker.getIfAvailable(), serverChecker.getIfAvailable(), workflowChecker.getIfAvailable(),
+                executorService);
+        circuitBreakerRegistry.ifAvailable(statusService::setCircuitBreakerRegistry);
+        return statusService;
     }
 
     @Bean
@@ -215,4 +215,33 @@ class DifyHealthIndicatorTest {
         assertEquals(ApiStatus.UNAUTHORIZED_401, returnedSummary.get("DifyServer"));
         assertEquals(ApiStatus.TIMEOUT, returnedSummary.get("DifyWorkflow"));
     }
+
+    @Test
+    void testHealth_ByTraffic() {
+        DifyProperties.StatusConfig trafficConfig = DifyProperties.StatusConfig.builder()
+                .healthIndicatorEnabled(true)
+                .healthIndicatorInitByServer(true)
+                .healthIndicatorByTraffic(true)
+                .build();
+        DifyHealthIndicator trafficIndicator = new DifyHealthIndicator(statusService, trafficConfig);
+
+        AggregatedStatusReport report = AggregatedStatusReport.builder()
+                .overallStatus(ApiStatus.SERVER_ERROR)
+                .totalApis(1)
+                .healthyApis(0)
+                .unhealthyApis(1)
+                .reportTime(LocalDateTime.now())
+                .clientReports(new ArrayList<>())
+                .clientSummary(new HashMap<>())
+                .build();
+
+        when(statusService.checkStatusByTraffic()).thenReturn(report);
+
+        Health health = trafficIndicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(ApiStatus.SERVER_ERROR, health.getDetails().get("overallStatus"));
+        verify(statusService, never()).checkAllClientsStatusByServer();
+        verify(statusService, never()).checkAllClientsStatus(any());
+    }
 }